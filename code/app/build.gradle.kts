@@ -21,13 +21,36 @@ android {
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
     }
 
+    buildFeatures {
+        buildConfig = true
+    }
+
     buildTypes {
+        // FIREBASE_EMULATOR_HOST is the host of the local Firebase emulators; empty means
+        // the production project
+        debug {
+            // -PfirebaseEmulatorHost=10.0.2.2 points debug builds (and the scale tests) at them
+            val emulatorHost = project.findProperty("firebaseEmulatorHost") ?: ""
+            buildConfigField("String", "FIREBASE_EMULATOR_HOST", "\"$emulatorHost\"")
+        }
         release {
             isMinifyEnabled = false
             proguardFiles(
                 getDefaultProguardFile("proguard-android-optimize.txt"),
                 "proguard-rules.pro"
             )
+            // Always production, whatever properties the build was started with
+            buildConfigField("String", "FIREBASE_EMULATOR_HOST", "\"\"")
+        }
+        // Release-like build the macrobenchmark module installs and measures
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+            // The emulator host as seen from an Android emulator; override with
+            // -PfirebaseEmulatorHost=<ip> when benchmarking on a physical device
+            val emulatorHost = project.findProperty("firebaseEmulatorHost") ?: "10.0.2.2"
+            buildConfigField("String", "FIREBASE_EMULATOR_HOST", "\"$emulatorHost\"")
         }
     }
     compileOptions {
@@ -52,6 +75,7 @@ configurations.all {
 }
 
 dependencies {
+    implementation(project(":core"))
 
     // ---------- Android libraries ----------
     implementation("com.google.android.material:material:1.11.0")
@@ -73,6 +97,7 @@ dependencies {
     implementation("com.squareup.okhttp3:okhttp:4.11.0")
     implementation("androidx.work:work-runtime:2.9.0")
     implementation("com.github.bumptech.glide:glide:4.16.0")
+    implementation(libs.metrics.performance)
 
     // ---------- Google Maps and Location Services (US 02.02.02) ----------
     implementation("com.google.android.gms:play-services-maps:18.2.0")
@@ -98,6 +123,7 @@ dependencies {
     androidTestImplementation("androidx.test.ext:junit:1.1.5")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.6.1")
     androidTestImplementation("androidx.test:runner:1.6.2")
+    androidTestImplementation("androidx.work:work-testing:2.9.0")
     androidTestImplementation("org.mockito:mockito-android:5.12.0")
     androidTestImplementation("org.mockito:mockito-android:5.12.0")
     androidTestImplementation ("org.mockito:mockito-android:5.5.0")
@@ -0,0 +1,325 @@
+package com.example.connect.scale;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.TimeZone;
+
+/**
+ * Fills the local Firestore emulator with a synthetic dataset of a chosen size.
+ * <p>
+ * Documents are written through the emulator's REST API in commits of {@value #BATCH_SIZE},
+ * bypassing the SDK so that seeding neither shows up in {@code FirestoreMetrics} nor fills
+ * the app's local cache. IDs are derived from a prefix and an index, so the tests can
+ * address any document without reading it first. For a {@link Config} the dataset is:
+ * <ul>
+ *     <li>{@code accounts} entrant accounts with one interest each; every 20th has
+ *     notifications turned off</li>
+ *     <li>an organizer owning {@code events} upcoming events plus the draw event, whose
+ *     waiting list holds {@code entrants} entrants and whose registration has closed</li>
+ *     <li>a second organizer owning one event with another {@code entrants} entrants, for
+ *     the cascade delete</li>
+ *     <li>each entrant's My Events index entries for both events</li>
+ *     <li>{@code notificationLogs} entries in this month's log partition, a quarter of them
+ *     recommendations spread over the last two days</li>
+ * </ul>
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class LoadGenerator {
+
+    /** The project in {@code google-services.json}; the emulator keeps one database per project. */
+    public static final String PROJECT_ID = "zenithconnect-bf445";
+    public static final int FIRESTORE_PORT = 8080;
+
+    /** Firestore caps a commit at 500 writes. */
+    private static final int BATCH_SIZE = 400;
+    private static final String[] CATEGORIES = {"Sports", "Music", "Art", "Tech", "Food"};
+    private static final long HOUR_MS = 3600_000L;
+
+    /**
+     * How much data to generate.
+     */
+    public static final class Config {
+        final int accounts;
+        final int events;
+        final int entrants;
+        final int notificationLogs;
+        final int drawCapacity;
+
+        public Config(int accounts, int events, int entrants, int notificationLogs, int drawCapacity) {
+            this.accounts = accounts;
+            this.events = events;
+            this.entrants = entrants;
+            this.notificationLogs = notificationLogs;
+            this.drawCapacity = drawCapacity;
+        }
+
+        /**
+         * One account per entrant, 20 other events, as many log entries as entrants and
+         * 100 spots in the draw.
+         */
+        public static Config forEntrants(int entrants) {
+            return new Config(entrants, 20, entrants, entrants, 100);
+        }
+    }
+
+    private final String baseUrl;
+    private final String prefix;
+    private final Config config;
+    private final String documentsRoot =
+            "projects/" + PROJECT_ID + "/databases/(default)/documents";
+    private final List<JSONObject> writes = new ArrayList<>();
+
+    /**
+     * @param host   emulator host as seen from the device, e.g. 10.0.2.2
+     * @param prefix start of every generated ID
+     */
+    public LoadGenerator(String host, String prefix, Config config) {
+        this.baseUrl = "http://" + host + ":" + FIRESTORE_PORT;
+        this.prefix = prefix;
+        this.config = config;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    public String accountId(int i) {
+        return String.format(Locale.US, "%s-account-%06d", prefix, i % config.accounts);
+    }
+
+    public String eventId(int i) {
+        return String.format(Locale.US, "%s-event-%03d", prefix, i);
+    }
+
+    public String organizerId() {
+        return prefix + "-organizer";
+    }
+
+    public String drawEventId() {
+        return prefix + "-draw";
+    }
+
+    public String cascadeOrganizerId() {
+        return prefix + "-cascade-organizer";
+    }
+
+    public String cascadeEventId() {
+        return prefix + "-cascade";
+    }
+
+    /**
+     * @return the users on the draw event's waiting list
+     */
+    public List<String> entrantIds() {
+        List<String> ids = new ArrayList<>(config.entrants);
+        for (int i = 0; i < config.entrants; i++) {
+            ids.add(accountId(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Deletes every document in the emulator, so runs do not see each other's writes.
+     */
+    public void clear() throws IOException {
+        request("DELETE", baseUrl + "/emulator/v1/" + documentsRoot, null);
+    }
+
+    /**
+     * Writes the whole dataset.
+     */
+    public void seed() throws IOException, JSONException {
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < config.accounts; i++) {
+            String id = accountId(i);
+            put("accounts/" + id, new Fields()
+                    .string("user_id", id)
+                    .string("email", id + "@connect.test")
+                    .string("full_name", "Entrant " + i)
+                    .stringArray("interests", CATEGORIES[i % CATEGORIES.length])
+                    .bool("notificationsEnabled", i % 20 != 0));
+        }
+        put("accounts/" + organizerId(), organizer(organizerId()));
+        put("accounts/" + cascadeOrganizerId(), organizer(cascadeOrganizerId()));
+
+        for (int i = 0; i < config.events; i++) {
+            put("events/" + eventId(i), event(organizerId(), "Scale Event " + i,
+                    CATEGORIES[i % CATEGORIES.length], now + (i + 1) * 24 * HOUR_MS, now + i * HOUR_MS));
+        }
+        put("events/" + drawEventId(), event(organizerId(), "Scale Draw", "Sports",
+                now + 7 * 24 * HOUR_MS, now - HOUR_MS));
+        put("events/" + cascadeEventId(), event(cascadeOrganizerId(), "Scale Cascade", "Music",
+                now + 7 * 24 * HOUR_MS, now + 24 * HOUR_MS));
+
+        for (String eventId : new String[]{drawEventId(), cascadeEventId()}) {
+            put("waiting_lists/" + eventId, new Fields().string("event_id", eventId));
+            for (int i = 0; i < config.entrants; i++) {
+                String userId = accountId(i);
+                put("waiting_lists/" + eventId + "/entrants/" + userId, new Fields()
+                        .string("user_id", userId)
+                        .string("status", "waiting")
+                        .timestamp("joined_date", now - i * 1000L));
+                put("accounts/" + userId + "/myevents/" + eventId, new Fields()
+                        .string("event_id", eventId)
+                        .string("status", "waiting")
+                        .timestamp("timestamp", now - i * 1000L));
+            }
+        }
+
+        String month = monthKey(now);
+        put("notification_logs/" + month, new Fields().string("month", month));
+        for (int i = 0; i < config.notificationLogs; i++) {
+            boolean recommendation = i % 4 == 0;
+            put(String.format(Locale.US, "notification_logs/%s/entries/%s-log-%06d", month, prefix, i),
+                    new Fields()
+                            .string("title", recommendation ? "Events You Might Like!" : "Congratulations! 🎉")
+                            .string("body", "Seeded notification " + i)
+                            .string("type", recommendation ? "recommendations" : "chosen")
+                            .string("recipientId", accountId(i))
+                            .string("eventId", eventId(i % Math.max(1, config.events)))
+                            .string("organizer_id", organizerId())
+                            .bool("read", false)
+                            .timestamp("timestamp", now - (i % 48) * HOUR_MS));
+        }
+
+        flush();
+    }
+
+    private static Fields organizer(String id) throws JSONException {
+        return new Fields()
+                .string("user_id", id)
+                .string("email", id + "@connect.test")
+                .string("full_name", "Scale Organizer")
+                .bool("organizer", true);
+    }
+
+    private Fields event(String organizerId, String title, String category,
+                         long startsAt, long regStop) throws JSONException {
+        return new Fields()
+                .string("event_title", title)
+                .string("description", "Seeded event for the scale tests.")
+                .string("date_time", isoDate(startsAt))
+                .string("reg_start", isoDate(startsAt - 14 * 24 * HOUR_MS))
+                .string("reg_stop", isoDate(regStop))
+                .string("location", "Edmonton, AB")
+                .string("category", category)
+                .stringArray("labels", category)
+                .string("org_name", organizerId)
+                .string("organizer_id", organizerId)
+                .integer("max_participants", config.drawCapacity)
+                .integer("draw_capacity", config.drawCapacity)
+                .bool("draw_completed", false);
+    }
+
+    private void put(String path, Fields fields) throws IOException, JSONException {
+        writes.add(new JSONObject().put("update", new JSONObject()
+                .put("name", documentsRoot + "/" + path)
+                .put("fields", fields.json)));
+        if (writes.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException, JSONException {
+        if (writes.isEmpty()) return;
+        JSONObject body = new JSONObject().put("writes", new JSONArray(writes));
+        request("POST", baseUrl + "/v1/" + documentsRoot + ":commit", body);
+        writes.clear();
+    }
+
+    private static void request(String method, String url, JSONObject body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            // The Firestore emulator skips security rules for the "owner" token
+            connection.setRequestProperty("Authorization", "Bearer owner");
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int code = connection.getResponseCode();
+            if (code >= 400) {
+                throw new IOException(method + " " + url + " failed with " + code + ": "
+                        + read(connection.getErrorStream()));
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String read(InputStream in) {
+        if (in == null) return "";
+        try (Scanner scanner = new Scanner(in, "UTF-8").useDelimiter("\\A")) {
+            return scanner.hasNext() ? scanner.next() : "";
+        }
+    }
+
+    private static String isoDate(long millis) {
+        return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH).format(new Date(millis));
+    }
+
+    private static String monthKey(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(new Date(millis));
+    }
+
+    /**
+     * Firestore REST field values.
+     */
+    private static final class Fields {
+        final JSONObject json = new JSONObject();
+
+        Fields string(String name, String value) throws JSONException {
+            json.put(name, new JSONObject().put("stringValue", value));
+            return this;
+        }
+
+        Fields stringArray(String name, String... values) throws JSONException {
+            JSONArray items = new JSONArray();
+            for (String value : values) {
+                items.put(new JSONObject().put("stringValue", value));
+            }
+            json.put(name, new JSONObject().put("arrayValue", new JSONObject().put("values", items)));
+            return this;
+        }
+
+        Fields integer(String name, long value) throws JSONException {
+            // int64 values travel as strings
+            json.put(name, new JSONObject().put("integerValue", String.valueOf(value)));
+            return this;
+        }
+
+        Fields bool(String name, boolean value) throws JSONException {
+            json.put(name, new JSONObject().put("booleanValue", value));
+            return this;
+        }
+
+        Fields timestamp(String name, long millis) throws JSONException {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            json.put(name, new JSONObject().put("timestampValue", format.format(new Date(millis))));
+            return this;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.connect.scale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.ListenableWorker;
+import androidx.work.testing.TestWorkerBuilder;
+
+import com.example.connect.BuildConfig;
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.network.FirestoreDocumentStore;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.utils.CsvWriter;
+import com.example.connect.utils.LotteryManager;
+import com.example.connect.utils.NotificationHelper;
+import com.example.connect.workers.DailyNotificationWorker;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the app's heaviest Firestore paths against the local emulator at 1k, 10k and 100k
+ * entrants and checks what they cost.
+ * <p>
+ * Each scale is seeded once by {@link LoadGenerator}. Every test then asserts two things:
+ * the documents read and written, as counted by {@link FirestoreMetrics}, stay within a
+ * budget derived from the current design (so an accidental per-user query shows up as a
+ * failure, not as a slow month), and the run finishes within a wall-clock limit. The limits
+ * are deliberately loose, since the emulator is much slower than production; they catch
+ * order-of-magnitude regressions, not small ones.
+ * <p>
+ * Tests are skipped unless the app was built against the emulators. Start them and run:
+ * <pre>
+ * firebase emulators:start --only firestore,auth
+ * ./gradlew :app:connectedDebugAndroidTest -PfirebaseEmulatorHost=10.0.2.2 \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=com.example.connect.scale.ScaleTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.scales=1000,10000
+ * </pre>
+ * {@code scales} defaults to all three. Each measurement is also appended to
+ * {@value #RESULTS_FILE} in the app's files directory.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@RunWith(Parameterized.class)
+public class ScaleTest {
+
+    private static final String TAG = "ScaleTest";
+    private static final String RESULTS_FILE = "scale_results.csv";
+    private static final String DEFAULT_SCALES = "1000,10000,100000";
+
+    // Wall-clock limits: a fixed allowance plus a cost per entrant
+    private static final long BASE_LIMIT_MS = 10_000;
+    private static final double LOTTERY_MS_PER_ENTRANT = 0.3;
+    private static final double FAN_OUT_MS_PER_ENTRANT = 3;
+    private static final double DAILY_MS_PER_ACCOUNT = 4;
+    private static final double CASCADE_MS_PER_ENTRANT = 1;
+
+    private static int seededScale;
+
+    private final int entrants;
+    private LoadGenerator generator;
+    private FirebaseFirestore db;
+
+    @Parameterized.Parameters(name = "{0} entrants")
+    public static List<Object[]> scales() {
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        String scales = arguments.getString("scales", DEFAULT_SCALES);
+        List<Object[]> parameters = new ArrayList<>();
+        for (String scale : scales.split(",")) {
+            parameters.add(new Object[]{Integer.parseInt(scale.trim())});
+        }
+        return parameters;
+    }
+
+    public ScaleTest(int entrants) {
+        this.entrants = entrants;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        // Never run against the production project
+        assumeFalse("Build with -PfirebaseEmulatorHost=<host> to run the scale tests",
+                BuildConfig.FIREBASE_EMULATOR_HOST.isEmpty());
+
+        generator = new LoadGenerator(BuildConfig.FIREBASE_EMULATOR_HOST, "scale",
+                LoadGenerator.Config.forEntrants(entrants));
+        if (seededScale != entrants) {
+            long start = SystemClock.elapsedRealtime();
+            generator.clear();
+            generator.seed();
+            seededScale = entrants;
+            Log.i(TAG, "Seeded " + entrants + " entrants in " + (SystemClock.elapsedRealtime() - start) + " ms");
+        }
+
+        db = FirebaseFirestore.getInstance();
+        FirestoreMetrics.setEnabled(true);
+        FirestoreMetrics.reset();
+    }
+
+    /**
+     * Draws {@link LoadGenerator.Config#drawCapacity} winners from the full waiting list.
+     * Notifications are recorded, not sent; {@link #notificationFanOut()} measures those.
+     */
+    @Test
+    public void automaticLottery() throws Exception {
+        int capacity = generator.getConfig().drawCapacity;
+        long limit = limitMillis(LOTTERY_MS_PER_ENTRANT, entrants);
+        RecordingNotificationHelper notifications = new RecordingNotificationHelper();
+        LotteryManager lottery = new LotteryManager(new FirestoreDocumentStore(db), notifications) {
+        };
+        CountDownLatch drawn = new CountDownLatch(1);
+        AtomicInteger selected = new AtomicInteger();
+        AtomicReference<String> error = new AtomicReference<>();
+
+        long start = SystemClock.elapsedRealtime();
+        lottery.performAutomaticLottery(generator.drawEventId(), new LotteryManager.LotteryCallback() {
+            @Override
+            public void onSuccess(int selectedCount, int waitingListCount) {
+                selected.set(selectedCount);
+                drawn.countDown();
+            }
+
+            @Override
+            public void onFailure(String message) {
+                error.set(message);
+                drawn.countDown();
+            }
+        });
+        assertTrue("Lottery did not finish", drawn.await(limit, TimeUnit.MILLISECONDS));
+        assertNull(error.get());
+        // The draw ends by re-reading who is still waiting and notifying them
+        assertTrue("Waiting list not notified",
+                notifications.waitingListNotified.await(limit, TimeUnit.MILLISECONDS));
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(capacity, selected.get());
+        assertEquals(capacity, notifications.chosen.get());
+        assertEquals(entrants - capacity, notifications.waiting.get());
+        // The event, the waiting list, then the waiting list again minus the winners
+        assertCost("automaticLottery", elapsed, limit,
+                2L * entrants + 1,
+                // Each winner's entry and My Events index, the counter shard and the event
+                2L * capacity + 2);
+    }
+
+    /**
+     * Sends one notification to every entrant, as after a draw.
+     */
+    @Test
+    public void notificationFanOut() throws Exception {
+        long limit = limitMillis(FAN_OUT_MS_PER_ENTRANT, entrants);
+        CountDownLatch sent = new CountDownLatch(1);
+
+        long start = SystemClock.elapsedRealtime();
+        new NotificationHelper().notifyAllWaitingListEntrants(generator.drawEventId(),
+                generator.entrantIds(), "Scale Draw", new NotificationHelper.NotificationCallback() {
+                    @Override
+                    public void onSuccess(String message) {
+                        Log.i(TAG, message);
+                        sent.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        Log.e(TAG, error);
+                        sent.countDown();
+                    }
+                });
+        assertTrue("Fan-out did not finish", sent.await(limit, TimeUnit.MILLISECONDS));
+        // Log entries are appended after each notification lands
+        Tasks.await(db.waitForPendingWrites(), limit, TimeUnit.MILLISECONDS);
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        // Each recipient's preferences and the event's organizer
+        assertCost("notificationFanOut", elapsed, limit,
+                entrants + 1L,
+                // A notification and a log entry per recipient, and the month's partition
+                2L * entrants + 1);
+    }
+
+    /**
+     * Runs the daily recommendation job over every account.
+     */
+    @Test
+    public void dailyNotificationWorker() throws Exception {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        LoadGenerator.Config config = generator.getConfig();
+        long accounts = config.accounts + 2;
+        long events = config.events + 2;
+        long limit = limitMillis(DAILY_MS_PER_ACCOUNT, accounts);
+        DailyNotificationWorker worker = TestWorkerBuilder.from(context,
+                DailyNotificationWorker.class, Executors.newSingleThreadExecutor()).build();
+
+        long start = SystemClock.elapsedRealtime();
+        ListenableWorker.Result result = worker.doWork();
+        Tasks.await(db.waitForPendingWrites(), limit, TimeUnit.MILLISECONDS);
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(ListenableWorker.Result.success(), result);
+        // Accounts and events once per run; per user with interests, the 24-hour check and
+        // the preference read before sending; each recommended event's organizer
+        assertCost("dailyNotificationWorker", elapsed, limit,
+                accounts + events + 2 * accounts + events,
+                // A notification and a log entry per recommended user, and the month's partition
+                2 * accounts + 1);
+    }
+
+    /**
+     * Deletes an organizer whose event has the full number of entrants, as an admin would.
+     */
+    @Test
+    public void cascadeDelete() throws Exception {
+        long limit = limitMillis(CASCADE_MS_PER_ENTRANT, entrants);
+
+        long start = SystemClock.elapsedRealtime();
+        CascadeDeleter.Progress progress = CascadeDeleter.getInstance().run(
+                generator.cascadeOrganizerId(), CascadeDeleter.Mode.DISABLE_ACCOUNT, false, update -> {
+                });
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(1, progress.getEventsDeleted());
+        assertEquals(entrants, progress.getEntrantsRemoved());
+        // Every entrant once, plus the page queries, checkpoint, shards and event arrays
+        long pages = entrants / 200 + 1;
+        assertCost("cascadeDelete", elapsed, limit,
+                entrants + pages + 10,
+                // Each entrant and their My Events entry, plus shards, waiting list, poster,
+                // event, account and checkpoints
+                2L * entrants + 20);
+    }
+
+    private static long limitMillis(double millisPerUnit, long units) {
+        return BASE_LIMIT_MS + (long) (millisPerUnit * units);
+    }
+
+    private void assertCost(String name, long elapsedMs, long limitMs,
+                            long readBudget, long writeBudget) throws Exception {
+        assertTrue("Metrics not recorded", FirestoreMetrics.awaitRecorded(30, TimeUnit.SECONDS));
+        long reads = documents(FirestoreMetrics.KIND_READ);
+        long writes = documents(FirestoreMetrics.KIND_WRITE);
+
+        String summary = String.format(Locale.US, "%s @ %d: %d ms (limit %d), %d reads (budget %d), %d writes (budget %d)",
+                name, entrants, elapsedMs, limitMs, reads, readBudget, writes, writeBudget);
+        Log.i(TAG, summary);
+        Log.i(TAG, FirestoreMetrics.report());
+        appendResult(name, elapsedMs, reads, writes);
+
+        assertTrue(summary, reads <= readBudget);
+        assertTrue(summary, writes <= writeBudget);
+        assertTrue(summary, elapsedMs <= limitMs);
+    }
+
+    private static long documents(String kind) {
+        long total = 0;
+        for (FirestoreMetrics.OperationStats stats : FirestoreMetrics.snapshot()) {
+            if (kind.equals(stats.getKind())) {
+                total += stats.getDocuments();
+            }
+        }
+        return total;
+    }
+
+    private void appendResult(String name, long elapsedMs, long reads, long writes) {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        File file = new File(context.getFilesDir(), RESULTS_FILE);
+        boolean header = !file.exists();
+        try (CsvWriter csv = new CsvWriter(new FileWriter(file, true))) {
+            if (header) {
+                csv.row("time", "test", "entrants", "elapsed_ms", "reads", "writes");
+            }
+            csv.row(String.valueOf(System.currentTimeMillis()), name, String.valueOf(entrants),
+                    String.valueOf(elapsedMs), String.valueOf(reads), String.valueOf(writes));
+        } catch (Exception e) {
+            Log.w(TAG, "Could not save results", e);
+        }
+    }
+
+    /**
+     * Counts who the lottery would notify, without writing anything.
+     */
+    private static class RecordingNotificationHelper extends NotificationHelper {
+        final AtomicInteger chosen = new AtomicInteger();
+        final AtomicInteger waiting = new AtomicInteger();
+        final CountDownLatch waitingListNotified = new CountDownLatch(1);
+
+        @Override
+        public void notifyChosenEntrants(String eventId, List<String> chosenEntrantIds,
+                                         String eventName, NotificationCallback callback) {
+            chosen.addAndGet(chosenEntrantIds.size());
+            callback.onSuccess("Recorded " + chosenEntrantIds.size());
+        }
+
+        @Override
+        public void notifyAllWaitingListEntrants(String eventId, List<String> waitingListIds,
+                                                 String eventName, NotificationCallback callback) {
+            waiting.addAndGet(waitingListIds.size());
+            callback.onSuccess("Recorded " + waitingListIds.size());
+            waitingListNotified.countDown();
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.example.connect;
 
 import android.app.Activity;
 import android.app.Application;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
+import android.os.Trace;
 import android.util.Log;
 
 import androidx.work.Constraints;
@@ -11,16 +13,25 @@ import androidx.work.NetworkType;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
 
+import com.example.connect.network.EventRepositoryProvider;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.utils.JankMetrics;
+import com.example.connect.utils.StartupTasks;
 import com.example.connect.utils.UserActivityTracker;
 import com.example.connect.workers.DailyNotificationWorker;
 import com.example.connect.workers.LotteryWorker;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Custom Application class to track app lifecycle and manage user activity status.
  * Also initializes automatic lottery draw system.
+ * <p>
+ * Startup is traced with {@link Trace} sections (see the macrobenchmark module), and the
+ * WorkManager schedules are only enqueued once the first activity has drawn a frame.
  *
  * @author Zenith Team
  * @version 2.0
@@ -30,23 +41,79 @@ public class ConnectApplication extends Application implements Application.Activ
     private static final String TAG = "ConnectApplication";
     private static final String LOTTERY_WORK_NAME = "automatic_lottery_check";
     private static final String DAILY_NOTIFICATION_WORK = "daily_notification_work";
+    private static final long METRICS_DUMP_MINUTES = 15;
+    private static final int FIRESTORE_EMULATOR_PORT = 8080;
+    private static final int AUTH_EMULATOR_PORT = 9099;
 
     private int activityCount = 0; // Track number of activities in foreground
+    private final AtomicBoolean backgroundWorkScheduled = new AtomicBoolean(false);
 
     @Override
     public void onCreate() {
-        super.onCreate();
+        Trace.beginSection("ConnectApplication.onCreate");
+        try {
+            super.onCreate();
+            init();
+        } finally {
+            Trace.endSection();
+        }
+    }
 
+    private void init() {
         Log.d(TAG, "ConnectApplication starting...");
 
         // Register activity lifecycle callbacks for user tracking
         registerActivityLifecycleCallbacks(this);
 
-        // Schedule automatic lottery checks
-        scheduleAutomaticLotteryChecks();
+        // Record Firestore usage and frame times per screen in debug builds
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            FirestoreMetrics.setEnabled(true);
+            FirestoreMetrics.startPeriodicDump(this, METRICS_DUMP_MINUTES);
+            JankMetrics.setEnabled(true);
+            JankMetrics.startPeriodicDump(this, METRICS_DUMP_MINUTES);
+        }
+
+        // Benchmark builds run against the seeded local emulators
+        useFirebaseEmulators(BuildConfig.FIREBASE_EMULATOR_HOST);
+
+        // Let the shared event repository serve from its on-disk cache
+        EventRepositoryProvider.init(this);
+
+        // Lottery checks and daily notifications are scheduled after the first frame,
+        // see onActivityResumed
+    }
+
+    /**
+     * Points Firestore and Auth at the local emulators on {@code host}. Has to run before
+     * anything else touches either; an empty host keeps the production backend.
+     */
+    private void useFirebaseEmulators(String host) {
+        if (host == null || host.isEmpty()) return;
+        FirebaseFirestore.getInstance().useEmulator(host, FIRESTORE_EMULATOR_PORT);
+        FirebaseAuth.getInstance().useEmulator(host, AUTH_EMULATOR_PORT);
+        Log.d(TAG, "Using Firebase emulators on " + host);
+    }
 
-        // schedule automatic notifications every day
-        scheduleAutomaticNotifications();
+    /**
+     * Enqueues the periodic WorkManager jobs off the main thread. Initializing WorkManager
+     * opens its database, which has no business on the cold start path. Runs once per process.
+     */
+    private void scheduleBackgroundWork() {
+        if (!backgroundWorkScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        StartupTasks.runInBackground(() -> {
+            Trace.beginSection("ConnectApplication.scheduleBackgroundWork");
+            try {
+                // Schedule automatic lottery checks
+                scheduleAutomaticLotteryChecks();
+
+                // schedule automatic notifications every day
+                scheduleAutomaticNotifications();
+            } finally {
+                Trace.endSection();
+            }
+        });
     }
 
     /**
@@ -117,7 +184,8 @@ public class ConnectApplication extends Application implements Application.Activ
     // Activity Lifecycle Callbacks for User Activity Tracking
     @Override
     public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
-        // Activity created
+        // Activity created - its onCreate reads count towards it
+        FirestoreMetrics.setScreen(activity.getClass().getSimpleName());
     }
 
     @Override
@@ -135,11 +203,20 @@ public class ConnectApplication extends Application implements Application.Activ
     @Override
     public void onActivityResumed(Activity activity) {
         // Activity resumed - user is active (handled by individual activities)
+        FirestoreMetrics.setScreen(activity.getClass().getSimpleName());
+        JankMetrics.track(activity);
+
+        // Whichever activity draws first triggers the deferred schedules
+        if (!backgroundWorkScheduled.get()) {
+            StartupTasks.afterFirstFrame(activity, this::scheduleBackgroundWork);
+        }
     }
 
     @Override
     public void onActivityPaused(Activity activity) {
         // Activity paused - but user might still be in app, don't mark inactive
+        FirestoreMetrics.setScreen(null);
+        JankMetrics.untrack(activity);
     }
 
     @Override
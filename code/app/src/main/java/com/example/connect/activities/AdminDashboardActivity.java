@@ -1,5 +1,6 @@
 package com.example.connect.activities;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.widget.Toast;
@@ -8,8 +9,15 @@ import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.connect.R;
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.network.CurrentUserRepository;
+import com.example.connect.network.FirestoreMetrics;
 import com.example.connect.testing.TestHooks;
 import com.example.connect.utils.UserActivityTracker;
+import com.example.connect.workers.CascadeDeleteWorker;
+import com.example.connect.workers.EventGeohashBackfillWorker;
+import com.example.connect.workers.ImageIndexBackfillWorker;
+import com.example.connect.workers.SearchTokenBackfillWorker;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 import com.google.firebase.auth.FirebaseAuth;
@@ -73,6 +81,11 @@ import java.util.List;
         if (shouldUseNetwork) {
             mAuth = FirebaseAuth.getInstance();
             db = FirebaseFirestore.getInstance();
+            // Index documents, images and event locations created before their indexes existed (runs once)
+            SearchTokenBackfillWorker.schedule(this);
+            ImageIndexBackfillWorker.schedule(this);
+            EventGeohashBackfillWorker.schedule(this);
+            resumePendingCascades();
         }
 
         initViews();
@@ -111,8 +124,8 @@ import java.util.List;
         }
 
         // Query Firestore to get the total count of users in the accounts collection
-        db.collection("accounts")
-                .get()
+        FirestoreMetrics.read("AdminDashboardActivity.loadDashboardStats", db.collection("accounts")
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     // Get the total number of documents (users)
                     int totalUsers = queryDocumentSnapshots.size();
@@ -158,6 +171,20 @@ import java.util.List;
                 });
     }
 
+    /**
+     * Finishes account removals that were interrupted (e.g. the app was closed while an
+     * admin was deleting a user). Each one is scheduled as a background job, which picks up
+     * from its last checkpoint; a removal whose job is still pending is left to that job.
+     */
+    private void resumePendingCascades() {
+        Context appContext = getApplicationContext();
+        CascadeDeleter.getInstance().resumePending((userId, mode, notifyEntrants) -> {
+            if (CascadeDeleteWorker.enqueue(appContext, userId, mode, notifyEntrants) == null) {
+                Log.e("AdminDashboard", "Failed to schedule resumed account removal for " + userId);
+            }
+        });
+    }
+
     /**
      * Setups up listeners for all Cards
      */
@@ -186,9 +213,18 @@ import java.util.List;
             startActivity(new Intent(this, AdminNotificationLogActivity.class));
         });
 
+        // Debug builds: long-press the system stat for the Firestore metrics screen
+        if (FirestoreMetrics.isEnabled()) {
+            tvStatSystem.setOnLongClickListener(v -> {
+                startActivity(new Intent(this, FirestoreMetricsActivity.class));
+                return true;
+            });
+        }
+
         btnLogout.setOnClickListener(v -> {
             // Mark user as inactive before logging out
             UserActivityTracker.markUserInactive();
+            CurrentUserRepository.getInstance().clear();
             if (mAuth != null) {
                 mAuth.signOut();
             }
@@ -237,8 +273,8 @@ import java.util.List;
             callback.onSuccess(new ArrayList<>());
             return;
         }
-        db.collection("accounts")
-                .get()
+        FirestoreMetrics.read("AdminDashboardActivity.getActiveUsers", db.collection("accounts")
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<String> activeUserIds = new ArrayList<>();
 
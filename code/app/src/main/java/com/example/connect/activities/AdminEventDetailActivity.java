@@ -11,6 +11,7 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.connect.R;
+import com.example.connect.network.FirestoreMetrics;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -99,9 +100,9 @@ public class AdminEventDetailActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         contentGroup.setVisibility(View.GONE);
 
-        db.collection("events")
+        FirestoreMetrics.read("AdminEventDetailActivity.loadEvent", db.collection("events")
                 .document(eventId)
-                .get()
+                .get())
                 .addOnSuccessListener(this::bindEvent)
                 .addOnFailureListener(e -> {
                     progressBar.setVisibility(View.GONE);
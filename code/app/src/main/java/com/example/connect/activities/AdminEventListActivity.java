@@ -16,14 +16,17 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.AdminEventAdapter;
+import com.example.connect.adapters.PagingScrollListener;
 import com.example.connect.models.Event;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
+import com.example.connect.network.ImageIndex;
 import com.example.connect.testing.TestHooks;
+import com.example.connect.utils.SearchDebouncer;
+import com.example.connect.utils.SearchTokens;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.textfield.TextInputEditText;
-import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,8 +37,8 @@ import java.util.List;
  *
  * <p>This activity displays a searchable list of all events with the ability to:
  * <ul>
- *   <li>View all events in the system</li>
- *   <li>Search events by name or organizer ID</li>
+ *   <li>View all events in the system, a page at a time</li>
+ *   <li>Search events by name or organizer (prefix search, see {@link SearchTokens})</li>
  *   <li>View detailed information about a specific event</li>
  *   <li>Delete events (including their associated waitlists)</li>
  * </ul>
@@ -44,7 +47,8 @@ import java.util.List;
  * @version 2.0
  */
 
-public class AdminEventListActivity extends AppCompatActivity {
+public class AdminEventListActivity extends AppCompatActivity
+        implements AdminListLoader.Listener<Event> {
 
     // Ui Components
     private RecyclerView recyclerView;
@@ -54,6 +58,9 @@ public class AdminEventListActivity extends AppCompatActivity {
     private FirebaseFirestore db;
     private TextInputEditText searchInput;
     private View searchLayout;
+    private AdminListLoader<Event> loader;
+    private SearchDebouncer searchDebouncer;
+    // Events loaded so far for the current search
     private final List<Event> allEvents = new ArrayList<>();
 
     @Override
@@ -65,6 +72,7 @@ public class AdminEventListActivity extends AppCompatActivity {
             boolean shouldUseNetwork = !TestHooks.isUiTestMode();
             if (shouldUseNetwork) {
                 db = FirebaseFirestore.getInstance();
+                loader = new AdminListLoader<>(AdminListSources.events(db), this);
             }
 
             initViews();
@@ -81,9 +89,17 @@ public class AdminEventListActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        super.onDestroy();
+    }
+
     /**
      * Initializes all UI components including the toolbar, search bar, and empty state view.
-     * Sets up the search functionality with a text watcher for real-time filtering.
+     * Searches run once typing pauses; in UI test mode the loaded events are filtered directly.
      */
     private void initViews() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
@@ -104,6 +120,11 @@ public class AdminEventListActivity extends AppCompatActivity {
 
         if (searchInput != null) {
             searchInput.setHint("Search events");
+            if (loader != null) {
+                searchDebouncer = new SearchDebouncer(text -> loadEvents());
+                searchInput.addTextChangedListener(searchDebouncer);
+                return;
+            }
             searchInput.addTextChangedListener(new TextWatcher() {
                 @Override
                 public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
@@ -121,12 +142,19 @@ public class AdminEventListActivity extends AppCompatActivity {
 
     /**
      * Sets up the RecyclerView with an adapter and layout manager.
-     * Configures click handlers for delete and detail view actions.
+     * Configures click handlers for delete and detail view actions, and loads the next
+     * page when the list is scrolled near its end.
      */
     private void setupRecyclerView() {
         adapter = new AdminEventAdapter(this::deleteEvent, this::openEventDetails);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, () -> {
+            if (loader != null) {
+                loader.loadMore();
+            }
+        }));
     }
 
     /**
@@ -141,9 +169,9 @@ public class AdminEventListActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads all events from Firestore and displays them in the RecyclerView.
-     * Shows a progress indicator while loading and displays an empty state message
-     * if no events are found.
+     * Loads the first page of events matching the current search text.
+     * Further pages are requested by the scroll listener; results arrive in
+     * {@link #onPage(List, boolean, boolean)}.
      */
     private void loadEvents() {
         if (TestHooks.isUiTestMode()) {
@@ -153,31 +181,37 @@ public class AdminEventListActivity extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
         tvEmptyState.setVisibility(View.GONE);
+        loader.search(currentSearchText());
+    }
 
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(View.GONE);
-                    List<Event> events = new ArrayList<>();
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setEventId(document.getId());
-                        events.add(event);
-                    }
-
-                    allEvents.clear();
-                    allEvents.addAll(events);
-                    applyCurrentFilter();
-
-                    if (allEvents.isEmpty()) {
-                        tvEmptyState.setVisibility(View.VISIBLE);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading events: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e("AdminEventList", "Error loading events", e);
-                });
+    /**
+     * Shows a page of events. The first page of a search replaces the list.
+     */
+    @Override
+    public void onPage(List<Event> events, boolean firstPage, boolean hasMore) {
+        progressBar.setVisibility(View.GONE);
+        if (firstPage) {
+            allEvents.clear();
+            allEvents.addAll(events);
+            adapter.setEvents(new ArrayList<>(events));
+        } else {
+            allEvents.addAll(events);
+            adapter.appendEvents(events);
+        }
+        tvEmptyState.setVisibility(allEvents.isEmpty() && !hasMore ? View.VISIBLE : View.GONE);
+    }
+
+    @Override
+    public void onFailure(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Toast.makeText(this, "Error loading events: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        Log.e("AdminEventList", "Error loading events", e);
+    }
+
+    private String currentSearchText() {
+        return searchInput != null && searchInput.getText() != null
+                ? searchInput.getText().toString()
+                : "";
     }
 
     /**
@@ -185,15 +219,12 @@ public class AdminEventListActivity extends AppCompatActivity {
      * Used after loading events to maintain the search state.
      */
     private void applyCurrentFilter() {
-        String query = searchInput != null && searchInput.getText() != null
-                ? searchInput.getText().toString()
-                : "";
-        filterEvents(query);
+        filterEvents(currentSearchText());
     }
 
     /**
-     * Filters the event list based on a search query.
-     * Searches through event names and organizer IDs (case-insensitive).
+     * Filters the loaded events based on a search query, the same way a search does:
+     * every word must start a word of the event name or organizer (case-insensitive).
      * Updates the RecyclerView and empty state visibility based on results.
      *
      * @param query The search query to filter by
@@ -205,17 +236,10 @@ public class AdminEventListActivity extends AppCompatActivity {
             query = "";
         }
 
-        String lowerQuery = query.toLowerCase().trim();
         List<Event> filtered = new ArrayList<>();
-        if (lowerQuery.isEmpty()) {
-            filtered.addAll(allEvents);
-        } else {
-            for (Event event : allEvents) {
-                String name = event.getName() != null ? event.getName().toLowerCase() : "";
-                String organizer = event.getOrganizerId() != null ? event.getOrganizerId().toLowerCase() : "";
-                if (name.contains(lowerQuery) || organizer.contains(lowerQuery)) {
-                    filtered.add(event);
-                }
+        for (Event event : allEvents) {
+            if (SearchTokens.matches(query, event.getName(), event.getOrganizerId())) {
+                filtered.add(event);
             }
         }
 
@@ -228,7 +252,7 @@ public class AdminEventListActivity extends AppCompatActivity {
     /**
      * Deletes an event and its associated waitlist from Firestore.
      * The waitlist is deleted first to maintain data integrity, followed by the event itself.
-     * Refreshes the event list upon successful deletion.
+     * Removes the event from the list upon successful deletion.
      *
      * @param event The event to delete
      */
@@ -251,7 +275,10 @@ public class AdminEventListActivity extends AppCompatActivity {
                             .delete()
                             .addOnSuccessListener(aVoid1 -> {
                                 Toast.makeText(this, "Event and waitlist deleted successfully", Toast.LENGTH_SHORT).show();
-                                loadEvents(); // Refresh list
+                                ImageIndex.getInstance().remove(ImageIndex.eventPosterId(event.getEventId()));
+                                // Drop the row rather than reloading every page shown so far
+                                allEvents.remove(event);
+                                adapter.removeItem(event);
                             })
                             .addOnFailureListener(e -> {
                                 Toast.makeText(this, "Error deleting event: " + e.getMessage(), Toast.LENGTH_SHORT).show();
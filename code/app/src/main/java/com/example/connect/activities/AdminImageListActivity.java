@@ -16,11 +16,20 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.AdminImageAdapter;
+import com.example.connect.adapters.PagingScrollListener;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
+import com.example.connect.network.ImageIndex;
+import com.example.connect.network.ImageThumbnailCache;
 import com.example.connect.testing.TestHooks;
+import com.example.connect.utils.SearchDebouncer;
+import com.example.connect.utils.SearchTokens;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.textfield.TextInputEditText;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -31,21 +40,20 @@ import java.util.Map;
 /**
  * Activity for administrators to view and manage all images in the system.
  *
- * <p>This activity displays a searchable list of images from two sources:
- * <ul>
- *   <li>Event posters from the events collection</li>
- *   <li>Profile pictures from the accounts collection</li>
- * </ul>
+ * <p>This activity displays a searchable list of the event posters and profile pictures
+ * recorded in the {@code images} metadata index (see {@link ImageIndex}).
  *
- * <p>Administrators can search for images by display name or related ID, view
- * full-size images, and delete images from the system. Deleting an image removes
- * it from Firestore leaving event intact
+ * <p>Only metadata is loaded, a page at a time; thumbnails are fetched as rows are shown.
+ * Administrators can search for images by display name or related ID, view full-size
+ * images, and delete images from the system. Deleting an image removes it from Firestore
+ * leaving event intact
  *
  * @author Vansh Taneja, Sai Vashnavi Jattu
  * @version 2.0
  */
 
-public class AdminImageListActivity extends AppCompatActivity {
+public class AdminImageListActivity extends AppCompatActivity
+        implements AdminListLoader.Listener<AdminImageAdapter.ImageItem> {
 
     // UI components
     private RecyclerView recyclerView;
@@ -55,6 +63,9 @@ public class AdminImageListActivity extends AppCompatActivity {
     private FirebaseFirestore db;
     private TextInputEditText searchInput;
     private View searchLayout;
+    private AdminListLoader<AdminImageAdapter.ImageItem> loader;
+    private SearchDebouncer searchDebouncer;
+    // Images loaded so far for the current search
     private final List<AdminImageAdapter.ImageItem> allImages = new ArrayList<>();
 
     @Override
@@ -66,6 +77,7 @@ public class AdminImageListActivity extends AppCompatActivity {
             boolean shouldUseNetwork = !TestHooks.isUiTestMode();
             if (shouldUseNetwork) {
                 db = FirebaseFirestore.getInstance();
+                loader = new AdminListLoader<>(AdminListSources.images(db), this);
             }
 
             initViews();
@@ -88,9 +100,17 @@ public class AdminImageListActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        super.onDestroy();
+    }
+
     /**
      * Initializes all UI components including the toolbar, search bar, and empty state view.
-     * Sets up the search functionality with a text watcher for real-time filtering.
+     * Searches run once typing pauses; in UI test mode the loaded images are filtered directly.
      */
     private void initViews() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
@@ -111,6 +131,11 @@ public class AdminImageListActivity extends AppCompatActivity {
 
         if (searchInput != null) {
             searchInput.setHint("Search images");
+            if (loader != null) {
+                searchDebouncer = new SearchDebouncer(text -> loadImages());
+                searchInput.addTextChangedListener(searchDebouncer);
+                return;
+            }
             searchInput.addTextChangedListener(new TextWatcher() {
                 @Override
                 public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
@@ -127,13 +152,19 @@ public class AdminImageListActivity extends AppCompatActivity {
     }
 
     /**
-     * Initializes all UI components including the toolbar, search bar, and empty state view.
-     * Sets up the search functionality with a text watcher for real-time filtering.
+     * Sets up the RecyclerView with an adapter and layout manager, and loads the next
+     * page when the list is scrolled near its end.
      */
     private void setupRecyclerView() {
         adapter = new AdminImageAdapter(this::deleteImage, this::openImageDetails);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, () -> {
+            if (loader != null) {
+                loader.loadMore();
+            }
+        }));
         if (TestHooks.isUiTestMode() && recyclerView.getItemAnimator() != null) {
             recyclerView.setItemAnimator(null); // keep Espresso checks deterministic
         }
@@ -141,101 +172,59 @@ public class AdminImageListActivity extends AppCompatActivity {
 
 
     /**
-     * Opens the full-size image detail view for a specific image.
-     * Handles both URL-based and base64 encoded images.
+     * Opens the full-size image detail view for a specific image. Only the image id is
+     * passed; the detail screen reads the image itself.
      *
      * @param image The image item to view in detail
      */
     private void openImageDetails(AdminImageAdapter.ImageItem image) {
         android.content.Intent intent = new android.content.Intent(this, ImageDetailsActivity.class);
-        if (image.url != null && (image.url.startsWith("http") || image.url.startsWith("https"))) {
-            intent.putExtra("image_url", image.url);
-        } else {
-            intent.putExtra("image_base64", image.url);
-        }
-        intent.putExtra("image_title", image.displayName != null ? image.displayName : image.type);
+        intent.putExtra(ImageDetailsActivity.EXTRA_IMAGE_ID, image.id);
         startActivity(intent);
     }
 
     /**
-     * Loads all images from Firestore including event posters and user profile pictures.
-     * Fetches from both the "events" and "accounts" collections and combines the results.
+     * Loads the first page of image metadata matching the current search text.
+     * Further pages are requested by the scroll listener.
      */
     private void loadImages() {
-        if (TestHooks.isUiTestMode() || db == null) {
+        if (TestHooks.isUiTestMode() || loader == null) {
             return;
         }
 
         progressBar.setVisibility(View.VISIBLE);
         tvEmptyState.setVisibility(View.GONE);
+        loader.search(currentSearchText());
+    }
 
-        List<AdminImageAdapter.ImageItem> images = new ArrayList<>();
-
-        // 1. Fetch Event Posters
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(eventSnapshots -> {
-                    for (QueryDocumentSnapshot doc : eventSnapshots) {
-                        String imageUrl = doc.getString("imageUrl");
-                        String imageBase64 = doc.getString("image_base64");
-
-                        String eventTitle = doc.getString("event_title");
-                        if (eventTitle == null || eventTitle.isEmpty()) {
-                            eventTitle = doc.getString("name");
-                        }
-
-                        if (imageUrl != null && !imageUrl.isEmpty()) {
-                            images.add(new AdminImageAdapter.ImageItem(
-                                    doc.getId(),
-                                    imageUrl,
-                                    "Event Poster",
-                                    doc.getId(),
-                                    eventTitle));
-                        } else if (imageBase64 != null && !imageBase64.isEmpty()) {
-                            images.add(new AdminImageAdapter.ImageItem(
-                                    doc.getId(),
-                                    imageBase64,
-                                    "Event Poster",
-                                    doc.getId(),
-                                    eventTitle));
-                        }
-                    }
-
-                    // 2. Fetch Profile Pictures from "accounts" collection
-                    db.collection("accounts")
-                            .get()
-                            .addOnSuccessListener(userSnapshots -> {
-                                for (QueryDocumentSnapshot doc : userSnapshots) {
-                                    // Use correct field name based on User model annotation
-                                    String profileUrl = doc.getString("profile_image_url");
-                            String displayName = doc.getString("display_name");
-                            if (displayName == null || displayName.isEmpty()) {
-                                displayName = doc.getString("full_name");
-                            }
-                                    if (profileUrl != null && !profileUrl.isEmpty()) {
-                                        images.add(new AdminImageAdapter.ImageItem(
-                                                doc.getId(),
-                                                profileUrl,
-                                                "Profile Picture",
-                                        doc.getId(),
-                                        displayName));
-                                    }
-                                }
-
-                                progressBar.setVisibility(View.GONE);
-                        updateImages(images);
-                            })
-                            .addOnFailureListener(e -> {
-                                progressBar.setVisibility(View.GONE);
-                                Log.e("AdminImageList", "Error loading user images", e);
-                                Toast.makeText(this, "Error loading user images", Toast.LENGTH_SHORT).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Log.e("AdminImageList", "Error loading event images", e);
-                    Toast.makeText(this, "Error loading event images", Toast.LENGTH_SHORT).show();
-                });
+    /**
+     * Shows a page of images. The first page of a search replaces the list.
+     */
+    @Override
+    public void onPage(List<AdminImageAdapter.ImageItem> images, boolean firstPage, boolean hasMore) {
+        progressBar.setVisibility(View.GONE);
+        if (firstPage) {
+            allImages.clear();
+            allImages.addAll(images);
+            adapter.setImages(new ArrayList<>(images));
+        } else {
+            allImages.addAll(images);
+            adapter.appendImages(images);
+        }
+        tvEmptyState.setVisibility(allImages.isEmpty() && !hasMore ? View.VISIBLE : View.GONE);
+    }
+
+    @Override
+    public void onFailure(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Log.e("AdminImageList", "Error loading images", e);
+        Toast.makeText(this, "Error loading images", Toast.LENGTH_SHORT).show();
+    }
+
+    private String currentSearchText() {
+        return searchInput != null && searchInput.getText() != null
+                ? searchInput.getText().toString()
+                : "";
     }
 
     /**
@@ -254,15 +243,12 @@ public class AdminImageListActivity extends AppCompatActivity {
      * Used after loading images to maintain the search state.
      */
     private void applyCurrentFilter() {
-        String query = searchInput != null && searchInput.getText() != null
-                ? searchInput.getText().toString()
-                : "";
-        filterImages(query);
+        filterImages(currentSearchText());
     }
 
     /**
-     * Filters the image list based on a search query.
-     * Searches through display names and related IDs (case-insensitive).
+     * Filters the loaded images based on a search query, the same way a search does:
+     * every word must start a word of the display name or related ID (case-insensitive).
      * Updates the RecyclerView and empty state visibility based on results.
      *
      * @param query The search query to filter by
@@ -277,13 +263,9 @@ public class AdminImageListActivity extends AppCompatActivity {
 
         String lowerQuery = normalize(query);
         List<AdminImageAdapter.ImageItem> filtered = new ArrayList<>();
-        if (lowerQuery.isEmpty()) {
-            filtered.addAll(allImages);
-        } else {
-            for (AdminImageAdapter.ImageItem image : allImages) {
-                if (buildSearchSource(image).contains(lowerQuery)) {
-                    filtered.add(image);
-                }
+        for (AdminImageAdapter.ImageItem image : allImages) {
+            if (SearchTokens.matches(lowerQuery, buildSearchSource(image))) {
+                filtered.add(image);
             }
         }
 
@@ -329,7 +311,8 @@ public class AdminImageListActivity extends AppCompatActivity {
      * Deletes an image reference from Firestore.
      * For event posters, removes both imageUrl and image_base64 fields.
      * For profile pictures, removes the profile_image_url field.
-     * Refreshes the image list after successful deletion.
+     * The image's index entry and thumbnail are deleted in the same batch.
+     * Removes the image from the list after successful deletion.
      *
      * @param image The image item to delete
      */
@@ -341,33 +324,34 @@ public class AdminImageListActivity extends AppCompatActivity {
             return;
         }
 
-        if (image.type.equals("Event Poster")) {
+        Map<String, Object> updates = new HashMap<>();
+        DocumentReference source;
+        if (ImageIndex.TYPE_EVENT_POSTER.equals(image.type)) {
             // Delete both possible fields for events
-            Map<String, Object> updates = new HashMap<>();
             updates.put("imageUrl", null);
             updates.put("image_base64", null);
-
-            db.collection("events").document(image.id)
-                    .update(updates)
-                    .addOnSuccessListener(aVoid -> {
-                        Toast.makeText(this, "Image deleted", Toast.LENGTH_SHORT).show();
-                        loadImages(); // Refresh
-                    })
-                    .addOnFailureListener(e -> {
-                        Toast.makeText(this, "Error removing image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    });
+            // Bump updated_at so EventRepository's delta sync drops the cached poster
+            updates.put("updated_at", FieldValue.serverTimestamp());
+            source = db.collection("events").document(image.relatedId);
         } else {
             // Delete profile image
-            db.collection("accounts").document(image.id)
-                    .update("profile_image_url", null)
-                    .addOnSuccessListener(aVoid -> {
-                        Toast.makeText(this, "Image deleted", Toast.LENGTH_SHORT).show();
-                        loadImages(); // Refresh
-                    })
-                    .addOnFailureListener(e -> {
-                        Toast.makeText(this, "Error removing image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    });
+            updates.put("profile_image_url", null);
+            source = db.collection("accounts").document(image.relatedId);
         }
+
+        WriteBatch batch = db.batch();
+        batch.update(source, updates);
+        ImageIndex.remove(batch, db, image.id);
+        batch.commit()
+                .addOnSuccessListener(aVoid -> {
+                    Toast.makeText(this, "Image deleted", Toast.LENGTH_SHORT).show();
+                    ImageThumbnailCache.getInstance().invalidate(image.id);
+                    allImages.remove(image);
+                    adapter.removeItem(image);
+                })
+                .addOnFailureListener(e -> {
+                    Toast.makeText(this, "Error removing image: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                });
     }
 
     @VisibleForTesting
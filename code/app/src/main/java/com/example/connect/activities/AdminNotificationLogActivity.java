@@ -1,19 +1,39 @@
 package com.example.connect.activities;
 
 import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
+import android.widget.ProgressBar;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
+import com.example.connect.adapters.AdminNotificationAdapter;
+import com.example.connect.adapters.PagingScrollListener;
+import com.example.connect.network.NotificationLogStore;
+import com.example.connect.network.QueryChainPager;
+import com.example.connect.network.QueryPager;
+import com.example.connect.workers.NotificationLogCompactionWorker;
 import com.google.android.material.appbar.MaterialToolbar;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Activity for administrators to view notification logs sent by the system.
  *
  * <p>This activity displays a chronological list of all notifications that have been
- * sent to users, sorted by timestamp in descending order (most recent first). Each log
- * entry includes details about when the notification was sent and to whom.
+ * sent to users, most recent first. Logs are read one page at a time from the monthly
+ * partitions (see {@link NotificationLogStore}) and more are loaded as the admin scrolls.
+ * Days whose entries have been compacted appear as a single summary row. Opening the
+ * screen also schedules the background compaction job.
  *
  * @author Vansh Taneja
  * @version 1.0
@@ -21,22 +41,31 @@ import com.google.android.material.appbar.MaterialToolbar;
 
 public class AdminNotificationLogActivity extends AppCompatActivity {
 
-    private androidx.recyclerview.widget.RecyclerView recyclerView;
-    private android.widget.ProgressBar progressBar;
+    private static final String TAG = "AdminNotifLog";
+    private static final int PAGE_SIZE = 30;
+
+    private RecyclerView recyclerView;
+    private ProgressBar progressBar;
     private TextView tvEmptyState;
-    private com.example.connect.adapters.AdminNotificationAdapter adapter;
-    private com.google.firebase.firestore.FirebaseFirestore db;
+    private AdminNotificationAdapter adapter;
+    private FirebaseFirestore db;
+    private NotificationLogStore logStore;
+    private QueryChainPager pager;
+    private int loadedCount;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_admin_list);
 
-        db = com.google.firebase.firestore.FirebaseFirestore.getInstance();
+        db = FirebaseFirestore.getInstance();
+        logStore = new NotificationLogStore(db);
 
         initViews();
         setupRecyclerView();
         loadNotificationLogs();
+
+        NotificationLogCompactionWorker.schedule(this);
     }
 
     private void initViews() {
@@ -52,92 +81,72 @@ public class AdminNotificationLogActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        adapter = new com.example.connect.adapters.AdminNotificationAdapter();
-        recyclerView.setLayoutManager(new androidx.recyclerview.widget.LinearLayoutManager(this));
+        adapter = new AdminNotificationAdapter();
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, this::loadNextPage));
     }
 
     /**
-     * Loads notification logs from Firestore with a fallback mechanism.
-     *
-     * <p>First attempts to query with orderBy for descending timestamp. If that fails
-     * (typically due to missing Firestore index), falls back to an unordered query and
-     * manually sorts the results by timestamp in descending order.
+     * Lists the log partitions, then loads the first page of logs.
      */
     private void loadNotificationLogs() {
-        progressBar.setVisibility(android.view.View.VISIBLE);
-        tvEmptyState.setVisibility(android.view.View.GONE);
-
-        // Try with orderBy first, fallback to unordered if index missing
-        db.collection("notification_logs")
-                .orderBy("timestamp", com.google.firebase.firestore.Query.Direction.DESCENDING)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(android.view.View.GONE);
-                    java.util.List<java.util.Map<String, Object>> logs = new java.util.ArrayList<>();
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        java.util.Map<String, Object> data = document.getData();
-                        data.put("documentId", document.getId()); // Add document ID for reference
-                        logs.add(data);
-                    }
-
-                    // Sort manually if needed (fallback)
-                    if (!logs.isEmpty()) {
-                        logs.sort((a, b) -> {
-                            com.google.firebase.Timestamp tsA = (com.google.firebase.Timestamp) a.get("timestamp");
-                            com.google.firebase.Timestamp tsB = (com.google.firebase.Timestamp) b.get("timestamp");
-                            if (tsA == null || tsB == null) return 0;
-                            return tsB.compareTo(tsA); // Descending
-                        });
-                    }
-
-                    if (logs.isEmpty()) {
-                        tvEmptyState.setText("No notification logs found");
-                        tvEmptyState.setVisibility(android.view.View.VISIBLE);
-                    } else {
-                        adapter.setNotifications(logs);
-                    }
+        progressBar.setVisibility(View.VISIBLE);
+        tvEmptyState.setVisibility(View.GONE);
+        adapter.setNotifications(new ArrayList<>());
+        loadedCount = 0;
+
+        logStore.newestFirstPager(PAGE_SIZE)
+                .addOnSuccessListener(newPager -> {
+                    pager = newPager;
+                    loadNextPage();
                 })
-                .addOnFailureListener(e -> {
-                    // If orderBy fails (likely missing index), try without ordering
-                    android.util.Log.w("AdminNotifLog", "Ordered query failed, trying unordered", e);
-                    db.collection("notification_logs")
-                            .get()
-                            .addOnSuccessListener(queryDocumentSnapshots -> {
-                                progressBar.setVisibility(android.view.View.GONE);
-                                java.util.List<java.util.Map<String, Object>> logs = new java.util.ArrayList<>();
-                                for (com.google.firebase.firestore.QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                                    java.util.Map<String, Object> data = document.getData();
-                                    data.put("documentId", document.getId());
-                                    logs.add(data);
-                                }
-
-                                // Sort manually by timestamp
-                                if (!logs.isEmpty()) {
-                                    logs.sort((a, b) -> {
-                                        com.google.firebase.Timestamp tsA = (com.google.firebase.Timestamp) a.get("timestamp");
-                                        com.google.firebase.Timestamp tsB = (com.google.firebase.Timestamp) b.get("timestamp");
-                                        if (tsA == null || tsB == null) return 0;
-                                        return tsB.compareTo(tsA); // Descending
-                                    });
-                                }
-
-                                if (logs.isEmpty()) {
-                                    tvEmptyState.setText("No notification logs found");
-                                    tvEmptyState.setVisibility(android.view.View.VISIBLE);
-                                } else {
-                                    adapter.setNotifications(logs);
-                                }
-                            })
-                            .addOnFailureListener(e2 -> {
-                                progressBar.setVisibility(android.view.View.GONE);
-                                android.widget.Toast
-                                        .makeText(this, "Error loading logs: " + e2.getMessage(), android.widget.Toast.LENGTH_LONG)
-                                        .show();
-                                android.util.Log.e("AdminNotifLog", "Error loading logs", e2);
-                                tvEmptyState.setText("Error loading notification logs");
-                                tvEmptyState.setVisibility(android.view.View.VISIBLE);
-                            });
-                });
+                .addOnFailureListener(this::showError);
+    }
+
+    /**
+     * Appends the next page of logs, if any.
+     */
+    private void loadNextPage() {
+        if (pager == null || !pager.hasMore()) return;
+
+        progressBar.setVisibility(View.VISIBLE);
+        pager.loadNextPage(new QueryPager.PageCallback() {
+            @Override
+            public void onPage(List<DocumentSnapshot> documents, boolean hasMore) {
+                progressBar.setVisibility(View.GONE);
+
+                List<Map<String, Object>> logs = new ArrayList<>(documents.size());
+                for (DocumentSnapshot document : documents) {
+                    Map<String, Object> data = document.getData();
+                    if (data == null) continue;
+                    data.put("documentId", document.getId()); // Add document ID for reference
+                    logs.add(data);
+                }
+                loadedCount += logs.size();
+                adapter.appendNotifications(logs);
+
+                if (loadedCount == 0 && !hasMore) {
+                    tvEmptyState.setText("No notification logs found");
+                    tvEmptyState.setVisibility(View.VISIBLE);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                showError(e);
+            }
+        });
+    }
+
+    private void showError(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Log.e(TAG, "Error loading logs", e);
+        Toast.makeText(this, "Error loading logs: " + e.getMessage(), Toast.LENGTH_LONG).show();
+        if (loadedCount == 0) {
+            tvEmptyState.setText("Error loading notification logs");
+            tvEmptyState.setVisibility(View.VISIBLE);
+        }
     }
 }
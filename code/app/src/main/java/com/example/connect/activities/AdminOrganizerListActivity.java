@@ -1,8 +1,6 @@
 package com.example.connect.activities;
 
 import android.os.Bundle;
-import android.text.Editable;
-import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
@@ -16,18 +14,20 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.AdminProfileAdapter;
+import com.example.connect.adapters.PagingScrollListener;
 import com.example.connect.models.User;
-import com.example.connect.utils.NotificationHelper;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.utils.SearchDebouncer;
+import com.example.connect.utils.SearchTokens;
+import com.example.connect.workers.BackgroundJobs;
+import com.example.connect.workers.CascadeDeleteWorker;
 import com.google.android.material.appbar.MaterialToolbar;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 
 /**
@@ -35,8 +35,8 @@ import java.util.Locale;
  *
  * <p>This activity displays a searchable list of all organizer accounts with the ability to:
  * <ul>
- *   <li>View all active organizers (non-disabled accounts)</li>
- *   <li>Search organizers by name or user ID in real-time</li>
+ *   <li>View all active organizers (non-disabled accounts), a page at a time</li>
+ *   <li>Search organizers by name, email or user ID once typing pauses</li>
  *   <li>View detailed profile information for a specific organizer</li>
  *   <li>Disable organizer accounts (which cascades to remove their events)</li>
  * </ul>
@@ -53,7 +53,8 @@ import java.util.Locale;
  * @author Vansh Taneja, Aakansh Chatterjee, Aalpesh Dayal
  * @version 3.0
  */
-public class AdminOrganizerListActivity extends AppCompatActivity {
+public class AdminOrganizerListActivity extends AppCompatActivity
+        implements AdminListLoader.Listener<User> {
 
     private RecyclerView recyclerView;
     private ProgressBar progressBar;
@@ -62,7 +63,9 @@ public class AdminOrganizerListActivity extends AppCompatActivity {
     private View searchLayout;
     private AdminProfileAdapter adapter;
     private FirebaseFirestore db;
-    private List<User> allOrganizers = new ArrayList<>(); // Stores the original, full list
+    private AdminListLoader<User> loader;
+    private SearchDebouncer searchDebouncer;
+    private List<User> allOrganizers = new ArrayList<>(); // Organizers loaded so far for the current search
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -71,6 +74,7 @@ public class AdminOrganizerListActivity extends AppCompatActivity {
             setContentView(R.layout.activity_admin_list);
 
             db = FirebaseFirestore.getInstance();
+            loader = new AdminListLoader<>(AdminListSources.organizers(db), this);
 
             initViews();
             setupRecyclerView();
@@ -83,6 +87,14 @@ public class AdminOrganizerListActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        super.onDestroy();
+    }
+
     private void initViews() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         if (toolbar != null) {
@@ -106,55 +118,34 @@ public class AdminOrganizerListActivity extends AppCompatActivity {
 
     private void setupRecyclerView() {
         adapter = new AdminProfileAdapter(this::deleteOrganizer, this::openOrganizerDetails);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, loader::loadMore));
     }
 
     /**
-     * Sets up the search functionality with a text watcher for real-time filtering.
-     * Triggers filtering on every text change in the search input.
+     * Sets up the search functionality. A new search is loaded once typing pauses.
      */
     private void setupSearch() {
-        etSearch.addTextChangedListener(new TextWatcher() {
-            @Override
-            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
-
-            @Override
-            public void onTextChanged(CharSequence s, int start, int before, int count) {
-                // Trigger the filter logic every time the text changes
-                filterList(s.toString());
-            }
-
-            @Override
-            public void afterTextChanged(Editable s) {}
-        });
+        searchDebouncer = new SearchDebouncer(text -> loadOrganizers());
+        etSearch.addTextChangedListener(searchDebouncer);
     }
 
     /**
-     * Filters the organizer list based on a search query.
-     * Searches through organizer names and user IDs (case-insensitive).
+     * Shows the loaded organizers that match a search query, the same way a search
+     * does: every word must start a word of the name, email or user ID (case-insensitive).
      * Updates the RecyclerView and empty state message based on results.
      *
      * @param searchText The search query to filter by
      */
     private void filterList(String searchText) {
-        String query = searchText.toLowerCase(Locale.getDefault()).trim();
+        String query = searchText.trim();
         List<User> filteredList = new ArrayList<>();
-
-        if (query.isEmpty()) {
-            // If the search bar is empty, show the full list
-            filteredList.addAll(allOrganizers);
-        } else {
-            for (User user : allOrganizers) {
-
-                // Use the single 'name' field from the User model
-                String fullName = user.getName() != null ? user.getName().toLowerCase(Locale.getDefault()) : "";
-                String userId = user.getUserId() != null ? user.getUserId().toLowerCase(Locale.getDefault()) : "";
-
-                // Check if the query is in the full name OR the user ID
-                if (fullName.contains(query) || userId.contains(query)) {
-                    filteredList.add(user);
-                }
+        for (User user : allOrganizers) {
+            if (SearchTokens.matches(query,
+                    user.getName(), user.getFullName(), user.getEmail(), user.getUserId())) {
+                filteredList.add(user);
             }
         }
 
@@ -188,202 +179,98 @@ public class AdminOrganizerListActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads all active organizers from Firestore.
-     * Queries for accounts where organizer=true and disabled!=true.
-     * Shows a progress indicator while loading and applies the current search filter
-     * to the results.
+     * Loads the first page of active organizers matching the current search text.
+     * Disabled accounts are left out by {@link AdminListSources#organizers}.
+     * Further pages are requested by the scroll listener.
      */
     private void loadOrganizers() {
         progressBar.setVisibility(View.VISIBLE);
         tvEmptyState.setVisibility(View.GONE);
+        loader.search(etSearch.getText().toString());
+    }
 
-        db.collection("accounts")
-                .whereEqualTo("organizer", true)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(View.GONE);
-                    allOrganizers.clear(); // Clear old data
-                    List<User> currentOrganizers = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        User user = document.toObject(User.class);
-                        user.setUserId(document.getId());
-
-                        // Only add non-disabled accounts
-                        Boolean disabled = document.getBoolean("disabled");
-                        if (disabled == null || !disabled) {
-                            currentOrganizers.add(user);
-                        }
-                    }
-
-                    // Store the full list
-                    allOrganizers.addAll(currentOrganizers);
-
-                    // Initialize the adapter with the full list
-                    filterList(etSearch.getText().toString());
-
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading organizers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e("AdminOrgList", "Error loading organizers", e);
-                    tvEmptyState.setText("Failed to load organizers.");
-                    tvEmptyState.setVisibility(View.VISIBLE);
-                });
+    /**
+     * Shows a page of organizers. The first page of a search replaces the list.
+     */
+    @Override
+    public void onPage(List<User> organizers, boolean firstPage, boolean hasMore) {
+        progressBar.setVisibility(View.GONE);
+        if (firstPage) {
+            allOrganizers.clear();
+            allOrganizers.addAll(organizers);
+            filterList(loader.getSearchText());
+        } else {
+            allOrganizers.addAll(organizers);
+            adapter.appendUsers(organizers);
+            if (!allOrganizers.isEmpty()) {
+                tvEmptyState.setVisibility(View.GONE);
+            }
+        }
+    }
+
+    @Override
+    public void onFailure(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Toast.makeText(this, "Error loading organizers: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        Log.e("AdminOrgList", "Error loading organizers", e);
+        tvEmptyState.setText("Failed to load organizers.");
+        tvEmptyState.setVisibility(View.VISIBLE);
     }
 
     /**
      * Disables an organizer account and removes all associated data.
      *
-     * <p>This method performs a comprehensive cleanup process:
+     * <p>The cleanup is run by {@link CascadeDeleter}, which:
      * <ol>
-     *   <li>Finds all events created by the organizer</li>
-     *   <li>Sends cancellation notifications to all users involved with each event
+     *   <li>Deletes every event created by the organizer, with its waiting list, entrants,
+     *       counters and poster, after notifying everyone involved with it
      *       (users on waitlist, chosen entrants, and enrolled users)</li>
-     *   <li>Deletes all event documents</li>
-     *   <li>Deletes all waiting list documents and their entrants subcollections</li>
      *   <li>Removes the organizer from any waiting lists they joined as an entrant
      *       (using collectionGroup query)</li>
+     *   <li>Removes the organizer from other events' chosen and enrolled lists</li>
      *   <li>Sets the organizer's account to disabled=true (soft delete) so user can't remake account</li>
      * </ol>
      *
-     * <p>All deletion operations are batched to ensure consistency. If any step fails,
-     * appropriate error messages are displayed. The organizer list is refreshed upon
-     * successful completion.
+     * <p>The cleanup runs as a background job ({@link CascadeDeleteWorker}), so it carries on
+     * if this screen is closed. Progress is shown in the toolbar subtitle while it runs.
      *
      * @param user The organizer to delete
      */
     private void deleteOrganizer(User user) {
         if (user.getUserId() == null) return;
 
-        String userId = user.getUserId();
         progressBar.setVisibility(View.VISIBLE);
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+
+        String jobId = CascadeDeleteWorker.enqueue(this, user.getUserId(),
+                CascadeDeleter.Mode.DISABLE_ACCOUNT, true);
+        if (jobId == null) {
+            progressBar.setVisibility(View.GONE);
+            Toast.makeText(this, "Could not start removal, please try again.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        BackgroundJobs.observe(this, this, jobId, new BackgroundJobs.JobCallback() {
+            @Override
+            public void onProgress(BackgroundJobs.JobStatus status) {
+                if (toolbar != null) toolbar.setSubtitle(status.getMessage());
+            }
 
-        NotificationHelper notificationHelper = new NotificationHelper();
-
-        // 1. Find all events created by this organizer
-        db.collection("events")
-                .whereEqualTo("organizer_id", userId)
-                .get()
-                .addOnSuccessListener(eventSnapshots -> {
-                    List<com.google.android.gms.tasks.Task<Void>> tasks = new ArrayList<>();
-
-                    // Notify users for each event before deletion
-                    for (QueryDocumentSnapshot eventDoc : eventSnapshots) {
-                        String eventId = eventDoc.getId();
-                        String eventTitle = eventDoc.getString("event_title");
-                        if (eventTitle == null) eventTitle = "An event";
-
-                        // --- Notification Logic (Same as before) ---
-                        List<String> usersToNotify = new ArrayList<>();
-                        String finalEventTitle = eventTitle;
-
-                        // We fetch this purely for notification purposes
-                        db.collection("waiting_lists").document(eventId).get()
-                                .addOnSuccessListener(waitingDoc -> {
-                                    if (waitingDoc.exists()) {
-                                        List<String> entries = (List<String>) waitingDoc.get("entries");
-                                        if (entries != null) usersToNotify.addAll(entries);
-                                    }
-                                    List<String> chosenList = (List<String>) eventDoc.get("chosen_entrants");
-                                    if (chosenList != null) usersToNotify.addAll(chosenList);
-                                    List<String> enrolledList = (List<String>) eventDoc.get("enrolled_users");
-                                    if (enrolledList != null) usersToNotify.addAll(enrolledList);
-
-                                    List<String> uniqueUsers = new ArrayList<>(new java.util.HashSet<>(usersToNotify));
-
-                                    if (!uniqueUsers.isEmpty()) {
-                                        String notifTitle = "Event Cancelled ❌";
-                                        String notifBody = "Unfortunately, \"" + finalEventTitle + "\" has been cancelled by the organizer.";
-
-                                        notificationHelper.notifyCustom(
-                                                eventId, uniqueUsers, finalEventTitle,
-                                                new NotificationHelper.NotificationCallback() {
-                                                    @Override public void onSuccess(String message) { Log.d("AdminOrgList", "Notif sent"); }
-                                                    @Override public void onFailure(String error) { Log.e("AdminOrgList", "Notif failed"); }
-                                                },
-                                                notifTitle, notifBody, "event_Cancelled"
-                                        );
-                                    }
-                                });
-
-                        // --- Deletion Logic ---
-
-                        // 1. Task to delete the Event document
-                        tasks.add(db.collection("events").document(eventId).delete());
-
-                        // 2. Task to delete Waiting List AND Entrants sub-collection
-                        DocumentReference wlRef = db.collection("waiting_lists").document(eventId);
-
-                        // Chained task: Fetch Entrants -> Batch Delete -> Return Task
-                        com.google.android.gms.tasks.Task<Void> deleteWaitlistTask = wlRef.collection("entrants").get()
-                                .continueWithTask(task -> {
-                                    WriteBatch batch = db.batch();
-
-                                    // If fetch succeeded, add entrant docs to delete batch
-                                    if (task.isSuccessful() && task.getResult() != null) {
-                                        for (DocumentSnapshot entrantDoc : task.getResult()) {
-                                            batch.delete(entrantDoc.getReference());
-                                        }
-                                    }
-
-                                    // Always add the parent waiting list document to the batch
-                                    batch.delete(wlRef);
-
-                                    // Commit the batch (returns a Task<Void>)
-                                    return batch.commit();
-                                });
-
-                        // Add this complex task to the list
-                        tasks.add(deleteWaitlistTask);
-                    }
-                    // Remove User from OTHER Waiting Lists (Collection Group)
-                    // Find user from all collection of entrants using collectionGroup, and remove them
-                    com.google.android.gms.tasks.Task<Void> removeUserFromWaitlistsTask = db.collectionGroup("entrants")
-                            .whereEqualTo("user_id", userId) // IMPORTANT: Must match your Firestore Index field name (snake_case vs camelCase)
-                            .get()
-                            .continueWithTask(task -> {
-                                if (!task.isSuccessful() || task.getResult() == null) {
-                                    // If query fails, we return a successful null task so we don't block the whole process
-                                    Log.e("AdminOrgList", "Failed to query entrants group", task.getException());
-                                    return com.google.android.gms.tasks.Tasks.forResult(null);
-                                }
-
-                                WriteBatch batch = db.batch();
-                                // Add every instance of this user in any waitlist to the delete batch
-                                for (DocumentSnapshot doc : task.getResult()) {
-                                    batch.delete(doc.getReference());
-                                }
-                                return batch.commit();
-                            });
-
-                    tasks.add(removeUserFromWaitlistsTask);
-
-                    // Wait for all event and waiting list deletions (including subcollections) to complete
-                    com.google.android.gms.tasks.Tasks.whenAll(tasks)
-                            .addOnSuccessListener(aVoid -> {
-                                // 2. All events/waiting lists deleted. Now disable the user account
-                                db.collection("accounts").document(userId)
-                                        .update("disabled", true)
-                                        .addOnSuccessListener(aVoid2 -> {
-                                            progressBar.setVisibility(View.GONE);
-                                            Toast.makeText(this, "Organizer account disabled and events removed.", Toast.LENGTH_SHORT).show();
-                                            loadOrganizers(); // Refresh list
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            progressBar.setVisibility(View.GONE);
-                                            Toast.makeText(this, "Error disabling account: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                progressBar.setVisibility(View.GONE);
-                                Toast.makeText(this, "Error removing events.", Toast.LENGTH_SHORT).show();
-                                Log.e("AdminOrgList", "Error deleting events/waitlists", e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error finding events: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+            @Override
+            public void onFinished(BackgroundJobs.JobStatus status) {
+                if (toolbar != null) toolbar.setSubtitle(null);
+                progressBar.setVisibility(View.GONE);
+                if (status.isSucceeded()) {
+                    Toast.makeText(AdminOrganizerListActivity.this,
+                            "Organizer account disabled and events removed.", Toast.LENGTH_SHORT).show();
+                    allOrganizers.remove(user);
+                    filterList(loader.getSearchText());
+                } else {
+                    Toast.makeText(AdminOrganizerListActivity.this,
+                            "Error removing organizer: " + status.getMessage(), Toast.LENGTH_SHORT).show();
+                    Log.e("AdminOrgList", "Error deleting organizer " + user.getUserId() + ": " + status.getMessage());
+                }
+            }
+        });
     }
 }
\ No newline at end of file
@@ -2,8 +2,6 @@ package com.example.connect.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.text.Editable;
-import android.text.TextWatcher;
 import android.util.Log;
 import android.view.View;
 import android.widget.EditText;
@@ -17,26 +15,27 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.AdminProfileAdapter;
+import com.example.connect.adapters.PagingScrollListener;
 import com.example.connect.models.User;
-import com.example.connect.utils.NotificationHelper;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.utils.SearchDebouncer;
+import com.example.connect.workers.BackgroundJobs;
+import com.example.connect.workers.CascadeDeleteWorker;
 import com.google.android.material.appbar.MaterialToolbar;
-import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Activity for administrators to view and manage user profiles in the system.
  *
  * <p>This activity displays a searchable list of all user accounts (excluding admins) with the ability to:
  * <ul>
- *   <li>View all active user profiles (non-disabled, non-admin accounts)</li>
- *   <li>Search users by name, email, or user ID in real-time</li>
+ *   <li>View all active user profiles (non-disabled, non-admin accounts), a page at a time</li>
+ *   <li>Search users by name, email, or user ID once typing pauses</li>
  *   <li>View detailed profile information for a specific user</li>
  *   <li>Disable user accounts (which cascades to handle their events and waitlist entries)</li>
  * </ul>
@@ -53,7 +52,8 @@ import java.util.Locale;
  * @version 2.0
  */
 
-public class AdminProfileListActivity extends AppCompatActivity {
+public class AdminProfileListActivity extends AppCompatActivity
+        implements AdminListLoader.Listener<User> {
 
     private RecyclerView recyclerView;
     private ProgressBar progressBar;
@@ -62,6 +62,9 @@ public class AdminProfileListActivity extends AppCompatActivity {
     private View searchLayout;
     private AdminProfileAdapter adapter;
     private FirebaseFirestore db;
+    private AdminListLoader<User> loader;
+    private SearchDebouncer searchDebouncer;
+    // Profiles loaded so far for the current search
     private List<User> allProfiles = new ArrayList<>();
 
     @Override
@@ -71,6 +74,7 @@ public class AdminProfileListActivity extends AppCompatActivity {
             setContentView(R.layout.activity_admin_list);
 
             db = FirebaseFirestore.getInstance();
+            loader = new AdminListLoader<>(AdminListSources.profiles(db), this);
 
             initViews();
             setupRecyclerView();
@@ -83,6 +87,14 @@ public class AdminProfileListActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        super.onDestroy();
+    }
+
     private void initViews() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         if (toolbar != null) {
@@ -110,8 +122,10 @@ public class AdminProfileListActivity extends AppCompatActivity {
 
     private void setupRecyclerView() {
         adapter = new AdminProfileAdapter(this::deleteProfile, this::openProfileDetails);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, loader::loadMore));
     }
 
     /**
@@ -130,120 +144,79 @@ public class AdminProfileListActivity extends AppCompatActivity {
     }
 
     /**
-     * Sets up the search functionality with a text watcher for real-time filtering.
-     * Triggers filtering on every text change in the search input.
+     * Sets up the search functionality. A new search is loaded once typing pauses.
      */
     private void setupSearch() {
-        etSearch.addTextChangedListener(new TextWatcher() {
-            @Override
-            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
-
-            @Override
-            public void onTextChanged(CharSequence s, int start, int before, int count) {
-                // Trigger the filter logic every time the text changes
-                filterList(s.toString());
-            }
-
-            @Override
-            public void afterTextChanged(Editable s) {}
-        });
+        searchDebouncer = new SearchDebouncer(text -> loadProfiles());
+        etSearch.addTextChangedListener(searchDebouncer);
     }
 
     /**
-     * Filters the profile list based on a search query.
-     * Searches through user names, user IDs, and email addresses (case-insensitive).
-     * Updates the RecyclerView and empty state message based on results.
-     *
-     * @param searchText The search query to filter by
+     * Loads the first page of active profiles matching the current search text.
+     * Admin and disabled accounts are left out by {@link AdminListSources#profiles}.
+     * Further pages are requested by the scroll listener.
      */
-    private void filterList(String searchText) {
-        String query = searchText.toLowerCase(Locale.getDefault()).trim();
-        List<User> filteredList = new ArrayList<>();
+    private void loadProfiles() {
+        progressBar.setVisibility(View.VISIBLE);
+        tvEmptyState.setVisibility(View.GONE);
+        loader.search(etSearch.getText().toString());
+    }
 
-        if (query.isEmpty()) {
-            filteredList.addAll(allProfiles);
+    /**
+     * Shows a page of profiles. The first page of a search replaces the list.
+     */
+    @Override
+    public void onPage(List<User> users, boolean firstPage, boolean hasMore) {
+        progressBar.setVisibility(View.GONE);
+        if (firstPage) {
+            allProfiles.clear();
+            adapter.setUsers(new ArrayList<>(users));
         } else {
-            for (User user : allProfiles) {
-                String name = user.getName() != null ? user.getName().toLowerCase(Locale.getDefault()) : "";
-                String userId = user.getUserId() != null ? user.getUserId().toLowerCase(Locale.getDefault()) : "";
-                String email = user.getEmail() != null ? user.getEmail().toLowerCase(Locale.getDefault()) : "";
-
-                // Check if the query is in any of chosen fields
-                if (name.contains(query) || userId.contains(query) || email.contains(query)) {
-                    filteredList.add(user);
-                }
-            }
+            adapter.appendUsers(users);
         }
+        allProfiles.addAll(users);
+        updateEmptyState(hasMore);
+    }
 
-        adapter.setUsers(filteredList);
+    @Override
+    public void onFailure(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Toast.makeText(this, "Error loading profiles: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        Log.e("AdminProfileList", "Error loading profiles", e);
+        // Ensure empty state is shown on failure
+        tvEmptyState.setText("Failed to load profiles.");
+        tvEmptyState.setVisibility(View.VISIBLE);
+    }
 
-        // Update the empty state TextView
-        if (filteredList.isEmpty()) {
-            String emptyMessage = query.isEmpty() ? "No profiles found." : "No profiles found matching \"" + searchText + "\".";
-            tvEmptyState.setText(emptyMessage);
+    private void updateEmptyState(boolean hasMore) {
+        if (allProfiles.isEmpty() && !hasMore) {
+            String searchText = loader.getSearchText();
+            tvEmptyState.setText(searchText.isEmpty()
+                    ? "No profiles found."
+                    : "No profiles found matching \"" + searchText + "\".");
             tvEmptyState.setVisibility(View.VISIBLE);
         } else {
             tvEmptyState.setVisibility(View.GONE);
         }
     }
 
-    /**
-     * Loads all active user profiles from Firestore.
-     * Excludes admin accounts and disabled accounts from the list.
-     * Shows a progress indicator while loading and applies the current search filter
-     * to the results.
-     */
-    private void loadProfiles() {
-        progressBar.setVisibility(View.VISIBLE);
-        tvEmptyState.setVisibility(View.GONE);
-
-        db.collection("accounts")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(View.GONE);
-                    allProfiles.clear(); // Clear previous data
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        // Only show users who are NOT admins and NOT disabled
-                        if (!document.contains("admin") &&
-                                (document.getBoolean("disabled") == null || !document.getBoolean("disabled"))) {
-                            User user = document.toObject(User.class);
-                            user.setUserId(document.getId());
-                            allProfiles.add(user); // Add to the master list
-                        }
-                    }
-
-                    // Display the initial list or the filtered list if the search bar already has text
-                    filterList(etSearch.getText().toString());
-
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading profiles: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e("AdminProfileList", "Error loading profiles", e);
-                    // Ensure empty state is shown on failure
-                    tvEmptyState.setText("Failed to load profiles.");
-                    tvEmptyState.setVisibility(View.VISIBLE);
-                });
-    }
-
     /**
      * Disables a user account and removes all associated data.
      *
-     * <p>This method performs a comprehensive cleanup process:
+     * <p>The cleanup is run by {@link CascadeDeleter}, which:
      * <ol>
-     *   <li>Marks the user account as disabled (soft delete)</li>
-     *   <li>If the user organized any events:
-     *       <ul>
-     *         <li>Sends cancellation notifications to all participants</li>
-     *         <li>Deletes all event documents</li>
-     *         <li>Removes waiting lists and entrant subcollections</li>
-     *       </ul>
-     *   </li>
+     *   <li>Deletes any events the user organized, after sending cancellation
+     *       notifications to all participants, along with their waiting lists,
+     *       entrant subcollections, counters and posters</li>
      *   <li>Removes the user from any waiting lists they joined as an entrant
      *       (uses collectionGroup query on "entrants")</li>
+     *   <li>Removes the user from other events' chosen and enrolled lists</li>
+     *   <li>Marks the user account as disabled (soft delete)</li>
      * </ol>
      *
+     * <p>The cleanup runs as a background job ({@link CascadeDeleteWorker}), so it carries on
+     * if this screen is closed. Progress is shown in the toolbar subtitle while it runs.
+     *
      * <p><b>Important:</b> The collectionGroup query requires a Firestore composite index
      * on the entrants collection with the user_id field. If the index is missing, Firestore
      * will log an error with a link to create it.
@@ -254,121 +227,41 @@ public class AdminProfileListActivity extends AppCompatActivity {
         if (user.getUserId() == null)
             return;
 
-        String userId = user.getUserId();
         progressBar.setVisibility(View.VISIBLE);
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
 
-        NotificationHelper notificationHelper = new NotificationHelper();
-
-        // Step 1: Mark user as disabled in Firestore
-        db.collection("accounts").document(userId)
-                .update("disabled", true)
-                .addOnSuccessListener(aVoidDisabled -> {
-                    Log.d("AdminProfileList", "User marked as disabled");
-
-                    // Step 2: Delete events organized by this user and notify participants
-                    db.collection("events")
-                            .whereEqualTo("organizer_id", userId)
-                            .get()
-                            .addOnSuccessListener(eventSnapshots -> {
-
-                                // 2a. Handle events organized by this user (Notifications + Deletion)
-                                for (QueryDocumentSnapshot eventDoc : eventSnapshots) {
-                                    String eventId = eventDoc.getId();
-                                    String eventTitle = eventDoc.getString("event_title");
-                                    if (eventTitle == null) eventTitle = "An event";
-
-                                    // --- Notification Logic Starts ---
-                                    List<String> usersToNotify = new ArrayList<>();
-                                    String finalEventTitle = eventTitle;
-
-                                    db.collection("waiting_lists").document(eventId).get()
-                                            .addOnSuccessListener(waitingDoc -> {
-                                                if (waitingDoc.exists()) {
-                                                    List<String> entries = (List<String>) waitingDoc.get("entries");
-                                                    if (entries != null) usersToNotify.addAll(entries);
-                                                }
-                                                List<String> chosenList = (List<String>) eventDoc.get("chosen_entrants");
-                                                if (chosenList != null) usersToNotify.addAll(chosenList);
-
-                                                List<String> enrolledList = (List<String>) eventDoc.get("enrolled_users");
-                                                if (enrolledList != null) usersToNotify.addAll(enrolledList);
-
-                                                List<String> uniqueUsers = new ArrayList<>(new java.util.HashSet<>(usersToNotify));
-
-                                                if (!uniqueUsers.isEmpty()) {
-                                                    String notifTitle = "Event Cancelled ❌";
-                                                    String notifBody = "Unfortunately, \"" + finalEventTitle + "\" has been cancelled.";
-                                                    notificationHelper.notifyCustom(eventId, uniqueUsers, finalEventTitle, new NotificationHelper.NotificationCallback() {
-                                                        @Override
-                                                        public void onSuccess(String message) { Log.d("AdminProfileList", "Notif sent"); }
-                                                        @Override
-                                                        public void onFailure(String error) { Log.e("AdminProfileList", "Notif failed: " + error); }
-                                                    }, notifTitle, notifBody, "event_Cancelled");
-                                                }
-                                            });
-                                    // --- Notification Logic Ends ---
-
-                                    // Delete the event document
-                                    db.collection("events").document(eventId).delete();
-
-                                    // Delete the waiting list and its subcollection for this event
-                                    DocumentReference waitListRef = db.collection("waiting_lists").document(eventId);
-                                    waitListRef.collection("entrants").get()
-                                            .addOnSuccessListener(entrantSnapshots -> {
-                                                WriteBatch subBatch = db.batch();
-                                                for (DocumentSnapshot entrantDoc : entrantSnapshots) {
-                                                    subBatch.delete(entrantDoc.getReference());
-                                                }
-                                                subBatch.delete(waitListRef); // Delete parent waiting list doc
-                                                subBatch.commit();
-                                            });
-                                }
-
-                                // Step 3: Remove this user from ANY waiting list they have joined
-                                // STRATEGY: Collection Group Query on "entrants"
-                                db.collectionGroup("entrants")
-                                        .whereEqualTo("user_id", userId) //
-                                        .get()
-                                        .addOnSuccessListener(entrantGroupSnapshots -> {
-
-                                            WriteBatch batch = db.batch();
-
-                                            // Add every entrant doc found to the delete batch
-                                            for (DocumentSnapshot doc : entrantGroupSnapshots) {
-                                                batch.delete(doc.getReference());
-
-                                            }
+        String jobId = CascadeDeleteWorker.enqueue(this, user.getUserId(),
+                CascadeDeleter.Mode.DISABLE_ACCOUNT, true);
+        if (jobId == null) {
+            progressBar.setVisibility(View.GONE);
+            Toast.makeText(this, "Could not start removal, please try again.", Toast.LENGTH_SHORT).show();
+            return;
+        }
 
-                                            // Commit the batch delete
-                                            batch.commit()
-                                                    .addOnSuccessListener(aVoidBatch -> {
-                                                        progressBar.setVisibility(View.GONE);
-                                                        Toast.makeText(this, "User disabled and removed from all waiting lists.", Toast.LENGTH_SHORT).show();
-                                                        loadProfiles(); // Refresh list
-                                                    })
-                                                    .addOnFailureListener(e -> {
-                                                        progressBar.setVisibility(View.GONE);
-                                                        Toast.makeText(this, "User disabled, but error removing from lists.", Toast.LENGTH_SHORT).show();
-                                                        Log.e("AdminProfileList", "Batch delete failed", e);
-                                                    });
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            progressBar.setVisibility(View.GONE);
-                                            // IMPORTANT: If this fails, check Logcat for a link to create the Index!
-                                            Log.e("AdminProfileList", "Error querying entrants collection group. MISSING INDEX?", e);
-                                            Toast.makeText(this, "Error accessing entrant lists (Check Logs)", Toast.LENGTH_SHORT).show();
-                                        });
+        BackgroundJobs.observe(this, this, jobId, new BackgroundJobs.JobCallback() {
+            @Override
+            public void onProgress(BackgroundJobs.JobStatus status) {
+                if (toolbar != null) toolbar.setSubtitle(status.getMessage());
+            }
 
-                            })
-                            .addOnFailureListener(e -> {
-                                progressBar.setVisibility(View.GONE);
-                                Log.e("AdminProfileList", "Error finding organized events", e);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error disabling user", Toast.LENGTH_SHORT).show();
-                });
+            @Override
+            public void onFinished(BackgroundJobs.JobStatus status) {
+                if (toolbar != null) toolbar.setSubtitle(null);
+                progressBar.setVisibility(View.GONE);
+                if (status.isSucceeded()) {
+                    Toast.makeText(AdminProfileListActivity.this,
+                            "User disabled and removed from all waiting lists.", Toast.LENGTH_SHORT).show();
+                    allProfiles.remove(user);
+                    adapter.removeItem(user);
+                    updateEmptyState(loader.hasMore());
+                } else {
+                    // IMPORTANT: If this fails, check Logcat for a link to create the Index!
+                    Log.e("AdminProfileList", "Error removing user " + user.getUserId() + ". MISSING INDEX? " + status.getMessage());
+                    Toast.makeText(AdminProfileListActivity.this,
+                            "Error removing user (Check Logs)", Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
     }
 
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package com.example.connect.activities;
 
 import android.os.Bundle;
-import android.text.Editable;
-import android.text.TextWatcher;
 import android.util.Log;
 import android.view.MenuItem;
 import android.view.View;
@@ -18,24 +16,27 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.AdminReportAdapter;
+import com.example.connect.adapters.PagingScrollListener;
 import com.example.connect.fragments.ReportDetailsDialogFragment;
 import com.example.connect.models.Report;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
+import com.example.connect.network.Repositories;
+import com.example.connect.utils.SearchDebouncer;
 
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Activity for administrators to view and manage user-submitted reports.
  *
  * <p>This activity displays a searchable list of all reports submitted by users with the ability to:
  * <ul>
- *   <li>View all pending and resolved reports</li>
- *   <li>Search reports by description or reported item ID in real-time</li>
+ *   <li>View all pending and resolved reports, a page at a time</li>
+ *   <li>Search reports by description or reported item ID once typing pauses</li>
  *   <li>View detailed information about a specific report in a dialog</li>
  *   <li>Mark reports as resolved (which deletes them from the database)</li>
  * </ul>
@@ -43,7 +44,8 @@ import java.util.Locale;
  * @author Aakansh Chatterjee
  * @version 1.0
  */
-public class AdminReportActivity extends AppCompatActivity implements ReportDetailsDialogFragment.ReportResolveListener {
+public class AdminReportActivity extends AppCompatActivity
+        implements ReportDetailsDialogFragment.ReportResolveListener, AdminListLoader.Listener<Report> {
 
     private static final String TAG = "AdminReportActivity";
 
@@ -54,7 +56,9 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
     private View searchLayout;
     private AdminReportAdapter adapter;
     private FirebaseFirestore db;
-    private final List<Report> allReports = new ArrayList<>(); // Stores the original, full list
+    private AdminListLoader<Report> loader;
+    private SearchDebouncer searchDebouncer;
+    private final List<Report> allReports = new ArrayList<>(); // Reports loaded so far for the current search
 
 
     @Override
@@ -65,6 +69,7 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
             setContentView(R.layout.activity_admin_list);
 
             db = FirebaseFirestore.getInstance();
+            loader = new AdminListLoader<>(AdminListSources.reports(db), this);
 
             initViews();
             setupRecyclerView();
@@ -77,6 +82,14 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        if (searchDebouncer != null) {
+            searchDebouncer.cancel();
+        }
+        super.onDestroy();
+    }
+
     private void initViews() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         if (toolbar != null) {
@@ -103,75 +116,75 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
 
     private void setupRecyclerView() {
         adapter = new AdminReportAdapter(this::openReportDetails, this::resolveReport);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new PagingScrollListener(layoutManager, loader::loadMore));
     }
 
     /**
-     * Sets up the search functionality with a text watcher for real-time filtering.
-     * Triggers filtering on every text change in the search input.
+     * Sets up the search functionality. A new search is loaded once typing pauses.
      */
     private void setupSearch() {
         if (etSearch == null) return;
 
-        etSearch.addTextChangedListener(new TextWatcher() {
-            @Override
-            public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
-
-            @Override
-            public void onTextChanged(CharSequence s, int start, int before, int count) {
-                // Trigger the filter logic every time the text changes
-                filterList(s.toString());
-            }
-
-            @Override
-            public void afterTextChanged(Editable s) {}
-        });
+        searchDebouncer = new SearchDebouncer(text -> loadUserReports());
+        etSearch.addTextChangedListener(searchDebouncer);
     }
 
     /**
-     * Filters the report list based on a search query.
-     * Searches through report descriptions and reported item IDs (case-insensitive).
-     * Updates the RecyclerView and empty state message based on results.
-     *
-     * @param searchText The search query to filter by
+     * Shows a page of reports. The first page of a search replaces the list.
      */
-    private void filterList(String searchText) {
-        String query = searchText.toLowerCase(Locale.getDefault()).trim();
-        List<Report> filteredList = new ArrayList<>();
-
-        if (query.isEmpty()) {
-            // If the search bar is empty, show the full list
-            filteredList.addAll(allReports);
+    @Override
+    public void onPage(List<Report> reports, boolean firstPage, boolean hasMore) {
+        progressBar.setVisibility(View.GONE);
+        if (firstPage) {
+            allReports.clear();
+            adapter.setReports(new ArrayList<>(reports));
         } else {
-            for (Report report : allReports) {
+            adapter.appendReports(reports);
+        }
+        allReports.addAll(reports);
+        updateEmptyState(hasMore);
+    }
 
-                // Get fields to search against
-                String description = report.getDescription() != null ? report.getDescription().toLowerCase(Locale.getDefault()) : "";
-                String reportedItemId = report.getReportedItemId() != null ? report.getReportedItemId().toLowerCase(Locale.getDefault()) : "";
+    @Override
+    public void onFailure(Exception e) {
+        progressBar.setVisibility(View.GONE);
+        Toast.makeText(this, "Error loading reports: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+        Log.e(TAG, "Error loading reports", e);
+        // Ensure empty state is shown on failure
+        tvEmptyState.setText("Failed to load reports.");
+        tvEmptyState.setVisibility(View.VISIBLE);
+    }
 
-                // Check if the query is in the description OR the reported item ID
-                if (description.contains(query) || reportedItemId.contains(query)) {
-                    filteredList.add(report);
-                }
+    /**
+     * Removes a resolved report from the list. The dialog hands back a copy of the
+     * report, so it is matched by id.
+     */
+    private void removeReport(String reportId) {
+        for (Report shown : allReports) {
+            if (reportId.equals(shown.getReportId())) {
+                allReports.remove(shown);
+                adapter.removeItem(shown);
+                break;
             }
         }
+        updateEmptyState(loader.hasMore());
+    }
 
-        // Update the RecyclerView adapter with the filtered list
-        adapter.setReports(filteredList);
-
-        // Update the empty state TextView visibility
-        if (filteredList.isEmpty()) {
-            String emptyMessage = query.isEmpty() ? "No reports found." : "No reports found matching \"" + searchText + "\".";
-            tvEmptyState.setText(emptyMessage);
+    private void updateEmptyState(boolean hasMore) {
+        if (allReports.isEmpty() && !hasMore) {
+            String searchText = loader.getSearchText();
+            tvEmptyState.setText(searchText.isEmpty()
+                    ? "No reports found."
+                    : "No reports found matching \"" + searchText + "\".");
             tvEmptyState.setVisibility(View.VISIBLE);
         } else {
             tvEmptyState.setVisibility(View.GONE);
         }
     }
 
-
-
     private void openReportDetails(Report report) {
         // Create and show the DialogFragment
         ReportDetailsDialogFragment dialog = ReportDetailsDialogFragment.newInstance(report);
@@ -195,7 +208,7 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
 
     /**
      * Marks a report as resolved by deleting it from the database.
-     * Shows a progress indicator during deletion and refreshes the list upon completion.
+     * Shows a progress indicator during deletion and removes the report from the list upon completion.
      *
      * @param report The report to resolve
      */
@@ -205,62 +218,32 @@ public class AdminReportActivity extends AppCompatActivity implements ReportDeta
         progressBar.setVisibility(View.VISIBLE);
 
         // Logic to delete the report from the database
-        db.collection("reports").document(report.getReportId())
-                .delete()
-                .addOnSuccessListener(aVoid -> {
+        Repositories.reports()
+                .resolve(report.getReportId())
+                .handle((ignored, e) -> {
                     progressBar.setVisibility(View.GONE);
+                    if (e != null) {
+                        Toast.makeText(this, "Error resolving report: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                        return null;
+                    }
                     Toast.makeText(this, "Report Resolved and Deleted.", Toast.LENGTH_SHORT).show();
-                    loadUserReports(); // Refresh the list
+                    removeReport(report.getReportId());
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error resolving report: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error showing resolved report", e);
+                    return null;
                 });
     }
 
     /**
-     * Loads all user reports from Firestore.
-     * Shows a progress indicator while loading and applies the current search filter
-     * to the results. Displays an empty state message if no reports are found.
+     * Loads the first page of reports matching the current search text.
+     * Further pages are requested by the scroll listener.
      */
     private void loadUserReports() {
         progressBar.setVisibility(View.VISIBLE);
         tvEmptyState.setVisibility(View.GONE);
-
-        db.collection("reports")
-                // You may add a filter here, e.g., .whereEqualTo("status", "pending")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    progressBar.setVisibility(View.GONE);
-                    List<Report> currentReports = new ArrayList<>();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Report report = document.toObject(Report.class);
-                        report.setReportId(document.getId());
-                        currentReports.add(report);
-                    }
-
-                    // Store the full list
-                    allReports.clear();
-                    allReports.addAll(currentReports);
-
-                    // Initialize/refresh the adapter with the current filter state
-                    filterList(etSearch != null ? etSearch.getText().toString() : "");
-
-                    if (allReports.isEmpty()) {
-                        tvEmptyState.setText("No reports found.");
-                        tvEmptyState.setVisibility(View.VISIBLE);
-                    }
-
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(this, "Error loading reports: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Error loading reports", e);
-                    // Ensure empty state is shown on failure
-                    tvEmptyState.setText("Failed to load reports.");
-                    tvEmptyState.setVisibility(View.VISIBLE);
-                });
+        loader.search(etSearch != null ? etSearch.getText().toString() : "");
     }
 
     /**
@@ -30,6 +30,13 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 
 import com.example.connect.R;
+import com.example.connect.network.CurrentUserRepository;
+import com.example.connect.network.EventGeocoder;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.GeoQueries;
+import com.example.connect.network.ImageIndex;
+import com.example.connect.utils.EntrantCounters;
+import com.example.connect.utils.SearchTokens;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
@@ -169,34 +176,34 @@ public class CreateEvent extends AppCompatActivity {
 
 
     /**
-     * Fetches the organizer's display name from Firestore.
+     * Fetches the organizer's display name from the shared profile cache.
      * <p>
      * Attempts to retrieve the display_name field, falling back to full_name if not available.
      * If neither exists, defaults to "Organizer".
      * </p>
      */
     private void fetchOrganizerName() {
-        db.collection("accounts").document(currentUserId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        organizerName = documentSnapshot.getString("display_name");
-                        if (organizerName == null || organizerName.isEmpty()) {
-                            organizerName = documentSnapshot.getString("full_name");
-                        }
-                        if (organizerName == null || organizerName.isEmpty()) {
-                            organizerName = "Organizer";
-                        }
-                        Log.d(TAG, "Organizer name: " + organizerName);
-                    } else {
+        CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                if (profile.exists()) {
+                    organizerName = profile.getDisplayName();
+                    if (organizerName == null) {
                         organizerName = "Organizer";
-                        Log.w(TAG, "Account document not found for user: " + currentUserId);
                     }
-                })
-                .addOnFailureListener(e -> {
+                    Log.d(TAG, "Organizer name: " + organizerName);
+                } else {
                     organizerName = "Organizer";
-                    Log.e(TAG, "Error fetching organizer name", e);
-                });
+                    Log.w(TAG, "Account document not found for user: " + currentUserId);
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                organizerName = "Organizer";
+                Log.e(TAG, "Error fetching organizer name", e);
+            }
+        });
     }
 
     /**
@@ -421,8 +428,8 @@ public class CreateEvent extends AppCompatActivity {
         if (tvTitle != null) {
             tvTitle.setText("Edit Event");
         }
-        db.collection("events").document(eventId)
-                .get()
+        FirestoreMetrics.read("CreateEvent.loadEventForEditing", db.collection("events").document(eventId)
+                .get())
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         // Populate basic fields
@@ -457,8 +464,8 @@ public class CreateEvent extends AppCompatActivity {
                         }
 
                         // ✅ CORRECT: Load waiting list capacity from waiting_lists collection
-                        db.collection("waiting_lists").document(eventId)
-                                .get()
+                        FirestoreMetrics.read("CreateEvent.loadEventForEditing", db.collection("waiting_lists").document(eventId)
+                                .get())
                                 .addOnSuccessListener(waitingListDoc -> {
                                     if (waitingListDoc.exists()) {
                                         Long totalCapacity = waitingListDoc.getLong("total_capacity");
@@ -905,18 +912,22 @@ public class CreateEvent extends AppCompatActivity {
      */
     private void saveOrUpdateEvent(Map<String, Object> eventData, String successMsg, String failMsg) {
         // Handle Image
+        String newImage = null;
         if (selectedImageUri != null) {
-            String base64Image = convertImageToBase64(selectedImageUri);
-            if (base64Image != null) eventData.put("image_base64", base64Image);
+            newImage = convertImageToBase64(selectedImageUri);
+            if (newImage != null) eventData.put("image_base64", newImage);
         } else if (existingBase64Image != null) {
             eventData.put("image_base64", existingBase64Image);
         }
+        String uploadedImage = newImage;
 
         if (isEditMode && editEventId != null) {
             db.collection("events").document(editEventId)
                     .set(eventData, com.google.firebase.firestore.SetOptions.merge())
                     .addOnSuccessListener(aVoid -> {
+                        indexPoster(editEventId, eventData, uploadedImage);
                         if (!"draft".equals(eventData.get("status"))) {
+                            geocodeIfNeeded(editEventId, eventData);
                             // If publishing, generate QR
                             generateQRAndShow(editEventId);
                         } else {
@@ -929,7 +940,9 @@ public class CreateEvent extends AppCompatActivity {
                     .add(eventData)
                     .addOnSuccessListener(ref -> {
                         String id = ref.getId();
+                        indexPoster(id, eventData, uploadedImage);
                         if (!"draft".equals(eventData.get("status"))) {
+                            geocodeIfNeeded(id, eventData);
                             generateQRAndShow(id);
                             createWaitingList(id);
                         } else {
@@ -940,6 +953,44 @@ public class CreateEvent extends AppCompatActivity {
         }
     }
 
+    /**
+     * Keeps the admin image index in step with a saved event: a newly uploaded poster is
+     * indexed, otherwise an existing poster entry just picks up the current title.
+     *
+     * @param eventId The ID of the saved event
+     * @param eventData The fields that were just saved
+     * @param uploadedImage The Base64 poster uploaded with this save, or null
+     */
+    private void indexPoster(String eventId, Map<String, Object> eventData, String uploadedImage) {
+        String title = (String) eventData.get("event_title");
+        if (uploadedImage != null) {
+            ImageIndex.getInstance().recordEventPoster(eventId,
+                    (String) eventData.get("organizer_id"), title, uploadedImage);
+        } else if (isEditMode && eventData.get("image_base64") != null) {
+            ImageIndex.getInstance().renameEventPoster(eventId, title);
+        }
+    }
+
+    /**
+     * Resolves the location text of a published event that has no coordinates yet, so joins
+     * and maps never have to geocode it. {@link EventGeocoder} writes the result back to the
+     * event document in the background.
+     *
+     * @param eventId The ID of the event
+     * @param eventData The fields that were just saved
+     */
+    private void geocodeIfNeeded(String eventId, Map<String, Object> eventData) {
+        if (eventData.get("location_latitude") != null && eventData.get("location_longitude") != null) {
+            return;
+        }
+        EventGeocoder.getInstance(this).resolveForEvent(eventId, null, null,
+                (String) eventData.get("location"), (lat, lng) -> {
+                    if (lat == null) {
+                        Log.d(TAG, "No coordinates found for event location: " + eventData.get("location"));
+                    }
+                });
+    }
+
     /**
      * Generates QR code data, saves it to the event document, and displays the QR dialog.
      *
@@ -949,6 +1000,7 @@ public class CreateEvent extends AppCompatActivity {
         String qrData = QRGeneration.generateEventQRCodeData(eventId);
         Map<String, Object> qrUpdate = new HashMap<>();
         qrUpdate.put("qr_code_data", qrData);
+        qrUpdate.put("updated_at", FieldValue.serverTimestamp());
         db.collection("events").document(eventId).set(qrUpdate, com.google.firebase.firestore.SetOptions.merge());
         showQRDialog(eventId, qrData);
     }
@@ -991,6 +1043,10 @@ public class CreateEvent extends AppCompatActivity {
         Integer capacity = getWaitingListCapacity();
         waitingListData.put("total_capacity", capacity);
 
+        // A new list has no entrants, so its counters start correct at zero
+        EntrantCounters.markSeeded(waitingListData);
+        GeoQueries.markIndexed(waitingListData);
+
         db.collection("waiting_lists").document(eventId)
                 .set(waitingListData)
                 .addOnSuccessListener(aVoid -> {
@@ -1045,11 +1101,13 @@ public class CreateEvent extends AppCompatActivity {
         if (manualLat != null && manualLng != null) {
             eventData.put("location_latitude", manualLat);
             eventData.put("location_longitude", manualLng);
+            GeoQueries.putGeohash(eventData, manualLat, manualLng);
         } else {
             Double[] coordinates = extractCoordinates(locationText);
             if (coordinates != null) {
                 eventData.put("location_latitude", coordinates[0]);
                 eventData.put("location_longitude", coordinates[1]);
+                GeoQueries.putGeohash(eventData, coordinates[0], coordinates[1]);
             }
         }
         eventData.put("date_time", dateTimeFormat.format(startDateTime.getTime()));
@@ -1088,7 +1146,7 @@ public class CreateEvent extends AppCompatActivity {
         eventData.put("unresponsive_hours", unresponsiveHours);
 
         if (!isEditMode) eventData.put("created_at", System.currentTimeMillis());
-        eventData.put("updated_at", System.currentTimeMillis());
+        eventData.put("updated_at", FieldValue.serverTimestamp());
         eventData.put("organizer_id", currentUserId);
         eventData.put("org_name", organizerName);
         eventData.put("draw_completed", false);
@@ -1101,6 +1159,9 @@ public class CreateEvent extends AppCompatActivity {
         // MERGED: Labels from Block 1
         eventData.put("labels", selectedLabels);
 
+        // Prefix index for the admin event search
+        SearchTokens.putFromFields(eventData, SearchTokens.EVENT_FIELDS);
+
         return eventData;
     }
 
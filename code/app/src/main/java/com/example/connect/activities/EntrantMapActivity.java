@@ -1,7 +1,13 @@
 package com.example.connect.activities;
 
 import android.content.Intent;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.widget.ImageButton;
 import android.widget.TextView;
@@ -10,25 +16,37 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.connect.R;
+import com.example.connect.models.User;
 import com.example.connect.models.WaitingListEntry;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.GeoQueries;
+import com.example.connect.network.UserProfileLoader;
+import com.example.connect.utils.EntrantCounters;
+import com.example.connect.utils.GeoHash;
+import com.example.connect.utils.GridClusterer;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
-import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.AggregateSource;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Activity for displaying a map view of where entrants joined the waiting list from.
@@ -41,16 +59,19 @@ import java.util.Set;
  * <ul>
  *   <li>Display markers for each entrant with location data</li>
  *   <li>Show entrant names in marker info windows</li>
- *   <li>Automatic camera positioning to show all markers</li>
+ *   <li>Camera starts on the event location (or the first located entrant)</li>
  *   <li>Statistics showing entrants with/without location data</li>
- *   <li>Batch loading of user data for performance optimization</li>
+ *   <li>Only the geohash cells in view are read (see {@link GeoQueries}); panning or
+ *       zooming loads newly visible cells once, and names come from {@link UserProfileLoader}</li>
+ *   <li>Nearby entrants are grouped with {@link GridClusterer} on a background thread; only
+ *       clusters in view are drawn, and markers are added/removed incrementally</li>
  * </ul>
  *
  * <p><b>Requirements:</b>
  * <ul>
  *   <li>Google Play Services must be installed</li>
  *   <li>Event ID must be passed via Intent extra "EVENT_ID"</li>
- *   <li>Location data stored as latitude/longitude in entrant documents</li>
+ *   <li>Location data stored as latitude/longitude (plus geohash) in entrant documents</li>
  * </ul>
  *
  * <p>Implements US 02.02.02: As an organizer I want to see on a map where entrants
@@ -63,6 +84,12 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
 
     private static final String TAG = "EntrantMapActivity";
 
+    /** Zoom used when centering on the event or a single entrant. */
+    private static final float DEFAULT_ZOOM = 11f;
+
+    /** Render requests arriving within this window are merged into one. */
+    private static final long RENDER_DELAY_MS = 100;
+
     // UI Components
     private TextView tvTitle;
     private ImageButton btnBack;
@@ -81,8 +108,29 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
     private Map<Marker, WaitingListEntry> markerToEntrantMap = new HashMap<>();
     private Map<String, com.example.connect.models.User> userCache = new HashMap<>();
 
+    // Entrants read so far, by document id, and the geohash cells they came from
+    private final Map<String, WaitingListEntry> loadedEntrants = new LinkedHashMap<>();
+    private final Set<String> loadedCells = new HashSet<>();
+    private boolean indexReady = false;
+    private boolean cameraPositioned = false;
+    private int loadGeneration = 0;
+
+    // Rendering: clusters are computed off the main thread and applied as a diff
+    private final ExecutorService clusterExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable renderRunnable = this::renderClusters;
+    private final Map<String, Marker> renderedMarkers = new HashMap<>();
+    private final Map<Marker, GridClusterer.Cluster<WaitingListEntry>> markerToCluster = new HashMap<>();
+    private final Map<Integer, BitmapDescriptor> clusterIcons = new HashMap<>();
+    private int renderGeneration = 0;
+
+    // Event-wide counts from the server (null until loaded)
+    private Long totalEntrantCount;
+    private Long withLocationCount;
+
     // Firebase
     private FirebaseFirestore db;
+    private GeoQueries geoQueries;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -99,6 +147,7 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
 
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
+        geoQueries = new GeoQueries(db);
 
         // Initialize views
         initializeViews();
@@ -129,6 +178,13 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        mainHandler.removeCallbacks(renderRunnable);
+        clusterExecutor.shutdownNow();
+    }
+
     private void initializeViews() {
         tvTitle = findViewById(R.id.tvTitle);
         btnBack = findViewById(R.id.btnBack);
@@ -143,7 +199,7 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
 
     /**
      * Callback invoked when the Google Map is ready to be used.
-     * Configures map settings and sets up marker click listeners.
+     * Configures map settings and sets up marker click and camera idle listeners.
      *
      * @param googleMap The GoogleMap instance that is ready
      */
@@ -154,8 +210,14 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
         // Enable zoom controls
         mMap.getUiSettings().setZoomControlsEnabled(true);
 
-        // Set up marker click listener
+        // Set up marker click listener: clusters zoom in, single entrants show their name
         mMap.setOnMarkerClickListener(marker -> {
+            GridClusterer.Cluster<WaitingListEntry> cluster = markerToCluster.get(marker);
+            if (cluster != null) {
+                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(
+                        marker.getPosition(), mMap.getCameraPosition().zoom + 2));
+                return true;
+            }
             WaitingListEntry entry = markerToEntrantMap.get(marker);
             if (entry != null && entry.getUser() != null) {
                 String userName = entry.getUser().getName() != null ? entry.getUser().getName() : "Unknown";
@@ -165,95 +227,158 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
             return true;
         });
 
-        // Update map with loaded data if already available
-        if (!entrantsWithLocation.isEmpty()) {
+        // Read whatever became visible after a pan or zoom, and re-cluster for the new view
+        mMap.setOnCameraIdleListener(() -> {
+            loadVisibleCells();
             updateMapWithMarkers();
+        });
+
+        if (indexReady && !cameraPositioned) {
+            positionCamera();
         }
     }
 
     /**
-     * Loads all entrants from the waiting list and filters those with valid location data.
-     * Handles location data parsing with fallback mechanisms for different data types.
-     * After loading, initiates batch loading of user data for marker labels.
+     * Starts (or restarts) loading the map data.
+     * Older waiting lists get their entrants' geohashes backfilled once; after that only
+     * event-wide counts are read up front, and entrants are read per visible cell.
      */
     private void loadEntrants() {
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    allEntrants.clear();
-                    entrantsWithLocation.clear();
-
-                    Log.d(TAG, "Total documents retrieved: " + querySnapshot.size());
-
-                    Set<String> userIdsToLoad = new HashSet<>();
-
-                    for (QueryDocumentSnapshot document : querySnapshot) {
-                        WaitingListEntry entry = document.toObject(WaitingListEntry.class);
-                        if (entry != null) {
-                            entry.setDocumentId(document.getId());
-                            allEntrants.add(entry);
-
-                            // Try to get location from document directly if model parsing fails
-                            Double latitude = entry.getLatitude();
-                            Double longitude = entry.getLongitude();
-
-                            // Fallback: try reading directly from document
-                            if (latitude == null || longitude == null) {
-                                Object latObj = document.get("latitude");
-                                Object lngObj = document.get("longitude");
-
-                                if (latObj != null && lngObj != null) {
-                                    try {
-                                        if (latObj instanceof Number) {
-                                            latitude = ((Number) latObj).doubleValue();
-                                        } else if (latObj instanceof String) {
-                                            latitude = Double.parseDouble((String) latObj);
-                                        }
-                                        if (lngObj instanceof Number) {
-                                            longitude = ((Number) lngObj).doubleValue();
-                                        } else if (lngObj instanceof String) {
-                                            longitude = Double.parseDouble((String) lngObj);
-                                        }
-                                        entry.setLatitude(latitude);
-                                        entry.setLongitude(longitude);
-                                    } catch (Exception e) {
-                                        Log.e(TAG, "Error parsing location for entrant " + document.getId(), e);
-                                    }
-                                }
-                            }
-
-                            // Check if entry has valid location data
-                            if (latitude != null && longitude != null &&
-                                    !Double.isNaN(latitude) && !Double.isNaN(longitude) &&
-                                    latitude != 0.0 && longitude != 0.0) {
-                                entrantsWithLocation.add(entry);
-                                Log.d(TAG, "Entrant " + document.getId() + " has location: " + latitude + ", " + longitude);
-
-                                // Collect user IDs to batch load
-                                if (entry.getUserId() != null && !entry.getUserId().isEmpty()) {
-                                    userIdsToLoad.add(entry.getUserId());
-                                }
-                            } else {
-                                Log.d(TAG, "Entrant " + document.getId() + " has no valid location data. Lat: " + latitude + ", Lng: " + longitude);
-                            }
+        int generation = ++loadGeneration;
+        loadedEntrants.clear();
+        loadedCells.clear();
+        indexReady = false;
+
+        geoQueries.ensureEntrantsIndexed(eventId)
+                .addOnCompleteListener(task -> {
+                    if (generation != loadGeneration) return;
+                    if (!task.isSuccessful()) {
+                        // Entrants that already have a geohash can still be shown
+                        Log.e(TAG, "Error indexing entrant locations", task.getException());
+                    }
+                    indexReady = true;
+                    loadLocationCounts();
+
+                    if (mMap != null) {
+                        if (cameraPositioned) {
+                            loadVisibleCells();
+                        } else {
+                            positionCamera();
                         }
                     }
+                });
+    }
+
+    /**
+     * Reads how many entrants there are and how many shared a location, without
+     * downloading the entrants themselves.
+     */
+    private void loadLocationCounts() {
+        EntrantCounters.load(db, eventId, new EntrantCounters.CountsCallback() {
+            @Override
+            public void onSuccess(EntrantCounters.Counts counts) {
+                totalEntrantCount = counts.getTotal();
+                updateStatistics();
+            }
 
-                    Log.d(TAG, "Loaded " + allEntrants.size() + " total entrants, " +
-                            entrantsWithLocation.size() + " with location data");
+            @Override
+            public void onFailure(Exception e) {
+                Log.e(TAG, "Error loading entrant counts", e);
+            }
+        });
 
+        // Documents without a geohash are excluded by orderBy, so this counts located entrants
+        geoQueries.entrants(eventId).orderBy(GeoQueries.FIELD_GEOHASH).count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> {
+                    withLocationCount = snapshot.getCount();
                     updateStatistics();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error counting located entrants", e));
+    }
 
-                    // Batch load user data
-                    if (!userIdsToLoad.isEmpty()) {
-                        batchLoadUserData(new ArrayList<>(userIdsToLoad));
+    /**
+     * Moves the camera to the event's location, or to a located entrant if the event has
+     * no coordinates. The resulting camera idle loads the cells in view.
+     */
+    private void positionCamera() {
+        cameraPositioned = true;
+        FirestoreMetrics.read("EntrantMapActivity.positionCamera", db.collection("events").document(eventId).get())
+                .addOnSuccessListener(eventDoc -> {
+                    Double lat = eventDoc.getDouble("location_latitude");
+                    Double lng = eventDoc.getDouble("location_longitude");
+                    if (lat != null && lng != null) {
+                        mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(new LatLng(lat, lng), DEFAULT_ZOOM));
                     } else {
-                        // No users to load, update map immediately
-                        updateMapWithMarkers();
+                        centerOnAnyEntrant();
                     }
                 })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error loading event location", e);
+                    centerOnAnyEntrant();
+                });
+    }
+
+    private void centerOnAnyEntrant() {
+        geoQueries.entrants(eventId).orderBy(GeoQueries.FIELD_GEOHASH).limit(1).get()
+                .addOnSuccessListener(snapshot -> {
+                    double[] position = snapshot.isEmpty()
+                            ? null
+                            : GeoQueries.positionOf(snapshot.getDocuments().get(0));
+                    if (position == null) {
+                        Log.d(TAG, "No entrants with location data to display");
+                        Toast.makeText(this, "No entrants with location data to display", Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(
+                            new LatLng(position[0], position[1]), DEFAULT_ZOOM));
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error finding a located entrant", e));
+    }
+
+    /**
+     * Reads the entrants of every visible geohash cell that has not been read yet.
+     */
+    private void loadVisibleCells() {
+        if (mMap == null || !indexReady) return;
+
+        GeoHash.BoundingBox box = visibleBox();
+        List<String> cellsToLoad = new ArrayList<>();
+        for (String cell : GeoHash.coveringCells(box)) {
+            if (!isLoaded(cell)) {
+                cellsToLoad.add(cell);
+            }
+        }
+
+        if (cellsToLoad.isEmpty()) {
+            updateStatistics();
+            return;
+        }
+
+        int generation = loadGeneration;
+        GeoQueries.inCells(geoQueries.entrants(eventId), cellsToLoad)
+                .addOnSuccessListener(documents -> {
+                    if (generation != loadGeneration) return;
+                    loadedCells.addAll(cellsToLoad);
+
+                    Set<String> userIdsToLoad = new HashSet<>();
+                    for (DocumentSnapshot document : documents) {
+                        WaitingListEntry entry = parseEntry(document);
+                        if (entry == null) continue;
+                        loadedEntrants.put(document.getId(), entry);
+                        if (entry.getUserId() != null && !entry.getUserId().isEmpty()) {
+                            userIdsToLoad.add(entry.getUserId());
+                        }
+                    }
+
+                    entrantsWithLocation = new ArrayList<>(loadedEntrants.values());
+                    allEntrants = new ArrayList<>(loadedEntrants.values());
+                    Log.d(TAG, "Loaded " + documents.size() + " entrants from " + cellsToLoad.size()
+                            + " cells, " + loadedEntrants.size() + " in total");
+
+                    updateStatistics();
+                    batchLoadUserData(new ArrayList<>(userIdsToLoad));
+                })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error loading entrants", e);
                     Toast.makeText(this, "Error loading entrants: " + e.getMessage(),
@@ -262,9 +387,60 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
     }
 
     /**
-     * Batch loads user data for all entrants with location information.
-     * Uses Firestore's 'in' query to load up to 10 users at a time for efficiency.
-     * Once all batches complete, assigns user data to entries and updates the map.
+     * @return true if this cell, or a larger cell containing it, has already been read.
+     */
+    private boolean isLoaded(String cell) {
+        for (int length = 1; length <= cell.length(); length++) {
+            if (loadedCells.contains(cell.substring(0, length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private GeoHash.BoundingBox visibleBox() {
+        LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+        double west = bounds.southwest.longitude;
+        double east = bounds.northeast.longitude;
+        if (west > east) {
+            // View crosses the antimeridian; cover the full longitude range instead
+            west = -180;
+            east = 180;
+        }
+        return new GeoHash.BoundingBox(bounds.southwest.latitude, west, bounds.northeast.latitude, east);
+    }
+
+    /**
+     * Converts an entrant document, accepting numeric or string coordinates.
+     *
+     * @return the entry, or null if it has no usable location
+     */
+    private WaitingListEntry parseEntry(DocumentSnapshot document) {
+        double[] position = GeoQueries.positionOf(document);
+        if (position == null || (position[0] == 0.0 && position[1] == 0.0)) {
+            Log.d(TAG, "Entrant " + document.getId() + " has no valid location data");
+            return null;
+        }
+
+        WaitingListEntry entry;
+        try {
+            entry = document.toObject(WaitingListEntry.class);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error parsing entrant " + document.getId(), e);
+            entry = new WaitingListEntry();
+            entry.setUserId(document.getString("user_id"));
+        }
+        if (entry == null) return null;
+
+        entry.setDocumentId(document.getId());
+        entry.setLatitude(position[0]);
+        entry.setLongitude(position[1]);
+        return entry;
+    }
+
+    /**
+     * Loads names for the given entrants through the shared {@link UserProfileLoader},
+     * then assigns them and refreshes the markers.
      *
      * @param userIds List of user IDs to load
      */
@@ -274,49 +450,18 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
             return;
         }
 
-        // Firestore 'in' queries support up to 10 items at a time
-        final int BATCH_SIZE = 10;
-        final int totalBatches = (int) Math.ceil(userIds.size() / (double) BATCH_SIZE);
-        final int[] completedBatches = {0};
-
-        for (int i = 0; i < userIds.size(); i += BATCH_SIZE) {
-            int end = Math.min(i + BATCH_SIZE, userIds.size());
-            List<String> batch = userIds.subList(i, end);
-
-            db.collection("accounts")
-                    .whereIn("__name__", batch)
-                    .get()
-                    .addOnSuccessListener(querySnapshot -> {
-                        for (DocumentSnapshot document : querySnapshot.getDocuments()) {
-                            if (document.exists()) {
-                                com.example.connect.models.User user =
-                                        document.toObject(com.example.connect.models.User.class);
-                                if (user != null) {
-                                    userCache.put(document.getId(), user);
-                                    Log.d(TAG, "Loaded user data for " + user.getName());
-                                }
-                            }
-                        }
-
-                        completedBatches[0]++;
+        UserProfileLoader.getInstance().load(userIds, new UserProfileLoader.ProfileCallback() {
+            @Override
+            public void onChunkLoaded(Map<String, User> profiles) {
+                userCache.putAll(profiles);
+            }
 
-                        // Once all batches are complete, assign users to entries and update map
-                        if (completedBatches[0] == totalBatches) {
-                            assignUsersToEntries();
-                            updateMapWithMarkers();
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error loading batch of user data", e);
-                        completedBatches[0]++;
-
-                        // Continue even if a batch fails
-                        if (completedBatches[0] == totalBatches) {
-                            assignUsersToEntries();
-                            updateMapWithMarkers();
-                        }
-                    });
-        }
+            @Override
+            public void onComplete(Map<String, User> profiles) {
+                assignUsersToEntries();
+                updateMapWithMarkers();
+            }
+        });
     }
 
     /**
@@ -331,110 +476,170 @@ public class EntrantMapActivity extends AppCompatActivity implements OnMapReadyC
     }
 
     /**
-     * Updates the map with markers for all entrants that have valid location data.
-     * Clears existing markers first, then adds new markers with user names as titles.
-     * Automatically adjusts camera to show all markers or focuses on a single marker.
-     * Should only be called once after all data is loaded.
+     * Asks for the markers to be redrawn. Calls arriving close together (each profile chunk,
+     * each newly loaded cell, camera idle) are coalesced into a single render.
      */
     private void updateMapWithMarkers() {
         if (mMap == null) {
             Log.w(TAG, "Map is not ready yet");
             return;
         }
+        mainHandler.removeCallbacks(renderRunnable);
+        mainHandler.postDelayed(renderRunnable, RENDER_DELAY_MS);
+    }
 
-        // Clear existing markers
-        mMap.clear();
-        markerToEntrantMap.clear();
+    /**
+     * Clusters a snapshot of the loaded entrants for the current viewport on the background
+     * executor, then applies the result on the main thread unless a newer render started.
+     */
+    private void renderClusters() {
+        if (mMap == null || clusterExecutor.isShutdown()) return;
+
+        List<WaitingListEntry> snapshot = new ArrayList<>(entrantsWithLocation);
+        GeoHash.BoundingBox viewport = visibleBox();
+        float zoom = mMap.getCameraPosition().zoom;
+        int generation = ++renderGeneration;
+
+        clusterExecutor.execute(() -> {
+            List<GridClusterer.Cluster<WaitingListEntry>> clusters = GridClusterer.cluster(
+                    snapshot,
+                    entry -> new double[]{entry.getLatitude(), entry.getLongitude()},
+                    WaitingListEntry::getDocumentId,
+                    viewport, zoom);
+            mainHandler.post(() -> {
+                if (generation == renderGeneration && mMap != null) {
+                    applyClusters(clusters);
+                }
+            });
+        });
+    }
 
-        if (entrantsWithLocation.isEmpty()) {
-            Log.d(TAG, "No entrants with location data to display");
-            Toast.makeText(this, "No entrants with location data to display", Toast.LENGTH_SHORT).show();
-            return;
+    /**
+     * Updates the map to show exactly the given clusters: markers whose key is unchanged are
+     * kept (their position, title and contents are refreshed), others are removed or added.
+     */
+    private void applyClusters(List<GridClusterer.Cluster<WaitingListEntry>> clusters) {
+        Map<String, GridClusterer.Cluster<WaitingListEntry>> wanted = new HashMap<>();
+        for (GridClusterer.Cluster<WaitingListEntry> cluster : clusters) {
+            wanted.put(cluster.getKey(), cluster);
         }
 
-        Log.d(TAG, "Adding " + entrantsWithLocation.size() + " markers to map");
-
-        // Add markers for each entrant
-        com.google.android.gms.maps.model.LatLngBounds.Builder boundsBuilder =
-                new com.google.android.gms.maps.model.LatLngBounds.Builder();
-        int markersAdded = 0;
-
-        for (WaitingListEntry entry : entrantsWithLocation) {
-            Double latitude = entry.getLatitude();
-            Double longitude = entry.getLongitude();
-
-            if (latitude != null && longitude != null &&
-                    !Double.isNaN(latitude) && !Double.isNaN(longitude)) {
-
-                LatLng location = new LatLng(latitude, longitude);
-
-                // Create marker
-                MarkerOptions markerOptions = new MarkerOptions()
-                        .position(location);
+        // Remove markers that are no longer wanted
+        List<String> stale = new ArrayList<>();
+        for (Map.Entry<String, Marker> rendered : renderedMarkers.entrySet()) {
+            if (!wanted.containsKey(rendered.getKey())) {
+                stale.add(rendered.getKey());
+            }
+        }
+        for (String key : stale) {
+            Marker marker = renderedMarkers.remove(key);
+            markerToEntrantMap.remove(marker);
+            markerToCluster.remove(marker);
+            marker.remove();
+        }
 
-                // Set title if user data is available
-                if (entry.getUser() != null && entry.getUser().getName() != null) {
-                    markerOptions.title(entry.getUser().getName());
+        // Add new markers; kept ones may have moved (a centroid, an updated location) or
+        // hold different entrants, so refresh their position and what a tap opens
+        for (GridClusterer.Cluster<WaitingListEntry> cluster : clusters) {
+            Marker existing = renderedMarkers.get(cluster.getKey());
+            if (existing != null) {
+                existing.setPosition(new LatLng(cluster.getLatitude(), cluster.getLongitude()));
+                if (cluster.size() == 1) {
+                    existing.setTitle(titleFor(cluster.getItems().get(0)));
+                    markerToEntrantMap.put(existing, cluster.getItems().get(0));
                 } else {
-                    markerOptions.title("Entrant");
+                    markerToCluster.put(existing, cluster);
                 }
+                continue;
+            }
 
-                Marker marker = mMap.addMarker(markerOptions);
-                if (marker != null) {
-                    markerToEntrantMap.put(marker, entry);
-                    boundsBuilder.include(location);
-                    markersAdded++;
-                    Log.d(TAG, "Added marker at: " + latitude + ", " + longitude);
-                } else {
-                    Log.e(TAG, "Failed to add marker for location: " + latitude + ", " + longitude);
-                }
+            LatLng position = new LatLng(cluster.getLatitude(), cluster.getLongitude());
+            MarkerOptions options = new MarkerOptions().position(position);
+            if (cluster.size() == 1) {
+                options.title(titleFor(cluster.getItems().get(0)));
             } else {
-                Log.w(TAG, "Skipping entrant with invalid location: lat=" + latitude + ", lng=" + longitude);
+                options.title(cluster.size() + " entrants")
+                        .icon(clusterIcon(cluster.size()))
+                        .anchor(0.5f, 0.5f);
             }
-        }
 
-        Log.d(TAG, "Total markers added: " + markersAdded);
-
-        // Zoom to show all markers
-        if (markersAdded > 0) {
-            try {
-                if (markersAdded == 1) {
-                    // If only one marker, center on it with a reasonable zoom
-                    WaitingListEntry first = entrantsWithLocation.get(0);
-                    if (first.getLatitude() != null && first.getLongitude() != null) {
-                        LatLng center = new LatLng(first.getLatitude(), first.getLongitude());
-                        mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(center, 12));
-                        Log.d(TAG, "Centered on single marker at: " + center.latitude + ", " + center.longitude);
-                    }
-                } else {
-                    // Multiple markers - show all in bounds
-                    com.google.android.gms.maps.model.LatLngBounds bounds = boundsBuilder.build();
-                    mMap.moveCamera(CameraUpdateFactory.newLatLngBounds(bounds, 100));
-                    Log.d(TAG, "Set camera to show all markers");
-                }
-            } catch (Exception e) {
-                Log.e(TAG, "Error setting camera bounds", e);
-                // Fallback: center on first location
-                if (!entrantsWithLocation.isEmpty()) {
-                    WaitingListEntry first = entrantsWithLocation.get(0);
-                    if (first.getLatitude() != null && first.getLongitude() != null) {
-                        LatLng center = new LatLng(first.getLatitude(), first.getLongitude());
-                        mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(center, 12));
-                    }
-                }
+            Marker marker = mMap.addMarker(options);
+            if (marker == null) {
+                Log.e(TAG, "Failed to add marker for location: " + position);
+                continue;
+            }
+            renderedMarkers.put(cluster.getKey(), marker);
+            if (cluster.size() == 1) {
+                markerToEntrantMap.put(marker, cluster.getItems().get(0));
+            } else {
+                markerToCluster.put(marker, cluster);
             }
         }
+
+        Log.d(TAG, "Rendered " + clusters.size() + " markers/clusters for "
+                + entrantsWithLocation.size() + " loaded entrants");
+        updateStatistics();
+    }
+
+    private static String titleFor(WaitingListEntry entry) {
+        return entry.getUser() != null && entry.getUser().getName() != null
+                ? entry.getUser().getName()
+                : "Entrant";
+    }
+
+    /**
+     * Draws (once per label) a round badge showing how many entrants a cluster holds.
+     * Large counts share a "99+" badge.
+     */
+    private BitmapDescriptor clusterIcon(int count) {
+        int label = Math.min(count, 100);
+        BitmapDescriptor icon = clusterIcons.get(label);
+        if (icon != null) return icon;
+
+        float density = getResources().getDisplayMetrics().density;
+        int size = Math.round(40 * density);
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        Paint circle = new Paint(Paint.ANTI_ALIAS_FLAG);
+        circle.setColor(Color.parseColor("#CC3F51B5"));
+        canvas.drawCircle(size / 2f, size / 2f, size / 2f, circle);
+
+        Paint text = new Paint(Paint.ANTI_ALIAS_FLAG);
+        text.setColor(Color.WHITE);
+        text.setTextSize(14 * density);
+        text.setTextAlign(Paint.Align.CENTER);
+        String value = label >= 100 ? "99+" : String.valueOf(label);
+        canvas.drawText(value, size / 2f, size / 2f - (text.descent() + text.ascent()) / 2, text);
+
+        icon = BitmapDescriptorFactory.fromBitmap(bitmap);
+        clusterIcons.put(label, icon);
+        return icon;
     }
 
     /**
-     * Update statistics text views
+     * Update statistics text views.
+     * Event-wide numbers come from the server counts once loaded, falling back to the
+     * entrants read so far.
      */
     private void updateStatistics() {
-        int totalWithLocation = entrantsWithLocation.size();
-        int totalEntrants = allEntrants.size();
-        int withoutLocation = totalEntrants - totalWithLocation;
+        int inView = 0;
+        if (mMap != null) {
+            LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+            for (WaitingListEntry entry : entrantsWithLocation) {
+                if (bounds.contains(new LatLng(entry.getLatitude(), entry.getLongitude()))) {
+                    inView++;
+                }
+            }
+        } else {
+            inView = entrantsWithLocation.size();
+        }
+
+        long totalWithLocation = withLocationCount != null ? withLocationCount : entrantsWithLocation.size();
+        long totalEntrants = totalEntrantCount != null ? totalEntrantCount : allEntrants.size();
+        long withoutLocation = Math.max(0, totalEntrants - totalWithLocation);
 
-        tvEntrantsInView.setText("Entrants In View: " + totalWithLocation);
+        tvEntrantsInView.setText("Entrants In View: " + inView);
         tvWithinZone.setText("With Location: " + totalWithLocation);
         tvOutsideZone.setText("Without Location: " + withoutLocation);
     }
@@ -5,12 +5,8 @@ import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
-import android.location.Address;
-import android.location.Geocoder;
 import android.location.Location;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
@@ -29,19 +25,19 @@ import androidx.core.content.ContextCompat;
 import com.example.connect.R;
 import com.bumptech.glide.Glide;
 import com.example.connect.models.Event;
+import com.example.connect.network.EventGeocoder;
+import com.example.connect.network.FirestoreMetrics;
 import com.example.connect.utils.LocationHelper;
+import com.example.connect.utils.EntrantCounters;
+import com.example.connect.utils.WaitingListService;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import android.util.Base64;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Activity for displaying detailed information about a specific event.
@@ -192,9 +188,9 @@ public class EventDetails extends AppCompatActivity {
      * @param eventId The unique identifier of the event to load
      */
     private void loadEventDetails(String eventId) {
-        db.collection("events")
+        FirestoreMetrics.read("EventDetails.loadEventDetails", db.collection("events")
                 .document(eventId)
-                .get()
+                .get())
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         // Get and save event data
@@ -310,7 +306,7 @@ public class EventDetails extends AppCompatActivity {
 
     /**
      * Sets up a real-time listener for the waiting list count.
-     * Counts entrants from the subcollection and updates the UI.
+     * Watches the event's counter shards (see {@link EntrantCounters}) and updates the UI.
      *
      * @param eventId The unique identifier of the event
      */
@@ -319,24 +315,12 @@ public class EventDetails extends AppCompatActivity {
             waitlistRegistration.remove();
         }
 
-        // Listen to the entrants subcollection instead of the document
-        waitlistRegistration = db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")  // Count from subcollection
-                .addSnapshotListener((querySnapshot, error) -> {
-                    if (error != null) {
-                        Log.e("EventDetails", "Error listening to waitlist", error);
-                        return;
-                    }
-
-                    int count = 0;
-                    if (querySnapshot != null) {
-                        count = querySnapshot.size();  // Count all entrants
-                    }
+        waitlistRegistration = EntrantCounters.listen(db, eventId, counts -> {
+            long count = counts.getTotal();  // Count all entrants
 
-                    Log.d("EventDetails", "Waitlist count: " + count);
-                    tvWaitingList.setText("Live Waitlist: " + count + " entrant" + (count == 1 ? "" : "s"));
-                });
+            Log.d("EventDetails", "Waitlist count: " + count);
+            tvWaitingList.setText("Live Waitlist: " + count + " entrant" + (count == 1 ? "" : "s"));
+        });
     }
 
     @Override
@@ -436,14 +420,8 @@ public class EventDetails extends AppCompatActivity {
      */
     /**
      * Adds the current (logged in) user to the event's waiting list in Firestore.
-     * Checks total_capacity (waiting list limit) before adding to prevent exceeding the limit.
-     * If total_capacity is null or 0, allows unlimited entries.
-     * Updates the waiting list count and displays a success message.
-     */
-    /**
-     * Adds the current (logged in) user to the event's waiting list in Firestore.
-     * Checks total_capacity (waiting list limit) before adding to prevent exceeding the limit.
-     * If total_capacity is null or 0, allows unlimited entries.
+     * total_capacity (waiting list limit) is enforced by the join transaction, so concurrent
+     * joins cannot exceed it. If total_capacity is null or 0, allows unlimited entries.
      * Updates the waiting list count and displays a success message.
      */
     private void joinWaitingList() {
@@ -460,86 +438,8 @@ public class EventDetails extends AppCompatActivity {
             return;
         }
 
-        // Check if user is the organizer first
-        db.collection("events")
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(eventDoc -> {
-                    if (!eventDoc.exists()) {
-                        Toast.makeText(this, "Event not found", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-
-                    // Check if user is the organizer
-                    String organizerId = eventDoc.getString("organizer_id");
-                    if (organizerId != null && organizerId.equals(userId)) {
-                        Toast.makeText(this, "Organizers cannot join their own event", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-
-                    // Check waiting list capacity (not draw_capacity)
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .get()
-                            .addOnSuccessListener(waitingListDoc -> {
-                                // Get total_capacity from waiting_lists collection (not events)
-                                final Long totalCapacity = waitingListDoc.exists()
-                                        ? waitingListDoc.getLong("total_capacity")
-                                        : null;
-
-                                // Check if user already in waiting list
-                                db.collection("waiting_lists")
-                                        .document(eventId)
-                                        .collection("entrants")
-                                        .document(userId)
-                                        .get()
-                                        .addOnSuccessListener(entrantDoc -> {
-                                            if (entrantDoc.exists()) {
-                                                Toast.makeText(this, "You're already on the waiting list",
-                                                        Toast.LENGTH_SHORT).show();
-                                                return;
-                                            }
-
-                                            // Count ALL entrants (regardless of status) for capacity check
-                                            db.collection("waiting_lists")
-                                                    .document(eventId)
-                                                    .collection("entrants")
-                                                    .get()
-                                                    .addOnSuccessListener(querySnapshot -> {
-                                                        int currentSize = querySnapshot.size();
-
-                                                        // Only check limit if total_capacity is set and > 0
-                                                        // null or 0 = unlimited waiting list
-                                                        if (totalCapacity != null && totalCapacity > 0
-                                                                && currentSize >= totalCapacity) {
-                                                            Toast.makeText(this,
-                                                                    "Waiting list is full (" + totalCapacity + " entrants)",
-                                                                    Toast.LENGTH_SHORT).show();
-                                                            return;
-                                                        }
-
-                                                        // All checks passed - add user to waiting list
-                                                        addUserToWaitingList(userId);
-                                                    })
-                                                    .addOnFailureListener(e -> {
-                                                        Toast.makeText(this, "Error checking waiting list: " + e.getMessage(),
-                                                                Toast.LENGTH_SHORT).show();
-                                                    });
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Toast.makeText(this, "Error checking your status: " + e.getMessage(),
-                                                    Toast.LENGTH_SHORT).show();
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Toast.makeText(this, "Error accessing waiting list: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Error accessing event: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
-                });
+        // Organizer, duplicate and capacity checks happen inside WaitingListService.join
+        addUserToWaitingList(userId);
     }
 
     /**
@@ -547,14 +447,13 @@ public class EventDetails extends AppCompatActivity {
      */
     /**
      * Helper method to add user to waiting list subcollection.
-     * Ensures waiting list document exists before adding entrant.
      * US 02.02.02: Captures location if event requires geolocation.
      */
     private void addUserToWaitingList(String userId) {
         // First check if event requires geolocation and get event data
-        db.collection("events")
+        FirestoreMetrics.read("EventDetails.addUserToWaitingList", db.collection("events")
                 .document(eventId)
-                .get()
+                .get())
                 .addOnSuccessListener(eventDoc -> {
                     boolean requireGeo = false;
                     Double storedLat = null;
@@ -569,7 +468,7 @@ public class EventDetails extends AppCompatActivity {
                     }
 
                     final boolean finalRequireGeo = requireGeo;
-                    resolveEventCoordinates(storedLat, storedLng, locationText, (resolvedLat, resolvedLng) -> {
+                    EventGeocoder.getInstance(this).resolveForEvent(eventId, storedLat, storedLng, locationText, (resolvedLat, resolvedLng) -> {
                         pendingEventLatitude = resolvedLat;
                         pendingEventLongitude = resolvedLng;
 
@@ -639,45 +538,6 @@ public class EventDetails extends AppCompatActivity {
         return results[0] <= GEO_RADIUS_METERS;
     }
 
-    /**
-     * Attempts to resolve event coordinates using stored values or by geocoding the location text.
-     */
-    private void resolveEventCoordinates(Double storedLat, Double storedLng, String locationText, CoordinatesCallback callback) {
-        if (storedLat != null && storedLng != null) {
-            callback.onResult(storedLat, storedLng);
-            return;
-        }
-
-        if (locationText == null || locationText.trim().isEmpty() || !Geocoder.isPresent()) {
-            callback.onResult(null, null);
-            return;
-        }
-
-        new Thread(() -> {
-            Double lat = null;
-            Double lng = null;
-            try {
-                Geocoder geocoder = new Geocoder(this, Locale.getDefault());
-                List<Address> results = geocoder.getFromLocationName(locationText, 1);
-                if (results != null && !results.isEmpty()) {
-                    Address address = results.get(0);
-                    lat = address.getLatitude();
-                    lng = address.getLongitude();
-                }
-            } catch (Exception e) {
-                Log.e("EventDetails", "Failed to geocode event location", e);
-            }
-
-            Double finalLat = lat;
-            Double finalLng = lng;
-            new Handler(Looper.getMainLooper()).post(() -> callback.onResult(finalLat, finalLng));
-        }).start();
-    }
-
-    private interface CoordinatesCallback {
-        void onResult(Double latitude, Double longitude);
-    }
-
     /**
      * Requests location permission from the user.
      *
@@ -749,11 +609,11 @@ public class EventDetails extends AppCompatActivity {
      * Also adds the event to the user's personal "myevents" collection.
      * <p>This method:
      * <ol>
-     *   <li>Retrieves the existing waiting list to preserve total_capacity</li>
-     *   <li>Creates or updates the waiting list document</li>
+     *   <li>Rejects organizers, duplicates and joins past total_capacity</li>
      *   <li>Adds the user to the entrants subcollection with status "waiting"</li>
      *   <li>Includes location data (latitude/longitude) if provided</li>
      * </ol>
+     * All of it runs in one {@link WaitingListService#join} transaction.
      *
      * <p>Implements US 02.02.02: Location data is stored when available.
      *
@@ -763,77 +623,18 @@ public class EventDetails extends AppCompatActivity {
      */
 
     private void addToWaitingList(String userId, Double latitude, Double longitude) {
-        // First, get the current waiting list to preserve total_capacity
-        db.collection("waiting_lists")
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(waitingListDoc -> {
-                    // Preserve existing total_capacity or set to null (unlimited)
-                    Object totalCapacity = null;
-                    if (waitingListDoc.exists()) {
-                        totalCapacity = waitingListDoc.get("total_capacity");
-                    }
-
-                    // Ensure the waiting list document exists
-                    Map<String, Object> waitingListData = new HashMap<>();
-                    waitingListData.put("event_id", eventId);
-                    waitingListData.put("created_at", FieldValue.serverTimestamp());
-                    waitingListData.put("total_capacity", totalCapacity); // Preserve capacity
-
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .set(waitingListData, com.google.firebase.firestore.SetOptions.merge())
-                            .addOnSuccessListener(aVoid -> {
-                                // Now add user to entrants subcollection
-                                Map<String, Object> entrantData = new HashMap<>();
-                                entrantData.put("user_id", userId);
-                                entrantData.put("status", "waiting");
-                                entrantData.put("joined_date", FieldValue.serverTimestamp());
-
-                                // US 02.02.02: Add location data if available
-                                if (latitude != null && longitude != null) {
-                                    entrantData.put("latitude", latitude);
-                                    entrantData.put("longitude", longitude);
-                                    entrantData.put("location_captured_at", FieldValue.serverTimestamp());
-                                }
-
-                                db.collection("waiting_lists")
-                                        .document(eventId)
-                                        .collection("entrants")
-                                        .document(userId)
-                                        .set(entrantData)
-                                        .addOnSuccessListener(aVoid2 -> {
-
-                                            Map<String, Object> myEventData = new HashMap<>();
-                                            myEventData.put("event_id", eventId);
-                                            myEventData.put("status", "waiting");
-                                            myEventData.put("timestamp", FieldValue.serverTimestamp());
-
-
-                                            db.collection("accounts")
-                                                    .document(userId)
-                                                    .collection("myevents")
-                                                    .document(eventId)
-                                                    .set(myEventData)
-                                                    .addOnFailureListener(e -> Log.e("EventDetails", "Error adding to myevents", e));
-
-
-                                            Toast.makeText(this, "Joined waiting list", Toast.LENGTH_SHORT).show();
-                                            loadEventDetails(eventId);
-                                        })
-                                        .addOnFailureListener(e -> {
-                                            Toast.makeText(this, "Error joining: " + e.getMessage(),
-                                                    Toast.LENGTH_SHORT).show();
-                                        });
-                            })
-                            .addOnFailureListener(e -> {
-                                Toast.makeText(this, "Error creating waiting list: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
+        new WaitingListService(db).join(eventId, userId, latitude, longitude)
+                .addOnSuccessListener(aVoid -> {
+                    Toast.makeText(this, "Joined waiting list", Toast.LENGTH_SHORT).show();
+                    loadEventDetails(eventId);
                 })
                 .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Error accessing waiting list: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
+                    if (WaitingListService.getJoinRejection(e) != null) {
+                        Toast.makeText(this, e.getMessage(), Toast.LENGTH_SHORT).show();
+                    } else {
+                        Toast.makeText(this, "Error joining: " + e.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
@@ -858,36 +659,19 @@ public class EventDetails extends AppCompatActivity {
             return;
         }
 
-        // Check if user is in the waiting list
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .document(userId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (!documentSnapshot.exists()) {
-                        Toast.makeText(this, "You're not on the waiting list", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-
-                    // Remove user from waiting list
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .collection("entrants")
-                            .document(userId)
-                            .delete()
-                            .addOnSuccessListener(aVoid -> {
-                                Toast.makeText(this, "Left waiting list", Toast.LENGTH_SHORT).show();
-                                loadEventDetails(eventId);
-                            })
-                            .addOnFailureListener(e -> {
-                                Toast.makeText(this, "Error leaving: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
+        // Remove the entrant, its counter contribution and the My Events index entry together
+        new WaitingListService(db).leave(eventId, userId)
+                .addOnSuccessListener(aVoid -> {
+                    Toast.makeText(this, "Left waiting list", Toast.LENGTH_SHORT).show();
+                    loadEventDetails(eventId);
                 })
                 .addOnFailureListener(e -> {
-                    Toast.makeText(this, "Error checking status: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
+                    if (WaitingListService.isNotOnList(e)) {
+                        Toast.makeText(this, "You're not on the waiting list", Toast.LENGTH_SHORT).show();
+                    } else {
+                        Toast.makeText(this, "Error leaving: " + e.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
@@ -1,12 +1,11 @@
 package com.example.connect.activities;
 
+import android.Manifest;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import android.content.pm.PackageManager;
 import android.os.Bundle;
 import android.text.Editable;
 import android.text.TextWatcher;
-import android.util.Base64;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -15,7 +14,9 @@ import android.widget.ListView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.app.ActivityCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -23,21 +24,22 @@ import com.example.connect.R;
 import com.example.connect.adapters.EventAdapter;
 import com.example.connect.adapters.PopularEventsAdapter;
 import com.example.connect.models.Event;
-import com.example.connect.models.User;
+import com.example.connect.network.CurrentUserRepository;
 import com.example.connect.network.EventRepository;
 import com.example.connect.network.EventRepositoryProvider;
 import com.example.connect.testing.TestHooks;
+import com.example.connect.utils.EventDates;
+import com.example.connect.utils.EventFilters;
+import com.example.connect.utils.LocationHelper;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.imageview.ShapeableImageView;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Main event dashboard activity displaying featured events and a searchable event list.
@@ -93,6 +95,13 @@ public class EventListActivity extends AppCompatActivity {
     private String selectedInterest = "";
     private String selectedLocation = "";
 
+    // "Near me" mode: events within nearMeRadiusKm of the device, nearest first
+    private static final int LOCATION_PERMISSION_REQUEST_CODE = 1002;
+    private static final int[] NEAR_ME_RADII_KM = {5, 10, 25, 50};
+    private boolean nearMeActive = false;
+    private int nearMeRadiusKm = 10;
+    private List<Event> nearbyEvents = new ArrayList<>();
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -221,6 +230,7 @@ public class EventListActivity extends AppCompatActivity {
             chipLocation.setOnClickListener(v -> showLocationFilterDialog());
             chipLocation.setOnLongClickListener(v -> {
                 selectedLocation = "";
+                nearMeActive = false;
                 chipLocation.setText(getString(R.string.filter_location));
                 applyAllFilters();
                 return true;
@@ -277,7 +287,7 @@ public class EventListActivity extends AppCompatActivity {
 
     /**
      * Filters events to find "popular" ones (events occurring within the next 5 days).
-     * Uses multiple date format parsers to handle different date string formats.
+     * Dates may be in any of the formats {@link EventDates#parseToMillis(String)} accepts.
      *
      * @param events The list of all events to filter
      * @return List of events occurring within 5 days
@@ -290,7 +300,7 @@ public class EventListActivity extends AppCompatActivity {
         for (Event event : events) {
             if (event.getDateTime() == null || event.getDateTime().isEmpty()) continue;
             try {
-                long eventTime = parseDateToMillis(event.getDateTime());
+                long eventTime = EventDates.parseToMillis(event.getDateTime());
                 long diff = eventTime - now;
                 if (diff >= 0 && diff <= fiveDays) {
                     popularEvents.add(event);
@@ -302,120 +312,27 @@ public class EventListActivity extends AppCompatActivity {
         return popularEvents;
     }
 
-    /**
-     * Attempts to parse a date string using multiple common date formats.
-     *
-     * @param dateString The date string to parse
-     * @return The date as milliseconds since epoch
-     * @throws Exception if none of the formats can parse the date
-     */
-    private long parseDateToMillis(String dateString) throws Exception {
-        String[] formats = {
-                "yyyy-MM-dd'T'HH:mm:ss",
-                "dd/MM/yyyy",
-                "MM/dd/yyyy",
-                "yyyy-MM-dd",
-                "MMM dd, yyyy",
-                "dd MMM yyyy"
-        };
-
-        for (String format : formats) {
-            try {
-                java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat(format, java.util.Locale.ENGLISH);
-                java.util.Date date = sdf.parse(dateString);
-                if (date != null) {
-                    return date.getTime();
-                }
-            } catch (Exception ignored) {
-            }
-        }
-        throw new Exception("Unable to parse date: " + dateString);
-    }
-
     private void applyAllFilters() {
-        eventList.clear();
-        List<Event> filtered = new ArrayList<>(allEventsList);
-
-        // Apply search filter
-        if (!currentSearchQuery.isEmpty()) {
-            filtered = filterBySearch(filtered, currentSearchQuery);
-        }
-
-        // Apply date filter
-        if (!selectedDate.isEmpty()) {
-            filtered = filterByDate(filtered, selectedDate);
-        }
-
-        // Apply interest filter
-        if (!selectedInterest.isEmpty()) {
-            filtered = filterByInterest(filtered, selectedInterest);
-        }
+        EventFilters.Criteria criteria = new EventFilters.Criteria(
+                currentSearchQuery, selectedDate, selectedInterest, selectedLocation);
+        // In "near me" mode the base list is already sorted by distance; filters keep that order
+        List<Event> base = nearMeActive && nearbyEvents != null ? nearbyEvents : allEventsList;
 
-        // Apply location filter
-        if (!selectedLocation.isEmpty()) {
-            filtered = filterByLocation(filtered, selectedLocation);
-        }
-
-        eventList.addAll(filtered);
+        eventList.clear();
+        eventList.addAll(EventFilters.apply(base, criteria));
         eventAdapter.notifyDataSetChanged();
 
         // Also filter popular events with the same filters
-        List<Event> filteredPopular = new ArrayList<>(getPopularEvents(allEventsList));
-
-        // Apply search filter to popular events
-        if (!currentSearchQuery.isEmpty()) {
-            filteredPopular = filterBySearch(filteredPopular, currentSearchQuery);
-        }
-
-        // Apply date filter to popular events
-        if (!selectedDate.isEmpty()) {
-            filteredPopular = filterByDate(filteredPopular, selectedDate);
-        }
-
-        // Apply interest filter to popular events
-        if (!selectedInterest.isEmpty()) {
-            filteredPopular = filterByInterest(filteredPopular, selectedInterest);
-        }
-
-        // Apply location filter to popular events
-        if (!selectedLocation.isEmpty()) {
-            filteredPopular = filterByLocation(filteredPopular, selectedLocation);
-        }
-
         popularEventsList.clear();
-        popularEventsList.addAll(filteredPopular);
+        popularEventsList.addAll(EventFilters.apply(getPopularEvents(base), criteria));
         popularEventsAdapter.notifyDataSetChanged();
 
         Log.d("EventListActivity", "Filtered to " + eventList.size() + " events. " +
                 "Search: \"" + currentSearchQuery + "\", " +
                 "Date: \"" + selectedDate + "\", " +
                 "Interest: \"" + selectedInterest + "\", " +
-                "Location: \"" + selectedLocation + "\"");
-    }
-
-    /**
-     * Filters events by search query (case-insensitive).
-     * Searches through event names, locations, categories, and descriptions.
-     *
-     * @param events The list of events to filter
-     * @param query The search query
-     * @return Filtered list of events matching the query
-     */
-    private List<Event> filterBySearch(List<Event> events, String query) {
-        List<Event> filtered = new ArrayList<>();
-        String lower = query.toLowerCase();
-
-        for (Event event : events) {
-            boolean matchesName = event.getName() != null && event.getName().toLowerCase().contains(lower);
-            boolean matchesLocation = event.getLocation() != null && event.getLocation().toLowerCase().contains(lower);
-            boolean matchesCategory = event.getCategory() != null && event.getCategory().toLowerCase().contains(lower);
-            boolean matchesDescription = event.getDescription() != null && event.getDescription().toLowerCase().contains(lower);
-
-            if (matchesName || matchesLocation || matchesCategory || matchesDescription) {
-                filtered.add(event);
-            }
-        }
-        return filtered;
+                "Location: \"" + selectedLocation + "\", " +
+                "Near me: " + (nearMeActive ? nearMeRadiusKm + " km" : "off"));
     }
 
     private void showDateFilterDialog() {
@@ -474,6 +391,7 @@ public class EventListActivity extends AppCompatActivity {
                     String userLocation = input.getText().toString().trim();
                     if (!userLocation.isEmpty()) {
                         selectedLocation = userLocation;
+                        nearMeActive = false;
                         if (chipLocation != null) {
                             chipLocation.setText(getString(R.string.filter_location) + "\n" + userLocation);
                         }
@@ -482,10 +400,98 @@ public class EventListActivity extends AppCompatActivity {
                         Toast.makeText(this, "Please enter a location", Toast.LENGTH_SHORT).show();
                     }
                 })
+                .setNeutralButton("Near me", (dialog, which) -> showNearMeRadiusDialog())
                 .setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss())
                 .show();
     }
 
+    /**
+     * Lets the user pick a search radius, then switches the list to events near them.
+     */
+    private void showNearMeRadiusDialog() {
+        String[] labels = new String[NEAR_ME_RADII_KM.length];
+        for (int i = 0; i < NEAR_ME_RADII_KM.length; i++) {
+            labels[i] = "Within " + NEAR_ME_RADII_KM[i] + " km";
+        }
+
+        new android.app.AlertDialog.Builder(this)
+                .setTitle("Events near me")
+                .setItems(labels, (dialog, which) -> {
+                    nearMeRadiusKm = NEAR_ME_RADII_KM[which];
+                    loadNearbyEvents();
+                })
+                .setNegativeButton("Cancel", (dialog, which) -> dialog.dismiss())
+                .show();
+    }
+
+    /**
+     * Gets the device position and shows open events within the chosen radius,
+     * nearest first. Asks for location permission if it has not been granted.
+     */
+    private void loadNearbyEvents() {
+        LocationHelper locationHelper = new LocationHelper(this);
+        if (!locationHelper.hasLocationPermission()) {
+            ActivityCompat.requestPermissions(this,
+                    new String[]{Manifest.permission.ACCESS_FINE_LOCATION, Manifest.permission.ACCESS_COARSE_LOCATION},
+                    LOCATION_PERMISSION_REQUEST_CODE);
+            return;
+        }
+
+        locationHelper.getLastLocation((latitude, longitude) -> {
+            if (latitude == null || longitude == null) {
+                Toast.makeText(this, "Could not get your location", Toast.LENGTH_SHORT).show();
+                return;
+            }
+
+            eventRepository.getEventsNear(latitude, longitude, nearMeRadiusKm * 1000d,
+                    new EventRepository.EventCallback() {
+                        @Override
+                        public void onSuccess(List<Event> events) {
+                            nearbyEvents.clear();
+                            for (Event event : events) {
+                                if (isRegistrationActive(event)) {
+                                    nearbyEvents.add(event);
+                                }
+                            }
+
+                            nearMeActive = true;
+                            selectedLocation = "";
+                            if (chipLocation != null) {
+                                chipLocation.setText(getString(R.string.filter_location)
+                                        + "\nWithin " + nearMeRadiusKm + " km");
+                            }
+                            applyAllFilters();
+
+                            if (nearbyEvents.isEmpty()) {
+                                Toast.makeText(EventListActivity.this,
+                                        "No events within " + nearMeRadiusKm + " km", Toast.LENGTH_SHORT).show();
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            Log.e("EventListActivity", "Error loading nearby events", e);
+                            Toast.makeText(EventListActivity.this,
+                                    "Error loading nearby events: " + e.getMessage(),
+                                    Toast.LENGTH_SHORT).show();
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+
+        if (requestCode == LOCATION_PERMISSION_REQUEST_CODE) {
+            if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+                loadNearbyEvents();
+            } else {
+                Toast.makeText(this, "Location permission is needed to find events near you", Toast.LENGTH_LONG).show();
+            }
+        }
+    }
+
     /**
      * Checks if the event's registration period is currently active.
      * Ensures Current Time is between 'regStart' and 'regStop'.
@@ -499,7 +505,7 @@ public class EventListActivity extends AppCompatActivity {
         try {
             // Check if Registration has started yet (regStart)
             if (event.getRegStart() != null && !event.getRegStart().trim().isEmpty()) {
-                long regStartTime = parseDateToMillis(event.getRegStart());
+                long regStartTime = EventDates.parseToMillis(event.getRegStart());
                 // If Current Time is BEFORE Registration Start Time, return false (Too early)
                 if (currentTime < regStartTime) {
                     Log.d("EventList", "Hiding event " + event.getName() + ": Registration hasn't started.");
@@ -509,7 +515,7 @@ public class EventListActivity extends AppCompatActivity {
 
             // Check Registration Deadline (regStop)
             if (event.getRegStop() != null && !event.getRegStop().trim().isEmpty()) {
-                long regEndTime = parseDateToMillis(event.getRegStop());
+                long regEndTime = EventDates.parseToMillis(event.getRegStop());
                 // If Current Time is AFTER Registration End Time, return false (Too late)
                 if (currentTime > regEndTime) {
                     Log.d("EventList", "Hiding event " + event.getName() + ": Registration closed.");
@@ -522,7 +528,7 @@ public class EventListActivity extends AppCompatActivity {
             // Fallback/Edge-Case: If no specific registration dates exist, check Event Start Time
             // (Assuming you can't register for an event that has already started)
             if (event.getDateTime() != null && !event.getDateTime().trim().isEmpty()) {
-                long eventStartTime = parseDateToMillis(event.getDateTime());
+                long eventStartTime = EventDates.parseToMillis(event.getDateTime());
                 return currentTime < eventStartTime;
             }
 
@@ -534,61 +540,6 @@ public class EventListActivity extends AppCompatActivity {
         return false;
     }
 
-    private List<Event> filterByDate(List<Event> events, String date) {
-        List<Event> filtered = new ArrayList<>();
-        for (Event event : events) {
-            if (event.getDateTime() != null && event.getDateTime().contains(date)) {
-                filtered.add(event);
-            }
-        }
-        return filtered;
-    }
-
-    private List<Event> filterByInterest(List<Event> events, String interest) {
-        List<Event> filtered = new ArrayList<>();
-        String lowerInterest = interest.toLowerCase(Locale.getDefault());
-
-        for (Event event : events) {
-            List<String> labels = event.getLabels();
-            if (labels == null || labels.isEmpty()) {
-                continue;
-            }
-
-            boolean matchesLabel = false;
-            for (String label : labels) {
-                if (label != null && label.toLowerCase(Locale.getDefault()).contains(lowerInterest)) {
-                    matchesLabel = true;
-                    break;
-                }
-            }
-
-            if (matchesLabel) {
-                filtered.add(event);
-            }
-        }
-        return filtered;
-    }
-
-    /**
-     * Filters events by location (case-insensitive).
-     *
-     * @param events The list of events to filter
-     * @param location The location string to filter by
-     * @return Filtered list of events matching the location
-     */
-    private List<Event> filterByLocation(List<Event> events, String location) {
-        List<Event> filtered = new ArrayList<>();
-        String lowerLocation = location.toLowerCase();
-
-        for (Event event : events) {
-            if (event.getLocation() != null &&
-                    event.getLocation().toLowerCase().contains(lowerLocation)) {
-                filtered.add(event);
-            }
-        }
-        return filtered;
-    }
-
     private void clearAllFilters() {
         // Clear search
         if (searchBarHeader != null) {
@@ -610,6 +561,7 @@ public class EventListActivity extends AppCompatActivity {
 
         // Clear location filter
         selectedLocation = "";
+        nearMeActive = false;
         if (chipLocation != null) {
             chipLocation.setText(getString(R.string.filter_location));
         }
@@ -634,30 +586,20 @@ public class EventListActivity extends AppCompatActivity {
             return;
         }
 
-        String userId = firebaseUser.getUid();
-        FirebaseFirestore.getInstance()
-                .collection("accounts")
-                .document(userId)
-                .get()
-                .addOnCompleteListener(task -> {
-                    if (task.isSuccessful() && task.getResult() != null && task.getResult().exists()) {
-                        User user = task.getResult().toObject(User.class);
-                        if (user != null) {
-                            String base64Image = user.getProfileImageUrl();
-                            if (base64Image != null && !base64Image.isEmpty()) {
-                                try {
-                                    byte[] decodedString = Base64.decode(base64Image, Base64.DEFAULT);
-                                    Bitmap decodedByte = BitmapFactory.decodeByteArray(decodedString, 0, decodedString.length);
-                                    if (decodedByte != null) {
-                                        profileHeaderImage.setImageBitmap(decodedByte);
-                                    }
-                                } catch (Exception e) {
-                                    Log.e("EventListActivity", "Error decoding profile image", e);
-                                }
-                            }
-                        }
-                    }
-                });
+        // The avatar is decoded once by the shared repository and reused on every resume
+        CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                if (profile.getAvatar() != null && !isFinishing()) {
+                    profileHeaderImage.setImageBitmap(profile.getAvatar());
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e("EventListActivity", "Error loading profile image", e);
+            }
+        });
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.example.connect.activities;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.connect.R;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.utils.JankMetrics;
+import com.google.android.material.appbar.MaterialToolbar;
+import com.google.android.material.button.MaterialButton;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Debug screen listing the Firestore reads and writes recorded by {@link FirestoreMetrics},
+ * per screen and operation, with document counts, payload estimates and latency percentiles,
+ * followed by the frame-time percentiles recorded by {@link JankMetrics}.
+ * <p>
+ * Only reachable in debuggable builds (long-press the system stat on the admin dashboard).
+ * "Save" appends the current totals to the same CSV files as the periodic dumps.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class FirestoreMetricsActivity extends AppCompatActivity {
+
+    private static final String TAG = "FirestoreMetricsActivity";
+
+    private TextView tvMetrics;
+    private final ExecutorService fileExecutor = Executors.newSingleThreadExecutor();
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_firestore_metrics);
+
+        MaterialToolbar toolbar = findViewById(R.id.toolbar);
+        toolbar.setNavigationOnClickListener(v -> finish());
+        tvMetrics = findViewById(R.id.tv_metrics);
+
+        MaterialButton btnRefresh = findViewById(R.id.btn_refresh);
+        MaterialButton btnSave = findViewById(R.id.btn_save);
+        MaterialButton btnReset = findViewById(R.id.btn_reset);
+        btnRefresh.setOnClickListener(v -> showReport());
+        btnSave.setOnClickListener(v -> saveReport());
+        btnReset.setOnClickListener(v -> {
+            FirestoreMetrics.reset();
+            JankMetrics.reset();
+            showReport();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        fileExecutor.shutdown();
+    }
+
+    private void showReport() {
+        tvMetrics.setText(FirestoreMetrics.report() + "\n\nFrames\n\n" + JankMetrics.report());
+    }
+
+    /**
+     * Appends the totals to the dump files off the main thread.
+     */
+    private void saveReport() {
+        File file = FirestoreMetrics.dumpFile(this);
+        File frameFile = JankMetrics.dumpFile(this);
+        fileExecutor.execute(() -> {
+            try {
+                FirestoreMetrics.dump(file);
+                JankMetrics.dump(frameFile);
+                runOnUiThread(() -> Toast.makeText(this, "Saved to " + file.getParent(), Toast.LENGTH_LONG).show());
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to save metrics", e);
+                runOnUiThread(() -> Toast.makeText(this, "Failed to save metrics", Toast.LENGTH_SHORT).show());
+            }
+        });
+    }
+}
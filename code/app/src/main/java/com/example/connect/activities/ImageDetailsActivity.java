@@ -1,22 +1,33 @@
 package com.example.connect.activities;
 
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.util.Base64;
+import android.util.Log;
 import android.widget.ImageView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
 
 import com.bumptech.glide.Glide;
 import com.example.connect.R;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.ImageIndex;
+import com.example.connect.network.ImageThumbnailCache;
 import com.google.android.material.appbar.MaterialToolbar;
-
-import java.time.Instant;
+import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Activity for displaying a full-screen image.
  *
- * <p>This activity supports displaying images from two sources:
+ * <p>The admin gallery opens it with only an {@link #EXTRA_IMAGE_ID}: the image's
+ * {@code images} entry is read, its cached thumbnail is shown straight away, and the
+ * full image is then loaded from the document that holds it. Keeping image data out of
+ * the intent avoids {@code TransactionTooLargeException} on large images.
+ *
+ * <p>It also still accepts the image itself, from two sources:
  * <ul>
  *   <li>URL-based images (loaded via Glide from a network URL)</li>
  *   <li>Base64-encoded images (decoded and loaded via Glide)</li>
@@ -27,13 +38,21 @@ import java.time.Instant;
  */
 public class ImageDetailsActivity extends AppCompatActivity {
 
+    /** Id of the image's {@code images} entry. */
+    public static final String EXTRA_IMAGE_ID = "image_id";
+
+    private static final String TAG = "ImageDetails";
+
+    private MaterialToolbar toolbar;
+    private ImageView ivFullImage;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_image_details);
 
-        MaterialToolbar toolbar = findViewById(R.id.toolbar);
-        ImageView ivFullImage = findViewById(R.id.iv_full_image);
+        toolbar = findViewById(R.id.toolbar);
+        ivFullImage = findViewById(R.id.iv_full_image);
 
         if (toolbar != null) {
             String title = getIntent().getStringExtra("image_title");
@@ -43,13 +62,69 @@ public class ImageDetailsActivity extends AppCompatActivity {
             toolbar.setNavigationOnClickListener(v -> finish());
         }
 
-        String imageUrl = getIntent().getStringExtra("image_url");
-        String imageBase64 = getIntent().getStringExtra("image_base64");
+        String imageId = getIntent().getStringExtra(EXTRA_IMAGE_ID);
+        if (imageId != null && !imageId.isEmpty()) {
+            loadIndexedImage(imageId);
+            return;
+        }
+
+        showImage(getIntent().getStringExtra("image_url"), getIntent().getStringExtra("image_base64"));
+    }
 
+    /**
+     * Shows the thumbnail if it is cached, then reads the image's entry and the full image
+     * from its source document.
+     *
+     * @param imageId Id of the image's {@code images} entry
+     */
+    private void loadIndexedImage(String imageId) {
+        Bitmap thumbnail = ImageThumbnailCache.getInstance().getCached(imageId);
+        if (thumbnail != null) {
+            ivFullImage.setImageBitmap(thumbnail);
+        }
+
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        FirestoreMetrics.read("ImageDetailsActivity.loadIndexedImage", db.collection(ImageIndex.COLLECTION).document(imageId)
+                .get())
+                .addOnSuccessListener(entry -> {
+                    if (!entry.exists()) {
+                        Toast.makeText(this, "Image not found", Toast.LENGTH_SHORT).show();
+                        finish();
+                        return;
+                    }
+                    String title = entry.getString(ImageIndex.FIELD_DISPLAY_NAME);
+                    if (toolbar != null) {
+                        toolbar.setTitle(title != null && !title.isEmpty()
+                                ? title : entry.getString(ImageIndex.FIELD_TYPE));
+                    }
+
+                    String url = entry.getString(ImageIndex.FIELD_URL);
+                    String sourcePath = entry.getString(ImageIndex.FIELD_SOURCE_PATH);
+                    String sourceField = entry.getString(ImageIndex.FIELD_SOURCE_FIELD);
+                    if (url != null || sourcePath == null || sourceField == null) {
+                        showImage(url, null);
+                        return;
+                    }
+                    db.document(sourcePath).get()
+                            .addOnSuccessListener(source -> showImage(null, source.getString(sourceField)))
+                            .addOnFailureListener(this::onLoadFailed);
+                })
+                .addOnFailureListener(this::onLoadFailed);
+    }
+
+    private void onLoadFailed(Exception e) {
+        Log.e(TAG, "Error loading image", e);
+        Toast.makeText(this, "Error loading image", Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * Shows an image from a URL or a Base64 string, whichever is present.
+     */
+    private void showImage(String imageUrl, String imageBase64) {
         if (imageUrl != null && !imageUrl.isEmpty()) {
             Glide.with(this)
                     .load(imageUrl)
-                    .placeholder(android.R.drawable.ic_menu_gallery)
+                    .placeholder(placeholder())
                     .error(android.R.drawable.stat_notify_error)
                     .into(ivFullImage);
         } else if (imageBase64 != null && !imageBase64.isEmpty()) {
@@ -57,7 +132,7 @@ public class ImageDetailsActivity extends AppCompatActivity {
                 byte[] decodedString = Base64.decode(imageBase64, Base64.DEFAULT);
                 Glide.with(this)
                         .load(decodedString)
-                        .placeholder(android.R.drawable.ic_menu_gallery)
+                        .placeholder(placeholder())
                         .error(android.R.drawable.stat_notify_error)
                         .into(ivFullImage);
             } catch (Exception e) {
@@ -68,4 +143,12 @@ public class ImageDetailsActivity extends AppCompatActivity {
             finish();
         }
     }
+
+    /**
+     * @return the thumbnail already on screen, if any, so it stays up while the full image loads.
+     */
+    private Drawable placeholder() {
+        Drawable shown = ivFullImage.getDrawable();
+        return shown != null ? shown : ContextCompat.getDrawable(this, android.R.drawable.ic_menu_gallery);
+    }
 }
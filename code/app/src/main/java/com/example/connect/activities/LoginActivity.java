@@ -15,10 +15,10 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.connect.R;
+import com.example.connect.network.CurrentUserRepository;
 import com.example.connect.utils.UserActivityTracker;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Activity responsible for handling user authentication and login functionality.
@@ -43,7 +43,6 @@ public class LoginActivity extends AppCompatActivity {
 
     // Firebase
     private FirebaseAuth mAuth;
-    private FirebaseFirestore db;
 
     // SharedPreferences for Remember Me
     private SharedPreferences sharedPreferences;
@@ -62,9 +61,8 @@ public class LoginActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.login_activity); // Load login screen
 
-        // Initialize Firebase Auth and Firestore
+        // Initialize Firebase Auth
         mAuth = FirebaseAuth.getInstance();
-        db = FirebaseFirestore.getInstance();
 
         // Initialize SharedPreferences
         sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
@@ -164,55 +162,62 @@ public class LoginActivity extends AppCompatActivity {
      * @param user The authenticated FirebaseUser
      */
     private void checkUserStatus(FirebaseUser user) {
-        // Query Firestore for user document
-        db.collection("accounts").document(user.getUid())
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        // Check if account is disabled
-                        Boolean isDisabled = documentSnapshot.getBoolean("disabled");
-                        if (isDisabled != null && isDisabled) {
-                            // Account is disabled, sign out and prevent login
-                            Log.d("LoginActivity", "Disabled account detected! UID: " + user.getUid());
-                            mAuth.signOut();
-                            resetButton();
-                            Toast.makeText(LoginActivity.this,
-                                    "This account has been disabled by an administrator.",
-                                    Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        // Check if admin field exists and is true
-                        Boolean isAdmin = documentSnapshot.getBoolean("admin");
-
-                        if (isAdmin != null && isAdmin) {
-                            // User is admin, navigate to admin activity
-                            Log.d("LoginActivity", "Admin user detected! UID: " );
-                            proceedWithAdminLogin();
-                        } else {
-                            // Regular user, proceed with normal login
-                            Log.d("LoginActivity", "Regular user login! UID: ");
-                            proceedWithRegularLogin();
-                        }
-                    } else {
-                        // User document doesn't exist, block login
-                        Log.e("LoginActivity", "User document not found in Firestore");
-                        mAuth.signOut();
+        // Loading through the shared repository leaves the profile in memory for the next screens
+        CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                if (profile.exists()) {
+                    // Check if account is disabled
+                    if (profile.isDisabled()) {
+                        // Account is disabled, sign out and prevent login
+                        Log.d("LoginActivity", "Disabled account detected! UID: " + user.getUid());
+                        signOut();
                         resetButton();
                         Toast.makeText(LoginActivity.this,
-                                "Please contact support or create a new account.",
+                                "This account has been disabled by an administrator.",
                                 Toast.LENGTH_LONG).show();
+                        return;
                     }
-                })
-                .addOnFailureListener(e -> {
-                    // Failed to retrieve user document, proceed with regular login
-                    Log.e("LoginActivity", "Failure to retrieve document");
-                    mAuth.signOut();
+
+                    if (profile.isAdmin()) {
+                        // User is admin, navigate to admin activity
+                        Log.d("LoginActivity", "Admin user detected! UID: " );
+                        proceedWithAdminLogin();
+                    } else {
+                        // Regular user, proceed with normal login
+                        Log.d("LoginActivity", "Regular user login! UID: ");
+                        proceedWithRegularLogin();
+                    }
+                } else {
+                    // User document doesn't exist, block login
+                    Log.e("LoginActivity", "User document not found in Firestore");
+                    signOut();
                     resetButton();
                     Toast.makeText(LoginActivity.this,
-                            "Wait, check details and try again OR Contact technical support.",
+                            "Please contact support or create a new account.",
                             Toast.LENGTH_LONG).show();
-                });
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // Failed to retrieve user document, block login
+                Log.e("LoginActivity", "Failure to retrieve document");
+                signOut();
+                resetButton();
+                Toast.makeText(LoginActivity.this,
+                        "Wait, check details and try again OR Contact technical support.",
+                        Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /**
+     * Signs the user out and drops their cached profile.
+     */
+    private void signOut() {
+        CurrentUserRepository.getInstance().clear();
+        mAuth.signOut();
     }
 
     /**
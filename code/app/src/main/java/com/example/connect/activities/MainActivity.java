@@ -8,6 +8,7 @@ import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Trace;
 import com.example.connect.network.NotificationListenerService;
 import android.util.Log;
 import android.widget.Button;
@@ -18,10 +19,11 @@ import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
 import com.example.connect.R;
+import com.example.connect.network.CurrentUserRepository;
+import com.example.connect.utils.StartupTasks;
 import com.example.connect.utils.UserActivityTracker;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
  * Main launcher activity for the app.
@@ -42,7 +44,6 @@ public class MainActivity extends AppCompatActivity {
 
     // Firebase
     private FirebaseAuth mAuth;
-    private FirebaseFirestore db;
 
     // Auto logging requirement
     private SharedPreferences sharedPreferences;
@@ -50,29 +51,53 @@ public class MainActivity extends AppCompatActivity {
     private static final String KEY_REMEMBER_ME = "rememberMe";
     static final int NOTIFICATION_PERMISSION_CODE = 123;
 
+    private boolean notificationsStarted = false;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
+        Trace.beginSection("MainActivity.onCreate");
+        try {
+            super.onCreate(savedInstanceState);
 
-        // Initialize Firebase Authentication and Firestore
-        mAuth = FirebaseAuth.getInstance();
-        db = FirebaseFirestore.getInstance();
+            // Initialize Firebase Authentication
+            mAuth = FirebaseAuth.getInstance();
 
-        // Initialize SharedPreferences
-        sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+            // Initialize SharedPreferences
+            sharedPreferences = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
 
-        // Check for remember user to auto-login
-        checkAutoLogin();
+            // Check for remember user to auto-login
+            checkAutoLogin();
 
+            // Request notification permission for Android 13+
+            requestNotificationPermission();
 
-        // start the notification listener
-        startNotificationListener();
+            // Channels and the listener service aren't needed for the first frame
+            StartupTasks.afterFirstFrame(this, this::startNotifications);
+        } finally {
+            Trace.endSection();
+        }
+    }
 
-        // Request notification permission for Android 13+
-        requestNotificationPermission();
+    /**
+     * Creates the notification channels, then starts the notification listener service,
+     * whose foreground notification needs the service channel. Runs once.
+     */
+    private void startNotifications() {
+        if (notificationsStarted) {
+            return;
+        }
+        notificationsStarted = true;
+
+        Trace.beginSection("MainActivity.startNotifications");
+        try {
+            // Create notification channels
+            createNotificationChannels();
 
-        // Create notification channels
-        createNotificationChannels();
+            // start the notification listener
+            startNotificationListener();
+        } finally {
+            Trace.endSection();
+        }
     }
 
     /**
@@ -115,52 +140,16 @@ public class MainActivity extends AppCompatActivity {
      * @param user The authenticated FirebaseUser
      */
     private void checkUserStatus(FirebaseUser user) {
-        // Query Firestore for user document
-        db.collection("accounts").document(user.getUid())
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        // Check if account is disabled
-                        Boolean isDisabled = documentSnapshot.getBoolean("disabled");
-                        if (isDisabled != null && isDisabled) {
-                            // Account is disabled, sign out and show main screen
-                            Log.d("MainActivity", "Disabled account detected! UID: " + user.getUid());
-                            mAuth.signOut();
-
-                            // Clear Remember Me preference
-                            SharedPreferences.Editor editor = sharedPreferences.edit();
-                            editor.putBoolean(KEY_REMEMBER_ME, false);
-                            editor.apply();
-
-                            // Show main screen
-                            setContentView(R.layout.open_screen);
-                            setupMainActivityUI();
-
-                            Toast.makeText(MainActivity.this,
-                                    "Your account has been disabled by an administrator.",
-                                    Toast.LENGTH_LONG).show();
-                            return;
-                        }
-
-                        // Check if admin field exists and is true
-                        Boolean isAdmin = documentSnapshot.getBoolean("admin");
-
-                        if (isAdmin != null && isAdmin) {
-                            // User is admin, navigate to admin activity
-                            Log.d("MainActivity", "Admin user detected! UID: " + user.getUid());
-                            // Mark user as active
-                            UserActivityTracker.markUserActive();
-                            navigateToAdminDashboard();
-                        } else {
-                            // Regular user, proceed with normal login
-                            Log.d("MainActivity", "Regular user login! UID: " + user.getUid());
-                            // Mark user as active
-                            UserActivityTracker.markUserActive();
-                            navigateToEventList();
-                        }
-                    } else {
-                        // User document doesn't exist, show main screen
-                        Log.e("MainActivity", "User document not found in Firestore");
+        // Served from the shared profile listener, which later screens reuse
+        CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                if (profile.exists()) {
+                    // Check if account is disabled
+                    if (profile.isDisabled()) {
+                        // Account is disabled, sign out and show main screen
+                        Log.d("MainActivity", "Disabled account detected! UID: " + user.getUid());
+                        CurrentUserRepository.getInstance().clear();
                         mAuth.signOut();
 
                         // Clear Remember Me preference
@@ -168,20 +157,57 @@ public class MainActivity extends AppCompatActivity {
                         editor.putBoolean(KEY_REMEMBER_ME, false);
                         editor.apply();
 
+                        // Show main screen
                         setContentView(R.layout.open_screen);
                         setupMainActivityUI();
 
                         Toast.makeText(MainActivity.this,
-                                "Account not found. Please log in again.",
-                                Toast.LENGTH_SHORT).show();
+                                "Your account has been disabled by an administrator.",
+                                Toast.LENGTH_LONG).show();
+                        return;
                     }
-                })
-                .addOnFailureListener(e -> {
-                    // Failed to retrieve user document, show main screen
-                    Log.e("MainActivity", "Failure to retrieve document: " + e.getMessage());
+
+                    if (profile.isAdmin()) {
+                        // User is admin, navigate to admin activity
+                        Log.d("MainActivity", "Admin user detected! UID: " + user.getUid());
+                        // Mark user as active
+                        UserActivityTracker.markUserActive();
+                        navigateToAdminDashboard();
+                    } else {
+                        // Regular user, proceed with normal login
+                        Log.d("MainActivity", "Regular user login! UID: " + user.getUid());
+                        // Mark user as active
+                        UserActivityTracker.markUserActive();
+                        navigateToEventList();
+                    }
+                } else {
+                    // User document doesn't exist, show main screen
+                    Log.e("MainActivity", "User document not found in Firestore");
+                    CurrentUserRepository.getInstance().clear();
+                    mAuth.signOut();
+
+                    // Clear Remember Me preference
+                    SharedPreferences.Editor editor = sharedPreferences.edit();
+                    editor.putBoolean(KEY_REMEMBER_ME, false);
+                    editor.apply();
+
                     setContentView(R.layout.open_screen);
                     setupMainActivityUI();
-                });
+
+                    Toast.makeText(MainActivity.this,
+                            "Account not found. Please log in again.",
+                            Toast.LENGTH_SHORT).show();
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                // Failed to retrieve user document, show main screen
+                Log.e("MainActivity", "Failure to retrieve document: " + e.getMessage());
+                setContentView(R.layout.open_screen);
+                setupMainActivityUI();
+            }
+        });
     }
 
     /**
@@ -222,6 +248,8 @@ public class MainActivity extends AppCompatActivity {
             startActivity(intent);
         });
 
+        // Startup benchmarks measure time to full display up to here
+        reportFullyDrawn();
     }
 
 
@@ -329,6 +357,8 @@ public class MainActivity extends AppCompatActivity {
      */
     @Override
     protected void onDestroy() {
+        // Auto-login can route away before anything is drawn
+        startNotifications();
         super.onDestroy();
         // Note: We don't stop the service here because we want it to keep running
         // to receive notifications even when the activity is closed
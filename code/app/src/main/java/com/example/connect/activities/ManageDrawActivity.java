@@ -16,20 +16,32 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
+import com.example.connect.adapters.PagingScrollListener;
+import com.example.connect.data.ChunkedBatch;
 import com.example.connect.adapters.WaitingListAdapter;
 import com.example.connect.models.Event;
 import com.example.connect.models.User;
 import com.example.connect.models.WaitingListEntry;
+import com.example.connect.network.FirestoreBatches;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.QueryPager;
+import com.example.connect.network.UserProfileLoader;
+import com.example.connect.utils.EntrantCounters;
 import com.example.connect.utils.LotteryManager;
+import com.example.connect.utils.MyEventsIndex;
 import com.example.connect.utils.NotificationHelper; // 🔹 NEW IMPORT
+import com.example.connect.utils.WaitingListService;
 import com.google.android.material.button.MaterialButton; // 🔹 NEW IMPORT
-import com.example.connect.utils.LotteryScheduler;
+import com.example.connect.workers.BackgroundJobs;
+import com.example.connect.workers.LotteryDrawWorker;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.WriteBatch;
 
@@ -56,6 +68,10 @@ public class ManageDrawActivity extends AppCompatActivity {
 
     private static final String TAG = "ManageDrawActivity";
 
+    // Entrants fetched per page for each status tab
+    private static final int PAGE_SIZE = 25;
+    private static final String[] STATUSES = {"waiting", "selected", "enrolled", "canceled"};
+
     // UI Components - Top Bar
     private ImageButton btnBack;
     private TextView tvTitle;
@@ -100,10 +116,18 @@ public class ManageDrawActivity extends AppCompatActivity {
     private String eventId;
     private Event currentEvent;
     private WaitingListAdapter adapter;
+    // Entries loaded so far across all tabs (only the pages that have been viewed)
     List<WaitingListEntry> allEntries = new ArrayList<>();
     List<WaitingListEntry> filteredEntries = new ArrayList<>();
     String currentFilter = "waiting";
 
+    // One pager per status tab, created the first time that tab is opened
+    private final Map<String, QueryPager> pagers = new HashMap<>();
+    // Totals per status from the entrant counters; missing until they have been read
+    private final Map<String, Long> statusCounts = new HashMap<>();
+    // Bumped on every reload so late results from an older load are ignored
+    private int loadGeneration = 0;
+
     // Firebase
     private FirebaseFirestore db;
     private FirebaseAuth auth;
@@ -253,11 +277,29 @@ public class ManageDrawActivity extends AppCompatActivity {
             Toast.makeText(this, "Running lottery for " + currentEvent.getName() + "...",
                     Toast.LENGTH_SHORT).show();
 
-            LotteryScheduler scheduler = new LotteryScheduler();
-            scheduler.runLotteryManually(eventId, new LotteryScheduler.LotteryCallback() {
+            if (isTest) {
+                btnManualLottery.setEnabled(true);
+                return;
+            }
+
+            // Runs as a background job so the draw finishes even if this screen is closed
+            String jobId = LotteryDrawWorker.enqueue(this, eventId);
+            if (jobId == null) {
+                Toast.makeText(this, "❌ Manual lottery failed: could not be started",
+                        Toast.LENGTH_LONG).show();
+                btnManualLottery.setEnabled(true);
+                return;
+            }
+
+            BackgroundJobs.observe(this, this, jobId, new BackgroundJobs.JobCallback() {
                 @Override
-                public void onSuccess() {
-                    runOnUiThread(() -> {
+                public void onProgress(BackgroundJobs.JobStatus status) {
+                    // The draw is a single step; nothing to show until it finishes
+                }
+
+                @Override
+                public void onFinished(BackgroundJobs.JobStatus status) {
+                    if (status.isSucceeded()) {
                         Log.d(TAG, "⚠️ Manual lottery triggered for event: " + eventId);
                         Toast.makeText(ManageDrawActivity.this,
                                 "✅ Manual lottery completed successfully!",
@@ -266,20 +308,12 @@ public class ManageDrawActivity extends AppCompatActivity {
                         // Refresh the page data
                         loadEventData(); // Refresh event info (status, draw date)
                         loadWaitingListEntries(); // Refresh entrants list (counts, tabs)
-
-                        btnManualLottery.setEnabled(true); // Re-enable button
-                    });
-                }
-
-                @Override
-                public void onFailure(String error) {
-                    runOnUiThread(() -> {
+                    } else {
                         Toast.makeText(ManageDrawActivity.this,
-                                "❌ Manual lottery failed: " + error,
+                                "❌ Manual lottery failed: " + status.getMessage(),
                                 Toast.LENGTH_LONG).show();
-
-                        btnManualLottery.setEnabled(true); // Re-enable button
-                    });
+                    }
+                    btnManualLottery.setEnabled(true); // Re-enable button
                 }
             });
         });
@@ -299,12 +333,12 @@ public class ManageDrawActivity extends AppCompatActivity {
             Timestamp cutoffTimestamp = new Timestamp(new Date(cutoffMillis));
 
             long finalDurationHours = durationHours;
-            db.collection("waiting_lists")
+            FirestoreMetrics.read("ManageDrawActivity.expiredSelections", db.collection("waiting_lists")
                     .document(eventId)
                     .collection("entrants")
                     .whereEqualTo("status", "selected")
                     .whereLessThan("selected_date", cutoffTimestamp)
-                    .get()
+                    .get())
                     .addOnSuccessListener(query -> {
 
                         if (query.isEmpty()) {
@@ -313,41 +347,59 @@ public class ManageDrawActivity extends AppCompatActivity {
                             return;
                         }
 
-                        WriteBatch batch = db.batch();
+                        // Two writes per entrant, split to stay under the batch write limit
+                        ChunkedBatch<WriteBatch> batch = FirestoreBatches.chunked(db,
+                                "ManageDrawActivity.cancelUnresponsive");
 
                         for (DocumentSnapshot doc : query.getDocuments()) {
-                            batch.update(doc.getReference(), "status", "canceled");
-                            batch.update(doc.getReference(), "canceled_date", FieldValue.serverTimestamp());
+                            WriteBatch chunk = batch.reserve(2);
+                            chunk.update(doc.getReference(), "status", "canceled",
+                                    "canceled_date", FieldValue.serverTimestamp());
+                            MyEventsIndex.putStatus(chunk, db, doc.getString("user_id"), eventId, "canceled");
                         }
-
-                        batch.commit().addOnSuccessListener(aVoid -> {
-
-                            Log.d(TAG, "Canceled " + query.size() + " unresponsive entrants.");
-
-                            // Run replacement lottery
-                            String eventName = currentEvent.getName() != null
-                                    ? currentEvent.getName()
-                                    : "your event";
-                            int numCancelled = query.size();
-
-                            lotteryManager.performReplacementLottery(
-                                    eventId,
-                                    eventName,
-                                    numCancelled,
-                                    new LotteryManager.LotteryCallback() {
-                                        @Override
-                                        public void onSuccess(int selectedCount, int waitingListCount) {
-                                            Log.d(TAG, "Replacement lottery completed.");
-                                        }
-
-                                        @Override
-                                        public void onFailure(String error) {
-                                            Log.e(TAG, "Replacement lottery failed: " + error);
-                                        }
+                        EntrantCounters.recordTransition(batch.reserve(1), db, eventId,
+                                "selected", "canceled", query.size());
+
+                        batch.commit()
+                                .handle((ignored, e) -> {
+                                    if (e != null) {
+                                        Log.e(TAG, "Failed to cancel unresponsive entrants", e);
+                                        Toast.makeText(this, "Failed to cancel entrants: " + e.getMessage(),
+                                                Toast.LENGTH_LONG).show();
+                                        return null;
                                     }
-                            );
 
-                        });
+                                    Log.d(TAG, "Canceled " + query.size() + " unresponsive entrants.");
+
+                                    // Run replacement lottery
+                                    String eventName = currentEvent.getName() != null
+                                            ? currentEvent.getName()
+                                            : "your event";
+                                    int numCancelled = query.size();
+
+                                    lotteryManager.performReplacementLottery(
+                                            eventId,
+                                            eventName,
+                                            numCancelled,
+                                            new LotteryManager.LotteryCallback() {
+                                                @Override
+                                                public void onSuccess(int selectedCount, int waitingListCount) {
+                                                    Log.d(TAG, "Replacement lottery completed.");
+                                                }
+
+                                                @Override
+                                                public void onFailure(String error) {
+                                                    Log.e(TAG, "Replacement lottery failed: " + error);
+                                                }
+                                            }
+                                    );
+
+                                    return null;
+                                })
+                                .exceptionally(e -> {
+                                    Log.e(TAG, "Error after canceling unresponsive entrants", e);
+                                    return null;
+                                });
                     })
                     .addOnFailureListener(e -> Log.e(TAG, "Failed to fetch entrants", e));
         });
@@ -398,14 +450,10 @@ public class ManageDrawActivity extends AppCompatActivity {
         }
 
         Map<String, Object> updates = new HashMap<>();
-        updates.put("status", "canceled");
         updates.put("canceled_date", Timestamp.now());
 
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .document(entry.getDocumentId())
-                .update(updates)
+        // Entrant, counters and My Events index change in one transaction
+        new WaitingListService(db).updateStatus(eventId, entry.getDocumentId(), "canceled", updates)
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(this, entry.getUser().getName() + " canceled", Toast.LENGTH_SHORT).show();
                     loadWaitingListEntries(); // refresh the list and counts
@@ -425,10 +473,10 @@ public class ManageDrawActivity extends AppCompatActivity {
     }
 
     public void getDeclinedCount(String eventId, OnDeclinedCountReady callback) {
-        db.collection("events")
+        FirestoreMetrics.read("ManageDrawActivity.getDeclinedCount", db.collection("events")
                 .document(eventId)
                 .collection("declined")
-                .get()
+                .get())
                 .addOnSuccessListener(snapshot -> {
                     int declinedCount = snapshot.size();
                     callback.onReady(declinedCount); // RETURNS int
@@ -465,15 +513,19 @@ public class ManageDrawActivity extends AppCompatActivity {
         // Setup adapter
         adapter = new WaitingListAdapter();
         recyclerViewEntrants.setAdapter(adapter);
+
+        // Fetch the next page of the current tab as the organizer nears the end of the list
+        recyclerViewEntrants.addOnScrollListener(
+                new PagingScrollListener(layoutManager, () -> loadNextPage(currentFilter)));
     }
 
     /**
      * Load event data from Firestore
      */
     private void loadEventData() {
-        db.collection("events")
+        FirestoreMetrics.read("ManageDrawActivity.loadEventData", db.collection("events")
                 .document(eventId)
-                .get()
+                .get())
                 .addOnSuccessListener(documentSnapshot -> {
                     if (documentSnapshot.exists()) {
                         currentEvent = documentSnapshot.toObject(Event.class);
@@ -560,125 +612,144 @@ public class ManageDrawActivity extends AppCompatActivity {
     }
 
     /**
-     * Load waiting list entries from Firestore and fetch associated user data
+     * (Re)load the entrant list: fetch the total for each status and the first page of the
+     * current tab. Other tabs fetch their first page when they are opened.
      */
     private void loadWaitingListEntries() {
-        db.collection("waiting_lists")
+        loadGeneration++;
+        for (QueryPager pager : pagers.values()) {
+            pager.reset();
+        }
+        pagers.clear();
+        allEntries.clear();
+        statusCounts.clear();
+
+        loadStatusCounts();
+        loadNextPage(currentFilter);
+    }
+
+    private CollectionReference entrantsRef() {
+        return db.collection("waiting_lists")
                 .document(eventId)
-                .collection("entrants")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allEntries.clear();
-
-                    if (queryDocumentSnapshots.isEmpty()) {
-                        Log.d(TAG, "No entrants found for event: " + eventId);
-                        tvWaiting.setText("👥 Waiting: 0");
-                        adapter.submitList(new ArrayList<>());
-                        Toast.makeText(this, "No entrants found for this event",
-                                Toast.LENGTH_SHORT).show();
-                        return;
-                    }
+                .collection("entrants");
+    }
 
-                    int totalEntries = queryDocumentSnapshots.size();
-                    int[] loadedCount = {0}; // Counter for completed user fetches
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        WaitingListEntry entry = document.toObject(WaitingListEntry.class);
-
-                        // Fetch user data for this entry
-                        String userId = entry.getUserId();
-                        if (userId != null && !userId.isEmpty()) {
-                            db.collection("accounts")
-                                    .document(userId)
-                                    .get()
-                                    .addOnSuccessListener(userDoc -> {
-                                        if (userDoc.exists()) {
-                                            User user = userDoc.toObject(User.class);
-                                            entry.setUser(user);
-                                        } else {
-                                            // Create placeholder user if not found
-                                            User placeholderUser = new User();
-                                            placeholderUser.setUserId(userId);
-                                            placeholderUser.setName("Unknown User");
-                                            entry.setUser(placeholderUser);
-                                        }
-
-                                        allEntries.add(entry);
-                                        loadedCount[0]++;
-
-                                        // When all users are loaded, update UI
-                                        if (loadedCount[0] == totalEntries) {
-                                            onAllEntriesLoaded();
-                                        }
-                                    })
-                                    .addOnFailureListener(e -> {
-                                        Log.e(TAG, "Error loading user: " + userId, e);
-
-                                        // Create placeholder user on error
-                                        User placeholderUser = new User();
-                                        placeholderUser.setUserId(userId);
-                                        placeholderUser.setName("Unknown User");
-                                        entry.setUser(placeholderUser);
-
-                                        allEntries.add(entry);
-                                        loadedCount[0]++;
-
-                                        // When all users are loaded, update UI
-                                        if (loadedCount[0] == totalEntries) {
-                                            onAllEntriesLoaded();
-                                        }
-                                    });
-                        } else {
-                            // Handle entry with no userId
-                            User placeholderUser = new User();
-                            placeholderUser.setName("Unknown User");
-                            entry.setUser(placeholderUser);
-                            allEntries.add(entry);
-                            loadedCount[0]++;
-
-                            if (loadedCount[0] == totalEntries) {
-                                onAllEntriesLoaded();
-                            }
-                        }
+    /**
+     * Read the number of entrants in each status from the event's counter shards
+     * (see {@link EntrantCounters}) without downloading the entrants.
+     */
+    private void loadStatusCounts() {
+        int generation = loadGeneration;
+        EntrantCounters.load(db, eventId, new EntrantCounters.CountsCallback() {
+            @Override
+            public void onSuccess(EntrantCounters.Counts counts) {
+                if (generation != loadGeneration) return;
+                for (String status : STATUSES) {
+                    statusCounts.put(status, counts.get(status));
+                }
+                updateTabCounts();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.w(TAG, "Could not load entrant counts", e);
+            }
+        });
+    }
+
+    /**
+     * Load the next page of entrants for a status tab. Entrants are ordered by document id
+     * (the user id), which every entrant has, so the cursor is stable.
+     */
+    private void loadNextPage(String status) {
+        QueryPager pager = pagers.get(status);
+        if (pager == null) {
+            pager = new QueryPager(entrantsRef()
+                    .whereEqualTo("status", status)
+                    .orderBy(FieldPath.documentId()), PAGE_SIZE);
+            pagers.put(status, pager);
+        }
+
+        int generation = loadGeneration;
+        pager.loadNextPage(new QueryPager.PageCallback() {
+            @Override
+            public void onPage(List<DocumentSnapshot> documents, boolean hasMore) {
+                List<WaitingListEntry> page = new ArrayList<>();
+                for (DocumentSnapshot document : documents) {
+                    WaitingListEntry entry = document.toObject(WaitingListEntry.class);
+                    if (entry != null) {
+                        page.add(entry);
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading waiting list entries", e);
-                    Toast.makeText(this, "Error loading entrants: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
-                });
+                }
+                Log.d(TAG, "Loaded page of " + page.size() + " " + status + " entrants, more: " + hasMore);
+                attachUsersAndAppend(page, generation);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e(TAG, "Error loading " + status + " entrants", e);
+                Toast.makeText(ManageDrawActivity.this, "Error loading entrants: " + e.getMessage(),
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     /**
-     * Called when all waiting list entries and user data have been loaded
+     * Attach user profiles to a page of entries (one batched lookup, see
+     * {@link UserProfileLoader}) and add the page to the list.
      */
-    void onAllEntriesLoaded() {
-        Log.d(TAG, "Loaded " + allEntries.size() + " entries with user data for event: " + eventId);
+    private void attachUsersAndAppend(List<WaitingListEntry> page, int generation) {
+        List<String> userIds = new ArrayList<>();
+        for (WaitingListEntry entry : page) {
+            userIds.add(entry.getUserId());
+        }
 
-        int waitingCount = 0;
-        int selectedCount = 0;
-        int enrolledCount = 0;
-        int canceledCount = 0;
+        UserProfileLoader.getInstance().load(userIds, new UserProfileLoader.ProfileCallback() {
+            @Override
+            public void onChunkLoaded(Map<String, User> profiles) {
+                // A page fits in one lookup chunk; append it whole to keep its order
+            }
 
-        for (WaitingListEntry entry : allEntries) {
-            String status = entry.getStatus();
-            if (status != null) {
-                switch (status.toLowerCase()) {
-                    case "waiting":
-                        waitingCount++;
-                        break;
-                    case "selected":
-                        selectedCount++;
-                        break;
-                    case "enrolled":
-                        enrolledCount++;
-                        break;
-                    case "canceled":
-                        canceledCount++;
-                        break;
+            @Override
+            public void onComplete(Map<String, User> profiles) {
+                if (generation != loadGeneration) return;
+
+                for (WaitingListEntry entry : page) {
+                    User user = entry.getUserId() != null ? profiles.get(entry.getUserId()) : null;
+                    entry.setUser(user != null ? user : createPlaceholderUser(entry.getUserId()));
                 }
+                allEntries.addAll(page);
+                onAllEntriesLoaded();
             }
-        }
+        });
+    }
+
+    private User createPlaceholderUser(String userId) {
+        User placeholderUser = new User();
+        placeholderUser.setUserId(userId);
+        placeholderUser.setName("Unknown User");
+        return placeholderUser;
+    }
+
+    /**
+     * Called whenever entries (with user data) have been added to the list
+     */
+    void onAllEntriesLoaded() {
+        Log.d(TAG, "Loaded " + allEntries.size() + " entries with user data for event: " + eventId);
+
+        updateTabCounts();
+        filterEntries(currentFilter);
+    }
+
+    /**
+     * Show the per-status totals on the tabs. Server counts are used when available;
+     * otherwise the entries loaded so far are counted.
+     */
+    private void updateTabCounts() {
+        long waitingCount = countFor("waiting");
+        long selectedCount = countFor("selected");
+        long enrolledCount = countFor("enrolled");
+        long canceledCount = countFor("canceled");
 
         tvWaiting.setText("👥 Waiting: " + waitingCount);
 
@@ -691,8 +762,53 @@ public class ManageDrawActivity extends AppCompatActivity {
                 ", Selected: " + selectedCount +
                 ", Enrolled: " + enrolledCount +
                 ", Canceled: " + canceledCount);
+    }
 
-        filterEntries(currentFilter);
+    private long countFor(String status) {
+        Long serverCount = statusCounts.get(status);
+        if (serverCount != null) {
+            return serverCount;
+        }
+
+        long loaded = 0;
+        for (WaitingListEntry entry : allEntries) {
+            if (status.equalsIgnoreCase(entry.getStatus())) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Callback for {@link #loadUserIdsWithStatus}.
+     */
+    interface OnUserIdsReady {
+        void onReady(List<String> userIds);
+    }
+
+    /**
+     * Fetch the user ids of every entrant with the given status. Bulk actions need the whole
+     * set, not just the pages loaded into the list.
+     */
+    private void loadUserIdsWithStatus(String status, OnUserIdsReady callback) {
+        entrantsRef()
+                .whereEqualTo("status", status)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<String> userIds = new ArrayList<>();
+                    for (DocumentSnapshot doc : snapshot) {
+                        String uid = doc.getString("user_id");
+                        if (uid != null && !uid.isEmpty()) {
+                            userIds.add(uid);
+                        }
+                    }
+                    callback.onReady(userIds);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error loading " + status + " entrants", e);
+                    Toast.makeText(this, "Error loading entrants: " + e.getMessage(),
+                            Toast.LENGTH_SHORT).show();
+                });
     }
 
     /**
@@ -717,6 +833,11 @@ public class ManageDrawActivity extends AppCompatActivity {
         }
 
         filterEntries(filter);
+
+        // First visit to this tab since the last reload costs one page
+        if (!pagers.containsKey(filter)) {
+            loadNextPage(filter);
+        }
     }
 
     /**
@@ -836,19 +957,10 @@ public class ManageDrawActivity extends AppCompatActivity {
             return;
         }
 
-        List<String> selectedUserIds = new ArrayList<>();
-        for (WaitingListEntry entry : allEntries) {
-            String status = entry.getStatus();
-            String uid = entry.getUserId();   // ✅ use userId from waiting list entry
-
-            if (status != null
-                    && "selected".equalsIgnoreCase(status.trim())
-                    && uid != null
-                    && !uid.isEmpty()) {
-                selectedUserIds.add(uid);
-            }
-        }
+        loadUserIdsWithStatus("selected", this::sendSelectedNotifications);
+    }
 
+    private void sendSelectedNotifications(List<String> selectedUserIds) {
         if (selectedUserIds.isEmpty()) {
             Toast.makeText(this, "No selected entrants to notify", Toast.LENGTH_SHORT).show();
             return;
@@ -895,19 +1007,10 @@ public class ManageDrawActivity extends AppCompatActivity {
             return;
         }
 
-        List<String> canceledUserIds = new ArrayList<>();
-        for (WaitingListEntry entry : allEntries) {
-            String status = entry.getStatus();
-            String uid = entry.getUserId();   // ✅ use userId from waiting list entry
-
-            if (status != null
-                    && "canceled".equalsIgnoreCase(status.trim())
-                    && uid != null
-                    && !uid.isEmpty()) {
-                canceledUserIds.add(uid);
-            }
-        }
+        loadUserIdsWithStatus("canceled", this::sendCanceledNotifications);
+    }
 
+    private void sendCanceledNotifications(List<String> canceledUserIds) {
         if (canceledUserIds.isEmpty()) {
             Toast.makeText(this, "No canceled entrants to notify", Toast.LENGTH_SHORT).show();
             return;
@@ -951,19 +1054,10 @@ public class ManageDrawActivity extends AppCompatActivity {
             return;
         }
 
-        List<String> waitingUserIds = new ArrayList<>();
-        for (WaitingListEntry entry : allEntries) {
-            String status = entry.getStatus();
-            String uid = entry.getUserId();   // ✅ use userId from waiting list entry
-
-            if (status != null
-                    && "waiting".equalsIgnoreCase(status.trim())
-                    && uid != null
-                    && !uid.isEmpty()) {
-                waitingUserIds.add(uid);
-            }
-        }
+        loadUserIdsWithStatus("waiting", this::sendWaitingNotifications);
+    }
 
+    private void sendWaitingNotifications(List<String> waitingUserIds) {
         if (waitingUserIds.isEmpty()) {
             Toast.makeText(this, "No waiting entrants to notify", Toast.LENGTH_SHORT).show();
             return;
@@ -1017,15 +1111,20 @@ public class ManageDrawActivity extends AppCompatActivity {
             return;
         }
 
-        // Collect all entries that are still "selected"
-        List<WaitingListEntry> toCancel = new ArrayList<>();
-        for (WaitingListEntry entry : allEntries) {
-            String status = entry.getStatus();
-            if (status != null && "selected".equalsIgnoreCase(status.trim())) {
-                toCancel.add(entry);
-            }
-        }
+        // Collect all entries that are still "selected" (not just the loaded page)
+        entrantsRef()
+                .whereEqualTo("status", "selected")
+                .get()
+                .addOnSuccessListener(snapshot ->
+                        cancelUnconfirmed(snapshot.toObjects(WaitingListEntry.class)))
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error loading selected entrants", e);
+                    Toast.makeText(this, "Error loading entrants: " + e.getMessage(),
+                            Toast.LENGTH_SHORT).show();
+                });
+    }
 
+    private void cancelUnconfirmed(List<WaitingListEntry> toCancel) {
         if (toCancel.isEmpty()) {
             Toast.makeText(this, "No unconfirmed (selected) entrants to cancel", Toast.LENGTH_SHORT).show();
             return;
@@ -1034,10 +1133,11 @@ public class ManageDrawActivity extends AppCompatActivity {
         // Disable button to avoid double-taps
 //        btnCancelUnconfirmed.setEnabled(false);
 
-        // Batch update in Firestore
-        com.google.firebase.firestore.WriteBatch batch = db.batch();
-        com.google.firebase.Timestamp now = com.google.firebase.Timestamp.now();
+        // Batch update in Firestore, two writes per entrant, split to stay under the write limit
+        ChunkedBatch<WriteBatch> batch = FirestoreBatches.chunked(db, "ManageDrawActivity.cancelUnconfirmed");
+        Timestamp now = Timestamp.now();
 
+        int canceled = 0;
         for (WaitingListEntry entry : toCancel) {
             String docId = entry.getDocumentId();
             if (docId == null || docId.isEmpty()) {
@@ -1049,17 +1149,25 @@ public class ManageDrawActivity extends AppCompatActivity {
             updates.put("status", "canceled");
             updates.put("canceled_date", now);
 
-            batch.update(
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .collection("entrants")
-                            .document(docId),
-                    updates
-            );
+            WriteBatch chunk = batch.reserve(2);
+            chunk.update(entrantsRef().document(docId), updates);
+            MyEventsIndex.putStatus(chunk, db, entry.getUserId(), eventId, "canceled");
+            canceled++;
         }
+        EntrantCounters.recordTransition(batch.reserve(1), db, eventId, "selected", "canceled", canceled);
 
         batch.commit()
-                .addOnSuccessListener(aVoid -> {
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error canceling unconfirmed entrants", e);
+                        runOnUiThread(() -> {
+                            Toast.makeText(ManageDrawActivity.this,
+                                    "Failed to cancel entrants: " + e.getMessage(),
+                                    Toast.LENGTH_LONG).show();
+//                            btnCancelUnconfirmed.setEnabled(true);
+                        });
+                        return null;
+                    }
                     Log.d(TAG, "✅ Canceled " + toCancel.size() + " unconfirmed entrants");
                     runOnUiThread(() -> {
                         Toast.makeText(ManageDrawActivity.this,
@@ -1069,15 +1177,11 @@ public class ManageDrawActivity extends AppCompatActivity {
                         // Reload list so tabs + counts update
                         loadWaitingListEntries();
                     });
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error canceling unconfirmed entrants", e);
-                    runOnUiThread(() -> {
-                        Toast.makeText(ManageDrawActivity.this,
-                                "Failed to cancel entrants: " + e.getMessage(),
-                                Toast.LENGTH_LONG).show();
-//                        btnCancelUnconfirmed.setEnabled(true);
-                    });
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error after canceling unconfirmed entrants", e);
+                    return null;
                 });
     }
 
@@ -15,14 +15,19 @@ import androidx.core.content.ContextCompat;
 
 import com.example.connect.R;
 import com.example.connect.adapters.MyEventsAdapter;
+import com.example.connect.data.Accounts;
 import com.example.connect.models.Event;
 import com.example.connect.network.EventRepository;
+import com.example.connect.network.EventRepositoryProvider;
+import com.example.connect.network.FirestoreDocumentStore;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Activity displaying events the user has joined, organized into three tabs.
@@ -34,8 +39,9 @@ import java.util.List;
  *   <li><b>Confirmed Tab:</b> Events the user has accepted/enrolled in (status: confirmed, enrolled, accepted)</li>
  * </ul>
  *
- * <p>For each event, the activity checks the entrants subcollection in the waiting_lists
- * collection to determine the user's current status and sorts events into the appropriate tab.
+ * <p>The user's memberships are read from their own {@code accounts/{uid}/myevents} index,
+ * so loading costs reads proportional to the user's events rather than to every event in the
+ * system. Events are then sorted into the appropriate tab by status.
  * Each tab shows relevant actions based on the user's status (e.g., accept/decline for selected events).
  *
  * <p>The activity requires user authentication and redirects to login if no user is signed in.
@@ -65,7 +71,7 @@ public class MyEventsActivity extends AppCompatActivity {
     private List<Event> allEventsList = new ArrayList<>(); //
 
     // Firebase
-    private final EventRepository eventRepository = new EventRepository();
+    private final EventRepository eventRepository = EventRepositoryProvider.getRepository();
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
     private FirebaseAuth mAuth;
     private String currentUserId;
@@ -216,6 +222,13 @@ public class MyEventsActivity extends AppCompatActivity {
         btn.setTextColor(textColor);
     }
 
+    /**
+     * Loads the current user's memberships from their {@code accounts/{uid}/myevents} index,
+     * then fetches just those events and buckets them into tabs. Indexes that predate the
+     * current {@code myevents_version} (partial or stale ones from before every membership
+     * change kept them up to date) are first reconciled with the user's entrant documents,
+     * once per user; see {@link Accounts#loadMyEvents}.
+     */
     private void loadUserEvents() {
         selectedEventsList.clear();
         waitlistedEventsList.clear();
@@ -224,12 +237,37 @@ public class MyEventsActivity extends AppCompatActivity {
         displayList.clear();
         myEventsAdapter.notifyDataSetChanged();
 
-        eventRepository.getAllEvents(new EventRepository.EventCallback() {
+        new Accounts(new FirestoreDocumentStore(db)).loadMyEvents(currentUserId)
+                .handle((statusByEventId, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error loading my events index", e);
+                        Toast.makeText(MyEventsActivity.this, "Error loading events", Toast.LENGTH_SHORT).show();
+                        return null;
+                    }
+                    loadIndexedEvents(statusByEventId);
+                    return null;
+                })
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error showing my events", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Fetches only the events the user belongs to and sorts them into tabs.
+     *
+     * @param statusByEventId The user's status for each event they have joined
+     */
+    private void loadIndexedEvents(Map<String, String> statusByEventId) {
+        if (statusByEventId.isEmpty()) {
+            switchTab(currentTab);
+            return;
+        }
+
+        eventRepository.getEventsByIds(statusByEventId.keySet(), new EventRepository.EventCallback() {
             @Override
-            public void onSuccess(List<Event> allEvents) {
-                for (Event event : allEvents) {
-                    checkIfUserIsEntrant(event);
-                }
+            public void onSuccess(List<Event> events) {
+                sortEventsIntoLists(events, statusByEventId);
             }
 
             @Override
@@ -240,34 +278,8 @@ public class MyEventsActivity extends AppCompatActivity {
     }
 
     /**
-     * Checks if the current user is an entrant for a specific event by querying
-     * the entrants subcollection. If the user is found, retrieves their status
-     * and sorts the event into the appropriate list.
-     *
-     * @param event The event to check
-     */
-    private void checkIfUserIsEntrant(Event event) {
-        if (event.getEventId() == null || currentUserId == null) return;
-
-        db.collection("waiting_lists")
-                .document(event.getEventId())
-                .collection("entrants")
-                .document(currentUserId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        String status = documentSnapshot.getString("status");
-                        sortEventIntoLists(event, status);
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error checking entrant status for event: " + event.getName());
-                });
-    }
-
-    /**
-     * Sorts an event into the appropriate list based on the user's status.
-     * Thread-safe method that prevents duplicate entries.
+     * Sorts events into the tab lists based on the user's status, in a single pass.
+     * Events are keyed by id so duplicates are dropped without scanning the lists.
      *
      * <p>Status:
      * <ul>
@@ -276,50 +288,48 @@ public class MyEventsActivity extends AppCompatActivity {
      *   <li>"waiting", "waitlisted", "pending" → Waitlist list (still waiting)</li>
      * </ul>
      *
-     * @param event The event to sort
-     * @param status The user's status for this event
+     * @param events The user's events
+     * @param statusByEventId The user's status for each event id
      */
-    private synchronized void sortEventIntoLists(Event event, String status) {
-        String safeStatus = (status != null) ? status.toLowerCase() : "waitlisted";
-        boolean listUpdated = false;
-
-        if (safeStatus.equals("selected")) {
-            // Selected (Won lottery, pending acceptance)
-            if (!selectedEventsList.contains(event)) {
-                selectedEventsList.add(event);
-                if (currentTab == MyEventsAdapter.TAB_SELECTED) listUpdated = true;
-            }
-        } else if (safeStatus.equals("confirmed") || safeStatus.equals("enrolled") || safeStatus.equals("accepted")) {
-            // Confirmed (Accepted the lottery win)
-            if (!confirmedEventsList.contains(event)) {
-                confirmedEventsList.add(event);
-                if (currentTab == MyEventsAdapter.TAB_CONFIRMED) listUpdated = true;
-            }
-        } else if (safeStatus.equals("waiting") || safeStatus.equals("waitlisted") || safeStatus.equals("pending")) {
-            // Waitlist (Still waiting)
-            if (!waitlistedEventsList.contains(event)) {
-                waitlistedEventsList.add(event);
-                if (currentTab == MyEventsAdapter.TAB_WAITLIST) listUpdated = true;
+    private void sortEventsIntoLists(List<Event> events, Map<String, String> statusByEventId) {
+        Map<String, Event> uniqueEvents = new LinkedHashMap<>();
+        for (Event event : events) {
+            if (event.getEventId() != null) {
+                uniqueEvents.put(event.getEventId(), event);
             }
         }
-        // ALWAYS add to the "All" list
-        if (!allEventsList.contains(event)) {
-            allEventsList.add(event);
-            // If we are currently looking at the "All" tab, trigger an update
-            if (currentTab == MyEventsAdapter.TAB_MY_EVENTS) listUpdated = true;
-        }
 
-        if (listUpdated) {
-            updateVisibleList(event);
-        }
-    }
+        selectedEventsList.clear();
+        confirmedEventsList.clear();
+        waitlistedEventsList.clear();
+        allEventsList.clear();
 
-    private void updateVisibleList(Event newEvent) {
-        runOnUiThread(() -> {
-            if (!displayList.contains(newEvent)) {
-                displayList.add(newEvent);
-                myEventsAdapter.notifyDataSetChanged();
+        for (Event event : uniqueEvents.values()) {
+            String status = statusByEventId.get(event.getEventId());
+            String safeStatus = (status != null) ? status.toLowerCase() : "waitlisted";
+
+            switch (safeStatus) {
+                case "selected":
+                    selectedEventsList.add(event);
+                    break;
+                case "confirmed":
+                case "enrolled":
+                case "accepted":
+                    confirmedEventsList.add(event);
+                    break;
+                case "waiting":
+                case "waitlisted":
+                case "pending":
+                    waitlistedEventsList.add(event);
+                    break;
+                default:
+                    break;
             }
-        });
+            // ALWAYS add to the "All" list
+            allEventsList.add(event);
+        }
+
+        switchTab(currentTab);
+        myEventsAdapter.notifyDataSetChanged();
     }
 }
\ No newline at end of file
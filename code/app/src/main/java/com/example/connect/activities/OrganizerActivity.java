@@ -14,28 +14,20 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.connect.R;
 import com.example.connect.adapters.OrganizerEventAdapter;
 import com.example.connect.models.Event;
+import com.example.connect.network.EventRepository;
+import com.example.connect.network.EntrantCsvExporter;
+import com.example.connect.network.EventRepositoryProvider;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import android.os.Environment;
 
-import com.example.connect.models.User;
-import com.example.connect.models.WaitingListEntry;
-import com.example.connect.utils.CsvUtils;
-import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 
 
 /**
@@ -79,6 +71,7 @@ public class OrganizerActivity extends AppCompatActivity {
     private FirebaseFirestore db;
     private FirebaseAuth auth;
     private String currentUserId;
+    private EntrantCsvExporter csvExporter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -88,6 +81,7 @@ public class OrganizerActivity extends AppCompatActivity {
         // Initialize Firebase
         db = FirebaseFirestore.getInstance();
         auth = FirebaseAuth.getInstance();
+        csvExporter = new EntrantCsvExporter();
 
         // Get current user
         if (auth.getCurrentUser() == null) {
@@ -224,33 +218,32 @@ public class OrganizerActivity extends AppCompatActivity {
     }
 
     private void loadOrganizerEvents() {
-        db.collection("events")
-                .whereEqualTo("organizer_id", currentUserId)
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allEvents.clear();
-
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        Event event = document.toObject(Event.class);
-                        event.setEventId(document.getId());
-                        allEvents.add(event);
+        // Served from the local event cache first, then refreshed from Firestore
+        EventRepositoryProvider.getRepository().getEventsByOrganizer(currentUserId,
+                new EventRepository.EventCallback() {
+                    @Override
+                    public void onSuccess(List<Event> events) {
+                        allEvents.clear();
+                        allEvents.addAll(events);
+
+                        Log.d(TAG, "Loaded " + allEvents.size() + " events for organizer: " + currentUserId);
+
+                        // Apply current filter
+                        filterEvents(currentFilter);
+
+                        if (allEvents.isEmpty()) {
+                            Toast.makeText(OrganizerActivity.this, "No events found. Create your first event!",
+                                    Toast.LENGTH_SHORT).show();
+                        }
                     }
 
-                    Log.d(TAG, "Loaded " + allEvents.size() + " events for organizer: " + currentUserId);
-
-                    // Apply current filter
-                    filterEvents(currentFilter);
-
-                    if (allEvents.isEmpty()) {
-                        Toast.makeText(this, "No events found. Create your first event!",
+                    @Override
+                    public void onFailure(Exception e) {
+                        Log.e(TAG, "Error loading events", e);
+                        Toast.makeText(OrganizerActivity.this,
+                                "Error loading events: " + e.getMessage(),
                                 Toast.LENGTH_SHORT).show();
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading events", e);
-                    Toast.makeText(this,
-                            "Error loading events: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
                 });
     }
 
@@ -350,7 +343,9 @@ public class OrganizerActivity extends AppCompatActivity {
     }
     /**
      * US 02.06.05
-     * Export final list of ENROLLED entrants for this event as a CSV file.
+     * Lets the organizer choose what to export for an event: the final list of
+     * ENROLLED entrants, every entrant with their status, or the enrolled entrants
+     * of all their events in one file.
      */
     private void exportEnrolledEntrantsToCsv(Event event) {
         if (event == null || event.getEventId() == null || event.getEventId().isEmpty()) {
@@ -358,168 +353,99 @@ public class OrganizerActivity extends AppCompatActivity {
             return;
         }
 
-        String eventId = event.getEventId();
-        String eventName = event.getName();
-
-        Toast.makeText(this, "Preparing CSV for enrolled entrants…", Toast.LENGTH_SHORT).show();
-
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .whereEqualTo("status", "enrolled")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot.isEmpty()) {
-                        Toast.makeText(this,
-                                "No enrolled entrants for this event yet",
-                                Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-
-                    int total = querySnapshot.size();
-                    int[] loadedCount = {0};
-                    java.util.List<CsvUtils.CsvRow> rows = new java.util.ArrayList<>();
-
-                    for (DocumentSnapshot doc : querySnapshot) {
-                        WaitingListEntry entry = doc.toObject(WaitingListEntry.class);
-                        if (entry == null) {
-                            loadedCount[0]++;
-                            if (loadedCount[0] == total) {
-                                finishCsvExport(event, rows);
-                            }
-                            continue;
-                        }
-
-                        String userId = entry.getUserId();
-                        if (userId == null || userId.isEmpty()) {
-                            loadedCount[0]++;
-                            if (loadedCount[0] == total) {
-                                finishCsvExport(event, rows);
-                            }
-                            continue;
-                        }
-
-                        db.collection("accounts")
-                                .document(userId)
-                                .get()
-                                .addOnSuccessListener(userDoc -> {
-                                    User user = userDoc.toObject(User.class);
-
-                                    String name = (user != null && user.getName() != null)
-                                            ? user.getName()
-                                            : "Unknown User";
-                                    String email = (user != null && user.getEmail() != null)
-                                            ? user.getEmail()
-                                            : "";
-                                    String phone = (user != null && user.getPhone() != null)
-                                            ? user.getPhone()
-                                            : "";
-
-                                    // Prefer enrolled_date; fall back to joined_date
-                                    Timestamp ts = entry.getEnrolledDate() != null
-                                            ? entry.getEnrolledDate()
-                                            : entry.getJoinedDate();
-                                    String joinedDate = formatTimestamp(ts);
-
-                                    rows.add(new CsvUtils.CsvRow(name, email, phone, joinedDate));
-
-                                    loadedCount[0]++;
-                                    if (loadedCount[0] == total) {
-                                        finishCsvExport(event, rows);
-                                    }
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error loading user for CSV", e);
-                                    loadedCount[0]++;
-                                    if (loadedCount[0] == total) {
-                                        finishCsvExport(event, rows);
-                                    }
-                                });
+        String[] options = {
+                "Enrolled entrants",
+                "All entrants (every status)",
+                "Enrolled entrants of all my events"
+        };
+
+        new AlertDialog.Builder(this)
+                .setTitle("Export CSV")
+                .setItems(options, (dialog, which) -> {
+                    String safeName = safeFileName(event.getName());
+                    if (which == 0) {
+                        startCsvExport(Collections.singletonList(event), "enrolled",
+                                "enrolled_" + safeName + ".csv");
+                    } else if (which == 1) {
+                        startCsvExport(Collections.singletonList(event), null,
+                                "entrants_" + safeName + ".csv");
+                    } else {
+                        startCsvExport(new ArrayList<>(allEvents), "enrolled",
+                                "enrolled_all_events.csv");
                     }
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading enrolled entrants", e);
-                    Toast.makeText(this,
-                            "Error loading enrolled entrants: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
-                });
+                .setNegativeButton("Cancel", null)
+                .show();
     }
 
     /**
-     * Called when we have collected all CSV rows.
+     * Streams the entrants of the given events into a CSV file in the public
+     * Downloads folder.
+     *
+     * @param status entrant status to export, or null for all statuses
      */
-    private void finishCsvExport(Event event, java.util.List<CsvUtils.CsvRow> rows) {
-        if (rows == null || rows.isEmpty()) {
+    private void startCsvExport(List<Event> events, String status, String fileName) {
+        File outFile = resolveExportFile(fileName);
+        if (outFile == null) {
             Toast.makeText(this,
-                    "No enrolled entrants to export",
+                    "Unable to access public Downloads folder",
                     Toast.LENGTH_SHORT).show();
             return;
         }
 
-        String csvContent = CsvUtils.buildEnrolledEntrantsCsv(
-                event.getName(),
-                event.getEventId(),
-                rows
-        );
+        Toast.makeText(this, "Preparing CSV…", Toast.LENGTH_SHORT).show();
+
+        csvExporter.export(events, status, outFile, new EntrantCsvExporter.ExportCallback() {
+            @Override
+            public void onProgress(int rowsWritten) {
+                Log.d(TAG, "CSV export: " + rowsWritten + " rows written");
+            }
+
+            @Override
+            public void onComplete(File file, int rowsWritten) {
+                if (rowsWritten == 0) {
+                    file.delete();
+                    Toast.makeText(OrganizerActivity.this,
+                            status != null ? "No " + status + " entrants to export" : "No entrants to export",
+                            Toast.LENGTH_SHORT).show();
+                    return;
+                }
 
-        writeCsvToFile(event, csvContent);
+                String message = "CSV saved to Downloads: " + file.getAbsolutePath();
+                Log.d(TAG, message);
+                Toast.makeText(OrganizerActivity.this, message, Toast.LENGTH_LONG).show();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                Log.e(TAG, "Error exporting CSV", e);
+                Toast.makeText(OrganizerActivity.this,
+                        "Error saving CSV: " + e.getMessage(),
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     /**
-     * Writes CSV text to a file in the app's Downloads directory.
-     * No extra storage permission needed (app-specific external storage).
+     * Returns a file in the public Downloads directory, or null if it is unavailable.
      */
-    private void writeCsvToFile(Event event, String csvContent) {
+    private File resolveExportFile(String fileName) {
         // Public Download directory
         File dir = Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS);
-
         if (dir == null) {
-            Toast.makeText(this,
-                    "Unable to access public Downloads folder",
-                    Toast.LENGTH_SHORT).show();
-            return;
+            return null;
         }
 
         // Ensure folder exists
         if (!dir.exists()) {
             dir.mkdirs();
         }
-
-        // Safe filename
-        String rawName = (event.getName() != null && !event.getName().isEmpty())
-                ? event.getName()
-                : "event";
-        String safeName = rawName.replaceAll("[^a-zA-Z0-9_-]", "_");
-
-        String fileName = "enrolled_" + safeName + ".csv";
-        File outFile = new File(dir, fileName);
-
-        try (FileOutputStream fos = new FileOutputStream(outFile)) {
-            fos.write(csvContent.getBytes(StandardCharsets.UTF_8));
-            fos.flush();
-
-            String message = "CSV saved to Downloads: " + outFile.getAbsolutePath();
-            Log.d(TAG, message);
-            Toast.makeText(this, message, Toast.LENGTH_LONG).show();
-        } catch (IOException e) {
-            Log.e(TAG, "Error writing CSV file", e);
-            Toast.makeText(this,
-                    "Error saving CSV: " + e.getMessage(),
-                    Toast.LENGTH_SHORT).show();
-        }
+        return new File(dir, fileName);
     }
 
-
-    /**
-     * Format a Firestore Timestamp into a readable string for CSV.
-     */
-    private String formatTimestamp(Timestamp ts) {
-        if (ts == null) {
-            return "";
-        }
-        Date date = ts.toDate();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
-        return sdf.format(date);
+    private static String safeFileName(String eventName) {
+        String rawName = (eventName != null && !eventName.isEmpty()) ? eventName : "event";
+        return rawName.replaceAll("[^a-zA-Z0-9_-]", "_");
     }
 
     /**
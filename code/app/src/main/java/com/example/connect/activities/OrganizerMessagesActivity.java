@@ -21,25 +21,41 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.adapters.NotificationMessageAdapter;
+import com.example.connect.adapters.PagingScrollListener;
 import com.example.connect.models.NotificationMessage;
+import com.example.connect.models.User;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.NotificationLogStore;
+import com.example.connect.network.QueryChainPager;
+import com.example.connect.network.QueryPager;
+import com.example.connect.network.UserProfileLoader;
 import com.example.connect.utils.NotificationHelper;
+import com.example.connect.workers.BackgroundJobs;
+import com.example.connect.workers.BroadcastWorker;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Organizer Messages Activity
@@ -54,10 +70,14 @@ import java.util.Map;
 public class OrganizerMessagesActivity extends AppCompatActivity {
     private static final String TAG = "OrganizerMessages";
 
+    private static final int PAGE_SIZE = 30;
+    private static final int MAX_BATCH_WRITES = 500;
+    private static final String PREFS_NAME = "organizer_messages";
+    private static final String KEY_LEGACY_BACKFILLED = "legacy_backfilled_";
+
     // Firebase
 
     private FirebaseFirestore db;
-    private NotificationHelper notificationHelper;
 
     // UI Components
     private MaterialButton btnBack, btnFilterByEvent, btnNewMessage;
@@ -73,6 +93,9 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
     private List<NotificationMessage> allMessages = new ArrayList<>();
     private List<NotificationMessage> filteredMessages = new ArrayList<>();
     private String currentEventFilter = null; // null = show all events
+    private NotificationLogStore logStore;
+    private QueryChainPager logPager;
+    private String organizerId;
     private boolean isTest = false;
 
     public void setIsTest(boolean isTest) {
@@ -89,7 +112,7 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
 
         if (!isTest) {
             db = FirebaseFirestore.getInstance();
-            notificationHelper = new NotificationHelper();
+            logStore = new NotificationLogStore(db);
             loadAllNotifications();
         }
     }
@@ -116,6 +139,8 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
         adapter = new NotificationMessageAdapter();
         adapter.setOnMessageClickListener(message -> showMessageDetails(message));
         recyclerViewMessages.setAdapter(adapter);
+        recyclerViewMessages.addOnScrollListener(
+                new PagingScrollListener(layoutManager, this::loadNextPage));
     }
 
     private void setupClickListeners() {
@@ -164,72 +189,127 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
     }
 
     /**
-     * Load all notifications sent by this organizer
-     * Filters by organizer_id and excludes "recommendations" type
+     * Load notifications sent by this organizer, newest first, one page at a time.
+     * Logs are stamped with organizer_id when written (see NotificationHelper), so this
+     * is an indexed query over the monthly log partitions, continued by the same query on
+     * pre-partition logs; "recommendations" are never stamped and never shown.
+     * <p>
+     * Logs written before stamping existed are found once per organizer by
+     * {@link #loadLegacyNotifications}, which also stamps them for next time.
      */
     void loadAllNotifications() {
-        // First, get all events created by this organizer
         String currentUserId = FirebaseAuth.getInstance().getCurrentUser() != null
                 ? FirebaseAuth.getInstance().getCurrentUser().getUid()
                 : "dummy-organizer-id";
 
-        db.collection("events")
+        if (logPager != null) {
+            logPager.reset();
+        }
+        allMessages.clear();
+        organizerId = currentUserId;
+
+        if (!getSharedPreferences(PREFS_NAME, MODE_PRIVATE)
+                .getBoolean(KEY_LEGACY_BACKFILLED + currentUserId, false)) {
+            logPager = null;
+            loadLegacyNotifications(currentUserId);
+            return;
+        }
+
+        logPager = new QueryChainPager(Arrays.asList(
+                logStore.allEntries()
+                        .whereEqualTo(NotificationHelper.FIELD_ORGANIZER_ID, currentUserId)
+                        .orderBy("timestamp", Query.Direction.DESCENDING),
+                logStore.legacyEntries()
+                        .whereEqualTo(NotificationHelper.FIELD_ORGANIZER_ID, currentUserId)
+                        .orderBy("timestamp", Query.Direction.DESCENDING)), PAGE_SIZE);
+        loadNextPage();
+    }
+
+    /**
+     * Loads the next page of this organizer's messages, if any.
+     */
+    private void loadNextPage() {
+        if (logPager == null || !logPager.hasMore()) return;
+
+        QueryChainPager pager = logPager;
+        boolean firstPage = !pager.hasStarted();
+        pager.loadNextPage(new QueryPager.PageCallback() {
+            @Override
+            public void onPage(List<DocumentSnapshot> documents, boolean hasMore) {
+                if (pager != logPager) return;
+                for (DocumentSnapshot doc : documents) {
+                    if (!NotificationHelper.TYPE_RECOMMENDATIONS.equals(doc.getString("type"))) {
+                        allMessages.add(toMessage(doc));
+                    }
+                }
+                Log.d(TAG, "Loaded " + allMessages.size() + " notifications for organizer"
+                        + (hasMore ? " (more available)" : ""));
+                filterMessages(etSearch.getText().toString());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (pager != logPager) return;
+                Log.e(TAG, "Error loading notifications", e);
+                if (firstPage) {
+                    // e.g. the organizer_id index is not deployed yet
+                    logPager = null;
+                    loadLegacyNotifications(organizerId);
+                } else {
+                    Toast.makeText(OrganizerMessagesActivity.this, "Error loading messages", Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
+    /**
+     * Fallback for logs that predate organizer_id: scans the pre-partition logs and keeps
+     * the ones for this organizer's events, looked up in a HashSet. Matching logs
+     * without organizer_id are stamped so later visits can use the indexed query.
+     */
+    private void loadLegacyNotifications(String currentUserId) {
+        FirestoreMetrics.read("OrganizerMessagesActivity.loadLegacyNotifications", db.collection("events")
                 .whereEqualTo("organizer_id", currentUserId)
-                .get()
+                .get())
                 .addOnSuccessListener(eventSnapshot -> {
                     if (eventSnapshot.isEmpty()) {
                         Log.d(TAG, "No events found for this organizer");
+                        markLegacyBackfilled(currentUserId);
                         showEmptyState();
                         return;
                     }
 
-                    // Collect all event IDs for this organizer
-                    List<String> organizerEventIds = new ArrayList<>();
+                    Set<String> organizerEventIds = new HashSet<>();
                     for (QueryDocumentSnapshot eventDoc : eventSnapshot) {
                         organizerEventIds.add(eventDoc.getId());
                     }
 
                     Log.d(TAG, "Found " + organizerEventIds.size() + " events for organizer");
 
-                    // Now load notifications for these events
-                    db.collection("notification_logs")
+                    logStore.legacyEntries()
                             .orderBy("timestamp", Query.Direction.DESCENDING)
                             .get()
                             .addOnSuccessListener(notifSnapshot -> {
                                 allMessages.clear();
-
-                                if (notifSnapshot.isEmpty()) {
-                                    Log.d(TAG, "No notifications found");
-                                    showEmptyState();
-                                    return;
-                                }
+                                List<DocumentReference> unstamped = new ArrayList<>();
 
                                 for (QueryDocumentSnapshot doc : notifSnapshot) {
                                     String eventId = doc.getString("eventId");
                                     String type = doc.getString("type");
 
-                                    // Filter: only include notifications for this organizer's events
-                                    // AND exclude "recommendations" type
+                                    // Only this organizer's events, and no "recommendations"
                                     if (eventId != null && organizerEventIds.contains(eventId)
-                                            && !"recommendations".equals(type)) {
-
-                                        NotificationMessage message = new NotificationMessage();
-                                        message.setId(doc.getId());
-                                        message.setTitle(doc.getString("title"));
-                                        message.setBody(doc.getString("body"));
-                                        message.setType(type);
-                                        message.setEventId(eventId);
-                                        message.setEventName(doc.getString("eventName"));
-                                        message.setRecipientId(doc.getString("recipientId"));
-                                        message.setTimestamp(doc.getTimestamp("timestamp"));
-                                        message.setRead(doc.getBoolean("read") != null ? doc.getBoolean("read") : false);
-
-                                        allMessages.add(message);
+                                            && !NotificationHelper.TYPE_RECOMMENDATIONS.equals(type)) {
+                                        allMessages.add(toMessage(doc));
+                                        if (doc.getString(NotificationHelper.FIELD_ORGANIZER_ID) == null) {
+                                            unstamped.add(doc.getReference());
+                                        }
                                     }
                                 }
 
-                                Log.d(TAG, "Loaded " + allMessages.size() + " notifications for organizer");
+                                Log.d(TAG, "Loaded " + allMessages.size() + " notifications for organizer (full scan)");
                                 filterMessages(etSearch.getText().toString());
+                                stampOrganizerId(currentUserId, unstamped);
                             })
                             .addOnFailureListener(e -> {
                                 Log.e(TAG, "Error loading notifications", e);
@@ -244,6 +324,48 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
                 });
     }
 
+    /**
+     * Writes organizer_id onto legacy logs in batches, then remembers that this
+     * organizer no longer needs the full scan.
+     */
+    private void stampOrganizerId(String currentUserId, List<DocumentReference> logs) {
+        List<Task<Void>> commits = new ArrayList<>();
+        for (int start = 0; start < logs.size(); start += MAX_BATCH_WRITES) {
+            WriteBatch batch = db.batch();
+            for (DocumentReference log : logs.subList(start, Math.min(start + MAX_BATCH_WRITES, logs.size()))) {
+                batch.update(log, NotificationHelper.FIELD_ORGANIZER_ID, currentUserId);
+            }
+            commits.add(batch.commit());
+        }
+
+        Tasks.whenAll(commits)
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Stamped organizer_id on " + logs.size() + " legacy notifications");
+                    markLegacyBackfilled(currentUserId);
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Could not stamp legacy notifications", e));
+    }
+
+    private void markLegacyBackfilled(String currentUserId) {
+        getSharedPreferences(PREFS_NAME, MODE_PRIVATE).edit()
+                .putBoolean(KEY_LEGACY_BACKFILLED + currentUserId, true)
+                .apply();
+    }
+
+    private static NotificationMessage toMessage(DocumentSnapshot doc) {
+        NotificationMessage message = new NotificationMessage();
+        message.setId(doc.getId());
+        message.setTitle(doc.getString("title"));
+        message.setBody(doc.getString("body"));
+        message.setType(doc.getString("type"));
+        message.setEventId(doc.getString("eventId"));
+        message.setEventName(doc.getString("eventName"));
+        message.setRecipientId(doc.getString("recipientId"));
+        message.setTimestamp(doc.getTimestamp("timestamp"));
+        message.setRead(doc.getBoolean("read") != null ? doc.getBoolean("read") : false);
+        return message;
+    }
+
     /**
      * Filter messages by search query and event filter
      */
@@ -351,9 +473,9 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
         Log.d(TAG, "Loading events for organizer: " + currentUserId);
 
         // Get only events created by this organizer
-        db.collection("events")
+        FirestoreMetrics.read("OrganizerMessagesActivity.showNewMessageDialog", db.collection("events")
                 .whereEqualTo("organizer_id", currentUserId)
-                .get()
+                .get())
                 .addOnSuccessListener(querySnapshot -> {
                     Log.d(TAG, "Query returned " + querySnapshot.size() + " documents");
 
@@ -473,59 +595,32 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
                 return;
         }
 
-        // Get all entrants with this status
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .whereEqualTo("status", status)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot.isEmpty()) {
-                        Toast.makeText(this, "No " + status + " entrants found",
-                                Toast.LENGTH_SHORT).show();
-                        return;
-                    }
-
-                    List<String> recipientIds = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String userId = doc.getString("user_id");
-                        if (userId != null) {
-                            recipientIds.add(userId);
-                        }
-                    }
-
-                    if (recipientIds.isEmpty()) {
-                        Toast.makeText(this, "No valid recipients found", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
+        // Sent page by page in a background job, so large groups finish even if this screen closes
+        String jobId = BroadcastWorker.enqueue(this, eventId, eventName, status, title, body, "custom");
+        if (jobId == null) {
+            Toast.makeText(this, "Failed to send: could not be started", Toast.LENGTH_LONG).show();
+            return;
+        }
+        Toast.makeText(this, "Sending message...", Toast.LENGTH_SHORT).show();
 
-                    // Send custom notification
-                    notificationHelper.notifyCustom(eventId, recipientIds, eventName,
-                            new NotificationHelper.NotificationCallback() {
-                                @Override
-                                public void onSuccess(String message) {
-                                    runOnUiThread(() -> {
-                                        Toast.makeText(OrganizerMessagesActivity.this,
-                                                "Message sent to " + recipientIds.size() + " users",
-                                                Toast.LENGTH_LONG).show();
-                                        loadAllNotifications(); // Refresh
-                                    });
-                                }
+        BackgroundJobs.observe(this, this, jobId, new BackgroundJobs.JobCallback() {
+            @Override
+            public void onProgress(BackgroundJobs.JobStatus progress) {
+                Log.d(TAG, "Broadcast " + jobId + ": " + progress.getMessage());
+            }
 
-                                @Override
-                                public void onFailure(String error) {
-                                    runOnUiThread(() -> {
-                                        Toast.makeText(OrganizerMessagesActivity.this,
-                                                "Failed to send: " + error,
-                                                Toast.LENGTH_LONG).show();
-                                    });
-                                }
-                            }, title, body, "custom");
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading entrants", e);
-                    Toast.makeText(this, "Error loading recipients", Toast.LENGTH_SHORT).show();
-                });
+            @Override
+            public void onFinished(BackgroundJobs.JobStatus result) {
+                if (result.isSucceeded()) {
+                    Toast.makeText(OrganizerMessagesActivity.this,
+                            result.getMessage(), Toast.LENGTH_LONG).show();
+                    loadAllNotifications(); // Refresh
+                } else {
+                    Toast.makeText(OrganizerMessagesActivity.this,
+                            "Failed to send: " + result.getMessage(), Toast.LENGTH_LONG).show();
+                }
+            }
+        });
     }
 
     /**
@@ -556,18 +651,21 @@ public class OrganizerMessagesActivity extends AppCompatActivity {
 
         // Load recipient name
         if (message.getRecipientId() != null) {
-            db.collection("accounts")
-                    .document(message.getRecipientId())
-                    .get()
-                    .addOnSuccessListener(doc -> {
-                        if (doc.exists()) {
-                            String name = doc.getString("display_name");
+            UserProfileLoader.getInstance().load(
+                    Collections.singletonList(message.getRecipientId()),
+                    new UserProfileLoader.ProfileCallback() {
+                        @Override
+                        public void onChunkLoaded(Map<String, User> profiles) {
+                            // Single id, handled in onComplete
+                        }
+
+                        @Override
+                        public void onComplete(Map<String, User> profiles) {
+                            User recipient = profiles.get(message.getRecipientId());
+                            String name = recipient != null ? recipient.getName() : null;
                             tvRecipient.setText(name != null ? name : "Unknown User");
-                        } else {
-                            tvRecipient.setText("Unknown User");
                         }
-                    })
-                    .addOnFailureListener(e -> tvRecipient.setText("Unknown User"));
+                    });
         } else {
             tvRecipient.setText("Unknown User");
         }
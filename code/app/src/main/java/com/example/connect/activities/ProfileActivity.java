@@ -26,6 +26,12 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.connect.R;
 import com.example.connect.models.User;
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.network.CurrentUserRepository;
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.ImageIndex;
+import com.example.connect.network.UserProfileLoader;
+import com.example.connect.utils.SearchTokens;
 import com.example.connect.utils.UserActivityTracker;
 
 import com.google.android.material.button.MaterialButton;
@@ -33,16 +39,18 @@ import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -216,37 +224,70 @@ public class ProfileActivity extends AppCompatActivity {
     }
 
     /**
-     * Load the user's profile information from Firestore using the User model.
+     * Load the user's profile information using the User model.
+     * The signed-in user's own profile comes from the shared {@link CurrentUserRepository};
+     * an admin viewing someone else's profile reads it from Firestore.
      */
     private void loadUserProfile() {
-        db.collection("accounts").document(userId)
-                .get()
+        if (!getIntent().getBooleanExtra("IS_ADMIN_VIEW", false)) {
+            CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+                @Override
+                public void onProfile(CurrentUserRepository.Profile profile) {
+                    if (profile.exists()) {
+                        // Edited by saveProfile, so take a copy rather than the shared instance
+                        currentUserModel = profile.copyUser();
+                        if (currentUserModel != null) {
+                            populateUI(currentUserModel, profile.getAvatar());
+                        }
+                    } else {
+                        showMissingProfile();
+                    }
+                }
+
+                @Override
+                public void onError(Exception e) {
+                    Log.e(TAG, "Error loading profile", e);
+                }
+            });
+            return;
+        }
+
+        FirestoreMetrics.read("ProfileActivity.loadUserProfile", db.collection("accounts").document(userId)
+                .get())
                 .addOnCompleteListener(task -> {
                     if (task.isSuccessful()) {
                         DocumentSnapshot document = task.getResult();
                         if (document != null && document.exists()) {
                             currentUserModel = document.toObject(User.class);
                             if (currentUserModel != null) {
-                                populateUI(currentUserModel);
+                                populateUI(currentUserModel, null);
                             }
                         } else {
-                            if (firebaseUser != null) {
-                                etEmail.setText(firebaseUser.getEmail());
-                                currentUserModel = new User();
-                                currentUserModel.setUserId(userId);
-                            }
+                            showMissingProfile();
                         }
                     }
                 });
     }
 
+    /**
+     * Starts an empty profile when the account document does not exist yet.
+     */
+    private void showMissingProfile() {
+        if (firebaseUser != null) {
+            etEmail.setText(firebaseUser.getEmail());
+            currentUserModel = new User();
+            currentUserModel.setUserId(userId);
+        }
+    }
+
     /**
      * Populates the UI fields using data from the User model.
      * Updated to correctly handle ChipGroup population.
      * @param user The user object containing profile data.
      * Populates UI and decodes the Base64 image if it exists.
+     * @param avatar The already decoded profile image, or null to decode it here.
      */
-    private void populateUI(User user) {
+    private void populateUI(User user, Bitmap avatar) {
         if (user.getName() != null) etDisplayName.setText(user.getName());
         if (user.getFullName() != null) etName.setText(user.getFullName());
         if (user.getEmail() != null) etEmail.setText(user.getEmail());
@@ -254,7 +295,9 @@ public class ProfileActivity extends AppCompatActivity {
 
         // Decode and Display Image
         String base64Image = user.getProfileImageUrl();
-        if (base64Image != null && !base64Image.isEmpty()) {
+        if (avatar != null) {
+            profileImage.setImageBitmap(avatar);
+        } else if (base64Image != null && !base64Image.isEmpty()) {
             try {
                 byte[] decodedString = Base64.decode(base64Image, Base64.DEFAULT);
                 Bitmap decodedByte = BitmapFactory.decodeByteArray(decodedString, 0, decodedString.length);
@@ -309,19 +352,32 @@ public class ProfileActivity extends AppCompatActivity {
         currentUserModel.setInterests(selectedInterests);
 
         // Convert and Save Image if a new one was selected
+        String uploadedImage = null;
         if (selectedImageUri != null) {
-            String base64Image = convertImageToBase64(selectedImageUri);
-            if (base64Image != null) {
-                currentUserModel.setProfileImageUrl(base64Image);
+            uploadedImage = convertImageToBase64(selectedImageUri);
+            if (uploadedImage != null) {
+                currentUserModel.setProfileImageUrl(uploadedImage);
             }
         }
+        String newProfileImage = uploadedImage;
+
+        // Keep the admin search index in step with the profile in the same write
+        Map<String, Object> searchIndex = new HashMap<>();
+        SearchTokens.put(searchIndex, displayName, name, email, userId);
 
-        db.collection("accounts").document(userId)
-                .set(currentUserModel, SetOptions.merge())
+        DocumentReference accountRef = db.collection("accounts").document(userId);
+        WriteBatch batch = db.batch();
+        batch.set(accountRef, currentUserModel, SetOptions.merge());
+        batch.set(accountRef, searchIndex, SetOptions.merge());
+        batch.commit()
                 .addOnCompleteListener(task -> {
                     btnSave.setEnabled(true);
                     btnSave.setText("Save Changes");
                     if (task.isSuccessful()) {
+                        UserProfileLoader.getInstance().invalidate(userId);
+                        if (newProfileImage != null) {
+                            ImageIndex.getInstance().recordProfilePicture(userId, displayName, newProfileImage);
+                        }
                         Toast.makeText(ProfileActivity.this, "Profile updated successfully!", Toast.LENGTH_SHORT).show();
                     } else {
                         Toast.makeText(ProfileActivity.this, "Failed to update profile", Toast.LENGTH_SHORT).show();
@@ -439,6 +495,7 @@ public class ProfileActivity extends AppCompatActivity {
      */
     private void performLogout() {
         UserActivityTracker.markUserInactive();
+        CurrentUserRepository.getInstance().clear();
         mAuth.signOut();
         SharedPreferences sharedPreferences = getSharedPreferences("LoginPrefs", MODE_PRIVATE);
         SharedPreferences.Editor editor = sharedPreferences.edit();
@@ -464,12 +521,12 @@ public class ProfileActivity extends AppCompatActivity {
 
     /**
      * Delete the user's profile completely from Firebase Auth and Firestore.
-     * This method:
+     * The Firestore cleanup is run by {@link CascadeDeleter}, which:
      * 1. Deletes all events organized by this user (and their waiting lists)
      * 2. Removes user from all waiting lists they joined
      * 3. Removes user from all event arrays (chosen_entrants, enrolled_users)
      * 4. Deletes user's account document from Firestore
-     * 5. Deletes user from Firebase Authentication
+     * Then the user is deleted from Firebase Authentication.
      * 
      * Note: Firebase Auth requires recent authentication (within last hour) to delete account.
      */
@@ -478,217 +535,30 @@ public class ProfileActivity extends AppCompatActivity {
         
         // Show loading indicator
         Toast.makeText(this, "Deleting account and all related data...", Toast.LENGTH_SHORT).show();
-        
-        // Step 1: Delete all events organized by this user and their waiting lists
-        deleteOrganizedEvents(() -> {
-            // Step 2: Remove user from all waiting lists
-            removeFromAllWaitingLists(() -> {
-                // Step 3: Remove user from event arrays (chosen_entrants, enrolled_users)
-                removeFromEventArrays(() -> {
-                    // Step 4: Delete from Firestore accounts collection
-                    db.collection("accounts").document(userId).delete()
-                            .addOnSuccessListener(aVoid -> {
-                                Log.d(TAG, "Account deleted from Firestore");
-                                // Step 5: Delete from Firebase Authentication
-                                deleteFromFirebaseAuth();
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.e(TAG, "Failed to delete from Firestore: " + e.getMessage());
-                                // Still try to delete from Auth
-                                deleteFromFirebaseAuth();
-                                Toast.makeText(this, "Some data may not have been deleted. Please contact support.", Toast.LENGTH_LONG).show();
-                            });
-                });
-            });
-        });
-    }
-    
-    /**
-     * Delete all events organized by this user and their associated waiting lists.
-     */
-    private void deleteOrganizedEvents(Runnable onComplete) {
-        db.collection("events")
-                .whereEqualTo("organizer_id", userId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot.isEmpty()) {
-                        Log.d(TAG, "No events found for organizer: " + userId);
-                        onComplete.run();
-                        return;
-                    }
-                    
-                    int totalEvents = querySnapshot.size();
-                    final int[] deletedCount = {0};
-                    
-                    for (QueryDocumentSnapshot eventDoc : querySnapshot) {
-                        String eventId = eventDoc.getId();
-                        
-                        // Delete waiting list for this event
-                        db.collection("waiting_lists").document(eventId)
-                                .collection("entrants")
-                                .get()
-                                .addOnSuccessListener(entrantsSnapshot -> {
-                                    // Delete all entrants from this waiting list
-                                    for (QueryDocumentSnapshot entrantDoc : entrantsSnapshot) {
-                                        entrantDoc.getReference().delete();
-                                    }
-                                    
-                                    // Delete the waiting list document itself
-                                    db.collection("waiting_lists").document(eventId).delete();
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error deleting waiting list for event " + eventId + ": " + e.getMessage());
-                                });
-                        
-                        // Delete the event itself
-                        eventDoc.getReference().delete()
-                                .addOnSuccessListener(aVoid -> {
-                                    deletedCount[0]++;
-                                    Log.d(TAG, "Deleted event: " + eventId + " (" + deletedCount[0] + "/" + totalEvents + ")");
-                                    if (deletedCount[0] == totalEvents) {
-                                        onComplete.run();
-                                    }
-                                })
-                                .addOnFailureListener(e -> {
-                                    deletedCount[0]++;
-                                    Log.e(TAG, "Error deleting event " + eventId + ": " + e.getMessage());
-                                    if (deletedCount[0] == totalEvents) {
-                                        onComplete.run();
-                                    }
-                                });
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching organized events: " + e.getMessage());
-                    // Continue with deletion process even if this fails
-                    onComplete.run();
-                });
-    }
-    
-    /**
-     * Remove user from all waiting lists they joined.
-     */
-    private void removeFromAllWaitingLists(Runnable onComplete) {
-        // Get all waiting lists
-        db.collection("waiting_lists")
-                .get()
-                .addOnSuccessListener(waitingListSnapshot -> {
-                    if (waitingListSnapshot.isEmpty()) {
-                        Log.d(TAG, "No waiting lists found");
-                        onComplete.run();
-                        return;
-                    }
-                    
-                    int totalWaitingLists = waitingListSnapshot.size();
-                    final int[] processedCount = {0};
-                    
-                    for (QueryDocumentSnapshot waitingListDoc : waitingListSnapshot) {
-                        String eventId = waitingListDoc.getId();
-                        
-                        // Check if user is in the entrants subcollection for this waiting list
-                        db.collection("waiting_lists")
-                                .document(eventId)
-                                .collection("entrants")
-                                .whereEqualTo("user_id", userId)
-                                .get()
-                                .addOnSuccessListener(entrantsSnapshot -> {
-                                    // Delete all entrant documents for this user
-                                    for (QueryDocumentSnapshot entrantDoc : entrantsSnapshot) {
-                                        entrantDoc.getReference().delete()
-                                                .addOnSuccessListener(aVoid -> {
-                                                    Log.d(TAG, "Removed user from waiting list: " + eventId);
-                                                })
-                                                .addOnFailureListener(e -> {
-                                                    Log.e(TAG, "Error removing user from waiting list " + eventId + ": " + e.getMessage());
-                                                });
-                                    }
-                                    
-                                    processedCount[0]++;
-                                    if (processedCount[0] == totalWaitingLists) {
-                                        onComplete.run();
-                                    }
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error checking waiting list " + eventId + ": " + e.getMessage());
-                                    processedCount[0]++;
-                                    if (processedCount[0] == totalWaitingLists) {
-                                        onComplete.run();
-                                    }
-                                });
+        btnDelete.setEnabled(false);
+
+        CascadeDeleter.getInstance().delete(userId, CascadeDeleter.Mode.DELETE_ACCOUNT, false,
+                new CascadeDeleter.Listener() {
+                    @Override
+                    public void onProgress(CascadeDeleter.Progress progress) {
+                        btnDelete.setText(progress.describe());
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching waiting lists: " + e.getMessage());
-                    // Continue with deletion process even if this fails
-                    onComplete.run();
-                });
-    }
-    
-    /**
-     * Remove user from event arrays (chosen_entrants, enrolled_users) in all events.
-     */
-    private void removeFromEventArrays(Runnable onComplete) {
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    if (querySnapshot.isEmpty()) {
-                        Log.d(TAG, "No events found to update");
-                        onComplete.run();
-                        return;
+
+                    @Override
+                    public void onComplete(CascadeDeleter.Progress progress) {
+                        Log.d(TAG, "Account data deleted from Firestore");
+                        UserProfileLoader.getInstance().invalidate(userId);
+                        deleteFromFirebaseAuth();
                     }
-                    
-                    int totalEvents = querySnapshot.size();
-                    final int[] updatedCount = {0};
-                    
-                    for (QueryDocumentSnapshot eventDoc : querySnapshot) {
-                        // Check if event has chosen_entrants or enrolled_users arrays
-                        boolean needsUpdate = false;
-                        
-                        if (eventDoc.contains("chosen_entrants")) {
-                            List<String> chosenEntrants = (List<String>) eventDoc.get("chosen_entrants");
-                            if (chosenEntrants != null && chosenEntrants.contains(userId)) {
-                                needsUpdate = true;
-                            }
-                        }
-                        
-                        if (eventDoc.contains("enrolled_users")) {
-                            List<String> enrolledUsers = (List<String>) eventDoc.get("enrolled_users");
-                            if (enrolledUsers != null && enrolledUsers.contains(userId)) {
-                                needsUpdate = true;
-                            }
-                        }
-                        
-                        if (needsUpdate) {
-                            eventDoc.getReference().update(
-                                    "chosen_entrants", FieldValue.arrayRemove(userId),
-                                    "enrolled_users", FieldValue.arrayRemove(userId)
-                            )
-                            .addOnSuccessListener(aVoid -> {
-                                updatedCount[0]++;
-                                Log.d(TAG, "Removed user from event arrays: " + eventDoc.getId());
-                                if (updatedCount[0] == totalEvents) {
-                                    onComplete.run();
-                                }
-                            })
-                            .addOnFailureListener(e -> {
-                                updatedCount[0]++;
-                                Log.e(TAG, "Error updating event " + eventDoc.getId() + ": " + e.getMessage());
-                                if (updatedCount[0] == totalEvents) {
-                                    onComplete.run();
-                                }
-                            });
-                        } else {
-                            updatedCount[0]++;
-                            if (updatedCount[0] == totalEvents) {
-                                onComplete.run();
-                            }
-                        }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        Log.e(TAG, "Failed to delete from Firestore: " + e.getMessage());
+                        UserProfileLoader.getInstance().invalidate(userId);
+                        // Still try to delete from Auth; the cleanup is checkpointed and finished later
+                        deleteFromFirebaseAuth();
+                        Toast.makeText(ProfileActivity.this, "Some data may not have been deleted. Please contact support.", Toast.LENGTH_LONG).show();
                     }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error fetching events for array cleanup: " + e.getMessage());
-                    // Continue with deletion process even if this fails
-                    onComplete.run();
                 });
     }
     
@@ -714,6 +584,8 @@ public class ProfileActivity extends AppCompatActivity {
                     }
                     Log.e(TAG, "Failed to delete from Firebase Auth: " + exception);
                     Toast.makeText(this, errorMessage, Toast.LENGTH_LONG).show();
+                    btnDelete.setText("Delete Account");
+                    btnDelete.setEnabled(true);
         });
     }
 
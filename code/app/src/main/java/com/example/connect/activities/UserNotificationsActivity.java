@@ -20,6 +20,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import androidx.core.content.ContextCompat;
 
 import com.example.connect.R;
+import com.example.connect.network.CurrentUserRepository;
 import com.example.connect.utils.LotteryManager;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
@@ -167,22 +168,23 @@ public class UserNotificationsActivity extends AppCompatActivity {
     }
 
     /**
-     * Load user's notification preference from Firestore
+     * Load user's notification preference from the shared profile cache
      */
     private void loadNotificationPreference() {
-        db.collection("accounts")
-                .document(currentUserId)
-                .get()
-                .addOnSuccessListener(documentSnapshot -> {
-                    if (documentSnapshot.exists()) {
-                        Boolean enabled = documentSnapshot.getBoolean("notificationsEnabled");
-                        notificationsEnabled = enabled != null ? enabled : true;
-                        updateToggleButton();
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading notification preference", e);
-                });
+        CurrentUserRepository.getInstance().get(new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                if (profile.exists()) {
+                    notificationsEnabled = profile.isNotificationsEnabled();
+                    updateToggleButton();
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Log.e(TAG, "Error loading notification preference", e);
+            }
+        });
     }
 
     /**
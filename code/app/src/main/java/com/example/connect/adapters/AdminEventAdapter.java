@@ -12,7 +12,6 @@ import com.example.connect.R;
 import com.example.connect.models.Event;
 import com.google.android.material.button.MaterialButton;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,9 +28,8 @@ import java.util.List;
  * @author Sai Vashnavi Jattu
  * @version 1.0
  */
-public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.ViewHolder> {
+public class AdminEventAdapter extends PagingListAdapter<Event, AdminEventAdapter.ViewHolder> {
 
-    private List<Event> events = new ArrayList<>();
     private final OnEventDeleteListener deleteListener;
     private final OnEventClickListener clickListener;
 
@@ -63,8 +61,16 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Vi
      * @param events The new list of events to display
      */
     public void setEvents(List<Event> events) {
-        this.events = events;
-        notifyDataSetChanged();
+        setItems(events);
+    }
+
+    /**
+     * Adds the next page of events at the end of the list.
+     *
+     * @param events The events on the new page
+     */
+    public void appendEvents(List<Event> events) {
+        appendItems(events);
     }
 
     @NonNull
@@ -77,15 +83,10 @@ public class AdminEventAdapter extends RecyclerView.Adapter<AdminEventAdapter.Vi
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Event event = events.get(position);
+        Event event = getItem(position);
         holder.bind(event);
     }
 
-    @Override
-    public int getItemCount() {
-        return events.size();
-    }
-
     /**
      * ViewHolder class for event items in the admin list.
      * Handles binding event data to UI components and setting up click listeners.
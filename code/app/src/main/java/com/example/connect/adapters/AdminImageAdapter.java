@@ -1,5 +1,6 @@
 package com.example.connect.adapters;
 
+import android.graphics.Bitmap;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,32 +12,35 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.example.connect.R;
+import com.example.connect.network.ImageThumbnailCache;
 import com.google.android.material.button.MaterialButton;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * RecyclerView adapter for displaying and managing images in the admin panel.
  * Supports both event posters and profile pictures with delete functionality.
+ * Indexed images show their thumbnail from the shared {@link ImageThumbnailCache},
+ * loaded only once the row is bound.
  */
-public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.ViewHolder> {
+public class AdminImageAdapter extends PagingListAdapter<AdminImageAdapter.ImageItem, AdminImageAdapter.ViewHolder> {
 
     /**
      * Represents an image item to be displayed in the admin panel.
      */
     public static class ImageItem {
         public String id;
-        public String url;
+        public String url; // Image URL, a Base64 string, or null when only a thumbnail is indexed
         public String type; // "Event Poster" or "Profile Picture"
         public String relatedId; // Event ID or User ID
         public String displayName;
+        public String thumbnailRef; // Path of the indexed thumbnail, if any
 
         /**
          * Creates a new ImageItem.
          *
-         * @param id Unique identifier for the image
-         * @param url Image URL or Base64 string
+         * @param id Unique identifier for the image (its {@code images} document id)
+         * @param url Image URL or Base64 string, or null
          * @param type Type of image
          * @param relatedId Related entity ID
          * @param displayName Display name for the image
@@ -50,7 +54,6 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
         }
     }
 
-    private List<ImageItem> images = new ArrayList<>();
     private final OnImageDeleteListener deleteListener;
     private final OnImageClickListener clickListener;
 
@@ -68,8 +71,11 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
     }
 
     public void setImages(List<ImageItem> images) {
-        this.images = images;
-        notifyDataSetChanged();
+        setItems(images);
+    }
+
+    public void appendImages(List<ImageItem> images) {
+        appendItems(images);
     }
 
     @NonNull
@@ -82,15 +88,10 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ImageItem image = images.get(position);
+        ImageItem image = getItem(position);
         holder.bind(image);
     }
 
-    @Override
-    public int getItemCount() {
-        return images.size();
-    }
-
     /**
      * ViewHolder for displaying individual image items.
      */
@@ -99,6 +100,7 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
         private final TextView tvType;
         private final TextView tvId;
         private final MaterialButton btnDelete;
+        private String boundImageId;
 
         /**
          * Creates a new ViewHolder.
@@ -115,7 +117,8 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
 
         /**
          * Binds an ImageItem to this ViewHolder's views.
-         * Loads the image using Glide from either a URL or Base64 string.
+         * Loads the image using Glide from a URL, from the thumbnail cache for indexed
+         * images, or by decoding a Base64 string.
          *
          * @param image The ImageItem to display
          */
@@ -126,8 +129,11 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
                 tvType.setText(image.type);
             }
             tvId.setText("ID: " + image.relatedId);
+            boundImageId = image.id;
 
-            if (image.url != null && (image.url.startsWith("http") || image.url.startsWith("https"))) {
+            if (image.url == null && image.thumbnailRef != null) {
+                bindThumbnail(image.id);
+            } else if (image.url != null && (image.url.startsWith("http") || image.url.startsWith("https"))) {
                 // Load URL
                 Glide.with(itemView.getContext())
                         .load(image.url)
@@ -162,5 +168,28 @@ public class AdminImageAdapter extends RecyclerView.Adapter<AdminImageAdapter.Vi
                 }
             });
         }
+
+        /**
+         * Shows an indexed thumbnail, ignoring it if the row was rebound to another image
+         * before it arrived.
+         */
+        private void bindThumbnail(String imageId) {
+            Glide.with(itemView.getContext()).clear(ivImage);
+            ImageThumbnailCache cache = ImageThumbnailCache.getInstance();
+            Bitmap cached = cache.getCached(imageId);
+            if (cached != null) {
+                ivImage.setImageBitmap(cached);
+                return;
+            }
+            ivImage.setImageResource(android.R.drawable.ic_menu_gallery);
+            cache.load(imageId, bitmap -> {
+                if (!imageId.equals(boundImageId)) return;
+                if (bitmap != null) {
+                    ivImage.setImageBitmap(bitmap);
+                } else {
+                    ivImage.setImageResource(android.R.drawable.ic_menu_gallery);
+                }
+            });
+        }
     }
 }
@@ -9,6 +9,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
+import com.example.connect.network.NotificationLogStore;
 import com.google.firebase.Timestamp;
 
 import java.text.SimpleDateFormat;
@@ -17,6 +18,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Adapter for the admin notification log. Rows are log entries, or daily summaries
+ * (rows with a "day" field) for periods whose entries have been compacted.
+ * Pages are added with {@link #appendNotifications(List)} as the admin scrolls.
+ */
 public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotificationAdapter.ViewHolder> {
 
     private List<Map<String, Object>> notifications = new ArrayList<>();
@@ -27,6 +33,16 @@ public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotifica
         notifyDataSetChanged();
     }
 
+    /**
+     * Adds the next page of rows to the end of the list.
+     */
+    public void appendNotifications(List<Map<String, Object>> page) {
+        if (page.isEmpty()) return;
+        int start = notifications.size();
+        notifications.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -63,6 +79,11 @@ public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotifica
         }
 
         public void bind(Map<String, Object> notification) {
+            if (notification.get(NotificationLogStore.FIELD_DAY) != null) {
+                bindSummary(notification);
+                return;
+            }
+
             String title = (String) notification.get("title");
             String body = (String) notification.get("body");
             String eventName = (String) notification.get("eventName");
@@ -80,5 +101,24 @@ public class AdminNotificationAdapter extends RecyclerView.Adapter<AdminNotifica
                 tvTimestamp.setText("");
             }
         }
+
+        private void bindSummary(Map<String, Object> summary) {
+            Object total = summary.get(NotificationLogStore.FIELD_TOTAL);
+            Object byType = summary.get(NotificationLogStore.FIELD_BY_TYPE);
+
+            StringBuilder body = new StringBuilder();
+            body.append(total != null ? total : 0).append(" notifications");
+            if (byType instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) byType).entrySet()) {
+                    body.append("\n").append(entry.getKey()).append(": ").append(entry.getValue());
+                }
+            }
+
+            tvTitle.setText("Daily summary");
+            tvBody.setText(body);
+            tvEventName.setText("Individual entries were compacted");
+            tvRecipient.setText("");
+            tvTimestamp.setText((String) summary.get(NotificationLogStore.FIELD_DAY));
+        }
     }
 }
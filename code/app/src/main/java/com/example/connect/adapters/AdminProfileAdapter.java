@@ -1,9 +1,5 @@
 package com.example.connect.adapters;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.text.TextUtils;
-import android.util.Base64;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -16,13 +12,12 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.models.User;
+import com.example.connect.utils.Base64ImageLoader;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapter.ViewHolder> {
+public class AdminProfileAdapter extends PagingListAdapter<User, AdminProfileAdapter.ViewHolder> {
 
-    private List<User> users = new ArrayList<>();
     private final OnDeleteClickListener deleteListener;
     private final OnProfileClickListener profileClickListener;
 
@@ -40,8 +35,11 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
     }
 
     public void setUsers(List<User> users) {
-        this.users = users;
-        notifyDataSetChanged();
+        setItems(users);
+    }
+
+    public void appendUsers(List<User> users) {
+        appendItems(users);
     }
 
     @NonNull
@@ -54,15 +52,10 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        User user = users.get(position);
+        User user = getItem(position);
         holder.bind(user);
     }
 
-    @Override
-    public int getItemCount() {
-        return users.size();
-    }
-
     class ViewHolder extends RecyclerView.ViewHolder {
         private final ImageView ivProfile;
         private final TextView tvEventName;
@@ -89,41 +82,13 @@ public class AdminProfileAdapter extends RecyclerView.Adapter<AdminProfileAdapte
             // Set user ID or other info
             tvEventDate.setText(user.getUserId() != null ? "ID: " + user.getUserId() : "");
 
-            // Load profile image from Base64 string
-            if (!TextUtils.isEmpty(user.getProfileImageUrl())) {
-                try {
-                    Bitmap bitmap = decodeBase64ToBitmap(user.getProfileImageUrl());
-                    if (bitmap != null) {
-                        ivProfile.setImageBitmap(bitmap);
-                    } else {
-                        ivProfile.setImageResource(R.drawable.ic_profile_placeholder);
-                    }
-                } catch (Exception e) {
-                    // If decoding fails, use placeholder
-                    ivProfile.setImageResource(R.drawable.ic_profile_placeholder);
-                }
-            } else {
-                // Use placeholder if no image data
-                ivProfile.setImageResource(R.drawable.ic_profile_placeholder);
-            }
+            // Load profile image from Base64 string, decoded off the main thread
+            Base64ImageLoader.getInstance().bind(ivProfile, user.getProfileImageUrl(),
+                    R.drawable.ic_profile_placeholder);
 
             // Set click listeners
             itemView.setOnClickListener(v -> profileClickListener.onProfileClick(user));
             btnDelete.setOnClickListener(v -> deleteListener.onDeleteClick(user));
         }
-
-        /**
-         * Decodes a Base64 string to a Bitmap
-         * @param base64String The Base64 encoded string
-         * @return Decoded Bitmap or null if decoding fails
-         */
-        private Bitmap decodeBase64ToBitmap(String base64String) {
-            try {
-                byte[] decodedBytes = Base64.decode(base64String, Base64.DEFAULT);
-                return BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length);
-            } catch (Exception e) {
-                return null;
-            }
-        }
     }
 }
\ No newline at end of file
@@ -11,16 +11,14 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.connect.R;
 import com.example.connect.models.Report;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * RecyclerView adapter for displaying and managing user reports in the admin panel.
  * Allows viewing report details and resolving reports.
  */
-public class AdminReportAdapter extends RecyclerView.Adapter<AdminReportAdapter.ReportViewHolder> {
+public class AdminReportAdapter extends PagingListAdapter<Report, AdminReportAdapter.ReportViewHolder> {
 
-    private List<Report> reports;
     private final OnReportActionListener detailsListener;
     private final OnReportActionListener resolveListener;
 
@@ -37,7 +35,6 @@ public class AdminReportAdapter extends RecyclerView.Adapter<AdminReportAdapter.
      * @param resolveListener Listener for resolving/deleting the report.
      */
     public AdminReportAdapter(OnReportActionListener detailsListener, OnReportActionListener resolveListener) {
-        this.reports = new ArrayList<>();
         this.detailsListener = detailsListener;
         this.resolveListener = resolveListener;
     }
@@ -52,22 +49,24 @@ public class AdminReportAdapter extends RecyclerView.Adapter<AdminReportAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ReportViewHolder holder, int position) {
-        Report report = reports.get(position);
+        Report report = getItem(position);
         holder.bind(report);
     }
 
-    @Override
-    public int getItemCount() {
-        return reports.size();
-    }
-
     /**
      * Updates the data in the adapter and notifies the RecyclerView.
      * @param newReports The new list of reports.
      */
     public void setReports(List<Report> newReports) {
-        this.reports = newReports != null ? newReports : new ArrayList<>();
-        notifyDataSetChanged();
+        setItems(newReports);
+    }
+
+    /**
+     * Adds the next page of reports at the end of the list.
+     * @param page The reports on the new page.
+     */
+    public void appendReports(List<Report> page) {
+        appendItems(page);
     }
 
     class ReportViewHolder extends RecyclerView.ViewHolder {
@@ -5,14 +5,7 @@ import android.app.Activity;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.location.Address;
-import android.location.Geocoder;
 import android.location.Location;
-import android.os.Handler;
-import android.os.Looper;
-import android.util.Base64;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -30,17 +23,16 @@ import androidx.core.app.ActivityCompat;
 import com.bumptech.glide.Glide;
 import com.example.connect.R;
 import com.example.connect.models.Event;
+import com.example.connect.network.EventGeocoder;
+import com.example.connect.utils.Base64ImageLoader;
 import com.example.connect.utils.LocationHelper;
+import com.example.connect.utils.WaitingListService;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Custom arrayAdapter used to populate the event listview
@@ -134,7 +126,7 @@ public class EventAdapter extends ArrayAdapter<Event> {
         // Join Waitlist button click
         holder.btnJoinWaitlist.setOnClickListener(v -> {
             // Join waitlist directly without navigating to event details
-            joinWaitingList(event.getEventId());
+            joinWaitingList(event);
         });
 
         return convertView;
@@ -237,6 +229,7 @@ public class EventAdapter extends ArrayAdapter<Event> {
         String imageBase64 = event.getImageBase64();
 
         if (imageUrl != null && !imageUrl.trim().isEmpty()) {
+            Base64ImageLoader.getInstance().cancel(imageView);
             Glide.with(context)
                     .load(imageUrl)
                     .placeholder(R.drawable.placeholder_img)
@@ -246,30 +239,20 @@ public class EventAdapter extends ArrayAdapter<Event> {
             return;
         }
 
-        if (imageBase64 != null && !imageBase64.trim().isEmpty()) {
-            try {
-                byte[] decoded = Base64.decode(imageBase64, Base64.DEFAULT);
-                Bitmap bitmap = BitmapFactory.decodeByteArray(decoded, 0, decoded.length);
-                if (bitmap != null) {
-                    imageView.setImageBitmap(bitmap);
-                    imageView.setScaleType(ImageView.ScaleType.CENTER_CROP);
-                    return;
-                }
-            } catch (IllegalArgumentException ignored) {
-                // fall through to placeholder
-            }
-        }
-
+        // Decoded off the main thread; the placeholder shows until then
+        Glide.with(context).clear(imageView);
         imageView.setScaleType(ImageView.ScaleType.CENTER_CROP);
-        imageView.setImageResource(R.drawable.placeholder_img);
+        Base64ImageLoader.getInstance().bind(imageView, imageBase64, R.drawable.placeholder_img);
     }
 
     /**
      * Adds the current (logged in) user to the event's waiting list in Firestore.
-     * Checks total_capacity (waiting list limit) before adding to prevent exceeding the limit.
+     * Organizer, duplicate and total_capacity checks run inside the
+     * {@link WaitingListService#join} transaction, so no separate pre-check reads are needed.
      * If total_capacity is null or 0, allows unlimited entries.
      */
-    private void joinWaitingList(String eventId) {
+    private void joinWaitingList(Event event) {
+        String eventId = event.getEventId();
         if (eventId == null) {
             Toast.makeText(context, "Error: Event ID not available", Toast.LENGTH_SHORT).show();
             return;
@@ -285,118 +268,34 @@ public class EventAdapter extends ArrayAdapter<Event> {
             return;
         }
 
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        if (userId.equals(event.getOrganizerUid())) {
+            Toast.makeText(context, "Organizers cannot join their own event", Toast.LENGTH_SHORT).show();
+            return;
+        }
 
-        // Check if user is the organizer first
-        db.collection("events")
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(eventDoc -> {
-                    if (!eventDoc.exists()) {
-                        Toast.makeText(context, "Event not found", Toast.LENGTH_SHORT).show();
-                        return;
-                    }
+        // US 02.02.02: Capture location if required
+        if (!event.isRequireGeolocation()) {
+            addUserToWaitingList(eventId, userId, null, null);
+            return;
+        }
 
-                    // Check if user is the organizer
-                    String organizerId = eventDoc.getString("organizer_id");
-                    if (organizerId != null && organizerId.equals(userId)) {
-                        Toast.makeText(context, "Organizers cannot join their own event", Toast.LENGTH_SHORT).show();
+        EventGeocoder.getInstance(context).resolveForEvent(eventId,
+                event.getLocationLatitude(), event.getLocationLongitude(), event.getLocation(),
+                (resolvedLat, resolvedLng) -> {
+                    if (resolvedLat == null || resolvedLng == null) {
+                        Toast.makeText(context, "Unable to verify event location. Please try again later.", Toast.LENGTH_LONG).show();
                         return;
                     }
-
-                    // US 02.02.02: Check if event requires geolocation
-                    Boolean requireGeo = eventDoc.getBoolean("require_geolocation");
-                    final boolean needsLocation = requireGeo != null && requireGeo;
-                    final Double eventLatitude = eventDoc.getDouble("location_latitude");
-                    final Double eventLongitude = eventDoc.getDouble("location_longitude");
-
-        final String locationText = eventDoc.getString("location");
-        resolveEventCoordinates(eventLatitude, eventLongitude, locationText, (resolvedLat, resolvedLng) -> {
-            // Check waiting list capacity after coordinates resolved (if needed)
-            db.collection("waiting_lists")
-                    .document(eventId)
-                    .get()
-                    .addOnSuccessListener(waitingListDoc -> {
-                        // Get total_capacity from waiting_lists collection
-                        final Long totalCapacity = waitingListDoc.exists()
-                                ? waitingListDoc.getLong("total_capacity")
-                                : null;
-
-                        // Check if user already in waiting list
-                        db.collection("waiting_lists")
-                                .document(eventId)
-                                .collection("entrants")
-                                .document(userId)
-                                .get()
-                                .addOnSuccessListener(entrantDoc -> {
-                                    if (entrantDoc.exists()) {
-                                        Toast.makeText(context, "You're already on the waiting list",
-                                                Toast.LENGTH_SHORT).show();
-                                        return;
-                                    }
-
-                                    // Count ALL entrants for capacity check
-                                    db.collection("waiting_lists")
-                                            .document(eventId)
-                                            .collection("entrants")
-                                            .get()
-                                            .addOnSuccessListener(querySnapshot -> {
-                                                int currentSize = querySnapshot.size();
-
-                                                // Only check limit if total_capacity is set and > 0
-                                                // null or 0 = unlimited waiting list
-                                                if (totalCapacity != null && totalCapacity > 0
-                                                        && currentSize >= totalCapacity) {
-                                                    Toast.makeText(context,
-                                                            "Waiting list is full (" + totalCapacity + " entrants)",
-                                                            Toast.LENGTH_SHORT).show();
-                                                    return;
-                                                }
-
-                                                // All checks passed - add user to waiting list
-                                                // US 02.02.02: Capture location if required
-                                                if (needsLocation) {
-                                                    if (resolvedLat == null || resolvedLng == null) {
-                                                        Toast.makeText(context, "Unable to verify event location. Please try again later.", Toast.LENGTH_LONG).show();
-                                                        return;
-                                                    }
-                                                    captureLocationAndAdd(eventId, userId, totalCapacity, resolvedLat, resolvedLng);
-                                                } else {
-                                                    addUserToWaitingList(eventId, userId, totalCapacity, null, null);
-                                                }
-                                            })
-                                            .addOnFailureListener(e -> {
-                                                Toast.makeText(context, "Error checking waiting list: " + e.getMessage(),
-                                                        Toast.LENGTH_SHORT).show();
-                                            });
-                                })
-                                .addOnFailureListener(e -> {
-                                    Toast.makeText(context, "Error checking your status: " + e.getMessage(),
-                                            Toast.LENGTH_SHORT).show();
-                                });
-                    })
-                    .addOnFailureListener(e -> {
-                        Toast.makeText(context, "Error accessing waiting list: " + e.getMessage(),
-                                Toast.LENGTH_SHORT).show();
-                    });
-        });
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(context, "Error accessing event: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
+                    captureLocationAndAdd(eventId, userId, resolvedLat, resolvedLng);
                 });
     }
 
     /**
      * Captures location and then adds user to waiting list
      */
-    private void captureLocationAndAdd(String eventId, String userId, Long totalCapacity, Double eventLatitude, Double eventLongitude) {
+    private void captureLocationAndAdd(String eventId, String userId, Double eventLatitude, Double eventLongitude) {
         LocationHelper locationHelper = new LocationHelper(context);
-        if (eventLatitude == null || eventLongitude == null) {
-            Toast.makeText(context, "Event coordinates unavailable. Unable to verify location.", Toast.LENGTH_LONG).show();
-            return;
-        }
-        
+
         // Check if permission is already granted
         if (locationHelper.hasLocationPermission()) {
             // Permission already granted, get location
@@ -404,7 +303,7 @@ public class EventAdapter extends ArrayAdapter<Event> {
                 if (latitude != null && longitude != null) {
                     Log.d("EventAdapter", "Location captured: " + latitude + ", " + longitude);
                     if (isWithinGeoRadius(eventLatitude, eventLongitude, latitude, longitude)) {
-                        addUserToWaitingList(eventId, userId, totalCapacity, latitude, longitude);
+                        addUserToWaitingList(eventId, userId, latitude, longitude);
                     } else {
                         Toast.makeText(context, "You must be within 5 km of the event to join.", Toast.LENGTH_LONG).show();
                     }
@@ -422,52 +321,21 @@ public class EventAdapter extends ArrayAdapter<Event> {
     }
 
     /**
-     * Helper method to add user to waiting list subcollection.
-     * Ensures waiting list document exists before adding entrant.
+     * Adds the user to the waiting list through {@link WaitingListService#join}.
      * US 02.02.02: Includes location data if provided.
      */
-    private void addUserToWaitingList(String eventId, String userId, Long totalCapacity, Double latitude, Double longitude) {
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-
-        // Ensure the waiting list document exists
-        Map<String, Object> waitingListData = new HashMap<>();
-        waitingListData.put("event_id", eventId);
-        waitingListData.put("created_at", FieldValue.serverTimestamp());
-        waitingListData.put("total_capacity", totalCapacity); // Preserve capacity
-
-        db.collection("waiting_lists")
-                .document(eventId)
-                .set(waitingListData, com.google.firebase.firestore.SetOptions.merge())
+    private void addUserToWaitingList(String eventId, String userId, Double latitude, Double longitude) {
+        new WaitingListService().join(eventId, userId, latitude, longitude)
                 .addOnSuccessListener(aVoid -> {
-                    // Now add user to entrants subcollection
-                    Map<String, Object> entrantData = new HashMap<>();
-                    entrantData.put("user_id", userId);
-                    entrantData.put("status", "waiting");
-                    entrantData.put("joined_date", FieldValue.serverTimestamp());
-                    
-                    // US 02.02.02: Add location data if available
-                    if (latitude != null && longitude != null) {
-                        entrantData.put("latitude", latitude);
-                        entrantData.put("longitude", longitude);
-                        entrantData.put("location_captured_at", FieldValue.serverTimestamp());
-                    }
-
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .collection("entrants")
-                            .document(userId)
-                            .set(entrantData)
-                            .addOnSuccessListener(aVoid2 -> {
-                                Toast.makeText(context, "Joined waiting list", Toast.LENGTH_SHORT).show();
-                            })
-                            .addOnFailureListener(e -> {
-                                Toast.makeText(context, "Error joining: " + e.getMessage(),
-                                        Toast.LENGTH_SHORT).show();
-                            });
+                    Toast.makeText(context, "Joined waiting list", Toast.LENGTH_SHORT).show();
                 })
                 .addOnFailureListener(e -> {
-                    Toast.makeText(context, "Error creating waiting list: " + e.getMessage(),
-                            Toast.LENGTH_SHORT).show();
+                    if (WaitingListService.getJoinRejection(e) != null) {
+                        Toast.makeText(context, e.getMessage(), Toast.LENGTH_SHORT).show();
+                    } else {
+                        Toast.makeText(context, "Error joining: " + e.getMessage(),
+                                Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
@@ -483,42 +351,4 @@ public class EventAdapter extends ArrayAdapter<Event> {
         return results[0] <= GEO_RADIUS_METERS;
     }
 
-    /**
-     * Attempts to resolve event coordinates from stored lat/lng or by geocoding the location text.
-     */
-    private void resolveEventCoordinates(Double storedLat, Double storedLng, String locationText, CoordinatesCallback callback) {
-        if (storedLat != null && storedLng != null) {
-            callback.onResult(storedLat, storedLng);
-            return;
-        }
-
-        if (locationText == null || locationText.trim().isEmpty() || !Geocoder.isPresent()) {
-            callback.onResult(null, null);
-            return;
-        }
-
-        new Thread(() -> {
-            Double lat = null;
-            Double lng = null;
-            try {
-                Geocoder geocoder = new Geocoder(context, Locale.getDefault());
-                List<Address> results = geocoder.getFromLocationName(locationText, 1);
-                if (results != null && !results.isEmpty()) {
-                    Address address = results.get(0);
-                    lat = address.getLatitude();
-                    lng = address.getLongitude();
-                }
-            } catch (Exception e) {
-                Log.e("EventAdapter", "Failed to geocode event location", e);
-            }
-
-            Double finalLat = lat;
-            Double finalLng = lng;
-            new Handler(Looper.getMainLooper()).post(() -> callback.onResult(finalLat, finalLng));
-        }).start();
-    }
-
-    private interface CoordinatesCallback {
-        void onResult(Double latitude, Double longitude);
-    }
 }
\ No newline at end of file
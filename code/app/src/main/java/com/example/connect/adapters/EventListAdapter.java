@@ -1,8 +1,5 @@
 package com.example.connect.adapters;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.util.Base64;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,6 +15,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.models.Event;
+import com.example.connect.utils.Base64ImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -208,23 +206,8 @@ public class EventListAdapter extends ListAdapter<Event, EventListAdapter.EventV
                 eventPrice.setTextColor(itemView.getContext().getResources().getColor(R.color.primary_gold));
             }
 
-            // Handle image
-            if (event.getImageBase64() != null && !event.getImageBase64().isEmpty()) {
-                try {
-                    byte[] decoded = Base64.decode(event.getImageBase64(), Base64.DEFAULT);
-                    Bitmap bmp = BitmapFactory.decodeByteArray(decoded, 0, decoded.length);
-                    if (bmp != null) {
-                        eventImage.setImageBitmap(bmp);
-                    } else {
-                        eventImage.setImageResource(R.drawable.placeholder_img);
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Error decoding image: " + e.getMessage());
-                    eventImage.setImageResource(R.drawable.placeholder_img);
-                }
-            } else {
-                eventImage.setImageResource(R.drawable.placeholder_img);
-            }
+            // Handle image (decoded off the main thread)
+            Base64ImageLoader.getInstance().bind(eventImage, event.getImageBase64(), R.drawable.placeholder_img);
 
             // Set up button clicks
             btnViewDetails.setOnClickListener(v -> {
@@ -1,9 +1,6 @@
 package com.example.connect.adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.util.Base64;
 import android.widget.Toast;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,8 +15,10 @@ import android.widget.TextView;
 
 import com.example.connect.R;
 import com.example.connect.models.Event;
+import com.example.connect.utils.Base64ImageLoader;
 import com.example.connect.utils.LotteryManager;
 import com.example.connect.utils.NotificationActionsHelper;
+import com.example.connect.utils.WaitingListService;
 import com.google.android.material.button.MaterialButton;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -119,18 +118,9 @@ public class MyEventsAdapter extends ArrayAdapter<Event> {
             time.setText(event.getDateTime() != null ? event.getDateTime() : "TBD");
             price.setText(priceFormat(event.getPrice()));
 
-            if (event.getImageBase64() != null && !event.getImageBase64().isEmpty()) {
-                try {
-                    byte[] decoded = Base64.decode(event.getImageBase64(), Base64.DEFAULT);
-                    Bitmap bmp = BitmapFactory.decodeByteArray(decoded, 0, decoded.length);
-                    if (bmp != null) eventImage.setImageBitmap(bmp);
-                    else eventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-                } catch (Exception e) {
-                    eventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-                }
-            } else {
-                eventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-            }
+            // Decoded off the main thread; the placeholder shows until then
+            Base64ImageLoader.getInstance().bind(eventImage, event.getImageBase64(),
+                    android.R.drawable.ic_menu_gallery);
         }
 
         // Buttons
@@ -191,11 +181,8 @@ public class MyEventsAdapter extends ArrayAdapter<Event> {
         btnLeave.setOnClickListener(v -> {
             if (event == null || event.getEventId() == null || currentUserId == null) return;
 
-            db.collection("waiting_lists")
-                    .document(event.getEventId())
-                    .collection("entrants")
-                    .document(currentUserId)
-                    .delete()
+            // Entrant, counters and My Events index change in one transaction
+            new WaitingListService(db).leave(event.getEventId(), currentUserId)
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(context, "Left waiting list", Toast.LENGTH_SHORT).show();
                         remove(event);
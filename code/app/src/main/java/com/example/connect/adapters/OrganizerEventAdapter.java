@@ -1,9 +1,5 @@
 package com.example.connect.adapters;
 
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.util.Base64;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -18,6 +14,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.connect.R;
 import com.example.connect.models.Event;
+import com.example.connect.utils.Base64ImageLoader;
 import com.google.android.material.button.MaterialButton;
 
 /**
@@ -122,27 +119,11 @@ public class OrganizerEventAdapter extends ListAdapter<Event, OrganizerEventAdap
             }
             tvDescription.setText(description != null ? description : "No description");
 
-            // Load event image
-            if (event.getImageBase64() != null && !event.getImageBase64().isEmpty()) {
-                try {
-                    byte[] decoded = Base64.decode(event.getImageBase64(), Base64.DEFAULT);
-                    Bitmap bmp = BitmapFactory.decodeByteArray(decoded, 0, decoded.length);
-                    if (bmp != null) {
-                        ivEventImage.setImageBitmap(bmp);
-                        ivAddIcon.setVisibility(View.GONE);
-                    } else {
-                        ivEventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-                        ivAddIcon.setVisibility(View.VISIBLE);
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "Error decoding image: " + e.getMessage());
-                    ivEventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-                    ivAddIcon.setVisibility(View.VISIBLE);
-                }
-            } else {
-                ivEventImage.setImageResource(android.R.drawable.ic_menu_gallery);
-                ivAddIcon.setVisibility(View.VISIBLE);
-            }
+            // Load event image (decoded off the main thread)
+            String imageBase64 = event.getImageBase64();
+            boolean hasImage = imageBase64 != null && !imageBase64.isEmpty();
+            Base64ImageLoader.getInstance().bind(ivEventImage, imageBase64, android.R.drawable.ic_menu_gallery);
+            ivAddIcon.setVisibility(hasImage ? View.GONE : View.VISIBLE);
 
             // Clear old listeners to prevent conflicts
             btnEditEvent.setOnClickListener(null);
@@ -0,0 +1,65 @@
+package com.example.connect.adapters;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base adapter for lists that grow a page at a time.
+ * <p>
+ * {@link #setItems} replaces the list (first page, new search) and {@link #appendItems}
+ * adds a page at the end with a range insert, so rows already on screen are neither
+ * rebound nor re-laid out when more arrive. Subclasses only bind rows.
+ *
+ * @param <T>  the item type
+ * @param <VH> the view holder type
+ * @author Zenith Team
+ * @version 1.0
+ */
+public abstract class PagingListAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private final List<T> items = new ArrayList<>();
+
+    /**
+     * Replaces every item.
+     */
+    public void setItems(List<T> newItems) {
+        items.clear();
+        if (newItems != null) {
+            items.addAll(newItems);
+        }
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Adds a page of items at the end of the list.
+     */
+    public void appendItems(List<T> page) {
+        if (page == null || page.isEmpty()) return;
+        int start = items.size();
+        items.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Removes one item, e.g. after it was deleted.
+     */
+    public void removeItem(T item) {
+        int position = items.indexOf(item);
+        if (position >= 0) {
+            items.remove(position);
+            notifyItemRemoved(position);
+        }
+    }
+
+    public T getItem(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.connect.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Scroll listener that asks for the next page when the user scrolls close to the end
+ * of a list backed by a paged query.
+ * <p>
+ * Attach it to a RecyclerView using a {@link LinearLayoutManager}; {@link LoadMoreListener#onLoadMore()}
+ * is called once the last visible item is within {@code threshold} items of the end.
+ * Duplicate calls are expected and should be ignored by the pager while a page is loading.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class PagingScrollListener extends RecyclerView.OnScrollListener {
+
+    /**
+     * Called when more items should be loaded.
+     */
+    public interface LoadMoreListener {
+        void onLoadMore();
+    }
+
+    private static final int DEFAULT_THRESHOLD = 5;
+
+    private final LinearLayoutManager layoutManager;
+    private final LoadMoreListener listener;
+    private final int threshold;
+
+    public PagingScrollListener(LinearLayoutManager layoutManager, LoadMoreListener listener) {
+        this(layoutManager, listener, DEFAULT_THRESHOLD);
+    }
+
+    public PagingScrollListener(LinearLayoutManager layoutManager, LoadMoreListener listener, int threshold) {
+        this.layoutManager = layoutManager;
+        this.listener = listener;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy <= 0) return;
+
+        int total = layoutManager.getItemCount();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (total > 0 && lastVisible >= total - 1 - threshold) {
+            listener.onLoadMore();
+        }
+    }
+}
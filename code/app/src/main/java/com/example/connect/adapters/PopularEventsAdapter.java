@@ -1,9 +1,6 @@
 package com.example.connect.adapters;
 
 import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.util.Base64;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -16,6 +13,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
 import com.example.connect.R;
 import com.example.connect.models.Event;
+import com.example.connect.utils.Base64ImageLoader;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -107,6 +105,7 @@ public class PopularEventsAdapter extends RecyclerView.Adapter<PopularEventsAdap
         String imageBase64 = event.getImageBase64();
 
         if (imageUrl != null && !imageUrl.trim().isEmpty()) {
+            Base64ImageLoader.getInstance().cancel(target);
             Glide.with(context)
                     .load(imageUrl)
                     .placeholder(R.drawable.placeholder_img)
@@ -116,22 +115,10 @@ public class PopularEventsAdapter extends RecyclerView.Adapter<PopularEventsAdap
             return;
         }
 
-        if (imageBase64 != null && !imageBase64.trim().isEmpty()) {
-            try {
-                byte[] decoded = Base64.decode(imageBase64, Base64.DEFAULT);
-                Bitmap bitmap = BitmapFactory.decodeByteArray(decoded, 0, decoded.length);
-                if (bitmap != null) {
-                    target.setImageBitmap(bitmap);
-                    target.setScaleType(ImageView.ScaleType.CENTER_CROP);
-                    return;
-                }
-            } catch (IllegalArgumentException ignored) {
-                // fall through to placeholder
-            }
-        }
-
+        // Decoded off the main thread; the placeholder shows until then
+        Glide.with(context).clear(target);
         target.setScaleType(ImageView.ScaleType.CENTER_CROP);
-        target.setImageResource(R.drawable.placeholder_img);
+        Base64ImageLoader.getInstance().bind(target, imageBase64, R.drawable.placeholder_img);
     }
 }
 
@@ -15,6 +15,9 @@ import androidx.fragment.app.DialogFragment;
 
 import com.example.connect.R;
 import com.example.connect.models.Report;
+import com.example.connect.models.User;
+import com.example.connect.network.CurrentUserRepository;
+import com.example.connect.network.UserProfileLoader;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 /**
@@ -132,6 +135,14 @@ public class ReportDetailsDialogFragment extends DialogFragment {
             return;
         }
 
+        // Serve the name from memory when the reporter's profile is already loaded
+        User cached = cachedProfile(reporterId);
+        if (cached != null) {
+            String displayName = (cached.getName() != null) ? cached.getName() : "No Name Found";
+            tvReporter.setText(String.format("Reported by: %s\n(ID: %s)", displayName, reporterId));
+            return;
+        }
+
         // Show the ID immediately
         tvReporter.setText(String.format("ID: %s (Loading name...)", reporterId));
 
@@ -156,4 +167,18 @@ public class ReportDetailsDialogFragment extends DialogFragment {
                     tvReporter.setText(String.format("Error fetching name\n(ID: %s)", reporterId));
                 });
     }
+
+    /**
+     * Looks for the user's profile in the signed-in user's repository or the shared profile cache.
+     *
+     * @param userId The ID of the user to look up
+     * @return the cached profile, or null if it has to be read from Firestore
+     */
+    private User cachedProfile(String userId) {
+        CurrentUserRepository.Profile current = CurrentUserRepository.getInstance().getCached();
+        if (current != null && current.exists() && userId.equals(current.getUserId())) {
+            return current.getUser();
+        }
+        return UserProfileLoader.getInstance().getCached(userId);
+    }
 }
\ No newline at end of file
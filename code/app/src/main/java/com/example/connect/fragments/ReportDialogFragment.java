@@ -1,6 +1,7 @@
 package com.example.connect.fragments;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.text.InputFilter;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -15,9 +16,9 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.DialogFragment;
 
 import com.example.connect.R;
+import com.example.connect.network.Repositories;
+import com.example.connect.utils.SearchTokens;
 import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -107,25 +108,29 @@ public class ReportDialogFragment extends DialogFragment {
             return;
         }
 
-        // Prepare data map for Firestore
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        // Prepare data map for Firestore; Reports stamps the time and the pending status
         Map<String, Object> report = new HashMap<>();
         report.put("event_id", eventId);
         report.put("reporter_id", userId);
         report.put("description", description.trim());
         report.put("severity_rating", rating);
-        report.put("timestamp", FieldValue.serverTimestamp());
-        report.put("status", "pending"); // Initial status for review
+        SearchTokens.putFromFields(report, SearchTokens.REPORT_FIELDS);
 
         // Save to Firestore
-        db.collection("reports")
-                .add(report)
-                .addOnSuccessListener(documentReference -> {
+        Repositories.reports()
+                .submit(report)
+                .handle((reportId, e) -> {
+                    if (e != null) {
+                        Toast.makeText(getContext(), "Failed to submit report. Please try again.", Toast.LENGTH_SHORT).show();
+                        return null;
+                    }
                     Toast.makeText(getContext(), "Report submitted successfully! Thank you.", Toast.LENGTH_SHORT).show();
                     dismiss();
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(getContext(), "Failed to submit report. Please try again.", Toast.LENGTH_SHORT).show();
+                .exceptionally(e -> {
+                    Log.e("ReportDialogFragment", "Error after submitting report", e);
+                    return null;
                 });
     }
 }
\ No newline at end of file
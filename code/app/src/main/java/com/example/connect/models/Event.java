@@ -1,5 +1,6 @@
 package com.example.connect.models;
 
+import com.example.connect.utils.EventFilters;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentId;
 import com.google.firebase.firestore.PropertyName;
@@ -10,7 +11,7 @@ import java.util.Objects;
 /**
  * Represents a single event in the Event Planner system.
  */
-public class Event {
+public class Event implements EventFilters.Filterable {
 
     @DocumentId
     private String eventId;
@@ -39,6 +40,10 @@ public class Event {
     @PropertyName("org_name")
     private String organizerId;
 
+    // Uid of the account that created the event; org_name above is a display name
+    @PropertyName("organizer_id")
+    private String organizerUid;
+
     @PropertyName("imageUrl")
     private String imageUrl;
 
@@ -159,6 +164,12 @@ public class Event {
     @PropertyName("org_name")
     public void setOrganizerId(String organizerId) { this.organizerId = organizerId; }
 
+    @PropertyName("organizer_id")
+    public String getOrganizerUid() { return organizerUid; }
+
+    @PropertyName("organizer_id")
+    public void setOrganizerUid(String organizerUid) { this.organizerUid = organizerUid; }
+
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
 
@@ -266,22 +277,24 @@ public class Event {
                 Objects.equals(locationLongitude, event.locationLongitude) &&
                 Objects.equals(price, event.price) &&
                 Objects.equals(organizerId, event.organizerId) &&
+                Objects.equals(organizerUid, event.organizerUid) &&
                 Objects.equals(imageUrl, event.imageUrl) &&
-                Objects.equals(imageBase64, event.imageBase64) &&
                 Objects.equals(category, event.category) &&
                 Objects.equals(labels, event.labels) &&
                 Objects.equals(regStart, event.regStart) &&
                 Objects.equals(regStop, event.regStop) &&
                 Objects.equals(endTime, event.endTime) &&
                 Objects.equals(drawDate, event.drawDate) &&
-                Objects.equals(waitingListCount, event.waitingListCount);
+                Objects.equals(waitingListCount, event.waitingListCount) &&
+                // Poster images run to hundreds of KB; compare them only when all else matches
+                Objects.equals(imageBase64, event.imageBase64);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(eventId, name, description, dateTime, location, locationLatitude,
                 locationLongitude, price,
-                maxParticipants, currentParticipants, organizerId, imageUrl, imageBase64,
+                maxParticipants, currentParticipants, organizerId, organizerUid, imageUrl, imageBase64,
                 category, labels, regStart, regStop, waitingListCount, drawCapacity, endTime,
                 drawCompleted, drawDate, selectedCount);
     }
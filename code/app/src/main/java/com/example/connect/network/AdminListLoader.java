@@ -0,0 +1,210 @@
+package com.example.connect.network;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.connect.utils.SearchTokens;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cursor-paged, searchable list of documents for the admin screens.
+ * <p>
+ * A {@link Source} describes one kind of list: the ordered queries to page through, with
+ * or without a search token, how a document becomes an item, and how an item is matched
+ * against the full search text. Without a search the source's plain queries are paged;
+ * with one, the queries filter on {@link SearchTokens#FIELD} and every page is narrowed
+ * down with {@link Source#matches} so multi-word searches behave like the old local filter.
+ * <p>
+ * Pages are read through a {@link QueryChainPager}, so opening a screen costs one page of
+ * reads however large the collection is. Documents are parsed and matched on a background
+ * executor and pages are delivered on the main thread. If a page leaves fewer than a page
+ * worth of items on screen (e.g. skipped documents) the next page is requested right away,
+ * so the list always fills the screen and can be scrolled for more.
+ * <p>
+ * Starting a new search drops any page still in flight for the previous one. Not
+ * thread-safe; call from the main thread.
+ *
+ * @param <T> the item type shown in the list
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class AdminListLoader<T> {
+
+    private static final String TAG = "AdminListLoader";
+
+    /** Documents read per page. */
+    public static final int PAGE_SIZE = 25;
+
+    // Parsing is short and ordered per screen, so one shared thread is enough
+    private static final ExecutorService PARSE_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    /**
+     * Describes one admin list.
+     *
+     * @param <T> the item type
+     */
+    public interface Source<T> {
+        /**
+         * @param token search token from {@link SearchTokens#queryToken}, or null for the
+         *              unfiltered list
+         * @return the ordered queries to page through, one after the other
+         */
+        List<Query> queries(String token);
+
+        /**
+         * @return the item for a document, or null to leave the document out
+         */
+        T parse(DocumentSnapshot document);
+
+        /**
+         * @return true if the item matches every word of the search text
+         */
+        boolean matches(T item, String searchText);
+    }
+
+    /**
+     * Receives pages on the main thread.
+     *
+     * @param <T> the item type
+     */
+    public interface Listener<T> {
+        /**
+         * @param items     the items on this page
+         * @param firstPage true if the items replace the list rather than extend it
+         * @param hasMore   false once the list is complete
+         */
+        void onPage(List<T> items, boolean firstPage, boolean hasMore);
+
+        void onFailure(Exception e);
+    }
+
+    private final Source<T> source;
+    private final Listener<T> listener;
+    private final Executor background;
+    private final Executor main;
+    private final int pageSize;
+
+    private QueryChainPager pager;
+    private String searchText = "";
+    private boolean loading;
+    private int shownCount;
+    private int generation;
+
+    public AdminListLoader(Source<T> source, Listener<T> listener) {
+        this(source, listener, PARSE_EXECUTOR, new Handler(Looper.getMainLooper())::post, PAGE_SIZE);
+    }
+
+    public AdminListLoader(Source<T> source, Listener<T> listener,
+                           Executor background, Executor main, int pageSize) {
+        this.source = source;
+        this.listener = listener;
+        this.background = background;
+        this.main = main;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return the search text the current list was loaded for.
+     */
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    public boolean hasMore() {
+        return pager == null || pager.hasMore();
+    }
+
+    /**
+     * Starts the list again from its first page for the given search text.
+     */
+    public void search(String text) {
+        searchText = text != null ? text.trim() : "";
+        generation++;
+        loading = false;
+        shownCount = 0;
+        pager = new QueryChainPager(source.queries(SearchTokens.queryToken(searchText)), pageSize);
+        loadMore();
+    }
+
+    /**
+     * Reloads the current search from the first page, e.g. after a delete.
+     */
+    public void refresh() {
+        search(searchText);
+    }
+
+    /**
+     * Requests the next page. Does nothing while a page is loading or once the list is complete.
+     */
+    public void loadMore() {
+        if (pager == null) {
+            search(searchText);
+            return;
+        }
+        if (loading || !pager.hasMore()) return;
+        loading = true;
+
+        int requestGeneration = generation;
+        boolean firstPage = !pager.hasStarted();
+        String text = searchText;
+        pager.loadNextPage(new QueryPager.PageCallback() {
+            @Override
+            public void onPage(List<DocumentSnapshot> documents, boolean hasMore) {
+                if (requestGeneration != generation) return;
+                background.execute(() -> {
+                    List<T> items = toItems(documents, text);
+                    main.execute(() -> deliver(requestGeneration, items, firstPage, hasMore));
+                });
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (requestGeneration != generation) return;
+                loading = false;
+                Log.e(TAG, "Error loading page for \"" + text + "\"", e);
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private List<T> toItems(List<DocumentSnapshot> documents, String text) {
+        List<T> items = new ArrayList<>(documents.size());
+        for (DocumentSnapshot document : documents) {
+            T item;
+            try {
+                item = source.parse(document);
+            } catch (RuntimeException e) {
+                // One malformed document should not hide the rest of the page
+                Log.w(TAG, "Skipping unreadable document " + document.getId(), e);
+                continue;
+            }
+            if (item != null && (text.isEmpty() || source.matches(item, text))) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private void deliver(int requestGeneration, List<T> items, boolean firstPage, boolean hasMore) {
+        if (requestGeneration != generation) return;
+        loading = false;
+        shownCount = firstPage ? items.size() : shownCount + items.size();
+        listener.onPage(items, firstPage, hasMore);
+
+        if (hasMore && shownCount < pageSize) {
+            loadMore();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.connect.network;
+
+import com.example.connect.adapters.AdminImageAdapter;
+import com.example.connect.models.Event;
+import com.example.connect.models.Report;
+import com.example.connect.models.User;
+import com.example.connect.utils.SearchTokens;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link AdminListLoader.Source}s behind the admin management screens.
+ * <p>
+ * Every list is ordered by document id: it is the only order that keeps documents lacking
+ * a field in the list, and it lets a token search use the single-field index on
+ * {@link SearchTokens#FIELD} without a composite index. Documents written before the token
+ * index existed are found by the unfiltered list right away and by searches once
+ * {@code SearchTokenBackfillWorker} has indexed them.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class AdminListSources {
+
+    private AdminListSources() {
+    }
+
+    /**
+     * Every event, searchable by title, organizer name or organizer id.
+     */
+    public static AdminListLoader.Source<Event> events(FirebaseFirestore db) {
+        return new AdminListLoader.Source<Event>() {
+            @Override
+            public List<Query> queries(String token) {
+                return Collections.singletonList(byId(db.collection("events"), token));
+            }
+
+            @Override
+            public Event parse(DocumentSnapshot document) {
+                Event event = document.toObject(Event.class);
+                if (event != null) {
+                    event.setEventId(document.getId());
+                }
+                return event;
+            }
+
+            @Override
+            public boolean matches(Event event, String searchText) {
+                return SearchTokens.matches(searchText, event.getName(), event.getOrganizerId());
+            }
+        };
+    }
+
+    /**
+     * Every account that is neither an admin nor disabled.
+     */
+    public static AdminListLoader.Source<User> profiles(FirebaseFirestore db) {
+        return new AccountSource(db, false);
+    }
+
+    /**
+     * Every organizer account that is not disabled.
+     */
+    public static AdminListLoader.Source<User> organizers(FirebaseFirestore db) {
+        return new AccountSource(db, true);
+    }
+
+    /**
+     * Every report, searchable by description or reported event id.
+     */
+    public static AdminListLoader.Source<Report> reports(FirebaseFirestore db) {
+        return new AdminListLoader.Source<Report>() {
+            @Override
+            public List<Query> queries(String token) {
+                return Collections.singletonList(byId(db.collection("reports"), token));
+            }
+
+            @Override
+            public Report parse(DocumentSnapshot document) {
+                Report report = document.toObject(Report.class);
+                if (report != null) {
+                    report.setReportId(document.getId());
+                }
+                return report;
+            }
+
+            @Override
+            public boolean matches(Report report, String searchText) {
+                return SearchTokens.matches(searchText,
+                        report.getDescription(), report.getReportedItemId());
+            }
+        };
+    }
+
+    /**
+     * Every indexed image, searchable by display name or related event / user id. Only the
+     * {@code images} metadata is read; thumbnails are loaded as rows are shown.
+     */
+    public static AdminListLoader.Source<AdminImageAdapter.ImageItem> images(FirebaseFirestore db) {
+        return new AdminListLoader.Source<AdminImageAdapter.ImageItem>() {
+            @Override
+            public List<Query> queries(String token) {
+                return Collections.singletonList(byId(db.collection(ImageIndex.COLLECTION), token));
+            }
+
+            @Override
+            public AdminImageAdapter.ImageItem parse(DocumentSnapshot document) {
+                return imageOf(document);
+            }
+
+            @Override
+            public boolean matches(AdminImageAdapter.ImageItem image, String searchText) {
+                return SearchTokens.matches(searchText, image.displayName, image.relatedId);
+            }
+        };
+    }
+
+    /**
+     * @return the gallery item for an {@code images} entry, or null if it is incomplete.
+     */
+    static AdminImageAdapter.ImageItem imageOf(DocumentSnapshot doc) {
+        String type = doc.getString(ImageIndex.FIELD_TYPE);
+        String relatedId = doc.getString(ImageIndex.FIELD_RELATED_ID);
+        if (type == null || relatedId == null) return null;
+
+        AdminImageAdapter.ImageItem image = new AdminImageAdapter.ImageItem(doc.getId(),
+                doc.getString(ImageIndex.FIELD_URL), type, relatedId,
+                doc.getString(ImageIndex.FIELD_DISPLAY_NAME));
+        image.thumbnailRef = doc.getString(ImageIndex.FIELD_THUMBNAIL_REF);
+        return image;
+    }
+
+    private static Query byId(CollectionReference collection, String token) {
+        Query query = token != null
+                ? collection.whereArrayContains(SearchTokens.FIELD, token)
+                : collection;
+        return query.orderBy(FieldPath.documentId());
+    }
+
+    /**
+     * Accounts, optionally only organizers. Admins and disabled accounts are left out.
+     */
+    private static class AccountSource implements AdminListLoader.Source<User> {
+        private final FirebaseFirestore db;
+        private final boolean organizersOnly;
+
+        AccountSource(FirebaseFirestore db, boolean organizersOnly) {
+            this.db = db;
+            this.organizersOnly = organizersOnly;
+        }
+
+        @Override
+        public List<Query> queries(String token) {
+            Query accounts = db.collection("accounts");
+            if (organizersOnly) {
+                accounts = accounts.whereEqualTo("organizer", true);
+            }
+            if (token != null) {
+                accounts = accounts.whereArrayContains(SearchTokens.FIELD, token);
+            }
+            return Collections.singletonList(accounts.orderBy(FieldPath.documentId()));
+        }
+
+        @Override
+        public User parse(DocumentSnapshot document) {
+            if (Boolean.TRUE.equals(document.getBoolean("disabled"))) return null;
+            // The organizer list has always shown organizers whatever their other roles
+            if (!organizersOnly && document.contains("admin")) return null;
+
+            User user = document.toObject(User.class);
+            if (user != null) {
+                user.setUserId(document.getId());
+            }
+            return user;
+        }
+
+        @Override
+        public boolean matches(User user, String searchText) {
+            return SearchTokens.matches(searchText,
+                    user.getName(), user.getFullName(), user.getEmail(), user.getUserId());
+        }
+    }
+}
@@ -0,0 +1,578 @@
+package com.example.connect.network;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.connect.data.ChunkedBatch;
+import com.example.connect.utils.EntrantCounters;
+import com.example.connect.utils.MyEventsIndex;
+import com.example.connect.utils.NotificationHelper;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes a user and everything that depends on them: the events they organize (with their
+ * waiting lists, counters and poster), their own waiting-list memberships, their place in
+ * other events' {@code chosen_entrants}/{@code enrolled_users}, and finally their account.
+ * <p>
+ * Dependents are found with indexed queries only ({@code events.organizer_id}, the
+ * {@code entrants} collection group on {@code user_id}, and {@code array-contains} on the
+ * event arrays), read a page at a time and deleted in batches that never exceed Firestore's
+ * {@value #MAX_BATCH_WRITES}-write limit. Up to {@value #MAX_PARALLEL_EVENTS} organized
+ * events are torn down at once.
+ * <p>
+ * Progress is checkpointed in {@code cascade_deletes/{userId}} after every page. Each phase
+ * re-queries what is left rather than keeping a cursor, so a cascade that was interrupted
+ * (app killed, network lost) picks up where it stopped when it is run again, either by the
+ * same call or by {@link #resumePending(Resumer)}.
+ * <p>
+ * {@link #delete} runs in the background and reports to the main thread;
+ * {@link #run} is the blocking form for callers already off the main thread.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class CascadeDeleter {
+
+    private static final String TAG = "CascadeDeleter";
+
+    public static final String COLLECTION = "cascade_deletes";
+    public static final String FIELD_USER_ID = "user_id";
+    public static final String FIELD_MODE = "mode";
+    public static final String FIELD_NOTIFY = "notify_entrants";
+    public static final String FIELD_PHASE = "phase";
+    public static final String FIELD_STATE = "state";
+    public static final String FIELD_EVENTS_DELETED = "events_deleted";
+    public static final String FIELD_ENTRANTS_REMOVED = "entrants_removed";
+    public static final String FIELD_MEMBERSHIPS_REMOVED = "memberships_removed";
+    public static final String FIELD_UPDATED_AT = "updated_at";
+
+    public static final String STATE_RUNNING = "running";
+    public static final String STATE_DONE = "done";
+
+    /** Firestore's limit on writes in one batch. */
+    static final int MAX_BATCH_WRITES = 500;
+    static final int EVENT_PAGE_SIZE = 20;
+    static final int ENTRANT_PAGE_SIZE = 200;
+    static final int MEMBERSHIP_PAGE_SIZE = 100;
+    static final int MAX_PARALLEL_EVENTS = 4;
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private static final String CANCELLED_TITLE = "Event Cancelled ❌";
+    private static final String CANCELLED_TYPE = "event_Cancelled";
+
+    private static CascadeDeleter instance;
+
+    private final FirebaseFirestore db;
+    private final NotificationHelper notificationHelper;
+    private final Executor runner;
+    private final ExecutorService eventPool;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * What happens to the account document once its dependents are gone.
+     */
+    public enum Mode {
+        /** Keep the document with {@code disabled=true} so the account cannot be recreated. */
+        DISABLE_ACCOUNT,
+        /** Delete the document (the user is deleting themselves). */
+        DELETE_ACCOUNT
+    }
+
+    /**
+     * Steps of a cascade, in the order they run.
+     */
+    public enum Phase {
+        EVENTS, MEMBERSHIPS, EVENT_ARRAYS, ACCOUNT, DONE
+    }
+
+    /**
+     * Snapshot of how far a cascade has got.
+     */
+    public static class Progress {
+        private Phase phase = Phase.EVENTS;
+        private int eventsDeleted;
+        private int entrantsRemoved;
+        private int membershipsRemoved;
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public int getEventsDeleted() {
+            return eventsDeleted;
+        }
+
+        public int getEntrantsRemoved() {
+            return entrantsRemoved;
+        }
+
+        public int getMembershipsRemoved() {
+            return membershipsRemoved;
+        }
+
+        /**
+         * @return a short status line for the UI.
+         */
+        public String describe() {
+            switch (phase) {
+                case EVENTS:
+                    return "Deleting events… " + eventsDeleted + " removed";
+                case MEMBERSHIPS:
+                    return "Leaving waiting lists… " + membershipsRemoved + " removed";
+                case EVENT_ARRAYS:
+                    return "Removing from event lists…";
+                case ACCOUNT:
+                    return "Updating account…";
+                default:
+                    return "Done";
+            }
+        }
+
+        Progress copy() {
+            Progress copy = new Progress();
+            copy.phase = phase;
+            copy.eventsDeleted = eventsDeleted;
+            copy.entrantsRemoved = entrantsRemoved;
+            copy.membershipsRemoved = membershipsRemoved;
+            return copy;
+        }
+    }
+
+    /**
+     * Receives progress updates.
+     */
+    public interface ProgressCallback {
+        void onProgress(Progress progress);
+    }
+
+    /**
+     * Receives the progress and outcome of {@link #delete}, on the main thread.
+     */
+    public interface Listener extends ProgressCallback {
+        void onComplete(Progress progress);
+
+        void onFailure(Exception e);
+    }
+
+    public static synchronized CascadeDeleter getInstance() {
+        if (instance == null) {
+            instance = new CascadeDeleter(FirebaseFirestore.getInstance(), new NotificationHelper(),
+                    Executors.newSingleThreadExecutor(),
+                    Executors.newFixedThreadPool(MAX_PARALLEL_EVENTS));
+        }
+        return instance;
+    }
+
+    protected CascadeDeleter(FirebaseFirestore db, NotificationHelper notificationHelper,
+                             Executor runner, ExecutorService eventPool) {
+        this.db = db;
+        this.notificationHelper = notificationHelper;
+        this.runner = runner;
+        this.eventPool = eventPool;
+    }
+
+    /**
+     * Runs (or resumes) the cascade for one user in the background.
+     *
+     * @param notifyEntrants whether entrants of the user's events are told they were cancelled
+     */
+    public void delete(String userId, Mode mode, boolean notifyEntrants, Listener listener) {
+        runner.execute(() -> runAndReport(userId, mode, notifyEntrants, listener));
+    }
+
+    /**
+     * Receives each cascade found by {@link #resumePending(Resumer)}.
+     */
+    public interface Resumer {
+        void resume(String userId, Mode mode, boolean notifyEntrants);
+    }
+
+    /**
+     * Finds every cascade whose checkpoint is still marked running, e.g. because the device
+     * that started it was closed half way, and hands each one to {@code resumer} on a
+     * background thread. The resumer should schedule it through the same unique work as a
+     * fresh request, so a cascade whose job is still retrying is not run twice.
+     */
+    public void resumePending(Resumer resumer) {
+        runner.execute(() -> {
+            try {
+                QuerySnapshot pending = await(db.collection(COLLECTION)
+                        .whereEqualTo(FIELD_STATE, STATE_RUNNING)
+                        .get());
+                for (DocumentSnapshot checkpoint : pending.getDocuments()) {
+                    Mode mode = modeOf(checkpoint.getString(FIELD_MODE));
+                    boolean notify = Boolean.TRUE.equals(checkpoint.getBoolean(FIELD_NOTIFY));
+                    Log.d(TAG, "Resuming cascade for " + checkpoint.getId());
+                    resumer.resume(checkpoint.getId(), mode, notify);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error loading pending cascades", e);
+            }
+        });
+    }
+
+    private void runAndReport(String userId, Mode mode, boolean notifyEntrants, Listener listener) {
+        try {
+            Progress progress = run(userId, mode, notifyEntrants,
+                    update -> mainHandler.post(() -> listener.onProgress(update)));
+            mainHandler.post(() -> listener.onComplete(progress));
+        } catch (Exception e) {
+            Log.e(TAG, "Cascade failed for " + userId, e);
+            mainHandler.post(() -> listener.onFailure(e));
+        }
+    }
+
+    /**
+     * Runs (or resumes) the cascade for one user, blocking until it has finished.
+     * Must not be called on the main thread.
+     *
+     * @param callback receives a copy of the progress after every page, on the calling thread
+     * @return the final progress
+     */
+    public Progress run(String userId, Mode mode, boolean notifyEntrants,
+                        ProgressCallback callback) throws Exception {
+        DocumentReference checkpointRef = db.collection(COLLECTION).document(userId);
+        Progress progress = restore(await(FirestoreMetrics.read("CascadeDeleter.checkpoint", checkpointRef.get())), mode);
+        writeCheckpoint(checkpointRef, userId, mode, notifyEntrants, progress, STATE_RUNNING);
+
+        if (progress.phase == Phase.EVENTS) {
+            deleteOrganizedEvents(userId, notifyEntrants, checkpointRef, mode, progress, callback);
+            progress.phase = Phase.MEMBERSHIPS;
+        }
+        if (progress.phase == Phase.MEMBERSHIPS) {
+            leaveWaitingLists(userId, checkpointRef, mode, notifyEntrants, progress, callback);
+            progress.phase = Phase.EVENT_ARRAYS;
+        }
+        if (progress.phase == Phase.EVENT_ARRAYS) {
+            writeCheckpoint(checkpointRef, userId, mode, notifyEntrants, progress, STATE_RUNNING);
+            callback.onProgress(progress.copy());
+            removeFromEventArrays(userId);
+            progress.phase = Phase.ACCOUNT;
+        }
+        if (progress.phase == Phase.ACCOUNT) {
+            writeCheckpoint(checkpointRef, userId, mode, notifyEntrants, progress, STATE_RUNNING);
+            callback.onProgress(progress.copy());
+            finishAccount(userId, mode, notifyEntrants, checkpointRef, progress);
+        }
+        return progress.copy();
+    }
+
+    // ---- Phase 1: events the user organizes ----
+
+    private void deleteOrganizedEvents(String userId, boolean notifyEntrants, DocumentReference checkpointRef,
+                                       Mode mode, Progress progress, ProgressCallback callback) throws Exception {
+        Query organized = db.collection("events")
+                .whereEqualTo("organizer_id", userId)
+                .limit(EVENT_PAGE_SIZE);
+        while (true) {
+            // Deleted events drop out of the query, so every page is simply "what is left"
+            List<DocumentSnapshot> events = await(FirestoreMetrics.read("CascadeDeleter.events", organized.get())).getDocuments();
+            if (events.isEmpty()) return;
+
+            List<Future<Integer>> pending = new ArrayList<>();
+            for (DocumentSnapshot event : events) {
+                // Pool threads would otherwise bill their calls to the screen in front
+                pending.add(eventPool.submit(FirestoreMetrics.inCurrentScope(
+                        () -> deleteEvent(event, notifyEntrants))));
+            }
+            for (Future<Integer> result : pending) {
+                progress.entrantsRemoved += unwrap(result);
+                progress.eventsDeleted++;
+                callback.onProgress(progress.copy());
+            }
+            writeCheckpoint(checkpointRef, userId, mode, notifyEntrants, progress, STATE_RUNNING);
+
+            if (events.size() < EVENT_PAGE_SIZE) return;
+        }
+    }
+
+    /**
+     * Deletes one event with its entrants, counters, waiting list and poster. The event
+     * document goes last, so an interrupted run finds the event again and finishes it.
+     *
+     * @return the number of entrants removed
+     */
+    private int deleteEvent(DocumentSnapshot event, boolean notifyEntrants) throws Exception {
+        String eventId = event.getId();
+        DocumentReference waitingList = db.collection("waiting_lists").document(eventId);
+        Set<String> affectedUsers = new LinkedHashSet<>();
+        addAll(affectedUsers, event.get("chosen_entrants"));
+        addAll(affectedUsers, event.get("enrolled_users"));
+        if (notifyEntrants) {
+            addAll(affectedUsers, await(FirestoreMetrics.read("CascadeDeleter.waitingList", waitingList.get())).get("entries"));
+        }
+
+        ChunkedBatch<WriteBatch> batch = newBatch();
+        int removed = 0;
+        DocumentSnapshot last = null;
+        while (true) {
+            Query page = waitingList.collection("entrants")
+                    .orderBy(FieldPath.documentId())
+                    .limit(ENTRANT_PAGE_SIZE);
+            if (last != null) {
+                page = page.startAfter(last);
+            }
+            List<DocumentSnapshot> entrants = await(FirestoreMetrics.read("CascadeDeleter.entrants", page.get())).getDocuments();
+            for (DocumentSnapshot entrant : entrants) {
+                String entrantId = entrant.getString("user_id");
+                if (entrantId == null) entrantId = entrant.getId();
+                affectedUsers.add(entrantId);
+
+                WriteBatch writes = batch.reserve(2);
+                writes.delete(entrant.getReference());
+                MyEventsIndex.remove(writes, db, entrantId, eventId);
+                removed++;
+            }
+            if (entrants.size() < ENTRANT_PAGE_SIZE) break;
+            last = entrants.get(entrants.size() - 1);
+        }
+
+        for (DocumentSnapshot shard : await(FirestoreMetrics.read("CascadeDeleter.shards", EntrantCounters.shards(db, eventId).get())).getDocuments()) {
+            batch.reserve(1).delete(shard.getReference());
+        }
+
+        WriteBatch writes = batch.reserve(4);
+        writes.delete(waitingList);
+        ImageIndex.remove(writes, db, ImageIndex.eventPosterId(eventId));
+        writes.delete(event.getReference());
+        unwrap(batch.commit());
+
+        if (notifyEntrants) {
+            notifyCancelled(eventId, event.getString("event_title"), new ArrayList<>(affectedUsers));
+        }
+        return removed;
+    }
+
+    private void notifyCancelled(String eventId, String title, List<String> userIds) {
+        if (userIds.isEmpty() || notificationHelper == null) return;
+        String eventTitle = title != null ? title : "An event";
+        String body = "Unfortunately, \"" + eventTitle + "\" has been cancelled.";
+        notificationHelper.notifyCustom(eventId, userIds, eventTitle,
+                new NotificationHelper.NotificationCallback() {
+                    @Override
+                    public void onSuccess(String message) {
+                        Log.d(TAG, "Cancellation sent for " + eventId);
+                    }
+
+                    @Override
+                    public void onFailure(String error) {
+                        Log.e(TAG, "Cancellation failed for " + eventId + ": " + error);
+                    }
+                }, CANCELLED_TITLE, body, CANCELLED_TYPE);
+    }
+
+    // ---- Phase 2: the user's own waiting-list memberships ----
+
+    private void leaveWaitingLists(String userId, DocumentReference checkpointRef, Mode mode,
+                                   boolean notifyEntrants, Progress progress,
+                                   ProgressCallback callback) throws Exception {
+        Query memberships = db.collectionGroup("entrants")
+                .whereEqualTo("user_id", userId)
+                .limit(MEMBERSHIP_PAGE_SIZE);
+        while (true) {
+            List<DocumentSnapshot> entrants = await(FirestoreMetrics.read("CascadeDeleter.memberships", memberships.get())).getDocuments();
+            if (entrants.isEmpty()) return;
+
+            ChunkedBatch<WriteBatch> batch = newBatch();
+            for (DocumentSnapshot entrant : entrants) {
+                // entrants/{userId} -> waiting_lists/{eventId}
+                String eventId = entrant.getReference().getParent().getParent().getId();
+                WriteBatch writes = batch.reserve(4);
+                writes.delete(entrant.getReference());
+                EntrantCounters.recordLeave(writes, db, eventId, entrant.getString("status"));
+                MyEventsIndex.remove(writes, db, userId, eventId);
+            }
+            unwrap(batch.commit());
+
+            progress.membershipsRemoved += entrants.size();
+            writeCheckpoint(checkpointRef, userId, mode, notifyEntrants, progress, STATE_RUNNING);
+            callback.onProgress(progress.copy());
+
+            if (entrants.size() < MEMBERSHIP_PAGE_SIZE) return;
+        }
+    }
+
+    // ---- Phase 3: other events' chosen/enrolled arrays ----
+
+    private void removeFromEventArrays(String userId) throws Exception {
+        for (String field : new String[]{"chosen_entrants", "enrolled_users"}) {
+            Query containing = db.collection("events")
+                    .whereArrayContains(field, userId)
+                    .limit(MEMBERSHIP_PAGE_SIZE);
+            while (true) {
+                List<DocumentSnapshot> events = await(FirestoreMetrics.read("CascadeDeleter.eventArrays", containing.get())).getDocuments();
+                if (events.isEmpty()) break;
+
+                ChunkedBatch<WriteBatch> batch = newBatch();
+                for (DocumentSnapshot event : events) {
+                    batch.reserve(1).update(event.getReference(), field, FieldValue.arrayRemove(userId));
+                }
+                unwrap(batch.commit());
+
+                if (events.size() < MEMBERSHIP_PAGE_SIZE) break;
+            }
+        }
+    }
+
+    // ---- Phase 4: the account itself ----
+
+    private void finishAccount(String userId, Mode mode, boolean notifyEntrants,
+                               DocumentReference checkpointRef, Progress progress) throws Exception {
+        DocumentReference account = db.collection("accounts").document(userId);
+        ChunkedBatch<WriteBatch> batch = newBatch();
+
+        if (mode == Mode.DELETE_ACCOUNT) {
+            // Memberships are gone by now; clear whatever stale index entries remain
+            CollectionReference myEvents = account.collection("myevents");
+            while (true) {
+                List<DocumentSnapshot> entries = await(FirestoreMetrics.read("CascadeDeleter.myEvents", myEvents.limit(ENTRANT_PAGE_SIZE).get())).getDocuments();
+                if (entries.isEmpty()) break;
+                ChunkedBatch<WriteBatch> entryBatch = newBatch();
+                for (DocumentSnapshot entry : entries) {
+                    entryBatch.reserve(1).delete(entry.getReference());
+                }
+                unwrap(entryBatch.commit());
+                if (entries.size() < ENTRANT_PAGE_SIZE) break;
+            }
+        }
+
+        progress.phase = Phase.DONE;
+        WriteBatch writes = batch.reserve(4);
+        ImageIndex.remove(writes, db, ImageIndex.profilePictureId(userId));
+        if (mode == Mode.DELETE_ACCOUNT) {
+            writes.delete(account);
+        } else {
+            Map<String, Object> disabled = new HashMap<>();
+            disabled.put("disabled", true);
+            writes.set(account, disabled, SetOptions.merge());
+        }
+        // The account change and the final checkpoint land together
+        writes.set(checkpointRef, checkpoint(userId, mode, notifyEntrants, progress, STATE_DONE),
+                SetOptions.merge());
+        unwrap(batch.commit());
+    }
+
+    // ---- Checkpoints ----
+
+    private static Progress restore(DocumentSnapshot checkpoint, Mode mode) {
+        Progress progress = new Progress();
+        if (checkpoint == null || !checkpoint.exists()
+                || !STATE_RUNNING.equals(checkpoint.getString(FIELD_STATE))
+                || modeOf(checkpoint.getString(FIELD_MODE)) != mode) {
+            return progress;
+        }
+        progress.phase = phaseOf(checkpoint.getString(FIELD_PHASE));
+        progress.eventsDeleted = intOf(checkpoint.getLong(FIELD_EVENTS_DELETED));
+        progress.entrantsRemoved = intOf(checkpoint.getLong(FIELD_ENTRANTS_REMOVED));
+        progress.membershipsRemoved = intOf(checkpoint.getLong(FIELD_MEMBERSHIPS_REMOVED));
+        Log.d(TAG, "Resuming " + checkpoint.getId() + " at " + progress.phase);
+        return progress;
+    }
+
+    private void writeCheckpoint(DocumentReference ref, String userId, Mode mode, boolean notifyEntrants,
+                                 Progress progress, String state) throws Exception {
+        await(ref.set(checkpoint(userId, mode, notifyEntrants, progress, state), SetOptions.merge()));
+    }
+
+    static Map<String, Object> checkpoint(String userId, Mode mode, boolean notifyEntrants,
+                                          Progress progress, String state) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_USER_ID, userId);
+        data.put(FIELD_MODE, mode.name());
+        data.put(FIELD_NOTIFY, notifyEntrants);
+        data.put(FIELD_PHASE, progress.phase.name());
+        data.put(FIELD_STATE, state);
+        data.put(FIELD_EVENTS_DELETED, progress.eventsDeleted);
+        data.put(FIELD_ENTRANTS_REMOVED, progress.entrantsRemoved);
+        data.put(FIELD_MEMBERSHIPS_REMOVED, progress.membershipsRemoved);
+        data.put(FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return data;
+    }
+
+    static Phase phaseOf(String name) {
+        try {
+            return name != null ? Phase.valueOf(name) : Phase.EVENTS;
+        } catch (IllegalArgumentException e) {
+            return Phase.EVENTS;
+        }
+    }
+
+    static Mode modeOf(String name) {
+        try {
+            return name != null ? Mode.valueOf(name) : Mode.DISABLE_ACCOUNT;
+        } catch (IllegalArgumentException e) {
+            return Mode.DISABLE_ACCOUNT;
+        }
+    }
+
+    private static int intOf(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static void addAll(Set<String> target, Object ids) {
+        if (!(ids instanceof List)) return;
+        for (Object id : (List<?>) ids) {
+            if (id instanceof String) target.add((String) id);
+        }
+    }
+
+    // ---- Blocking helpers ----
+
+    private static <T> T await(Task<T> task) throws Exception {
+        return Tasks.await(task, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return a batch that commits (and waits for) each chunk as soon as it is full
+     */
+    private ChunkedBatch<WriteBatch> newBatch() {
+        return new ChunkedBatch<>(db::batch, MAX_BATCH_WRITES, CascadeDeleter::commit);
+    }
+
+    private static CompletableFuture<Void> commit(WriteBatch batch, int writes) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        try {
+            await(FirestoreMetrics.write("CascadeDeleter.commit", writes, batch.commit()));
+            committed.complete(null);
+        } catch (Exception e) {
+            committed.completeExceptionally(e);
+        }
+        return committed;
+    }
+
+    private static <T> T unwrap(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+}
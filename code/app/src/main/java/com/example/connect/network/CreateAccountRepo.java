@@ -1,5 +1,6 @@
 package com.example.connect.network;
 
+import com.example.connect.utils.SearchTokens;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -77,6 +78,9 @@ public class CreateAccountRepo {
         user.put("is_active", false); // New users start as inactive until they log in
         user.put("last_active_timestamp", currentTimestamp);
 
+        // Prefix index for the admin profile search
+        SearchTokens.putFromFields(user, SearchTokens.ACCOUNT_FIELDS, userId);
+
         db.collection("accounts").document(userId).set(user)
                 .addOnSuccessListener(aVoid -> {
                     callback.onSuccess();
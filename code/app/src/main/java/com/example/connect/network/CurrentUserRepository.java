@@ -0,0 +1,330 @@
+package com.example.connect.network;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+
+import com.example.connect.models.User;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Process-wide copy of the signed-in user's {@code accounts/{uid}} document.
+ * <p>
+ * The first request starts a single snapshot listener on the document; every screen after
+ * that is served from memory, and edits made anywhere (including on another device) arrive
+ * through the same listener. The Base64 profile image is decoded once, off the main thread,
+ * and only again when it changes.
+ * <p>
+ * If a different user signs in the listener is moved to their document; call {@link #clear()}
+ * on sign-out. Must be used from the main thread; callbacks are delivered there too.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class CurrentUserRepository {
+
+    private static final String TAG = "CurrentUserRepository";
+    private static final String COLLECTION_ACCOUNTS = "accounts";
+
+    private static CurrentUserRepository instance;
+
+    private final FirebaseAuth auth;
+    private final FirebaseFirestore db;
+    private final Executor decoder;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final Set<ProfileCallback> listeners = new LinkedHashSet<>();
+    private final List<ProfileCallback> pending = new ArrayList<>();
+    private ListenerRegistration registration;
+    private String listeningUserId;
+    private Profile current;
+    // Bumped on every snapshot so a slow decode cannot overwrite a newer profile
+    private int generation;
+
+    /**
+     * The current user's account as last seen by the listener.
+     */
+    public static class Profile {
+        private final String userId;
+        private final DocumentSnapshot snapshot;
+        private final User user;
+        private final Bitmap avatar;
+
+        Profile(String userId, DocumentSnapshot snapshot, User user, Bitmap avatar) {
+            this.userId = userId;
+            this.snapshot = snapshot;
+            this.user = user;
+            this.avatar = avatar;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        /**
+         * @return false if the account document does not exist
+         */
+        public boolean exists() {
+            return snapshot != null && snapshot.exists();
+        }
+
+        /**
+         * @return the raw document, for fields the {@link User} model does not carry
+         */
+        public DocumentSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @return the parsed profile, shared between screens; do not modify it, use
+         * {@link #copyUser()} for an editable copy. Null if the account does not exist.
+         */
+        public User getUser() {
+            return user;
+        }
+
+        /**
+         * @return a newly parsed profile that the caller may modify, or null
+         */
+        public User copyUser() {
+            if (!exists()) return null;
+            User copy = snapshot.toObject(User.class);
+            if (copy != null && copy.getUserId() == null) {
+                copy.setUserId(userId);
+            }
+            return copy;
+        }
+
+        /**
+         * @return the decoded profile image, or null if there is none (or it is a URL)
+         */
+        public Bitmap getAvatar() {
+            return avatar;
+        }
+
+        /**
+         * @return display_name, then full_name, or null if neither is set
+         */
+        public String getDisplayName() {
+            if (user == null) return null;
+            if (user.getName() != null && !user.getName().isEmpty()) return user.getName();
+            if (user.getFullName() != null && !user.getFullName().isEmpty()) return user.getFullName();
+            return null;
+        }
+
+        public boolean isAdmin() {
+            return exists() && Boolean.TRUE.equals(snapshot.getBoolean("admin"));
+        }
+
+        public boolean isDisabled() {
+            return exists() && Boolean.TRUE.equals(snapshot.getBoolean("disabled"));
+        }
+
+        /**
+         * @return the user's notification preference (enabled unless turned off)
+         */
+        public boolean isNotificationsEnabled() {
+            return !exists() || !Boolean.FALSE.equals(snapshot.getBoolean("notificationsEnabled"));
+        }
+    }
+
+    /**
+     * Receives the current user's profile on the main thread.
+     */
+    public interface ProfileCallback {
+        void onProfile(Profile profile);
+
+        void onError(Exception e);
+    }
+
+    public static synchronized CurrentUserRepository getInstance() {
+        if (instance == null) {
+            instance = new CurrentUserRepository(FirebaseAuth.getInstance(),
+                    FirebaseFirestore.getInstance(), Executors.newSingleThreadExecutor());
+        }
+        return instance;
+    }
+
+    protected CurrentUserRepository(FirebaseAuth auth, FirebaseFirestore db, Executor decoder) {
+        this.auth = auth;
+        this.db = db;
+        this.decoder = decoder;
+    }
+
+    /**
+     * @return the profile already in memory for the signed-in user, or null
+     */
+    public Profile getCached() {
+        String userId = signedInUserId();
+        return current != null && current.getUserId().equals(userId) ? current : null;
+    }
+
+    /**
+     * Delivers the signed-in user's profile once: immediately if it is in memory, otherwise
+     * as soon as the listener receives it.
+     */
+    public void get(ProfileCallback callback) {
+        String userId = signedInUserId();
+        if (userId == null) {
+            callback.onError(new IllegalStateException("No user is signed in"));
+            return;
+        }
+        Profile cached = getCached();
+        if (cached != null) {
+            callback.onProfile(cached);
+            return;
+        }
+        pending.add(callback);
+        listen(userId);
+    }
+
+    /**
+     * Delivers the profile now (if in memory) and again every time it changes, until
+     * {@link #removeListener(ProfileCallback)} is called.
+     */
+    public void addListener(ProfileCallback listener) {
+        String userId = signedInUserId();
+        if (userId == null) {
+            listener.onError(new IllegalStateException("No user is signed in"));
+            return;
+        }
+        listeners.add(listener);
+        Profile cached = getCached();
+        if (cached != null) {
+            listener.onProfile(cached);
+        }
+        listen(userId);
+    }
+
+    public void removeListener(ProfileCallback listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops listening and forgets the cached profile, e.g. on sign-out.
+     */
+    public void clear() {
+        stopListening();
+        current = null;
+        generation++;
+        pending.clear();
+        listeners.clear();
+    }
+
+    private String signedInUserId() {
+        FirebaseUser user = auth.getCurrentUser();
+        return user != null ? user.getUid() : null;
+    }
+
+    private void listen(String userId) {
+        if (registration != null && userId.equals(listeningUserId)) return;
+
+        // A different user signed in since the listener started
+        stopListening();
+        current = null;
+        generation++;
+        listeningUserId = userId;
+        registration = db.collection(COLLECTION_ACCOUNTS).document(userId)
+                .addSnapshotListener((snapshot, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error listening to account " + userId, e);
+                        // Start again on the next request
+                        stopListening();
+                        deliverError(e);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        FirestoreMetrics.recordSnapshot("CurrentUserRepository.account", snapshot);
+                        onSnapshot(userId, snapshot);
+                    }
+                });
+    }
+
+    private void stopListening() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+        listeningUserId = null;
+    }
+
+    private void onSnapshot(String userId, DocumentSnapshot snapshot) {
+        int snapshotGeneration = ++generation;
+        User user = null;
+        if (snapshot.exists()) {
+            user = snapshot.toObject(User.class);
+            if (user != null && user.getUserId() == null) {
+                user.setUserId(userId);
+            }
+        }
+        String image = user != null ? user.getProfileImageUrl() : null;
+
+        Profile previous = current;
+        String previousImage = previous != null && previous.getUser() != null
+                ? previous.getUser().getProfileImageUrl()
+                : null;
+        if (previous != null && Objects.equals(image, previousImage)) {
+            // Unchanged image: keep the decoded avatar and publish right away
+            publish(new Profile(userId, snapshot, user, previous.getAvatar()));
+            return;
+        }
+
+        User parsed = user;
+        decoder.execute(() -> {
+            Bitmap avatar = decode(image);
+            mainHandler.post(() -> {
+                if (snapshotGeneration != generation) return; // superseded
+                publish(new Profile(userId, snapshot, parsed, avatar));
+            });
+        });
+    }
+
+    private void publish(Profile profile) {
+        current = profile;
+        List<ProfileCallback> waiting = new ArrayList<>(pending);
+        pending.clear();
+        for (ProfileCallback callback : waiting) {
+            callback.onProfile(profile);
+        }
+        for (ProfileCallback listener : new ArrayList<>(listeners)) {
+            listener.onProfile(profile);
+        }
+    }
+
+    private void deliverError(Exception e) {
+        List<ProfileCallback> waiting = new ArrayList<>(pending);
+        pending.clear();
+        for (ProfileCallback callback : waiting) {
+            callback.onError(e);
+        }
+        for (ProfileCallback listener : new ArrayList<>(listeners)) {
+            listener.onError(e);
+        }
+    }
+
+    static Bitmap decode(String image) {
+        if (image == null || image.isEmpty() || ImageIndex.isUrl(image)) return null;
+        try {
+            byte[] bytes = Base64.decode(image, Base64.DEFAULT);
+            return BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Unreadable profile image", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.connect.network;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.connect.models.Event;
+import com.example.connect.models.User;
+import com.example.connect.models.WaitingListEntry;
+import com.example.connect.utils.CsvWriter;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams the entrants of one or more events into a CSV file.
+ * <p>
+ * Entrants are read a page of {@value #PAGE_SIZE} at a time, their profiles are fetched in
+ * batches through {@link UserProfileLoader}, and each page is written through a
+ * {@link CsvWriter} before the next one is requested. Only one page is held in memory, so
+ * exports of tens of thousands of rows use the same memory as small ones.
+ * <p>
+ * Rows are ordered deterministically: events by name, then event id; entrants within an
+ * event by document id (the user id). The file is written to {@code <name>.part} and only
+ * renamed to its final name once every row is on disk, so a failed or cancelled export
+ * never leaves a truncated CSV behind.
+ * <p>
+ * Firestore reads and file writes happen on a background thread; callbacks are delivered
+ * on the main thread.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class EntrantCsvExporter {
+
+    private static final String TAG = "EntrantCsvExporter";
+
+    /** Entrants read per query. */
+    static final int PAGE_SIZE = 200;
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+    private static final String UNKNOWN_USER = "Unknown User";
+
+    private static final String[] COLUMNS =
+            {"Name", "Email", "Phone", "Joined Date", "Event Name", "Event Id"};
+    private static final String STATUS_COLUMN = "Status";
+
+    private final FirebaseFirestore db;
+    private final UserProfileLoader profileLoader;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile boolean cancelled;
+
+    /**
+     * Receives progress and the outcome of an export.
+     */
+    public interface ExportCallback {
+        /**
+         * Called after each page with the number of rows written so far.
+         */
+        void onProgress(int rowsWritten);
+
+        void onComplete(File file, int rowsWritten);
+
+        void onFailure(Exception e);
+    }
+
+    public EntrantCsvExporter() {
+        this(FirebaseFirestore.getInstance(), UserProfileLoader.getInstance());
+    }
+
+    public EntrantCsvExporter(FirebaseFirestore db, UserProfileLoader profileLoader) {
+        this.db = db;
+        this.profileLoader = profileLoader;
+    }
+
+    /**
+     * Exports the entrants of the given events.
+     *
+     * @param events  events to include; the order they are passed in does not matter
+     * @param status  entrant status to export (e.g. "enrolled"), or null for every status,
+     *                in which case a Status column is added
+     * @param outFile destination file, replaced if it exists
+     */
+    public void export(List<Event> events, String status, File outFile, ExportCallback callback) {
+        cancelled = false;
+        ExecutorService io = Executors.newSingleThreadExecutor();
+        io.execute(() -> {
+            File partFile = new File(outFile.getPath() + ".part");
+            try {
+                CsvWriter out = new CsvWriter(new OutputStreamWriter(
+                        new FileOutputStream(partFile), StandardCharsets.UTF_8), BUFFER_CHARS);
+                new Run(sortForExport(events), status, out, partFile, outFile, io, callback).start();
+            } catch (IOException e) {
+                io.shutdown();
+                Log.e(TAG, "Could not open " + partFile, e);
+                mainHandler.post(() -> callback.onFailure(e));
+            }
+        });
+    }
+
+    /**
+     * Stops a running export after the page currently being written. The partial file is
+     * deleted and the callback receives a {@link CancellationException}.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return the events in export order: by name, then id, without ones lacking an id.
+     */
+    static List<Event> sortForExport(List<Event> events) {
+        List<Event> sorted = new ArrayList<>();
+        for (Event event : events) {
+            if (event != null && event.getEventId() != null && !event.getEventId().isEmpty()) {
+                sorted.add(event);
+            }
+        }
+        Collections.sort(sorted, (a, b) -> {
+            String nameA = a.getName() != null ? a.getName() : "";
+            String nameB = b.getName() != null ? b.getName() : "";
+            int byName = nameA.compareToIgnoreCase(nameB);
+            return byName != 0 ? byName : a.getEventId().compareTo(b.getEventId());
+        });
+        return sorted;
+    }
+
+    /**
+     * State of one export. Everything except the profile lookup runs on {@code io}.
+     */
+    private class Run {
+        private final List<Event> events;
+        private final String status;
+        private final CsvWriter out;
+        private final File partFile;
+        private final File outFile;
+        private final ExecutorService io;
+        private final ExportCallback callback;
+        private final SimpleDateFormat dateFormat =
+                new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+
+        private int eventIndex;
+        private DocumentSnapshot lastVisible;
+        private int rowsWritten;
+
+        Run(List<Event> events, String status, CsvWriter out, File partFile, File outFile,
+            ExecutorService io, ExportCallback callback) {
+            this.events = events;
+            this.status = status;
+            this.out = out;
+            this.partFile = partFile;
+            this.outFile = outFile;
+            this.io = io;
+            this.callback = callback;
+        }
+
+        void start() throws IOException {
+            for (String column : COLUMNS) {
+                out.field(column);
+            }
+            if (status == null) {
+                out.field(STATUS_COLUMN);
+            }
+            out.endRow();
+            nextPage();
+        }
+
+        private void nextPage() {
+            if (cancelled) {
+                fail(new CancellationException("Export cancelled"));
+                return;
+            }
+            if (eventIndex >= events.size()) {
+                finish();
+                return;
+            }
+
+            Query query = db.collection("waiting_lists")
+                    .document(events.get(eventIndex).getEventId())
+                    .collection("entrants");
+            if (status != null) {
+                query = query.whereEqualTo("status", status);
+            }
+            query = query.orderBy(FieldPath.documentId());
+            query = lastVisible != null
+                    ? query.startAfter(lastVisible).limit(PAGE_SIZE)
+                    : query.limit(PAGE_SIZE);
+
+            query.get()
+                    .addOnSuccessListener(io, snapshot -> onPage(snapshot.getDocuments()))
+                    .addOnFailureListener(io, this::fail);
+        }
+
+        private void onPage(List<DocumentSnapshot> documents) {
+            boolean lastPage = documents.size() < PAGE_SIZE;
+            if (!documents.isEmpty()) {
+                lastVisible = documents.get(documents.size() - 1);
+            }
+
+            List<WaitingListEntry> entries = new ArrayList<>(documents.size());
+            List<String> userIds = new ArrayList<>(documents.size());
+            for (DocumentSnapshot doc : documents) {
+                WaitingListEntry entry = doc.toObject(WaitingListEntry.class);
+                if (entry == null) continue;
+                if (entry.getUserId() == null || entry.getUserId().isEmpty()) {
+                    entry.setUserId(doc.getId());
+                }
+                entries.add(entry);
+                userIds.add(entry.getUserId());
+            }
+
+            if (entries.isEmpty()) {
+                afterPage(lastPage);
+                return;
+            }
+
+            // The profile loader keeps its state on the main thread
+            mainHandler.post(() -> profileLoader.load(userIds, new UserProfileLoader.ProfileCallback() {
+                @Override
+                public void onChunkLoaded(Map<String, User> profiles) {
+                    // Rows are written in entrant order, so wait for the whole page
+                }
+
+                @Override
+                public void onComplete(Map<String, User> profiles) {
+                    io.execute(() -> {
+                        try {
+                            writeRows(entries, profiles);
+                            afterPage(lastPage);
+                        } catch (IOException e) {
+                            fail(e);
+                        }
+                    });
+                }
+            }));
+        }
+
+        private void writeRows(List<WaitingListEntry> entries, Map<String, User> profiles)
+                throws IOException {
+            Event event = events.get(eventIndex);
+            String eventName = event.getName() != null ? event.getName() : "";
+
+            for (WaitingListEntry entry : entries) {
+                User user = profiles.get(entry.getUserId());
+                // Prefer enrolled_date; fall back to joined_date
+                Timestamp ts = entry.getEnrolledDate() != null
+                        ? entry.getEnrolledDate()
+                        : entry.getJoinedDate();
+
+                out.field(user != null && user.getName() != null ? user.getName() : UNKNOWN_USER)
+                        .field(user != null ? user.getEmail() : null)
+                        .field(user != null ? user.getPhone() : null)
+                        .field(ts != null ? dateFormat.format(ts.toDate()) : null)
+                        .field(eventName)
+                        .field(event.getEventId());
+                if (status == null) {
+                    out.field(entry.getStatus());
+                }
+                out.endRow();
+            }
+            rowsWritten += entries.size();
+
+            int progress = rowsWritten;
+            mainHandler.post(() -> callback.onProgress(progress));
+        }
+
+        private void afterPage(boolean lastPage) {
+            if (lastPage) {
+                eventIndex++;
+                lastVisible = null;
+            }
+            nextPage();
+        }
+
+        private void finish() {
+            try {
+                out.close();
+                if (outFile.exists() && !outFile.delete()) {
+                    throw new IOException("Could not replace " + outFile);
+                }
+                if (!partFile.renameTo(outFile)) {
+                    throw new IOException("Could not rename " + partFile + " to " + outFile);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            io.shutdown();
+
+            int total = rowsWritten;
+            Log.d(TAG, "Exported " + total + " rows from " + events.size() + " events to " + outFile);
+            mainHandler.post(() -> callback.onComplete(outFile, total));
+        }
+
+        private void fail(Exception e) {
+            try {
+                out.close();
+            } catch (IOException closeError) {
+                Log.w(TAG, "Error closing " + partFile, closeError);
+            }
+            if (partFile.exists() && !partFile.delete()) {
+                Log.w(TAG, "Could not delete " + partFile);
+            }
+            io.shutdown();
+
+            Log.e(TAG, "Export failed after " + rowsWritten + " rows", e);
+            mainHandler.post(() -> callback.onFailure(e));
+        }
+    }
+}
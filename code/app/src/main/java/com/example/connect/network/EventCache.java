@@ -0,0 +1,303 @@
+package com.example.connect.network;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import com.example.connect.models.Event;
+import com.google.firebase.Timestamp;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Local, persistent copy of the events collection.
+ * <p>
+ * Each event is stored as a JSON payload keyed by its document id, together with the
+ * {@code organizer_id} and {@code updated_at} fields so the cache can be queried per
+ * organizer and synced incrementally. A small {@code sync_state} table keeps the time of the
+ * last full sync so {@link EventRepository} knows when a full refresh is due.
+ * <p>
+ * All methods perform disk I/O and must be called off the main thread.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class EventCache extends SQLiteOpenHelper {
+
+    private static final String TAG = "EventCache";
+    private static final String DB_NAME = "connect_events.db";
+    // 2: organizer_id column; updated_at is the server time events were last written
+    private static final int DB_VERSION = 2;
+
+    private static final String TABLE_EVENTS = "events";
+    private static final String COL_EVENT_ID = "event_id";
+    private static final String COL_ORGANIZER_ID = "organizer_id";
+    private static final String COL_UPDATED_AT = "updated_at";
+    private static final String COL_PAYLOAD = "payload";
+
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String COL_KEY = "key";
+    private static final String COL_VALUE = "value";
+    private static final String KEY_LAST_FULL_SYNC = "last_full_sync";
+
+    public EventCache(Context context) {
+        super(context.getApplicationContext(), DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_EVENTS + " ("
+                + COL_EVENT_ID + " TEXT PRIMARY KEY, "
+                + COL_ORGANIZER_ID + " TEXT, "
+                + COL_UPDATED_AT + " INTEGER NOT NULL DEFAULT 0, "
+                + COL_PAYLOAD + " TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX idx_events_organizer ON " + TABLE_EVENTS + "(" + COL_ORGANIZER_ID + ")");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + COL_KEY + " TEXT PRIMARY KEY, "
+                + COL_VALUE + " INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The cache can always be rebuilt from Firestore, so just start over
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_EVENTS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        onCreate(db);
+    }
+
+    /**
+     * Returns every cached event.
+     */
+    public List<Event> loadAll() {
+        return query(null, null);
+    }
+
+    /**
+     * Returns the cached events created by the given organizer.
+     */
+    public List<Event> loadByOrganizer(String organizerId) {
+        if (organizerId == null) {
+            return new ArrayList<>();
+        }
+        return query(COL_ORGANIZER_ID + " = ?", new String[]{organizerId});
+    }
+
+    private List<Event> query(String selection, String[] args) {
+        List<Event> events = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query(TABLE_EVENTS,
+                new String[]{COL_PAYLOAD}, selection, args, null, null, null)) {
+            while (cursor.moveToNext()) {
+                Event event = fromJson(cursor.getString(0));
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Inserts or replaces the given events.
+     */
+    public void upsertAll(Collection<Entry> entries) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (Entry entry : entries) {
+                writeEntry(db, entry);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Replaces the whole cache with a fresh full snapshot and records the sync time.
+     */
+    public void replaceAll(Collection<Entry> entries, long syncedAtMillis) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_EVENTS, null, null);
+            for (Entry entry : entries) {
+                writeEntry(db, entry);
+            }
+            ContentValues state = new ContentValues();
+            state.put(COL_KEY, KEY_LAST_FULL_SYNC);
+            state.put(COL_VALUE, syncedAtMillis);
+            db.insertWithOnConflict(TABLE_SYNC_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Removes a single event, e.g. after it was deleted from this device.
+     */
+    public void remove(String eventId) {
+        if (eventId == null) return;
+        getWritableDatabase().delete(TABLE_EVENTS, COL_EVENT_ID + " = ?", new String[]{eventId});
+    }
+
+    /**
+     * @return the highest {@code updated_at} value stored locally, or 0 when empty.
+     */
+    public long getWatermark() {
+        try (Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT MAX(" + COL_UPDATED_AT + ") FROM " + TABLE_EVENTS, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        }
+    }
+
+    /**
+     * @return the time of the last full sync in millis, or 0 if the cache was never filled.
+     */
+    public long getLastFullSync() {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SYNC_STATE,
+                new String[]{COL_VALUE}, COL_KEY + " = ?", new String[]{KEY_LAST_FULL_SYNC},
+                null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        }
+    }
+
+    private void writeEntry(SQLiteDatabase db, Entry entry) {
+        if (entry.event == null || entry.event.getEventId() == null) {
+            return;
+        }
+        ContentValues values = new ContentValues();
+        values.put(COL_EVENT_ID, entry.event.getEventId());
+        values.put(COL_ORGANIZER_ID, entry.organizerId);
+        values.put(COL_UPDATED_AT, entry.updatedAt);
+        values.put(COL_PAYLOAD, toJson(entry.event));
+        db.insertWithOnConflict(TABLE_EVENTS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * One event as read from Firestore, plus the document fields the cache indexes on
+     * which are not part of the {@link Event} model.
+     */
+    public static class Entry {
+        public final Event event;
+        public final String organizerId;
+        public final long updatedAt;
+
+        public Entry(Event event, String organizerId, long updatedAt) {
+            this.event = event;
+            this.organizerId = organizerId;
+            this.updatedAt = updatedAt;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // JSON (de)serialization
+    // ------------------------------------------------------------------
+
+    static String toJson(Event event) {
+        JSONObject json = new JSONObject();
+        try {
+            json.put("event_id", event.getEventId());
+            json.put("event_title", event.getName());
+            json.put("description", event.getDescription());
+            json.put("date_time", event.getDateTime());
+            json.put("end_time", event.getEndTime());
+            json.put("location", event.getLocation());
+            json.put("location_latitude", event.getLocationLatitude());
+            json.put("location_longitude", event.getLocationLongitude());
+            json.put("price", event.getPrice());
+            json.put("max_participants", event.getMaxParticipants());
+            json.put("current_participants", event.getCurrentParticipants());
+            json.put("org_name", event.getOrganizerId());
+            json.put("organizer_id", event.getOrganizerUid());
+            json.put("imageUrl", event.getImageUrl());
+            json.put("image_base64", event.getImageBase64());
+            json.put("category", event.getCategory());
+            if (event.getLabels() != null) {
+                json.put("labels", new JSONArray(event.getLabels()));
+            }
+            json.put("reg_start", event.getRegStart());
+            json.put("reg_stop", event.getRegStop());
+            json.put("waiting_list", event.getWaitingListCount());
+            json.put("draw_capacity", event.getDrawCapacity());
+            json.put("draw_completed", event.isDrawCompleted());
+            if (event.getDrawDate() != null) {
+                json.put("draw_date_seconds", event.getDrawDate().getSeconds());
+                json.put("draw_date_nanos", event.getDrawDate().getNanoseconds());
+            }
+            json.put("selected_count", event.getSelectedCount());
+            json.put("require_geolocation", event.isRequireGeolocation());
+            json.put("unresponsive_hours", event.getUnresponsiveDurationHours());
+        } catch (JSONException e) {
+            Log.e(TAG, "Error serializing event " + event.getEventId(), e);
+        }
+        return json.toString();
+    }
+
+    static Event fromJson(String payload) {
+        try {
+            JSONObject json = new JSONObject(payload);
+            Event event = new Event();
+            event.setEventId(optString(json, "event_id"));
+            event.setName(optString(json, "event_title"));
+            event.setDescription(optString(json, "description"));
+            event.setDateTime(optString(json, "date_time"));
+            event.setEndTime(optString(json, "end_time"));
+            event.setLocation(optString(json, "location"));
+            event.setLocationLatitude(optDouble(json, "location_latitude"));
+            event.setLocationLongitude(optDouble(json, "location_longitude"));
+            event.setPrice(optString(json, "price"));
+            event.setMaxParticipants(json.optInt("max_participants"));
+            event.setCurrentParticipants(json.optInt("current_participants"));
+            event.setOrganizerId(optString(json, "org_name"));
+            event.setOrganizerUid(optString(json, "organizer_id"));
+            event.setImageUrl(optString(json, "imageUrl"));
+            event.setImageBase64(optString(json, "image_base64"));
+            event.setCategory(optString(json, "category"));
+
+            JSONArray labelsJson = json.optJSONArray("labels");
+            if (labelsJson != null) {
+                List<String> labels = new ArrayList<>();
+                for (int i = 0; i < labelsJson.length(); i++) {
+                    labels.add(labelsJson.optString(i));
+                }
+                event.setLabels(labels);
+            }
+
+            event.setRegStart(optString(json, "reg_start"));
+            event.setRegStop(optString(json, "reg_stop"));
+            event.setWaitingListCount(json.has("waiting_list") ? json.getLong("waiting_list") : null);
+            event.setDrawCapacity(json.optInt("draw_capacity"));
+            event.setDrawCompleted(json.optBoolean("draw_completed"));
+            if (json.has("draw_date_seconds")) {
+                event.setDrawDate(new Timestamp(json.getLong("draw_date_seconds"),
+                        json.optInt("draw_date_nanos")));
+            }
+            event.setSelectedCount(json.optInt("selected_count"));
+            event.setRequireGeolocation(json.optBoolean("require_geolocation"));
+            event.setUnresponsiveDurationHours(json.has("unresponsive_hours")
+                    ? json.getLong("unresponsive_hours") : null);
+            return event;
+        } catch (JSONException e) {
+            Log.e(TAG, "Dropping unreadable cached event", e);
+            return null;
+        }
+    }
+
+    private static String optString(JSONObject json, String key) {
+        return json.isNull(key) ? null : json.optString(key);
+    }
+
+    private static Double optDouble(JSONObject json, String key) {
+        return json.isNull(key) ? null : json.optDouble(key);
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.connect.network;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.location.Address;
+import android.location.Geocoder;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves event location text to coordinates, hitting the platform {@link Geocoder} at most
+ * once per distinct location.
+ * <p>
+ * Lookups are keyed by {@link #normalize(String) normalized} location text and go through an
+ * in-memory LRU, then a small on-disk LRU (a SharedPreferences file), and only then the
+ * geocoder, which runs on a bounded executor rather than ad-hoc threads. Concurrent requests
+ * for the same text share one lookup. "No result" answers are cached too; I/O failures are not,
+ * so a flaky network is retried next time.
+ * <p>
+ * {@link #resolveForEvent} also writes a freshly resolved position (and its geohash) back to
+ * the event document so later readers get {@code location_latitude}/{@code location_longitude}
+ * directly and the event shows up in nearby searches.
+ * <p>
+ * Callbacks are delivered on the main thread.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class EventGeocoder {
+
+    private static final String TAG = "EventGeocoder";
+    private static final String PREFS_NAME = "geocode_cache";
+    private static final String MISS = "miss";
+
+    /** Entries kept in memory. */
+    private static final int MEMORY_ENTRIES = 128;
+
+    /** Entries kept on disk before the least recently used are dropped. */
+    static final int DISK_ENTRIES = 500;
+
+    /** Geocoder calls allowed at the same time, and how many may wait behind them. */
+    private static final int MAX_THREADS = 2;
+    private static final int MAX_QUEUED = 32;
+
+    /** Marks a cached "the geocoder found nothing" answer. */
+    private static final double[] NOT_FOUND = new double[0];
+
+    private static EventGeocoder instance;
+
+    private final Context context;
+    private final FirebaseFirestore db;
+    private final Executor executor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LruCache<String, double[]> memory = new LruCache<>(MEMORY_ENTRIES);
+    private final Map<String, List<CoordinatesCallback>> pending = new HashMap<>();
+    private SharedPreferences disk;
+
+    /**
+     * Receives resolved coordinates; both values are null when the location is unknown.
+     */
+    public interface CoordinatesCallback {
+        void onResult(Double latitude, Double longitude);
+    }
+
+    /**
+     * Returns the process-wide geocoder so its caches are shared between screens.
+     */
+    public static synchronized EventGeocoder getInstance(Context context) {
+        if (instance == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS,
+                    30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED));
+            executor.allowCoreThreadTimeOut(true);
+            instance = new EventGeocoder(context.getApplicationContext(),
+                    FirebaseFirestore.getInstance(), executor);
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared instance. Intended for tests only.
+     */
+    static synchronized void setInstanceForTesting(EventGeocoder geocoder) {
+        instance = geocoder;
+    }
+
+    protected EventGeocoder(Context context, FirebaseFirestore db, Executor executor) {
+        this.context = context;
+        this.db = db;
+        this.executor = executor;
+    }
+
+    /**
+     * Normalizes location text so trivially different spellings share a cache entry:
+     * trimmed, lower-cased, with runs of whitespace collapsed and no space before commas.
+     *
+     * @return the cache key, or an empty string for blank input
+     */
+    static String normalize(String locationText) {
+        if (locationText == null) return "";
+        return locationText.trim()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll(" ,", ",");
+    }
+
+    /**
+     * Resolves an event's position, preferring coordinates already stored on the event. When the
+     * location text has to be geocoded and a result is found, it is written back to
+     * {@code events/{eventId}} so the geocoder is not needed for this event again.
+     */
+    public void resolveForEvent(String eventId, Double storedLat, Double storedLng,
+                                String locationText, CoordinatesCallback callback) {
+        if (storedLat != null && storedLng != null) {
+            callback.onResult(storedLat, storedLng);
+            return;
+        }
+
+        resolve(locationText, (lat, lng) -> {
+            if (lat != null && lng != null && eventId != null) {
+                saveToEvent(eventId, lat, lng);
+            }
+            callback.onResult(lat, lng);
+        });
+    }
+
+    /**
+     * Resolves location text to coordinates using the caches first.
+     */
+    public void resolve(String locationText, CoordinatesCallback callback) {
+        String key = normalize(locationText);
+        if (key.isEmpty()) {
+            callback.onResult(null, null);
+            return;
+        }
+
+        double[] cached = memory.get(key);
+        if (cached != null) {
+            deliver(callback, cached);
+            return;
+        }
+
+        synchronized (pending) {
+            List<CoordinatesCallback> waiting = pending.get(key);
+            if (waiting != null) {
+                // Same location already being looked up; share the result
+                waiting.add(callback);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(callback);
+            pending.put(key, waiting);
+        }
+
+        try {
+            executor.execute(() -> lookUp(key, locationText.trim()));
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, "Geocoding queue full, skipping " + key);
+            finish(key, null);
+        }
+    }
+
+    /**
+     * Runs on the executor: disk cache, then the geocoder.
+     */
+    private void lookUp(String key, String locationText) {
+        double[] result = readDisk(key);
+        if (result == null) {
+            try {
+                double[] found = geocode(locationText);
+                result = found != null ? found : NOT_FOUND;
+                writeDisk(key, result);
+            } catch (IOException e) {
+                // Network or service trouble: do not remember this as "not found"
+                Log.e(TAG, "Failed to geocode event location", e);
+            }
+        }
+        if (result != null) {
+            memory.put(key, result);
+        }
+        finish(key, result);
+    }
+
+    /**
+     * Calls the platform geocoder. Overridden in tests.
+     *
+     * @return {latitude, longitude}, or null if the geocoder knows no such place
+     */
+    protected double[] geocode(String locationText) throws IOException {
+        if (!Geocoder.isPresent()) {
+            return null;
+        }
+        Geocoder geocoder = new Geocoder(context, Locale.getDefault());
+        List<Address> results = geocoder.getFromLocationName(locationText, 1);
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        Address address = results.get(0);
+        return new double[]{address.getLatitude(), address.getLongitude()};
+    }
+
+    private void finish(String key, double[] result) {
+        List<CoordinatesCallback> callbacks;
+        synchronized (pending) {
+            callbacks = pending.remove(key);
+        }
+        if (callbacks == null) return;
+
+        mainHandler.post(() -> {
+            for (CoordinatesCallback callback : callbacks) {
+                deliver(callback, result);
+            }
+        });
+    }
+
+    private static void deliver(CoordinatesCallback callback, double[] result) {
+        if (result == null || result.length < 2) {
+            callback.onResult(null, null);
+        } else {
+            callback.onResult(result[0], result[1]);
+        }
+    }
+
+    private void saveToEvent(String eventId, double lat, double lng) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("location_latitude", lat);
+        update.put("location_longitude", lng);
+        GeoQueries.putGeohash(update, lat, lng);
+        // Bump updated_at so EventRepository's delta sync picks the coordinates up
+        update.put("updated_at", FieldValue.serverTimestamp());
+
+        db.collection("events").document(eventId)
+                .update(update)
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "Saved coordinates for event " + eventId))
+                .addOnFailureListener(e -> Log.w(TAG, "Could not save coordinates for event " + eventId, e));
+    }
+
+    // ------------------------------------------------------------------
+    // Disk cache: "lat,lng,lastUsed" or "miss,lastUsed" per normalized key
+    // ------------------------------------------------------------------
+
+    private synchronized SharedPreferences disk() {
+        if (disk == null) {
+            disk = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        }
+        return disk;
+    }
+
+    private double[] readDisk(String key) {
+        String value = disk().getString(key, null);
+        if (value == null) return null;
+
+        String[] parts = value.split(",");
+        try {
+            double[] result;
+            if (MISS.equals(parts[0])) {
+                result = NOT_FOUND;
+            } else {
+                result = new double[]{Double.parseDouble(parts[0]), Double.parseDouble(parts[1])};
+            }
+            // Refresh the access time so the entry counts as recently used
+            writeDisk(key, result);
+            return result;
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Dropping unreadable cache entry for " + key);
+            disk().edit().remove(key).apply();
+            return null;
+        }
+    }
+
+    private synchronized void writeDisk(String key, double[] result) {
+        long now = System.currentTimeMillis();
+        String value = result.length < 2
+                ? MISS + "," + now
+                : result[0] + "," + result[1] + "," + now;
+
+        SharedPreferences prefs = disk();
+        SharedPreferences.Editor editor = prefs.edit().putString(key, value);
+
+        Map<String, ?> all = prefs.getAll();
+        if (!all.containsKey(key) && all.size() >= DISK_ENTRIES) {
+            String oldest = null;
+            long oldestTime = Long.MAX_VALUE;
+            for (Map.Entry<String, ?> entry : all.entrySet()) {
+                long time = lastUsed(String.valueOf(entry.getValue()));
+                if (time < oldestTime) {
+                    oldestTime = time;
+                    oldest = entry.getKey();
+                }
+            }
+            if (oldest != null) {
+                editor.remove(oldest);
+            }
+        }
+        editor.apply();
+    }
+
+    private static long lastUsed(String value) {
+        int comma = value.lastIndexOf(',');
+        try {
+            return Long.parseLong(value.substring(comma + 1));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.connect.network;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import android.util.LruCache;
 
 import com.example.connect.models.Event;
+import com.example.connect.utils.GeoHash;
+import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Eventrepo is responsible for retrieving and filtering event data fom firestore database
@@ -18,10 +33,19 @@ import java.util.List;
  *     <li>Fetch all events</li>
  *     <li>Search events by name</li>
  *     <li>Filter events by category, location, or date range</li>
+ *     <li>Find events near a position, sorted by distance</li>
  * </ul>
  * <p>
  * All operations are asynchronous and return their results through the callback interface.
  * </p>
+ * <p>
+ * When an {@link EventCache} is attached, {@link #getAllEvents} and {@link #getEventsByOrganizer}
+ * answer from the local copy first and then sync in the background. Syncs are incremental:
+ * only events whose {@code updated_at} is newer than the local watermark are pulled, with a
+ * full refresh every {@link #FULL_SYNC_INTERVAL_MS} to drop events deleted elsewhere. Writers
+ * set {@code updated_at} to a server timestamp, so the watermark does not depend on any
+ * device's clock.
+ * </p>
  * @author Zenith Team
  * @version 2.0
  */
@@ -29,9 +53,27 @@ public class EventRepository {
 
     private static final String TAG = "EventRepository";
     private static final String COLLECTION_EVENTS = "events";
+    private static final String FIELD_UPDATED_AT = "updated_at";
+    private static final String FIELD_ORGANIZER_ID = "organizer_id";
+
+    /** Maximum number of values Firestore accepts in a single whereIn clause. */
+    static final int WHERE_IN_LIMIT = 30;
+
+    /** How long a delta-synced cache is trusted before a full refresh is forced. */
+    static final long FULL_SYNC_INTERVAL_MS = 6L * 60 * 60 * 1000;
+
+    /** How long the events of one geohash cell are reused by {@link #getEventsNear}. */
+    static final long NEARBY_CELL_TTL_MS = 5L * 60 * 1000;
 
     private final FirebaseFirestore db;
 
+    // Events per geohash cell, with the time they were fetched
+    private final LruCache<String, CachedCell> nearbyCells = new LruCache<>(64);
+
+    private EventCache cache;
+    private ExecutorService cacheExecutor;
+    private Handler mainHandler;
+
     public EventRepository() {
         this(FirebaseFirestore.getInstance());
     }
@@ -44,13 +86,331 @@ public class EventRepository {
     }
 
     /**
-     * Fetch all events from Firestore
+     * Attaches a local event store. Once set, reads are served from the cache first.
+     */
+    public synchronized void setCache(EventCache cache) {
+        this.cache = cache;
+        if (cache != null && cacheExecutor == null) {
+            cacheExecutor = Executors.newSingleThreadExecutor();
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+    }
+
+    /**
+     * Fetch all events.
+     * <p>
+     * With a cache attached, cached events are delivered immediately (if any) and the
+     * callback fires again once a background sync brings in changes.
      */
     public void getAllEvents(EventCallback callback) {
-        db.collection(COLLECTION_EVENTS)
+        if (cache == null) {
+            fetchAllFromNetwork(callback);
+            return;
+        }
+
+        cacheExecutor.execute(() -> {
+            List<Event> cached = cache.loadAll();
+            long lastFullSync = cache.getLastFullSync();
+            long watermark = cache.getWatermark();
+            boolean fullSyncDue = cached.isEmpty()
+                    || System.currentTimeMillis() - lastFullSync > FULL_SYNC_INTERVAL_MS;
+
+            mainHandler.post(() -> {
+                if (!cached.isEmpty()) {
+                    Log.d(TAG, "Serving " + cached.size() + " events from cache");
+                    callback.onSuccess(cached);
+                }
+                if (fullSyncDue) {
+                    fullSync(callback, !cached.isEmpty());
+                } else {
+                    deltaSync(watermark, callback);
+                }
+            });
+        });
+    }
+
+    /**
+     * Fetch the events created by one organizer, cache-first when a cache is attached.
+     */
+    public void getEventsByOrganizer(String organizerId, EventCallback callback) {
+        Query query = db.collection(COLLECTION_EVENTS).whereEqualTo(FIELD_ORGANIZER_ID, organizerId);
+
+        if (cache == null) {
+            FirestoreMetrics.read("EventRepository.getEventsByOrganizer", query.get())
+                    .addOnSuccessListener(snapshot -> callback.onSuccess(toEvents(snapshot)))
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error fetching organizer events", e);
+                        callback.onFailure(e);
+                    });
+            return;
+        }
+
+        cacheExecutor.execute(() -> {
+            List<Event> cached = cache.loadByOrganizer(organizerId);
+            mainHandler.post(() -> {
+                if (!cached.isEmpty()) {
+                    callback.onSuccess(cached);
+                }
+                FirestoreMetrics.read("EventRepository.getEventsByOrganizer", query.get())
+                        .addOnSuccessListener(snapshot -> {
+                            List<EventCache.Entry> entries = toEntries(snapshot);
+                            cacheExecutor.execute(() -> cache.upsertAll(entries));
+                            callback.onSuccess(eventsOf(entries));
+                        })
+                        .addOnFailureListener(e -> {
+                            Log.e(TAG, "Error fetching organizer events", e);
+                            if (cached.isEmpty()) {
+                                callback.onFailure(e);
+                            }
+                        });
+            });
+        });
+    }
+
+    /**
+     * Fetch a specific set of events by document id.
+     * <p>
+     * Ids are looked up in {@value #WHERE_IN_LIMIT}-id {@code whereIn} chunks issued in
+     * parallel, and the callback fires once with every event that was found.
+     */
+    public void getEventsByIds(Collection<String> eventIds, EventCallback callback) {
+        List<String> ids = new ArrayList<>(eventIds);
+        if (ids.isEmpty()) {
+            callback.onSuccess(new ArrayList<>());
+            return;
+        }
+
+        List<Event> found = new ArrayList<>();
+        int chunkCount = (ids.size() + WHERE_IN_LIMIT - 1) / WHERE_IN_LIMIT;
+        int[] pending = {chunkCount};
+        boolean[] failed = {false};
+
+        for (int start = 0; start < ids.size(); start += WHERE_IN_LIMIT) {
+            List<String> chunk = ids.subList(start, Math.min(start + WHERE_IN_LIMIT, ids.size()));
+            FirestoreMetrics.read("EventRepository.getEventsByIds", db.collection(COLLECTION_EVENTS)
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get())
+                    .addOnSuccessListener(snapshot -> {
+                        found.addAll(toEvents(snapshot));
+                        if (--pending[0] == 0 && !failed[0]) {
+                            callback.onSuccess(found);
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error fetching events by id", e);
+                        if (!failed[0]) {
+                            failed[0] = true;
+                            callback.onFailure(e);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Fetch events within {@code radiusMeters} of a position, nearest first.
+     * <p>
+     * The radius is covered by a few geohash cells; each cell is one range query on the
+     * events' {@code geohash} field, reused for {@value #NEARBY_CELL_TTL_MS} ms, and the merged
+     * events are then filtered precisely by haversine distance. Only events that carry a
+     * geohash (written with their coordinates) can be found this way; events located before
+     * that get one from {@code EventGeohashBackfillWorker}.
+     */
+    public void getEventsNear(double latitude, double longitude, double radiusMeters, EventCallback callback) {
+        List<String> cells = GeoHash.coveringCells(
+                GeoHash.BoundingBox.aroundPoint(latitude, longitude, radiusMeters));
+
+        Map<String, List<Event>> byCell = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String cell : cells) {
+            CachedCell cached = nearbyCells.get(cell);
+            if (cached != null && now - cached.fetchedAt < NEARBY_CELL_TTL_MS) {
+                byCell.put(cell, cached.events);
+            } else {
+                missing.add(cell);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            callback.onSuccess(withinRadiusSorted(flatten(byCell), latitude, longitude, radiusMeters));
+            return;
+        }
+
+        int[] pending = {missing.size()};
+        boolean[] failed = {false};
+        for (String cell : missing) {
+            FirestoreMetrics.read("EventRepository.getEventsNear", GeoQueries.inCell(db.collection(COLLECTION_EVENTS), cell)
+                    .get())
+                    .addOnSuccessListener(snapshot -> {
+                        List<Event> events = toEvents(snapshot);
+                        nearbyCells.put(cell, new CachedCell(events, System.currentTimeMillis()));
+                        byCell.put(cell, events);
+                        if (--pending[0] == 0 && !failed[0]) {
+                            Log.d(TAG, "Nearby search read " + missing.size() + " of " + cells.size() + " cells");
+                            callback.onSuccess(withinRadiusSorted(flatten(byCell), latitude, longitude, radiusMeters));
+                        }
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error fetching events near " + latitude + ", " + longitude, e);
+                        if (!failed[0]) {
+                            failed[0] = true;
+                            callback.onFailure(e);
+                        }
+                    });
+        }
+    }
+
+    private static List<Event> flatten(Map<String, List<Event>> byCell) {
+        List<Event> all = new ArrayList<>();
+        for (List<Event> events : byCell.values()) {
+            all.addAll(events);
+        }
+        return all;
+    }
+
+    /**
+     * Keeps the events (de-duplicated by id) whose coordinates lie within the radius and
+     * sorts them nearest first.
+     */
+    static List<Event> withinRadiusSorted(Collection<Event> events, double latitude, double longitude,
+                                          double radiusMeters) {
+        Map<String, Double> distances = new HashMap<>();
+        List<Event> inside = new ArrayList<>();
+        for (Event event : events) {
+            Double lat = event.getLocationLatitude();
+            Double lng = event.getLocationLongitude();
+            if (lat == null || lng == null || distances.containsKey(event.getEventId())) continue;
+
+            double distance = GeoHash.distanceMeters(latitude, longitude, lat, lng);
+            if (distance <= radiusMeters) {
+                distances.put(event.getEventId(), distance);
+                inside.add(event);
+            }
+        }
+        Collections.sort(inside, (a, b) -> Double.compare(
+                distances.get(a.getEventId()), distances.get(b.getEventId())));
+        return inside;
+    }
+
+    private static class CachedCell {
+        final List<Event> events;
+        final long fetchedAt;
+
+        CachedCell(List<Event> events, long fetchedAt) {
+            this.events = events;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * Drops an event from the local cache, e.g. right after deleting it.
+     */
+    public void evictFromCache(String eventId) {
+        if (cache != null) {
+            cacheExecutor.execute(() -> cache.remove(eventId));
+        }
+    }
+
+    /**
+     * Pulls the whole collection and replaces the cache with it.
+     *
+     * @param hasCachedCopy true when the caller already received cached events, in which case
+     *                      a network failure is only logged so the app stays usable offline
+     */
+    private void fullSync(EventCallback callback, boolean hasCachedCopy) {
+        long startedAt = System.currentTimeMillis();
+        FirestoreMetrics.read("EventRepository.fullSync", db.collection(COLLECTION_EVENTS)
+                .get())
+                .addOnSuccessListener(snapshot -> {
+                    List<EventCache.Entry> entries = toEntries(snapshot);
+                    cacheExecutor.execute(() -> cache.replaceAll(entries, startedAt));
+                    Log.d(TAG, "Full sync pulled " + entries.size() + " events");
+                    callback.onSuccess(eventsOf(entries));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Full sync failed", e);
+                    if (!hasCachedCopy) {
+                        callback.onFailure(e);
+                    }
+                });
+    }
+
+    /**
+     * Pulls only the events changed since {@code watermark} and merges them into the cache.
+     * The callback fires again only if something actually changed.
+     */
+    private void deltaSync(long watermark, EventCallback callback) {
+        FirestoreMetrics.read("EventRepository.deltaSync", db.collection(COLLECTION_EVENTS)
+                .whereGreaterThan(FIELD_UPDATED_AT, new Timestamp(new Date(watermark)))
+                .get())
+                .addOnSuccessListener(snapshot -> {
+                    if (snapshot.isEmpty()) {
+                        Log.d(TAG, "Delta sync: cache is up to date");
+                        return;
+                    }
+                    List<EventCache.Entry> entries = toEntries(snapshot);
+                    Log.d(TAG, "Delta sync pulled " + entries.size() + " changed events");
+                    cacheExecutor.execute(() -> {
+                        cache.upsertAll(entries);
+                        List<Event> merged = cache.loadAll();
+                        mainHandler.post(() -> callback.onSuccess(merged));
+                    });
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Delta sync failed, keeping cached events", e));
+    }
+
+    private List<EventCache.Entry> toEntries(QuerySnapshot snapshot) {
+        List<EventCache.Entry> entries = new ArrayList<>();
+        for (DocumentSnapshot document : snapshot) {
+            Event event = document.toObject(Event.class);
+            if (event == null) continue;
+            event.setEventId(document.getId());
+            entries.add(new EventCache.Entry(event,
+                    document.getString(FIELD_ORGANIZER_ID),
+                    updatedAtMillis(document.get(FIELD_UPDATED_AT))));
+        }
+        return entries;
+    }
+
+    /**
+     * @return {@code updated_at} in millis. Events write a server timestamp; documents written
+     * before that hold client millis, and a write still pending locally has no value yet (0).
+     */
+    static long updatedAtMillis(Object updatedAt) {
+        if (updatedAt instanceof Timestamp) {
+            return ((Timestamp) updatedAt).toDate().getTime();
+        }
+        return updatedAt instanceof Number ? ((Number) updatedAt).longValue() : 0L;
+    }
+
+    private static List<Event> eventsOf(List<EventCache.Entry> entries) {
+        List<Event> events = new ArrayList<>(entries.size());
+        for (EventCache.Entry entry : entries) {
+            events.add(entry.event);
+        }
+        return events;
+    }
+
+    private static List<Event> toEvents(QuerySnapshot snapshot) {
+        List<Event> events = new ArrayList<>();
+        for (DocumentSnapshot document : snapshot) {
+            Event event = document.toObject(Event.class);
+            if (event != null) {
+                event.setEventId(document.getId());
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Fetch all events straight from Firestore, bypassing the cache.
+     */
+    private void fetchAllFromNetwork(EventCallback callback) {
+        FirestoreMetrics.read("EventRepository.fetchAllFromNetwork", db.collection(COLLECTION_EVENTS)
                 // Remove or comment out the orderBy temporarily to test
                 // .orderBy("dateTime", Query.Direction.ASCENDING)
-                .get()
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Event> events = new ArrayList<>();
                     Log.d("EventRepository", "Documents retrieved: " + queryDocumentSnapshots.size());
@@ -77,11 +437,11 @@ public class EventRepository {
      * Search events by name
      */
     public void searchEventsByName(String searchQuery, EventCallback callback) {
-        db.collection(COLLECTION_EVENTS)
+        FirestoreMetrics.read("EventRepository.searchEventsByName", db.collection(COLLECTION_EVENTS)
                 .orderBy("name")
                 .startAt(searchQuery)
                 .endAt(searchQuery + "\uf8ff")
-                .get()
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Event> events = new ArrayList<>();
                     for (DocumentSnapshot document : queryDocumentSnapshots) {
@@ -102,10 +462,10 @@ public class EventRepository {
      * Filter events by category
      */
     public void getEventsByCategory(String category, EventCallback callback) {
-        db.collection(COLLECTION_EVENTS)
+        FirestoreMetrics.read("EventRepository.getEventsByCategory", db.collection(COLLECTION_EVENTS)
                 .whereEqualTo("category", category)
                 .orderBy("date", Query.Direction.ASCENDING)
-                .get()
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Event> events = new ArrayList<>();
                     for (DocumentSnapshot document : queryDocumentSnapshots) {
@@ -126,10 +486,10 @@ public class EventRepository {
      * Filter events by location
      */
     public void getEventsByLocation(String location, EventCallback callback) {
-        db.collection(COLLECTION_EVENTS)
+        FirestoreMetrics.read("EventRepository.getEventsByLocation", db.collection(COLLECTION_EVENTS)
                 .whereEqualTo("location", location)
                 .orderBy("date", Query.Direction.ASCENDING)
-                .get()
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Event> events = new ArrayList<>();
                     for (DocumentSnapshot document : queryDocumentSnapshots) {
@@ -150,11 +510,11 @@ public class EventRepository {
      * Filter events by date range
      */
     public void getEventsByDateRange(String startDate, String endDate, EventCallback callback) {
-        db.collection(COLLECTION_EVENTS)
+        FirestoreMetrics.read("EventRepository.getEventsByDateRange", db.collection(COLLECTION_EVENTS)
                 .whereGreaterThanOrEqualTo("date", startDate)
                 .whereLessThanOrEqualTo("date", endDate)
                 .orderBy("date", Query.Direction.ASCENDING)
-                .get()
+                .get())
                 .addOnSuccessListener(queryDocumentSnapshots -> {
                     List<Event> events = new ArrayList<>();
                     for (DocumentSnapshot document : queryDocumentSnapshots) {
@@ -172,7 +532,10 @@ public class EventRepository {
     }
 
     /**
-     * Callback interface for event operations
+     * Callback interface for event operations.
+     * <p>
+     * Cache-backed reads may call {@link #onSuccess} more than once: first with the cached
+     * events and again after a sync brings in changes.
      */
     public interface EventCallback {
         void onSuccess(List<Event> events);
@@ -1,5 +1,7 @@
 package com.example.connect.network;
 
+import android.content.Context;
+
 /**
  * Simple locator that allows EventRepository to be swapped for tests.
  * <p>
@@ -10,11 +12,20 @@ package com.example.connect.network;
 public final class EventRepositoryProvider {
 
     private static EventRepository repository;
+    private static Context appContext;
 
     private EventRepositoryProvider() {
         // no-op
     }
 
+    /**
+     * Gives the provider an application context so the default repository can be backed by
+     * the on-disk {@link EventCache}. Called once from {@code ConnectApplication}.
+     */
+    public static synchronized void init(Context context) {
+        appContext = context.getApplicationContext();
+    }
+
     /**
      * Returns the shared EventRepository instance, creating the default
      * Firestore-backed implementation on first access.
@@ -22,6 +33,9 @@ public final class EventRepositoryProvider {
     public static synchronized EventRepository getRepository() {
         if (repository == null) {
             repository = new EventRepository();
+            if (appContext != null) {
+                repository.setCache(new EventCache(appContext));
+            }
         }
         return repository;
     }
@@ -0,0 +1,45 @@
+package com.example.connect.network;
+
+import com.example.connect.data.ChunkedBatch;
+import com.example.connect.data.DocumentStore;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ChunkedBatch}es of Firestore {@link WriteBatch}es, for screens that write through
+ * {@code MyEventsIndex}/{@code EntrantCounters} rather than a {@link DocumentStore}.
+ * <p>
+ * Each full batch is committed as the next one starts, without blocking; the futures
+ * complete from the task listeners, i.e. on the main thread. Commits are recorded in
+ * {@link FirestoreMetrics} under the given operation.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class FirestoreBatches {
+
+    private FirestoreBatches() {
+        // Utility class
+    }
+
+    public static ChunkedBatch<WriteBatch> chunked(FirebaseFirestore db, String operation) {
+        return new ChunkedBatch<>(db::batch, DocumentStore.MAX_BATCH_WRITES,
+                (batch, writes) -> commit(operation, batch, writes));
+    }
+
+    private static CompletableFuture<Void> commit(String operation, WriteBatch batch, int writes) {
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        FirestoreMetrics.write(operation, writes, batch.commit()).addOnCompleteListener(done -> {
+            if (done.isSuccessful()) {
+                committed.complete(null);
+            } else {
+                Exception error = done.getException();
+                committed.completeExceptionally(error != null ? error : new CancellationException());
+            }
+        });
+        return committed;
+    }
+}
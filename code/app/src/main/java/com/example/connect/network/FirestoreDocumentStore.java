@@ -0,0 +1,370 @@
+package com.example.connect.network;
+
+import com.example.connect.data.Document;
+import com.example.connect.data.DocumentStore;
+import com.example.connect.data.FieldValues;
+import com.example.connect.data.Query;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * The {@link DocumentStore} the app runs on: a thin adapter over {@link FirebaseFirestore}.
+ * <p>
+ * {@link FieldValues} sentinels become {@link FieldValue}s on the way in and
+ * {@link Timestamp}s become {@link java.util.Date}s on the way out. Futures complete from the
+ * task listeners, i.e. on the main thread, exactly where the callbacks of the code they
+ * replace ran. Reads and commits are recorded in {@link FirestoreMetrics} under
+ * {@code DocumentStore.get}, {@code .query} or {@code .commit} followed by the collection id,
+ * e.g. {@code DocumentStore.query:entrants}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class FirestoreDocumentStore implements DocumentStore {
+
+    private static final String OPERATION = "DocumentStore.";
+
+    private final FirebaseFirestore db;
+
+    public FirestoreDocumentStore(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    @Override
+    public CompletableFuture<Document> get(String path) {
+        return toFuture(FirestoreMetrics.read(operation("get", collectionId(parent(path))),
+                db.document(path).get()), FirestoreDocumentStore::toDocument);
+    }
+
+    @Override
+    public CompletableFuture<List<Document>> query(Query query) {
+        String collectionId = query.isCollectionGroup() ? query.getPath() : collectionId(query.getPath());
+        return toFuture(FirestoreMetrics.read(operation("query", collectionId), toFirestore(query).get()),
+                FirestoreDocumentStore::toDocuments);
+    }
+
+    @Override
+    public Batch batch() {
+        return new FirestoreBatch();
+    }
+
+    /**
+     * Firestore retries the function only for its own contention errors. Any other checked
+     * exception the function throws is carried out as a {@link FunctionFailure}, which the
+     * SDK does not retry, and the future fails with the original exception.
+     */
+    @Override
+    public <T> CompletableFuture<T> runTransaction(TransactionFunction<T> function) {
+        return toFuture(db.runTransaction(transaction -> {
+            try {
+                return function.apply(new FirestoreTransaction(transaction));
+            } catch (RuntimeException | FirebaseFirestoreException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new FunctionFailure(e);
+            }
+        }), result -> result);
+    }
+
+    @Override
+    public String newId() {
+        return db.collection("ids").document().getId();
+    }
+
+    private com.google.firebase.firestore.Query toFirestore(Query query) {
+        com.google.firebase.firestore.Query result = query.isCollectionGroup()
+                ? db.collectionGroup(query.getPath())
+                : db.collection(query.getPath());
+
+        for (Query.Filter filter : query.getFilters()) {
+            FieldPath field = fieldPath(filter.getField());
+            Object value = filter.getValue();
+            switch (filter.getOperator()) {
+                case EQUAL:
+                    result = result.whereEqualTo(field, value);
+                    break;
+                case NOT_EQUAL:
+                    result = result.whereNotEqualTo(field, value);
+                    break;
+                case LESS_THAN:
+                    result = result.whereLessThan(field, value);
+                    break;
+                case LESS_THAN_OR_EQUAL:
+                    result = result.whereLessThanOrEqualTo(field, value);
+                    break;
+                case GREATER_THAN:
+                    result = result.whereGreaterThan(field, value);
+                    break;
+                case GREATER_THAN_OR_EQUAL:
+                    result = result.whereGreaterThanOrEqualTo(field, value);
+                    break;
+                case ARRAY_CONTAINS:
+                    result = result.whereArrayContains(field, value);
+                    break;
+                case IN:
+                    result = result.whereIn(field, (List<?>) value);
+                    break;
+            }
+        }
+        for (Query.Order order : query.getOrders()) {
+            result = result.orderBy(fieldPath(order.getField()),
+                    order.getDirection() == Query.Direction.DESCENDING
+                            ? com.google.firebase.firestore.Query.Direction.DESCENDING
+                            : com.google.firebase.firestore.Query.Direction.ASCENDING);
+        }
+        if (query.getStartAfter() != null) {
+            result = result.startAfter(query.getStartAfter().toArray());
+        }
+        if (query.getLimit() > 0) {
+            result = result.limit(query.getLimit());
+        }
+        return result;
+    }
+
+    private static FieldPath fieldPath(String field) {
+        return Query.DOCUMENT_ID.equals(field) ? FieldPath.documentId() : FieldPath.of(field.split("\\."));
+    }
+
+    // ------------------------------------------------------------------
+    // Writes
+    // ------------------------------------------------------------------
+
+    private final class FirestoreBatch implements Batch {
+        private final WriteBatch batch = db.batch();
+        private String firstPath;
+        private int size;
+
+        @Override
+        public Batch set(String path, Map<String, Object> data) {
+            batch.set(db.document(added(path)), toFirestore(data));
+            return this;
+        }
+
+        @Override
+        public Batch set(String path, Map<String, Object> data, boolean merge) {
+            if (merge) {
+                batch.set(db.document(added(path)), toFirestore(data), SetOptions.merge());
+            } else {
+                batch.set(db.document(added(path)), toFirestore(data));
+            }
+            return this;
+        }
+
+        @Override
+        public Batch update(String path, Map<String, Object> data) {
+            batch.update(db.document(added(path)), toFirestore(data));
+            return this;
+        }
+
+        @Override
+        public Batch delete(String path) {
+            batch.delete(db.document(added(path)));
+            return this;
+        }
+
+        private String added(String path) {
+            if (firstPath == null) {
+                firstPath = path;
+            }
+            size++;
+            return path;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public CompletableFuture<Void> commit() {
+            String collectionId = firstPath != null ? collectionId(parent(firstPath)) : "empty";
+            return toFuture(FirestoreMetrics.write(operation("commit", collectionId), size, batch.commit()),
+                    ignored -> null);
+        }
+    }
+
+    /**
+     * A checked exception thrown by a transaction function, wrapped to get it out of the
+     * SDK's {@link com.google.firebase.firestore.Transaction.Function} without being retried.
+     */
+    private static final class FunctionFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        FunctionFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private final class FirestoreTransaction implements DocumentStore.Transaction {
+        private final Transaction transaction;
+
+        FirestoreTransaction(Transaction transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public Document get(String path) throws FirebaseFirestoreException {
+            return toDocument(transaction.get(db.document(path)));
+        }
+
+        @Override
+        public DocumentStore.Transaction set(String path, Map<String, Object> data) {
+            transaction.set(db.document(path), toFirestore(data));
+            return this;
+        }
+
+        @Override
+        public DocumentStore.Transaction set(String path, Map<String, Object> data, boolean merge) {
+            if (merge) {
+                transaction.set(db.document(path), toFirestore(data), SetOptions.merge());
+            } else {
+                transaction.set(db.document(path), toFirestore(data));
+            }
+            return this;
+        }
+
+        @Override
+        public DocumentStore.Transaction update(String path, Map<String, Object> data) {
+            transaction.update(db.document(path), toFirestore(data));
+            return this;
+        }
+
+        @Override
+        public DocumentStore.Transaction delete(String path) {
+            transaction.delete(db.document(path));
+            return this;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Conversion
+    // ------------------------------------------------------------------
+
+    private static Map<String, Object> toFirestore(Map<String, Object> data) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            result.put(entry.getKey(), toFirestoreValue(entry.getValue()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object toFirestoreValue(Object value) {
+        if (value instanceof Map) {
+            return toFirestore((Map<String, Object>) value);
+        }
+        if (!(value instanceof FieldValues.Sentinel)) {
+            return value;
+        }
+        FieldValues.Sentinel sentinel = (FieldValues.Sentinel) value;
+        switch (sentinel.getKind()) {
+            case SERVER_TIMESTAMP:
+                return FieldValue.serverTimestamp();
+            case INCREMENT:
+                Number amount = sentinel.getAmount();
+                return amount instanceof Double
+                        ? FieldValue.increment(amount.doubleValue())
+                        : FieldValue.increment(amount.longValue());
+            case ARRAY_UNION:
+                return FieldValue.arrayUnion(sentinel.getElements().toArray());
+            case ARRAY_REMOVE:
+                return FieldValue.arrayRemove(sentinel.getElements().toArray());
+            default:
+                return FieldValue.delete();
+        }
+    }
+
+    static Document toDocument(DocumentSnapshot snapshot) {
+        Map<String, Object> data = snapshot.getData();
+        return new Document(snapshot.getReference().getPath(), data != null ? fromFirestore(data) : null);
+    }
+
+    private static List<Document> toDocuments(QuerySnapshot snapshot) {
+        List<Document> documents = new ArrayList<>(snapshot.size());
+        for (DocumentSnapshot document : snapshot.getDocuments()) {
+            documents.add(toDocument(document));
+        }
+        return documents;
+    }
+
+    private static Map<String, Object> fromFirestore(Map<String, Object> data) {
+        Map<String, Object> result = new HashMap<>();
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            result.put(entry.getKey(), fromFirestoreValue(entry.getValue()));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object fromFirestoreValue(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toDate();
+        }
+        if (value instanceof Map) {
+            return fromFirestore((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>();
+            for (Object element : (List<Object>) value) {
+                result.add(fromFirestoreValue(element));
+            }
+            return result;
+        }
+        return value;
+    }
+
+    // ------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------
+
+    private static <T, R> CompletableFuture<R> toFuture(Task<T> task, Function<T, R> convert) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        task.addOnCompleteListener(done -> {
+            if (!done.isSuccessful()) {
+                Exception error = done.getException();
+                if (error instanceof FunctionFailure) {
+                    future.completeExceptionally(error.getCause());
+                } else {
+                    future.completeExceptionally(error != null ? error : new CancellationException());
+                }
+                return;
+            }
+            try {
+                future.complete(convert.apply(done.getResult()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static String operation(String kind, String collectionId) {
+        return OPERATION + kind + ":" + collectionId;
+    }
+
+    private static String parent(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    private static String collectionId(String collectionPath) {
+        return collectionPath.substring(collectionPath.lastIndexOf('/') + 1);
+    }
+}
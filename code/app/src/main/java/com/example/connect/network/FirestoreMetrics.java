@@ -0,0 +1,540 @@
+package com.example.connect.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.connect.utils.CsvWriter;
+import com.example.connect.utils.LatencyHistogram;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what each screen and operation costs in Firestore.
+ * <p>
+ * Call sites wrap the task they already have, e.g.
+ * {@code FirestoreMetrics.read("EventRepository.getAllEvents", query.get())}, and keep using
+ * the returned task as before. For every (scope, operation) pair this records the number of
+ * calls and failures, documents read or written, how many reads were answered from the local
+ * cache, an estimate of the payload in bytes (following Firestore's storage size rules) and a
+ * latency histogram.
+ * <p>
+ * The scope is the screen in the foreground when the call was issued (see
+ * {@link #setScreen(String)}), or the background job running on the calling thread (see
+ * {@link #setThreadScope(String)}). Results are shown by {@code FirestoreMetricsActivity}
+ * and can be appended to a CSV file periodically with {@link #startPeriodicDump}.
+ * <p>
+ * Recording is off until {@link #setEnabled(boolean)} is called (the application turns it on
+ * in debuggable builds); while off, the wrappers return the task untouched. Payload sizes are
+ * estimated on a background thread once the task completes.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class FirestoreMetrics {
+
+    private static final String TAG = "FirestoreMetrics";
+
+    public static final String KIND_READ = "read";
+    public static final String KIND_WRITE = "write";
+    public static final String KIND_LISTEN = "listen";
+
+    /** Scope of calls made while no screen is in the foreground. */
+    public static final String BACKGROUND = "background";
+
+    public static final String DUMP_FILE = "firestore_metrics.csv";
+
+    private static volatile boolean enabled;
+    private static volatile String screen;
+    private static final ThreadLocal<String> threadScope = new ThreadLocal<>();
+
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Executor recorder = Executors.newSingleThreadExecutor(
+            runnable -> daemon(runnable, "firestore-metrics"));
+    private static ScheduledExecutorService dumper;
+
+    private FirestoreMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Running totals for one scope and operation.
+     */
+    static final class Counter {
+        final String scope;
+        final String operation;
+        final String kind;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder documents = new LongAdder();
+        final LongAdder cached = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LatencyHistogram latencyMicros = new LatencyHistogram();
+
+        Counter(String scope, String operation, String kind) {
+            this.scope = scope;
+            this.operation = operation;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the totals for one scope and operation.
+     */
+    public static class OperationStats {
+        private final String scope;
+        private final String operation;
+        private final String kind;
+        private final long calls;
+        private final long failures;
+        private final long documents;
+        private final long cached;
+        private final long bytes;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        OperationStats(Counter counter) {
+            scope = counter.scope;
+            operation = counter.operation;
+            kind = counter.kind;
+            calls = counter.calls.sum();
+            failures = counter.failures.sum();
+            documents = counter.documents.sum();
+            cached = counter.cached.sum();
+            bytes = counter.bytes.sum();
+            LatencyHistogram latency = counter.latencyMicros;
+            meanMillis = latency.getMean() / 1000.0;
+            p50Millis = latency.getValueAtPercentile(50) / 1000.0;
+            p90Millis = latency.getValueAtPercentile(90) / 1000.0;
+            p99Millis = latency.getValueAtPercentile(99) / 1000.0;
+            maxMillis = latency.getMax() / 1000.0;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return {@link #KIND_READ}, {@link #KIND_WRITE} or {@link #KIND_LISTEN}
+         */
+        public String getKind() {
+            return kind;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return documents read or written (a read that finds nothing still counts as one)
+         */
+        public long getDocuments() {
+            return documents;
+        }
+
+        /**
+         * @return documents served from the local cache, which Firestore does not bill
+         */
+        public long getCached() {
+            return cached;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the screen that calls are attributed to; null means the app is in the background.
+     */
+    public static void setScreen(String name) {
+        screen = name;
+    }
+
+    /**
+     * Attributes calls issued on the current thread to {@code scope} (e.g. a background job)
+     * instead of the foreground screen, until {@link #clearThreadScope()}.
+     */
+    public static void setThreadScope(String scope) {
+        threadScope.set(scope);
+    }
+
+    public static void clearThreadScope() {
+        threadScope.remove();
+    }
+
+    /**
+     * Wraps work handed to another thread (e.g. an executor) so its calls are attributed to
+     * the scope of the thread that created it, rather than to whatever screen is in front.
+     */
+    public static <T> Callable<T> inCurrentScope(Callable<T> task) {
+        String scope = threadScope.get();
+        if (scope == null) return task;
+        return () -> {
+            String previous = threadScope.get();
+            threadScope.set(scope);
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    threadScope.set(previous);
+                } else {
+                    threadScope.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * Records a read. Documents and payload are taken from the result.
+     *
+     * @return {@code task}, so the call can be wrapped in place
+     */
+    public static <T> Task<T> read(String operation, Task<T> task) {
+        return track(operation, KIND_READ, 0, 0, task);
+    }
+
+    /**
+     * Records a write of {@code documents} documents with no payload estimate (e.g. deletes).
+     *
+     * @return {@code task}, so the call can be wrapped in place
+     */
+    public static <T> Task<T> write(String operation, int documents, Task<T> task) {
+        return track(operation, KIND_WRITE, documents, 0, task);
+    }
+
+    /**
+     * Records a write of {@code documents} documents carrying {@code data}.
+     *
+     * @return {@code task}, so the call can be wrapped in place
+     */
+    public static <T> Task<T> write(String operation, int documents, Map<String, ?> data, Task<T> task) {
+        return track(operation, KIND_WRITE, documents, enabled ? estimateSize(data) : 0, task);
+    }
+
+    /**
+     * Records one snapshot delivered to a listener. Only changed documents are billed, so
+     * only those are counted.
+     */
+    public static void recordSnapshot(String operation, QuerySnapshot snapshot) {
+        if (!enabled || snapshot == null) return;
+        Counter counter = counter(scope(), operation, KIND_LISTEN);
+        recorder.execute(() -> {
+            counter.calls.increment();
+            long size = 0;
+            int changed = snapshot.getDocumentChanges().size();
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                size += estimateDocument(change.getDocument());
+            }
+            counter.documents.add(changed);
+            if (snapshot.getMetadata().isFromCache()) counter.cached.add(changed);
+            counter.bytes.add(size);
+        });
+    }
+
+    /**
+     * Records one document snapshot delivered to a listener.
+     */
+    public static void recordSnapshot(String operation, DocumentSnapshot snapshot) {
+        if (!enabled || snapshot == null) return;
+        Counter counter = counter(scope(), operation, KIND_LISTEN);
+        recorder.execute(() -> {
+            counter.calls.increment();
+            counter.documents.increment();
+            if (snapshot.getMetadata().isFromCache()) counter.cached.increment();
+            counter.bytes.add(estimateDocument(snapshot));
+        });
+    }
+
+    private static <T> Task<T> track(String operation, String kind, int documents, long bytes, Task<T> task) {
+        if (!enabled || task == null) return task;
+        Counter counter = counter(scope(), operation, kind);
+        long start = System.nanoTime();
+        task.addOnCompleteListener(recorder, done -> {
+            counter.calls.increment();
+            counter.latencyMicros.record((System.nanoTime() - start) / 1000);
+            if (!done.isSuccessful()) {
+                counter.failures.increment();
+                return;
+            }
+            if (KIND_WRITE.equals(kind)) {
+                counter.documents.add(documents);
+                counter.bytes.add(bytes);
+            } else {
+                recordResult(counter, done.getResult());
+            }
+        });
+        return task;
+    }
+
+    private static void recordResult(Counter counter, Object result) {
+        if (result instanceof QuerySnapshot) {
+            QuerySnapshot snapshot = (QuerySnapshot) result;
+            // An empty query result is still billed as one read
+            int documents = Math.max(1, snapshot.size());
+            counter.documents.add(documents);
+            if (snapshot.getMetadata().isFromCache()) counter.cached.add(documents);
+            long size = 0;
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                size += estimateDocument(doc);
+            }
+            counter.bytes.add(size);
+        } else if (result instanceof DocumentSnapshot) {
+            DocumentSnapshot doc = (DocumentSnapshot) result;
+            counter.documents.increment();
+            if (doc.getMetadata().isFromCache()) counter.cached.increment();
+            counter.bytes.add(estimateDocument(doc));
+        } else {
+            // Aggregations and transactions: count the call as one read
+            counter.documents.increment();
+        }
+    }
+
+    static String scope() {
+        String scope = threadScope.get();
+        if (scope != null) return scope;
+        String current = screen;
+        return current != null ? current : BACKGROUND;
+    }
+
+    static Counter counter(String scope, String operation, String kind) {
+        String key = scope + '\u0000' + operation + '\u0000' + kind;
+        return counters.computeIfAbsent(key, k -> new Counter(scope, operation, kind));
+    }
+
+    /**
+     * Estimated storage size of a document: its name, its fields and a fixed overhead.
+     */
+    static long estimateDocument(DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) return 0;
+        return estimateSize(doc.getReference().getPath()) + 16 + estimateSize(doc.getData()) + 32;
+    }
+
+    /**
+     * Estimates how many bytes Firestore stores for a field value.
+     */
+    public static long estimateSize(Object value) {
+        if (value == null || value instanceof Boolean) return 1;
+        if (value instanceof String) return utf8Length((String) value) + 1;
+        if (value instanceof Number || value instanceof Timestamp || value instanceof Date) return 8;
+        if (value instanceof GeoPoint) return 16;
+        if (value instanceof Blob) return ((Blob) value).toBytes().length;
+        if (value instanceof DocumentReference) {
+            return estimateSize(((DocumentReference) value).getPath()) + 16;
+        }
+        if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += estimateSize(String.valueOf(entry.getKey())) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Iterable) {
+            long size = 0;
+            for (Object item : (Iterable<?>) value) {
+                size += estimateSize(item);
+            }
+            return size;
+        }
+        // Sentinels such as FieldValue.serverTimestamp() and anything unknown
+        return 8;
+    }
+
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return a copy of all totals, most documents first
+     */
+    public static List<OperationStats> snapshot() {
+        List<OperationStats> stats = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            stats.add(new OperationStats(counter));
+        }
+        Collections.sort(stats, (a, b) -> Long.compare(b.getDocuments(), a.getDocuments()));
+        return stats;
+    }
+
+    /**
+     * Waits until every call completed so far has been counted. Totals are updated on a
+     * background thread, so tests that read them right after their calls finish wait here first.
+     *
+     * @return false if {@code timeout} elapsed first
+     */
+    public static boolean awaitRecorded(long timeout, TimeUnit unit) throws InterruptedException {
+        CountDownLatch recorded = new CountDownLatch(1);
+        recorder.execute(recorded::countDown);
+        return recorded.await(timeout, unit);
+    }
+
+    public static void reset() {
+        counters.clear();
+    }
+
+    /**
+     * @return the totals as a plain-text table, for the debug screen and logs
+     */
+    public static String report() {
+        List<OperationStats> stats = snapshot();
+        if (stats.isEmpty()) {
+            return enabled ? "No Firestore calls recorded yet." : "Firestore metrics are disabled.";
+        }
+        long documents = 0;
+        long bytes = 0;
+        StringBuilder out = new StringBuilder();
+        for (OperationStats s : stats) {
+            documents += s.getDocuments();
+            bytes += s.getBytes();
+        }
+        out.append(String.format(Locale.US, "Total: %d docs, %.1f KB%n%n", documents, bytes / 1024.0));
+        for (OperationStats s : stats) {
+            out.append(s.getScope()).append(" › ").append(s.getOperation())
+                    .append(" (").append(s.getKind()).append(")\n");
+            out.append(String.format(Locale.US,
+                    "  %d calls, %d failed, %d docs (%d cached), %.1f KB%n",
+                    s.getCalls(), s.getFailures(), s.getDocuments(), s.getCached(), s.getBytes() / 1024.0));
+            if (!KIND_LISTEN.equals(s.getKind())) {
+                out.append(String.format(Locale.US,
+                        "  p50 %.0f ms, p90 %.0f ms, p99 %.0f ms, max %.0f ms%n",
+                        s.getP50Millis(), s.getP90Millis(), s.getP99Millis(), s.getMaxMillis()));
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Appends the current totals to {@code file} as CSV rows, one per operation, all stamped
+     * with the same time. A header is written when the file is new.
+     */
+    public static void dump(File file) throws IOException {
+        boolean isNew = !file.exists() || file.length() == 0;
+        String now = String.valueOf(System.currentTimeMillis());
+        try (CsvWriter csv = new CsvWriter(new FileWriter(file, true))) {
+            if (isNew) {
+                csv.row("time", "scope", "operation", "kind", "calls", "failures", "documents",
+                        "cached", "bytes", "mean_ms", "p50_ms", "p90_ms", "p99_ms", "max_ms");
+            }
+            for (OperationStats s : snapshot()) {
+                csv.row(now, s.getScope(), s.getOperation(), s.getKind(),
+                        String.valueOf(s.getCalls()), String.valueOf(s.getFailures()),
+                        String.valueOf(s.getDocuments()), String.valueOf(s.getCached()),
+                        String.valueOf(s.getBytes()),
+                        format(s.getMeanMillis()), format(s.getP50Millis()), format(s.getP90Millis()),
+                        format(s.getP99Millis()), format(s.getMaxMillis()));
+            }
+        }
+    }
+
+    /**
+     * @return the file that periodic dumps are appended to
+     */
+    public static File dumpFile(Context context) {
+        return new File(context.getFilesDir(), DUMP_FILE);
+    }
+
+    /**
+     * Appends the totals to {@link #dumpFile(Context)} every {@code periodMinutes} on a
+     * background thread. Calling it again has no effect.
+     */
+    public static synchronized void startPeriodicDump(Context context, long periodMinutes) {
+        if (dumper != null) return;
+        File file = dumpFile(context.getApplicationContext());
+        dumper = Executors.newSingleThreadScheduledExecutor(
+                runnable -> daemon(runnable, "firestore-metrics-dump"));
+        dumper.scheduleWithFixedDelay(() -> {
+            if (counters.isEmpty()) return;
+            try {
+                dump(file);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to write " + file, e);
+            }
+        }, periodMinutes, periodMinutes, TimeUnit.MINUTES);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.US, "%.2f", millis);
+    }
+}
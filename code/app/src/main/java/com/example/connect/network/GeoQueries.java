@@ -0,0 +1,241 @@
+package com.example.connect.network;
+
+import com.example.connect.utils.GeoHash;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial queries over documents carrying a {@value #FIELD_GEOHASH} field next to their
+ * {@code latitude}/{@code longitude}.
+ * <p>
+ * A bounding box or radius is turned into a handful of geohash cells
+ * ({@link GeoHash#coveringCells}); each cell is one range query on the geohash field, and the
+ * merged results are filtered precisely so callers only get documents really inside the
+ * area. Entrant queries can target one event's {@code entrants} subcollection or, with a null
+ * event id, every event through a collection group query (which needs a collection group
+ * index on {@code entrants.geohash}).
+ * <p>
+ * Entrants that joined before geohashes were written are backfilled once per event by
+ * {@link #ensureEntrantsIndexed}; {@value #FIELD_INDEXED} on the waiting list document
+ * records that this was done.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class GeoQueries {
+
+    public static final String FIELD_GEOHASH = "geohash";
+    public static final String FIELD_LATITUDE = "latitude";
+    public static final String FIELD_LONGITUDE = "longitude";
+
+    public static final String FIELD_INDEXED = "geohash_indexed";
+
+    /** Sorts after every geohash character, closing a prefix range. */
+    private static final String RANGE_END = "~";
+
+    /** Firestore's limit on writes per batch. */
+    private static final int MAX_BATCH_WRITES = 500;
+
+    private final FirebaseFirestore db;
+
+    public GeoQueries() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public GeoQueries(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * @return one event's entrants, or every event's entrants when {@code eventId} is null.
+     */
+    public Query entrants(String eventId) {
+        if (eventId == null) {
+            return db.collectionGroup("entrants");
+        }
+        return db.collection("waiting_lists").document(eventId).collection("entrants");
+    }
+
+    /**
+     * @return the documents of {@code base} whose geohash starts with {@code cell}.
+     */
+    public static Query inCell(Query base, String cell) {
+        return base.orderBy(FIELD_GEOHASH).startAt(cell).endAt(cell + RANGE_END);
+    }
+
+    /**
+     * Entrants inside a bounding box.
+     *
+     * @param eventId the event, or null to search every event
+     */
+    public Task<List<DocumentSnapshot>> entrantsInBounds(String eventId, GeoHash.BoundingBox box) {
+        return inCells(entrants(eventId), GeoHash.coveringCells(box))
+                .continueWith(task -> inBounds(task.getResult(), box));
+    }
+
+    /**
+     * Entrants within {@code radiusMeters} of a point.
+     *
+     * @param eventId the event, or null to search every event
+     */
+    public Task<List<DocumentSnapshot>> entrantsWithinRadius(String eventId, double lat, double lng,
+                                                             double radiusMeters) {
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.aroundPoint(lat, lng, radiusMeters);
+        return entrantsInBounds(eventId, box)
+                .continueWith(task -> withinRadius(task.getResult(), lat, lng, radiusMeters));
+    }
+
+    /**
+     * Keeps the documents whose position lies inside the box. Cells overhang the box, so
+     * their range queries also return documents just outside it.
+     */
+    static List<DocumentSnapshot> inBounds(List<DocumentSnapshot> docs, GeoHash.BoundingBox box) {
+        List<DocumentSnapshot> inside = new ArrayList<>();
+        for (DocumentSnapshot doc : docs) {
+            double[] position = positionOf(doc);
+            if (position != null && box.contains(position[0], position[1])) {
+                inside.add(doc);
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Keeps the documents within {@code radiusMeters} of a point, dropping the corners of
+     * the bounding box around it.
+     */
+    static List<DocumentSnapshot> withinRadius(List<DocumentSnapshot> docs, double lat, double lng,
+                                               double radiusMeters) {
+        List<DocumentSnapshot> inside = new ArrayList<>();
+        for (DocumentSnapshot doc : docs) {
+            double[] position = positionOf(doc);
+            if (position != null
+                    && GeoHash.distanceMeters(lat, lng, position[0], position[1]) <= radiusMeters) {
+                inside.add(doc);
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Runs one range query per cell in parallel and merges the results, dropping documents
+     * returned by more than one cell.
+     */
+    public static Task<List<DocumentSnapshot>> inCells(Query base, Collection<String> cells) {
+        List<Task<QuerySnapshot>> queries = new ArrayList<>();
+        for (String cell : cells) {
+            queries.add(inCell(base, cell).get());
+        }
+        return Tasks.whenAllSuccess(queries).continueWith(task -> {
+            Map<String, DocumentSnapshot> merged = new LinkedHashMap<>();
+            for (Object result : task.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                    merged.put(doc.getReference().getPath(), doc);
+                }
+            }
+            return new ArrayList<>(merged.values());
+        });
+    }
+
+    /**
+     * Writes the geohash of every located entrant of an older waiting list that predates
+     * geohashes. Does nothing (one document read) once the list is marked as indexed.
+     */
+    public Task<Void> ensureEntrantsIndexed(String eventId) {
+        DocumentReference waitingList = db.collection("waiting_lists").document(eventId);
+        return waitingList.get().continueWithTask(task -> {
+            if (Boolean.TRUE.equals(task.getResult().getBoolean(FIELD_INDEXED))) {
+                return Tasks.forResult(null);
+            }
+            return entrants(eventId).get().continueWithTask(entrantsTask -> {
+                List<Task<Void>> commits = new ArrayList<>();
+                WriteBatch batch = db.batch();
+                int writes = 0;
+                for (DocumentSnapshot doc : entrantsTask.getResult().getDocuments()) {
+                    double[] position = positionOf(doc);
+                    if (position == null || doc.getString(FIELD_GEOHASH) != null) continue;
+
+                    batch.update(doc.getReference(), FIELD_GEOHASH, GeoHash.encode(position[0], position[1]));
+                    if (++writes == MAX_BATCH_WRITES - 1) {
+                        commits.add(batch.commit());
+                        batch = db.batch();
+                        writes = 0;
+                    }
+                }
+                Map<String, Object> flag = new HashMap<>();
+                markIndexed(flag);
+                batch.set(waitingList, flag, SetOptions.merge());
+                commits.add(batch.commit());
+                return Tasks.whenAll(commits);
+            });
+        });
+    }
+
+    /**
+     * Marks a brand-new waiting list as indexed so no backfill is ever attempted.
+     */
+    public static void markIndexed(Map<String, Object> waitingListData) {
+        waitingListData.put(FIELD_INDEXED, true);
+    }
+
+    /**
+     * Reads {@code latitude}/{@code longitude}, accepting numbers or numeric strings.
+     *
+     * @return {lat, lng}, or null if the document has no usable position
+     */
+    public static double[] positionOf(DocumentSnapshot doc) {
+        return positionOf(doc, FIELD_LATITUDE, FIELD_LONGITUDE);
+    }
+
+    /**
+     * Reads a position stored under other field names, e.g. an event's
+     * {@code location_latitude}/{@code location_longitude}.
+     *
+     * @return {lat, lng}, or null if the document has no usable position
+     */
+    public static double[] positionOf(DocumentSnapshot doc, String latField, String lngField) {
+        Double lat = toDouble(doc.get(latField));
+        Double lng = toDouble(doc.get(lngField));
+        if (lat == null || lng == null || Double.isNaN(lat) || Double.isNaN(lng)) {
+            return null;
+        }
+        return new double[]{lat, lng};
+    }
+
+    /**
+     * Adds the geohash of a position to a document's data, if the position is known.
+     */
+    public static void putGeohash(Map<String, Object> data, Double lat, Double lng) {
+        if (lat != null && lng != null) {
+            data.put(FIELD_GEOHASH, GeoHash.encode(lat, lng));
+        }
+    }
+
+    private static Double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble((String) value);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
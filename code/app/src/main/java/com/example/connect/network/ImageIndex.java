@@ -0,0 +1,288 @@
+package com.example.connect.network;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Base64;
+import android.util.Log;
+
+import com.example.connect.utils.SearchTokens;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Maintains the {@code images} metadata index used by the admin image gallery.
+ * <p>
+ * Every event poster and profile picture has one small {@code images/{imageId}} document
+ * describing it (owner, type, the entity it belongs to, size, SHA-256 hash and where the full
+ * image lives) plus, for Base64 images, a {@value #THUMBNAIL_SIZE}px JPEG thumbnail in
+ * {@code image_thumbnails/{imageId}}. The gallery pages through the metadata only and fetches
+ * thumbnails on demand through {@link ImageThumbnailCache}; the full image is read from its
+ * source document only when an admin opens it.
+ * <p>
+ * Image ids are derived from the owning document ({@link #eventPosterId},
+ * {@link #profilePictureId}) so re-uploading an image overwrites its entry. Entries are written
+ * after the image itself is saved and removed together with it; hashing and thumbnailing run on
+ * a background executor.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class ImageIndex {
+
+    private static final String TAG = "ImageIndex";
+
+    public static final String COLLECTION = "images";
+    public static final String THUMBNAILS = "image_thumbnails";
+
+    public static final String FIELD_OWNER_ID = "owner_id";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_RELATED_ID = "related_id";
+    public static final String FIELD_DISPLAY_NAME = "display_name";
+    public static final String FIELD_SOURCE_PATH = "source_path";
+    public static final String FIELD_SOURCE_FIELD = "source_field";
+    public static final String FIELD_URL = "url";
+    public static final String FIELD_SIZE_BYTES = "size_bytes";
+    public static final String FIELD_HASH = "hash";
+    public static final String FIELD_THUMBNAIL_REF = "thumbnail_ref";
+    public static final String FIELD_UPDATED_AT = "updated_at";
+
+    /** Field of an {@code image_thumbnails} document holding the Base64 JPEG. */
+    public static final String FIELD_THUMBNAIL_DATA = "data";
+
+    public static final String TYPE_EVENT_POSTER = "Event Poster";
+    public static final String TYPE_PROFILE_PICTURE = "Profile Picture";
+
+    /** Longest side of a thumbnail, in pixels. */
+    static final int THUMBNAIL_SIZE = 128;
+    private static final int THUMBNAIL_QUALITY = 70;
+
+    private static ImageIndex instance;
+
+    private final FirebaseFirestore db;
+    private final Executor executor;
+
+    /**
+     * An index entry ready to be written: the metadata and, if one could be made, a thumbnail.
+     */
+    public static class Entry {
+        public final String imageId;
+        public final Map<String, Object> metadata;
+        public final String thumbnail;
+
+        Entry(String imageId, Map<String, Object> metadata, String thumbnail) {
+            this.imageId = imageId;
+            this.metadata = metadata;
+            this.thumbnail = thumbnail;
+        }
+    }
+
+    public static synchronized ImageIndex getInstance() {
+        if (instance == null) {
+            instance = new ImageIndex(FirebaseFirestore.getInstance(), Executors.newSingleThreadExecutor());
+        }
+        return instance;
+    }
+
+    protected ImageIndex(FirebaseFirestore db, Executor executor) {
+        this.db = db;
+        this.executor = executor;
+    }
+
+    public static String eventPosterId(String eventId) {
+        return "event_" + eventId;
+    }
+
+    public static String profilePictureId(String userId) {
+        return "profile_" + userId;
+    }
+
+    /**
+     * Indexes an event's poster after it was saved to {@code events/{eventId}}.
+     *
+     * @param image the Base64 poster (or its URL)
+     */
+    public void recordEventPoster(String eventId, String organizerId, String title, String image) {
+        record(eventPosterId(eventId), TYPE_EVENT_POSTER, organizerId, eventId, title,
+                "events/" + eventId, isUrl(image) ? "imageUrl" : "image_base64", image);
+    }
+
+    /**
+     * Indexes a user's profile picture after it was saved to {@code accounts/{userId}}.
+     *
+     * @param image the Base64 picture (or its URL)
+     */
+    public void recordProfilePicture(String userId, String displayName, String image) {
+        record(profilePictureId(userId), TYPE_PROFILE_PICTURE, userId, userId, displayName,
+                "accounts/" + userId, "profile_image_url", image);
+    }
+
+    /**
+     * Keeps the name shown in the gallery in step with a renamed event. Does nothing if the
+     * event has no indexed poster.
+     */
+    public void renameEventPoster(String eventId, String title) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(FIELD_DISPLAY_NAME, title);
+        updates.put(SearchTokens.FIELD, SearchTokens.build(title, eventId));
+        db.collection(COLLECTION).document(eventPosterId(eventId))
+                .update(updates)
+                .addOnFailureListener(e -> Log.d(TAG, "No poster entry to rename for " + eventId));
+    }
+
+    /**
+     * Removes an entry and its thumbnail, e.g. after the owning event or account was deleted.
+     */
+    public void remove(String imageId) {
+        WriteBatch batch = db.batch();
+        remove(batch, db, imageId);
+        batch.commit()
+                .addOnFailureListener(e -> Log.e(TAG, "Error removing image entry " + imageId, e));
+        ImageThumbnailCache.getInstance().invalidate(imageId);
+    }
+
+    /**
+     * Adds the deletes for an entry and its thumbnail to a batch, so they commit together with
+     * the change that removes the image itself.
+     */
+    public static void remove(WriteBatch batch, FirebaseFirestore db, String imageId) {
+        batch.delete(db.collection(COLLECTION).document(imageId));
+        batch.delete(db.collection(THUMBNAILS).document(imageId));
+    }
+
+    /**
+     * Adds the writes for an entry to a batch. An entry without a thumbnail removes any
+     * thumbnail left from a previous image.
+     */
+    public static void put(WriteBatch batch, FirebaseFirestore db, Entry entry) {
+        batch.set(db.collection(COLLECTION).document(entry.imageId), entry.metadata);
+        if (entry.thumbnail != null) {
+            Map<String, Object> thumbnail = new HashMap<>();
+            thumbnail.put(FIELD_THUMBNAIL_DATA, entry.thumbnail);
+            batch.set(db.collection(THUMBNAILS).document(entry.imageId), thumbnail);
+        } else {
+            batch.delete(db.collection(THUMBNAILS).document(entry.imageId));
+        }
+    }
+
+    /**
+     * Builds the entry for an image: decodes it, hashes it and renders its thumbnail.
+     * Must be called off the main thread.
+     *
+     * @param image       a Base64 image or an http(s) URL
+     * @param sourceField field of the source document holding the image
+     */
+    public static Entry prepare(String imageId, String type, String ownerId, String relatedId,
+                                String displayName, String sourcePath, String sourceField, String image) {
+        String url = isUrl(image) ? image : null;
+        byte[] bytes = null;
+        String thumbnail = null;
+        if (url == null && image != null) {
+            try {
+                bytes = Base64.decode(image, Base64.DEFAULT);
+                thumbnail = thumbnailOf(bytes);
+            } catch (IllegalArgumentException e) {
+                // Still index it so an admin can find and remove the broken image
+                Log.w(TAG, "Unreadable image for " + imageId, e);
+            }
+        }
+        Map<String, Object> metadata = metadata(imageId, type, ownerId, relatedId, displayName,
+                sourcePath, sourceField, url, bytes, thumbnail != null);
+        return new Entry(imageId, metadata, thumbnail);
+    }
+
+    /**
+     * @return the metadata document for an image; {@code bytes} is null for URL images.
+     */
+    static Map<String, Object> metadata(String imageId, String type, String ownerId, String relatedId,
+                                        String displayName, String sourcePath, String sourceField,
+                                        String url, byte[] bytes, boolean hasThumbnail) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_OWNER_ID, ownerId);
+        data.put(FIELD_TYPE, type);
+        data.put(FIELD_RELATED_ID, relatedId);
+        data.put(FIELD_DISPLAY_NAME, displayName);
+        data.put(FIELD_SOURCE_PATH, sourcePath);
+        data.put(FIELD_SOURCE_FIELD, sourceField);
+        data.put(FIELD_URL, url);
+        data.put(FIELD_SIZE_BYTES, bytes != null ? (long) bytes.length : null);
+        data.put(FIELD_HASH, bytes != null ? sha256Hex(bytes) : null);
+        data.put(FIELD_THUMBNAIL_REF, hasThumbnail ? THUMBNAILS + "/" + imageId : null);
+        data.put(FIELD_UPDATED_AT, System.currentTimeMillis());
+        SearchTokens.put(data, displayName, relatedId);
+        return data;
+    }
+
+    static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Android runtime ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean isUrl(String image) {
+        return image != null && (image.startsWith("http://") || image.startsWith("https://"));
+    }
+
+    /**
+     * @return a Base64 JPEG no larger than {@value #THUMBNAIL_SIZE}px, or null if the bytes
+     * are not an image.
+     */
+    private static String thumbnailOf(byte[] bytes) {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(bytes, 0, bytes.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null;
+
+        // Decode at the smallest power-of-two scale that is still at least thumbnail sized
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = 1;
+        int longest = Math.max(bounds.outWidth, bounds.outHeight);
+        while (longest / (options.inSampleSize * 2) >= THUMBNAIL_SIZE) {
+            options.inSampleSize *= 2;
+        }
+        Bitmap decoded = BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        if (decoded == null) return null;
+
+        float ratio = Math.min(1f, (float) THUMBNAIL_SIZE / Math.max(decoded.getWidth(), decoded.getHeight()));
+        Bitmap scaled = Bitmap.createScaledBitmap(decoded,
+                Math.max(1, Math.round(decoded.getWidth() * ratio)),
+                Math.max(1, Math.round(decoded.getHeight() * ratio)), true);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        scaled.compress(Bitmap.CompressFormat.JPEG, THUMBNAIL_QUALITY, out);
+        return Base64.encodeToString(out.toByteArray(), Base64.NO_WRAP);
+    }
+
+    private void record(String imageId, String type, String ownerId, String relatedId,
+                        String displayName, String sourcePath, String sourceField, String image) {
+        ImageThumbnailCache.getInstance().invalidate(imageId);
+        executor.execute(() -> {
+            try {
+                Entry entry = prepare(imageId, type, ownerId, relatedId, displayName,
+                        sourcePath, sourceField, image);
+                WriteBatch batch = db.batch();
+                put(batch, db, entry);
+                batch.commit()
+                        .addOnFailureListener(e -> Log.e(TAG, "Error indexing image " + imageId, e));
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Error preparing image entry " + imageId, e);
+            }
+        });
+    }
+}
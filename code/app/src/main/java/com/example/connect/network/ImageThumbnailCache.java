@@ -0,0 +1,144 @@
+package com.example.connect.network;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared, on-demand cache of the thumbnails written by {@link ImageIndex}.
+ * <p>
+ * A thumbnail is fetched from {@code image_thumbnails/{imageId}} the first time it is asked
+ * for, decoded off the main thread and kept in a memory-bounded LRU, so scrolling back through
+ * the gallery or opening an image's details never reads it twice. Concurrent requests for the
+ * same image share one read.
+ * <p>
+ * Must be used from the main thread; callbacks are delivered there too.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class ImageThumbnailCache {
+
+    private static final String TAG = "ImageThumbnailCache";
+
+    /** Memory budget for decoded thumbnails (about 250 at the default thumbnail size). */
+    private static final int CACHE_BYTES = 4 * 1024 * 1024;
+
+    private static ImageThumbnailCache instance;
+
+    private final FirebaseFirestore db;
+    private final Executor decoder;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, List<ThumbnailCallback>> pending = new HashMap<>();
+    private final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
+    /**
+     * Receives a thumbnail on the main thread.
+     */
+    public interface ThumbnailCallback {
+        /**
+         * @param bitmap the thumbnail, or null if the image has none or it could not be read
+         */
+        void onThumbnail(Bitmap bitmap);
+    }
+
+    public static synchronized ImageThumbnailCache getInstance() {
+        if (instance == null) {
+            instance = new ImageThumbnailCache(FirebaseFirestore.getInstance(),
+                    Executors.newSingleThreadExecutor());
+        }
+        return instance;
+    }
+
+    protected ImageThumbnailCache(FirebaseFirestore db, Executor decoder) {
+        this.db = db;
+        this.decoder = decoder;
+    }
+
+    /**
+     * @return the thumbnail if it is already in memory, else null.
+     */
+    public Bitmap getCached(String imageId) {
+        return imageId != null ? cache.get(imageId) : null;
+    }
+
+    /**
+     * Drops a thumbnail, e.g. after its image was replaced or deleted.
+     */
+    public void invalidate(String imageId) {
+        if (imageId != null) {
+            cache.remove(imageId);
+        }
+    }
+
+    /**
+     * Loads an image's thumbnail, from memory when possible.
+     */
+    public void load(String imageId, ThumbnailCallback callback) {
+        Bitmap cached = getCached(imageId);
+        if (cached != null || imageId == null) {
+            callback.onThumbnail(cached);
+            return;
+        }
+
+        List<ThumbnailCallback> waiting = pending.get(imageId);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        pending.put(imageId, waiting);
+
+        db.collection(ImageIndex.THUMBNAILS).document(imageId)
+                .get()
+                .addOnSuccessListener(decoder, snapshot -> {
+                    Bitmap bitmap = decode(snapshot.getString(ImageIndex.FIELD_THUMBNAIL_DATA));
+                    mainHandler.post(() -> deliver(imageId, bitmap));
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Error loading thumbnail " + imageId, e);
+                    deliver(imageId, null);
+                });
+    }
+
+    private void deliver(String imageId, Bitmap bitmap) {
+        if (bitmap != null) {
+            cache.put(imageId, bitmap);
+        }
+        List<ThumbnailCallback> waiting = pending.remove(imageId);
+        if (waiting == null) return;
+        for (ThumbnailCallback callback : waiting) {
+            callback.onThumbnail(bitmap);
+        }
+    }
+
+    private static Bitmap decode(String data) {
+        if (data == null || data.isEmpty()) return null;
+        try {
+            byte[] bytes = Base64.decode(data, Base64.DEFAULT);
+            return BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Unreadable thumbnail", e);
+            return null;
+        }
+    }
+}
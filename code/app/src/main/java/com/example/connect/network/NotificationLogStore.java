@@ -0,0 +1,150 @@
+package com.example.connect.network;
+
+import com.example.connect.data.Notifications;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Storage layout of the notification log, partitioned by month.
+ * <p>
+ * Each log entry lives in {@code notification_logs/{yyyy-MM}/entries}, where the month
+ * (UTC) is taken when the entry is written. The month document itself only carries a
+ * {@value #FIELD_MONTH} field so the partitions can be listed newest first. Once old
+ * entries are compacted (see {@code NotificationLogCompactionWorker}) a month also holds
+ * {@code summaries/{yyyy-MM-dd}} documents with per-day totals.
+ * <p>
+ * Entries written before partitioning are still flat documents in
+ * {@code notification_logs}; readers page them after the partitions
+ * ({@link #legacyEntries()}). Month documents have no {@code timestamp}, so they never show
+ * up in timestamp-ordered queries on the flat collection.
+ * <p>
+ * Cross-partition queries (e.g. by recipient or organizer) go through the
+ * {@code entries} collection group, which needs collection group indexes for the fields
+ * they filter on.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class NotificationLogStore {
+
+    public static final String COLLECTION = Notifications.LOGS;
+    public static final String ENTRIES = Notifications.LOG_ENTRIES;
+    public static final String SUMMARIES = "summaries";
+
+    public static final String FIELD_MONTH = Notifications.FIELD_MONTH;
+    public static final String FIELD_DAY = "day";
+    public static final String FIELD_TIMESTAMP = "timestamp";
+    public static final String FIELD_TOTAL = "total";
+    public static final String FIELD_BY_TYPE = "by_type";
+
+    // Month documents already written by this process
+    private static final Set<String> knownMonths = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private final FirebaseFirestore db;
+
+    public NotificationLogStore() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public NotificationLogStore(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * @return the UTC month key, e.g. "2025-11", for a point in time.
+     */
+    public static String monthKey(long millis) {
+        return Notifications.monthKey(millis);
+    }
+
+    /**
+     * @return the UTC day key, e.g. "2025-11-03", for a point in time.
+     */
+    public static String dayKey(long millis) {
+        return Notifications.dayKey(millis);
+    }
+
+    public DocumentReference month(String monthKey) {
+        return db.collection(COLLECTION).document(monthKey);
+    }
+
+    public CollectionReference entries(String monthKey) {
+        return month(monthKey).collection(ENTRIES);
+    }
+
+    public CollectionReference summaries(String monthKey) {
+        return month(monthKey).collection(SUMMARIES);
+    }
+
+    /**
+     * @return every partitioned entry, for queries across months.
+     */
+    public Query allEntries() {
+        return db.collectionGroup(ENTRIES);
+    }
+
+    /**
+     * @return the flat entries written before partitioning (month documents excluded
+     * once the query is ordered or filtered by timestamp).
+     */
+    public Query legacyEntries() {
+        return db.collection(COLLECTION);
+    }
+
+    /**
+     * Writes a log entry into the current month's partition.
+     */
+    public Task<DocumentReference> append(Map<String, Object> logData) {
+        String monthKey = monthKey(System.currentTimeMillis());
+        ensureMonth(monthKey);
+        return FirestoreMetrics.write("NotificationLogStore.append", 1, logData, entries(monthKey).add(logData));
+    }
+
+    /**
+     * Makes sure a month document exists so the partition can be listed. Written at most
+     * once per month per process; the write is idempotent.
+     */
+    public void ensureMonth(String monthKey) {
+        if (knownMonths.add(monthKey)) {
+            Map<String, Object> data = new HashMap<>();
+            data.put(FIELD_MONTH, monthKey);
+            month(monthKey).set(data, SetOptions.merge())
+                    .addOnFailureListener(e -> knownMonths.remove(monthKey));
+        }
+    }
+
+    /**
+     * Builds a pager over the whole log, newest first: each month's entries followed by
+     * its daily summaries, then the legacy flat entries. The month list is read first.
+     */
+    public Task<QueryChainPager> newestFirstPager(int pageSize) {
+        return db.collection(COLLECTION)
+                .orderBy(FIELD_MONTH, Query.Direction.DESCENDING)
+                .get()
+                .continueWith(task -> {
+                    List<Query> queries = new ArrayList<>();
+                    for (DocumentSnapshot monthDoc : task.getResult()) {
+                        queries.add(entries(monthDoc.getId())
+                                .orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING));
+                        queries.add(summaries(monthDoc.getId())
+                                .orderBy(FIELD_DAY, Query.Direction.DESCENDING));
+                    }
+                    queries.add(legacyEntries()
+                            .orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING));
+                    return new QueryChainPager(queries, pageSize);
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.connect.network;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages through several ordered queries one after the other, as if they were one list.
+ * <p>
+ * Used where data is split across collections that are read in a known order, e.g. the
+ * monthly partitions of {@code notification_logs} newest first, followed by logs written
+ * before partitioning. Each query is paged with its own {@link QueryPager}; when one runs
+ * out the next one continues the same page, so callers never see an empty page in the
+ * middle of the chain (a page that spans two queries may hold up to twice the page size).
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class QueryChainPager {
+
+    private final List<Query> queries;
+    private final int pageSize;
+
+    private int index;
+    private QueryPager current;
+    private boolean loading;
+    private int generation;
+
+    public QueryChainPager(List<Query> orderedQueries, int pageSize) {
+        this.queries = new ArrayList<>(orderedQueries);
+        this.pageSize = pageSize;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * @return true if at least one page has been requested since the last reset.
+     */
+    public boolean hasStarted() {
+        return loading || index > 0 || (current != null && current.hasStarted());
+    }
+
+    /**
+     * @return false once every query in the chain is exhausted.
+     */
+    public boolean hasMore() {
+        return index < queries.size();
+    }
+
+    /**
+     * Starts again from the first page of the first query.
+     */
+    public void reset() {
+        generation++;
+        index = 0;
+        current = null;
+        loading = false;
+    }
+
+    /**
+     * Requests the next page. Does nothing if a page is already loading or there are no more.
+     */
+    public void loadNextPage(QueryPager.PageCallback callback) {
+        if (loading || !hasMore()) return;
+        loading = true;
+        load(new ArrayList<>(), generation, callback);
+    }
+
+    private void load(List<DocumentSnapshot> collected, int requestGeneration,
+                      QueryPager.PageCallback callback) {
+        if (current == null) {
+            current = new QueryPager(queries.get(index), pageSize);
+        }
+
+        current.loadNextPage(new QueryPager.PageCallback() {
+            @Override
+            public void onPage(List<DocumentSnapshot> documents, boolean hasMore) {
+                if (requestGeneration != generation) return;
+                collected.addAll(documents);
+
+                if (!hasMore) {
+                    // This query is done; move on to the next one
+                    index++;
+                    current = null;
+                    if (collected.size() < pageSize && hasMore()) {
+                        load(collected, requestGeneration, callback);
+                        return;
+                    }
+                }
+                loading = false;
+                callback.onPage(collected, QueryChainPager.this.hasMore());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (requestGeneration != generation) return;
+                loading = false;
+                callback.onFailure(e);
+            }
+        });
+    }
+}
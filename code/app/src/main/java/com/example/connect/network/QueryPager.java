@@ -0,0 +1,111 @@
+package com.example.connect.network;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import java.util.List;
+
+/**
+ * Cursor-based pager over an ordered Firestore query.
+ * <p>
+ * Each call to {@link #loadNextPage} fetches at most {@code pageSize} documents starting
+ * after the last document of the previous page. Calls made while a page is in flight, or
+ * after the query is exhausted, are ignored. Results that arrive after {@link #reset()}
+ * are dropped so a refresh never mixes old and new pages.
+ * <p>
+ * The query passed in must already carry its {@code orderBy} clause(s); cursors are only
+ * stable over a deterministic order.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class QueryPager {
+
+    /**
+     * Receives the result of one page request.
+     */
+    public interface PageCallback {
+        /**
+         * @param documents the documents on this page, in query order
+         * @param hasMore   false once the query has no further pages
+         */
+        void onPage(List<DocumentSnapshot> documents, boolean hasMore);
+
+        void onFailure(Exception e);
+    }
+
+    private final Query query;
+    private final int pageSize;
+
+    private DocumentSnapshot lastVisible;
+    private boolean loading;
+    private boolean exhausted;
+    private int generation;
+
+    public QueryPager(Query orderedQuery, int pageSize) {
+        this.query = orderedQuery;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return true while a page request is in flight.
+     */
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * @return false once a page shorter than the page size has been returned.
+     */
+    public boolean hasMore() {
+        return !exhausted;
+    }
+
+    /**
+     * @return true if at least one page has been requested since the last reset.
+     */
+    public boolean hasStarted() {
+        return loading || lastVisible != null || exhausted;
+    }
+
+    /**
+     * Forgets the cursor so the next call starts from the first page again.
+     */
+    public void reset() {
+        generation++;
+        lastVisible = null;
+        loading = false;
+        exhausted = false;
+    }
+
+    /**
+     * Requests the next page. Does nothing if a page is already loading or there are no more.
+     */
+    public void loadNextPage(PageCallback callback) {
+        if (loading || exhausted) return;
+        loading = true;
+
+        int requestGeneration = generation;
+        Query page = lastVisible != null
+                ? query.startAfter(lastVisible).limit(pageSize)
+                : query.limit(pageSize);
+
+        page.get()
+                .addOnSuccessListener(snapshot -> {
+                    if (requestGeneration != generation) return;
+                    loading = false;
+
+                    List<DocumentSnapshot> documents = snapshot.getDocuments();
+                    if (!documents.isEmpty()) {
+                        lastVisible = documents.get(documents.size() - 1);
+                    }
+                    exhausted = documents.size() < pageSize;
+                    callback.onPage(documents, !exhausted);
+                })
+                .addOnFailureListener(e -> {
+                    if (requestGeneration != generation) return;
+                    loading = false;
+                    callback.onFailure(e);
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.connect.network;
+
+import com.example.connect.data.Accounts;
+import com.example.connect.data.DocumentStore;
+import com.example.connect.data.Events;
+import com.example.connect.data.Notifications;
+import com.example.connect.data.Reports;
+import com.example.connect.data.WaitingLists;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+/**
+ * Simple locator for the {@link DocumentStore} and the repositories built on it.
+ * <p>
+ * Production code receives a Firestore-backed store, while unit tests can install an
+ * {@link com.example.connect.data.InMemoryDocumentStore} before exercising the code under
+ * test. The repositories are created on first use and replaced whenever the store is.
+ */
+public final class Repositories {
+
+    private static DocumentStore store;
+    private static Events events;
+    private static WaitingLists waitingLists;
+    private static Accounts accounts;
+    private static Notifications notifications;
+    private static Reports reports;
+
+    private Repositories() {
+        // no-op
+    }
+
+    /**
+     * Returns the shared store, creating the Firestore-backed one on first access.
+     */
+    public static synchronized DocumentStore getStore() {
+        if (store == null) {
+            store = new FirestoreDocumentStore(FirebaseFirestore.getInstance());
+        }
+        return store;
+    }
+
+    public static synchronized Events events() {
+        if (events == null) {
+            events = new Events(getStore());
+        }
+        return events;
+    }
+
+    public static synchronized WaitingLists waitingLists() {
+        if (waitingLists == null) {
+            waitingLists = new WaitingLists(getStore());
+        }
+        return waitingLists;
+    }
+
+    public static synchronized Accounts accounts() {
+        if (accounts == null) {
+            accounts = new Accounts(getStore());
+        }
+        return accounts;
+    }
+
+    public static synchronized Notifications notifications() {
+        if (notifications == null) {
+            notifications = new Notifications(getStore());
+        }
+        return notifications;
+    }
+
+    public static synchronized Reports reports() {
+        if (reports == null) {
+            reports = new Reports(getStore());
+        }
+        return reports;
+    }
+
+    /**
+     * Replaces the store. Intended for instrumentation/unit tests.
+     */
+    public static synchronized void setStoreForTesting(DocumentStore testStore) {
+        reset();
+        store = testStore;
+    }
+
+    /**
+     * Clears the store and repositories so future calls receive fresh instances.
+     */
+    public static synchronized void reset() {
+        store = null;
+        events = null;
+        waitingLists = null;
+        accounts = null;
+        notifications = null;
+        reports = null;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.connect.network;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import com.example.connect.models.User;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Batched loader for {@code accounts/{userId}} profiles, shared across screens.
+ * <p>
+ * Instead of one {@code get()} per user, requested ids are de-duplicated, served from an
+ * in-memory LRU where possible, and the rest are fetched with
+ * {@code whereIn(FieldPath.documentId(), ...)} queries of up to {@value #CHUNK_SIZE} ids, with
+ * at most {@value #MAX_IN_FLIGHT} queries running at once. Each chunk is handed to the caller
+ * as soon as it arrives so lists can render progressively.
+ * <p>
+ * Callbacks are delivered on the main thread. Ids with no account document are simply
+ * absent from the results; callers decide on a placeholder.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class UserProfileLoader {
+
+    private static final String TAG = "UserProfileLoader";
+    private static final String COLLECTION_ACCOUNTS = "accounts";
+
+    /** Maximum number of values Firestore accepts in a single whereIn clause. */
+    static final int CHUNK_SIZE = 30;
+
+    /** Number of chunk queries allowed in flight at the same time. */
+    static final int MAX_IN_FLIGHT = 4;
+
+    /** Approximate memory budget for cached profiles (profile images are Base64 strings). */
+    private static final int CACHE_BYTES = 8 * 1024 * 1024;
+
+    private static UserProfileLoader instance;
+
+    private final FirebaseFirestore db;
+    private final LruCache<String, User> cache = new LruCache<String, User>(CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, User user) {
+            return estimateBytes(user);
+        }
+    };
+
+    /**
+     * Receives profiles as they are loaded.
+     */
+    public interface ProfileCallback {
+        /**
+         * Called once per chunk (including one for cache hits) with the profiles it found.
+         */
+        void onChunkLoaded(Map<String, User> profiles);
+
+        /**
+         * Called once after every chunk has finished, with all profiles found.
+         */
+        void onComplete(Map<String, User> profiles);
+    }
+
+    /**
+     * Returns the process-wide loader so the cache is shared between screens.
+     */
+    public static synchronized UserProfileLoader getInstance() {
+        if (instance == null) {
+            instance = new UserProfileLoader(FirebaseFirestore.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared loader. Intended for tests.
+     */
+    public static synchronized void setInstanceForTesting(UserProfileLoader loader) {
+        instance = loader;
+    }
+
+    protected UserProfileLoader(FirebaseFirestore firestore) {
+        this.db = firestore;
+    }
+
+    /**
+     * @return the cached profile for a user, or null if it has not been loaded yet.
+     */
+    public User getCached(String userId) {
+        return userId != null ? cache.get(userId) : null;
+    }
+
+    /**
+     * Drops a cached profile, e.g. after the user edited or deleted their account.
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    /**
+     * Loads the profiles for the given user ids.
+     *
+     * @param userIds  ids to load; nulls, blanks and duplicates are ignored
+     * @param callback receives each chunk as it arrives, then the full result
+     */
+    public void load(Collection<String> userIds, ProfileCallback callback) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String id : userIds) {
+            if (id != null && !id.isEmpty()) {
+                unique.add(id);
+            }
+        }
+
+        Map<String, User> all = new HashMap<>();
+        Map<String, User> hits = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : unique) {
+            User cached = cache.get(id);
+            if (cached != null) {
+                hits.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!hits.isEmpty()) {
+            all.putAll(hits);
+            callback.onChunkLoaded(hits);
+        }
+
+        if (misses.isEmpty()) {
+            callback.onComplete(all);
+            return;
+        }
+
+        Queue<List<String>> chunks = new ArrayDeque<>();
+        for (int start = 0; start < misses.size(); start += CHUNK_SIZE) {
+            chunks.add(new ArrayList<>(misses.subList(start, Math.min(start + CHUNK_SIZE, misses.size()))));
+        }
+
+        new ChunkRun(chunks, all, callback).start();
+    }
+
+    /**
+     * Drives the chunk queue for one {@link #load} call, keeping at most
+     * {@link #MAX_IN_FLIGHT} queries outstanding. All state is touched on the main thread only.
+     */
+    private class ChunkRun {
+        private final Queue<List<String>> queue;
+        private final Map<String, User> all;
+        private final ProfileCallback callback;
+        private int remaining;
+
+        ChunkRun(Queue<List<String>> queue, Map<String, User> all, ProfileCallback callback) {
+            this.queue = queue;
+            this.all = all;
+            this.callback = callback;
+            this.remaining = queue.size();
+        }
+
+        void start() {
+            for (int i = 0; i < MAX_IN_FLIGHT && !queue.isEmpty(); i++) {
+                fetch(queue.poll());
+            }
+        }
+
+        private void fetch(List<String> ids) {
+            db.collection(COLLECTION_ACCOUNTS)
+                    .whereIn(FieldPath.documentId(), ids)
+                    .get()
+                    .addOnSuccessListener(snapshot -> {
+                        Map<String, User> chunk = new HashMap<>();
+                        for (DocumentSnapshot doc : snapshot) {
+                            User user = doc.toObject(User.class);
+                            if (user == null) continue;
+                            if (user.getUserId() == null) {
+                                user.setUserId(doc.getId());
+                            }
+                            cache.put(doc.getId(), user);
+                            chunk.put(doc.getId(), user);
+                        }
+                        onChunkDone(chunk);
+                    })
+                    .addOnFailureListener(e -> {
+                        Log.e(TAG, "Error loading " + ids.size() + " profiles", e);
+                        onChunkDone(new HashMap<>());
+                    });
+        }
+
+        private void onChunkDone(Map<String, User> chunk) {
+            all.putAll(chunk);
+            callback.onChunkLoaded(chunk);
+
+            if (!queue.isEmpty()) {
+                fetch(queue.poll());
+            }
+            if (--remaining == 0) {
+                callback.onComplete(all);
+            }
+        }
+    }
+
+    private static int estimateBytes(User user) {
+        int chars = 64;
+        chars += length(user.getUserId()) + length(user.getName()) + length(user.getEmail())
+                + length(user.getPhone()) + length(user.getProfileImageUrl());
+        return chars * 2;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.connect.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import com.example.connect.R;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Decodes the Base64 images stored on events and accounts off the main thread.
+ * <p>
+ * List adapters used to Base64-decode and {@link BitmapFactory#decodeByteArray} the full-size
+ * image inside {@code bind}, once per row per scroll, which is what made the event lists
+ * stutter. Here the row gets its placeholder (or an already decoded bitmap) immediately; the
+ * decode runs on a background thread, is downsampled to the size of the screen, and lands in
+ * a memory-bounded LRU so scrolling back never decodes again. Rows that were recycled for
+ * another image before the decode finished are left alone.
+ * <p>
+ * Must be used from the main thread; bitmaps are delivered there too.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class Base64ImageLoader {
+
+    private static final String TAG = "Base64ImageLoader";
+
+    /** Memory budget for decoded images, per process. */
+    private static final int CACHE_BYTES = 16 * 1024 * 1024;
+
+    private static Base64ImageLoader instance;
+
+    private final Executor decoder;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Map<String, List<ImageView>> pending = new HashMap<>();
+    private final LruCache<String, Bitmap> cache;
+
+    public static synchronized Base64ImageLoader getInstance() {
+        if (instance == null) {
+            instance = new Base64ImageLoader(Executors.newFixedThreadPool(2), CACHE_BYTES);
+        }
+        return instance;
+    }
+
+    protected Base64ImageLoader(Executor decoder, int cacheBytes) {
+        this.decoder = decoder;
+        this.cache = new LruCache<String, Bitmap>(cacheBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * @return the decoded image if it is already in memory, else null.
+     */
+    public Bitmap getCached(String base64) {
+        return isEmpty(base64) ? null : cache.get(keyFor(base64));
+    }
+
+    /**
+     * Shows a Base64 image in {@code view}: straight away if it was decoded before, otherwise
+     * the placeholder until the background decode finishes. An empty or unreadable image
+     * leaves the placeholder in place.
+     *
+     * @param view           row image view, possibly recycled
+     * @param base64         image data as stored in Firestore, may be null
+     * @param placeholderRes drawable shown while decoding or when there is no image
+     */
+    public void bind(ImageView view, String base64, int placeholderRes) {
+        if (isEmpty(base64)) {
+            cancel(view);
+            view.setImageResource(placeholderRes);
+            return;
+        }
+
+        String key = keyFor(base64);
+        view.setTag(R.id.base64_image_key, key);
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        view.setImageResource(placeholderRes);
+
+        List<ImageView> waiting = pending.get(key);
+        if (waiting != null) {
+            waiting.add(view);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(view);
+        pending.put(key, waiting);
+
+        int maxDimension = view.getResources().getDisplayMetrics().widthPixels;
+        decoder.execute(() -> {
+            Bitmap bitmap = decode(base64, maxDimension);
+            mainHandler.post(() -> deliver(key, bitmap));
+        });
+    }
+
+    /**
+     * Stops {@code view} from receiving a pending decode, e.g. when the row is rebound to an
+     * image loaded some other way.
+     */
+    public void cancel(ImageView view) {
+        view.setTag(R.id.base64_image_key, null);
+    }
+
+    private void deliver(String key, Bitmap bitmap) {
+        if (bitmap != null) {
+            cache.put(key, bitmap);
+        }
+        List<ImageView> waiting = pending.remove(key);
+        if (waiting == null || bitmap == null) return;
+        for (ImageView view : waiting) {
+            // The row may have been rebound to another image meanwhile
+            if (key.equals(view.getTag(R.id.base64_image_key))) {
+                view.setImageBitmap(bitmap);
+            }
+        }
+    }
+
+    /**
+     * Decodes {@code base64}, downsampled by a power of two as far as the smaller side stays
+     * at least {@code maxDimension} pixels.
+     *
+     * @return the bitmap, or null if the data is not a readable image
+     */
+    static Bitmap decode(String base64, int maxDimension) {
+        try {
+            byte[] bytes = Base64.decode(base64, Base64.DEFAULT);
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+            options.inSampleSize = sampleSizeFor(options.outWidth, options.outHeight, maxDimension);
+            options.inJustDecodeBounds = false;
+            return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Unreadable image", e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the largest power of two that keeps the smaller side of the image at or above
+     * {@code maxDimension}, or 1 when the size is unknown
+     */
+    static int sampleSizeFor(int width, int height, int maxDimension) {
+        if (width <= 0 || height <= 0 || maxDimension <= 0) return 1;
+        int shortest = Math.min(width, height);
+        int sampleSize = 1;
+        while (shortest / (sampleSize * 2) >= maxDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Cache key for an image. Base64 strings are long, so the key is their length and hash
+     * rather than the string itself; {@link String#hashCode()} is cached by the string.
+     */
+    static String keyFor(String base64) {
+        return base64.length() + ":" + Integer.toHexString(base64.hashCode());
+    }
+
+    private static boolean isEmpty(String base64) {
+        return base64 == null || base64.trim().isEmpty();
+    }
+}
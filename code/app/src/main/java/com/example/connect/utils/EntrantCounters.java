@@ -0,0 +1,336 @@
+package com.example.connect.utils;
+
+import android.util.Log;
+
+import com.example.connect.data.WaitingLists;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Sharded per-event entrant counters stored at
+ * {@code waiting_lists/{eventId}/counters/shard_{n}}.
+ * <p>
+ * Each shard holds a {@code total} field (every entrant document, whatever its status) and one
+ * field per status. Writers add {@link FieldValue#increment} deltas to a random shard in the
+ * same batch or transaction that changes the entrant document, so hot events do not contend
+ * on a single counter document. Readers sum the {@value #NUM_SHARDS} small shard documents
+ * instead of downloading the {@code entrants} subcollection.
+ * <p>
+ * Joins and leaves also keep an exact {@code entrant_count} on the waiting list document
+ * itself. That field is the serialization point {@link WaitingListService#join} needs to
+ * enforce {@code total_capacity} inside a transaction; status changes never touch it.
+ * <p>
+ * Waiting lists created before counters existed are seeded once from {@code count()}
+ * aggregations; {@code counters_seeded} on the waiting list document records that this was done.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class EntrantCounters {
+
+    private static final String TAG = "EntrantCounters";
+    private static final String COLLECTION_WAITING_LISTS = "waiting_lists";
+    private static final String COLLECTION_ENTRANTS = "entrants";
+    private static final String COLLECTION_COUNTERS = "counters";
+
+    /** Number of shards each event's counter is spread over. */
+    static final int NUM_SHARDS = WaitingLists.NUM_SHARDS;
+
+    public static final String FIELD_TOTAL = "total";
+    public static final String FIELD_SEEDED = "counters_seeded";
+    public static final String FIELD_ENTRANT_COUNT = "entrant_count";
+
+    public static final String STATUS_WAITING = "waiting";
+    public static final String STATUS_SELECTED = "selected";
+    public static final String STATUS_ENROLLED = "enrolled";
+    public static final String STATUS_CANCELED = "canceled";
+
+    private static final String[] STATUSES = {
+            STATUS_WAITING, STATUS_SELECTED, STATUS_ENROLLED, STATUS_CANCELED
+    };
+
+    private static final Random random = new Random();
+
+    private EntrantCounters() {
+        // Utility class
+    }
+
+    /**
+     * Summed counts for one event.
+     */
+    public static class Counts {
+        private final Map<String, Long> values = new HashMap<>();
+
+        /**
+         * @return number of entrant documents regardless of status.
+         */
+        public long getTotal() {
+            return get(FIELD_TOTAL);
+        }
+
+        /**
+         * @return number of entrants with the given status (or {@link #FIELD_TOTAL}).
+         */
+        public long get(String field) {
+            Long value = values.get(field);
+            return value != null ? Math.max(0, value) : 0;
+        }
+
+        void add(String field, long amount) {
+            Long current = values.get(field);
+            values.put(field, (current != null ? current : 0) + amount);
+        }
+
+        static Counts sum(List<DocumentSnapshot> shards) {
+            Counts counts = new Counts();
+            for (DocumentSnapshot shard : shards) {
+                addField(counts, shard, FIELD_TOTAL);
+                for (String status : STATUSES) {
+                    addField(counts, shard, status);
+                }
+            }
+            return counts;
+        }
+
+        private static void addField(Counts counts, DocumentSnapshot shard, String field) {
+            Long value = shard.getLong(field);
+            if (value != null) {
+                counts.add(field, value);
+            }
+        }
+    }
+
+    public interface CountsCallback {
+        void onSuccess(Counts counts);
+        void onFailure(Exception e);
+    }
+
+    public interface CountsListener {
+        void onCounts(Counts counts);
+    }
+
+    /**
+     * @return the collection holding an event's counter shards.
+     */
+    public static CollectionReference shards(FirebaseFirestore db, String eventId) {
+        return db.collection(COLLECTION_WAITING_LISTS)
+                .document(eventId)
+                .collection(COLLECTION_COUNTERS);
+    }
+
+    private static DocumentReference waitingList(FirebaseFirestore db, String eventId) {
+        return db.collection(COLLECTION_WAITING_LISTS).document(eventId);
+    }
+
+    private static DocumentReference randomShard(FirebaseFirestore db, String eventId) {
+        return shards(db, eventId).document("shard_" + random.nextInt(NUM_SHARDS));
+    }
+
+    // ------------------------------------------------------------------
+    // Writes
+    // ------------------------------------------------------------------
+
+    /**
+     * Adds "one entrant joined with this status" to an existing batch.
+     */
+    public static void recordJoin(WriteBatch batch, FirebaseFirestore db, String eventId, String status) {
+        batch.set(randomShard(db, eventId), delta(null, status, 1, true), SetOptions.merge());
+        batch.set(waitingList(db, eventId), entrantCountDelta(1), SetOptions.merge());
+    }
+
+    /**
+     * Adds "one entrant with this status was removed" to an existing batch.
+     */
+    public static void recordLeave(WriteBatch batch, FirebaseFirestore db, String eventId, String status) {
+        batch.set(randomShard(db, eventId), delta(status, null, 1, true), SetOptions.merge());
+        batch.set(waitingList(db, eventId), entrantCountDelta(-1), SetOptions.merge());
+    }
+
+    /**
+     * Adds a status change of {@code count} entrants to an existing batch.
+     */
+    public static void recordTransition(WriteBatch batch, FirebaseFirestore db, String eventId,
+                                        String fromStatus, String toStatus, long count) {
+        if (count <= 0 || sameStatus(fromStatus, toStatus)) return;
+        batch.set(randomShard(db, eventId), delta(fromStatus, toStatus, count, false), SetOptions.merge());
+    }
+
+    /**
+     * Transaction variant of {@link #recordJoin(WriteBatch, FirebaseFirestore, String, String)}.
+     */
+    public static void recordJoin(Transaction transaction, FirebaseFirestore db, String eventId, String status) {
+        transaction.set(randomShard(db, eventId), delta(null, status, 1, true), SetOptions.merge());
+        transaction.set(waitingList(db, eventId), entrantCountDelta(1), SetOptions.merge());
+    }
+
+    /**
+     * Transaction variant of {@link #recordLeave(WriteBatch, FirebaseFirestore, String, String)}.
+     */
+    public static void recordLeave(Transaction transaction, FirebaseFirestore db, String eventId, String status) {
+        transaction.set(randomShard(db, eventId), delta(status, null, 1, true), SetOptions.merge());
+        transaction.set(waitingList(db, eventId), entrantCountDelta(-1), SetOptions.merge());
+    }
+
+    /**
+     * Transaction variant of a single-entrant status change.
+     */
+    public static void recordTransition(Transaction transaction, FirebaseFirestore db, String eventId,
+                                        String fromStatus, String toStatus) {
+        if (sameStatus(fromStatus, toStatus)) return;
+        transaction.set(randomShard(db, eventId), delta(fromStatus, toStatus, 1, false), SetOptions.merge());
+    }
+
+    private static Map<String, Object> delta(String fromStatus, String toStatus, long count, boolean changesTotal) {
+        Map<String, Object> data = new HashMap<>();
+        for (Map.Entry<String, Long> amount : deltaAmounts(fromStatus, toStatus, count, changesTotal).entrySet()) {
+            data.put(amount.getKey(), FieldValue.increment(amount.getValue()));
+        }
+        return data;
+    }
+
+    /**
+     * @return how much each shard field changes when {@code count} entrants move from one
+     * status to another; a null status means the entrants join or leave
+     */
+    static Map<String, Long> deltaAmounts(String fromStatus, String toStatus, long count, boolean changesTotal) {
+        Map<String, Long> amounts = new HashMap<>();
+        if (fromStatus != null) {
+            amounts.put(fromStatus, -count);
+        }
+        if (toStatus != null) {
+            amounts.put(toStatus, count);
+        }
+        if (changesTotal) {
+            amounts.put(FIELD_TOTAL, toStatus != null ? count : -count);
+        }
+        return amounts;
+    }
+
+    private static Map<String, Object> entrantCountDelta(long amount) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_ENTRANT_COUNT, FieldValue.increment(amount));
+        return data;
+    }
+
+    private static boolean sameStatus(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // ------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------
+
+    /**
+     * Reads an event's counts once (seeding them first for older waiting lists).
+     */
+    public static void load(FirebaseFirestore db, String eventId, CountsCallback callback) {
+        ensureSeeded(db, eventId)
+                .continueWithTask(task -> shards(db, eventId).get())
+                .addOnSuccessListener(snapshot -> callback.onSuccess(Counts.sum(snapshot.getDocuments())))
+                .addOnFailureListener(callback::onFailure);
+    }
+
+    /**
+     * Listens to an event's counts. Only the shard documents are watched, so each change
+     * costs one small document rather than the whole entrants subcollection.
+     *
+     * @return the registration; remove it when the screen goes away
+     */
+    public static ListenerRegistration listen(FirebaseFirestore db, String eventId, CountsListener listener) {
+        ensureSeeded(db, eventId)
+                .addOnFailureListener(e -> Log.w(TAG, "Could not seed counters for " + eventId, e));
+
+        return shards(db, eventId).addSnapshotListener((snapshot, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error listening to counters for " + eventId, error);
+                return;
+            }
+            if (snapshot != null) {
+                listener.onCounts(Counts.sum(snapshot.getDocuments()));
+            }
+        });
+    }
+
+    /**
+     * Marks a brand-new waiting list as already counted so no seeding is ever attempted.
+     */
+    public static void markSeeded(Map<String, Object> waitingListData) {
+        waitingListData.put(FIELD_SEEDED, true);
+        waitingListData.put(FIELD_ENTRANT_COUNT, 0L);
+    }
+
+    /**
+     * @return true if the given waiting list document already carries counters.
+     */
+    public static boolean isSeeded(DocumentSnapshot waitingList) {
+        return waitingList != null
+                && Boolean.TRUE.equals(waitingList.getBoolean(FIELD_SEEDED))
+                && waitingList.getLong(FIELD_ENTRANT_COUNT) != null;
+    }
+
+    /**
+     * Seeds counters from {@code count()} aggregations if this waiting list predates them.
+     * The aggregations and the write are not atomic, so a join racing with the very first
+     * seed can be off by one; this only happens once per legacy event.
+     */
+    public static Task<Void> ensureSeeded(FirebaseFirestore db, String eventId) {
+        DocumentReference waitingListRef = waitingList(db, eventId);
+        return waitingListRef.get().continueWithTask(task -> {
+            if (isSeeded(task.getResult())) {
+                return Tasks.forResult(null);
+            }
+            return seed(db, eventId, waitingListRef);
+        });
+    }
+
+    private static Task<Void> seed(FirebaseFirestore db, String eventId, DocumentReference waitingListRef) {
+        CollectionReference entrants = waitingListRef.collection(COLLECTION_ENTRANTS);
+
+        List<Task<AggregateQuerySnapshot>> counts = new ArrayList<>();
+        counts.add(entrants.count().get(AggregateSource.SERVER));
+        for (String status : STATUSES) {
+            counts.add(entrants.whereEqualTo("status", status).count().get(AggregateSource.SERVER));
+        }
+
+        return Tasks.whenAllSuccess(counts).continueWithTask(task -> {
+            List<Object> results = task.getResult();
+
+            Map<String, Object> shardZero = new HashMap<>();
+            shardZero.put(FIELD_TOTAL, ((AggregateQuerySnapshot) results.get(0)).getCount());
+            for (int i = 0; i < STATUSES.length; i++) {
+                shardZero.put(STATUSES[i], ((AggregateQuerySnapshot) results.get(i + 1)).getCount());
+            }
+
+            WriteBatch batch = db.batch();
+            batch.set(shards(db, eventId).document("shard_0"), shardZero);
+            for (int i = 1; i < NUM_SHARDS; i++) {
+                batch.delete(shards(db, eventId).document("shard_" + i));
+            }
+            Map<String, Object> flag = new HashMap<>();
+            flag.put(FIELD_SEEDED, true);
+            flag.put(FIELD_ENTRANT_COUNT, shardZero.get(FIELD_TOTAL));
+            batch.set(waitingListRef, flag, SetOptions.merge());
+
+            Log.d(TAG, "Seeding counters for " + eventId + ": " + shardZero);
+            return batch.commit();
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.connect.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and cell coverage for spatial queries.
+ * <p>
+ * A geohash interleaves longitude and latitude bits and writes them in base 32, so points
+ * that are close together share a common prefix. Storing the hash as a string field lets
+ * Firestore answer "everything in this cell" with a single {@code orderBy/startAt/endAt}
+ * range query. {@link #coveringCells} picks a small set of cells (usually at most four) that
+ * together cover a bounding box; callers query each cell and then filter the results
+ * precisely with {@link BoundingBox#contains} or {@link #distanceMeters}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class GeoHash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /** Precision stored on documents: 10 characters is roughly 1 m x 0.6 m. */
+    public static final int STORED_PRECISION = 10;
+
+    /** Mean Earth radius used by {@link #distanceMeters}. */
+    public static final double EARTH_RADIUS_METERS = 6_371_000d;
+
+    private static final double METERS_PER_DEGREE_LAT = 110_574d;
+
+    private GeoHash() {
+        // Utility class
+    }
+
+    /**
+     * Axis-aligned latitude/longitude box. Boxes never cross the antimeridian; callers
+     * near it get the part on one side, which is fine for event-scale areas.
+     */
+    public static class BoundingBox {
+        public final double minLat;
+        public final double minLng;
+        public final double maxLat;
+        public final double maxLng;
+
+        public BoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+            this.minLat = Math.max(-90, Math.min(minLat, maxLat));
+            this.maxLat = Math.min(90, Math.max(minLat, maxLat));
+            this.minLng = Math.max(-180, Math.min(minLng, maxLng));
+            this.maxLng = Math.min(180, Math.max(minLng, maxLng));
+        }
+
+        /**
+         * @return the smallest box containing a circle of the given radius.
+         */
+        public static BoundingBox aroundPoint(double lat, double lng, double radiusMeters) {
+            double latDelta = radiusMeters / METERS_PER_DEGREE_LAT;
+            double cosLat = Math.cos(Math.toRadians(lat));
+            double lngDelta = cosLat < 1e-6 ? 180 : radiusMeters / (METERS_PER_DEGREE_LAT * cosLat);
+            return new BoundingBox(lat - latDelta, lng - lngDelta, lat + latDelta, lng + lngDelta);
+        }
+
+        public boolean contains(double lat, double lng) {
+            return lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng;
+        }
+
+        double height() {
+            return maxLat - minLat;
+        }
+
+        double width() {
+            return maxLng - minLng;
+        }
+    }
+
+    /**
+     * Encodes a position at the given precision (number of base-32 characters).
+     */
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Encodes a position at {@link #STORED_PRECISION}.
+     */
+    public static String encode(double lat, double lng) {
+        return encode(lat, lng, STORED_PRECISION);
+    }
+
+    /**
+     * @return height of a cell of the given precision in degrees of latitude.
+     */
+    static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180d / (1L << latBits);
+    }
+
+    /**
+     * @return width of a cell of the given precision in degrees of longitude.
+     */
+    static double cellWidth(int precision) {
+        int lngBits = (precision * 5 + 1) / 2;
+        return 360d / (1L << lngBits);
+    }
+
+    /**
+     * Returns geohash prefixes whose cells together cover the box.
+     * <p>
+     * The precision is the finest one whose cells are still at least as large as the box,
+     * so the box straddles at most two cells per axis and the result has one to four cells
+     * (more only for boxes bigger than a whole precision-1 cell). Each prefix is one range
+     * query: {@code orderBy(field).startAt(prefix).endAt(prefix + "~")}.
+     */
+    public static List<String> coveringCells(BoundingBox box) {
+        int precision = 1;
+        while (precision < STORED_PRECISION
+                && cellHeight(precision + 1) >= box.height()
+                && cellWidth(precision + 1) >= box.width()) {
+            precision++;
+        }
+
+        double stepLat = cellHeight(precision);
+        double stepLng = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = box.minLat; ; lat += stepLat) {
+            double clampedLat = Math.min(lat, box.maxLat);
+            for (double lng = box.minLng; ; lng += stepLng) {
+                double clampedLng = Math.min(lng, box.maxLng);
+                cells.add(encode(clampedLat, clampedLng, precision));
+                if (clampedLng >= box.maxLng) break;
+            }
+            if (clampedLat >= box.maxLat) break;
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Great-circle distance between two points using the haversine formula.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.connect.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid-based clustering of map points, independent of any map SDK so it can run on a
+ * background thread and be unit tested.
+ * <p>
+ * The visible area is divided into square cells roughly {@value #CELL_SIZE_PX} screen pixels
+ * wide at the current whole zoom level. Points outside the viewport (plus a one-cell margin, so markers do
+ * not pop at the edges while panning) are culled; the rest are grouped per cell. A cell with
+ * one point stays a plain marker; a cell with several becomes a cluster at their centroid.
+ * Cluster keys are stable for a given zoom level, which lets the caller update markers
+ * incrementally instead of clearing the map.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class GridClusterer {
+
+    /** Approximate cell width on screen. */
+    static final int CELL_SIZE_PX = 80;
+
+    /** From this zoom level on, points are never grouped. */
+    public static final float MAX_CLUSTER_ZOOM = 17f;
+
+    private static final int TILE_SIZE_PX = 256;
+
+    private GridClusterer() {
+        // Utility class
+    }
+
+    /**
+     * Reads the position of an item.
+     */
+    public interface PositionFunction<T> {
+        /**
+         * @return {latitude, longitude}, or null to skip the item
+         */
+        double[] positionOf(T item);
+    }
+
+    /**
+     * Gives an item a stable identifier.
+     */
+    public interface KeyFunction<T> {
+        String keyOf(T item);
+    }
+
+    /**
+     * One rendered marker: either a single item or a group of items.
+     */
+    public static class Cluster<T> {
+        private final String key;
+        private final double latitude;
+        private final double longitude;
+        private final List<T> items;
+
+        Cluster(String key, double latitude, double longitude, List<T> items) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.items = items;
+        }
+
+        /**
+         * @return an identifier that stays the same while the cluster's cell and zoom level do.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        public int size() {
+            return items.size();
+        }
+    }
+
+    /**
+     * @return the cell size in degrees for a zoom level.
+     */
+    static double cellDegrees(float zoom) {
+        return 360d * CELL_SIZE_PX / (TILE_SIZE_PX * Math.pow(2, zoom));
+    }
+
+    /**
+     * Groups the items inside the viewport.
+     *
+     * @param singleKey gives single (unclustered) items a stable key, e.g. their document id
+     */
+    public static <T> List<Cluster<T>> cluster(List<T> items, PositionFunction<T> positions,
+                                               KeyFunction<T> singleKey,
+                                               GeoHash.BoundingBox viewport, float zoom) {
+        boolean group = zoom < MAX_CLUSTER_ZOOM;
+        int level = (int) Math.floor(zoom);
+        // Sized by the whole level, so cells (and their keys) do not shift during a pinch
+        double cell = cellDegrees(level);
+        GeoHash.BoundingBox area = new GeoHash.BoundingBox(
+                viewport.minLat - cell, viewport.minLng - cell,
+                viewport.maxLat + cell, viewport.maxLng + cell);
+
+        Map<String, List<T>> cells = new LinkedHashMap<>();
+        Map<String, double[]> sums = new LinkedHashMap<>();
+        for (T item : items) {
+            double[] position = positions.positionOf(item);
+            if (position == null || !area.contains(position[0], position[1])) continue;
+
+            String cellKey = group
+                    ? "c" + level + ":" + (long) Math.floor(position[0] / cell) + ":" + (long) Math.floor(position[1] / cell)
+                    : "p:" + singleKey.keyOf(item);
+
+            List<T> members = cells.get(cellKey);
+            if (members == null) {
+                members = new ArrayList<>();
+                cells.put(cellKey, members);
+                sums.put(cellKey, new double[2]);
+            }
+            members.add(item);
+            double[] sum = sums.get(cellKey);
+            sum[0] += position[0];
+            sum[1] += position[1];
+        }
+
+        List<Cluster<T>> clusters = new ArrayList<>(cells.size());
+        for (Map.Entry<String, List<T>> entry : cells.entrySet()) {
+            List<T> members = entry.getValue();
+            double[] sum = sums.get(entry.getKey());
+            if (members.size() == 1) {
+                T only = members.get(0);
+                double[] position = positions.positionOf(only);
+                clusters.add(new Cluster<>("p:" + singleKey.keyOf(only), position[0], position[1],
+                        Collections.singletonList(only)));
+            } else {
+                clusters.add(new Cluster<>(entry.getKey() + ":" + members.size(),
+                        sum[0] / members.size(), sum[1] / members.size(), members));
+            }
+        }
+        return clusters;
+    }
+}
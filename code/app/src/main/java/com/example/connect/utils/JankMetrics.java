@@ -0,0 +1,285 @@
+package com.example.connect.utils;
+
+import android.app.Activity;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.metrics.performance.FrameData;
+import androidx.metrics.performance.JankStats;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frame-time percentiles per screen, collected with JankStats.
+ * <p>
+ * The application calls {@link #track(Activity)} when an activity resumes and
+ * {@link #untrack(Activity)} when it pauses. Every frame the activity's window renders is
+ * recorded in a {@link LatencyHistogram} for that screen, together with the number of frames
+ * JankStats judged janky (longer than the refresh interval times its heuristic multiplier).
+ * Results are shown by {@code FirestoreMetricsActivity} next to the Firestore totals and can
+ * be appended to a CSV file periodically with {@link #startPeriodicDump}, so a run of the
+ * scroll benchmarks or a manual session leaves comparable numbers behind.
+ * <p>
+ * Like {@code FirestoreMetrics}, recording is off until {@link #setEnabled(boolean)} is called
+ * (the application turns it on in debuggable builds). Frames may be reported on a background
+ * thread; recording is lock-free.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class JankMetrics {
+
+    private static final String TAG = "JankMetrics";
+
+    public static final String DUMP_FILE = "frame_metrics.csv";
+
+    private static volatile boolean enabled;
+
+    private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    // Main thread only
+    private static final Map<Activity, JankStats> trackers = new WeakHashMap<>();
+    private static ScheduledExecutorService dumper;
+
+    private JankMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Running totals for one screen.
+     */
+    static final class Counter {
+        final String screen;
+        final LongAdder frames = new LongAdder();
+        final LongAdder janky = new LongAdder();
+        final LatencyHistogram frameMicros = new LatencyHistogram();
+
+        Counter(String screen) {
+            this.screen = screen;
+        }
+    }
+
+    /**
+     * Point-in-time copy of the totals for one screen.
+     */
+    public static class ScreenStats {
+        private final String screen;
+        private final long frames;
+        private final long janky;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        ScreenStats(Counter counter) {
+            screen = counter.screen;
+            frames = counter.frames.sum();
+            janky = counter.janky.sum();
+            LatencyHistogram latency = counter.frameMicros;
+            p50Millis = latency.getValueAtPercentile(50) / 1000.0;
+            p90Millis = latency.getValueAtPercentile(90) / 1000.0;
+            p95Millis = latency.getValueAtPercentile(95) / 1000.0;
+            p99Millis = latency.getValueAtPercentile(99) / 1000.0;
+            maxMillis = latency.getMax() / 1000.0;
+        }
+
+        public String getScreen() {
+            return screen;
+        }
+
+        public long getFrames() {
+            return frames;
+        }
+
+        public long getJanky() {
+            return janky;
+        }
+
+        /**
+         * @return share of janky frames, 0 to 100
+         */
+        public double getJankPercent() {
+            return frames == 0 ? 0 : janky * 100.0 / frames;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts (or resumes) recording the frames of {@code activity}'s window.
+     * Must be called on the main thread.
+     */
+    public static void track(Activity activity) {
+        if (!enabled) return;
+        JankStats stats = trackers.get(activity);
+        if (stats == null) {
+            Counter counter = counter(activity.getClass().getSimpleName());
+            try {
+                stats = JankStats.createAndTrack(activity.getWindow(),
+                        frame -> record(counter, frame));
+            } catch (IllegalStateException e) {
+                Log.w(TAG, "Can't track frames of " + counter.screen, e);
+                return;
+            }
+            trackers.put(activity, stats);
+        }
+        stats.setTrackingEnabled(true);
+    }
+
+    /**
+     * Pauses recording for {@code activity}, e.g. while another screen is on top of it.
+     * Must be called on the main thread.
+     */
+    public static void untrack(Activity activity) {
+        JankStats stats = trackers.get(activity);
+        if (stats != null) {
+            stats.setTrackingEnabled(false);
+        }
+    }
+
+    private static void record(Counter counter, FrameData frame) {
+        record(counter, frame.getFrameDurationUiNanos(), frame.isJank());
+    }
+
+    static void record(Counter counter, long durationNanos, boolean isJank) {
+        counter.frames.increment();
+        if (isJank) {
+            counter.janky.increment();
+        }
+        counter.frameMicros.record(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+    }
+
+    static Counter counter(String screen) {
+        return counters.computeIfAbsent(screen, Counter::new);
+    }
+
+    /**
+     * @return a copy of all totals, most janky frames first
+     */
+    public static List<ScreenStats> snapshot() {
+        List<ScreenStats> stats = new ArrayList<>();
+        for (Counter counter : counters.values()) {
+            stats.add(new ScreenStats(counter));
+        }
+        Collections.sort(stats, (a, b) -> Long.compare(b.getJanky(), a.getJanky()));
+        return stats;
+    }
+
+    public static void reset() {
+        counters.clear();
+    }
+
+    /**
+     * @return the totals as a plain-text table, for the debug screen and logs
+     */
+    public static String report() {
+        List<ScreenStats> stats = snapshot();
+        if (stats.isEmpty()) {
+            return enabled ? "No frames recorded yet." : "Frame metrics are disabled.";
+        }
+        StringBuilder out = new StringBuilder();
+        for (ScreenStats s : stats) {
+            out.append(s.getScreen()).append('\n');
+            out.append(String.format(Locale.US, "  %d frames, %d janky (%.1f%%)%n",
+                    s.getFrames(), s.getJanky(), s.getJankPercent()));
+            out.append(String.format(Locale.US,
+                    "  p50 %.1f ms, p90 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                    s.getP50Millis(), s.getP90Millis(), s.getP95Millis(), s.getP99Millis(),
+                    s.getMaxMillis()));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Appends the current totals to {@code file} as CSV rows, one per screen, all stamped
+     * with the same time. A header is written when the file is new.
+     */
+    public static void dump(File file) throws IOException {
+        boolean isNew = !file.exists() || file.length() == 0;
+        String now = String.valueOf(System.currentTimeMillis());
+        try (CsvWriter csv = new CsvWriter(new FileWriter(file, true))) {
+            if (isNew) {
+                csv.row("time", "screen", "frames", "janky", "p50_ms", "p90_ms", "p95_ms",
+                        "p99_ms", "max_ms");
+            }
+            for (ScreenStats s : snapshot()) {
+                csv.row(now, s.getScreen(), String.valueOf(s.getFrames()),
+                        String.valueOf(s.getJanky()), format(s.getP50Millis()),
+                        format(s.getP90Millis()), format(s.getP95Millis()),
+                        format(s.getP99Millis()), format(s.getMaxMillis()));
+            }
+        }
+    }
+
+    /**
+     * @return the file that periodic dumps are appended to
+     */
+    public static File dumpFile(Context context) {
+        return new File(context.getFilesDir(), DUMP_FILE);
+    }
+
+    /**
+     * Appends the totals to {@link #dumpFile(Context)} every {@code periodMinutes} on a
+     * background thread. Calling it again has no effect.
+     */
+    public static synchronized void startPeriodicDump(Context context, long periodMinutes) {
+        if (dumper != null) return;
+        File file = dumpFile(context.getApplicationContext());
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jank-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleWithFixedDelay(() -> {
+            if (counters.isEmpty()) return;
+            try {
+                dump(file);
+            } catch (IOException e) {
+                Log.e(TAG, "Failed to write " + file, e);
+            }
+        }, periodMinutes, periodMinutes, TimeUnit.MINUTES);
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.US, "%.2f", millis);
+    }
+}
@@ -1,24 +1,20 @@
 package com.example.connect.utils;
 
 import android.util.Log;
-import android.widget.Toast;
 
-import com.example.connect.activities.ManageDrawActivity;
-import com.example.connect.models.Event;
-import com.example.connect.models.WaitingListEntry;
-import com.example.connect.utils.NotificationHelper; // 🔹 NEW IMPORT
-
-import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.google.firebase.firestore.WriteBatch;
+import com.example.connect.data.Accounts;
+import com.example.connect.data.ChunkedBatch;
+import com.example.connect.data.Document;
+import com.example.connect.data.DocumentStore;
+import com.example.connect.data.Events;
+import com.example.connect.data.WaitingLists;
+import com.example.connect.network.Repositories;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -34,19 +30,32 @@ import java.util.Set;
  * - Validates all entrants before selection
  * - Fair random selection using Fisher-Yates shuffle
  *
+ * Reads and writes go through the repositories in com.example.connect.data, so the whole
+ * draw can run against an in-memory store in unit tests.
+ *
  * @author Zenith Team
- * @version 2.0
+ * @version 2.1
  */
 public class LotteryManager {
 
     private static final String TAG = "LotteryManager";
-    private final FirebaseFirestore db;
+    private final DocumentStore store;
+    private final Events events;
+    private final WaitingLists waitingLists;
+    private final Accounts accounts;
 
     private NotificationHelper notificationHelper;
 
     public LotteryManager() {
-        this.db = FirebaseFirestore.getInstance();
-        this.notificationHelper = new NotificationHelper();
+        this(Repositories.getStore(), new NotificationHelper());
+    }
+
+    protected LotteryManager(DocumentStore store, NotificationHelper notificationHelper) {
+        this.store = store;
+        this.events = new Events(store);
+        this.waitingLists = new WaitingLists(store);
+        this.accounts = new Accounts(store);
+        this.notificationHelper = notificationHelper;
     }
 
     /**
@@ -71,56 +80,63 @@ public class LotteryManager {
         Log.d(TAG, "========================================");
 
         // Load the event to get draw capacity
-        db.collection("events")
-                .document(eventId)
-                .get()
-                .addOnSuccessListener(eventDoc -> {
+        events.get(eventId)
+                .handle((eventDoc, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error loading event", e);
+                        if (callback != null) {
+                            callback.onFailure("Error loading event: " + e.getMessage());
+                        }
+                        return null;
+                    }
+
                     if (!eventDoc.exists()) {
                         Log.e(TAG, "Event not found: " + eventId);
                         if (callback != null) {
                             callback.onFailure("Event not found");
                         }
-                        return;
+                        return null;
                     }
 
-                    Event event = eventDoc.toObject(Event.class);
-                    if (event == null) {
-                        Log.e(TAG, "Failed to parse event data");
-                        if (callback != null) {
-                            callback.onFailure("Failed to load event data");
-                        }
-                        return;
+                    String eventName = eventDoc.getString(Events.FIELD_TITLE);
+
+                    // A draw that failed part way is finished with the winners it picked
+                    Map<String, String> pendingWinners = Events.pendingWinners(eventDoc);
+                    if (pendingWinners != null) {
+                        Log.d(TAG, "Resuming unfinished draw for: " + eventName);
+                        resumeDraw(eventId, eventName, pendingWinners, callback);
+                        return null;
                     }
 
                     // Check if already drawn
-                    if (event.isDrawCompleted()) {
-                        Log.d(TAG, "Lottery already completed for: " + event.getName());
+                    if (Boolean.TRUE.equals(eventDoc.getBoolean(Events.FIELD_DRAW_COMPLETED))) {
+                        Log.d(TAG, "Lottery already completed for: " + eventName);
                         if (callback != null) {
                             callback.onFailure("Lottery already completed");
                         }
-                        return;
+                        return null;
                     }
 
-                    int drawCapacity = event.getDrawCapacity();
+                    Long capacity = eventDoc.getLong(Events.FIELD_DRAW_CAPACITY);
+                    int drawCapacity = capacity != null ? capacity.intValue() : 0;
                     if (drawCapacity <= 0) {
                         Log.e(TAG, "Invalid draw capacity: " + drawCapacity);
                         if (callback != null) {
                             callback.onFailure("Draw capacity is 0 or not set");
                         }
-                        return;
+                        return null;
                     }
 
-                    Log.d(TAG, "Event: " + event.getName());
+                    Log.d(TAG, "Event: " + eventName);
                     Log.d(TAG, "Draw Capacity: " + drawCapacity);
 
                     // Load all waiting entrants and perform selection
-                    loadAndSelectWaitingEntrants(eventId, event.getName(), drawCapacity, callback);
+                    loadAndSelectWaitingEntrants(eventId, eventName, drawCapacity, callback);
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading event", e);
-                    if (callback != null) {
-                        callback.onFailure("Error loading event: " + e.getMessage());
-                    }
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error handling loaded event", e);
+                    return null;
                 });
     }
 
@@ -134,37 +150,60 @@ public class LotteryManager {
             return;
         }
 
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .whereEqualTo("status", "waiting")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+        events.get(eventId)
+                .handle((eventDoc, e) -> {
+                    if (e != null) {
+                        if (callback != null) callback.onFailure("Failed to load event: " + e.getMessage());
+                        return null;
+                    }
+
+                    // Replacements that failed part way are finished before any new ones are drawn
+                    Map<String, String> pendingWinners = Events.pendingWinners(eventDoc);
+                    if (pendingWinners != null) {
+                        resumeDraw(eventId, eventName, pendingWinners, callback);
+                    } else {
+                        drawReplacements(eventId, eventName, replacementCount, callback);
+                    }
+                    return null;
+                })
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error starting replacement draw", e);
+                    return null;
+                });
+    }
+
+    private void drawReplacements(String eventId, String eventName, int replacementCount,
+                                  LotteryCallback callback) {
+        waitingLists.entrantsWithStatus(eventId, WaitingLists.STATUS_WAITING)
+                .handle((entrants, e) -> {
+                    if (e != null) {
+                        if (callback != null) callback.onFailure("Failed to load waiting list: " + e.getMessage());
+                        return null;
+                    }
+
                     List<String> waitingDocIds = new ArrayList<>();
                     Map<String, String> docIdToUserId = new HashMap<>();
 
-                    for (DocumentSnapshot doc : querySnapshot) {
-                        WaitingListEntry entry = doc.toObject(WaitingListEntry.class);
-                        if (entry != null) {
-                            waitingDocIds.add(doc.getId());
-                            docIdToUserId.put(doc.getId(), entry.getUserId());
-                        }
+                    for (Document doc : entrants) {
+                        waitingDocIds.add(doc.getId());
+                        docIdToUserId.put(doc.getId(), doc.getString(WaitingLists.FIELD_USER_ID));
                     }
 
                     if (waitingDocIds.isEmpty()) {
                         if (callback != null) callback.onFailure("No waiting entrants available for replacement");
-                        return;
+                        return null;
                     }
 
                     // Pick random entrants
-                    java.util.Collections.shuffle(waitingDocIds);
-                    List<String> selectedDocIds = waitingDocIds.subList(0, Math.min(replacementCount, waitingDocIds.size()));
+                    List<String> selectedDocIds = LotterySelection.select(waitingDocIds, replacementCount, new Random());
 
                     // Update selected entrants
                     updateSelectedEntrants(eventId, eventName, selectedDocIds, docIdToUserId, waitingDocIds.size(), callback);
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    if (callback != null) callback.onFailure("Failed to load waiting list: " + e.getMessage());
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error drawing replacements", e);
+                    return null;
                 });
     }
 
@@ -173,21 +212,24 @@ public class LotteryManager {
      */
     private void loadAndSelectWaitingEntrants(String eventId, String eventName,
                                               int drawCapacity, LotteryCallback callback) {
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .whereEqualTo("status", "waiting")
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
+        waitingLists.entrantsWithStatus(eventId, WaitingLists.STATUS_WAITING)
+                .handle((entrants, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error loading waiting entrants", e);
+                        if (callback != null) {
+                            callback.onFailure("Error loading entrants: " + e.getMessage());
+                        }
+                        return null;
+                    }
+
                     // Use Set to ensure uniqueness and List for document IDs
                     Set<String> uniqueUserIds = new HashSet<>();
                     List<String> entrantDocIds = new ArrayList<>();
                     Map<String, String> docIdToUserId = new HashMap<>();
 
                     // Collect unique waiting entrants
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        WaitingListEntry entry = doc.toObject(WaitingListEntry.class);
-                        String userId = entry.getUserId();
+                    for (Document doc : entrants) {
+                        String userId = doc.getString(WaitingLists.FIELD_USER_ID);
                         String docId = doc.getId();
 
                         // Validate entry has a user ID
@@ -216,7 +258,7 @@ public class LotteryManager {
                     if (totalWaiting == 0) {
                         Log.d(TAG, "No entrants in waiting list - marking draw as complete");
                         markDrawComplete(eventId, eventName, 0, 0, callback);
-                        return;
+                        return null;
                     }
 
                     // Handle case where waiting list is smaller than capacity
@@ -238,12 +280,11 @@ public class LotteryManager {
                     // Update selected entrants in Firestore
                     updateSelectedEntrants(eventId, eventName, selectedDocIds,
                             docIdToUserId, totalWaiting, callback);
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error loading waiting entrants", e);
-                    if (callback != null) {
-                        callback.onFailure("Error loading entrants: " + e.getMessage());
-                    }
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error selecting entrants", e);
+                    return null;
                 });
     }
 
@@ -269,18 +310,11 @@ public class LotteryManager {
             return new ArrayList<>();
         }
 
-        // Create a copy to avoid modifying original list
-        List<String> shuffleable = new ArrayList<>(entrantDocIds);
-
         // Use cryptographically secure random with time-based seed for fairness
         Random random = new Random(System.currentTimeMillis() ^ System.nanoTime());
 
-        // Perform Fisher-Yates shuffle (ensures uniform distribution)
-        Collections.shuffle(shuffleable, random);
-
-        // Take the first 'selectCount' entries
-        int actualSelect = Math.min(selectCount, shuffleable.size());
-        List<String> selected = new ArrayList<>(shuffleable.subList(0, actualSelect));
+        // Partial Fisher-Yates shuffle: uniform, and only as many swaps as winners
+        List<String> selected = LotterySelection.select(entrantDocIds, selectCount, random);
 
         // Verify uniqueness (should always pass, but extra validation)
         Set<String> selectedUserIds = new HashSet<>();
@@ -313,44 +347,129 @@ public class LotteryManager {
             return;
         }
 
-        Log.d(TAG, "Updating " + selectedDocIds.size() + " entrants to 'selected' status");
+        Map<String, String> winners = new LinkedHashMap<>();
+        for (String docId : selectedDocIds) {
+            winners.put(docId, docIdToUserId.get(docId));
+        }
+
+        // The winners are recorded on the event first, so a draw whose chunks fail part way
+        // is resumed with the same winners instead of drawing more
+        events.startDraw(eventId, winners)
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "✗ Error recording draw winners", e);
+                        if (callback != null) {
+                            callback.onFailure("Error updating entrants: " + e.getMessage());
+                        }
+                        return null;
+                    }
+                    commitWinners(eventId, eventName, winners, selectedDocIds, totalWaiting, callback);
+                    return null;
+                })
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error starting draw", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Finishes a draw recorded by {@link Events#startDraw} that did not complete. Winners
+     * still waiting are written now; winners already selected by the earlier attempt are only
+     * counted; winners who have since left or been canceled are dropped.
+     */
+    private void resumeDraw(String eventId, String eventName, Map<String, String> pendingWinners,
+                            LotteryCallback callback) {
+        waitingLists.entrantsWithStatus(eventId, WaitingLists.STATUS_WAITING)
+                .thenCombine(waitingLists.entrantsWithStatus(eventId, WaitingLists.STATUS_SELECTED),
+                        (waiting, selected) -> {
+                            Set<String> waitingIds = new HashSet<>();
+                            for (Document doc : waiting) {
+                                waitingIds.add(doc.getId());
+                            }
+                            Set<String> selectedIds = new HashSet<>();
+                            for (Document doc : selected) {
+                                selectedIds.add(doc.getId());
+                            }
 
-        WriteBatch batch = db.batch();
-        Timestamp selectedTime = Timestamp.now();
-        List<String> selectedUserIds = new ArrayList<>();
+                            Map<String, String> winners = new LinkedHashMap<>();
+                            List<String> unwritten = new ArrayList<>();
+                            for (Map.Entry<String, String> winner : pendingWinners.entrySet()) {
+                                if (waitingIds.contains(winner.getKey())) {
+                                    unwritten.add(winner.getKey());
+                                } else if (!selectedIds.contains(winner.getKey())) {
+                                    continue;
+                                }
+                                winners.put(winner.getKey(), winner.getValue());
+                            }
+                            int totalWaiting = waiting.size() + winners.size() - unwritten.size();
+
+                            Log.d(TAG, "Resuming draw: " + unwritten.size() + " of "
+                                    + winners.size() + " winners left to write");
+                            if (winners.isEmpty()) {
+                                markDrawComplete(eventId, eventName, 0, totalWaiting, callback);
+                            } else {
+                                commitWinners(eventId, eventName, winners, unwritten, totalWaiting, callback);
+                            }
+                            return null;
+                        })
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error resuming draw", e);
+                        if (callback != null) {
+                            callback.onFailure("Error loading entrants: " + e.getMessage());
+                        }
+                    }
+                    return null;
+                });
+    }
 
+    /**
+     * Writes the winners of a recorded draw: each entrant in {@code unwritten} with their
+     * my-events entry, then the counters for every winner and the draw completion, which
+     * also clears the recorded winners.
+     *
+     * @param winners every winner of the draw, entrant id to user id
+     * @param unwritten the winners whose entrant is still waiting
+     */
+    private void commitWinners(String eventId, String eventName, Map<String, String> winners,
+                               List<String> unwritten, int totalWaiting, LotteryCallback callback) {
+        Log.d(TAG, "Updating " + unwritten.size() + " entrants to 'selected' status");
 
-        // Update each selected entrant
-        for (String docId : selectedDocIds) {
-            String userId = docIdToUserId.get(docId);
-            selectedUserIds.add(userId);
+        // Two writes per winner, so large draws are split to stay under the batch write limit
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+        Date selectedTime = new Date();
+        List<String> selectedUserIds = new ArrayList<>(winners.values());
 
-            Map<String, Object> updates = new HashMap<>();
-            updates.put("status", "selected");
-            updates.put("selected_date", selectedTime);
+        // Update each selected entrant together with their my-events entry
+        for (String docId : unwritten) {
+            String userId = winners.get(docId);
 
-            batch.update(
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .collection("entrants")
-                            .document(docId),
-                    updates
-            );
+            DocumentStore.Batch chunk = batch.reserve(2);
+            waitingLists.markSelected(chunk, eventId, docId, selectedTime);
+            accounts.putMyEventStatus(chunk, userId, eventId, WaitingLists.STATUS_SELECTED);
 
             Log.d(TAG, "  → Selecting user: " + userId);
         }
 
-        // Update event with draw completion info
-        Map<String, Object> eventUpdates = new HashMap<>();
-        eventUpdates.put("draw_completed", true);
-        eventUpdates.put("draw_date", selectedTime);
-        eventUpdates.put("selected_count", selectedDocIds.size());
+        // Counters and draw completion go in the last chunk. Chunks commit one at a time, so
+        // if an earlier one fails the event keeps its recorded winners and the next attempt
+        // writes the rest of them (see resumeDraw); the counters are only ever written once
+        DocumentStore.Batch last = batch.reserve(2);
+        waitingLists.recordTransition(last, eventId, WaitingLists.STATUS_WAITING,
+                WaitingLists.STATUS_SELECTED, winners.size());
+        events.completeDraw(last, eventId, winners.size(), selectedTime);
 
-        batch.update(db.collection("events").document(eventId), eventUpdates);
-
-        // Commit the batch first
+        // Commit the chunks in order: the entrants plus their my-events entries, then the counters and the event
         batch.commit()
-                .addOnSuccessListener(aVoid -> {
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "✗ Error updating entrants in batch", e);
+                        if (callback != null) {
+                            callback.onFailure("Error updating entrants: " + e.getMessage());
+                        }
+                        return null;
+                    }
+
                     Log.d(TAG, "✓✓✓ LOTTERY COMPLETED SUCCESSFULLY ✓✓✓");
 
                     // 1️⃣ Notify selected entrants
@@ -372,18 +491,16 @@ public class LotteryManager {
                     );
 
                     // 2️⃣ Now notify remaining waiting-list entrants
-                    db.collection("waiting_lists")
-                            .document(eventId)
-                            .collection("entrants")
-                            .whereEqualTo("status", "waiting")
-                            .get()
-                            .addOnSuccessListener(querySnapshot -> {
+                    waitingLists.entrantsWithStatus(eventId, WaitingLists.STATUS_WAITING)
+                            .handle((waiting, loadError) -> {
+                                if (loadError != null) {
+                                    Log.e(TAG, "Failed to get waiting-list entrants", loadError);
+                                    return null;
+                                }
+
                                 List<String> waitingIds = new ArrayList<>();
-                                for (DocumentSnapshot doc : querySnapshot) {
-                                    WaitingListEntry entry = doc.toObject(WaitingListEntry.class);
-                                    if (entry != null) {
-                                        waitingIds.add(entry.getUserId());
-                                    }
+                                for (Document doc : waiting) {
+                                    waitingIds.add(doc.getString(WaitingLists.FIELD_USER_ID));
                                 }
 
                                 if (!waitingIds.isEmpty()) {
@@ -407,18 +524,21 @@ public class LotteryManager {
                                     Log.d(TAG, "No waiting-list entrants to notify.");
                                 }
 
+                                return null;
                             })
-                            .addOnFailureListener(e -> Log.e(TAG, "Failed to get waiting-list entrants", e));
+                            .exceptionally(notifyError -> {
+                                Log.e(TAG, "Error notifying waiting-list entrants", notifyError);
+                                return null;
+                            });
 
                     if (callback != null) {
-                        callback.onSuccess(selectedDocIds.size(), totalWaiting);
+                        callback.onSuccess(winners.size(), totalWaiting);
                     }
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "✗ Error updating entrants in batch", e);
-                    if (callback != null) {
-                        callback.onFailure("Error updating entrants: " + e.getMessage());
-                    }
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error finishing lottery", e);
+                    return null;
                 });
     };
 
@@ -429,58 +549,25 @@ public class LotteryManager {
     private void markDrawComplete(String eventId, String eventName,
                                   int selectedCount, int waitingCount,
                                   LotteryCallback callback) {
-        Map<String, Object> eventUpdates = new HashMap<>();
-        eventUpdates.put("draw_completed", true);
-        eventUpdates.put("draw_date", Timestamp.now());
-        eventUpdates.put("selected_count", selectedCount);
-
-        db.collection("events")
-                .document(eventId)
-                .update(eventUpdates)
-                .addOnSuccessListener(aVoid -> {
+        events.completeDraw(eventId, selectedCount, new Date())
+                .handle((ignored, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error marking draw complete", e);
+                        if (callback != null) {
+                            callback.onFailure("Error marking draw complete: " + e.getMessage());
+                        }
+                        return null;
+                    }
                     Log.d(TAG, "✓ Draw marked complete for " + eventName +
                             " (0 selections from empty list)");
                     if (callback != null) {
                         callback.onSuccess(selectedCount, waitingCount);
                     }
+                    return null;
                 })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error marking draw complete", e);
-                    if (callback != null) {
-                        callback.onFailure("Error marking draw complete: " + e.getMessage());
-                    }
+                .exceptionally(e -> {
+                    Log.e(TAG, "Error finishing draw", e);
+                    return null;
                 });
     }
-
-    /**
-     * Send notifications to selected entrants (deprecated)
-     */
-    private void sendSelectionNotifications(String eventId, String eventName,
-                                            List<String> selectedUserIds) {
-        Log.d(TAG, "Sending notifications to " + selectedUserIds.size() + " selected users");
-
-        Timestamp notificationTime = Timestamp.now();
-
-        // Create notification for each selected user
-        for (String userId : selectedUserIds) {
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("user_id", userId);
-            notification.put("event_id", eventId);
-            notification.put("event_name", eventName);
-            notification.put("type", "lottery_selected");
-            notification.put("title", "🎉 Congratulations! You've been selected!");
-            notification.put("message", "You have been selected for " + eventName +
-                    ". Please confirm your enrollment soon.");
-            notification.put("timestamp", notificationTime);
-            notification.put("read", false);
-
-            // Add notification to Firestore
-            db.collection("notifications")
-                    .add(notification)
-                    .addOnSuccessListener(docRef ->
-                            Log.d(TAG, "  ✓ Notification sent to user: " + userId))
-                    .addOnFailureListener(e ->
-                            Log.e(TAG, "  ✗ Failed to send notification to: " + userId, e));
-        }
-    }
 }
\ No newline at end of file
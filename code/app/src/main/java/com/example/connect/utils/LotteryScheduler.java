@@ -8,9 +8,6 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 
 /**
  * Scheduler that automatically checks for events needing lottery draws
@@ -83,16 +80,8 @@ public class LotteryScheduler {
         }
 
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-            Date stopDate = sdf.parse(regStop);
-
-            if (stopDate == null) {
-                return false;
-            }
-
             // Check if current time is after registration stop
-            Date now = new Date();
-            boolean closed = now.after(stopDate);
+            boolean closed = EventDates.isRegistrationClosed(regStop, System.currentTimeMillis());
 
             if (closed) {
                 Log.d(TAG, "Registration closed for event: " + event.getName());
@@ -173,19 +162,9 @@ public class LotteryScheduler {
                     }
 
                     try {
-                        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.getDefault());
-                        Date regStopDate = sdf.parse(regStopStr);
-                        Date now = new Date();
-
-                        if (regStopDate == null) {
-                            Log.e(TAG, "Manual lottery blocked: Failed to parse reg_stop");
-                            if (callback != null) {
-                                callback.onFailure("Invalid registration stop date format");
-                            }
-                            return;
-                        }
+                        long regStopMillis = EventDates.parseIso(regStopStr);
 
-                        if (now.before(regStopDate)) {
+                        if (System.currentTimeMillis() < regStopMillis) {
                             Log.e(TAG, "❌ Manual lottery blocked: Registration deadline not passed");
                             if (callback != null) {
                                 callback.onFailure("Registration deadline has not passed yet");
@@ -0,0 +1,115 @@
+package com.example.connect.utils;
+
+import android.util.Log;
+
+import com.example.connect.data.Accounts;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the per-user reverse index of waiting-list memberships stored at
+ * {@code accounts/{userId}/myevents/{eventId}}.
+ * <p>
+ * Every write to {@code waiting_lists/{eventId}/entrants/{userId}} that changes membership
+ * or status should mirror itself here, ideally in the same batch, so that
+ * {@code MyEventsActivity} can render a user's tabs by reading only that user's own
+ * documents instead of probing every event in the system.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class MyEventsIndex {
+
+    private static final String TAG = "MyEventsIndex";
+    // The same layout core's Accounts writes for the code that goes through a DocumentStore
+    private static final String COLLECTION_ACCOUNTS = Accounts.COLLECTION;
+    private static final String COLLECTION_MY_EVENTS = Accounts.MY_EVENTS;
+
+    public static final String FIELD_EVENT_ID = Accounts.FIELD_EVENT_ID;
+    public static final String FIELD_STATUS = Accounts.FIELD_STATUS;
+    public static final String FIELD_TIMESTAMP = Accounts.FIELD_TIMESTAMP;
+
+    private MyEventsIndex() {
+        // Utility class
+    }
+
+    /**
+     * @return the index document for one user/event pair.
+     */
+    public static DocumentReference ref(FirebaseFirestore db, String userId, String eventId) {
+        return db.collection(COLLECTION_ACCOUNTS)
+                .document(userId)
+                .collection(COLLECTION_MY_EVENTS)
+                .document(eventId);
+    }
+
+    /**
+     * Adds a status upsert for the given membership to an existing batch.
+     */
+    public static void putStatus(WriteBatch batch, FirebaseFirestore db,
+                                 String userId, String eventId, String status) {
+        if (userId == null || eventId == null) return;
+        batch.set(ref(db, userId, eventId), entry(eventId, status), SetOptions.merge());
+    }
+
+    /**
+     * Adds the removal of a membership to an existing batch.
+     */
+    public static void remove(WriteBatch batch, FirebaseFirestore db, String userId, String eventId) {
+        if (userId == null || eventId == null) return;
+        batch.delete(ref(db, userId, eventId));
+    }
+
+    /**
+     * Adds a status upsert for the given membership to a running transaction.
+     */
+    public static void putStatus(Transaction transaction, FirebaseFirestore db,
+                                 String userId, String eventId, String status) {
+        if (userId == null || eventId == null) return;
+        transaction.set(ref(db, userId, eventId), entry(eventId, status), SetOptions.merge());
+    }
+
+    /**
+     * Adds the removal of a membership to a running transaction.
+     */
+    public static void remove(Transaction transaction, FirebaseFirestore db, String userId, String eventId) {
+        if (userId == null || eventId == null) return;
+        transaction.delete(ref(db, userId, eventId));
+    }
+
+    /**
+     * Writes a status upsert on its own, for call sites that do not batch.
+     */
+    public static void putStatus(FirebaseFirestore db, String userId, String eventId, String status) {
+        if (userId == null || eventId == null) return;
+        ref(db, userId, eventId)
+                .set(entry(eventId, status), SetOptions.merge())
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to index " + eventId + " for " + userId, e));
+    }
+
+    /**
+     * Removes a membership on its own, for call sites that do not batch.
+     */
+    public static void remove(FirebaseFirestore db, String userId, String eventId) {
+        if (userId == null || eventId == null) return;
+        ref(db, userId, eventId)
+                .delete()
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to unindex " + eventId + " for " + userId, e));
+    }
+
+    private static Map<String, Object> entry(String eventId, String status) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_EVENT_ID, eventId);
+        data.put(FIELD_STATUS, status);
+        data.put(FIELD_TIMESTAMP, FieldValue.serverTimestamp());
+        return data;
+    }
+}
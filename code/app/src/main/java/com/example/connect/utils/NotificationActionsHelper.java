@@ -5,7 +5,6 @@ import android.widget.Toast;
 
 import com.example.connect.utils.LotteryManager;
 import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,15 +16,10 @@ public class NotificationActionsHelper {
         if (userId == null || eventId == null) return;
 
         Map<String, Object> updates = new HashMap<>();
-        updates.put("status", "canceled");
         updates.put("canceled_date", FieldValue.serverTimestamp());
 
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .document(userId)
-                .update(updates)
+        // Entrant, counters and My Events index change in one transaction
+        new WaitingListService().updateStatus(eventId, userId, "canceled", updates)
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(context, "Invitation declined successfully", Toast.LENGTH_SHORT).show();
 
@@ -47,15 +41,10 @@ public class NotificationActionsHelper {
         if (userId == null || eventId == null) return;
 
         Map<String, Object> updates = new HashMap<>();
-        updates.put("status", "enrolled");
         updates.put("enrolled_date", FieldValue.serverTimestamp());
 
-        FirebaseFirestore db = FirebaseFirestore.getInstance();
-        db.collection("waiting_lists")
-                .document(eventId)
-                .collection("entrants")
-                .document(userId)
-                .update(updates)
+        // Entrant, counters and My Events index change in one transaction
+        new WaitingListService().updateStatus(eventId, userId, "enrolled", updates)
                 .addOnSuccessListener(aVoid -> Toast.makeText(context, "Invitation accepted successfully", Toast.LENGTH_SHORT).show())
                 .addOnFailureListener(e -> Toast.makeText(context, "Failed to accept: " + e.getMessage(), Toast.LENGTH_SHORT).show());
     }
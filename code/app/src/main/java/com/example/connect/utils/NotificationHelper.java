@@ -1,25 +1,69 @@
 package com.example.connect.utils;
 
 import android.util.Log;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
+import com.example.connect.data.Accounts;
+import com.example.connect.data.DocumentStore;
+import com.example.connect.data.Events;
+import com.example.connect.data.FieldValues;
+import com.example.connect.data.Notifications;
+import com.example.connect.network.Repositories;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * NotificationHelper writes notifications to user accounts
+ *
+ * Every notification is also logged to the month's notification_logs partition
+ * (see NotificationLogStore), stamped with the organizer_id of its event so an
+ * organizer's history can be read with an indexed query (see OrganizerMessagesActivity).
+ *
+ * Reads and writes go through the repositories in com.example.connect.data: the shared
+ * ones from Repositories by default, or ones on a given DocumentStore (e.g. in tests).
  */
 public class NotificationHelper {
 
     private static final String TAG = "NotificationHelper";
-    private final FirebaseFirestore db;
+
+    public static final String FIELD_ORGANIZER_ID = Notifications.FIELD_ORGANIZER_ID;
+    public static final String TYPE_RECOMMENDATIONS = "recommendations";
+
+    // Event id -> lookup of its organizer id; an event's organizer never changes, and
+    // sends to many users at once share the one lookup that is still in flight
+    private static final Map<String, CompletableFuture<String>> organizerIds = new ConcurrentHashMap<>();
+
+    // Looked up on first use, so constructing a helper (e.g. as an activity field) costs nothing
+    private final DocumentStore store;
+    private Accounts accounts;
+    private Events events;
+    private Notifications notifications;
 
     public NotificationHelper() {
-        this.db = FirebaseFirestore.getInstance();
-        Log.d(TAG, "NotificationHelper initialized, Firestore instance created");
+        this(null);
+    }
+
+    /**
+     * @param store store to read and write through, or null for the shared repositories
+     */
+    public NotificationHelper(DocumentStore store) {
+        this.store = store;
+        Log.d(TAG, "NotificationHelper initialized");
+    }
+
+    private synchronized void ensureRepositories() {
+        if (accounts != null) return;
+        if (store == null) {
+            accounts = Repositories.accounts();
+            events = Repositories.events();
+            notifications = Repositories.notifications();
+        } else {
+            accounts = new Accounts(store);
+            events = new Events(store);
+            notifications = new Notifications(store);
+        }
     }
 
     /**
@@ -129,6 +173,11 @@ public class NotificationHelper {
             return;
         }
 
+        ensureRepositories();
+
+        // Looked up once per send, used by every log entry below
+        CompletableFuture<String> organizerLookup = organizerIdFor(eventId, type);
+
         // Use atomic counters to track progress
         final int totalUsers = userIds.size();
         final int[] processedCount = { 0 };
@@ -136,12 +185,24 @@ public class NotificationHelper {
         final int[] skippedCount = { 0 };
 
         for (String userId : userIds) {
-            db.collection("accounts").document(userId).get()
-                    .addOnSuccessListener(documentSnapshot -> {
+            accounts.get(userId)
+                    .handle((account, readError) -> {
+                        if (readError != null) {
+                            Log.e(TAG, "❌ Failed to get user preference for: " + userId, readError);
+                            processedCount[0]++;
+
+                            // Check if all users processed
+                            if (processedCount[0] == totalUsers) {
+                                String message = "Notifications sent to " + notifiedCount[0] +
+                                        " users, skipped " + skippedCount[0] + " users (some errors occurred)";
+                                Log.d(TAG, message);
+                                callback.onSuccess(message);
+                            }
+                            return null;
+                        }
+
                         // Check if notifications are enabled (default to true if not set)
-                        boolean notificationsEnabled = documentSnapshot.getBoolean("notificationsEnabled") != null
-                                ? documentSnapshot.getBoolean("notificationsEnabled")
-                                : true;
+                        boolean notificationsEnabled = Accounts.notificationsEnabled(account);
 
                         if (!notificationsEnabled) {
                             Log.d(TAG, "Skipping user " + userId + " — notifications disabled");
@@ -155,7 +216,7 @@ public class NotificationHelper {
                                 Log.d(TAG, message);
                                 callback.onSuccess(message);
                             }
-                            return;
+                            return null;
                         }
 
                         // User has notifications enabled - send notification
@@ -165,22 +226,43 @@ public class NotificationHelper {
                         notificationData.put("type", type);
                         notificationData.put("eventId", eventId);
                         notificationData.put("eventName", eventName);
-                        notificationData.put("timestamp", FieldValue.serverTimestamp());
+                        notificationData.put("timestamp", FieldValues.serverTimestamp());
                         notificationData.put("read", false);
 
                         // 1. Send to user's private collection
-                        db.collection("accounts").document(userId)
-                                .collection("notifications")
-                                .add(notificationData)
-                                .addOnSuccessListener(docRef -> {
+                        notifications.deliver(userId, notificationData)
+                                .handle((notificationId, writeError) -> {
+                                    if (writeError != null) {
+                                        Log.e(TAG, "❌ Failed to write notification for user: " + userId, writeError);
+                                        processedCount[0]++;
+
+                                        // Check if all users processed
+                                        if (processedCount[0] == totalUsers) {
+                                            String message = "Notifications sent to " + notifiedCount[0] +
+                                                    " users, skipped " + skippedCount[0] + " users";
+                                            Log.d(TAG, message);
+                                            callback.onSuccess(message);
+                                        }
+                                        return null;
+                                    }
+
                                     Log.d(TAG, "✅ Notification saved for user: " + userId);
                                     notifiedCount[0]++;
                                     processedCount[0]++;
 
                                     // 2. Log to central admin collection (fire and forget)
                                     Map<String, Object> logData = new HashMap<>(notificationData);
-                                    logData.put("recipientId", userId);
-                                    db.collection("notification_logs").add(logData);
+                                    logData.put(Notifications.FIELD_RECIPIENT_ID, userId);
+                                    organizerLookup.thenAccept(organizerId -> {
+                                        if (organizerId != null) {
+                                            logData.put(FIELD_ORGANIZER_ID, organizerId);
+                                        }
+                                        notifications.log(logData, System.currentTimeMillis())
+                                                .exceptionally(logError -> {
+                                                    Log.w(TAG, "Could not log notification for " + userId, logError);
+                                                    return null;
+                                                });
+                                    });
 
                                     // Check if all users processed
                                     if (processedCount[0] == totalUsers) {
@@ -189,35 +271,46 @@ public class NotificationHelper {
                                         Log.d(TAG, message);
                                         callback.onSuccess(message);
                                     }
+                                    return null;
                                 })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "❌ Failed to write notification for user: " + userId, e);
-                                    processedCount[0]++;
-
-                                    // Check if all users processed
-                                    if (processedCount[0] == totalUsers) {
-                                        String message = "Notifications sent to " + notifiedCount[0] +
-                                                " users, skipped " + skippedCount[0] + " users";
-                                        Log.d(TAG, message);
-                                        callback.onSuccess(message);
-                                    }
+                                .exceptionally(e -> {
+                                    Log.e(TAG, "Error recording notification for " + userId, e);
+                                    return null;
                                 });
+                        return null;
                     })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "❌ Failed to get user preference for: " + userId, e);
-                        processedCount[0]++;
-
-                        // Check if all users processed
-                        if (processedCount[0] == totalUsers) {
-                            String message = "Notifications sent to " + notifiedCount[0] +
-                                    " users, skipped " + skippedCount[0] + " users (some errors occurred)";
-                            Log.d(TAG, message);
-                            callback.onSuccess(message);
-                        }
+                    .exceptionally(e -> {
+                        Log.e(TAG, "Error notifying " + userId, e);
+                        return null;
                     });
         }
     }
 
+    /**
+     * Finds the organizer of an event for stamping log entries. Recommendations are
+     * not organizer messages, so they are never stamped.
+     *
+     * @return a future resolving to the organizer id, or to null if there is none
+     */
+    private CompletableFuture<String> organizerIdFor(String eventId, String type) {
+        if (eventId == null || eventId.isEmpty() || TYPE_RECOMMENDATIONS.equals(type)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<String> lookup = organizerIds.computeIfAbsent(eventId, id ->
+                events.organizerId(id).exceptionally(e -> {
+                    Log.w(TAG, "Could not look up organizer of event " + id, e);
+                    return null;
+                }));
+        // Look again next time; done outside computeIfAbsent as the lookup may already be complete
+        lookup.thenAccept(organizerId -> {
+            if (organizerId == null) {
+                organizerIds.remove(eventId, lookup);
+            }
+        });
+        return lookup;
+    }
+
     public interface NotificationCallback {
         void onSuccess(String message);
 
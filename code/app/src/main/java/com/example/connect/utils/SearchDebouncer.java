@@ -0,0 +1,71 @@
+package com.example.connect.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+
+/**
+ * Text watcher that reports the search text only once typing has paused.
+ * <p>
+ * Every change restarts a {@value #DEFAULT_DELAY_MS} ms timer on the main thread; when it
+ * fires, the listener receives the text as it is then. A text equal to the last one
+ * reported is not reported again, so focus changes or retyping the same word cost nothing.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class SearchDebouncer implements TextWatcher {
+
+    /**
+     * Receives the search text once typing has paused.
+     */
+    public interface Listener {
+        void onSearch(String text);
+    }
+
+    public static final long DEFAULT_DELAY_MS = 300;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Listener listener;
+    private final long delayMs;
+    private String pendingText = "";
+    private String lastReported = "";
+
+    private final Runnable fire = this::fire;
+
+    public SearchDebouncer(Listener listener) {
+        this(listener, DEFAULT_DELAY_MS);
+    }
+
+    public SearchDebouncer(Listener listener, long delayMs) {
+        this.listener = listener;
+        this.delayMs = delayMs;
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) { }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        pendingText = s != null ? s.toString().trim() : "";
+        handler.removeCallbacks(fire);
+        handler.postDelayed(fire, delayMs);
+    }
+
+    /**
+     * Drops a pending search, e.g. when the screen is destroyed.
+     */
+    public void cancel() {
+        handler.removeCallbacks(fire);
+    }
+
+    private void fire() {
+        if (pendingText.equals(lastReported)) return;
+        lastReported = pendingText;
+        listener.onSearch(pendingText);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.connect.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix search index stored on searchable documents (events, accounts, reports).
+ * <p>
+ * Each document carries a {@value #FIELD} array holding every prefix of every word of its
+ * searchable text (names, titles, emails, ids), lowercased. Words are split on anything
+ * that is not a letter or digit, so "jane.doe@mail.com" indexes "jane", "doe", "mail" and
+ * "com". A search then runs as a single {@code whereArrayContains} on the longest word of
+ * the query ({@link #queryToken}); the other words are checked on the client with
+ * {@link #matches}, which is also what the admin lists use to filter items held locally.
+ * <p>
+ * Prefixes are capped at {@value #MAX_PREFIX} characters to keep the array small; longer
+ * query words are truncated to the same length and narrowed down by {@link #matches}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class SearchTokens {
+
+    /** Document field holding the tokens. */
+    public static final String FIELD = "search_tokens";
+
+    /** Longest prefix written to the index. */
+    static final int MAX_PREFIX = 15;
+
+    /** Fields of an {@code events} document that are searchable. */
+    public static final String[] EVENT_FIELDS = {"event_title", "org_name", "organizer_id"};
+
+    /** Fields of an {@code accounts} document that are searchable, besides its id. */
+    public static final String[] ACCOUNT_FIELDS = {"display_name", "full_name", "email"};
+
+    /** Fields of a {@code reports} document that are searchable. */
+    public static final String[] REPORT_FIELDS = {"description", "event_id"};
+
+    private SearchTokens() {
+    }
+
+    /**
+     * @return every prefix of every word in the given values, without duplicates.
+     */
+    public static List<String> build(String... values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String word : words(value)) {
+                int longest = Math.min(word.length(), MAX_PREFIX);
+                for (int length = 1; length <= longest; length++) {
+                    tokens.add(word.substring(0, length));
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Adds the token field for the given values to a document map being written.
+     */
+    public static void put(Map<String, Object> data, String... values) {
+        data.put(FIELD, build(values));
+    }
+
+    /**
+     * Adds the token field built from some fields of a document map being written, plus
+     * extra values such as the document id. Non-string fields are ignored.
+     */
+    public static void putFromFields(Map<String, Object> data, String[] fields, String... extra) {
+        String[] values = new String[fields.length + extra.length];
+        for (int i = 0; i < fields.length; i++) {
+            Object value = data.get(fields[i]);
+            values[i] = value instanceof String ? (String) value : null;
+        }
+        System.arraycopy(extra, 0, values, fields.length, extra.length);
+        put(data, values);
+    }
+
+    /**
+     * @return the lowercase words of a text, split on anything but letters and digits.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Picks the token to query the index with: the longest word of the query, which is
+     * the most selective one, truncated to {@value #MAX_PREFIX} characters.
+     *
+     * @return the token, or null if the query has no words
+     */
+    public static String queryToken(String query) {
+        String best = null;
+        for (String word : words(query)) {
+            if (best == null || word.length() > best.length()) {
+                best = word;
+            }
+        }
+        if (best == null) return null;
+        return best.length() > MAX_PREFIX ? best.substring(0, MAX_PREFIX) : best;
+    }
+
+    /**
+     * @return true if every word of the query is a prefix of some word in the values.
+     * An empty query matches everything.
+     */
+    public static boolean matches(String query, String... values) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty()) return true;
+
+        List<String> valueWords = new ArrayList<>();
+        for (String value : values) {
+            valueWords.addAll(words(value));
+        }
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String valueWord : valueWords) {
+                if (valueWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+}
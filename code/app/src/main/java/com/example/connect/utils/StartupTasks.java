@@ -0,0 +1,96 @@
+package com.example.connect.utils;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Defers startup work until an activity has drawn its first frame.
+ * <p>
+ * Anything that does not affect the first screen (WorkManager schedules, notification
+ * channels, the notification listener service) is queued here instead of running in
+ * {@code onCreate}, so it stops competing with layout inflation for the main thread during
+ * cold start. The task runs once, on the main thread, right after the first draw; use
+ * {@link #runInBackground(Runnable)} from it for work that does not need the main thread.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class StartupTasks {
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static ExecutorService background;
+
+    private StartupTasks() {
+        // Utility class
+    }
+
+    /**
+     * Runs {@code task} on the main thread once the activity's window has drawn a frame.
+     * If the activity finishes without ever drawing, the task does not run.
+     *
+     * @param activity activity whose first frame to wait for
+     * @param task     work to run after that frame
+     */
+    public static void afterFirstFrame(Activity activity, Runnable task) {
+        View decor = activity.getWindow().getDecorView();
+        // Before API 26 draw listeners added to a detached view are dropped on attach
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O && !decor.isAttachedToWindow()) {
+            decor.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
+                @Override
+                public void onViewAttachedToWindow(View v) {
+                    v.removeOnAttachStateChangeListener(this);
+                    addFirstDrawListener(v, task);
+                }
+
+                @Override
+                public void onViewDetachedFromWindow(View v) {
+                    v.removeOnAttachStateChangeListener(this);
+                }
+            });
+        } else {
+            addFirstDrawListener(decor, task);
+        }
+    }
+
+    /**
+     * Runs {@code task} on a shared low-priority startup thread.
+     */
+    public static synchronized void runInBackground(Runnable task) {
+        if (background == null) {
+            background = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "startup-tasks");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        background.execute(task);
+    }
+
+    private static void addFirstDrawListener(View decor, Runnable task) {
+        decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean fired;
+
+            @Override
+            public void onDraw() {
+                if (fired) {
+                    return;
+                }
+                fired = true;
+                // Listeners can't be removed during dispatch; by the time this runs the frame
+                // has been handed to the render thread
+                mainHandler.postAtFrontOfQueue(() -> {
+                    decor.getViewTreeObserver().removeOnDrawListener(this);
+                    task.run();
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.connect.utils;
+
+import com.example.connect.network.GeoQueries;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single place for waiting-list membership changes.
+ * <p>
+ * Each operation runs as one Firestore transaction that reads the entrant document, writes
+ * it, adjusts the {@link EntrantCounters} shards and updates the user's
+ * {@link MyEventsIndex} entry, so the counters can never drift from the entrants they count.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class WaitingListService {
+
+    private static final String COLLECTION_EVENTS = "events";
+    private static final String COLLECTION_WAITING_LISTS = "waiting_lists";
+    private static final String COLLECTION_ENTRANTS = "entrants";
+    private static final String FIELD_STATUS = "status";
+    private static final String STATUS_WAITING = "waiting";
+
+    /**
+     * Why a join was refused. These are expected outcomes, not errors.
+     */
+    public enum JoinRejection {
+        EVENT_NOT_FOUND("Event not found"),
+        ORGANIZER("Organizers cannot join their own event"),
+        ALREADY_JOINED("You're already on the waiting list"),
+        FULL("Waiting list is full"),
+        LOCATION_REQUIRED("This event requires your location to join"),
+        /** Internal: the waiting list has no counters yet; join seeds them and retries. */
+        NOT_SEEDED("Waiting list is being prepared");
+
+        private final String message;
+
+        JoinRejection(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Thrown from the join transaction when a check fails. It is deliberately not a
+     * {@link FirebaseFirestoreException}, which the SDK would treat as retryable.
+     */
+    public static class JoinRejectedException extends RuntimeException {
+        private final JoinRejection reason;
+
+        JoinRejectedException(JoinRejection reason, String message) {
+            super(message);
+            this.reason = reason;
+        }
+
+        JoinRejectedException(JoinRejection reason) {
+            this(reason, reason.getMessage());
+        }
+
+        public JoinRejection getReason() {
+            return reason;
+        }
+    }
+
+    private final FirebaseFirestore db;
+
+    public WaitingListService() {
+        this(FirebaseFirestore.getInstance());
+    }
+
+    public WaitingListService(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    private DocumentReference entrantRef(String eventId, String userId) {
+        return db.collection(COLLECTION_WAITING_LISTS)
+                .document(eventId)
+                .collection(COLLECTION_ENTRANTS)
+                .document(userId);
+    }
+
+    /**
+     * Adds a user to an event's waiting list with status "waiting".
+     * <p>
+     * One transaction reads the event (organizer and geolocation rules), the waiting list
+     * document (capacity and exact {@code entrant_count}) and the user's entrant document
+     * (duplicates), then writes the entrant, the counters and the My Events index. Concurrent
+     * joins therefore cannot overshoot {@code total_capacity}: the losers are retried by
+     * Firestore and see the updated count.
+     * <p>
+     * Older waiting lists without counters are seeded first, which costs one extra round trip
+     * the first time only.
+     *
+     * @param latitude  where the user joined from, or null
+     * @param longitude where the user joined from, or null
+     * @return a task that fails with {@link JoinRejectedException} when a rule refuses the join
+     */
+    public Task<Void> join(String eventId, String userId, Double latitude, Double longitude) {
+        return runJoin(eventId, userId, latitude, longitude).continueWithTask(task -> {
+            Exception e = task.getException();
+            if (e instanceof JoinRejectedException
+                    && ((JoinRejectedException) e).getReason() == JoinRejection.NOT_SEEDED) {
+                return EntrantCounters.ensureSeeded(db, eventId)
+                        .continueWithTask(seeded -> {
+                            if (!seeded.isSuccessful()) {
+                                return Tasks.forException(seeded.getException());
+                            }
+                            return runJoin(eventId, userId, latitude, longitude);
+                        });
+            }
+            return task;
+        });
+    }
+
+    private Task<Void> runJoin(String eventId, String userId, Double latitude, Double longitude) {
+        DocumentReference event = db.collection(COLLECTION_EVENTS).document(eventId);
+        DocumentReference waitingList = db.collection(COLLECTION_WAITING_LISTS).document(eventId);
+        DocumentReference entrant = entrantRef(eventId, userId);
+        boolean hasLocation = latitude != null && longitude != null;
+
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot eventDoc = transaction.get(event);
+            if (!eventDoc.exists()) {
+                throw new JoinRejectedException(JoinRejection.EVENT_NOT_FOUND);
+            }
+            if (userId.equals(eventDoc.getString("organizer_id"))) {
+                throw new JoinRejectedException(JoinRejection.ORGANIZER);
+            }
+            if (Boolean.TRUE.equals(eventDoc.getBoolean("require_geolocation")) && !hasLocation) {
+                throw new JoinRejectedException(JoinRejection.LOCATION_REQUIRED);
+            }
+
+            DocumentSnapshot listDoc = transaction.get(waitingList);
+            if (!EntrantCounters.isSeeded(listDoc)) {
+                throw new JoinRejectedException(JoinRejection.NOT_SEEDED);
+            }
+
+            if (transaction.get(entrant).exists()) {
+                throw new JoinRejectedException(JoinRejection.ALREADY_JOINED);
+            }
+
+            // null or 0 = unlimited waiting list
+            Long capacity = listDoc.getLong("total_capacity");
+            Long count = listDoc.getLong(EntrantCounters.FIELD_ENTRANT_COUNT);
+            if (capacity != null && capacity > 0 && count != null && count >= capacity) {
+                throw new JoinRejectedException(JoinRejection.FULL,
+                        JoinRejection.FULL.getMessage() + " (" + capacity + " entrants)");
+            }
+
+            Map<String, Object> entrantData = new HashMap<>();
+            entrantData.put("user_id", userId);
+            entrantData.put(FIELD_STATUS, STATUS_WAITING);
+            entrantData.put("joined_date", FieldValue.serverTimestamp());
+
+            // US 02.02.02: Add location data if available
+            if (hasLocation) {
+                entrantData.put("latitude", latitude);
+                entrantData.put("longitude", longitude);
+                entrantData.put("location_captured_at", FieldValue.serverTimestamp());
+                GeoQueries.putGeohash(entrantData, latitude, longitude);
+            }
+
+            transaction.set(entrant, entrantData);
+            EntrantCounters.recordJoin(transaction, db, eventId, STATUS_WAITING);
+            MyEventsIndex.putStatus(transaction, db, userId, eventId, STATUS_WAITING);
+            return null;
+        });
+    }
+
+    /**
+     * Moves an entrant to a new status.
+     *
+     * @param extraFields additional fields to write with the status (e.g. {@code canceled_date}); may be null
+     * @return a task failing with {@link FirebaseFirestoreException.Code#NOT_FOUND} if the user is not an entrant
+     */
+    public Task<Void> updateStatus(String eventId, String userId, String newStatus,
+                                   Map<String, Object> extraFields) {
+        DocumentReference entrant = entrantRef(eventId, userId);
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(entrant);
+            if (!snapshot.exists()) {
+                throw notOnList();
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            if (extraFields != null) {
+                updates.putAll(extraFields);
+            }
+            updates.put(FIELD_STATUS, newStatus);
+
+            transaction.update(entrant, updates);
+            EntrantCounters.recordTransition(transaction, db, eventId, snapshot.getString(FIELD_STATUS), newStatus);
+            MyEventsIndex.putStatus(transaction, db, userId, eventId, newStatus);
+            return null;
+        });
+    }
+
+    /**
+     * Removes an entrant from the waiting list.
+     *
+     * @return a task failing with {@link FirebaseFirestoreException.Code#NOT_FOUND} if the user is not an entrant
+     */
+    public Task<Void> leave(String eventId, String userId) {
+        DocumentReference entrant = entrantRef(eventId, userId);
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(entrant);
+            if (!snapshot.exists()) {
+                throw notOnList();
+            }
+
+            transaction.delete(entrant);
+            EntrantCounters.recordLeave(transaction, db, eventId, snapshot.getString(FIELD_STATUS));
+            MyEventsIndex.remove(transaction, db, userId, eventId);
+            return null;
+        });
+    }
+
+    /**
+     * @return the rejection behind a failed join, or null if it failed for another reason.
+     */
+    public static JoinRejection getJoinRejection(Exception e) {
+        return e instanceof JoinRejectedException ? ((JoinRejectedException) e).getReason() : null;
+    }
+
+    /**
+     * @return true if the task failed because the user was not on the waiting list.
+     */
+    public static boolean isNotOnList(Exception e) {
+        return e instanceof FirebaseFirestoreException
+                && ((FirebaseFirestoreException) e).getCode() == FirebaseFirestoreException.Code.NOT_FOUND;
+    }
+
+    private static FirebaseFirestoreException notOnList() {
+        return new FirebaseFirestoreException("Not on the waiting list",
+                FirebaseFirestoreException.Code.NOT_FOUND);
+    }
+}
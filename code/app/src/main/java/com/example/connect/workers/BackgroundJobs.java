@@ -0,0 +1,238 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.lifecycle.Transformations;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OutOfQuotaPolicy;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for long-running operations (account cascades, message broadcasts, lottery
+ * draws) that must outlive the screen that started them.
+ * <p>
+ * Each job is a {@link JobWorker} enqueued as expedited unique work named after its target,
+ * so jobs for one target run one after another, never side by side, and has a document in
+ * {@code jobs/{jobId}} holding its type, state, latest progress and the checkpoint it resumes
+ * from after a retry. Screens observe a job through {@link #observe(Context, String)}; if
+ * the screen goes away the job keeps running.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class BackgroundJobs {
+
+    private static final String TAG = "BackgroundJobs";
+    private static final String WORK_PREFIX = "job_";
+    private static final String TAG_JOB = "background_job";
+
+    public static final String COLLECTION = "jobs";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_STATE = "state";
+    public static final String FIELD_MESSAGE = "message";
+    public static final String FIELD_DONE = "done";
+    public static final String FIELD_TOTAL = "total";
+    public static final String FIELD_CHECKPOINT = "checkpoint";
+    public static final String FIELD_ATTEMPTS = "attempts";
+    public static final String FIELD_CREATED_AT = "created_at";
+    public static final String FIELD_UPDATED_AT = "updated_at";
+
+    public static final String STATE_QUEUED = "queued";
+    public static final String STATE_RUNNING = "running";
+    public static final String STATE_SUCCEEDED = "succeeded";
+    public static final String STATE_FAILED = "failed";
+
+    private static final long BACKOFF_SECONDS = 30;
+
+    private BackgroundJobs() {
+        // Utility class
+    }
+
+    /**
+     * Latest known state of a job, as seen by the UI.
+     */
+    public static class JobStatus {
+        private final String state;
+        private final String message;
+        private final int done;
+        private final int total;
+
+        JobStatus(String state, String message, int done, int total) {
+            this.state = state;
+            this.message = message;
+            this.done = done;
+            this.total = total;
+        }
+
+        public String getState() {
+            return state;
+        }
+
+        /**
+         * @return the latest progress line while running, the result when finished
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        public int getDone() {
+            return done;
+        }
+
+        /**
+         * @return the amount of work in total, or -1 if unknown
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        public boolean isFinished() {
+            return STATE_SUCCEEDED.equals(state) || STATE_FAILED.equals(state);
+        }
+
+        public boolean isSucceeded() {
+            return STATE_SUCCEEDED.equals(state);
+        }
+    }
+
+    /**
+     * Receives a job's updates on the main thread.
+     */
+    public interface JobCallback {
+        void onProgress(JobStatus status);
+
+        void onFinished(JobStatus status);
+    }
+
+    public static DocumentReference jobRef(FirebaseFirestore db, String jobId) {
+        return db.collection(COLLECTION).document(jobId);
+    }
+
+    /**
+     * Schedules a job.
+     * <p>
+     * The key names what the job acts on (e.g. {@code draw:{eventId}}). A request for a
+     * target whose job is still queued or running is appended after it rather than run
+     * alongside it; by then the target is usually done (the draw completed, the cascade
+     * checkpointed as done), so the second job finds little or nothing left to do. The job
+     * document is written by the worker when it first runs.
+     *
+     * @param type  short name of the operation, stored with the job
+     * @param key   identifies the job's target, or null if every request is a separate job
+     * @param input worker-specific input
+     * @return the id of this request, to {@link #observe(Context, String) observe} it by, or
+     * null if it could not be scheduled
+     */
+    public static String enqueue(Context context, Class<? extends JobWorker> worker,
+                                 String type, String key, Data input) {
+        try {
+            String jobId = FirebaseFirestore.getInstance().collection(COLLECTION).document().getId();
+            String handle = key != null ? key : jobId;
+
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(worker)
+                    .setInputData(new Data.Builder()
+                            .putAll(input)
+                            .putString(JobWorker.KEY_JOB_ID, jobId)
+                            .putString(JobWorker.KEY_TYPE, type)
+                            .build())
+                    .setConstraints(constraints)
+                    .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                    .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                    .addTag(TAG_JOB)
+                    .addTag(type)
+                    .build();
+
+            // Every request gets its own work, so its id never reports another request's result
+            WorkManager.getInstance(context).enqueueUniqueWork(
+                    workName(handle), ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+            Log.d(TAG, "Enqueued " + type + " job " + handle + " as " + request.getId());
+            return request.getId().toString();
+        } catch (Exception e) {
+            Log.e(TAG, "Error scheduling " + type + " job", e);
+            return null;
+        }
+    }
+
+    /**
+     * Follows one request by its work id. Earlier jobs for the same target share its unique
+     * work name, so observing by name could report their results instead.
+     *
+     * @param jobId the id {@link #enqueue} returned
+     * @return the live status of a job; emits on every progress update and once finished
+     */
+    public static LiveData<JobStatus> observe(Context context, String jobId) {
+        return Transformations.map(
+                WorkManager.getInstance(context).getWorkInfoByIdLiveData(UUID.fromString(jobId)),
+                BackgroundJobs::statusOf);
+    }
+
+    /**
+     * Follows a job while {@code owner} is active, and stops once the job has finished so
+     * the result is delivered only once.
+     */
+    public static void observe(Context context, LifecycleOwner owner, String jobId, JobCallback callback) {
+        LiveData<JobStatus> status = observe(context, jobId);
+        status.observe(owner, new Observer<JobStatus>() {
+            @Override
+            public void onChanged(JobStatus update) {
+                if (!update.isFinished()) {
+                    callback.onProgress(update);
+                    return;
+                }
+                status.removeObserver(this);
+                callback.onFinished(update);
+            }
+        });
+    }
+
+    static String workName(String handle) {
+        return WORK_PREFIX + handle;
+    }
+
+    /**
+     * @param info the request's work, or null while WorkManager has not stored it yet
+     */
+    static JobStatus statusOf(WorkInfo info) {
+        if (info == null) {
+            return new JobStatus(STATE_QUEUED, null, 0, -1);
+        }
+        switch (info.getState()) {
+            case SUCCEEDED:
+                return fromData(STATE_SUCCEEDED, info.getOutputData());
+            case FAILED:
+            case CANCELLED:
+                return fromData(STATE_FAILED, info.getOutputData());
+            case RUNNING:
+                return fromData(STATE_RUNNING, info.getProgress());
+            default:
+                return new JobStatus(STATE_QUEUED, null, 0, -1);
+        }
+    }
+
+    private static JobStatus fromData(String state, Data data) {
+        return new JobStatus(state,
+                data.getString(JobWorker.KEY_MESSAGE),
+                data.getInt(JobWorker.KEY_DONE, 0),
+                data.getInt(JobWorker.KEY_TOTAL, -1));
+    }
+}
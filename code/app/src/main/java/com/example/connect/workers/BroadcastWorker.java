@@ -0,0 +1,159 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.utils.NotificationHelper;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background job that sends an organizer's message to every entrant of an event with a
+ * given status.
+ * <p>
+ * Entrants are read {@value #PAGE_SIZE} at a time in document id order and each page is sent
+ * before the next is read. The last entrant sent is checkpointed, so a retried attempt
+ * carries on with the next page instead of messaging everyone again.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class BroadcastWorker extends JobWorker {
+
+    public static final String TYPE = "broadcast";
+
+    static final int PAGE_SIZE = 100;
+
+    private static final String KEY_EVENT_ID = "event_id";
+    private static final String KEY_EVENT_NAME = "event_name";
+    private static final String KEY_STATUS = "status";
+    private static final String KEY_TITLE = "title";
+    private static final String KEY_BODY = "body";
+    private static final String KEY_TYPE = "type";
+
+    private static final String CHECKPOINT_LAST_ENTRANT = "last_entrant_id";
+    private static final String CHECKPOINT_SENT = "sent";
+
+    public BroadcastWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedules a message to every entrant of {@code eventId} whose status is {@code status}.
+     *
+     * @return the job id, or null if it could not be scheduled
+     */
+    public static String enqueue(Context context, String eventId, String eventName, String status,
+                                 String title, String body, String type) {
+        Data input = new Data.Builder()
+                .putString(KEY_EVENT_ID, eventId)
+                .putString(KEY_EVENT_NAME, eventName)
+                .putString(KEY_STATUS, status)
+                .putString(KEY_TITLE, title)
+                .putString(KEY_BODY, body)
+                .putString(KEY_TYPE, type)
+                .build();
+        return BackgroundJobs.enqueue(context, BroadcastWorker.class, TYPE, null, input);
+    }
+
+    @Override
+    protected String runJob() throws Exception {
+        Data input = getInputData();
+        String eventId = input.getString(KEY_EVENT_ID);
+        String status = input.getString(KEY_STATUS);
+        if (eventId == null || status == null) {
+            throw new JobFailedException("No recipients selected");
+        }
+
+        NotificationHelper notificationHelper = new NotificationHelper();
+        String lastEntrantId = (String) getCheckpoint(CHECKPOINT_LAST_ENTRANT);
+        Object savedCount = getCheckpoint(CHECKPOINT_SENT);
+        int sent = savedCount instanceof Number ? ((Number) savedCount).intValue() : 0;
+
+        Query entrants = db.collection("waiting_lists")
+                .document(eventId)
+                .collection("entrants")
+                .whereEqualTo("status", status)
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+        while (true) {
+            Query page = lastEntrantId != null ? entrants.startAfter(lastEntrantId) : entrants;
+            List<DocumentSnapshot> docs = await(FirestoreMetrics.read("BroadcastWorker.entrants", page.get())).getDocuments();
+            if (docs.isEmpty()) break;
+
+            List<String> recipientIds = new ArrayList<>();
+            for (DocumentSnapshot doc : docs) {
+                String userId = doc.getString("user_id");
+                if (userId != null) {
+                    recipientIds.add(userId);
+                }
+            }
+            if (!recipientIds.isEmpty()) {
+                send(notificationHelper, eventId, input.getString(KEY_EVENT_NAME), recipientIds,
+                        input.getString(KEY_TITLE), input.getString(KEY_BODY), input.getString(KEY_TYPE));
+                sent += recipientIds.size();
+            }
+
+            lastEntrantId = docs.get(docs.size() - 1).getId();
+            Map<String, Object> checkpoint = new HashMap<>();
+            checkpoint.put(CHECKPOINT_LAST_ENTRANT, lastEntrantId);
+            checkpoint.put(CHECKPOINT_SENT, sent);
+            saveCheckpoint(checkpoint);
+            reportProgress("Sent to " + sent + " users…", sent, -1);
+
+            if (docs.size() < PAGE_SIZE) break;
+        }
+
+        if (sent == 0) {
+            throw new JobFailedException("No " + status + " entrants found");
+        }
+        return "Message sent to " + sent + " users";
+    }
+
+    /**
+     * Sends one page of notifications and waits for {@link NotificationHelper} to finish.
+     */
+    private void send(NotificationHelper notificationHelper, String eventId, String eventName,
+                      List<String> recipientIds, String title, String body, String type) throws Exception {
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+        notificationHelper.notifyCustom(eventId, recipientIds, eventName,
+                new NotificationHelper.NotificationCallback() {
+                    @Override
+                    public void onSuccess(String message) {
+                        finished.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(String message) {
+                        error.set(message);
+                        finished.countDown();
+                    }
+                }, title, body, type);
+
+        if (!finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new Exception("Timed out sending to " + recipientIds.size() + " users");
+        }
+        if (error.get() != null) {
+            throw new Exception(error.get());
+        }
+    }
+
+    @Override
+    protected String describe() {
+        return "Sending message";
+    }
+}
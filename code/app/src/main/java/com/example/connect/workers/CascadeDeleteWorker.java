@@ -0,0 +1,71 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.network.CascadeDeleter;
+import com.example.connect.network.UserProfileLoader;
+
+/**
+ * Background job that removes a user and their dependents with {@link CascadeDeleter}.
+ * <p>
+ * The deleter checkpoints its own progress in {@code cascade_deletes/{userId}}, so a retried
+ * attempt simply runs it again and it continues from there.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class CascadeDeleteWorker extends JobWorker {
+
+    public static final String TYPE = "cascade_delete";
+
+    private static final String KEY_USER_ID = "user_id";
+    private static final String KEY_MODE = "mode";
+    private static final String KEY_NOTIFY = "notify_entrants";
+
+    public CascadeDeleteWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedules the removal of one user. While a removal is pending for the user, asking
+     * again returns that one, so two cascades never run for the same user at once.
+     *
+     * @return the job id, or null if it could not be scheduled
+     */
+    public static String enqueue(Context context, String userId, CascadeDeleter.Mode mode,
+                                 boolean notifyEntrants) {
+        Data input = new Data.Builder()
+                .putString(KEY_USER_ID, userId)
+                .putString(KEY_MODE, mode.name())
+                .putBoolean(KEY_NOTIFY, notifyEntrants)
+                .build();
+        return BackgroundJobs.enqueue(context, CascadeDeleteWorker.class, TYPE, "cascade:" + userId, input);
+    }
+
+    @Override
+    protected String runJob() throws Exception {
+        String userId = getInputData().getString(KEY_USER_ID);
+        if (userId == null) {
+            throw new JobFailedException("No user to remove");
+        }
+        CascadeDeleter.Mode mode = CascadeDeleter.Mode.valueOf(getInputData().getString(KEY_MODE));
+        boolean notify = getInputData().getBoolean(KEY_NOTIFY, false);
+
+        CascadeDeleter.Progress result = CascadeDeleter.getInstance().run(userId, mode, notify,
+                progress -> reportProgress(progress.describe(),
+                        progress.getEventsDeleted() + progress.getMembershipsRemoved(), -1));
+        // Screens in this process must not keep showing the removed profile
+        UserProfileLoader.getInstance().invalidate(userId);
+        return "Removed " + result.getEventsDeleted() + " events and "
+                + result.getMembershipsRemoved() + " waiting list entries";
+    }
+
+    @Override
+    protected String describe() {
+        return "Removing account data";
+    }
+}
@@ -7,16 +7,22 @@ import androidx.annotation.NonNull;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
+import com.example.connect.network.FirestoreMetrics;
+import com.example.connect.network.NotificationLogStore;
+import com.example.connect.utils.EventDates;
 import com.example.connect.utils.NotificationHelper;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Background worker that sends daily notifications to users about recommended events
@@ -25,20 +31,30 @@ import java.util.Map;
  * Updated to prevent spam by checking if user already received recommendations
  * in the last 24 hours.
  *
+ * Upcoming events are read once per run and matched against every user, and the worker
+ * only reports success once every user has been handled, so WorkManager keeps the process
+ * alive until the last notification is written.
+ *
  * @author Zenith Team
- * @version 1.1
+ * @version 1.2
  */
 public class DailyNotificationWorker extends Worker {
 
     private static final String TAG = "DailyNotificationWorker";
+
+    // WorkManager stops a worker after 10 minutes
+    private static final long TIMEOUT_MINUTES = 9;
+
     private final FirebaseFirestore db;
     private final NotificationHelper notificationHelper;
+    private final NotificationLogStore logStore;
 
     public DailyNotificationWorker(@NonNull Context context,
                                    @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
         db = FirebaseFirestore.getInstance();
         notificationHelper = new NotificationHelper();
+        logStore = new NotificationLogStore(db);
     }
 
     @NonNull
@@ -47,137 +63,151 @@ public class DailyNotificationWorker extends Worker {
         Log.d(TAG, "▶ DailyNotificationWorker starting...");
 
         try {
-            db.collection("accounts").get()
-                    .addOnSuccessListener(query -> {
-                        Log.d(TAG, "Found " + query.size() + " total users");
-                        for (QueryDocumentSnapshot doc : query) {
-                            processUser(doc.getId(), doc.getData());
-                        }
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Failed to load users", e);
-                    });
-
+            QuerySnapshot users = await(FirestoreMetrics.read("DailyNotificationWorker.accounts",
+                    db.collection("accounts").get()));
+            Log.d(TAG, "Found " + users.size() + " total users");
+
+            List<DocumentSnapshot> upcomingEvents = loadUpcomingEvents();
+
+            List<Task<Void>> pending = new ArrayList<>();
+            for (QueryDocumentSnapshot doc : users) {
+                Task<Void> done = processUser(doc.getId(), doc.getData(), upcomingEvents);
+                if (done != null) {
+                    pending.add(done);
+                }
+            }
+            await(Tasks.whenAll(pending));
+
+            Log.d(TAG, "✅ DailyNotificationWorker finished, " + pending.size() + " users checked");
             return Result.success();
 
         } catch (Exception e) {
+            // Users already notified are skipped on retry by the 24-hour check
             Log.e(TAG, "Error in doWork", e);
             return Result.retry();
         }
     }
 
-    private void processUser(String userId, Map<String, Object> userData) {
+    /**
+     * @return events that have not started yet and carry labels to match interests against
+     */
+    private List<DocumentSnapshot> loadUpcomingEvents() throws Exception {
+        QuerySnapshot query = await(FirestoreMetrics.read("DailyNotificationWorker.events",
+                db.collection("events").get()));
+        List<DocumentSnapshot> upcoming = new ArrayList<>();
+        long currentTime = System.currentTimeMillis();
+
+        for (DocumentSnapshot doc : query) {
+            // Parse the date_time string
+            String dateTimeStr = doc.getString("date_time");
+            if (dateTimeStr == null) continue;
+
+            try {
+                // Skip past events
+                if (EventDates.parseIso(dateTimeStr) < currentTime) continue;
+            } catch (Exception e) {
+                Log.w(TAG, "Invalid date format: " + dateTimeStr);
+                continue;
+            }
+
+            if (doc.get("labels") instanceof List) {
+                upcoming.add(doc);
+            }
+        }
+        Log.d(TAG, "Found " + upcoming.size() + " upcoming labelled events");
+        return upcoming;
+    }
+
+    /**
+     * @return a task completing once the user has been handled, or null if they are skipped
+     */
+    private Task<Void> processUser(String userId, Map<String, Object> userData,
+                                   List<DocumentSnapshot> upcomingEvents) {
         // Check if notifications are enabled (default to true if not set)
         boolean notificationsEnabled = userData.get("notificationsEnabled") == null ||
                 (boolean) userData.get("notificationsEnabled");
 
         if (!notificationsEnabled) {
             Log.d(TAG, "Skipping " + userId + " — notifications disabled");
-            return;
+            return null;
         }
 
         List<String> interests = (List<String>) userData.get("interests");
         if (interests == null || interests.isEmpty()) {
             Log.d(TAG, "User " + userId + " has no interests set");
-            return;
+            return null;
         }
 
         Log.d(TAG, "Processing user " + userId + " with interests: " + interests);
 
         // Check if user already received recommendations in last 24 hours
-        checkLastRecommendation(userId, interests);
+        return checkLastRecommendation(userId, interests, upcomingEvents);
     }
 
     /**
      * Check if user has received recommendation notifications in the last 24 hours
      * to prevent spam. Only sends recommendations if user is eligible.
      */
-    private void checkLastRecommendation(String userId, List<String> interests) {
+    private Task<Void> checkLastRecommendation(String userId, List<String> interests,
+                                               List<DocumentSnapshot> upcomingEvents) {
         // Calculate timestamp for 24 hours ago
         long oneDayAgo = System.currentTimeMillis() - (24 * 60 * 60 * 1000);
         com.google.firebase.Timestamp cutoffTimestamp =
                 new com.google.firebase.Timestamp(oneDayAgo / 1000, 0);
 
-        db.collection("notification_logs")
+        return FirestoreMetrics.read("DailyNotificationWorker.lastRecommendation", logStore.allEntries()
                 .whereEqualTo("recipientId", userId)
                 .whereEqualTo("type", "recommendations")
                 .whereGreaterThan("timestamp", cutoffTimestamp)
                 .limit(1)
-                .get()
-                .addOnSuccessListener(query -> {
-                    if (!query.isEmpty()) {
+                .get())
+                .continueWithTask(task -> {
+                    if (!task.isSuccessful()) {
+                        Log.e(TAG, "Error checking last recommendation for " + userId, task.getException());
+                        // On error, proceed anyway to avoid blocking legitimate notifications
+                        return recommendEvents(userId, interests, upcomingEvents);
+                    }
+                    if (!task.getResult().isEmpty()) {
                         Log.d(TAG, "User " + userId + " already received recommendations in last 24h - skipping");
-                        return;
+                        return Tasks.forResult(null);
                     }
 
                     Log.d(TAG, "User " + userId + " eligible for recommendations (no notifications in last 24h)");
-                    fetchRecommendedEvents(userId, interests);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error checking last recommendation for " + userId, e);
-                    // On error, proceed anyway to avoid blocking legitimate notifications
-                    fetchRecommendedEvents(userId, interests);
+                    return recommendEvents(userId, interests, upcomingEvents);
                 });
     }
 
-    private void fetchRecommendedEvents(String userId, List<String> interests) {
-        db.collection("events")
-                .get()
-                .addOnSuccessListener(query -> {
-                    List<String> recommendedEventIds = new ArrayList<>();
-                    List<String> recommendedTitles = new ArrayList<>();
-
-                    long currentTime = System.currentTimeMillis();
-
-                    for (var doc : query) {
-                        // Parse the date_time string
-                        String dateTimeStr = doc.getString("date_time");
-                        if (dateTimeStr == null) continue;
-
-                        try {
-                            // Convert ISO string to timestamp
-                            long eventTime = parseIsoToTimestamp(dateTimeStr);
-
-                            // Skip past events
-                            if (eventTime < currentTime) continue;
-
-                        } catch (Exception e) {
-                            Log.w(TAG, "Invalid date format: " + dateTimeStr);
-                            continue;
-                        }
-
-                        List<String> labels = (List<String>) doc.get("labels");
-                        if (labels == null) continue;
-
-                        for (String tag : interests) {
-                            if (labels.contains(tag)) {
-                                recommendedEventIds.add(doc.getId());
-                                String title = doc.getString("event_title");
-                                recommendedTitles.add(title != null ? title : "Untitled Event");
-                                break;
-                            }
-                        }
-                    }
+    private Task<Void> recommendEvents(String userId, List<String> interests,
+                                       List<DocumentSnapshot> upcomingEvents) {
+        List<String> recommendedEventIds = new ArrayList<>();
+        List<String> recommendedTitles = new ArrayList<>();
+
+        for (DocumentSnapshot doc : upcomingEvents) {
+            List<String> labels = (List<String>) doc.get("labels");
+            for (String tag : interests) {
+                if (labels.contains(tag)) {
+                    recommendedEventIds.add(doc.getId());
+                    String title = doc.getString("event_title");
+                    recommendedTitles.add(title != null ? title : "Untitled Event");
+                    break;
+                }
+            }
+        }
 
-                    if (recommendedEventIds.isEmpty()) {
-                        Log.d(TAG, "No recommended events for user: " + userId);
-                        return;
-                    }
+        if (recommendedEventIds.isEmpty()) {
+            Log.d(TAG, "No recommended events for user: " + userId);
+            return Tasks.forResult(null);
+        }
 
-                    Log.d(TAG, "Found " + recommendedEventIds.size() + " recommended events for user: " + userId);
-                    sendDailyRecommendation(userId, recommendedEventIds, recommendedTitles);
-                });
+        Log.d(TAG, "Found " + recommendedEventIds.size() + " recommended events for user: " + userId);
+        return sendDailyRecommendation(userId, recommendedEventIds, recommendedTitles);
     }
 
-    // Helper method to parse ISO 8601 string
-    private long parseIsoToTimestamp(String isoDate) throws Exception {
-        // Remove 'T' and parse
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
-        Date date = sdf.parse(isoDate);
-        return date != null ? date.getTime() : 0;
+    private static <T> T await(Task<T> task) throws Exception {
+        return Tasks.await(task, TIMEOUT_MINUTES, TimeUnit.MINUTES);
     }
 
-    private void sendDailyRecommendation(String userId, List<String> eventIds, List<String> eventTitles) {
+    private Task<Void> sendDailyRecommendation(String userId, List<String> eventIds, List<String> eventTitles) {
         String title = "Events You Might Like!";
 
         // Limit to 5 events in notification
@@ -201,6 +231,7 @@ public class DailyNotificationWorker extends Worker {
         // Use first event ID for the notification reference
         String firstEventId = eventIds.get(0);
 
+        TaskCompletionSource<Void> sent = new TaskCompletionSource<>();
         notificationHelper.notifyCustom(
                 firstEventId,
                 singleUser,
@@ -209,16 +240,19 @@ public class DailyNotificationWorker extends Worker {
                     @Override
                     public void onSuccess(String message) {
                         Log.d(TAG, "✅ Daily recommendation sent to user " + userId);
+                        sent.trySetResult(null);
                     }
 
                     @Override
                     public void onFailure(String error) {
                         Log.e(TAG, "❌ Failed to send recommendation to user " + userId + ": " + error);
+                        sent.trySetResult(null);
                     }
                 },
                 title,
                 body.toString(),
                 "recommendations"
         );
+        return sent.getTask();
     }
 }
\ No newline at end of file
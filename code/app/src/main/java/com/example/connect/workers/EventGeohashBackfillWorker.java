@@ -0,0 +1,158 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.network.GeoQueries;
+import com.example.connect.utils.GeoHash;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-time worker that writes {@link GeoQueries#FIELD_GEOHASH} on events that already had
+ * coordinates before geohashes were stored with them.
+ * <p>
+ * {@code EventRepository.getEventsNear} only finds events carrying a geohash, and the
+ * geocoder skips events that already have {@code location_latitude}/{@code location_longitude},
+ * so without this those events would never show up in nearby searches. Events are read
+ * {@value #PAGE_SIZE} at a time in document id order and only those whose geohash is missing
+ * or does not match their coordinates are updated. Once every event has been walked a flag is
+ * stored and the worker is never scheduled again on this device.
+ * <p>
+ * Scheduled from the admin dashboard; regular users never run it.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class EventGeohashBackfillWorker extends Worker {
+
+    private static final String TAG = "EventGeohashBackfill";
+    private static final String WORK_NAME = "event_geohash_backfill";
+    private static final String PREFS = "admin_geo";
+    private static final String KEY_BACKFILLED = "event_geohashes_backfilled_v1";
+
+    static final String FIELD_LATITUDE = "location_latitude";
+    static final String FIELD_LONGITUDE = "location_longitude";
+
+    /** Documents read per page; also Firestore's limit on writes per batch. */
+    static final int PAGE_SIZE = 500;
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final FirebaseFirestore db;
+
+    public EventGeohashBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Schedules the backfill unless it has already completed on this device.
+     */
+    public static void schedule(Context context) {
+        try {
+            if (prefs(context).getBoolean(KEY_BACKFILLED, false)) return;
+
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(EventGeohashBackfillWorker.class)
+                    .setConstraints(constraints)
+                    .addTag("geohash_backfill")
+                    .build();
+
+            WorkManager.getInstance(context).enqueueUniqueWork(
+                    WORK_NAME, ExistingWorkPolicy.KEEP, request);
+        } catch (Exception e) {
+            Log.e(TAG, "Error scheduling event geohash backfill", e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int updated = backfill();
+            if (isStopped()) {
+                return Result.retry();
+            }
+
+            prefs(getApplicationContext()).edit().putBoolean(KEY_BACKFILLED, true).apply();
+            Log.d(TAG, "Wrote geohashes for " + updated + " events");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error backfilling event geohashes", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Walks the events and updates every located event whose geohash is missing or stale.
+     *
+     * @return the number of events updated
+     */
+    private int backfill() throws Exception {
+        Query ordered = db.collection("events").orderBy(FieldPath.documentId());
+        DocumentSnapshot lastVisible = null;
+        int updated = 0;
+
+        while (!isStopped()) {
+            Query page = lastVisible != null
+                    ? ordered.startAfter(lastVisible).limit(PAGE_SIZE)
+                    : ordered.limit(PAGE_SIZE);
+            QuerySnapshot snapshot = Tasks.await(page.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            if (documents.isEmpty()) break;
+
+            WriteBatch batch = db.batch();
+            int writes = 0;
+            for (DocumentSnapshot doc : documents) {
+                String geohash = geohashFor(doc);
+                if (geohash != null && !geohash.equals(doc.getString(GeoQueries.FIELD_GEOHASH))) {
+                    batch.update(doc.getReference(), GeoQueries.FIELD_GEOHASH, geohash);
+                    writes++;
+                }
+            }
+            if (writes > 0) {
+                Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                updated += writes;
+            }
+
+            if (documents.size() < PAGE_SIZE) break;
+            lastVisible = documents.get(documents.size() - 1);
+        }
+        return updated;
+    }
+
+    /**
+     * @return the geohash an event should carry, as written by the app for new events, or
+     * null if the event has no usable coordinates
+     */
+    static String geohashFor(DocumentSnapshot event) {
+        double[] position = GeoQueries.positionOf(event, FIELD_LATITUDE, FIELD_LONGITUDE);
+        return position != null ? GeoHash.encode(position[0], position[1]) : null;
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.network.ImageIndex;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-time worker that adds {@link ImageIndex} entries for event posters and profile pictures
+ * uploaded before the index existed.
+ * <p>
+ * Events and accounts are read {@value #PAGE_SIZE} documents at a time in document id order
+ * (small pages, since these documents still carry full Base64 images). Every image found is
+ * hashed and thumbnailed and its entry written in one batch per page. Entries are keyed by the
+ * owning document, so a retried run simply rewrites them. Once both collections have been
+ * walked a flag is stored and the worker is never scheduled again on this device.
+ * <p>
+ * Scheduled from the admin dashboard; regular users never run it.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class ImageIndexBackfillWorker extends Worker {
+
+    private static final String TAG = "ImageIndexBackfill";
+    private static final String WORK_NAME = "image_index_backfill";
+    private static final String PREFS = "admin_images";
+    private static final String KEY_BACKFILLED = "images_indexed_v1";
+
+    /** Documents read per page. Each image adds at most two writes to the page's batch. */
+    static final int PAGE_SIZE = 50;
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final FirebaseFirestore db;
+
+    public ImageIndexBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Schedules the backfill unless it has already completed on this device.
+     */
+    public static void schedule(Context context) {
+        try {
+            if (prefs(context).getBoolean(KEY_BACKFILLED, false)) return;
+
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ImageIndexBackfillWorker.class)
+                    .setConstraints(constraints)
+                    .addTag("image_backfill")
+                    .build();
+
+            WorkManager.getInstance(context).enqueueUniqueWork(
+                    WORK_NAME, ExistingWorkPolicy.KEEP, request);
+        } catch (Exception e) {
+            Log.e(TAG, "Error scheduling image index backfill", e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int indexed = backfill("events") + backfill("accounts");
+            if (isStopped()) {
+                return Result.retry();
+            }
+
+            prefs(getApplicationContext()).edit().putBoolean(KEY_BACKFILLED, true).apply();
+            Log.d(TAG, "Indexed " + indexed + " images");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error backfilling image index", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Walks one collection and writes an entry for every image in it.
+     *
+     * @return the number of images indexed
+     */
+    private int backfill(String collection) throws Exception {
+        Query ordered = db.collection(collection).orderBy(FieldPath.documentId());
+        DocumentSnapshot lastVisible = null;
+        int indexed = 0;
+
+        while (!isStopped()) {
+            Query page = lastVisible != null
+                    ? ordered.startAfter(lastVisible).limit(PAGE_SIZE)
+                    : ordered.limit(PAGE_SIZE);
+            QuerySnapshot snapshot = Tasks.await(page.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            if (documents.isEmpty()) break;
+
+            WriteBatch batch = db.batch();
+            int entries = 0;
+            for (DocumentSnapshot doc : documents) {
+                ImageIndex.Entry entry = "events".equals(collection) ? posterOf(doc) : profilePictureOf(doc);
+                if (entry != null) {
+                    ImageIndex.put(batch, db, entry);
+                    entries++;
+                }
+            }
+            if (entries > 0) {
+                Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                indexed += entries;
+            }
+
+            if (documents.size() < PAGE_SIZE) break;
+            lastVisible = documents.get(documents.size() - 1);
+        }
+        return indexed;
+    }
+
+    /**
+     * @return the entry for an event's poster, or null if it has none.
+     */
+    private static ImageIndex.Entry posterOf(DocumentSnapshot doc) {
+        String field = "imageUrl";
+        String image = doc.getString(field);
+        if (image == null || image.isEmpty()) {
+            field = "image_base64";
+            image = doc.getString(field);
+        }
+        if (image == null || image.isEmpty()) return null;
+
+        String title = doc.getString("event_title");
+        if (title == null || title.isEmpty()) {
+            title = doc.getString("name");
+        }
+        return ImageIndex.prepare(ImageIndex.eventPosterId(doc.getId()), ImageIndex.TYPE_EVENT_POSTER,
+                doc.getString("organizer_id"), doc.getId(), title,
+                "events/" + doc.getId(), field, image);
+    }
+
+    /**
+     * @return the entry for an account's profile picture, or null if it has none.
+     */
+    private static ImageIndex.Entry profilePictureOf(DocumentSnapshot doc) {
+        String image = doc.getString("profile_image_url");
+        if (image == null || image.isEmpty()) return null;
+
+        String displayName = doc.getString("display_name");
+        if (displayName == null || displayName.isEmpty()) {
+            displayName = doc.getString("full_name");
+        }
+        return ImageIndex.prepare(ImageIndex.profilePictureId(doc.getId()), ImageIndex.TYPE_PROFILE_PICTURE,
+                doc.getId(), doc.getId(), displayName,
+                "accounts/" + doc.getId(), "profile_image_url", image);
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
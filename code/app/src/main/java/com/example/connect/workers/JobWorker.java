@@ -0,0 +1,269 @@
+package com.example.connect.workers;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.app.NotificationCompat;
+import androidx.work.Data;
+import androidx.work.ForegroundInfo;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.R;
+import com.example.connect.network.FirestoreMetrics;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for the jobs scheduled through {@link BackgroundJobs}.
+ * <p>
+ * Keeps {@code jobs/{jobId}} in step with the work: running when it starts, the latest
+ * progress while it runs, succeeded or failed at the end. Subclasses implement
+ * {@link #runJob()} and call {@link #saveCheckpoint(Map)} after each chunk; a retried
+ * attempt reads it back through {@link #getCheckpoint(String)} and continues from there.
+ * <p>
+ * An exception retries the job with backoff, up to {@value #MAX_ATTEMPTS} attempts;
+ * {@link JobFailedException} fails it straight away (for errors a retry cannot fix). Jobs
+ * that are not {@link #isRepeatable() repeatable} never run a second time: an attempt that
+ * finds an earlier one started fails the job instead.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public abstract class JobWorker extends Worker {
+
+    private static final String TAG = "JobWorker";
+    private static final String CHANNEL_ID = "background_jobs";
+
+    public static final String KEY_JOB_ID = "job_id";
+    static final String KEY_TYPE = "job_type";
+    static final String KEY_MESSAGE = "message";
+    static final String KEY_DONE = "done";
+    static final String KEY_TOTAL = "total";
+
+    static final int MAX_ATTEMPTS = 5;
+    protected static final long TIMEOUT_SECONDS = 60;
+
+    /** Minimum time between progress writes to the job document. */
+    private static final long PROGRESS_WRITE_INTERVAL_MS = 2000;
+
+    protected final FirebaseFirestore db;
+    private DocumentReference jobRef;
+    private Map<String, Object> checkpoint = new HashMap<>();
+    private long lastProgressWrite;
+
+    /**
+     * Failure that retrying will not fix, e.g. invalid input.
+     */
+    public static class JobFailedException extends Exception {
+        public JobFailedException(String message) {
+            super(message);
+        }
+    }
+
+    protected JobWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Does the work, blocking until it is finished.
+     *
+     * @return a short result message for the UI
+     */
+    protected abstract String runJob() throws Exception;
+
+    /**
+     * @return the title of the notification shown if the job runs in the foreground
+     */
+    protected abstract String describe();
+
+    /**
+     * Whether an attempt may run again after an earlier one started but did not finish, e.g.
+     * because the process was killed half way. Jobs without checkpoints whose work is not
+     * safe to apply twice return false.
+     */
+    protected boolean isRepeatable() {
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String jobId = getInputData().getString(KEY_JOB_ID);
+        if (jobId == null) {
+            Log.e(TAG, "Job started without an id");
+            return Result.failure();
+        }
+        jobRef = BackgroundJobs.jobRef(db, jobId);
+
+        // Attribute this job's Firestore calls to it rather than the screen in front
+        FirestoreMetrics.setThreadScope("job:" + getClass().getSimpleName());
+        try {
+            return execute(jobId);
+        } finally {
+            FirestoreMetrics.clearThreadScope();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result execute(String jobId) {
+        try {
+            DocumentSnapshot job = await(jobRef.get());
+            if (BackgroundJobs.STATE_SUCCEEDED.equals(job.getString(BackgroundJobs.FIELD_STATE))) {
+                return Result.success(output(job.getString(BackgroundJobs.FIELD_MESSAGE)));
+            }
+            if (!isRepeatable() && wasStarted(job)) {
+                String message = "Interrupted before it finished; check the result before trying again";
+                Log.w(TAG, "Job " + jobId + " already started, not repeating it");
+                finish(BackgroundJobs.STATE_FAILED, message);
+                return Result.failure(output(message));
+            }
+            Object saved = job.get(BackgroundJobs.FIELD_CHECKPOINT);
+            if (saved instanceof Map) {
+                checkpoint = new HashMap<>((Map<String, Object>) saved);
+            }
+
+            Map<String, Object> running = new HashMap<>();
+            if (!job.exists()) {
+                running.put(BackgroundJobs.FIELD_TYPE, getInputData().getString(KEY_TYPE));
+                running.put(BackgroundJobs.FIELD_CREATED_AT, FieldValue.serverTimestamp());
+            }
+            running.put(BackgroundJobs.FIELD_STATE, BackgroundJobs.STATE_RUNNING);
+            running.put(BackgroundJobs.FIELD_ATTEMPTS, FieldValue.increment(1));
+            running.put(BackgroundJobs.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+            await(jobRef.set(running, SetOptions.merge()));
+
+            String message = runJob();
+            finish(BackgroundJobs.STATE_SUCCEEDED, message);
+            Log.d(TAG, "Job " + jobId + " succeeded: " + message);
+            return Result.success(output(message));
+        } catch (JobFailedException e) {
+            Log.w(TAG, "Job " + jobId + " failed: " + e.getMessage());
+            finish(BackgroundJobs.STATE_FAILED, e.getMessage());
+            return Result.failure(output(e.getMessage()));
+        } catch (Exception e) {
+            if (getRunAttemptCount() + 1 >= MAX_ATTEMPTS) {
+                Log.e(TAG, "Job " + jobId + " failed after " + MAX_ATTEMPTS + " attempts", e);
+                finish(BackgroundJobs.STATE_FAILED, e.getMessage());
+                return Result.failure(output(e.getMessage()));
+            }
+            Log.w(TAG, "Job " + jobId + " will retry", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * @return a value saved by an earlier attempt, or null
+     */
+    protected Object getCheckpoint(String key) {
+        return checkpoint.get(key);
+    }
+
+    /**
+     * Stores where the job has got to, so a retry can continue from here.
+     */
+    protected void saveCheckpoint(Map<String, Object> values) throws Exception {
+        checkpoint.putAll(values);
+        Map<String, Object> update = new HashMap<>();
+        update.put(BackgroundJobs.FIELD_CHECKPOINT, new HashMap<>(checkpoint));
+        update.put(BackgroundJobs.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        await(jobRef.set(update, SetOptions.merge()));
+    }
+
+    /**
+     * Publishes progress to observers, and (at most every couple of seconds) to the job
+     * document.
+     *
+     * @param total the amount of work in total, or -1 if unknown
+     */
+    protected void reportProgress(String message, int done, int total) {
+        setProgressAsync(new Data.Builder()
+                .putString(KEY_MESSAGE, message)
+                .putInt(KEY_DONE, done)
+                .putInt(KEY_TOTAL, total)
+                .build());
+
+        long now = SystemClock.elapsedRealtime();
+        if (now - lastProgressWrite < PROGRESS_WRITE_INTERVAL_MS) return;
+        lastProgressWrite = now;
+
+        Map<String, Object> update = new HashMap<>();
+        update.put(BackgroundJobs.FIELD_MESSAGE, message);
+        update.put(BackgroundJobs.FIELD_DONE, done);
+        update.put(BackgroundJobs.FIELD_TOTAL, total);
+        update.put(BackgroundJobs.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        jobRef.set(update, SetOptions.merge())
+                .addOnFailureListener(e -> Log.w(TAG, "Failed to record progress", e));
+    }
+
+    /**
+     * Needed for expedited work on Android 11 and lower, where it runs as a foreground service.
+     */
+    @NonNull
+    @Override
+    public ForegroundInfo getForegroundInfo() {
+        Context context = getApplicationContext();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                    CHANNEL_ID, "Background tasks", NotificationManager.IMPORTANCE_LOW);
+            NotificationManager manager = context.getSystemService(NotificationManager.class);
+            if (manager != null) {
+                manager.createNotificationChannel(channel);
+            }
+        }
+        Notification notification = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setContentTitle(describe())
+                .setSmallIcon(R.mipmap.ic_launcher)
+                .setPriority(NotificationCompat.PRIORITY_LOW)
+                .setOngoing(true)
+                .build();
+        return new ForegroundInfo(getId().hashCode(), notification);
+    }
+
+    protected static <T> T await(Task<T> task) throws Exception {
+        return Tasks.await(task, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Decided from the job document alone: it is marked running right before {@link #runJob}
+     * is called, so an attempt that failed earlier (reading the document, or writing that
+     * mark) does not count, however many times WorkManager has run this worker.
+     */
+    private boolean wasStarted(DocumentSnapshot job) {
+        Long attempts = job.getLong(BackgroundJobs.FIELD_ATTEMPTS);
+        return BackgroundJobs.STATE_RUNNING.equals(job.getString(BackgroundJobs.FIELD_STATE))
+                || (attempts != null && attempts > 0);
+    }
+
+    private void finish(String state, String message) {
+        Map<String, Object> update = new HashMap<>();
+        update.put(BackgroundJobs.FIELD_STATE, state);
+        update.put(BackgroundJobs.FIELD_MESSAGE, message);
+        update.put(BackgroundJobs.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        try {
+            await(jobRef.set(update, SetOptions.merge()));
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to record job result", e);
+        }
+    }
+
+    private static Data output(String message) {
+        return new Data.Builder().putString(KEY_MESSAGE, message).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.utils.LotteryScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Background job that runs an organizer's manual lottery draw for one event.
+ * <p>
+ * A draw is not safe to repeat, so every failure is final rather than retried, and an attempt
+ * that was interrupted (process killed mid-draw) is not started again.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class LotteryDrawWorker extends JobWorker {
+
+    public static final String TYPE = "lottery_draw";
+
+    private static final String KEY_EVENT_ID = "event_id";
+
+    public LotteryDrawWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedules a manual draw. While one is pending for the event, asking again returns that
+     * one rather than drawing twice.
+     *
+     * @return the job id, or null if it could not be scheduled
+     */
+    public static String enqueue(Context context, String eventId) {
+        Data input = new Data.Builder()
+                .putString(KEY_EVENT_ID, eventId)
+                .build();
+        return BackgroundJobs.enqueue(context, LotteryDrawWorker.class, TYPE, "draw:" + eventId, input);
+    }
+
+    @Override
+    protected String runJob() throws Exception {
+        String eventId = getInputData().getString(KEY_EVENT_ID);
+        if (eventId == null) {
+            throw new JobFailedException("No event to draw");
+        }
+        reportProgress("Running lottery…", 0, 1);
+
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+        new LotteryScheduler().runLotteryManually(eventId, new LotteryScheduler.LotteryCallback() {
+            @Override
+            public void onSuccess() {
+                finished.countDown();
+            }
+
+            @Override
+            public void onFailure(String message) {
+                error.set(message);
+                finished.countDown();
+            }
+        });
+
+        if (!finished.await(TIMEOUT_SECONDS * 2, TimeUnit.SECONDS)) {
+            throw new JobFailedException("Lottery timed out");
+        }
+        if (error.get() != null) {
+            throw new JobFailedException(error.get());
+        }
+        return "Lottery completed";
+    }
+
+    @Override
+    protected boolean isRepeatable() {
+        return false;
+    }
+
+    @Override
+    protected String describe() {
+        return "Running lottery";
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.network.NotificationLogStore;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background worker that rolls old notification log entries into per-day summaries.
+ * <p>
+ * Entries older than {@value #RETAIN_DAYS} days, both in the monthly partitions and in the
+ * flat pre-partition collection, are counted per UTC day and type into
+ * {@code notification_logs/{yyyy-MM}/summaries/{yyyy-MM-dd}} and then deleted. Each
+ * Firestore batch adds its counts with {@link FieldValue#increment} and deletes the entries
+ * it counted, so a batch that fails or is retried never counts an entry twice.
+ * <p>
+ * Scheduled once a day from the admin console; regular users never run it.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class NotificationLogCompactionWorker extends Worker {
+
+    private static final String TAG = "LogCompactionWorker";
+    private static final String WORK_NAME = "notification_log_compaction";
+
+    /** Entries younger than this are kept as they are. */
+    static final int RETAIN_DAYS = 90;
+
+    /** Firestore's limit on writes per batch. */
+    static final int MAX_BATCH_WRITES = 500;
+
+    private static final long TIMEOUT_SECONDS = 60;
+    private static final String UNKNOWN_TYPE = "general";
+
+    private final FirebaseFirestore db;
+    private final NotificationLogStore logStore;
+
+    public NotificationLogCompactionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+        logStore = new NotificationLogStore(db);
+    }
+
+    /**
+     * Schedules the daily compaction if it is not scheduled yet.
+     */
+    public static void schedule(Context context) {
+        try {
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.UNMETERED)
+                    .setRequiresBatteryNotLow(true)
+                    .build();
+
+            PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                    NotificationLogCompactionWorker.class, 24, TimeUnit.HOURS)
+                    .setConstraints(constraints)
+                    .addTag("log_compaction")
+                    .build();
+
+            WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                    WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+        } catch (Exception e) {
+            Log.e(TAG, "Error scheduling log compaction", e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long cutoffMillis = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETAIN_DAYS);
+        Timestamp cutoff = new Timestamp(new Date(cutoffMillis));
+
+        try {
+            int compacted = compact(logStore.allEntries(), cutoff)
+                    + compact(logStore.legacyEntries(), cutoff);
+            Log.d(TAG, "Compacted " + compacted + " notification log entries older than "
+                    + NotificationLogStore.dayKey(cutoffMillis));
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error compacting notification logs", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Compacts every entry of {@code source} older than the cutoff, oldest first.
+     *
+     * @return the number of entries compacted
+     */
+    private int compact(Query source, Timestamp cutoff) throws Exception {
+        Query oldest = source
+                .whereLessThan(NotificationLogStore.FIELD_TIMESTAMP, cutoff)
+                .orderBy(NotificationLogStore.FIELD_TIMESTAMP)
+                .limit(MAX_BATCH_WRITES);
+
+        int total = 0;
+        while (!isStopped()) {
+            QuerySnapshot page = Tasks.await(oldest.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (page.isEmpty()) break;
+
+            List<DocumentSnapshot> documents = page.getDocuments();
+            int taken = fitInBatch(documents);
+            List<DocumentSnapshot> batchDocs = documents.subList(0, taken);
+
+            WriteBatch batch = db.batch();
+            Set<String> months = new HashSet<>();
+            for (Map.Entry<String, Map<String, Integer>> day : summarize(batchDocs).entrySet()) {
+                String dayKey = day.getKey();
+                String monthKey = dayKey.substring(0, 7);
+                if (months.add(monthKey)) {
+                    Map<String, Object> month = new HashMap<>();
+                    month.put(NotificationLogStore.FIELD_MONTH, monthKey);
+                    batch.set(logStore.month(monthKey), month, SetOptions.merge());
+                }
+                batch.set(logStore.summaries(monthKey).document(dayKey),
+                        summaryUpdate(dayKey, monthKey, day.getValue()), SetOptions.merge());
+            }
+            for (DocumentSnapshot doc : batchDocs) {
+                batch.delete(doc.getReference());
+            }
+            Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            total += taken;
+            if (taken == documents.size() && documents.size() < MAX_BATCH_WRITES) break;
+        }
+        return total;
+    }
+
+    /**
+     * @return how many of the (timestamp-ordered) documents fit in one batch together with
+     * the month and summary writes they need.
+     */
+    static int fitInBatch(List<DocumentSnapshot> documents) {
+        Set<String> days = new HashSet<>();
+        Set<String> months = new HashSet<>();
+        int writes = 0;
+        int taken = 0;
+        for (DocumentSnapshot doc : documents) {
+            String day = dayOf(doc);
+            int cost = 1;
+            if (!days.contains(day)) cost++;
+            if (!months.contains(day.substring(0, 7))) cost++;
+            if (writes + cost > MAX_BATCH_WRITES) break;
+
+            days.add(day);
+            months.add(day.substring(0, 7));
+            writes += cost;
+            taken++;
+        }
+        return taken;
+    }
+
+    /**
+     * Counts entries per UTC day and type.
+     *
+     * @return day key to (type to count), in first-seen order
+     */
+    static Map<String, Map<String, Integer>> summarize(List<DocumentSnapshot> documents) {
+        Map<String, Map<String, Integer>> days = new LinkedHashMap<>();
+        for (DocumentSnapshot doc : documents) {
+            String type = doc.getString("type");
+            if (type == null || type.isEmpty()) {
+                type = UNKNOWN_TYPE;
+            }
+
+            Map<String, Integer> counts = days.get(dayOf(doc));
+            if (counts == null) {
+                counts = new LinkedHashMap<>();
+                days.put(dayOf(doc), counts);
+            }
+            Integer count = counts.get(type);
+            counts.put(type, count == null ? 1 : count + 1);
+        }
+        return days;
+    }
+
+    private static Map<String, Object> summaryUpdate(String dayKey, String monthKey,
+                                                     Map<String, Integer> counts) {
+        int total = 0;
+        Map<String, Object> byType = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            byType.put(entry.getKey(), FieldValue.increment(entry.getValue()));
+            total += entry.getValue();
+        }
+
+        Map<String, Object> update = new HashMap<>();
+        update.put(NotificationLogStore.FIELD_DAY, dayKey);
+        update.put(NotificationLogStore.FIELD_MONTH, monthKey);
+        update.put(NotificationLogStore.FIELD_TOTAL, FieldValue.increment(total));
+        update.put(NotificationLogStore.FIELD_BY_TYPE, byType);
+        return update;
+    }
+
+    private static String dayOf(DocumentSnapshot doc) {
+        Timestamp timestamp = doc.getTimestamp(NotificationLogStore.FIELD_TIMESTAMP);
+        return NotificationLogStore.dayKey(timestamp != null ? timestamp.toDate().getTime() : 0);
+    }
+}
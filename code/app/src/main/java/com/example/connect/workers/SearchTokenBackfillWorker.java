@@ -0,0 +1,161 @@
+package com.example.connect.workers;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.connect.utils.SearchTokens;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-time worker that writes {@link SearchTokens#FIELD} on events, accounts and reports
+ * created before the admin search index existed.
+ * <p>
+ * Each collection is read {@value #PAGE_SIZE} documents at a time in document id order and
+ * only documents whose tokens are missing or out of date are updated, so a run that is
+ * interrupted and retried mostly skips work already done. Once every collection has been
+ * walked a flag is stored and the worker is never scheduled again on this device.
+ * <p>
+ * Scheduled from the admin dashboard; regular users never run it.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class SearchTokenBackfillWorker extends Worker {
+
+    private static final String TAG = "SearchTokenBackfill";
+    private static final String WORK_NAME = "search_token_backfill";
+    private static final String PREFS = "admin_search";
+    private static final String KEY_BACKFILLED = "tokens_backfilled_v1";
+
+    /** Documents read per page; also Firestore's limit on writes per batch. */
+    static final int PAGE_SIZE = 500;
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final FirebaseFirestore db;
+
+    public SearchTokenBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        db = FirebaseFirestore.getInstance();
+    }
+
+    /**
+     * Schedules the backfill unless it has already completed on this device.
+     */
+    public static void schedule(Context context) {
+        try {
+            if (prefs(context).getBoolean(KEY_BACKFILLED, false)) return;
+
+            Constraints constraints = new Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build();
+
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SearchTokenBackfillWorker.class)
+                    .setConstraints(constraints)
+                    .addTag("search_backfill")
+                    .build();
+
+            WorkManager.getInstance(context).enqueueUniqueWork(
+                    WORK_NAME, ExistingWorkPolicy.KEEP, request);
+        } catch (Exception e) {
+            Log.e(TAG, "Error scheduling search token backfill", e);
+        }
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int updated = backfill("events", SearchTokens.EVENT_FIELDS, false)
+                    + backfill("accounts", SearchTokens.ACCOUNT_FIELDS, true)
+                    + backfill("reports", SearchTokens.REPORT_FIELDS, false);
+            if (isStopped()) {
+                return Result.retry();
+            }
+
+            prefs(getApplicationContext()).edit().putBoolean(KEY_BACKFILLED, true).apply();
+            Log.d(TAG, "Indexed " + updated + " documents for admin search");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Error backfilling search tokens", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Walks one collection and updates every document whose tokens are stale.
+     *
+     * @param withId true to index the document id as well (accounts)
+     * @return the number of documents updated
+     */
+    private int backfill(String collection, String[] fields, boolean withId) throws Exception {
+        Query ordered = db.collection(collection).orderBy(FieldPath.documentId());
+        DocumentSnapshot lastVisible = null;
+        int updated = 0;
+
+        while (!isStopped()) {
+            Query page = lastVisible != null
+                    ? ordered.startAfter(lastVisible).limit(PAGE_SIZE)
+                    : ordered.limit(PAGE_SIZE);
+            QuerySnapshot snapshot = Tasks.await(page.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            if (documents.isEmpty()) break;
+
+            WriteBatch batch = db.batch();
+            int writes = 0;
+            for (DocumentSnapshot doc : documents) {
+                List<String> tokens = tokensFor(doc, fields, withId);
+                if (!tokens.equals(doc.get(SearchTokens.FIELD))) {
+                    batch.update(doc.getReference(), SearchTokens.FIELD, tokens);
+                    writes++;
+                }
+            }
+            if (writes > 0) {
+                Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                updated += writes;
+            }
+
+            if (documents.size() < PAGE_SIZE) break;
+            lastVisible = documents.get(documents.size() - 1);
+        }
+        return updated;
+    }
+
+    /**
+     * @return the tokens a document should carry, as written by the app for new documents.
+     */
+    static List<String> tokensFor(DocumentSnapshot doc, String[] fields, boolean withId) {
+        String[] values = new String[fields.length + (withId ? 1 : 0)];
+        for (int i = 0; i < fields.length; i++) {
+            Object value = doc.get(fields[i]);
+            values[i] = value instanceof String ? (String) value : null;
+        }
+        if (withId) {
+            values[fields.length] = doc.getId();
+        }
+        return SearchTokens.build(values);
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
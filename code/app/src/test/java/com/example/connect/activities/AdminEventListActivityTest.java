@@ -19,13 +19,18 @@ import android.widget.Toast;
 
 import com.example.connect.adapters.AdminEventAdapter;
 import com.example.connect.models.Event;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
 
@@ -45,7 +50,7 @@ import java.util.List;
 
 /**
  * Focused unit tests for {@link AdminEventListActivity}.
- * These tests cover local filtering logic, Firestore success/failure callback handling,
+ * These tests cover local filtering logic, paged Firestore success/failure callback handling,
  * and guard clauses that can run on the JVM without Android framework dependencies.
  */
 public class AdminEventListActivityTest {
@@ -57,6 +62,7 @@ public class AdminEventListActivityTest {
     private ProgressBar progressBarMock;
     private FirebaseFirestore firestoreMock;
     private CollectionReference eventsCollectionMock;
+    private Query eventsPageQueryMock;
     private CollectionReference waitingListCollectionMock;
     private DocumentReference waitingListDocumentMock;
 
@@ -69,6 +75,7 @@ public class AdminEventListActivityTest {
         progressBarMock = mock(ProgressBar.class);
         firestoreMock = mock(FirebaseFirestore.class);
         eventsCollectionMock = mock(CollectionReference.class);
+        eventsPageQueryMock = mock(Query.class);
         waitingListCollectionMock = mock(CollectionReference.class);
         waitingListDocumentMock = mock(DocumentReference.class);
 
@@ -77,6 +84,9 @@ public class AdminEventListActivityTest {
         setField("searchInput", searchInputMock);
         setField("progressBar", progressBarMock);
         setField("db", firestoreMock);
+        // Parse and deliver pages synchronously
+        setField("loader", new AdminListLoader<>(AdminListSources.events(firestoreMock), activity,
+                Runnable::run, Runnable::run, AdminListLoader.PAGE_SIZE));
 
         Editable defaultEditable = mock(Editable.class);
         when(defaultEditable.toString()).thenReturn("");
@@ -143,41 +153,63 @@ public class AdminEventListActivityTest {
 
     @Test
     public void loadEvents_onSuccessPopulatesAdapter() throws Exception {
-        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
+        stubEventsPageQuery();
 
         QueryDocumentSnapshot doc = mock(QueryDocumentSnapshot.class);
         Event fetched = createEvent("Space Fair", "astro");
         when(doc.toObject(Event.class)).thenReturn(fetched);
         when(doc.getId()).thenReturn("event-1");
         QuerySnapshot snapshot = mock(QuerySnapshot.class);
-        when(snapshot.iterator()).thenReturn(Arrays.asList(doc).iterator());
+        when(snapshot.getDocuments()).thenReturn(Arrays.<DocumentSnapshot>asList(doc));
 
         Task<QuerySnapshot> task = mockTask(invocation -> {
             OnSuccessListener<QuerySnapshot> listener = invocation.getArgument(0);
             listener.onSuccess(snapshot);
             return getMock(invocation);
         });
-        when(eventsCollectionMock.get()).thenReturn(task);
+        when(eventsPageQueryMock.get()).thenReturn(task);
 
         invokeLoadEvents();
 
         verify(progressBarMock).setVisibility(View.VISIBLE);
         verify(progressBarMock, atLeastOnce()).setVisibility(View.GONE);
+        verify(eventsPageQueryMock).limit(AdminListLoader.PAGE_SIZE);
         List<Event> filtered = captureFilteredEvents();
         assertEquals(1, filtered.size());
         assertEquals("event-1", filtered.get(0).getEventId());
+        verify(emptyStateMock, never()).setVisibility(View.VISIBLE);
+    }
+
+    @Test
+    public void onPage_afterFirstPage_appendsToAdapter() throws Exception {
+        Event next = createEvent("Book Fair", "library");
+
+        activity.onPage(Arrays.asList(next), false, true);
+
+        verify(adapterMock).appendEvents(Arrays.asList(next));
+        verify(adapterMock, never()).setEvents(ArgumentMatchers.anyList());
+        assertEquals(4, accessAllEvents().size());
+    }
+
+    @Test
+    public void onPage_withEmptyLastPage_showsEmptyState() throws Exception {
+        activity.onPage(new ArrayList<>(), true, false);
+
+        assertEquals(0, captureFilteredEvents().size());
+        assertEquals(0, accessAllEvents().size());
+        verify(emptyStateMock).setVisibility(View.VISIBLE);
     }
 
     @Test
     public void loadEvents_onFailureShowsToastAndEmptyState() throws Exception {
-        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
+        stubEventsPageQuery();
 
         Task<QuerySnapshot> task = mockTask(AdminEventListActivityTest::getMock, invocation -> {
             OnFailureListener listener = invocation.getArgument(0);
             listener.onFailure(new RuntimeException("boom"));
             return getMock(invocation);
         });
-        when(eventsCollectionMock.get()).thenReturn(task);
+        when(eventsPageQueryMock.get()).thenReturn(task);
 
         Toast toastInstance = mock(Toast.class);
         try (MockedStatic<Toast> toastStatic = mockStatic(Toast.class);
@@ -238,6 +270,12 @@ public class AdminEventListActivityTest {
         verify(waitingListDocumentMock).delete();
     }
 
+    private void stubEventsPageQuery() {
+        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
+        when(eventsCollectionMock.orderBy(ArgumentMatchers.any(FieldPath.class))).thenReturn(eventsPageQueryMock);
+        when(eventsPageQueryMock.limit(ArgumentMatchers.anyLong())).thenReturn(eventsPageQueryMock);
+    }
+
     private Event createEvent(String name, String organizerId) {
         Event event = new Event();
         event.setName(name);
@@ -2,6 +2,7 @@ package com.example.connect.activities;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -18,15 +19,21 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.example.connect.adapters.AdminImageAdapter;
+import com.example.connect.network.AdminListLoader;
+import com.example.connect.network.AdminListSources;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -45,7 +52,7 @@ import java.util.function.Consumer;
 
 /**
  * Unit tests for {@link AdminImageListActivity} focusing on local filtering logic,
- * Firestore success/failure handling, and delete operations.
+ * paged image index success/failure handling, and delete operations.
  */
 public class AdminImageListActivityTest {
 
@@ -57,7 +64,12 @@ public class AdminImageListActivityTest {
     private FirebaseFirestore firestoreMock;
     private CollectionReference eventsCollectionMock;
     private CollectionReference accountsCollectionMock;
+    private CollectionReference imagesCollectionMock;
+    private Query imagesPageQueryMock;
     private DocumentReference documentReferenceMock;
+    private DocumentReference imageEntryMock;
+    private DocumentReference thumbnailMock;
+    private WriteBatch batchMock;
 
     @Before
     public void setUp() throws Exception {
@@ -69,13 +81,21 @@ public class AdminImageListActivityTest {
         firestoreMock = mock(FirebaseFirestore.class);
         eventsCollectionMock = mock(CollectionReference.class);
         accountsCollectionMock = mock(CollectionReference.class);
+        imagesCollectionMock = mock(CollectionReference.class);
+        imagesPageQueryMock = mock(Query.class);
         documentReferenceMock = mock(DocumentReference.class);
+        imageEntryMock = mock(DocumentReference.class);
+        thumbnailMock = mock(DocumentReference.class);
+        batchMock = mock(WriteBatch.class);
 
         setField("adapter", adapterMock);
         setField("tvEmptyState", emptyStateMock);
         setField("searchInput", searchInputMock);
         setField("progressBar", progressBarMock);
         setField("db", firestoreMock);
+        // Parse and deliver pages synchronously
+        setField("loader", new AdminListLoader<>(AdminListSources.images(firestoreMock), activity,
+                Runnable::run, Runnable::run, AdminListLoader.PAGE_SIZE));
 
         Editable defaultEditable = editableWithText("");
         when(searchInputMock.getText()).thenReturn(defaultEditable);
@@ -169,40 +189,39 @@ public class AdminImageListActivityTest {
     }
 
     @Test
-    public void loadImages_onSuccessCombinesEventAndProfileData() throws Exception {
-        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
-        when(firestoreMock.collection("accounts")).thenReturn(accountsCollectionMock);
-
-        QueryDocumentSnapshot eventDocUrl = mock(QueryDocumentSnapshot.class);
-        when(eventDocUrl.getId()).thenReturn("event-100");
-        when(eventDocUrl.getString("imageUrl")).thenReturn("https://poster.jpg");
-        when(eventDocUrl.getString("image_base64")).thenReturn(null);
-        when(eventDocUrl.getString("event_title")).thenReturn("Poster One");
-
-        QueryDocumentSnapshot eventDocBase64 = mock(QueryDocumentSnapshot.class);
-        when(eventDocBase64.getId()).thenReturn("event-101");
-        when(eventDocBase64.getString("imageUrl")).thenReturn(null);
-        when(eventDocBase64.getString("image_base64")).thenReturn("BASE64");
-        when(eventDocBase64.getString("event_title")).thenReturn(null);
-        when(eventDocBase64.getString("name")).thenReturn("Fallback Event");
-
-        QuerySnapshot eventSnapshot = mock(QuerySnapshot.class);
-        when(eventSnapshot.iterator()).thenReturn(Arrays.asList(eventDocUrl, eventDocBase64).iterator());
-
-        Task<QuerySnapshot> eventTask = taskThatSucceeds(eventSnapshot);
-        when(eventsCollectionMock.get()).thenReturn(eventTask);
-
-        QueryDocumentSnapshot accountDoc = mock(QueryDocumentSnapshot.class);
-        when(accountDoc.getId()).thenReturn("user-200");
-        when(accountDoc.getString("profile_image_url")).thenReturn("https://profile.png");
-        when(accountDoc.getString("display_name")).thenReturn("Casey");
-        when(accountDoc.getString("full_name")).thenReturn(null);
-
-        QuerySnapshot accountSnapshot = mock(QuerySnapshot.class);
-        when(accountSnapshot.iterator()).thenReturn(Collections.singletonList(accountDoc).iterator());
-
-        Task<QuerySnapshot> accountsTask = taskThatSucceeds(accountSnapshot);
-        when(accountsCollectionMock.get()).thenReturn(accountsTask);
+    public void loadImages_onSuccessShowsIndexedImages() throws Exception {
+        stubPageQuery();
+
+        QueryDocumentSnapshot posterEntry = mock(QueryDocumentSnapshot.class);
+        when(posterEntry.getId()).thenReturn("event_event-100");
+        when(posterEntry.getString("type")).thenReturn("Event Poster");
+        when(posterEntry.getString("related_id")).thenReturn("event-100");
+        when(posterEntry.getString("display_name")).thenReturn("Poster One");
+        when(posterEntry.getString("url")).thenReturn("https://poster.jpg");
+
+        QueryDocumentSnapshot base64PosterEntry = mock(QueryDocumentSnapshot.class);
+        when(base64PosterEntry.getId()).thenReturn("event_event-101");
+        when(base64PosterEntry.getString("type")).thenReturn("Event Poster");
+        when(base64PosterEntry.getString("related_id")).thenReturn("event-101");
+        when(base64PosterEntry.getString("display_name")).thenReturn("Fallback Event");
+        when(base64PosterEntry.getString("thumbnail_ref")).thenReturn("image_thumbnails/event_event-101");
+
+        QueryDocumentSnapshot incompleteEntry = mock(QueryDocumentSnapshot.class);
+        when(incompleteEntry.getId()).thenReturn("event_event-102");
+
+        QueryDocumentSnapshot profileEntry = mock(QueryDocumentSnapshot.class);
+        when(profileEntry.getId()).thenReturn("profile_user-200");
+        when(profileEntry.getString("type")).thenReturn("Profile Picture");
+        when(profileEntry.getString("related_id")).thenReturn("user-200");
+        when(profileEntry.getString("display_name")).thenReturn("Casey");
+        when(profileEntry.getString("thumbnail_ref")).thenReturn("image_thumbnails/profile_user-200");
+
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(
+                Arrays.<DocumentSnapshot>asList(posterEntry, base64PosterEntry, incompleteEntry, profileEntry));
+
+        Task<QuerySnapshot> task = taskThatSucceeds(snapshot);
+        when(imagesPageQueryMock.get()).thenReturn(task);
 
         invokeLoadImages();
 
@@ -216,53 +235,35 @@ public class AdminImageListActivityTest {
         List<AdminImageAdapter.ImageItem> filtered = captureAdapterImages();
         assertEquals(3, filtered.size());
         assertEquals("Poster One", filtered.get(0).displayName);
+        assertEquals("https://poster.jpg", filtered.get(0).url);
         assertEquals("Fallback Event", filtered.get(1).displayName);
+        assertNull(filtered.get(1).url);
+        assertEquals("image_thumbnails/event_event-101", filtered.get(1).thumbnailRef);
         assertEquals("Casey", filtered.get(2).displayName);
+        assertEquals("user-200", filtered.get(2).relatedId);
     }
 
     @Test
-    public void loadImages_whenEventQueryFails_showsToast() throws Exception {
-        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
-        Task<QuerySnapshot> failingTask = taskThatFails(new RuntimeException("boom"));
-        when(eventsCollectionMock.get()).thenReturn(failingTask);
+    public void loadImages_readsOnlyTheImageIndex() throws Exception {
+        stubPageQuery();
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(Collections.<DocumentSnapshot>emptyList());
+        Task<QuerySnapshot> task = taskThatSucceeds(snapshot);
+        when(imagesPageQueryMock.get()).thenReturn(task);
 
-        Toast toastInstance = mock(Toast.class);
-        try (MockedStatic<Toast> toastStatic = mockStatic(Toast.class);
-             MockedStatic<android.util.Log> logStatic = mockStatic(android.util.Log.class)) {
-            toastStatic.when(() ->
-                    Toast.makeText(
-                            ArgumentMatchers.eq(activity),
-                            ArgumentMatchers.contains("Error loading event images"),
-                            ArgumentMatchers.eq(Toast.LENGTH_SHORT)))
-                    .thenReturn(toastInstance);
-
-            invokeLoadImages();
-
-            toastStatic.verify(() ->
-                    Toast.makeText(
-                            ArgumentMatchers.eq(activity),
-                            ArgumentMatchers.contains("Error loading event images"),
-                            ArgumentMatchers.eq(Toast.LENGTH_SHORT)));
-            verify(toastInstance).show();
-        }
+        invokeLoadImages();
 
-        verify(progressBarMock).setVisibility(View.VISIBLE);
-        verify(progressBarMock, atLeastOnce()).setVisibility(View.GONE);
+        verify(imagesPageQueryMock).limit(AdminListLoader.PAGE_SIZE);
+        verify(firestoreMock, never()).collection("events");
         verify(firestoreMock, never()).collection("accounts");
+        verify(emptyStateMock).setVisibility(View.VISIBLE);
     }
 
     @Test
-    public void loadImages_whenAccountsQueryFails_showsToast() throws Exception {
-        when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
-        when(firestoreMock.collection("accounts")).thenReturn(accountsCollectionMock);
-
-        QuerySnapshot eventSnapshot = mock(QuerySnapshot.class);
-        when(eventSnapshot.iterator()).thenReturn(Collections.<QueryDocumentSnapshot>emptyList().iterator());
-        Task<QuerySnapshot> eventsTask = taskThatSucceeds(eventSnapshot);
-        when(eventsCollectionMock.get()).thenReturn(eventsTask);
-
-        Task<QuerySnapshot> accountsTask = taskThatFails(new RuntimeException("oops"));
-        when(accountsCollectionMock.get()).thenReturn(accountsTask);
+    public void loadImages_whenQueryFails_showsToast() throws Exception {
+        stubPageQuery();
+        Task<QuerySnapshot> failingTask = taskThatFails(new RuntimeException("boom"));
+        when(imagesPageQueryMock.get()).thenReturn(failingTask);
 
         Toast toastInstance = mock(Toast.class);
         try (MockedStatic<Toast> toastStatic = mockStatic(Toast.class);
@@ -270,7 +271,7 @@ public class AdminImageListActivityTest {
             toastStatic.when(() ->
                     Toast.makeText(
                             ArgumentMatchers.eq(activity),
-                            ArgumentMatchers.contains("Error loading user images"),
+                            ArgumentMatchers.contains("Error loading images"),
                             ArgumentMatchers.eq(Toast.LENGTH_SHORT)))
                     .thenReturn(toastInstance);
 
@@ -279,7 +280,7 @@ public class AdminImageListActivityTest {
             toastStatic.verify(() ->
                     Toast.makeText(
                             ArgumentMatchers.eq(activity),
-                            ArgumentMatchers.contains("Error loading user images"),
+                            ArgumentMatchers.contains("Error loading images"),
                             ArgumentMatchers.eq(Toast.LENGTH_SHORT)));
             verify(toastInstance).show();
         }
@@ -289,46 +290,73 @@ public class AdminImageListActivityTest {
     }
 
     @Test
-    public void deleteImage_forEventPoster_updatesImageFields() throws Exception {
+    public void deleteImage_forEventPoster_clearsImageFieldsAndIndexEntry() throws Exception {
         when(firestoreMock.collection("events")).thenReturn(eventsCollectionMock);
         when(eventsCollectionMock.document("event-1")).thenReturn(documentReferenceMock);
-
-        Task<Void> updateTask = silentVoidTask();
-        when(documentReferenceMock.update(ArgumentMatchers.<Map<String, Object>>any())).thenReturn(updateTask);
+        Task<Void> commitTask = stubDeleteBatch("event_event-1");
 
         AdminImageAdapter.ImageItem item =
-                new AdminImageAdapter.ImageItem("event-1", "url", "Event Poster", "event-1", "Poster");
+                new AdminImageAdapter.ImageItem("event_event-1", null, "Event Poster", "event-1", "Poster");
 
         invokeDeleteImage(item);
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
-        verify(documentReferenceMock).update(captor.capture());
+        verify(batchMock).update(ArgumentMatchers.eq(documentReferenceMock), captor.capture());
         Map<String, Object> updates = captor.getValue();
+        assertTrue(updates.containsKey("imageUrl"));
         assertNull(updates.get("imageUrl"));
+        assertTrue(updates.containsKey("image_base64"));
         assertNull(updates.get("image_base64"));
+        verify(batchMock).delete(imageEntryMock);
+        verify(batchMock).delete(thumbnailMock);
 
-        verify(updateTask).addOnSuccessListener(ArgumentMatchers.<OnSuccessListener<Void>>any());
-        verify(updateTask).addOnFailureListener(ArgumentMatchers.<OnFailureListener>any());
+        verify(commitTask).addOnSuccessListener(ArgumentMatchers.<OnSuccessListener<Void>>any());
+        verify(commitTask).addOnFailureListener(ArgumentMatchers.<OnFailureListener>any());
     }
 
     @Test
-    public void deleteImage_forProfilePicture_clearsProfileField() throws Exception {
+    public void deleteImage_forProfilePicture_clearsProfileFieldAndIndexEntry() throws Exception {
         when(firestoreMock.collection("accounts")).thenReturn(accountsCollectionMock);
         when(accountsCollectionMock.document("user-22")).thenReturn(documentReferenceMock);
-
-        Task<Void> updateTask = silentVoidTask();
-        when(documentReferenceMock.update(ArgumentMatchers.eq("profile_image_url"), ArgumentMatchers.isNull()))
-                .thenReturn(updateTask);
+        Task<Void> commitTask = stubDeleteBatch("profile_user-22");
 
         AdminImageAdapter.ImageItem item =
-                new AdminImageAdapter.ImageItem("user-22", "url", "Profile Picture", "user-22", "Jamie");
+                new AdminImageAdapter.ImageItem("profile_user-22", null, "Profile Picture", "user-22", "Jamie");
 
         invokeDeleteImage(item);
 
-        verify(documentReferenceMock).update("profile_image_url", null);
-        verify(updateTask).addOnSuccessListener(ArgumentMatchers.<OnSuccessListener<Void>>any());
-        verify(updateTask).addOnFailureListener(ArgumentMatchers.<OnFailureListener>any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(batchMock).update(ArgumentMatchers.eq(documentReferenceMock), captor.capture());
+        Map<String, Object> updates = captor.getValue();
+        assertEquals(1, updates.size());
+        assertTrue(updates.containsKey("profile_image_url"));
+        assertNull(updates.get("profile_image_url"));
+        verify(batchMock).delete(imageEntryMock);
+        verify(batchMock).delete(thumbnailMock);
+
+        verify(commitTask).addOnSuccessListener(ArgumentMatchers.<OnSuccessListener<Void>>any());
+        verify(commitTask).addOnFailureListener(ArgumentMatchers.<OnFailureListener>any());
+    }
+
+    private void stubPageQuery() {
+        when(firestoreMock.collection("images")).thenReturn(imagesCollectionMock);
+        when(imagesCollectionMock.orderBy(ArgumentMatchers.any(FieldPath.class))).thenReturn(imagesPageQueryMock);
+        when(imagesPageQueryMock.limit(ArgumentMatchers.anyLong())).thenReturn(imagesPageQueryMock);
+    }
+
+    private Task<Void> stubDeleteBatch(String imageId) {
+        CollectionReference thumbnails = mock(CollectionReference.class);
+        when(firestoreMock.collection("images")).thenReturn(imagesCollectionMock);
+        when(firestoreMock.collection("image_thumbnails")).thenReturn(thumbnails);
+        when(imagesCollectionMock.document(imageId)).thenReturn(imageEntryMock);
+        when(thumbnails.document(imageId)).thenReturn(thumbnailMock);
+        when(firestoreMock.batch()).thenReturn(batchMock);
+
+        Task<Void> commitTask = silentVoidTask();
+        when(batchMock.commit()).thenReturn(commitTask);
+        return commitTask;
     }
 
     private Editable editableWithText(String value) {
@@ -284,6 +284,7 @@ public class EventTest {
         event.setDescription(TEST_DESCRIPTION);
         event.setLocation(TEST_LOCATION);
         event.setOrganizerId(TEST_ORGANIZER_ID);
+        event.setOrganizerUid("organizer-uid");
         event.setDrawCapacity(50);
         event.setRequireGeolocation(true);
 
@@ -292,6 +293,7 @@ public class EventTest {
         assertEquals("Description should match", TEST_DESCRIPTION, event.getDescription());
         assertEquals("Location should match", TEST_LOCATION, event.getLocation());
         assertEquals("Organizer ID should match", TEST_ORGANIZER_ID, event.getOrganizerId());
+        assertEquals("Organizer uid should match", "organizer-uid", event.getOrganizerUid());
         assertEquals("Draw capacity should be 50", 50, event.getDrawCapacity());
         assertTrue("Geolocation should be required", event.isRequireGeolocation());
     }
@@ -0,0 +1,227 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link AdminListLoader}: search tokens, parsing, refinement, auto-fill
+ * and dropping of stale pages. Executors run inline so pages arrive synchronously.
+ */
+public class AdminListLoaderTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    private final List<String> requestedTokens = new ArrayList<>();
+    private final List<List<String>> pages = new ArrayList<>();
+    private final List<Boolean> firstPages = new ArrayList<>();
+    private final List<Exception> failures = new ArrayList<>();
+
+    private Query firstPageQuery;
+    private Query nextPageQuery;
+    private AdminListLoader<String> loader;
+
+    @Before
+    public void setUp() {
+        firstPageQuery = mock(Query.class);
+        nextPageQuery = mock(Query.class);
+        Query ordered = mock(Query.class);
+        when(ordered.limit(anyLong())).thenReturn(firstPageQuery);
+        when(ordered.startAfter(any(DocumentSnapshot.class))).thenReturn(nextPageQuery);
+        when(nextPageQuery.limit(anyLong())).thenReturn(nextPageQuery);
+
+        AdminListLoader.Source<String> source = new AdminListLoader.Source<String>() {
+            @Override
+            public List<Query> queries(String token) {
+                requestedTokens.add(token);
+                return Collections.singletonList(ordered);
+            }
+
+            @Override
+            public String parse(DocumentSnapshot document) {
+                // Documents with an id starting with "skip" are left out
+                return document.getId().startsWith("skip") ? null : document.getId();
+            }
+
+            @Override
+            public boolean matches(String item, String searchText) {
+                return item.contains(searchText);
+            }
+        };
+
+        AdminListLoader.Listener<String> listener = new AdminListLoader.Listener<String>() {
+            @Override
+            public void onPage(List<String> items, boolean firstPage, boolean hasMore) {
+                pages.add(items);
+                firstPages.add(firstPage);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                failures.add(e);
+            }
+        };
+
+        loader = new AdminListLoader<>(source, listener, Runnable::run, Runnable::run, PAGE_SIZE);
+    }
+
+    @Test
+    public void testSearch_PassesLongestWordAsToken() {
+        whenGet(firstPageQuery, succeeding());
+
+        loader.search("");
+        loader.search("  Fair  Winterfest ");
+
+        assertNull(requestedTokens.get(0));
+        assertEquals("winterfest", requestedTokens.get(1));
+        assertEquals("Fair  Winterfest", loader.getSearchText());
+    }
+
+    @Test
+    public void testPage_SkipsUnparsedAndRefinesBySearchText() {
+        whenGet(firstPageQuery, succeeding("a-1", "skip-2", "b-3"));
+        whenGet(nextPageQuery, succeeding());
+
+        loader.search("a");
+
+        assertEquals(Arrays.asList("a-1"), pages.get(0));
+        assertTrue(firstPages.get(0));
+    }
+
+    @Test
+    public void testPage_TooFewItemsLoadsNextPageRightAway() {
+        whenGet(firstPageQuery, succeeding("skip-1", "skip-2", "a-3"));
+        whenGet(nextPageQuery, succeeding("a-4"));
+
+        loader.search("");
+
+        assertEquals(2, pages.size());
+        assertEquals(Arrays.asList("a-3"), pages.get(0));
+        assertEquals(Arrays.asList("a-4"), pages.get(1));
+        assertTrue(firstPages.get(0));
+        assertFalse(firstPages.get(1));
+        assertFalse(loader.hasMore());
+    }
+
+    @Test
+    public void testPage_FullPageWaitsForScroll() {
+        whenGet(firstPageQuery, succeeding("a-1", "a-2", "a-3"));
+        whenGet(nextPageQuery, succeeding("a-4"));
+
+        loader.search("");
+
+        assertEquals(1, pages.size());
+        assertTrue(loader.hasMore());
+
+        loader.loadMore();
+        assertEquals(Arrays.asList("a-4"), pages.get(1));
+    }
+
+    @Test
+    public void testStalePageIsDropped() {
+        List<OnSuccessListener<QuerySnapshot>> pending = new ArrayList<>();
+        whenGet(firstPageQuery, deferred(pending));
+
+        loader.search("old");
+        loader.search("new");
+        pending.get(0).onSuccess(snapshotOf("old-1"));
+
+        assertTrue(pages.isEmpty());
+
+        pending.get(1).onSuccess(snapshotOf("new-1"));
+        assertEquals(Arrays.asList("new-1"), pages.get(0));
+    }
+
+    @Test
+    public void testFailureIsForwarded() {
+        RuntimeException boom = new RuntimeException("boom");
+        whenGet(firstPageQuery, failing(boom));
+
+        try (MockedStatic<android.util.Log> ignored = mockStatic(android.util.Log.class)) {
+            loader.search("");
+        }
+
+        assertEquals(Collections.singletonList(boom), failures);
+        assertFalse(loader.isLoading());
+    }
+
+    /**
+     * Makes {@code query.get()} return {@code task}. The task is built (and stubbed) before
+     * this call, since Mockito cannot stub another mock in the middle of a stubbing.
+     */
+    private static void whenGet(Query query, Task<QuerySnapshot> task) {
+        when(query.get()).thenReturn(task);
+    }
+
+    private static QuerySnapshot snapshotOf(String... ids) {
+        List<DocumentSnapshot> documents = new ArrayList<>();
+        for (String id : ids) {
+            DocumentSnapshot doc = mock(DocumentSnapshot.class);
+            when(doc.getId()).thenReturn(id);
+            documents.add(doc);
+        }
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        return snapshot;
+    }
+
+    private static Task<QuerySnapshot> succeeding(String... ids) {
+        QuerySnapshot snapshot = snapshotOf(ids);
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenAnswer(invocation -> {
+            OnSuccessListener<QuerySnapshot> listener = invocation.getArgument(0);
+            listener.onSuccess(snapshot);
+            return task;
+        });
+        return task;
+    }
+
+    private static Task<QuerySnapshot> deferred(List<OnSuccessListener<QuerySnapshot>> pending) {
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenAnswer(invocation -> {
+            pending.add(invocation.getArgument(0));
+            return task;
+        });
+        return task;
+    }
+
+    private static Task<QuerySnapshot> failing(Exception e) {
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(any(OnFailureListener.class))).thenAnswer(invocation -> {
+            OnFailureListener listener = invocation.getArgument(0);
+            listener.onFailure(e);
+            return task;
+        });
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Task<QuerySnapshot> task() {
+        Task<QuerySnapshot> task = mock(Task.class);
+        when(task.addOnFailureListener(any(OnFailureListener.class))).thenReturn(task);
+        return task;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.connect.data.ChunkedBatch;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the batching and checkpoint helpers of {@link CascadeDeleter}, and for
+ * resuming a cascade from its checkpoint. Firestore is mocked; a cascade runs on a worker
+ * thread because it blocks on its tasks.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CascadeDeleterTest {
+
+    private static final String USER_ID = "U1";
+
+    @Test
+    public void testChunkedBatch_CommitsBeforeExceedingTheWriteLimit() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        WriteBatch first = mock(WriteBatch.class);
+        WriteBatch second = mock(WriteBatch.class);
+        when(db.batch()).thenReturn(first, second);
+        List<WriteBatch> committed = new ArrayList<>();
+
+        ChunkedBatch<WriteBatch> batch = new ChunkedBatch<>(db::batch,
+                CascadeDeleter.MAX_BATCH_WRITES, (full, writes) -> record(committed, full));
+        // 125 entrants of 4 writes fill one batch exactly; the 126th starts a new one
+        for (int i = 0; i < 125; i++) {
+            assertSame(first, batch.reserve(4));
+        }
+        assertEquals(0, committed.size());
+        assertSame(second, batch.reserve(4));
+        assertEquals(1, committed.size());
+
+        batch.commit().get();
+
+        assertEquals(2, committed.size());
+        assertSame(first, committed.get(0));
+        assertSame(second, committed.get(1));
+        verify(db, times(2)).batch();
+    }
+
+    @Test
+    public void testChunkedBatch_GroupThatDoesNotFitStartsANewBatch() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        WriteBatch first = mock(WriteBatch.class);
+        WriteBatch second = mock(WriteBatch.class);
+        when(db.batch()).thenReturn(first, second);
+        List<Integer> committedWrites = new ArrayList<>();
+
+        ChunkedBatch<WriteBatch> batch = new ChunkedBatch<>(db::batch,
+                CascadeDeleter.MAX_BATCH_WRITES, (full, writes) -> record(committedWrites, writes));
+        for (int i = 0; i < 249; i++) {
+            batch.reserve(2);
+        }
+        assertSame(first, batch.reserve(1));
+        // 499 writes leave room for one more, not for a group of 4
+        assertSame(second, batch.reserve(4));
+        batch.reserve(1);
+        batch.commit().get();
+
+        // The group stays whole in one commit; no batch goes past the limit
+        assertEquals(Arrays.asList(499, 5), committedWrites);
+    }
+
+    @Test
+    public void testChunkedBatch_FillingToTheLimitDoesNotCommitEarly() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        WriteBatch only = mock(WriteBatch.class);
+        when(db.batch()).thenReturn(only);
+        List<Integer> committedWrites = new ArrayList<>();
+
+        ChunkedBatch<WriteBatch> batch = new ChunkedBatch<>(db::batch,
+                CascadeDeleter.MAX_BATCH_WRITES, (full, writes) -> record(committedWrites, writes));
+        batch.reserve(CascadeDeleter.MAX_BATCH_WRITES - 1);
+        batch.reserve(1);
+        assertEquals(0, committedWrites.size());
+
+        batch.commit().get();
+        batch.commit().get();
+
+        assertEquals(Collections.singletonList(CascadeDeleter.MAX_BATCH_WRITES), committedWrites);
+    }
+
+    @Test
+    public void testChunkedBatch_CommitWithoutWritesCommitsNothing() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        List<WriteBatch> committed = new ArrayList<>();
+
+        ChunkedBatch<WriteBatch> batch = new ChunkedBatch<>(db::batch,
+                CascadeDeleter.MAX_BATCH_WRITES, (full, writes) -> record(committed, full));
+        batch.commit().get();
+
+        assertEquals(0, committed.size());
+        verify(db, times(0)).batch();
+    }
+
+    @Test
+    public void testCheckpoint_RecordsModePhaseAndCounts() {
+        CascadeDeleter.Progress progress = new CascadeDeleter.Progress();
+
+        Map<String, Object> data = CascadeDeleter.checkpoint("U1",
+                CascadeDeleter.Mode.DELETE_ACCOUNT, true, progress, CascadeDeleter.STATE_RUNNING);
+
+        assertEquals("U1", data.get(CascadeDeleter.FIELD_USER_ID));
+        assertEquals("DELETE_ACCOUNT", data.get(CascadeDeleter.FIELD_MODE));
+        assertEquals(true, data.get(CascadeDeleter.FIELD_NOTIFY));
+        assertEquals("EVENTS", data.get(CascadeDeleter.FIELD_PHASE));
+        assertEquals(CascadeDeleter.STATE_RUNNING, data.get(CascadeDeleter.FIELD_STATE));
+        assertEquals(0, data.get(CascadeDeleter.FIELD_EVENTS_DELETED));
+    }
+
+    @Test
+    public void testPhaseAndModeNames_FallBackToSafeDefaults() {
+        assertEquals(CascadeDeleter.Phase.MEMBERSHIPS, CascadeDeleter.phaseOf("MEMBERSHIPS"));
+        assertEquals(CascadeDeleter.Phase.EVENTS, CascadeDeleter.phaseOf("unknown"));
+        assertEquals(CascadeDeleter.Phase.EVENTS, CascadeDeleter.phaseOf(null));
+        assertEquals(CascadeDeleter.Mode.DELETE_ACCOUNT, CascadeDeleter.modeOf("DELETE_ACCOUNT"));
+        assertEquals(CascadeDeleter.Mode.DISABLE_ACCOUNT, CascadeDeleter.modeOf(null));
+    }
+
+    @Test
+    public void testRun_ResumesMidPhaseWithoutRedoingEarlierPhases() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class, RETURNS_DEEP_STUBS);
+        DocumentReference checkpointRef = stubCheckpoint(db,
+                checkpointAt("MEMBERSHIPS", CascadeDeleter.Mode.DISABLE_ACCOUNT));
+        stubBatches(db);
+        DocumentSnapshot membership = mock(DocumentSnapshot.class, RETURNS_DEEP_STUBS);
+        when(membership.getReference().getParent().getParent().getId()).thenReturn("E9");
+        when(membership.getString("status")).thenReturn("waiting");
+        QuerySnapshot memberships = snapshotOf(membership);
+        when(db.collectionGroup("entrants").whereEqualTo("user_id", USER_ID)
+                .limit(CascadeDeleter.MEMBERSHIP_PAGE_SIZE).get())
+                .thenReturn(Tasks.forResult(memberships));
+        stubEventArrays(db);
+
+        CascadeDeleter.Progress progress = runOffMainThread(
+                newDeleter(db), CascadeDeleter.Mode.DISABLE_ACCOUNT);
+
+        // The events phase had finished before the interruption and is not queried again
+        CollectionReference events = db.collection("events");
+        verify(events, never()).whereEqualTo("organizer_id", USER_ID);
+        assertEquals(CascadeDeleter.Phase.DONE, progress.getPhase());
+        assertEquals(3, progress.getEventsDeleted());
+        assertEquals(40, progress.getEntrantsRemoved());
+        assertEquals(101, progress.getMembershipsRemoved());
+
+        // Restored, after the page of memberships, then before each of the last two phases
+        ArgumentCaptor<Object> written = ArgumentCaptor.forClass(Object.class);
+        verify(checkpointRef, times(4)).set(written.capture(), any(SetOptions.class));
+        Map<?, ?> restored = (Map<?, ?>) written.getAllValues().get(0);
+        assertEquals("MEMBERSHIPS", restored.get(CascadeDeleter.FIELD_PHASE));
+        assertEquals(100, restored.get(CascadeDeleter.FIELD_MEMBERSHIPS_REMOVED));
+    }
+
+    @Test
+    public void testRun_CheckpointForAnotherModeStartsOver() throws Exception {
+        FirebaseFirestore db = mock(FirebaseFirestore.class, RETURNS_DEEP_STUBS);
+        stubCheckpoint(db, checkpointAt("ACCOUNT", CascadeDeleter.Mode.DISABLE_ACCOUNT));
+        stubBatches(db);
+        QuerySnapshot none = snapshotOf();
+        when(db.collection("events").whereEqualTo("organizer_id", USER_ID)
+                .limit(CascadeDeleter.EVENT_PAGE_SIZE).get())
+                .thenReturn(Tasks.forResult(none));
+        when(db.collectionGroup("entrants").whereEqualTo("user_id", USER_ID)
+                .limit(CascadeDeleter.MEMBERSHIP_PAGE_SIZE).get())
+                .thenReturn(Tasks.forResult(none));
+        stubEventArrays(db);
+        when(db.collection("accounts").document(USER_ID).collection("myevents")
+                .limit(CascadeDeleter.ENTRANT_PAGE_SIZE).get())
+                .thenReturn(Tasks.forResult(none));
+
+        CascadeDeleter.Progress progress = runOffMainThread(
+                newDeleter(db), CascadeDeleter.Mode.DELETE_ACCOUNT);
+
+        CollectionReference events = db.collection("events");
+        verify(events).whereEqualTo("organizer_id", USER_ID);
+        assertEquals(CascadeDeleter.Phase.DONE, progress.getPhase());
+        assertEquals(0, progress.getMembershipsRemoved());
+    }
+
+    private static <T> CompletableFuture<Void> record(List<T> committed, T value) {
+        committed.add(value);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static CascadeDeleter newDeleter(FirebaseFirestore db) {
+        return new CascadeDeleter(db, null, Runnable::run, Executors.newSingleThreadExecutor());
+    }
+
+    private static CascadeDeleter.Progress runOffMainThread(CascadeDeleter deleter,
+                                                            CascadeDeleter.Mode mode) throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            return worker.submit(() -> deleter.run(USER_ID, mode, false, update -> { }))
+                    .get(10, TimeUnit.SECONDS);
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    private static DocumentSnapshot checkpointAt(String phase, CascadeDeleter.Mode mode) {
+        DocumentSnapshot checkpoint = mock(DocumentSnapshot.class);
+        when(checkpoint.exists()).thenReturn(true);
+        when(checkpoint.getId()).thenReturn(USER_ID);
+        when(checkpoint.getString(CascadeDeleter.FIELD_STATE)).thenReturn(CascadeDeleter.STATE_RUNNING);
+        when(checkpoint.getString(CascadeDeleter.FIELD_MODE)).thenReturn(mode.name());
+        when(checkpoint.getString(CascadeDeleter.FIELD_PHASE)).thenReturn(phase);
+        when(checkpoint.getLong(CascadeDeleter.FIELD_EVENTS_DELETED)).thenReturn(3L);
+        when(checkpoint.getLong(CascadeDeleter.FIELD_ENTRANTS_REMOVED)).thenReturn(40L);
+        when(checkpoint.getLong(CascadeDeleter.FIELD_MEMBERSHIPS_REMOVED)).thenReturn(100L);
+        return checkpoint;
+    }
+
+    private static DocumentReference stubCheckpoint(FirebaseFirestore db, DocumentSnapshot checkpoint) {
+        DocumentReference ref = db.collection(CascadeDeleter.COLLECTION).document(USER_ID);
+        Task<DocumentSnapshot> read = Tasks.forResult(checkpoint);
+        Task<Void> written = Tasks.forResult(null);
+        when(ref.get()).thenReturn(read);
+        when(ref.set(any(), any(SetOptions.class))).thenReturn(written);
+        return ref;
+    }
+
+    private static void stubBatches(FirebaseFirestore db) {
+        WriteBatch batch = mock(WriteBatch.class);
+        Task<Void> committed = Tasks.forResult(null);
+        when(batch.commit()).thenReturn(committed);
+        when(db.batch()).thenReturn(batch);
+    }
+
+    private static void stubEventArrays(FirebaseFirestore db) {
+        QuerySnapshot none = snapshotOf();
+        for (String field : new String[]{"chosen_entrants", "enrolled_users"}) {
+            when(db.collection("events").whereArrayContains(field, USER_ID)
+                    .limit(CascadeDeleter.MEMBERSHIP_PAGE_SIZE).get())
+                    .thenReturn(Tasks.forResult(none));
+        }
+    }
+
+    private static QuerySnapshot snapshotOf(DocumentSnapshot... docs) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(Arrays.asList(docs));
+        when(snapshot.size()).thenReturn(docs.length);
+        return snapshot;
+    }
+}
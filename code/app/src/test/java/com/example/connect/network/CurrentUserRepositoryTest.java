@@ -0,0 +1,207 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import com.example.connect.models.User;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for CurrentUserRepository: one listener per signed-in user, profiles served
+ * from memory, and the flags read from the account document.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class CurrentUserRepositoryTest {
+
+    private FirebaseUser firebaseUser;
+    private CollectionReference accounts;
+    private final Map<String, EventListener<DocumentSnapshot>> listeners = new HashMap<>();
+    private final Map<String, ListenerRegistration> registrations = new HashMap<>();
+    private CurrentUserRepository repository;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        FirebaseAuth auth = mock(FirebaseAuth.class);
+        firebaseUser = mock(FirebaseUser.class);
+        when(firebaseUser.getUid()).thenReturn("user1");
+        when(auth.getCurrentUser()).thenReturn(firebaseUser);
+
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        accounts = mock(CollectionReference.class);
+        when(db.collection("accounts")).thenReturn(accounts);
+        when(accounts.document(any())).thenAnswer(invocation -> {
+            String userId = invocation.getArgument(0);
+            DocumentReference doc = mock(DocumentReference.class);
+            when(doc.addSnapshotListener(any(EventListener.class))).thenAnswer(i -> {
+                listeners.put(userId, i.getArgument(0));
+                ListenerRegistration registration = mock(ListenerRegistration.class);
+                registrations.put(userId, registration);
+                return registration;
+            });
+            return doc;
+        });
+
+        // Decode inline so the only asynchronous step is the post back to the main thread
+        repository = new CurrentUserRepository(auth, db, Runnable::run);
+    }
+
+    private DocumentSnapshot mockSnapshot(String displayName, String fullName, Boolean admin,
+                                          Boolean disabled, Boolean notificationsEnabled) {
+        User user = new User();
+        user.setName(displayName);
+        user.setFullName(fullName);
+
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenReturn(true);
+        when(snapshot.toObject(User.class)).thenReturn(user);
+        when(snapshot.getBoolean("admin")).thenReturn(admin);
+        when(snapshot.getBoolean("disabled")).thenReturn(disabled);
+        when(snapshot.getBoolean("notificationsEnabled")).thenReturn(notificationsEnabled);
+        return snapshot;
+    }
+
+    private void deliver(String userId, DocumentSnapshot snapshot) {
+        listeners.get(userId).onEvent(snapshot, null);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private CurrentUserRepository.ProfileCallback collect(List<CurrentUserRepository.Profile> into) {
+        return new CurrentUserRepository.ProfileCallback() {
+            @Override
+            public void onProfile(CurrentUserRepository.Profile profile) {
+                into.add(profile);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                fail("Unexpected error: " + e);
+            }
+        };
+    }
+
+    @Test
+    public void testGet_SharesOneListenerAndServesLaterCallsFromMemory() {
+        List<CurrentUserRepository.Profile> first = new ArrayList<>();
+        List<CurrentUserRepository.Profile> second = new ArrayList<>();
+        repository.get(collect(first));
+        repository.get(collect(second));
+
+        deliver("user1", mockSnapshot("Ann", "Ann Lee", true, false, null));
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+
+        List<CurrentUserRepository.Profile> later = new ArrayList<>();
+        repository.get(collect(later));
+
+        assertEquals(1, later.size());
+        assertSame(first.get(0), later.get(0));
+        verify(accounts, times(1)).document("user1");
+    }
+
+    @Test
+    public void testAddListener_ReceivesUpdates() {
+        List<CurrentUserRepository.Profile> updates = new ArrayList<>();
+        CurrentUserRepository.ProfileCallback listener = collect(updates);
+        repository.addListener(listener);
+
+        deliver("user1", mockSnapshot("Ann", null, false, false, true));
+        deliver("user1", mockSnapshot("Annie", null, false, false, true));
+        assertEquals(2, updates.size());
+        assertEquals("Annie", updates.get(1).getDisplayName());
+
+        repository.removeListener(listener);
+        deliver("user1", mockSnapshot("Anna", null, false, false, true));
+        assertEquals(2, updates.size());
+    }
+
+    @Test
+    public void testProfile_Flags() {
+        List<CurrentUserRepository.Profile> profiles = new ArrayList<>();
+        repository.get(collect(profiles));
+        deliver("user1", mockSnapshot(null, "Ann Lee", null, true, false));
+
+        CurrentUserRepository.Profile profile = profiles.get(0);
+        assertTrue(profile.exists());
+        assertFalse(profile.isAdmin());
+        assertTrue(profile.isDisabled());
+        assertFalse(profile.isNotificationsEnabled());
+        assertEquals("Ann Lee", profile.getDisplayName());
+        assertEquals("user1", profile.getUser().getUserId());
+    }
+
+    @Test
+    public void testProfile_MissingDocument() {
+        DocumentSnapshot missing = mock(DocumentSnapshot.class);
+        when(missing.exists()).thenReturn(false);
+
+        List<CurrentUserRepository.Profile> profiles = new ArrayList<>();
+        repository.get(collect(profiles));
+        deliver("user1", missing);
+
+        CurrentUserRepository.Profile profile = profiles.get(0);
+        assertFalse(profile.exists());
+        assertNull(profile.getUser());
+        assertNull(profile.copyUser());
+        assertNull(profile.getDisplayName());
+        assertTrue(profile.isNotificationsEnabled());
+    }
+
+    @Test
+    public void testSignInAsAnotherUser_MovesTheListener() {
+        repository.get(collect(new ArrayList<>()));
+        deliver("user1", mockSnapshot("Ann", null, false, false, true));
+
+        when(firebaseUser.getUid()).thenReturn("user2");
+        assertNull(repository.getCached());
+
+        List<CurrentUserRepository.Profile> profiles = new ArrayList<>();
+        repository.get(collect(profiles));
+        verify(registrations.get("user1")).remove();
+
+        deliver("user2", mockSnapshot("Bob", null, false, false, true));
+        assertEquals("Bob", profiles.get(0).getDisplayName());
+    }
+
+    @Test
+    public void testClear_StopsListeningAndForgetsTheProfile() {
+        repository.get(collect(new ArrayList<>()));
+        deliver("user1", mockSnapshot("Ann", null, false, false, true));
+        assertNotNull(repository.getCached());
+
+        repository.clear();
+
+        assertNull(repository.getCached());
+        verify(registrations.get("user1")).remove();
+    }
+
+    @Test
+    public void testDecode_SkipsMissingImagesAndUrls() {
+        assertNull(CurrentUserRepository.decode(null));
+        assertNull(CurrentUserRepository.decode(""));
+        assertNull(CurrentUserRepository.decode("https://example.com/a.png"));
+    }
+}
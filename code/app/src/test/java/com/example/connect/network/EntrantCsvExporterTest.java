@@ -0,0 +1,46 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+
+import com.example.connect.models.Event;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the event ordering used by EntrantCsvExporter.
+ */
+public class EntrantCsvExporterTest {
+
+    private static Event event(String id, String name) {
+        Event event = new Event();
+        event.setEventId(id);
+        event.setName(name);
+        return event;
+    }
+
+    @Test
+    public void testSortForExport_ByNameThenId() {
+        List<Event> sorted = EntrantCsvExporter.sortForExport(Arrays.asList(
+                event("b", "yoga"),
+                event("c", "Art"),
+                event("a", "Yoga")));
+
+        assertEquals("c", sorted.get(0).getEventId());
+        assertEquals("a", sorted.get(1).getEventId());
+        assertEquals("b", sorted.get(2).getEventId());
+    }
+
+    @Test
+    public void testSortForExport_SkipsEventsWithoutId() {
+        List<Event> sorted = EntrantCsvExporter.sortForExport(Arrays.asList(
+                event(null, "No id"),
+                null,
+                event("x", null)));
+
+        assertEquals(1, sorted.size());
+        assertEquals("x", sorted.get(0).getEventId());
+    }
+}
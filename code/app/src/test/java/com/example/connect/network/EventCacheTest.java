@@ -0,0 +1,135 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.*;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.connect.models.Event;
+import com.google.firebase.Timestamp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Unit tests for the on-disk EventCache used by EventRepository.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class EventCacheTest {
+
+    private EventCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new EventCache(ApplicationProvider.getApplicationContext());
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    private Event createEvent(String id, String name) {
+        Event event = new Event(name, "2025-12-01T10:00:00", 50);
+        event.setEventId(id);
+        event.setLocation("Edmonton");
+        event.setLocationLatitude(53.5461);
+        event.setLocationLongitude(-113.4938);
+        event.setLabels(Arrays.asList("Music", "Outdoor"));
+        event.setDrawDate(new Timestamp(1_700_000_000L, 0));
+        event.setWaitingListCount(12L);
+        event.setOrganizerId("Jazz Club");
+        event.setOrganizerUid("organizer-uid");
+        return event;
+    }
+
+    @Test
+    public void testJsonRoundTrip_PreservesFields() {
+        Event original = createEvent("e1", "Jazz Night");
+
+        Event restored = EventCache.fromJson(EventCache.toJson(original));
+
+        assertEquals(original, restored);
+    }
+
+    @Test
+    public void testJsonRoundTrip_NullFieldsStayNull() {
+        Event original = new Event();
+        original.setEventId("e2");
+
+        Event restored = EventCache.fromJson(EventCache.toJson(original));
+
+        assertNotNull(restored);
+        assertNull(restored.getName());
+        assertNull(restored.getLocationLatitude());
+        assertNull(restored.getLabels());
+        assertNull(restored.getDrawDate());
+    }
+
+    @Test
+    public void testReplaceAll_StoresEventsAndSyncTime() {
+        cache.replaceAll(Arrays.asList(
+                new EventCache.Entry(createEvent("e1", "A"), "org1", 100L),
+                new EventCache.Entry(createEvent("e2", "B"), "org2", 250L)), 999L);
+
+        assertEquals(2, cache.loadAll().size());
+        assertEquals(250L, cache.getWatermark());
+        assertEquals(999L, cache.getLastFullSync());
+    }
+
+    @Test
+    public void testUpdatedAtMillis_ReadsServerTimestampsAndLegacyMillis() {
+        assertEquals(1_700_000_000_123L,
+                EventRepository.updatedAtMillis(new Timestamp(new Date(1_700_000_000_123L))));
+        assertEquals(250L, EventRepository.updatedAtMillis(250L));
+        // A server timestamp not yet resolved locally reads as null
+        assertEquals(0L, EventRepository.updatedAtMillis(null));
+    }
+
+    @Test
+    public void testUpsertAll_ReplacesExistingEvent() {
+        cache.replaceAll(Collections.singletonList(
+                new EventCache.Entry(createEvent("e1", "Old"), "org1", 100L)), 1L);
+
+        cache.upsertAll(Collections.singletonList(
+                new EventCache.Entry(createEvent("e1", "New"), "org1", 300L)));
+
+        List<Event> events = cache.loadAll();
+        assertEquals(1, events.size());
+        assertEquals("New", events.get(0).getName());
+        assertEquals(300L, cache.getWatermark());
+    }
+
+    @Test
+    public void testLoadByOrganizer_FiltersByOrganizerId() {
+        cache.replaceAll(Arrays.asList(
+                new EventCache.Entry(createEvent("e1", "A"), "org1", 1L),
+                new EventCache.Entry(createEvent("e2", "B"), "org2", 2L),
+                new EventCache.Entry(createEvent("e3", "C"), "org1", 3L)), 1L);
+
+        assertEquals(2, cache.loadByOrganizer("org1").size());
+        assertTrue(cache.loadByOrganizer(null).isEmpty());
+    }
+
+    @Test
+    public void testRemove_DeletesSingleEvent() {
+        cache.replaceAll(Arrays.asList(
+                new EventCache.Entry(createEvent("e1", "A"), "org1", 1L),
+                new EventCache.Entry(createEvent("e2", "B"), "org1", 2L)), 1L);
+
+        cache.remove("e1");
+
+        List<Event> events = cache.loadAll();
+        assertEquals(1, events.size());
+        assertEquals("e2", events.get(0).getEventId());
+    }
+}
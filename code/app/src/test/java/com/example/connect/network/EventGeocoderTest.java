@@ -0,0 +1,135 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for EventGeocoder normalization and caching.
+ * The platform geocoder is replaced by a counting fake and work runs synchronously.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class EventGeocoderTest {
+
+    private Context context;
+    private final List<String> geocoded = new ArrayList<>();
+    private final List<Double[]> results = new ArrayList<>();
+    private boolean failWithIo;
+
+    private class FakeGeocoder extends EventGeocoder {
+        FakeGeocoder() {
+            super(context, mock(FirebaseFirestore.class), Runnable::run);
+        }
+
+        @Override
+        protected double[] geocode(String locationText) throws IOException {
+            geocoded.add(locationText);
+            if (failWithIo) throw new IOException("offline");
+            if (locationText.toLowerCase().contains("nowhere")) return null;
+            return new double[]{53.5, -113.5};
+        }
+    }
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.getSharedPreferences("geocode_cache", Context.MODE_PRIVATE).edit().clear().commit();
+    }
+
+    private void resolve(EventGeocoder geocoder, String text) {
+        geocoder.resolve(text, (lat, lng) -> results.add(new Double[]{lat, lng}));
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("edmonton, ab", EventGeocoder.normalize("  Edmonton ,   AB "));
+        assertEquals("", EventGeocoder.normalize(null));
+        assertEquals("", EventGeocoder.normalize("   "));
+    }
+
+    @Test
+    public void testResolve_GeocodesOncePerNormalizedLocation() {
+        EventGeocoder geocoder = new FakeGeocoder();
+
+        resolve(geocoder, "Edmonton, AB");
+        resolve(geocoder, "  edmonton ,  ab");
+
+        assertEquals(1, geocoded.size());
+        assertEquals(2, results.size());
+        assertEquals(53.5, results.get(1)[0], 0.0001);
+        assertEquals(-113.5, results.get(1)[1], 0.0001);
+    }
+
+    @Test
+    public void testResolve_DiskCacheSurvivesNewInstance() {
+        resolve(new FakeGeocoder(), "Edmonton, AB");
+        resolve(new FakeGeocoder(), "Edmonton, AB");
+
+        assertEquals(1, geocoded.size());
+        assertEquals(53.5, results.get(1)[0], 0.0001);
+    }
+
+    @Test
+    public void testResolve_NotFoundIsCached() {
+        EventGeocoder geocoder = new FakeGeocoder();
+
+        resolve(geocoder, "Nowhere");
+        resolve(geocoder, "Nowhere");
+
+        assertEquals(1, geocoded.size());
+        assertNull(results.get(0)[0]);
+        assertNull(results.get(1)[0]);
+    }
+
+    @Test
+    public void testResolve_IoFailureIsRetried() {
+        EventGeocoder geocoder = new FakeGeocoder();
+
+        failWithIo = true;
+        resolve(geocoder, "Edmonton, AB");
+        failWithIo = false;
+        resolve(geocoder, "Edmonton, AB");
+
+        assertEquals(2, geocoded.size());
+        assertNull(results.get(0)[0]);
+        assertEquals(53.5, results.get(1)[0], 0.0001);
+    }
+
+    @Test
+    public void testResolveForEvent_StoredCoordinatesSkipGeocoder() {
+        EventGeocoder geocoder = new FakeGeocoder();
+
+        geocoder.resolveForEvent("e1", 1.0, 2.0, "Edmonton, AB",
+                (lat, lng) -> results.add(new Double[]{lat, lng}));
+
+        assertTrue(geocoded.isEmpty());
+        assertEquals(1.0, results.get(0)[0], 0.0001);
+    }
+
+    @Test
+    public void testResolve_BlankTextReturnsNull() {
+        resolve(new FakeGeocoder(), "  ");
+
+        assertTrue(geocoded.isEmpty());
+        assertNull(results.get(0)[0]);
+    }
+}
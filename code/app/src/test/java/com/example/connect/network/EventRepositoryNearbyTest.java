@@ -0,0 +1,79 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.example.connect.models.Event;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the distance filtering and ordering behind EventRepository.getEventsNear.
+ */
+public class EventRepositoryNearbyTest {
+
+    private static final double EDMONTON_LAT = 53.5461;
+    private static final double EDMONTON_LNG = -113.4938;
+
+    private static Event event(String id, Double lat, Double lng) {
+        Event event = new Event();
+        event.setEventId(id);
+        event.setLocationLatitude(lat);
+        event.setLocationLongitude(lng);
+        return event;
+    }
+
+    @Test
+    public void testSortsNearestFirst() {
+        List<Event> events = Arrays.asList(
+                event("far", 53.60, -113.49),
+                event("near", 53.547, -113.494),
+                event("middle", 53.57, -113.49));
+
+        List<Event> result = EventRepository.withinRadiusSorted(events, EDMONTON_LAT, EDMONTON_LNG, 10_000);
+
+        assertEquals(3, result.size());
+        assertEquals("near", result.get(0).getEventId());
+        assertEquals("middle", result.get(1).getEventId());
+        assertEquals("far", result.get(2).getEventId());
+    }
+
+    @Test
+    public void testDropsEventsOutsideRadius() {
+        List<Event> events = Arrays.asList(
+                event("edmonton", 53.55, -113.50),
+                event("calgary", 51.0447, -114.0719));
+
+        List<Event> result = EventRepository.withinRadiusSorted(events, EDMONTON_LAT, EDMONTON_LNG, 25_000);
+
+        assertEquals(1, result.size());
+        assertEquals("edmonton", result.get(0).getEventId());
+    }
+
+    @Test
+    public void testSkipsEventsWithoutCoordinates() {
+        List<Event> events = Arrays.asList(
+                event("unknown", null, null),
+                event("located", 53.55, -113.50));
+
+        List<Event> result = EventRepository.withinRadiusSorted(events, EDMONTON_LAT, EDMONTON_LNG, 25_000);
+
+        assertEquals(1, result.size());
+        assertEquals("located", result.get(0).getEventId());
+    }
+
+    @Test
+    public void testDeduplicatesEventsFromOverlappingCells() {
+        Event first = event("same", 53.55, -113.50);
+        Event second = event("same", 53.55, -113.50);
+
+        List<Event> result = EventRepository.withinRadiusSorted(
+                Arrays.asList(first, second), EDMONTON_LAT, EDMONTON_LNG, 25_000);
+
+        assertEquals(1, result.size());
+        assertTrue(result.get(0) == first);
+    }
+}
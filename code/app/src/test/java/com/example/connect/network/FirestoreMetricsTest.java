@@ -0,0 +1,127 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for FirestoreMetrics payload estimates, aggregation and reporting.
+ */
+public class FirestoreMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        FirestoreMetrics.reset();
+        FirestoreMetrics.clearThreadScope();
+    }
+
+    @Test
+    public void testInCurrentScope_CarriesThreadScopeToPoolThreads() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            FirestoreMetrics.setThreadScope("job:CascadeDeleteWorker");
+            Callable<String> wrapped = FirestoreMetrics.inCurrentScope(FirestoreMetrics::scope);
+
+            assertEquals("job:CascadeDeleteWorker", pool.submit(wrapped).get());
+            // The pool thread is left as it was for the next task
+            assertNotEquals("job:CascadeDeleteWorker", pool.submit(FirestoreMetrics::scope).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEstimateSize_FollowsFirestoreStorageRules() {
+        assertEquals(1, FirestoreMetrics.estimateSize(null));
+        assertEquals(1, FirestoreMetrics.estimateSize(true));
+        assertEquals(8, FirestoreMetrics.estimateSize(42L));
+        assertEquals(6, FirestoreMetrics.estimateSize("hello"));
+        // "é" is two bytes in UTF-8
+        assertEquals(3, FirestoreMetrics.estimateSize("é"));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", "selected");           // 7 + 9
+        data.put("count", 3);                     // 6 + 8
+        data.put("tags", Arrays.asList("a", "b")); // 5 + 2 + 2
+        assertEquals(39, FirestoreMetrics.estimateSize(data));
+    }
+
+    @Test
+    public void testUtf8Length_CountsSurrogatePairsOnce() {
+        assertEquals(0, FirestoreMetrics.utf8Length(""));
+        assertEquals(3, FirestoreMetrics.utf8Length("abc"));
+        assertEquals(3, FirestoreMetrics.utf8Length("€"));
+        assertEquals(4, FirestoreMetrics.utf8Length("😀"));
+    }
+
+    @Test
+    public void testCounter_IsSharedPerScopeOperationAndKind() {
+        FirestoreMetrics.Counter first = FirestoreMetrics.counter("EventListActivity", "EventRepository.getAllEvents",
+                FirestoreMetrics.KIND_READ);
+        FirestoreMetrics.Counter again = FirestoreMetrics.counter("EventListActivity", "EventRepository.getAllEvents",
+                FirestoreMetrics.KIND_READ);
+        FirestoreMetrics.Counter otherScope = FirestoreMetrics.counter("MyEventsActivity", "EventRepository.getAllEvents",
+                FirestoreMetrics.KIND_READ);
+
+        assertSame(first, again);
+        assertTrue(first != otherScope);
+        assertEquals(2, FirestoreMetrics.snapshot().size());
+    }
+
+    @Test
+    public void testSnapshot_SortsByDocumentsAndReportsPercentiles() {
+        FirestoreMetrics.Counter small = FirestoreMetrics.counter("A", "small", FirestoreMetrics.KIND_READ);
+        small.calls.add(1);
+        small.documents.add(1);
+        FirestoreMetrics.Counter big = FirestoreMetrics.counter("A", "big", FirestoreMetrics.KIND_READ);
+        big.calls.add(2);
+        big.documents.add(500);
+        big.latencyMicros.record(20_000);
+        big.latencyMicros.record(40_000);
+
+        List<FirestoreMetrics.OperationStats> stats = FirestoreMetrics.snapshot();
+
+        assertEquals("big", stats.get(0).getOperation());
+        assertEquals(500, stats.get(0).getDocuments());
+        assertEquals(30.0, stats.get(0).getMeanMillis(), 0.001);
+        assertTrue(stats.get(0).getMaxMillis() >= 40.0);
+        assertTrue(FirestoreMetrics.report().contains("A › big (read)"));
+    }
+
+    @Test
+    public void testDump_AppendsRowsUnderOneHeader() throws Exception {
+        FirestoreMetrics.Counter counter = FirestoreMetrics.counter("ManageDrawActivity", "LotteryManager.draw",
+                FirestoreMetrics.KIND_WRITE);
+        counter.calls.add(1);
+        counter.documents.add(12);
+        File file = new File(folder.getRoot(), FirestoreMetrics.DUMP_FILE);
+
+        FirestoreMetrics.dump(file);
+        FirestoreMetrics.dump(file);
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("time,scope,operation,kind,calls"));
+        assertTrue(lines.get(1).contains(",ManageDrawActivity,LotteryManager.draw,write,1,0,12,"));
+    }
+}
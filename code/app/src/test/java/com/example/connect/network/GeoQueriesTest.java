@@ -0,0 +1,141 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.connect.utils.GeoHash;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for GeoQueries: the cells searched for a radius, the range query per cell, and
+ * the precise box and distance filters applied to what the cells return.
+ */
+public class GeoQueriesTest {
+
+    private static final double EDMONTON_LAT = 53.5461;
+    private static final double EDMONTON_LNG = -113.4938;
+
+    @Test
+    public void testCellsCoverTheWholeCircle() {
+        double radius = 5_000;
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.aroundPoint(EDMONTON_LAT, EDMONTON_LNG, radius);
+        List<String> cells = GeoHash.coveringCells(box);
+
+        assertCovered(cells, EDMONTON_LAT, EDMONTON_LNG);
+        for (int bearing = 0; bearing < 360; bearing += 45) {
+            double[] point = offset(EDMONTON_LAT, EDMONTON_LNG, radius * 0.99, bearing);
+            assertCovered(cells, point[0], point[1]);
+        }
+    }
+
+    @Test
+    public void testInCellQueriesTheGeohashPrefixRange() {
+        Query base = mock(Query.class);
+        Query ordered = mock(Query.class);
+        Query started = mock(Query.class);
+        Query ended = mock(Query.class);
+        when(base.orderBy(GeoQueries.FIELD_GEOHASH)).thenReturn(ordered);
+        when(ordered.startAt("c3x2")).thenReturn(started);
+        when(started.endAt("c3x2~")).thenReturn(ended);
+
+        assertTrue(GeoQueries.inCell(base, "c3x2") == ended);
+        verify(started).endAt("c3x2~");
+        // "~" sorts after every geohash character, so the range holds the whole cell
+        assertTrue("c3x2zzzz".compareTo("c3x2~") < 0);
+    }
+
+    @Test
+    public void testInBoundsDropsDocumentsFromTheCellOverhang() {
+        GeoHash.BoundingBox box = new GeoHash.BoundingBox(53.50, -113.55, 53.58, -113.45);
+        List<DocumentSnapshot> docs = Arrays.asList(
+                doc("inside", 53.54, -113.50),
+                doc("north", 53.59, -113.50),
+                doc("east", 53.54, -113.44),
+                doc("unlocated", null, null));
+
+        assertEquals(Arrays.asList("inside"), ids(GeoQueries.inBounds(docs, box)));
+    }
+
+    @Test
+    public void testWithinRadiusDropsTheCornersOfTheBox() {
+        double radius = 5_000;
+        double[] edge = offset(EDMONTON_LAT, EDMONTON_LNG, radius * 0.9, 90);
+        double[] corner = offset(EDMONTON_LAT, EDMONTON_LNG, radius * 1.3, 45);
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.aroundPoint(EDMONTON_LAT, EDMONTON_LNG, radius);
+        assertTrue("the corner point should be inside the box", box.contains(corner[0], corner[1]));
+
+        List<DocumentSnapshot> docs = Arrays.asList(
+                doc("centre", EDMONTON_LAT, EDMONTON_LNG),
+                doc("edge", edge[0], edge[1]),
+                doc("corner", corner[0], corner[1]));
+
+        assertEquals(Arrays.asList("centre", "edge"),
+                ids(GeoQueries.withinRadius(docs, EDMONTON_LAT, EDMONTON_LNG, radius)));
+    }
+
+    @Test
+    public void testWithinRadiusSkipsDocumentsWithoutAPosition() {
+        List<DocumentSnapshot> docs = Arrays.asList(
+                doc("unlocated", null, null),
+                doc("here", EDMONTON_LAT, EDMONTON_LNG));
+
+        assertEquals(Arrays.asList("here"),
+                ids(GeoQueries.withinRadius(docs, EDMONTON_LAT, EDMONTON_LNG, 1_000)));
+    }
+
+    @Test
+    public void testPositionOfAcceptsNumericStrings() {
+        DocumentSnapshot doc = mock(DocumentSnapshot.class);
+        when(doc.get(GeoQueries.FIELD_LATITUDE)).thenReturn("53.5");
+        when(doc.get(GeoQueries.FIELD_LONGITUDE)).thenReturn(-113.5);
+
+        double[] position = GeoQueries.positionOf(doc);
+        assertEquals(53.5, position[0], 0);
+        assertEquals(-113.5, position[1], 0);
+    }
+
+    /**
+     * @return the point {@code meters} away from (lat, lng) along {@code bearingDegrees}.
+     */
+    private static double[] offset(double lat, double lng, double meters, double bearingDegrees) {
+        double bearing = Math.toRadians(bearingDegrees);
+        double dLat = meters * Math.cos(bearing) / GeoHash.EARTH_RADIUS_METERS;
+        double dLng = meters * Math.sin(bearing)
+                / (GeoHash.EARTH_RADIUS_METERS * Math.cos(Math.toRadians(lat)));
+        return new double[]{lat + Math.toDegrees(dLat), lng + Math.toDegrees(dLng)};
+    }
+
+    private static DocumentSnapshot doc(String id, Double lat, Double lng) {
+        DocumentSnapshot doc = mock(DocumentSnapshot.class);
+        when(doc.getId()).thenReturn(id);
+        when(doc.get(GeoQueries.FIELD_LATITUDE)).thenReturn(lat);
+        when(doc.get(GeoQueries.FIELD_LONGITUDE)).thenReturn(lng);
+        return doc;
+    }
+
+    private static List<String> ids(List<DocumentSnapshot> docs) {
+        List<String> ids = new ArrayList<>();
+        for (DocumentSnapshot doc : docs) {
+            ids.add(doc.getId());
+        }
+        return ids;
+    }
+
+    private static void assertCovered(List<String> cells, double lat, double lng) {
+        String hash = GeoHash.encode(lat, lng);
+        for (String cell : cells) {
+            if (hash.startsWith(cell)) return;
+        }
+        throw new AssertionError("(" + lat + ", " + lng + ") not covered by " + cells);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.connect.utils.SearchTokens;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the metadata written by {@link ImageIndex}.
+ */
+public class ImageIndexTest {
+
+    @Test
+    public void testImageIdsAreKeyedByOwningDocument() {
+        assertEquals("event_E1", ImageIndex.eventPosterId("E1"));
+        assertEquals("profile_U1", ImageIndex.profilePictureId("U1"));
+    }
+
+    @Test
+    public void testSha256Hex_MatchesKnownDigest() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                ImageIndex.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testMetadata_ForBase64Image() {
+        byte[] bytes = {1, 2, 3, 4};
+        Map<String, Object> data = ImageIndex.metadata("event_E1", ImageIndex.TYPE_EVENT_POSTER,
+                "org-1", "E1", "Spring Gala", "events/E1", "image_base64", null, bytes, true);
+
+        assertEquals("org-1", data.get(ImageIndex.FIELD_OWNER_ID));
+        assertEquals(ImageIndex.TYPE_EVENT_POSTER, data.get(ImageIndex.FIELD_TYPE));
+        assertEquals("E1", data.get(ImageIndex.FIELD_RELATED_ID));
+        assertEquals("events/E1", data.get(ImageIndex.FIELD_SOURCE_PATH));
+        assertEquals("image_base64", data.get(ImageIndex.FIELD_SOURCE_FIELD));
+        assertEquals(4L, data.get(ImageIndex.FIELD_SIZE_BYTES));
+        assertEquals(ImageIndex.sha256Hex(bytes), data.get(ImageIndex.FIELD_HASH));
+        assertEquals("image_thumbnails/event_E1", data.get(ImageIndex.FIELD_THUMBNAIL_REF));
+        assertNull(data.get(ImageIndex.FIELD_URL));
+
+        @SuppressWarnings("unchecked")
+        List<String> tokens = (List<String>) data.get(SearchTokens.FIELD);
+        assertTrue(tokens.contains("gala"));
+        assertTrue(tokens.contains("e1"));
+    }
+
+    @Test
+    public void testMetadata_ForUrlImageHasNoHashOrThumbnail() {
+        Map<String, Object> data = ImageIndex.metadata("profile_U1", ImageIndex.TYPE_PROFILE_PICTURE,
+                "U1", "U1", "Jamie", "accounts/U1", "profile_image_url",
+                "https://example.com/p.png", null, false);
+
+        assertEquals("https://example.com/p.png", data.get(ImageIndex.FIELD_URL));
+        assertNull(data.get(ImageIndex.FIELD_SIZE_BYTES));
+        assertNull(data.get(ImageIndex.FIELD_HASH));
+        assertNull(data.get(ImageIndex.FIELD_THUMBNAIL_REF));
+    }
+
+    @Test
+    public void testIsUrl() {
+        assertTrue(ImageIndex.isUrl("https://example.com/a.jpg"));
+        assertTrue(ImageIndex.isUrl("http://example.com/a.jpg"));
+        assertFalse(ImageIndex.isUrl("/9j/4AAQSkZJRgABAQ"));
+        assertFalse(ImageIndex.isUrl(null));
+    }
+
+    @Test
+    public void testRemove_DeletesEntryAndThumbnailInBatch() {
+        FirebaseFirestore db = mock(FirebaseFirestore.class);
+        CollectionReference images = mock(CollectionReference.class);
+        CollectionReference thumbnails = mock(CollectionReference.class);
+        DocumentReference entry = mock(DocumentReference.class);
+        DocumentReference thumbnail = mock(DocumentReference.class);
+        WriteBatch batch = mock(WriteBatch.class);
+        when(db.collection(ImageIndex.COLLECTION)).thenReturn(images);
+        when(db.collection(ImageIndex.THUMBNAILS)).thenReturn(thumbnails);
+        when(images.document("event_E1")).thenReturn(entry);
+        when(thumbnails.document("event_E1")).thenReturn(thumbnail);
+
+        ImageIndex.remove(batch, db, "event_E1");
+
+        verify(batch).delete(entry);
+        verify(batch).delete(thumbnail);
+    }
+}
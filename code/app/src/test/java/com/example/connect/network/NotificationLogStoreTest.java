@@ -0,0 +1,33 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the month and day keys that partition the notification log.
+ */
+public class NotificationLogStoreTest {
+
+    // 2025-11-30T23:59:59Z and one second later
+    private static final long END_OF_NOVEMBER = 1764547199000L;
+    private static final long START_OF_DECEMBER = END_OF_NOVEMBER + 1000;
+
+    @Test
+    public void testMonthKey_UsesUtc() {
+        assertEquals("2025-11", NotificationLogStore.monthKey(END_OF_NOVEMBER));
+        assertEquals("2025-12", NotificationLogStore.monthKey(START_OF_DECEMBER));
+    }
+
+    @Test
+    public void testDayKey_UsesUtc() {
+        assertEquals("2025-11-30", NotificationLogStore.dayKey(END_OF_NOVEMBER));
+        assertEquals("2025-12-01", NotificationLogStore.dayKey(START_OF_DECEMBER));
+    }
+
+    @Test
+    public void testDayKeyStartsWithMonthKey() {
+        long now = System.currentTimeMillis();
+        assertEquals(NotificationLogStore.monthKey(now), NotificationLogStore.dayKey(now).substring(0, 7));
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for {@link QueryPager}: continuing after the last document, detecting the end
+ * of the results, and ignoring requests that are in flight, exhausted or stale.
+ */
+public class QueryPagerTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final List<List<String>> pages = new ArrayList<>();
+    private final List<Boolean> hasMore = new ArrayList<>();
+    private final List<Exception> failures = new ArrayList<>();
+
+    private Query ordered;
+    private Query firstPageQuery;
+    private Query nextPageQuery;
+    private QueryPager pager;
+
+    private final QueryPager.PageCallback callback = new QueryPager.PageCallback() {
+        @Override
+        public void onPage(List<DocumentSnapshot> documents, boolean more) {
+            List<String> ids = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                ids.add(doc.getId());
+            }
+            pages.add(ids);
+            hasMore.add(more);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            failures.add(e);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        ordered = mock(Query.class);
+        firstPageQuery = mock(Query.class);
+        nextPageQuery = mock(Query.class);
+        when(ordered.limit(PAGE_SIZE)).thenReturn(firstPageQuery);
+        when(ordered.startAfter(any(DocumentSnapshot.class))).thenReturn(nextPageQuery);
+        when(nextPageQuery.limit(PAGE_SIZE)).thenReturn(nextPageQuery);
+
+        pager = new QueryPager(ordered, PAGE_SIZE);
+    }
+
+    @Test
+    public void testNextPageStartsAfterTheLastDocument() {
+        QuerySnapshot first = snapshotOf("a", "b");
+        whenGet(firstPageQuery, succeeding(first));
+        whenGet(nextPageQuery, succeeding(snapshotOf("c", "d")));
+
+        pager.loadNextPage(callback);
+        pager.loadNextPage(callback);
+
+        DocumentSnapshot lastOfFirstPage = first.getDocuments().get(1);
+        verify(ordered).startAfter(lastOfFirstPage);
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d")), pages);
+        assertEquals(Arrays.asList(true, true), hasMore);
+        assertTrue(pager.hasMore());
+    }
+
+    @Test
+    public void testShortPageEndsTheResults() {
+        whenGet(firstPageQuery, succeeding(snapshotOf("a", "b")));
+        whenGet(nextPageQuery, succeeding(snapshotOf("c")));
+
+        pager.loadNextPage(callback);
+        pager.loadNextPage(callback);
+        pager.loadNextPage(callback);
+
+        assertEquals(Arrays.asList(true, false), hasMore);
+        assertFalse(pager.hasMore());
+        // The third call found the pager exhausted and did not query again
+        verify(nextPageQuery, times(1)).get();
+    }
+
+    @Test
+    public void testEmptyPageAfterAFullOneEndsTheResults() {
+        QuerySnapshot first = snapshotOf("a", "b");
+        whenGet(firstPageQuery, succeeding(first));
+        whenGet(nextPageQuery, succeeding(snapshotOf()));
+
+        pager.loadNextPage(callback);
+        pager.loadNextPage(callback);
+
+        assertEquals(Collections.emptyList(), pages.get(1));
+        assertEquals(Arrays.asList(true, false), hasMore);
+        assertFalse(pager.hasMore());
+    }
+
+    @Test
+    public void testRequestsWhileLoadingAreIgnored() {
+        List<OnSuccessListener<QuerySnapshot>> pending = new ArrayList<>();
+        whenGet(firstPageQuery, deferred(pending));
+
+        pager.loadNextPage(callback);
+        pager.loadNextPage(callback);
+
+        assertTrue(pager.isLoading());
+        assertEquals(1, pending.size());
+        verify(ordered, never()).startAfter(any(DocumentSnapshot.class));
+
+        pending.get(0).onSuccess(snapshotOf("a", "b"));
+        assertFalse(pager.isLoading());
+        assertEquals(1, pages.size());
+    }
+
+    @Test
+    public void testResetDropsThePageInFlightAndStartsOver() {
+        List<OnSuccessListener<QuerySnapshot>> pending = new ArrayList<>();
+        whenGet(firstPageQuery, deferred(pending));
+
+        pager.loadNextPage(callback);
+        pager.reset();
+        pager.loadNextPage(callback);
+        pending.get(0).onSuccess(snapshotOf("old-1", "old-2"));
+
+        assertTrue(pages.isEmpty());
+
+        pending.get(1).onSuccess(snapshotOf("new-1"));
+        assertEquals(Collections.singletonList(Collections.singletonList("new-1")), pages);
+        assertFalse(pager.hasMore());
+    }
+
+    @Test
+    public void testFailureIsForwardedAndThePageCanBeRetried() {
+        RuntimeException boom = new RuntimeException("boom");
+        Task<QuerySnapshot> failed = failing(boom);
+        Task<QuerySnapshot> retried = succeeding(snapshotOf("a"));
+        when(firstPageQuery.get()).thenReturn(failed).thenReturn(retried);
+
+        pager.loadNextPage(callback);
+
+        assertEquals(1, failures.size());
+        assertSame(boom, failures.get(0));
+        assertFalse(pager.isLoading());
+        assertTrue(pager.hasMore());
+
+        pager.loadNextPage(callback);
+        assertEquals(Collections.singletonList(Collections.singletonList("a")), pages);
+    }
+
+    /**
+     * Makes {@code query.get()} return {@code task}. The task is built (and stubbed) before
+     * this call, since Mockito cannot stub another mock in the middle of a stubbing.
+     */
+    private static void whenGet(Query query, Task<QuerySnapshot> task) {
+        when(query.get()).thenReturn(task);
+    }
+
+    private static QuerySnapshot snapshotOf(String... ids) {
+        List<DocumentSnapshot> documents = new ArrayList<>();
+        for (String id : ids) {
+            DocumentSnapshot doc = mock(DocumentSnapshot.class);
+            when(doc.getId()).thenReturn(id);
+            documents.add(doc);
+        }
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        return snapshot;
+    }
+
+    private static Task<QuerySnapshot> succeeding(QuerySnapshot snapshot) {
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenAnswer(invocation -> {
+            OnSuccessListener<QuerySnapshot> listener = invocation.getArgument(0);
+            listener.onSuccess(snapshot);
+            return task;
+        });
+        return task;
+    }
+
+    private static Task<QuerySnapshot> deferred(List<OnSuccessListener<QuerySnapshot>> pending) {
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenAnswer(invocation -> {
+            pending.add(invocation.getArgument(0));
+            return task;
+        });
+        return task;
+    }
+
+    private static Task<QuerySnapshot> failing(Exception e) {
+        Task<QuerySnapshot> task = task();
+        when(task.addOnSuccessListener(any())).thenReturn(task);
+        when(task.addOnFailureListener(any(OnFailureListener.class))).thenAnswer(invocation -> {
+            OnFailureListener listener = invocation.getArgument(0);
+            listener.onFailure(e);
+            return task;
+        });
+        return task;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Task<QuerySnapshot> task() {
+        Task<QuerySnapshot> task = mock(Task.class);
+        when(task.addOnFailureListener(any(OnFailureListener.class))).thenReturn(task);
+        return task;
+    }
+}
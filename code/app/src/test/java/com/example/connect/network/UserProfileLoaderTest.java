@@ -0,0 +1,189 @@
+package com.example.connect.network;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.example.connect.models.User;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for UserProfileLoader chunking, de-duplication and caching.
+ * Firestore queries are mocked to complete synchronously.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class UserProfileLoaderTest {
+
+    private FirebaseFirestore db;
+    private CollectionReference accounts;
+    private final List<List<String>> requestedChunks = new ArrayList<>();
+    private UserProfileLoader loader;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        db = mock(FirebaseFirestore.class);
+        accounts = mock(CollectionReference.class);
+        when(db.collection("accounts")).thenReturn(accounts);
+
+        when(accounts.whereIn(any(FieldPath.class), anyList())).thenAnswer(invocation -> {
+            List<String> ids = new ArrayList<>((List<String>) (List<?>) invocation.getArgument(1));
+            requestedChunks.add(ids);
+
+            // Pretend every id except "missing" has an account document
+            List<QueryDocumentSnapshot> docs = new ArrayList<>();
+            for (String id : ids) {
+                if (!"missing".equals(id)) {
+                    docs.add(mockDoc(id));
+                }
+            }
+            QuerySnapshot snapshot = mock(QuerySnapshot.class);
+            when(snapshot.iterator()).thenAnswer(i -> docs.iterator());
+
+            Task<QuerySnapshot> task = mock(Task.class);
+            when(task.addOnSuccessListener(any(OnSuccessListener.class))).thenAnswer(i -> {
+                ((OnSuccessListener<QuerySnapshot>) i.getArgument(0)).onSuccess(snapshot);
+                return task;
+            });
+            when(task.addOnFailureListener(any())).thenReturn(task);
+
+            Query query = mock(Query.class);
+            when(query.get()).thenReturn(task);
+            return query;
+        });
+
+        loader = new UserProfileLoader(db);
+    }
+
+    private QueryDocumentSnapshot mockDoc(String id) {
+        QueryDocumentSnapshot doc = mock(QueryDocumentSnapshot.class);
+        when(doc.getId()).thenReturn(id);
+        when(doc.toObject(User.class)).thenReturn(new User(null, "Name " + id, id + "@mail.com", ""));
+        return doc;
+    }
+
+    private List<String> ids(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add("user" + i);
+        }
+        return ids;
+    }
+
+    private static class RecordingCallback implements UserProfileLoader.ProfileCallback {
+        int chunks;
+        Map<String, User> result;
+
+        @Override
+        public void onChunkLoaded(Map<String, User> profiles) {
+            chunks++;
+        }
+
+        @Override
+        public void onComplete(Map<String, User> profiles) {
+            result = profiles;
+        }
+    }
+
+    @Test
+    public void testLoad_SplitsIntoWhereInChunks() {
+        RecordingCallback callback = new RecordingCallback();
+
+        loader.load(ids(65), callback);
+
+        assertEquals(3, requestedChunks.size());
+        for (List<String> chunk : requestedChunks) {
+            assertTrue(chunk.size() <= UserProfileLoader.CHUNK_SIZE);
+        }
+        assertEquals(3, callback.chunks);
+        assertEquals(65, callback.result.size());
+    }
+
+    @Test
+    public void testLoad_DeduplicatesAndSkipsBlankIds() {
+        RecordingCallback callback = new RecordingCallback();
+
+        loader.load(Arrays.asList("a", "b", "a", null, "", "b"), callback);
+
+        assertEquals(1, requestedChunks.size());
+        assertEquals(Arrays.asList("a", "b"), requestedChunks.get(0));
+        assertEquals(2, callback.result.size());
+    }
+
+    @Test
+    public void testLoad_FillsUserIdFromDocumentId() {
+        RecordingCallback callback = new RecordingCallback();
+
+        loader.load(Arrays.asList("a"), callback);
+
+        assertEquals("a", callback.result.get("a").getUserId());
+    }
+
+    @Test
+    public void testLoad_SecondCallServedFromCache() {
+        loader.load(ids(10), new RecordingCallback());
+        requestedChunks.clear();
+
+        RecordingCallback callback = new RecordingCallback();
+        loader.load(ids(10), callback);
+
+        assertTrue(requestedChunks.isEmpty());
+        assertEquals(10, callback.result.size());
+        assertNotNull(loader.getCached("user3"));
+    }
+
+    @Test
+    public void testLoad_MissingAccountsAreAbsent() {
+        RecordingCallback callback = new RecordingCallback();
+
+        loader.load(Arrays.asList("a", "missing"), callback);
+
+        assertTrue(callback.result.containsKey("a"));
+        assertFalse(callback.result.containsKey("missing"));
+        assertNull(loader.getCached("missing"));
+    }
+
+    @Test
+    public void testInvalidate_ForcesRefetch() {
+        loader.load(Arrays.asList("a"), new RecordingCallback());
+        loader.invalidate("a");
+        requestedChunks.clear();
+
+        loader.load(Arrays.asList("a"), new RecordingCallback());
+
+        assertEquals(1, requestedChunks.size());
+    }
+
+    @Test
+    public void testLoad_EmptyInputCompletesImmediately() {
+        RecordingCallback callback = new RecordingCallback();
+
+        loader.load(new ArrayList<>(), callback);
+
+        assertNotNull(callback.result);
+        assertTrue(callback.result.isEmpty());
+        verify(db, never()).collection(anyString());
+    }
+}
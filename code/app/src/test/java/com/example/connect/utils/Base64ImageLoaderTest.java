@@ -0,0 +1,33 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for Base64ImageLoader downsampling and cache keys.
+ */
+public class Base64ImageLoaderTest {
+
+    @Test
+    public void testSampleSize_KeepsShortSideAtLeastTarget() {
+        // 4000x3000 poster on a 1080px wide screen: 3000/2 = 1500 >= 1080, 3000/4 = 750 < 1080
+        assertEquals(2, Base64ImageLoader.sampleSizeFor(4000, 3000, 1080));
+        assertEquals(4, Base64ImageLoader.sampleSizeFor(4320, 4320, 1080));
+        assertEquals(1, Base64ImageLoader.sampleSizeFor(800, 600, 1080));
+    }
+
+    @Test
+    public void testSampleSize_UnknownSizeDecodesAsIs() {
+        assertEquals(1, Base64ImageLoader.sampleSizeFor(-1, -1, 1080));
+        assertEquals(1, Base64ImageLoader.sampleSizeFor(4000, 3000, 0));
+    }
+
+    @Test
+    public void testKeyFor_DependsOnContent() {
+        assertEquals(Base64ImageLoader.keyFor("abcd"), Base64ImageLoader.keyFor(new String("abcd")));
+        assertNotEquals(Base64ImageLoader.keyFor("abcd"), Base64ImageLoader.keyFor("abce"));
+        assertNotEquals(Base64ImageLoader.keyFor("abcd"), Base64ImageLoader.keyFor("abcdabcd"));
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for the EntrantCounters shard writes and for summing the shards back up.
+ * Writes go to a mocked batch that records each document and its data.
+ */
+public class EntrantCountersTest {
+
+    private static final String EVENT_ID = "event1";
+
+    private FirebaseFirestore db;
+    private DocumentReference waitingList;
+    private WriteBatch batch;
+    private final Map<String, DocumentReference> shardRefs = new HashMap<>();
+    private final List<DocumentReference> writtenRefs = new ArrayList<>();
+    private final List<Map<String, Object>> writtenData = new ArrayList<>();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        db = mock(FirebaseFirestore.class);
+        CollectionReference lists = mock(CollectionReference.class);
+        waitingList = mock(DocumentReference.class);
+        CollectionReference counters = mock(CollectionReference.class);
+        when(db.collection("waiting_lists")).thenReturn(lists);
+        when(lists.document(EVENT_ID)).thenReturn(waitingList);
+        when(waitingList.collection("counters")).thenReturn(counters);
+        when(counters.document(anyString())).thenAnswer(i -> shardRefs.computeIfAbsent(
+                (String) i.getArgument(0), id -> {
+                    DocumentReference ref = mock(DocumentReference.class);
+                    when(ref.getId()).thenReturn(id);
+                    return ref;
+                }));
+
+        batch = mock(WriteBatch.class);
+        when(batch.set(any(DocumentReference.class), any(), any(SetOptions.class))).thenAnswer(i -> {
+            writtenRefs.add(i.getArgument(0));
+            writtenData.add((Map<String, Object>) i.getArgument(1));
+            return batch;
+        });
+    }
+
+    private boolean isShard(DocumentReference ref) {
+        return shardRefs.containsValue(ref);
+    }
+
+    private DocumentSnapshot shard(Map<String, Long> values) {
+        DocumentSnapshot doc = mock(DocumentSnapshot.class);
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            when(doc.getLong(entry.getKey())).thenReturn(entry.getValue());
+        }
+        return doc;
+    }
+
+    private Map<String, Long> values(Object... pairs) {
+        Map<String, Long> map = new HashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put((String) pairs[i], ((Number) pairs[i + 1]).longValue());
+        }
+        return map;
+    }
+
+    @Test
+    public void testSum_AddsFieldsAcrossShards() {
+        EntrantCounters.Counts counts = EntrantCounters.Counts.sum(Arrays.asList(
+                shard(values("total", 3, "waiting", 2, "selected", 1)),
+                shard(values("total", 2, "waiting", 1, "enrolled", 1))));
+
+        assertEquals(5, counts.getTotal());
+        assertEquals(3, counts.get(EntrantCounters.STATUS_WAITING));
+        assertEquals(1, counts.get(EntrantCounters.STATUS_SELECTED));
+        assertEquals(1, counts.get(EntrantCounters.STATUS_ENROLLED));
+        assertEquals(0, counts.get(EntrantCounters.STATUS_CANCELED));
+    }
+
+    @Test
+    public void testSum_TransitionDeltasCancelOut() {
+        // One shard saw the join, another the waiting -> selected transition
+        EntrantCounters.Counts counts = EntrantCounters.Counts.sum(Arrays.asList(
+                shard(values("total", 1, "waiting", 1)),
+                shard(values("waiting", -1, "selected", 1))));
+
+        assertEquals(1, counts.getTotal());
+        assertEquals(0, counts.get(EntrantCounters.STATUS_WAITING));
+        assertEquals(1, counts.get(EntrantCounters.STATUS_SELECTED));
+    }
+
+    @Test
+    public void testSum_NegativeTotalsClampToZero() {
+        EntrantCounters.Counts counts = EntrantCounters.Counts.sum(Arrays.asList(
+                shard(values("total", -1, "waiting", -1))));
+
+        assertEquals(0, counts.getTotal());
+        assertEquals(0, counts.get(EntrantCounters.STATUS_WAITING));
+    }
+
+    @Test
+    public void testSum_NoShardsIsZero() {
+        EntrantCounters.Counts counts = EntrantCounters.Counts.sum(new ArrayList<>());
+
+        assertEquals(0, counts.getTotal());
+    }
+
+    @Test
+    public void testDeltaAmounts_JoinAndLeaveMoveTheTotal() {
+        Map<String, Long> join = EntrantCounters.deltaAmounts(null, EntrantCounters.STATUS_WAITING, 1, true);
+        Map<String, Long> leave = EntrantCounters.deltaAmounts(EntrantCounters.STATUS_SELECTED, null, 1, true);
+
+        assertEquals(values("waiting", 1, "total", 1), join);
+        assertEquals(values("selected", -1, "total", -1), leave);
+    }
+
+    @Test
+    public void testDeltaAmounts_TransitionKeepsTheTotal() {
+        Map<String, Long> moved = EntrantCounters.deltaAmounts(
+                EntrantCounters.STATUS_WAITING, EntrantCounters.STATUS_SELECTED, 3, false);
+
+        assertEquals(values("waiting", -3, "selected", 3), moved);
+    }
+
+    @Test
+    public void testRecordJoin_WritesOneShardAndTheEntrantCount() {
+        EntrantCounters.recordJoin(batch, db, EVENT_ID, EntrantCounters.STATUS_WAITING);
+
+        assertEquals(2, writtenRefs.size());
+        assertTrue(isShard(writtenRefs.get(0)));
+        assertEquals(new HashSet<>(Arrays.asList("waiting", "total")), writtenData.get(0).keySet());
+        assertTrue(writtenData.get(0).get("waiting") instanceof FieldValue);
+        assertSame(waitingList, writtenRefs.get(1));
+        assertTrue(writtenData.get(1).get(EntrantCounters.FIELD_ENTRANT_COUNT) instanceof FieldValue);
+    }
+
+    @Test
+    public void testRecordTransition_WritesOneShardOnly() {
+        EntrantCounters.recordTransition(batch, db, EVENT_ID,
+                EntrantCounters.STATUS_SELECTED, EntrantCounters.STATUS_ENROLLED, 2);
+
+        assertEquals(1, writtenRefs.size());
+        assertTrue(isShard(writtenRefs.get(0)));
+        assertEquals(new HashSet<>(Arrays.asList("selected", "enrolled")), writtenData.get(0).keySet());
+    }
+
+    @Test
+    public void testRecordTransition_NoOpWritesNothing() {
+        EntrantCounters.recordTransition(batch, db, EVENT_ID,
+                EntrantCounters.STATUS_WAITING, EntrantCounters.STATUS_WAITING, 3);
+        EntrantCounters.recordTransition(batch, db, EVENT_ID,
+                EntrantCounters.STATUS_WAITING, EntrantCounters.STATUS_SELECTED, 0);
+
+        verifyNoInteractions(batch);
+    }
+
+    @Test
+    public void testWrites_AreSpreadOverTheShards() {
+        for (int i = 0; i < 200; i++) {
+            EntrantCounters.recordTransition(batch, db, EVENT_ID,
+                    EntrantCounters.STATUS_WAITING, EntrantCounters.STATUS_SELECTED, 1);
+        }
+
+        Set<String> used = new HashSet<>();
+        for (DocumentReference ref : writtenRefs) {
+            used.add(ref.getId());
+        }
+        assertTrue(used.size() > 1);
+        for (String id : used) {
+            int shard = Integer.parseInt(id.substring("shard_".length()));
+            assertTrue(shard >= 0 && shard < EntrantCounters.NUM_SHARDS);
+        }
+    }
+
+    @Test
+    public void testMarkSeeded_IsRecognisedAsSeeded() {
+        Map<String, Object> data = new HashMap<>();
+        EntrantCounters.markSeeded(data);
+
+        DocumentSnapshot list = mock(DocumentSnapshot.class);
+        when(list.getBoolean(EntrantCounters.FIELD_SEEDED)).thenReturn((Boolean) data.get(EntrantCounters.FIELD_SEEDED));
+        when(list.getLong(EntrantCounters.FIELD_ENTRANT_COUNT)).thenReturn((Long) data.get(EntrantCounters.FIELD_ENTRANT_COUNT));
+        DocumentSnapshot legacy = mock(DocumentSnapshot.class);
+
+        assertTrue(EntrantCounters.isSeeded(list));
+        assertFalse(EntrantCounters.isSeeded(legacy));
+        assertFalse(EntrantCounters.isSeeded(null));
+    }
+}
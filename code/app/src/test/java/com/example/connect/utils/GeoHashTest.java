@@ -0,0 +1,82 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for GeoHash encoding, cell coverage and distances.
+ */
+public class GeoHashTest {
+
+    @Test
+    public void testEncode_KnownValue() {
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+    }
+
+    @Test
+    public void testEncode_DefaultPrecision() {
+        assertEquals(GeoHash.STORED_PRECISION, GeoHash.encode(53.5461, -113.4938).length());
+    }
+
+    @Test
+    public void testEncode_NearbyPointsSharePrefix() {
+        String a = GeoHash.encode(53.5461, -113.4938);
+        String b = GeoHash.encode(53.5462, -113.4939);
+        assertEquals(a.substring(0, 6), b.substring(0, 6));
+    }
+
+    @Test
+    public void testCoveringCells_ContainEveryCorner() {
+        GeoHash.BoundingBox box = new GeoHash.BoundingBox(53.50, -113.55, 53.58, -113.45);
+        List<String> cells = GeoHash.coveringCells(box);
+
+        assertFalse(cells.isEmpty());
+        assertTrue(cells.size() <= 4);
+        assertCovered(cells, box.minLat, box.minLng);
+        assertCovered(cells, box.minLat, box.maxLng);
+        assertCovered(cells, box.maxLat, box.minLng);
+        assertCovered(cells, box.maxLat, box.maxLng);
+        assertCovered(cells, 53.54, -113.50);
+    }
+
+    @Test
+    public void testCoveringCells_TinyBoxUsesFinePrecision() {
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.aroundPoint(53.5461, -113.4938, 50);
+        List<String> cells = GeoHash.coveringCells(box);
+
+        for (String cell : cells) {
+            assertTrue("cell " + cell + " should be fine-grained", cell.length() >= 6);
+        }
+        assertCovered(cells, 53.5461, -113.4938);
+    }
+
+    @Test
+    public void testAroundPoint_ContainsCircle() {
+        GeoHash.BoundingBox box = GeoHash.BoundingBox.aroundPoint(53.5461, -113.4938, 5000);
+
+        assertTrue(box.contains(53.5461 + 0.04, -113.4938));
+        assertTrue(box.contains(53.5461, -113.4938 - 0.07));
+        assertFalse(box.contains(53.5461 + 0.1, -113.4938));
+    }
+
+    @Test
+    public void testDistanceMeters() {
+        // Edmonton to Calgary is roughly 280 km
+        double distance = GeoHash.distanceMeters(53.5461, -113.4938, 51.0447, -114.0719);
+        assertEquals(281_000, distance, 5_000);
+        assertEquals(0, GeoHash.distanceMeters(10, 10, 10, 10), 0.001);
+    }
+
+    private static void assertCovered(List<String> cells, double lat, double lng) {
+        String hash = GeoHash.encode(lat, lng);
+        for (String cell : cells) {
+            if (hash.startsWith(cell)) return;
+        }
+        throw new AssertionError("(" + lat + ", " + lng + ") not covered by " + cells);
+    }
+}
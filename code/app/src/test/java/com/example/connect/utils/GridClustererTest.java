@@ -0,0 +1,121 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for GridClusterer grouping, culling and key stability.
+ */
+public class GridClustererTest {
+
+    private static final GeoHash.BoundingBox EDMONTON = new GeoHash.BoundingBox(53.4, -113.7, 53.7, -113.3);
+
+    private static class Point {
+        final String id;
+        final double lat;
+        final double lng;
+
+        Point(String id, double lat, double lng) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+        }
+    }
+
+    private List<GridClusterer.Cluster<Point>> cluster(List<Point> points, GeoHash.BoundingBox viewport, float zoom) {
+        return GridClusterer.cluster(points, p -> new double[]{p.lat, p.lng}, p -> p.id, viewport, zoom);
+    }
+
+    @Test
+    public void testClosePointsFormOneCluster() {
+        List<Point> points = Arrays.asList(
+                new Point("a", 53.5461, -113.4938),
+                new Point("b", 53.5462, -113.4937),
+                new Point("c", 53.5463, -113.4939));
+
+        List<GridClusterer.Cluster<Point>> clusters = cluster(points, EDMONTON, 10);
+
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).size());
+        assertEquals(53.5462, clusters.get(0).getLatitude(), 0.0001);
+    }
+
+    @Test
+    public void testDistantPointsStaySeparate() {
+        List<Point> points = Arrays.asList(
+                new Point("a", 53.45, -113.65),
+                new Point("b", 53.65, -113.35));
+
+        List<GridClusterer.Cluster<Point>> clusters = cluster(points, EDMONTON, 12);
+
+        assertEquals(2, clusters.size());
+        assertEquals("p:a", clusters.get(0).getKey());
+        assertEquals("p:b", clusters.get(1).getKey());
+    }
+
+    @Test
+    public void testPointsOutsideViewportAreCulled() {
+        List<Point> points = Arrays.asList(
+                new Point("edmonton", 53.5461, -113.4938),
+                new Point("calgary", 51.0447, -114.0719));
+
+        List<GridClusterer.Cluster<Point>> clusters = cluster(points, EDMONTON, 12);
+
+        assertEquals(1, clusters.size());
+        assertEquals("edmonton", clusters.get(0).getItems().get(0).id);
+    }
+
+    @Test
+    public void testNoGroupingAtMaxZoom() {
+        List<Point> points = Arrays.asList(
+                new Point("a", 53.5461, -113.4938),
+                new Point("b", 53.5461, -113.4938));
+        GeoHash.BoundingBox tiny = GeoHash.BoundingBox.aroundPoint(53.5461, -113.4938, 100);
+
+        List<GridClusterer.Cluster<Point>> clusters = cluster(points, tiny, GridClusterer.MAX_CLUSTER_ZOOM);
+
+        assertEquals(2, clusters.size());
+    }
+
+    @Test
+    public void testKeysAreStableAcrossRuns() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(new Point("p" + i, 53.5 + i * 0.001, -113.5));
+        }
+
+        List<GridClusterer.Cluster<Point>> first = cluster(points, EDMONTON, 9);
+        List<GridClusterer.Cluster<Point>> second = cluster(points, EDMONTON, 9);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getKey(), second.get(i).getKey());
+        }
+        int total = 0;
+        for (GridClusterer.Cluster<Point> c : first) total += c.size();
+        assertEquals(50, total);
+        assertTrue(first.size() < 50);
+    }
+
+    @Test
+    public void testKeysAreStableWithinAZoomLevel() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            points.add(new Point("p" + i, 53.5 + i * 0.001, -113.5 + i * 0.002));
+        }
+
+        List<GridClusterer.Cluster<Point>> start = cluster(points, EDMONTON, 9.1f);
+        List<GridClusterer.Cluster<Point>> pinched = cluster(points, EDMONTON, 9.9f);
+
+        assertEquals(start.size(), pinched.size());
+        for (int i = 0; i < start.size(); i++) {
+            assertEquals(start.get(i).getKey(), pinched.get(i).getKey());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Unit tests for JankMetrics frame aggregation and reporting.
+ */
+public class JankMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        JankMetrics.reset();
+    }
+
+    @Test
+    public void testRecord_CountsFramesJankAndPercentiles() {
+        JankMetrics.Counter counter = JankMetrics.counter("EventListActivity");
+        for (int i = 0; i < 90; i++) {
+            JankMetrics.record(counter, 8_000_000L, false);
+        }
+        for (int i = 0; i < 10; i++) {
+            JankMetrics.record(counter, 50_000_000L, true);
+        }
+
+        List<JankMetrics.ScreenStats> stats = JankMetrics.snapshot();
+        assertEquals(1, stats.size());
+        JankMetrics.ScreenStats s = stats.get(0);
+        assertEquals(100, s.getFrames());
+        assertEquals(10, s.getJanky());
+        assertEquals(10.0, s.getJankPercent(), 0.001);
+        assertEquals(8.0, s.getP50Millis(), 0.5);
+        assertEquals(50.0, s.getP99Millis(), 3.5);
+        assertTrue(JankMetrics.report().contains("100 frames, 10 janky"));
+    }
+
+    @Test
+    public void testSnapshot_SortsByJankyFrames() {
+        JankMetrics.record(JankMetrics.counter("Smooth"), 8_000_000L, false);
+        JankMetrics.record(JankMetrics.counter("Janky"), 40_000_000L, true);
+
+        assertEquals("Janky", JankMetrics.snapshot().get(0).getScreen());
+    }
+
+    @Test
+    public void testDump_AppendsRowsUnderOneHeader() throws Exception {
+        JankMetrics.record(JankMetrics.counter("MyEventsActivity"), 16_000_000L, false);
+        File file = new File(folder.getRoot(), JankMetrics.DUMP_FILE);
+
+        JankMetrics.dump(file);
+        JankMetrics.dump(file);
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("time,screen,frames,janky,p50_ms"));
+        assertTrue(lines.get(1).contains(",MyEventsActivity,1,0,"));
+    }
+}
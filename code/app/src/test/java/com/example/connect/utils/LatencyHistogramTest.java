@@ -0,0 +1,92 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for LatencyHistogram bucketing, percentiles and concurrent recording.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets_AreContiguousAndCoverTheirValues() {
+        int last = LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE);
+        for (int i = 0; i < last; i++) {
+            assertEquals(LatencyHistogram.highestEquivalentValue(i) + 1,
+                    LatencyHistogram.lowestEquivalentValue(i + 1));
+            assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.lowestEquivalentValue(i)));
+            assertEquals(i, LatencyHistogram.indexOf(LatencyHistogram.highestEquivalentValue(i)));
+        }
+    }
+
+    @Test
+    public void testBuckets_StayWithinSevenPercent() {
+        for (long value = 1; value < LatencyHistogram.MAX_VALUE; value = value * 3 + 7) {
+            long high = LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(value));
+            assertTrue(high >= value);
+            assertTrue("value " + value, high - value <= value / 15 + 1);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50_500, histogram.getMean(), 0.001);
+        assertWithin(50_000, histogram.getValueAtPercentile(50));
+        assertWithin(99_000, histogram.getValueAtPercentile(99));
+        assertWithin(100_000, histogram.getMax());
+    }
+
+    @Test
+    public void testEmptyAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getMax());
+
+        histogram.record(42);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(3, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testConcurrentRecording_LosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        assertEquals(40_000, histogram.getCount());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                Math.abs(actual - expected) <= expected / 15);
+    }
+}
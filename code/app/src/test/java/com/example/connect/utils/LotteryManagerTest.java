@@ -0,0 +1,354 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.*;
+
+import com.example.connect.data.Accounts;
+import com.example.connect.data.ChunkedBatch;
+import com.example.connect.data.Document;
+import com.example.connect.data.DocumentStore;
+import com.example.connect.data.Events;
+import com.example.connect.data.InMemoryDocumentStore;
+import com.example.connect.data.Notifications;
+import com.example.connect.data.Query;
+import com.example.connect.data.WaitingLists;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs LotteryManager end to end against an InMemoryDocumentStore: every future the
+ * store returns is already complete, so each draw finishes before the call returns.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LotteryManagerTest {
+
+    private static final String EVENT_ID = "lottery-event";
+
+    private InMemoryDocumentStore store;
+    private LotteryManager lotteryManager;
+    private final int[] result = { -1, -1 };
+    private final String[] failure = { null };
+
+    private final LotteryManager.LotteryCallback callback = new LotteryManager.LotteryCallback() {
+        @Override
+        public void onSuccess(int selectedCount, int waitingListCount) {
+            result[0] = selectedCount;
+            result[1] = waitingListCount;
+        }
+
+        @Override
+        public void onFailure(String error) {
+            failure[0] = error;
+        }
+    };
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore(() -> 0L, new Random(1));
+        lotteryManager = new LotteryManager(store, new NotificationHelper(store));
+    }
+
+    private void seed(int capacity, int entrants) {
+        // Chunked, since the store rejects batches over Firestore's write limit like Firestore does
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+        Map<String, Object> event = new HashMap<>();
+        event.put(Events.FIELD_TITLE, "Swim Lessons");
+        event.put(Events.FIELD_ORGANIZER_ID, "org1");
+        event.put(Events.FIELD_DRAW_CAPACITY, capacity);
+        event.put(Events.FIELD_DRAW_COMPLETED, false);
+        batch.reserve(1).set(Events.path(EVENT_ID), event);
+
+        for (int i = 0; i < entrants; i++) {
+            Map<String, Object> entrant = new HashMap<>();
+            entrant.put(WaitingLists.FIELD_USER_ID, "u" + i);
+            entrant.put(WaitingLists.FIELD_STATUS, WaitingLists.STATUS_WAITING);
+            DocumentStore.Batch chunk = batch.reserve(2);
+            chunk.set(WaitingLists.entrantPath(EVENT_ID, "u" + i), entrant);
+
+            Map<String, Object> account = new HashMap<>();
+            account.put(Accounts.FIELD_NOTIFICATIONS_ENABLED, true);
+            chunk.set(Accounts.path("u" + i), account);
+        }
+        batch.commit().join();
+        store.resetCounts();
+    }
+
+    @Test
+    public void testAutomaticLotterySelectsCapacity() throws Exception {
+        seed(3, 10);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertNull(failure[0]);
+        assertEquals(3, result[0]);
+        assertEquals(10, result[1]);
+
+        List<Document> selected = new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get();
+        assertEquals(3, selected.size());
+        for (Document entrant : selected) {
+            String userId = entrant.getString(WaitingLists.FIELD_USER_ID);
+            assertNotNull(entrant.getDate(WaitingLists.FIELD_SELECTED_DATE));
+            assertEquals(WaitingLists.STATUS_SELECTED, new Accounts(store).myEvent(userId, EVENT_ID).get()
+                    .getString(Accounts.FIELD_STATUS));
+            assertEquals(1, new Notifications(store).inbox(userId).get().size());
+        }
+
+        Document event = store.get(Events.path(EVENT_ID)).get();
+        assertEquals(Boolean.TRUE, event.getBoolean(Events.FIELD_DRAW_COMPLETED));
+        assertEquals(Long.valueOf(3), event.getLong(Events.FIELD_SELECTED_COUNT));
+
+        Map<String, Long> counts = new WaitingLists(store).counts(EVENT_ID).get();
+        assertEquals(Long.valueOf(3), counts.get(WaitingLists.STATUS_SELECTED));
+        assertEquals(Long.valueOf(-3), counts.get(WaitingLists.STATUS_WAITING));
+    }
+
+    @Test
+    public void testEveryEntrantIsNotifiedAndLogged() throws Exception {
+        seed(2, 5);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        // 2 "selected" plus 3 "waiting list" notifications, each logged with the organizer
+        int delivered = 0;
+        for (int i = 0; i < 5; i++) {
+            delivered += new Notifications(store).inbox("u" + i).get().size();
+        }
+        assertEquals(5, delivered);
+        List<Document> logged = new Notifications(store).logEntries(Notifications.monthKey(System.currentTimeMillis())).get();
+        assertEquals(5, logged.size());
+        for (Document entry : logged) {
+            assertEquals("org1", entry.getString(Notifications.FIELD_ORGANIZER_ID));
+        }
+    }
+
+    @Test
+    public void testDrawCommitsInOneBatch() {
+        seed(50, 200);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertEquals(50, result[0]);
+        // Event + 200 waiting entrants read before the draw; the 150 left waiting read again after
+        assertTrue(store.getReadCount() >= 1 + 200 + 150);
+        // The recorded winners, then 50 entrants, 50 my-events entries, 1 counter shard and the event
+        long drawWrites = 1 + 50 + 50 + 1 + 1;
+        // then one inbox write and one log entry per notified entrant, plus the month document
+        assertEquals(drawWrites + 200 * 2 + 1, store.getWriteCount());
+    }
+
+    @Test
+    public void testDrawOverTheBatchLimitIsSplitAcrossCommits() throws Exception {
+        // 300 winners need 600 entrant and my-events writes, over the 500 one commit allows
+        seed(300, 400);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertNull(failure[0]);
+        assertEquals(300, result[0]);
+        assertEquals(300, new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get().size());
+        assertEquals(WaitingLists.STATUS_SELECTED, new Accounts(store).myEvent("u0", EVENT_ID).get()
+                .getString(Accounts.FIELD_STATUS));
+        Document event = store.get(Events.path(EVENT_ID)).get();
+        assertEquals(Boolean.TRUE, event.getBoolean(Events.FIELD_DRAW_COMPLETED));
+        assertEquals(Long.valueOf(300), event.getLong(Events.FIELD_SELECTED_COUNT));
+        assertEquals(Long.valueOf(300), new WaitingLists(store).counts(EVENT_ID).get()
+                .get(WaitingLists.STATUS_SELECTED));
+        assertNull(event.get(Events.FIELD_PENDING_WINNERS));
+    }
+
+    @Test
+    public void testDrawThatFailsPartWayIsResumedWithTheSameWinners() throws Exception {
+        // Commits: the recorded winners, 250 winners (500 writes), then 50 more with the event
+        seed(300, 400);
+        FailingStore flaky = new FailingStore(store);
+        flaky.failCommit(3);
+
+        new LotteryManager(flaky, new NotificationHelper(store)).performAutomaticLottery(EVENT_ID, callback);
+
+        assertNotNull(failure[0]);
+        Document interrupted = store.get(Events.path(EVENT_ID)).get();
+        assertEquals(Boolean.FALSE, interrupted.getBoolean(Events.FIELD_DRAW_COMPLETED));
+        Map<String, String> recorded = Events.pendingWinners(interrupted);
+        assertEquals(300, recorded.size());
+        assertEquals(250, new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get().size());
+
+        failure[0] = null;
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertNull(failure[0]);
+        assertEquals(300, result[0]);
+        assertEquals(400, result[1]);
+        List<Document> selected = new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get();
+        assertEquals(300, selected.size());
+        for (Document entrant : selected) {
+            assertTrue(recorded.containsKey(entrant.getId()));
+        }
+        Document event = store.get(Events.path(EVENT_ID)).get();
+        assertEquals(Boolean.TRUE, event.getBoolean(Events.FIELD_DRAW_COMPLETED));
+        assertNull(event.get(Events.FIELD_PENDING_WINNERS));
+        // Counted once, for every winner, whichever attempt wrote them
+        Map<String, Long> counts = new WaitingLists(store).counts(EVENT_ID).get();
+        assertEquals(Long.valueOf(300), counts.get(WaitingLists.STATUS_SELECTED));
+        assertEquals(Long.valueOf(-300), counts.get(WaitingLists.STATUS_WAITING));
+    }
+
+    @Test
+    public void testResumedDrawDropsWinnersWhoLeft() throws Exception {
+        seed(2, 5);
+        Map<String, String> winners = new HashMap<>();
+        winners.put("u1", "u1");
+        winners.put("u2", "u2");
+        new Events(store).startDraw(EVENT_ID, winners).join();
+        store.delete(WaitingLists.entrantPath(EVENT_ID, "u2")).join();
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertNull(failure[0]);
+        assertEquals(1, result[0]);
+        List<Document> selected = new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get();
+        assertEquals(1, selected.size());
+        assertEquals("u1", selected.get(0).getId());
+        assertEquals(Long.valueOf(1), store.get(Events.path(EVENT_ID)).get().getLong(Events.FIELD_SELECTED_COUNT));
+    }
+
+    @Test
+    public void testEmptyWaitingListCompletesDraw() throws Exception {
+        seed(5, 0);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertNull(failure[0]);
+        assertEquals(0, result[0]);
+        assertEquals(0, result[1]);
+        assertEquals(Boolean.TRUE, store.get(Events.path(EVENT_ID)).get().getBoolean(Events.FIELD_DRAW_COMPLETED));
+    }
+
+    @Test
+    public void testCompletedDrawIsNotRepeated() {
+        seed(2, 4);
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        assertEquals("Lottery already completed", failure[0]);
+    }
+
+    @Test
+    public void testReplacementLotteryDrawsFromRemainingWaiting() throws Exception {
+        seed(2, 4);
+        lotteryManager.performAutomaticLottery(EVENT_ID, callback);
+
+        lotteryManager.performReplacementLottery(EVENT_ID, "Swim Lessons", 1, callback);
+
+        assertEquals(1, result[0]);
+        assertEquals(2, result[1]);
+        assertEquals(3, new WaitingLists(store)
+                .entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_SELECTED).get().size());
+    }
+
+    @Test
+    public void testMissingEventFails() {
+        lotteryManager.performAutomaticLottery("missing", callback);
+
+        assertEquals("Event not found", failure[0]);
+    }
+
+    /**
+     * Passes everything through to another store, except that one chosen batch commit fails
+     * without writing anything, as a dropped connection would.
+     */
+    private static final class FailingStore implements DocumentStore {
+
+        private final DocumentStore delegate;
+        private int commitsUntilFailure;
+
+        FailingStore(DocumentStore delegate) {
+            this.delegate = delegate;
+        }
+
+        /** Fails the {@code n}th batch commit from now. */
+        void failCommit(int n) {
+            commitsUntilFailure = n;
+        }
+
+        @Override
+        public CompletableFuture<Document> get(String path) {
+            return delegate.get(path);
+        }
+
+        @Override
+        public CompletableFuture<List<Document>> query(Query query) {
+            return delegate.query(query);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> runTransaction(TransactionFunction<T> function) {
+            return delegate.runTransaction(function);
+        }
+
+        @Override
+        public String newId() {
+            return delegate.newId();
+        }
+
+        @Override
+        public Batch batch() {
+            Batch batch = delegate.batch();
+            return new Batch() {
+                @Override
+                public Batch set(String path, Map<String, Object> data) {
+                    batch.set(path, data);
+                    return this;
+                }
+
+                @Override
+                public Batch set(String path, Map<String, Object> data, boolean merge) {
+                    batch.set(path, data, merge);
+                    return this;
+                }
+
+                @Override
+                public Batch update(String path, Map<String, Object> data) {
+                    batch.update(path, data);
+                    return this;
+                }
+
+                @Override
+                public Batch delete(String path) {
+                    batch.delete(path);
+                    return this;
+                }
+
+                @Override
+                public int size() {
+                    return batch.size();
+                }
+
+                @Override
+                public CompletableFuture<Void> commit() {
+                    if (--commitsUntilFailure == 0) {
+                        CompletableFuture<Void> failed = new CompletableFuture<>();
+                        failed.completeExceptionally(new RuntimeException("Connection lost"));
+                        return failed;
+                    }
+                    return batch.commit();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the admin search prefix index.
+ */
+public class SearchTokensTest {
+
+    @Test
+    public void testWords_SplitsOnPunctuationAndLowercases() {
+        assertEquals(Arrays.asList("jane", "doe", "mail", "com"),
+                SearchTokens.words("Jane.Doe@Mail.com"));
+        assertEquals(Arrays.asList("music", "club"), SearchTokens.words("  music_club "));
+        assertTrue(SearchTokens.words(null).isEmpty());
+    }
+
+    @Test
+    public void testBuild_IndexesEveryPrefixOnce() {
+        List<String> tokens = SearchTokens.build("Ann", "an");
+        assertEquals(Arrays.asList("a", "an", "ann"), tokens);
+    }
+
+    @Test
+    public void testBuild_CapsPrefixLength() {
+        List<String> tokens = SearchTokens.build("abcdefghijklmnopqrstuvwxyz");
+        assertEquals(SearchTokens.MAX_PREFIX, tokens.size());
+        assertEquals("abcdefghijklmno", tokens.get(tokens.size() - 1));
+    }
+
+    @Test
+    public void testQueryToken_PicksLongestWordTruncated() {
+        assertEquals("festival", SearchTokens.queryToken("Art festival 25"));
+        assertEquals("abcdefghijklmno", SearchTokens.queryToken("abcdefghijklmnopqrstuvwxyz"));
+        assertNull(SearchTokens.queryToken("  -- "));
+    }
+
+    @Test
+    public void testQueryTokenIsAlwaysIndexed() {
+        List<String> tokens = SearchTokens.build("Supercalifragilistic Festival");
+        assertTrue(tokens.contains(SearchTokens.queryToken("supercalifragilistic")));
+        assertTrue(tokens.contains(SearchTokens.queryToken("fest super")));
+    }
+
+    @Test
+    public void testMatches_EveryWordMustStartAWord() {
+        assertTrue(SearchTokens.matches("TECH ex", "Tech Expo", "org"));
+        assertTrue(SearchTokens.matches("expo tech", "Tech Expo"));
+        assertTrue(SearchTokens.matches("club", "Music Fest", "music_club"));
+        assertFalse(SearchTokens.matches("xpo", "Tech Expo"));
+        assertFalse(SearchTokens.matches("tech fair", "Tech Expo"));
+    }
+
+    @Test
+    public void testMatches_EmptyQueryMatchesEverything() {
+        assertTrue(SearchTokens.matches("", (String) null));
+        assertTrue(SearchTokens.matches("   ", "anything"));
+    }
+
+    @Test
+    public void testPutFromFields_UsesStringFieldsAndExtras() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("display_name", "Bo");
+        data.put("full_name", 42L);
+        SearchTokens.putFromFields(data, new String[]{"display_name", "full_name", "email"}, "U1");
+
+        assertEquals(Arrays.asList("b", "bo", "u", "u1"), data.get(SearchTokens.FIELD));
+    }
+}
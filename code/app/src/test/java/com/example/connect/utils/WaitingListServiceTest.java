@@ -0,0 +1,312 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateQuery;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for WaitingListService: how join rejections are reported, and the join
+ * transaction itself. Firestore is mocked over an in-memory map of document paths, and
+ * transactions run their function once, synchronously.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class WaitingListServiceTest {
+
+    private static final String EVENT_ID = "event1";
+    private static final String USER_ID = "user1";
+    private static final String ORGANIZER_ID = "organizer1";
+
+    private static final String EVENT_PATH = "events/" + EVENT_ID;
+    private static final String LIST_PATH = "waiting_lists/" + EVENT_ID;
+    private static final String ENTRANT_PATH = LIST_PATH + "/entrants/" + USER_ID;
+    private static final String INDEX_PATH = "accounts/" + USER_ID + "/myevents/" + EVENT_ID;
+
+    private final Map<String, Map<String, Object>> documents = new HashMap<>();
+    private final Map<String, DocumentReference> refs = new HashMap<>();
+    private final Map<String, CollectionReference> collections = new HashMap<>();
+    private final Map<String, DocumentSnapshot> snapshots = new HashMap<>();
+    private final List<String> transactionWrites = new ArrayList<>();
+    private final List<String> batchWrites = new ArrayList<>();
+
+    private FirebaseFirestore db;
+    private WaitingListService service;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        db = mock(FirebaseFirestore.class);
+
+        document(EVENT_PATH);
+        document(ENTRANT_PATH);
+        CollectionReference entrants = collections.get(LIST_PATH + "/entrants");
+        document(INDEX_PATH);
+        for (int i = 0; i < EntrantCounters.NUM_SHARDS; i++) {
+            document(LIST_PATH + "/counters/shard_" + i);
+        }
+        when(db.collection(anyString())).thenAnswer(i -> collections.get((String) i.getArgument(0)));
+
+        // Legacy seeding: 3 entrants, all waiting
+        AggregateQuerySnapshot three = mock(AggregateQuerySnapshot.class);
+        when(three.getCount()).thenReturn(3L);
+        AggregateQuery countAll = mock(AggregateQuery.class);
+        when(countAll.get(AggregateSource.SERVER)).thenReturn(Tasks.forResult(three));
+        when(entrants.count()).thenReturn(countAll);
+        Query byStatus = mock(Query.class);
+        when(byStatus.count()).thenReturn(countAll);
+        when(entrants.whereEqualTo(anyString(), any())).thenReturn(byStatus);
+
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.get(any(DocumentReference.class)))
+                .thenAnswer(i -> snapshots.get(((DocumentReference) i.getArgument(0)).getPath()));
+        when(transaction.set(any(DocumentReference.class), any()))
+                .thenAnswer(i -> record(transactionWrites, i.getArgument(0), transaction));
+        when(transaction.set(any(DocumentReference.class), any(), any(SetOptions.class)))
+                .thenAnswer(i -> record(transactionWrites, i.getArgument(0), transaction));
+        when(db.runTransaction(any(Transaction.Function.class))).thenAnswer(i -> {
+            try {
+                return Tasks.forResult(((Transaction.Function<Object>) i.getArgument(0)).apply(transaction));
+            } catch (Exception e) {
+                return Tasks.forException(e);
+            }
+        });
+
+        WriteBatch batch = mock(WriteBatch.class);
+        when(batch.set(any(DocumentReference.class), any()))
+                .thenAnswer(i -> record(batchWrites, i.getArgument(0), batch));
+        when(batch.set(any(DocumentReference.class), any(), any(SetOptions.class)))
+                .thenAnswer(i -> record(batchWrites, i.getArgument(0), batch));
+        when(batch.delete(any(DocumentReference.class)))
+                .thenAnswer(i -> record(batchWrites, i.getArgument(0), batch));
+        when(batch.commit()).thenAnswer(i -> {
+            // The seed batch marks the waiting list as counted
+            Map<String, Object> list = documents.get(LIST_PATH);
+            list.put(EntrantCounters.FIELD_SEEDED, true);
+            list.put(EntrantCounters.FIELD_ENTRANT_COUNT, 3L);
+            return Tasks.forResult(null);
+        });
+        when(db.batch()).thenReturn(batch);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("event_title", "Swim Lessons");
+        event.put("organizer_id", ORGANIZER_ID);
+        documents.put(EVENT_PATH, event);
+
+        Map<String, Object> list = new HashMap<>();
+        list.put("total_capacity", 2L);
+        list.put(EntrantCounters.FIELD_SEEDED, true);
+        list.put(EntrantCounters.FIELD_ENTRANT_COUNT, 0L);
+        documents.put(LIST_PATH, list);
+
+        service = new WaitingListService(db);
+    }
+
+    private CollectionReference collection(String path) {
+        CollectionReference collection = mock(CollectionReference.class);
+        when(collection.document(anyString())).thenAnswer(i -> refs.get(path + "/" + i.getArgument(0)));
+        collections.put(path, collection);
+        return collection;
+    }
+
+    /** Registers a document, its snapshot, and any parent collections/documents not seen yet. */
+    private void document(String path) {
+        String parent = path.substring(0, path.lastIndexOf('/'));
+        if (!collections.containsKey(parent)) {
+            collection(parent);
+        }
+        if (parent.contains("/") && !refs.containsKey(parent.substring(0, parent.lastIndexOf('/')))) {
+            document(parent.substring(0, parent.lastIndexOf('/')));
+        }
+
+        DocumentSnapshot snapshot = mock(DocumentSnapshot.class);
+        when(snapshot.exists()).thenAnswer(i -> documents.containsKey(path));
+        when(snapshot.getString(anyString())).thenAnswer(i -> field(path, i.getArgument(0)));
+        when(snapshot.getLong(anyString())).thenAnswer(i -> field(path, i.getArgument(0)));
+        when(snapshot.getBoolean(anyString())).thenAnswer(i -> field(path, i.getArgument(0)));
+        snapshots.put(path, snapshot);
+
+        DocumentReference ref = mock(DocumentReference.class);
+        when(ref.getPath()).thenReturn(path);
+        when(ref.collection(anyString())).thenAnswer(i -> collections.get(path + "/" + i.getArgument(0)));
+        when(ref.get()).thenAnswer(i -> Tasks.forResult(snapshot));
+        refs.put(path, ref);
+    }
+
+    private Object field(String path, String field) {
+        Map<String, Object> data = documents.get(path);
+        return data != null ? data.get(field) : null;
+    }
+
+    private static <T> T record(List<String> writes, DocumentReference ref, T result) {
+        writes.add(ref.getPath());
+        return result;
+    }
+
+    private Task<Void> join(String userId) {
+        Task<Void> task = service.join(EVENT_ID, userId, null, null);
+        shadowOf(Looper.getMainLooper()).idle();
+        return task;
+    }
+
+    private static WaitingListService.JoinRejection rejection(Task<?> task) {
+        assertFalse(task.isSuccessful());
+        return WaitingListService.getJoinRejection(task.getException());
+    }
+
+    @Test
+    public void testGetJoinRejection_ReturnsReason() {
+        Exception e = new WaitingListService.JoinRejectedException(WaitingListService.JoinRejection.ALREADY_JOINED);
+
+        assertEquals(WaitingListService.JoinRejection.ALREADY_JOINED, WaitingListService.getJoinRejection(e));
+        assertEquals("You're already on the waiting list", e.getMessage());
+    }
+
+    @Test
+    public void testGetJoinRejection_FullMessageIncludesCapacity() {
+        Exception e = new WaitingListService.JoinRejectedException(WaitingListService.JoinRejection.FULL,
+                "Waiting list is full (50 entrants)");
+
+        assertEquals(WaitingListService.JoinRejection.FULL, WaitingListService.getJoinRejection(e));
+        assertEquals("Waiting list is full (50 entrants)", e.getMessage());
+    }
+
+    @Test
+    public void testGetJoinRejection_OtherErrorsAreNotRejections() {
+        assertNull(WaitingListService.getJoinRejection(new RuntimeException("network")));
+        assertNull(WaitingListService.getJoinRejection(null));
+    }
+
+    @Test
+    public void testIsNotOnList() {
+        assertTrue(WaitingListService.isNotOnList(new FirebaseFirestoreException("missing",
+                FirebaseFirestoreException.Code.NOT_FOUND)));
+        assertFalse(WaitingListService.isNotOnList(new FirebaseFirestoreException("denied",
+                FirebaseFirestoreException.Code.PERMISSION_DENIED)));
+    }
+
+    @Test
+    public void testJoin_WritesEntrantCountersAndIndex() {
+        Task<Void> task = join(USER_ID);
+
+        assertTrue(task.isSuccessful());
+        assertTrue(transactionWrites.contains(ENTRANT_PATH));
+        assertTrue(transactionWrites.contains(LIST_PATH));
+        assertTrue(transactionWrites.contains(INDEX_PATH));
+        // entrant, one counter shard, entrant_count and the My Events entry
+        assertEquals(4, transactionWrites.size());
+    }
+
+    @Test
+    public void testJoin_RejectsWhenAtCapacity() {
+        documents.get(LIST_PATH).put(EntrantCounters.FIELD_ENTRANT_COUNT, 2L);
+
+        Task<Void> task = join(USER_ID);
+
+        assertEquals(WaitingListService.JoinRejection.FULL, rejection(task));
+        assertEquals("Waiting list is full (2 entrants)", task.getException().getMessage());
+        assertTrue(transactionWrites.isEmpty());
+    }
+
+    @Test
+    public void testJoin_UnlimitedWhenCapacityIsZero() {
+        documents.get(LIST_PATH).put("total_capacity", 0L);
+        documents.get(LIST_PATH).put(EntrantCounters.FIELD_ENTRANT_COUNT, 500L);
+
+        assertTrue(join(USER_ID).isSuccessful());
+    }
+
+    @Test
+    public void testJoin_RejectsDuplicate() {
+        Map<String, Object> entrant = new HashMap<>();
+        entrant.put("user_id", USER_ID);
+        entrant.put("status", "waiting");
+        documents.put(ENTRANT_PATH, entrant);
+
+        Task<Void> task = join(USER_ID);
+
+        assertEquals(WaitingListService.JoinRejection.ALREADY_JOINED, rejection(task));
+        assertTrue(transactionWrites.isEmpty());
+    }
+
+    @Test
+    public void testJoin_RejectsOrganizer() {
+        document(LIST_PATH + "/entrants/" + ORGANIZER_ID);
+        document("accounts/" + ORGANIZER_ID + "/myevents/" + EVENT_ID);
+
+        Task<Void> task = join(ORGANIZER_ID);
+
+        assertEquals(WaitingListService.JoinRejection.ORGANIZER, rejection(task));
+        assertTrue(transactionWrites.isEmpty());
+    }
+
+    @Test
+    public void testJoin_RejectsMissingEvent() {
+        documents.remove(EVENT_PATH);
+
+        assertEquals(WaitingListService.JoinRejection.EVENT_NOT_FOUND, rejection(join(USER_ID)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testJoin_SeedsLegacyWaitingListAndRetries() {
+        documents.get(LIST_PATH).remove(EntrantCounters.FIELD_SEEDED);
+        documents.get(LIST_PATH).remove(EntrantCounters.FIELD_ENTRANT_COUNT);
+        documents.get(LIST_PATH).put("total_capacity", 10L);
+
+        Task<Void> task = join(USER_ID);
+
+        assertTrue(task.isSuccessful());
+        verify(db, times(2)).runTransaction(any(Transaction.Function.class));
+        // shard_0 holds the seeded counts, the other shards are cleared, the list is flagged
+        assertTrue(batchWrites.contains(LIST_PATH + "/counters/shard_0"));
+        assertTrue(batchWrites.contains(LIST_PATH));
+        assertEquals(EntrantCounters.NUM_SHARDS + 1, batchWrites.size());
+        assertTrue(transactionWrites.contains(ENTRANT_PATH));
+    }
+
+    @Test
+    public void testJoin_SeededListAtCapacityIsFullOnRetry() {
+        documents.get(LIST_PATH).remove(EntrantCounters.FIELD_SEEDED);
+        documents.get(LIST_PATH).remove(EntrantCounters.FIELD_ENTRANT_COUNT);
+        documents.get(LIST_PATH).put("total_capacity", 3L);
+
+        assertEquals(WaitingListService.JoinRejection.FULL, rejection(join(USER_ID)));
+        assertTrue(transactionWrites.isEmpty());
+    }
+}
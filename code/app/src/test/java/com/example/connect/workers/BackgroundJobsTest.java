@@ -0,0 +1,54 @@
+package com.example.connect.workers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.work.WorkInfo;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for how BackgroundJobs names jobs and reports their status.
+ */
+public class BackgroundJobsTest {
+
+    @Test
+    public void testWorkName_IsUniquePerJob() {
+        assertEquals("job_abc123", BackgroundJobs.workName("abc123"));
+    }
+
+    @Test
+    public void testWorkName_IsSharedByJobsForTheSameTarget() {
+        assertEquals(BackgroundJobs.workName("draw:event1"), BackgroundJobs.workName("draw:event1"));
+        assertFalse(BackgroundJobs.workName("draw:event1").equals(BackgroundJobs.workName("draw:event2")));
+        assertFalse(BackgroundJobs.workName("draw:u1").equals(BackgroundJobs.workName("cascade:u1")));
+    }
+
+    @Test
+    public void testStatusOf_UnknownWorkIsQueued() {
+        BackgroundJobs.JobStatus status = BackgroundJobs.statusOf((WorkInfo) null);
+
+        assertEquals(BackgroundJobs.STATE_QUEUED, status.getState());
+        assertFalse(status.isFinished());
+        assertNull(status.getMessage());
+        assertEquals(-1, status.getTotal());
+    }
+
+    @Test
+    public void testJobStatus_FinishedStates() {
+        BackgroundJobs.JobStatus succeeded =
+                new BackgroundJobs.JobStatus(BackgroundJobs.STATE_SUCCEEDED, "Done", 3, 3);
+        BackgroundJobs.JobStatus failed =
+                new BackgroundJobs.JobStatus(BackgroundJobs.STATE_FAILED, "No entrants", 0, -1);
+        BackgroundJobs.JobStatus running =
+                new BackgroundJobs.JobStatus(BackgroundJobs.STATE_RUNNING, "Sent to 100", 100, -1);
+
+        assertTrue(succeeded.isFinished());
+        assertTrue(succeeded.isSucceeded());
+        assertTrue(failed.isFinished());
+        assertFalse(failed.isSucceeded());
+        assertFalse(running.isFinished());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.connect.workers;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for how NotificationLogCompactionWorker groups and batches old log entries.
+ */
+public class NotificationLogCompactionWorkerTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+    // 2025-11-03T12:00:00Z
+    private static final long NOV_3 = 1762171200000L;
+
+    private static DocumentSnapshot log(long millis, String type) {
+        DocumentSnapshot doc = mock(DocumentSnapshot.class);
+        when(doc.getTimestamp("timestamp")).thenReturn(new Timestamp(new Date(millis)));
+        when(doc.getString("type")).thenReturn(type);
+        return doc;
+    }
+
+    @Test
+    public void testSummarize_CountsPerDayAndType() {
+        List<DocumentSnapshot> docs = Arrays.asList(
+                log(NOV_3, "chosen"),
+                log(NOV_3 + 1000, "chosen"),
+                log(NOV_3 + 2000, "custom"),
+                log(NOV_3 + DAY_MS, null));
+
+        Map<String, Map<String, Integer>> days = NotificationLogCompactionWorker.summarize(docs);
+
+        assertEquals(2, days.size());
+        assertEquals(Integer.valueOf(2), days.get("2025-11-03").get("chosen"));
+        assertEquals(Integer.valueOf(1), days.get("2025-11-03").get("custom"));
+        assertEquals(Integer.valueOf(1), days.get("2025-11-04").get("general"));
+    }
+
+    @Test
+    public void testFitInBatch_OneDayLeavesRoomForMonthAndSummary() {
+        List<DocumentSnapshot> docs = new ArrayList<>();
+        for (int i = 0; i < NotificationLogCompactionWorker.MAX_BATCH_WRITES; i++) {
+            docs.add(log(NOV_3 + i, "chosen"));
+        }
+
+        // 498 deletes + 1 summary + 1 month document
+        assertEquals(498, NotificationLogCompactionWorker.fitInBatch(docs));
+    }
+
+    @Test
+    public void testFitInBatch_ManyDaysStayWithinLimit() {
+        List<DocumentSnapshot> docs = new ArrayList<>();
+        for (int i = 0; i < NotificationLogCompactionWorker.MAX_BATCH_WRITES; i++) {
+            docs.add(log(NOV_3 + i * DAY_MS, "chosen"));
+        }
+
+        // Each entry on its own day costs a delete and a summary; 245 days span 9 months,
+        // so 245 * 2 + 9 = 499 writes and one more entry would not fit
+        assertEquals(245, NotificationLogCompactionWorker.fitInBatch(docs));
+    }
+}
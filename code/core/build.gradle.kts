@@ -0,0 +1,28 @@
+// Plain-Java code shared with :app that does not need the Android SDK, so it can be
+// unit tested and microbenchmarked on a regular JVM.
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
+
+// ./gradlew :core:jmh                       runs every benchmark
+// ./gradlew :core:jmh -PjmhInclude=Csv      runs the benchmarks whose name matches
+// Results go to core/build/results/jmh/results.txt; compare with core/benchmarks/baseline.txt
+jmh {
+    jmhVersion = libs.versions.jmh
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    timeUnit = "us"
+    resultFormat = "TEXT"
+    project.findProperty("jmhInclude")?.let { includes.add(it.toString()) }
+}
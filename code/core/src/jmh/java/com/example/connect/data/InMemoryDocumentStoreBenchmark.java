@@ -0,0 +1,83 @@
+package com.example.connect.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lottery's data access against {@link InMemoryDocumentStore}: loading the waiting
+ * entrants, then marking 500 winners in one batch against one commit per winner.
+ * <p>
+ * The store does no I/O, so these numbers are the cost of the data layer itself: a
+ * deterministic baseline for comparing batching and caching strategies before trying them
+ * against the emulator. In memory a commit is cheap, so batching barely changes the score
+ * here; on a device each separate commit is also a network round trip.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryDocumentStoreBenchmark {
+
+    private static final String EVENT_ID = "draw";
+    private static final int WINNERS = 500;
+
+    @Param({"10000", "100000"})
+    public int entrants;
+
+    private InMemoryDocumentStore store;
+    private WaitingLists waitingLists;
+    private final Date drawn = new Date(0);
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryDocumentStore(() -> 0L, new Random(1));
+        waitingLists = new WaitingLists(store, new Random(2));
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+        for (int i = 0; i < entrants; i++) {
+            Map<String, Object> entrant = new HashMap<>();
+            entrant.put(WaitingLists.FIELD_USER_ID, "u" + i);
+            entrant.put(WaitingLists.FIELD_STATUS, WaitingLists.STATUS_WAITING);
+            entrant.put("joined_date", new Date(i));
+            batch.reserve(1).set(WaitingLists.entrantPath(EVENT_ID, "u" + i), entrant);
+        }
+        batch.commit().join();
+    }
+
+    @Benchmark
+    public List<Document> loadWaiting() {
+        return waitingLists.entrantsWithStatus(EVENT_ID, WaitingLists.STATUS_WAITING).join();
+    }
+
+    @Benchmark
+    public void selectBatched() {
+        DocumentStore.Batch batch = store.batch();
+        for (int i = 0; i < WINNERS; i++) {
+            waitingLists.markSelected(batch, EVENT_ID, "u" + i, drawn);
+        }
+        batch.commit().join();
+    }
+
+    @Benchmark
+    public void selectIndividually() {
+        for (int i = 0; i < WINNERS; i++) {
+            DocumentStore.Batch batch = store.batch();
+            waitingLists.markSelected(batch, EVENT_ID, "u" + i, drawn);
+            batch.commit().join();
+        }
+    }
+}
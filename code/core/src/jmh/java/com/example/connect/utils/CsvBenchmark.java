@@ -0,0 +1,102 @@
+package com.example.connect.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporting enrolled entrants: {@link CsvWriter} streaming rows against
+ * {@link CsvUtils#buildEnrolledEntrantsCsv} building the whole file as one string.
+ * <p>
+ * Both write to a writer that discards its input, so the numbers measure formatting and
+ * copying rather than disk speed.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvBenchmark {
+
+    private static final String EVENT_NAME = "Swim Lessons, Beginner \"A\"";
+    private static final String EVENT_ID = "kq3V8x2pLmN0aB7cD9eF";
+
+    /**
+     * Accepts and drops everything, counting chars so the work cannot be optimized away.
+     */
+    private static class DiscardingWriter extends Writer {
+        long chars;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            chars += length;
+        }
+
+        @Override
+        public void write(String value, int offset, int length) {
+            chars += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Param({"10000", "100000"})
+    public int rowCount;
+
+    private List<CsvUtils.CsvRow> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            // Every tenth name needs quoting, like real names with commas or nicknames
+            String name = i % 10 == 0 ? "Doe, Jane \"JD\" " + i : "Jane Doe " + i;
+            rows.add(new CsvUtils.CsvRow(name, "user" + i + "@example.com",
+                    "780-555-" + (1000 + i % 9000), "2025-11-0" + (1 + i % 9) + " 10:30"));
+        }
+    }
+
+    @Benchmark
+    public long buildString() {
+        DiscardingWriter out = new DiscardingWriter();
+        String csv = CsvUtils.buildEnrolledEntrantsCsv(EVENT_NAME, EVENT_ID, rows);
+        out.write(csv, 0, csv.length());
+        return out.chars;
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        DiscardingWriter out = new DiscardingWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.row("Name", "Email", "Phone", "Joined Date", "Event Name", "Event Id");
+        for (CsvUtils.CsvRow row : rows) {
+            csv.field(row.name)
+                    .field(row.email)
+                    .field(row.phone)
+                    .field(row.joinedDate)
+                    .field(EVENT_NAME)
+                    .field(EVENT_ID)
+                    .endRow();
+        }
+        csv.flush();
+        return out.chars;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.connect.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing an event date: {@link EventDates#parseToMillis} with its cached formatters against
+ * creating a {@link SimpleDateFormat} per attempt, as the event list used to.
+ * <p>
+ * The second date is in the last format tried, the worst case for both.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventDatesBenchmark {
+
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "dd/MM/yyyy",
+            "MM/dd/yyyy",
+            "yyyy-MM-dd",
+            "MMM dd, yyyy",
+            "dd MMM yyyy"
+    };
+
+    @Param({"2025-11-20T18:30:00", "20 Nov 2025"})
+    public String date;
+
+    @Benchmark
+    public long newFormatPerCall() throws ParseException {
+        for (String pattern : PATTERNS) {
+            try {
+                Date parsed = new SimpleDateFormat(pattern, Locale.ENGLISH).parse(date);
+                if (parsed != null) {
+                    return parsed.getTime();
+                }
+            } catch (ParseException ignored) {
+            }
+        }
+        throw new ParseException("Unable to parse date: " + date, 0);
+    }
+
+    @Benchmark
+    public long cachedFormats() throws ParseException {
+        return EventDates.parseToMillis(date);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.connect.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering the event list by search query, interest and location: {@link EventFilters#apply}
+ * against the list-per-filter, lower-case-every-field chain the event list used before.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventFiltersBenchmark {
+
+    private static final String[] CATEGORIES = {"Sports", "Music", "Arts", "Education", "Community"};
+    private static final String[] CITIES = {"Edmonton", "Calgary", "Red Deer", "St. Albert"};
+
+    private static final class SampleEvent implements EventFilters.Filterable {
+        final String name;
+        final String location;
+        final String category;
+        final String description;
+        final String dateTime;
+        final List<String> labels;
+
+        SampleEvent(int i) {
+            name = "Community Event " + i;
+            location = (i * 7) + " Main Street, " + CITIES[i % CITIES.length];
+            category = CATEGORIES[i % CATEGORIES.length];
+            description = "A weekly gathering for neighbours of all ages. Bring a friend! #" + i;
+            dateTime = "2025-11-" + (10 + i % 20) + "T18:30:00";
+            labels = Arrays.asList(category, i % 2 == 0 ? "Outdoors" : "Indoors");
+        }
+
+        @Override public String getName() { return name; }
+        @Override public String getLocation() { return location; }
+        @Override public String getCategory() { return category; }
+        @Override public String getDescription() { return description; }
+        @Override public String getDateTime() { return dateTime; }
+        @Override public List<String> getLabels() { return labels; }
+    }
+
+    @Param({"500", "5000"})
+    public int eventCount;
+
+    private List<SampleEvent> events;
+    private EventFilters.Criteria criteria;
+
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new SampleEvent(i));
+        }
+        criteria = new EventFilters.Criteria("weekly", "", "outdoors", "edmonton");
+    }
+
+    @Benchmark
+    public List<SampleEvent> singlePass() {
+        return EventFilters.apply(events, criteria);
+    }
+
+    @Benchmark
+    public List<SampleEvent> chainedFilters() {
+        List<SampleEvent> filtered = new ArrayList<>(events);
+
+        List<SampleEvent> bySearch = new ArrayList<>();
+        String query = criteria.query.toLowerCase();
+        for (SampleEvent event : filtered) {
+            if ((event.name != null && event.name.toLowerCase().contains(query))
+                    || (event.location != null && event.location.toLowerCase().contains(query))
+                    || (event.category != null && event.category.toLowerCase().contains(query))
+                    || (event.description != null && event.description.toLowerCase().contains(query))) {
+                bySearch.add(event);
+            }
+        }
+        filtered = bySearch;
+
+        List<SampleEvent> byInterest = new ArrayList<>();
+        String interest = criteria.interest.toLowerCase(Locale.getDefault());
+        for (SampleEvent event : filtered) {
+            for (String label : event.labels) {
+                if (label != null && label.toLowerCase(Locale.getDefault()).contains(interest)) {
+                    byInterest.add(event);
+                    break;
+                }
+            }
+        }
+        filtered = byInterest;
+
+        List<SampleEvent> byLocation = new ArrayList<>();
+        String location = criteria.location.toLowerCase();
+        for (SampleEvent event : filtered) {
+            if (event.location != null && event.location.toLowerCase().contains(location)) {
+                byLocation.add(event);
+            }
+        }
+        return byLocation;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.connect.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing lottery winners from a waiting list: {@link LotterySelection#select} against the
+ * shuffle-everything-then-take-the-head approach {@code LotteryManager} used before.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LotterySelectionBenchmark {
+
+    @Param({"10000", "100000"})
+    public int entrants;
+
+    @Param({"20", "500"})
+    public int winners;
+
+    private List<String> waitingList;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        waitingList = new ArrayList<>(entrants);
+        for (int i = 0; i < entrants; i++) {
+            waitingList.add("entrant-" + i);
+        }
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public List<String> shuffleAll() {
+        List<String> copy = new ArrayList<>(waitingList);
+        Collections.shuffle(copy, random);
+        return new ArrayList<>(copy.subList(0, Math.min(winners, copy.size())));
+    }
+
+    @Benchmark
+    public List<String> partialShuffle() {
+        return LotterySelection.select(waitingList, winners, random);
+    }
+}
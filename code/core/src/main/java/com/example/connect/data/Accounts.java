@@ -0,0 +1,167 @@
+package com.example.connect.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User accounts at {@code accounts/{userId}} and each user's My Events index at
+ * {@code accounts/{userId}/myevents/{eventId}}.
+ * <p>
+ * The index mirrors the user's entrant documents. Indexes written before every membership
+ * change maintained it can be partial or stale, so each account records the
+ * {@link #FIELD_MY_EVENTS_VERSION} its index was last reconciled at; {@link #loadMyEvents}
+ * rebuilds any index older than {@link #MY_EVENTS_VERSION} from the entrants once.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class Accounts {
+
+    public static final String COLLECTION = "accounts";
+    public static final String MY_EVENTS = "myevents";
+
+    public static final String FIELD_NOTIFICATIONS_ENABLED = "notificationsEnabled";
+    public static final String FIELD_EVENT_ID = "event_id";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_TIMESTAMP = "timestamp";
+    public static final String FIELD_MY_EVENTS_VERSION = "myevents_version";
+
+    /** Bump to have every user's My Events index reconciled again on their next load. */
+    public static final long MY_EVENTS_VERSION = 1;
+
+    /** Entrant documents read per page while reconciling. */
+    static final int RECONCILE_PAGE_SIZE = 200;
+
+    private final DocumentStore store;
+
+    public Accounts(DocumentStore store) {
+        this.store = store;
+    }
+
+    public static String path(String userId) {
+        return Paths.join(COLLECTION, userId);
+    }
+
+    public static String myEventPath(String userId, String eventId) {
+        return Paths.join(COLLECTION, userId, MY_EVENTS, eventId);
+    }
+
+    public CompletableFuture<Document> get(String userId) {
+        return store.get(path(userId));
+    }
+
+    /**
+     * @return false only if the user turned notifications off; missing accounts and accounts
+     * that never chose count as enabled
+     */
+    public static boolean notificationsEnabled(Document account) {
+        Boolean enabled = account.getBoolean(FIELD_NOTIFICATIONS_ENABLED);
+        return enabled == null || enabled;
+    }
+
+    /**
+     * Adds a status upsert of the user's My Events entry to an existing batch.
+     */
+    public void putMyEventStatus(DocumentStore.Batch batch, String userId, String eventId, String status) {
+        if (userId == null || eventId == null) return;
+        Map<String, Object> entry = new HashMap<>();
+        entry.put(FIELD_EVENT_ID, eventId);
+        entry.put(FIELD_STATUS, status);
+        entry.put(FIELD_TIMESTAMP, FieldValues.serverTimestamp());
+        batch.set(myEventPath(userId, eventId), entry, true);
+    }
+
+    public CompletableFuture<Document> myEvent(String userId, String eventId) {
+        return store.get(myEventPath(userId, eventId));
+    }
+
+    /**
+     * Loads the user's My Events index, reconciling it with their entrant documents first
+     * if it has not been reconciled at the current {@link #MY_EVENTS_VERSION}.
+     *
+     * @return event id to the user's status in that event
+     */
+    public CompletableFuture<Map<String, String>> loadMyEvents(String userId) {
+        CompletableFuture<List<Document>> index =
+                store.query(Query.collection(Paths.join(COLLECTION, userId, MY_EVENTS)));
+        return get(userId).thenCombine(index, (account, entries) -> {
+            Map<String, String> statuses = new HashMap<>();
+            for (Document entry : entries) {
+                statuses.put(entry.getId(), entry.getString(FIELD_STATUS));
+            }
+            // Deleted accounts are not recreated just to hold the version
+            return isReconciled(account) || !account.exists()
+                    ? CompletableFuture.completedFuture(statuses)
+                    : reconcileMyEvents(userId, statuses);
+        }).thenCompose(loaded -> loaded);
+    }
+
+    private static boolean isReconciled(Document account) {
+        Long version = account.getLong(FIELD_MY_EVENTS_VERSION);
+        return version != null && version >= MY_EVENTS_VERSION;
+    }
+
+    /**
+     * Rebuilds the user's index from every entrant document that references them: missing
+     * and outdated entries are written, entries with no entrant behind them are removed, and
+     * the account is stamped with {@link #MY_EVENTS_VERSION}. Entrants are read in pages and
+     * the writes are committed in {@link ChunkedBatch chunks}, so any number of memberships
+     * is handled.
+     *
+     * @param indexed the index as it is now, event id to status
+     * @return the reconciled index
+     */
+    public CompletableFuture<Map<String, String>> reconcileMyEvents(String userId, Map<String, String> indexed) {
+        Query entrants = Query.collectionGroup(WaitingLists.ENTRANTS)
+                .whereEqualTo(WaitingLists.FIELD_USER_ID, userId)
+                .orderBy(Query.DOCUMENT_ID)
+                .limit(RECONCILE_PAGE_SIZE);
+
+        return readMemberships(entrants, null, new HashMap<>()).thenCompose(memberships -> {
+            ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+            for (Map.Entry<String, String> membership : memberships.entrySet()) {
+                String eventId = membership.getKey();
+                String status = membership.getValue();
+                if (!indexed.containsKey(eventId) || !equal(indexed.get(eventId), status)) {
+                    putMyEventStatus(batch.reserve(1), userId, eventId, status);
+                }
+            }
+            for (String eventId : indexed.keySet()) {
+                if (!memberships.containsKey(eventId)) {
+                    batch.reserve(1).delete(myEventPath(userId, eventId));
+                }
+            }
+
+            // Stamped last, so an interrupted reconcile is simply redone next time
+            Map<String, Object> version = new HashMap<>();
+            version.put(FIELD_MY_EVENTS_VERSION, MY_EVENTS_VERSION);
+            batch.reserve(1).set(path(userId), version, true);
+
+            return batch.commit().thenApply(ignored -> memberships);
+        });
+    }
+
+    private CompletableFuture<Map<String, String>> readMemberships(Query entrants, Document after,
+                                                                 Map<String, String> memberships) {
+        Query page = after != null ? entrants.startAfter(after) : entrants;
+        return store.query(page).thenCompose(documents -> {
+            for (Document entrant : documents) {
+                // waiting_lists/{eventId}/entrants/{entrantId}
+                String waitingList = Paths.parent(Paths.parent(entrant.getPath()));
+                if (Paths.parent(waitingList).equals(WaitingLists.COLLECTION)) {
+                    memberships.put(Paths.lastSegment(waitingList), entrant.getString(WaitingLists.FIELD_STATUS));
+                }
+            }
+            if (documents.size() < RECONCILE_PAGE_SIZE) {
+                return CompletableFuture.completedFuture(memberships);
+            }
+            return readMemberships(entrants, documents.get(documents.size() - 1), memberships);
+        });
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
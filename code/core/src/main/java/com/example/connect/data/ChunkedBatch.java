@@ -0,0 +1,129 @@
+package com.example.connect.data;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Spreads writes over as many batches as needed so that none exceeds a write limit
+ * ({@link DocumentStore#MAX_BATCH_WRITES} for Firestore), committing each full batch as the
+ * next one starts and the last one on {@link #commit()}.
+ * <p>
+ * Batches commit one after another, each only if the previous one succeeded. Each batch is
+ * atomic, the whole is not: if one fails, the ones before it stay written and the ones after
+ * it are not attempted. Callers put writes that must land together (an entrant and its
+ * My Events entry) in one {@link #reserve} and whatever marks the work as done (e.g. the
+ * event's {@code draw_completed}) last. Not thread-safe.
+ * <p>
+ * The batch type is generic so the same chunking serves {@link DocumentStore.Batch}es
+ * ({@link #of(DocumentStore)}) and the app's Firestore {@code WriteBatch}es.
+ *
+ * @param <B> the batch type writes are added to
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class ChunkedBatch<B> {
+
+    /**
+     * Commits one full batch.
+     */
+    public interface Committer<B> {
+        /**
+         * @param writes how many writes were reserved in the batch
+         */
+        CompletableFuture<Void> commit(B batch, int writes);
+    }
+
+    private final Supplier<B> batches;
+    private final int maxWrites;
+    private final Committer<B> committer;
+    private CompletableFuture<Void> committed = CompletableFuture.completedFuture(null);
+    private B current;
+    private int writes;
+    private int size;
+    private int chunks;
+
+    /**
+     * @param batches   creates an empty batch
+     * @param maxWrites most writes one batch may hold
+     * @param committer commits a batch once it is full
+     */
+    public ChunkedBatch(Supplier<B> batches, int maxWrites, Committer<B> committer) {
+        if (maxWrites <= 0) {
+            throw new IllegalArgumentException("maxWrites must be positive: " + maxWrites);
+        }
+        this.batches = batches;
+        this.maxWrites = maxWrites;
+        this.committer = committer;
+    }
+
+    /**
+     * @return a chunked batch over the store's batches, within Firestore's write limit
+     */
+    public static ChunkedBatch<DocumentStore.Batch> of(DocumentStore store) {
+        return of(store, DocumentStore.MAX_BATCH_WRITES);
+    }
+
+    public static ChunkedBatch<DocumentStore.Batch> of(DocumentStore store, int maxWrites) {
+        return new ChunkedBatch<>(store::batch, maxWrites, (batch, writes) -> batch.commit());
+    }
+
+    /**
+     * Starts a new batch if the current one has no room for {@code count} more writes,
+     * handing the full one to the committer.
+     *
+     * @param count how many writes the caller is about to add
+     * @return the batch to add them to, which has room for all of them
+     */
+    public B reserve(int count) {
+        if (count > maxWrites) {
+            throw new IllegalArgumentException(count + " writes do not fit in one batch of " + maxWrites);
+        }
+        if (current != null && writes + count > maxWrites) {
+            commitCurrent();
+        }
+        if (current == null) {
+            current = batches.get();
+            writes = 0;
+            chunks++;
+        }
+        writes += count;
+        size += count;
+        return current;
+    }
+
+    /**
+     * @return number of writes reserved so far, across all batches
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of batches the writes were spread over
+     */
+    public int chunks() {
+        return chunks;
+    }
+
+    /**
+     * Commits the current batch after the full ones before it.
+     *
+     * @return a future failing with the first batch's error, if any
+     */
+    public CompletableFuture<Void> commit() {
+        if (current != null) {
+            commitCurrent();
+        }
+        CompletableFuture<Void> result = committed;
+        committed = CompletableFuture.completedFuture(null);
+        return result;
+    }
+
+    private void commitCurrent() {
+        B full = current;
+        int count = writes;
+        current = null;
+        writes = 0;
+        committed = committed.thenCompose(ignored -> committer.commit(full, count));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.connect.data;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of one document, as returned by every {@link DocumentStore}.
+ * <p>
+ * Values use the types Firestore reads back on the JVM: {@code String}, {@code Long},
+ * {@code Double}, {@code Boolean}, {@link Date} for timestamps, {@code List} and {@code Map}.
+ * Getters take a field name or a dotted path into nested maps.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class Document {
+
+    private final String path;
+    private final Map<String, Object> data;
+
+    /**
+     * @param path document path
+     * @param data field values, or null for a document that does not exist; the map and
+     *             anything nested in it must not be modified afterwards
+     */
+    public Document(String path, Map<String, Object> data) {
+        this(Paths.requireDocument(path), data == null ? null : Collections.unmodifiableMap(data), true);
+    }
+
+    // For stores that already validated the path and froze the data
+    Document(String path, Map<String, Object> data, boolean trusted) {
+        this.path = path;
+        this.data = data;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getId() {
+        return Paths.lastSegment(path);
+    }
+
+    public boolean exists() {
+        return data != null;
+    }
+
+    /**
+     * @return every field, empty for a missing document
+     */
+    public Map<String, Object> getData() {
+        return data != null ? data : Collections.emptyMap();
+    }
+
+    public boolean contains(String field) {
+        return get(field) != null;
+    }
+
+    /**
+     * @return the value at a field or dotted path, or null if absent
+     */
+    public Object get(String field) {
+        return data == null ? null : valueAt(data, field);
+    }
+
+    static Object valueAt(Map<String, Object> data, String field) {
+        Object value = data.get(field);
+        if (value != null || field.indexOf('.') < 0) {
+            return value;
+        }
+        Object current = data;
+        for (String part : field.split("\\.")) {
+            if (!(current instanceof Map)) return null;
+            current = ((Map<?, ?>) current).get(part);
+        }
+        return current;
+    }
+
+    public String getString(String field) {
+        Object value = get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    public Long getLong(String field) {
+        Object value = get(field);
+        return value instanceof Number ? ((Number) value).longValue() : null;
+    }
+
+    public Double getDouble(String field) {
+        Object value = get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    public Boolean getBoolean(String field) {
+        Object value = get(field);
+        return value instanceof Boolean ? (Boolean) value : null;
+    }
+
+    public Date getDate(String field) {
+        Object value = get(field);
+        return value instanceof Date ? (Date) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Object> getList(String field) {
+        Object value = get(field);
+        return value instanceof List ? (List<Object>) value : null;
+    }
+
+    @Override
+    public String toString() {
+        return path + (data != null ? " " + data : " (missing)");
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.connect.data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The document database the repositories in this package are written against.
+ * <p>
+ * The app runs on a Firestore-backed implementation; unit tests and benchmarks use
+ * {@link InMemoryDocumentStore}. Paths are slash-separated ({@code accounts/u1/myevents/e1}),
+ * data maps may contain {@link FieldValues} sentinels and nested maps, and every operation
+ * completes a future, on whatever thread the implementation finishes on.
+ * <p>
+ * Semantics follow Firestore: {@code update} fails on a missing document and takes dotted
+ * field paths, a merging {@code set} merges nested maps, batches are atomic, and a
+ * transaction must do all its reads before its writes.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public interface DocumentStore {
+
+    /** Most writes Firestore accepts in one batch or transaction; see {@link ChunkedBatch}. */
+    int MAX_BATCH_WRITES = 500;
+
+    /**
+     * Writes applied together, all or nothing, by {@link #commit()}.
+     */
+    interface Batch {
+        Batch set(String path, Map<String, Object> data);
+
+        Batch set(String path, Map<String, Object> data, boolean merge);
+
+        Batch update(String path, Map<String, Object> data);
+
+        Batch delete(String path);
+
+        /**
+         * @return number of writes added so far
+         */
+        int size();
+
+        CompletableFuture<Void> commit();
+    }
+
+    /**
+     * The view a {@link TransactionFunction} gets of the store. Reads block and see the state
+     * as of the transaction; writes are applied when the function returns.
+     */
+    interface Transaction {
+        /**
+         * @throws Exception the store's own read failure, unchanged, so that the store can
+         *                   tell a contended read it should retry from any other error
+         */
+        Document get(String path) throws Exception;
+
+        Transaction set(String path, Map<String, Object> data);
+
+        Transaction set(String path, Map<String, Object> data, boolean merge);
+
+        Transaction update(String path, Map<String, Object> data);
+
+        Transaction delete(String path);
+    }
+
+    /**
+     * Body of a transaction. It may run more than once, so it must not have side effects
+     * outside the transaction.
+     */
+    interface TransactionFunction<T> {
+        T apply(Transaction transaction) throws Exception;
+    }
+
+    /**
+     * @return the document, which may not {@link Document#exists() exist}
+     */
+    CompletableFuture<Document> get(String path);
+
+    CompletableFuture<List<Document>> query(Query query);
+
+    Batch batch();
+
+    <T> CompletableFuture<T> runTransaction(TransactionFunction<T> function);
+
+    /**
+     * @return a new random document id, unique for practical purposes
+     */
+    String newId();
+
+    default CompletableFuture<Void> set(String path, Map<String, Object> data) {
+        return batch().set(path, data).commit();
+    }
+
+    default CompletableFuture<Void> set(String path, Map<String, Object> data, boolean merge) {
+        return batch().set(path, data, merge).commit();
+    }
+
+    default CompletableFuture<Void> update(String path, Map<String, Object> data) {
+        return batch().update(path, data).commit();
+    }
+
+    default CompletableFuture<Void> delete(String path) {
+        return batch().delete(path).commit();
+    }
+
+    /**
+     * Creates a document with a new id in a collection.
+     *
+     * @return the new document's id
+     */
+    default CompletableFuture<String> add(String collectionPath, Map<String, Object> data) {
+        String id = newId();
+        return set(Paths.requireCollection(collectionPath) + "/" + id, data).thenApply(ignored -> id);
+    }
+}
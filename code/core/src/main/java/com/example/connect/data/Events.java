@@ -0,0 +1,101 @@
+package com.example.connect.data;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Event documents at {@code events/{eventId}}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class Events {
+
+    public static final String COLLECTION = "events";
+
+    public static final String FIELD_TITLE = "event_title";
+    public static final String FIELD_ORGANIZER_ID = "organizer_id";
+    public static final String FIELD_DRAW_CAPACITY = "draw_capacity";
+    public static final String FIELD_DRAW_COMPLETED = "draw_completed";
+    public static final String FIELD_DRAW_DATE = "draw_date";
+    public static final String FIELD_SELECTED_COUNT = "selected_count";
+    public static final String FIELD_UPDATED_AT = "updated_at";
+    /** Winners of a draw that has started but not finished, entrant id to user id. */
+    public static final String FIELD_PENDING_WINNERS = "pending_winners";
+
+    private final DocumentStore store;
+
+    public Events(DocumentStore store) {
+        this.store = store;
+    }
+
+    public static String path(String eventId) {
+        return Paths.join(COLLECTION, eventId);
+    }
+
+    public CompletableFuture<Document> get(String eventId) {
+        return store.get(path(eventId));
+    }
+
+    /**
+     * @return the event's organizer, or null if the event or the field is missing
+     */
+    public CompletableFuture<String> organizerId(String eventId) {
+        return get(eventId).thenApply(event -> event.getString(FIELD_ORGANIZER_ID));
+    }
+
+    /**
+     * Records the winners of a draw before any of them is written. A draw too large for one
+     * batch is committed in several; if one fails part way, the next attempt finishes these
+     * winners instead of drawing new ones.
+     *
+     * @param winners entrant id to user id
+     */
+    public CompletableFuture<Void> startDraw(String eventId, Map<String, String> winners) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(FIELD_PENDING_WINNERS, new HashMap<String, Object>(winners));
+        return store.update(path(eventId), updates);
+    }
+
+    /**
+     * @return the winners recorded by {@link #startDraw} for a draw that has not finished,
+     * entrant id to user id, or null if no draw is in progress
+     */
+    public static Map<String, String> pendingWinners(Document event) {
+        Object pending = event.get(FIELD_PENDING_WINNERS);
+        if (!(pending instanceof Map)) return null;
+
+        Map<String, String> winners = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> winner : ((Map<?, ?>) pending).entrySet()) {
+            winners.put(String.valueOf(winner.getKey()), (String) winner.getValue());
+        }
+        return winners;
+    }
+
+    /**
+     * Adds "the draw is done" to an existing batch.
+     */
+    public void completeDraw(DocumentStore.Batch batch, String eventId, int selectedCount, Date drawDate) {
+        batch.update(path(eventId), drawResult(selectedCount, drawDate));
+    }
+
+    /**
+     * Marks the draw done on its own, for draws that selected nobody.
+     */
+    public CompletableFuture<Void> completeDraw(String eventId, int selectedCount, Date drawDate) {
+        return store.update(path(eventId), drawResult(selectedCount, drawDate));
+    }
+
+    private static Map<String, Object> drawResult(int selectedCount, Date drawDate) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(FIELD_DRAW_COMPLETED, true);
+        updates.put(FIELD_DRAW_DATE, drawDate);
+        updates.put(FIELD_SELECTED_COUNT, selectedCount);
+        updates.put(FIELD_UPDATED_AT, FieldValues.serverTimestamp());
+        updates.put(FIELD_PENDING_WINNERS, FieldValues.delete());
+        return updates;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.connect.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Store-independent stand-ins for Firestore's {@code FieldValue} sentinels.
+ * <p>
+ * Repositories put these into the data they write; each {@link DocumentStore} turns them into
+ * its own representation (the Firestore adapter into {@code FieldValue}s, the in-memory store
+ * applies them itself while committing).
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class FieldValues {
+
+    private FieldValues() {
+        // Utility class
+    }
+
+    /**
+     * A write-time transform of one field.
+     */
+    public static final class Sentinel {
+
+        public enum Kind {
+            SERVER_TIMESTAMP,
+            INCREMENT,
+            ARRAY_UNION,
+            ARRAY_REMOVE,
+            DELETE
+        }
+
+        private final Kind kind;
+        private final Object operand;
+
+        private Sentinel(Kind kind, Object operand) {
+            this.kind = kind;
+            this.operand = operand;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * @return the amount of an increment
+         */
+        public Number getAmount() {
+            return (Number) operand;
+        }
+
+        /**
+         * @return the elements of an array union or removal
+         */
+        @SuppressWarnings("unchecked")
+        public List<Object> getElements() {
+            return (List<Object>) operand;
+        }
+
+        @Override
+        public String toString() {
+            return operand == null ? kind.toString() : kind + "(" + operand + ")";
+        }
+    }
+
+    private static final Sentinel SERVER_TIMESTAMP = new Sentinel(Sentinel.Kind.SERVER_TIMESTAMP, null);
+    private static final Sentinel DELETE = new Sentinel(Sentinel.Kind.DELETE, null);
+
+    /**
+     * The commit time, read back as a {@link java.util.Date}.
+     */
+    public static Sentinel serverTimestamp() {
+        return SERVER_TIMESTAMP;
+    }
+
+    /**
+     * Adds to a numeric field, treating a missing or non-numeric field as 0.
+     */
+    public static Sentinel increment(long amount) {
+        return new Sentinel(Sentinel.Kind.INCREMENT, amount);
+    }
+
+    public static Sentinel increment(double amount) {
+        return new Sentinel(Sentinel.Kind.INCREMENT, amount);
+    }
+
+    /**
+     * Adds each element not already present to an array field.
+     */
+    public static Sentinel arrayUnion(Object... elements) {
+        return new Sentinel(Sentinel.Kind.ARRAY_UNION, unmodifiable(elements));
+    }
+
+    /**
+     * Removes every occurrence of each element from an array field.
+     */
+    public static Sentinel arrayRemove(Object... elements) {
+        return new Sentinel(Sentinel.Kind.ARRAY_REMOVE, unmodifiable(elements));
+    }
+
+    /**
+     * Removes the field, in updates and merging sets only.
+     */
+    public static Sentinel delete() {
+        return DELETE;
+    }
+
+    private static List<Object> unmodifiable(Object[] elements) {
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(elements)));
+    }
+}
@@ -0,0 +1,646 @@
+package com.example.connect.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link DocumentStore} held in memory, for unit tests and benchmarks that need Firestore
+ * behaviour without a network, an emulator or the Android SDK.
+ * <p>
+ * Every future is already complete when returned, so code under test runs to the end
+ * synchronously and deterministically. Given a fixed clock and {@link Random}, generated ids
+ * and server timestamps are reproducible too.
+ * <p>
+ * Each collection is a sorted map from document id to data. Stored data is frozen (see
+ * {@code Values}), so reads hand out the stored maps without copying. Queries scan the
+ * collection: about 1 ms for 10k entrants and a few tens of ms for the scale tests' 100k
+ * (see {@code InMemoryDocumentStoreBenchmark}).
+ * A read-write lock makes batches atomic and runs transactions one at a time, which is the
+ * outcome Firestore's optimistic retries converge to. Like Firestore, a batch or transaction
+ * with more than {@value DocumentStore#MAX_BATCH_WRITES} writes is rejected as a whole.
+ * <p>
+ * Reads and writes are counted the way Firestore bills them (a query costs one read per
+ * result and at least one), so tests can assert the same budgets as the scale tests.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class InMemoryDocumentStore implements DocumentStore {
+
+    private static final String ID_CHARS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final int ID_LENGTH = 20;
+
+    /** Marks a field removed by {@link FieldValues#delete()} while a write is resolved. */
+    private static final Object REMOVED = new Object();
+
+    private enum WriteKind {
+        SET,
+        MERGE,
+        UPDATE,
+        DELETE
+    }
+
+    private static final class Write {
+        final WriteKind kind;
+        final String path;
+        final Map<String, Object> data;
+
+        Write(WriteKind kind, String path, Map<String, Object> data) {
+            this.kind = kind;
+            this.path = Paths.requireDocument(path);
+            this.data = data;
+        }
+    }
+
+    // Collection path -> document id -> data
+    private final Map<String, TreeMap<String, Map<String, Object>>> collections = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongSupplier clock;
+    private final Random random;
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+
+    public InMemoryDocumentStore() {
+        this(System::currentTimeMillis, new Random());
+    }
+
+    /**
+     * @param clock  source of server timestamps, in epoch milliseconds
+     * @param random source of generated document ids
+     */
+    public InMemoryDocumentStore(LongSupplier clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    // ------------------------------------------------------------------
+    // Reads
+    // ------------------------------------------------------------------
+
+    @Override
+    public CompletableFuture<Document> get(String path) {
+        try {
+            Paths.requireDocument(path);
+            lock.readLock().lock();
+            try {
+                reads.incrementAndGet();
+                return CompletableFuture.completedFuture(new Document(path, lookup(path), true));
+            } finally {
+                lock.readLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Document>> query(Query query) {
+        try {
+            lock.readLock().lock();
+            try {
+                List<Document> results = run(query);
+                reads.addAndGet(Math.max(1, results.size()));
+                return CompletableFuture.completedFuture(results);
+            } finally {
+                lock.readLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+    }
+
+    private Map<String, Object> lookup(String path) {
+        TreeMap<String, Map<String, Object>> collection = collections.get(Paths.parent(path));
+        return collection != null ? collection.get(Paths.lastSegment(path)) : null;
+    }
+
+    private List<Document> run(Query query) {
+        List<Document> matches = new ArrayList<>();
+        if (query.isCollectionGroup()) {
+            for (Map.Entry<String, TreeMap<String, Map<String, Object>>> collection : collections.entrySet()) {
+                if (Paths.lastSegment(collection.getKey()).equals(query.getPath())) {
+                    collect(query, collection.getKey(), collection.getValue(), matches);
+                }
+            }
+            if (query.getOrders().isEmpty()) {
+                matches.sort(BY_PATH);
+            }
+        } else {
+            TreeMap<String, Map<String, Object>> collection = collections.get(query.getPath());
+            if (collection != null) {
+                collect(query, query.getPath(), collection, matches);
+            }
+        }
+
+        if (!query.getOrders().isEmpty()) {
+            matches.sort(comparator(query));
+        }
+
+        List<Object> cursor = query.getStartAfter();
+        int limit = query.getLimit() > 0 ? query.getLimit() : Integer.MAX_VALUE;
+        List<Document> page = new ArrayList<>(Math.min(matches.size(), limit));
+        for (Document document : matches) {
+            if (page.size() >= limit) break;
+            if (cursor != null && compareToCursor(query, document, cursor) <= 0) continue;
+            page.add(document);
+        }
+        return page;
+    }
+
+    private static void collect(Query query, String collectionPath,
+                                TreeMap<String, Map<String, Object>> collection, List<Document> matches) {
+        for (Map.Entry<String, Map<String, Object>> entry : collection.entrySet()) {
+            if (matches(query, collectionPath, entry.getKey(), entry.getValue())) {
+                matches.add(new Document(collectionPath + "/" + entry.getKey(), entry.getValue(), true));
+            }
+        }
+    }
+
+    private static boolean matches(Query query, String collectionPath, String id, Map<String, Object> data) {
+        for (Query.Filter filter : query.getFilters()) {
+            Object value = Query.DOCUMENT_ID.equals(filter.getField())
+                    ? (query.isCollectionGroup() ? collectionPath + "/" + id : id)
+                    : Document.valueAt(data, filter.getField());
+            if (!matches(filter, value, data, filter.getField())) {
+                return false;
+            }
+        }
+        for (Query.Order order : query.getOrders()) {
+            if (!Query.DOCUMENT_ID.equals(order.getField()) && !hasField(data, order.getField())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Query.Filter filter, Object value, Map<String, Object> data, String field) {
+        Object operand = filter.getValue();
+        if (value == null && !Query.DOCUMENT_ID.equals(field) && !hasField(data, field)) {
+            return false;
+        }
+        switch (filter.getOperator()) {
+            case EQUAL:
+                return Values.equal(value, operand);
+            case NOT_EQUAL:
+                return value != null && !Values.equal(value, operand);
+            case LESS_THAN:
+                return comparable(value, operand) && Values.compare(value, operand) < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparable(value, operand) && Values.compare(value, operand) <= 0;
+            case GREATER_THAN:
+                return comparable(value, operand) && Values.compare(value, operand) > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparable(value, operand) && Values.compare(value, operand) >= 0;
+            case ARRAY_CONTAINS:
+                return value instanceof List && containsValue((List<?>) value, operand);
+            case IN:
+                return containsValue((List<?>) operand, value);
+            default:
+                return false;
+        }
+    }
+
+    // Range filters only match values of the same type, as in Firestore
+    private static boolean comparable(Object value, Object operand) {
+        return value != null && Values.rank(value) == Values.rank(operand);
+    }
+
+    private static boolean containsValue(List<?> list, Object value) {
+        for (Object element : list) {
+            if (Values.equal(element, value)) return true;
+        }
+        return false;
+    }
+
+    private static boolean hasField(Map<String, Object> data, String field) {
+        if (data.containsKey(field)) return true;
+        return field.indexOf('.') >= 0 && Document.valueAt(data, field) != null;
+    }
+
+    private static Object fieldValue(Query query, Document document, String field) {
+        if (Query.DOCUMENT_ID.equals(field)) {
+            return query.isCollectionGroup() ? document.getPath() : document.getId();
+        }
+        return document.get(field);
+    }
+
+    private static Comparator<Document> comparator(Query query) {
+        return (a, b) -> {
+            for (Query.Order order : query.getOrders()) {
+                int result = Values.compare(
+                        fieldValue(query, a, order.getField()),
+                        fieldValue(query, b, order.getField()));
+                if (result != 0) {
+                    return order.getDirection() == Query.Direction.DESCENDING ? -result : result;
+                }
+            }
+            return BY_PATH.compare(a, b);
+        };
+    }
+
+    private static int compareToCursor(Query query, Document document, List<Object> cursor) {
+        for (int i = 0; i < cursor.size(); i++) {
+            Query.Order order = query.getOrders().get(i);
+            int result = Values.compare(fieldValue(query, document, order.getField()), cursor.get(i));
+            if (result != 0) {
+                return order.getDirection() == Query.Direction.DESCENDING ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    // Firestore orders paths segment by segment, so "a/b" sorts before "a-b"
+    private static final Comparator<Document> BY_PATH = (a, b) -> {
+        String[] left = a.getPath().split("/");
+        String[] right = b.getPath().split("/");
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            int result = left[i].compareTo(right[i]);
+            if (result != 0) return result;
+        }
+        return Integer.compare(left.length, right.length);
+    };
+
+    // ------------------------------------------------------------------
+    // Writes
+    // ------------------------------------------------------------------
+
+    @Override
+    public Batch batch() {
+        return new MemoryBatch();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runTransaction(TransactionFunction<T> function) {
+        lock.writeLock().lock();
+        try {
+            MemoryTransaction transaction = new MemoryTransaction();
+            T result = function.apply(transaction);
+            apply(transaction.pending);
+            return CompletableFuture.completedFuture(result);
+        } catch (Exception e) {
+            return failed(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String newId() {
+        StringBuilder id = new StringBuilder(ID_LENGTH);
+        synchronized (random) {
+            for (int i = 0; i < ID_LENGTH; i++) {
+                id.append(ID_CHARS.charAt(random.nextInt(ID_CHARS.length())));
+            }
+        }
+        return id.toString();
+    }
+
+    private CompletableFuture<Void> commit(List<Write> batchWrites) {
+        lock.writeLock().lock();
+        try {
+            apply(batchWrites);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return failed(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves every write against the current state, and only then applies them all.
+     * Must be called with the write lock held.
+     */
+    private void apply(List<Write> pending) {
+        if (pending.isEmpty()) return;
+        if (pending.size() > MAX_BATCH_WRITES) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT,
+                    pending.size() + " writes in one commit; at most " + MAX_BATCH_WRITES + " are allowed");
+        }
+        Date now = new Date(clock.getAsLong());
+
+        // Path -> new data, or null for a deletion
+        Map<String, Map<String, Object>> staged = new LinkedHashMap<>();
+        for (Write write : pending) {
+            Map<String, Object> current = staged.containsKey(write.path) ? staged.get(write.path) : lookup(write.path);
+            Map<String, Object> next;
+            switch (write.kind) {
+                case SET:
+                    next = merge(Collections.emptyMap(), write.data, now, false);
+                    break;
+                case MERGE:
+                    next = merge(current != null ? current : Collections.emptyMap(), write.data, now, true);
+                    break;
+                case UPDATE:
+                    if (current == null) {
+                        throw new StoreException(StoreException.Code.NOT_FOUND,
+                                "No document to update: " + write.path);
+                    }
+                    next = update(current, write.data, now);
+                    break;
+                default:
+                    next = null;
+                    break;
+            }
+            staged.put(write.path, next);
+        }
+
+        for (Map.Entry<String, Map<String, Object>> entry : staged.entrySet()) {
+            String collectionPath = Paths.parent(entry.getKey());
+            String id = Paths.lastSegment(entry.getKey());
+            if (entry.getValue() != null) {
+                collections.computeIfAbsent(collectionPath, key -> new TreeMap<>())
+                        .put(id, Collections.unmodifiableMap(entry.getValue()));
+            } else {
+                TreeMap<String, Map<String, Object>> collection = collections.get(collectionPath);
+                if (collection != null) {
+                    collection.remove(id);
+                    if (collection.isEmpty()) {
+                        collections.remove(collectionPath);
+                    }
+                }
+            }
+        }
+        writes.addAndGet(pending.size());
+    }
+
+    /**
+     * Merges {@code data} into {@code base}, recursing into nested maps; with
+     * {@code allowDelete} false this is a plain set.
+     */
+    private static Map<String, Object> merge(Map<String, Object> base, Map<String, Object> data,
+                                             Date now, boolean allowDelete) {
+        Map<String, Object> result = new HashMap<>(base);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String field = entry.getKey();
+            Object value = entry.getValue();
+            Object resolved;
+            if (value instanceof Map) {
+                Object existing = result.get(field);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nestedBase = allowDelete && existing instanceof Map
+                        ? (Map<String, Object>) existing : Collections.emptyMap();
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                resolved = Collections.unmodifiableMap(merge(nestedBase, nested, now, allowDelete));
+            } else if (value instanceof FieldValues.Sentinel) {
+                FieldValues.Sentinel sentinel = (FieldValues.Sentinel) value;
+                if (!allowDelete && sentinel.getKind() == FieldValues.Sentinel.Kind.DELETE) {
+                    throw new StoreException(StoreException.Code.INVALID_ARGUMENT,
+                            "FieldValues.delete() can only be used in updates and merging sets");
+                }
+                resolved = resolve(result.get(field), sentinel, now);
+            } else {
+                resolved = Values.freeze(value);
+            }
+            if (resolved == REMOVED) {
+                result.remove(field);
+            } else {
+                result.put(field, resolved);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies an update whose keys are field paths, e.g. {@code "address.city"}.
+     */
+    private static Map<String, Object> update(Map<String, Object> base, Map<String, Object> data, Date now) {
+        Map<String, Object> result = new HashMap<>(base);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            updatePath(result, entry.getKey().split("\\."), 0, entry.getValue(), now);
+        }
+        return result;
+    }
+
+    private static void updatePath(Map<String, Object> target, String[] parts, int index, Object value, Date now) {
+        String field = parts[index];
+        if (index == parts.length - 1) {
+            Object resolved;
+            if (value instanceof FieldValues.Sentinel) {
+                resolved = resolve(target.get(field), (FieldValues.Sentinel) value, now);
+            } else if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                resolved = Collections.unmodifiableMap(merge(Collections.emptyMap(), nested, now, false));
+            } else {
+                resolved = Values.freeze(value);
+            }
+            if (resolved == REMOVED) {
+                target.remove(field);
+            } else {
+                target.put(field, resolved);
+            }
+            return;
+        }
+        Object existing = target.get(field);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> child = existing instanceof Map
+                ? new HashMap<>((Map<String, Object>) existing) : new HashMap<>();
+        updatePath(child, parts, index + 1, value, now);
+        target.put(field, Collections.unmodifiableMap(child));
+    }
+
+    private static Object resolve(Object existing, FieldValues.Sentinel sentinel, Date now) {
+        switch (sentinel.getKind()) {
+            case SERVER_TIMESTAMP:
+                return new Date(now.getTime());
+            case INCREMENT: {
+                Number amount = sentinel.getAmount();
+                if (!(existing instanceof Number)) {
+                    return Values.freeze(amount);
+                }
+                Number current = (Number) existing;
+                if (Values.isIntegral(current) && Values.isIntegral(amount)) {
+                    return current.longValue() + amount.longValue();
+                }
+                return current.doubleValue() + amount.doubleValue();
+            }
+            case ARRAY_UNION: {
+                List<Object> result = existing instanceof List
+                        ? new ArrayList<>((List<?>) existing) : new ArrayList<>();
+                for (Object element : sentinel.getElements()) {
+                    Object frozen = Values.freeze(element);
+                    if (!containsValue(result, frozen)) {
+                        result.add(frozen);
+                    }
+                }
+                return Collections.unmodifiableList(result);
+            }
+            case ARRAY_REMOVE: {
+                List<Object> result = new ArrayList<>();
+                if (existing instanceof List) {
+                    for (Object element : (List<?>) existing) {
+                        if (!containsValue(sentinel.getElements(), element)) {
+                            result.add(element);
+                        }
+                    }
+                }
+                return Collections.unmodifiableList(result);
+            }
+            default:
+                return REMOVED;
+        }
+    }
+
+    /**
+     * Copies caller data at the time a write is added, as Firestore parses it then, so later
+     * changes to the caller's map do not leak into the commit.
+     */
+    private static Map<String, Object> capture(Map<String, Object> data) {
+        Map<String, Object> copy = new HashMap<>(Math.max(4, data.size() * 2));
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                value = capture(nested);
+            } else if (!(value instanceof FieldValues.Sentinel)) {
+                value = Values.freeze(value);
+            }
+            copy.put(entry.getKey(), value);
+        }
+        return copy;
+    }
+
+    private final class MemoryBatch implements Batch {
+        private final List<Write> batchWrites = new ArrayList<>();
+        private boolean committed;
+
+        @Override
+        public Batch set(String path, Map<String, Object> data) {
+            return add(new Write(WriteKind.SET, path, capture(data)));
+        }
+
+        @Override
+        public Batch set(String path, Map<String, Object> data, boolean merge) {
+            return add(new Write(merge ? WriteKind.MERGE : WriteKind.SET, path, capture(data)));
+        }
+
+        @Override
+        public Batch update(String path, Map<String, Object> data) {
+            return add(new Write(WriteKind.UPDATE, path, capture(data)));
+        }
+
+        @Override
+        public Batch delete(String path) {
+            return add(new Write(WriteKind.DELETE, path, null));
+        }
+
+        private Batch add(Write write) {
+            if (committed) {
+                throw new StoreException(StoreException.Code.FAILED_PRECONDITION, "Batch already committed");
+            }
+            batchWrites.add(write);
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return batchWrites.size();
+        }
+
+        @Override
+        public CompletableFuture<Void> commit() {
+            if (committed) {
+                return failed(new StoreException(StoreException.Code.FAILED_PRECONDITION, "Batch already committed"));
+            }
+            committed = true;
+            return InMemoryDocumentStore.this.commit(batchWrites);
+        }
+    }
+
+    private final class MemoryTransaction implements Transaction {
+        private final List<Write> pending = new ArrayList<>();
+
+        @Override
+        public Document get(String path) {
+            if (!pending.isEmpty()) {
+                throw new StoreException(StoreException.Code.FAILED_PRECONDITION,
+                        "Transactions must do all reads before any writes");
+            }
+            Paths.requireDocument(path);
+            reads.incrementAndGet();
+            return new Document(path, lookup(path), true);
+        }
+
+        @Override
+        public Transaction set(String path, Map<String, Object> data) {
+            pending.add(new Write(WriteKind.SET, path, capture(data)));
+            return this;
+        }
+
+        @Override
+        public Transaction set(String path, Map<String, Object> data, boolean merge) {
+            pending.add(new Write(merge ? WriteKind.MERGE : WriteKind.SET, path, capture(data)));
+            return this;
+        }
+
+        @Override
+        public Transaction update(String path, Map<String, Object> data) {
+            pending.add(new Write(WriteKind.UPDATE, path, capture(data)));
+            return this;
+        }
+
+        @Override
+        public Transaction delete(String path) {
+            pending.add(new Write(WriteKind.DELETE, path, null));
+            return this;
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Accounting
+    // ------------------------------------------------------------------
+
+    /**
+     * @return documents read since creation or the last {@link #resetCounts()}
+     */
+    public long getReadCount() {
+        return reads.get();
+    }
+
+    /**
+     * @return documents written since creation or the last {@link #resetCounts()}
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    public void resetCounts() {
+        reads.set(0);
+        writes.set(0);
+    }
+
+    /**
+     * @return number of documents directly in a collection
+     */
+    public int count(String collectionPath) {
+        lock.readLock().lock();
+        try {
+            TreeMap<String, Map<String, Object>> collection = collections.get(Paths.requireCollection(collectionPath));
+            return collection != null ? collection.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.connect.data;
+
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notifications: each user's inbox at {@code accounts/{userId}/notifications}, and the admin
+ * log partitioned by month at {@code notification_logs/{yyyy-MM}/entries}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class Notifications {
+
+    public static final String INBOX = "notifications";
+    public static final String LOGS = "notification_logs";
+    public static final String LOG_ENTRIES = "entries";
+
+    public static final String FIELD_MONTH = "month";
+    public static final String FIELD_TIMESTAMP = "timestamp";
+    public static final String FIELD_RECIPIENT_ID = "recipientId";
+    public static final String FIELD_ORGANIZER_ID = "organizer_id";
+
+    private final DocumentStore store;
+
+    // Month documents already written through this repository
+    private final Set<String> knownMonths = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public Notifications(DocumentStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the UTC month key, e.g. "2025-11", for a point in time.
+     */
+    public static String monthKey(long millis) {
+        return utcFormat("yyyy-MM").format(new Date(millis));
+    }
+
+    /**
+     * @return the UTC day key, e.g. "2025-11-03", for a point in time.
+     */
+    public static String dayKey(long millis) {
+        return utcFormat("yyyy-MM-dd").format(new Date(millis));
+    }
+
+    private static SimpleDateFormat utcFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+
+    public static String inboxPath(String userId) {
+        return Paths.join(Accounts.COLLECTION, userId, INBOX);
+    }
+
+    public static String logEntriesPath(String monthKey) {
+        return Paths.join(LOGS, monthKey, LOG_ENTRIES);
+    }
+
+    /**
+     * Puts a notification in a user's inbox.
+     *
+     * @return the new notification's id
+     */
+    public CompletableFuture<String> deliver(String userId, Map<String, Object> notification) {
+        return store.add(inboxPath(userId), notification);
+    }
+
+    /**
+     * @return a user's notifications, newest first
+     */
+    public CompletableFuture<List<Document>> inbox(String userId) {
+        return store.query(Query.collection(inboxPath(userId))
+                .orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING));
+    }
+
+    /**
+     * Writes a log entry into the partition of the month it is written in, creating the
+     * month document the first time this repository logs into that month.
+     *
+     * @return the new entry's id
+     */
+    public CompletableFuture<String> log(Map<String, Object> entry, long now) {
+        String monthKey = monthKey(now);
+        String id = store.newId();
+        DocumentStore.Batch batch = store.batch();
+        boolean newMonth = knownMonths.add(monthKey);
+        if (newMonth) {
+            Map<String, Object> month = new HashMap<>();
+            month.put(FIELD_MONTH, monthKey);
+            batch.set(Paths.join(LOGS, monthKey), month, true);
+        }
+        batch.set(logEntriesPath(monthKey) + "/" + id, entry);
+        return batch.commit()
+                .whenComplete((ignored, error) -> {
+                    if (error != null && newMonth) {
+                        knownMonths.remove(monthKey);
+                    }
+                })
+                .thenApply(ignored -> id);
+    }
+
+    /**
+     * @return a month's log entries, newest first
+     */
+    public CompletableFuture<List<Document>> logEntries(String monthKey) {
+        return store.query(Query.collection(logEntriesPath(monthKey))
+                .orderBy(FIELD_TIMESTAMP, Query.Direction.DESCENDING));
+    }
+}
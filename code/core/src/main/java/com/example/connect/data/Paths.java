@@ -0,0 +1,78 @@
+package com.example.connect.data;
+
+/**
+ * Slash-separated document and collection paths, e.g. {@code waiting_lists/e1/entrants/u1}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+final class Paths {
+
+    private Paths() {
+        // Utility class
+    }
+
+    /**
+     * Joins path segments, rejecting empty ones and ones containing a slash.
+     */
+    static String join(String... segments) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : segments) {
+            if (segment == null || segment.isEmpty() || segment.indexOf('/') >= 0) {
+                throw new StoreException(StoreException.Code.INVALID_ARGUMENT,
+                        "Invalid path segment \"" + segment + "\"");
+            }
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(segment);
+        }
+        return path.toString();
+    }
+
+    /**
+     * @return the last segment: the id of a document, or of a collection
+     */
+    static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * @return the path without its last segment, "" for a top-level collection
+     */
+    static String parent(String path) {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    /**
+     * Checks that a path names a document, i.e. has an even number of segments.
+     */
+    static String requireDocument(String path) {
+        if (segments(path) % 2 != 0) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT, "Not a document path: " + path);
+        }
+        return path;
+    }
+
+    /**
+     * Checks that a path names a collection, i.e. has an odd number of segments.
+     */
+    static String requireCollection(String path) {
+        if (segments(path) % 2 != 1) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT, "Not a collection path: " + path);
+        }
+        return path;
+    }
+
+    private static int segments(String path) {
+        if (path == null || path.isEmpty() || path.startsWith("/") || path.endsWith("/") || path.contains("//")) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT, "Invalid path: " + path);
+        }
+        int count = 1;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') count++;
+        }
+        return count;
+    }
+}
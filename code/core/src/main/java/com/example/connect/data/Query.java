@@ -0,0 +1,242 @@
+package com.example.connect.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable description of a Firestore-style query: one collection (or every collection
+ * with the same id, for a collection group), filters, orderings, a cursor and a limit.
+ * <p>
+ * Each method returns a new query, so partial queries can be shared:
+ * <pre>
+ * Query waiting = Query.collection("waiting_lists/e1/entrants").whereEqualTo("status", "waiting");
+ * Query firstPage = waiting.orderBy("joined_date", Query.Direction.DESCENDING).limit(50);
+ * </pre>
+ * Results are always ordered by the explicit orderings and then by document path, which is
+ * also Firestore's implicit order. Documents missing a filtered or ordered field never match.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class Query {
+
+    /** Field name that filters and orders by the document id. */
+    public static final String DOCUMENT_ID = "__name__";
+
+    public enum Direction {
+        ASCENDING,
+        DESCENDING
+    }
+
+    public enum Operator {
+        EQUAL,
+        NOT_EQUAL,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL,
+        ARRAY_CONTAINS,
+        IN
+    }
+
+    /**
+     * One {@code field operator value} condition.
+     */
+    public static final class Filter {
+        private final String field;
+        private final Operator operator;
+        private final Object value;
+
+        Filter(String field, Operator operator, Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * One ordering.
+     */
+    public static final class Order {
+        private final String field;
+        private final Direction direction;
+
+        Order(String field, Direction direction) {
+            this.field = field;
+            this.direction = direction;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+    }
+
+    private final String path;
+    private final boolean collectionGroup;
+    private final List<Filter> filters;
+    private final List<Order> orders;
+    private final List<Object> startAfter;
+    private final int limit;
+
+    private Query(String path, boolean collectionGroup, List<Filter> filters, List<Order> orders,
+                  List<Object> startAfter, int limit) {
+        this.path = path;
+        this.collectionGroup = collectionGroup;
+        this.filters = filters;
+        this.orders = orders;
+        this.startAfter = startAfter;
+        this.limit = limit;
+    }
+
+    /**
+     * @param collectionPath e.g. {@code events} or {@code waiting_lists/e1/entrants}
+     */
+    public static Query collection(String collectionPath) {
+        return new Query(Paths.requireCollection(collectionPath), false,
+                Collections.emptyList(), Collections.emptyList(), null, 0);
+    }
+
+    /**
+     * @param collectionId a collection id such as {@code entrants}, matched at any depth
+     */
+    public static Query collectionGroup(String collectionId) {
+        if (collectionId.indexOf('/') >= 0) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT,
+                    "Collection group ids cannot contain '/': " + collectionId);
+        }
+        return new Query(collectionId, true, Collections.emptyList(), Collections.emptyList(), null, 0);
+    }
+
+    public Query whereEqualTo(String field, Object value) {
+        return where(field, Operator.EQUAL, value);
+    }
+
+    public Query whereNotEqualTo(String field, Object value) {
+        return where(field, Operator.NOT_EQUAL, value);
+    }
+
+    public Query whereLessThan(String field, Object value) {
+        return where(field, Operator.LESS_THAN, value);
+    }
+
+    public Query whereLessThanOrEqualTo(String field, Object value) {
+        return where(field, Operator.LESS_THAN_OR_EQUAL, value);
+    }
+
+    public Query whereGreaterThan(String field, Object value) {
+        return where(field, Operator.GREATER_THAN, value);
+    }
+
+    public Query whereGreaterThanOrEqualTo(String field, Object value) {
+        return where(field, Operator.GREATER_THAN_OR_EQUAL, value);
+    }
+
+    public Query whereArrayContains(String field, Object value) {
+        return where(field, Operator.ARRAY_CONTAINS, value);
+    }
+
+    public Query whereIn(String field, List<?> values) {
+        return where(field, Operator.IN, Collections.unmodifiableList(new ArrayList<>(values)));
+    }
+
+    private Query where(String field, Operator operator, Object value) {
+        List<Filter> newFilters = new ArrayList<>(filters);
+        newFilters.add(new Filter(field, operator, value));
+        return new Query(path, collectionGroup, Collections.unmodifiableList(newFilters), orders, startAfter, limit);
+    }
+
+    public Query orderBy(String field) {
+        return orderBy(field, Direction.ASCENDING);
+    }
+
+    public Query orderBy(String field, Direction direction) {
+        List<Order> newOrders = new ArrayList<>(orders);
+        newOrders.add(new Order(field, direction));
+        return new Query(path, collectionGroup, filters, Collections.unmodifiableList(newOrders), startAfter, limit);
+    }
+
+    /**
+     * Starts after the document with these values for the orderings, in order. For
+     * {@link #DOCUMENT_ID} the value is the document id (the path, in a collection group).
+     */
+    public Query startAfter(Object... values) {
+        if (values.length == 0 || values.length > orders.size()) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT,
+                    "A cursor needs one value per orderBy, in order");
+        }
+        return new Query(path, collectionGroup, filters, orders,
+                Collections.unmodifiableList(new ArrayList<>(Arrays.asList(values))), limit);
+    }
+
+    /**
+     * Starts after the given document, taking the cursor values from it.
+     */
+    public Query startAfter(Document document) {
+        Object[] values = new Object[orders.size()];
+        for (int i = 0; i < values.length; i++) {
+            String field = orders.get(i).getField();
+            values[i] = DOCUMENT_ID.equals(field)
+                    ? (collectionGroup ? document.getPath() : document.getId())
+                    : document.get(field);
+        }
+        return startAfter(values);
+    }
+
+    /**
+     * @param limit maximum number of documents, 0 for no limit
+     */
+    public Query limit(int limit) {
+        if (limit < 0) {
+            throw new StoreException(StoreException.Code.INVALID_ARGUMENT, "Negative limit: " + limit);
+        }
+        return new Query(path, collectionGroup, filters, orders, startAfter, limit);
+    }
+
+    /**
+     * @return the collection path, or the collection id of a collection group
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isCollectionGroup() {
+        return collectionGroup;
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * @return the cursor values, or null for no cursor
+     */
+    public List<Object> getStartAfter() {
+        return startAfter;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.connect.data;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User reports against events at {@code reports/{reportId}}. Resolving a report deletes it.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class Reports {
+
+    public static final String COLLECTION = "reports";
+
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_TIMESTAMP = "timestamp";
+
+    public static final String STATUS_PENDING = "pending";
+
+    private final DocumentStore store;
+
+    public Reports(DocumentStore store) {
+        this.store = store;
+    }
+
+    public static String path(String reportId) {
+        return Paths.join(COLLECTION, reportId);
+    }
+
+    /**
+     * Files a report, stamped with the server time and pending review.
+     *
+     * @return the new report's id
+     */
+    public CompletableFuture<String> submit(Map<String, Object> report) {
+        Map<String, Object> data = new HashMap<>(report);
+        data.put(FIELD_STATUS, STATUS_PENDING);
+        data.put(FIELD_TIMESTAMP, FieldValues.serverTimestamp());
+        return store.add(COLLECTION, data);
+    }
+
+    public CompletableFuture<Void> resolve(String reportId) {
+        return store.delete(path(reportId));
+    }
+
+    /**
+     * @return the oldest {@code limit} reports still waiting for review
+     */
+    public CompletableFuture<List<Document>> pending(int limit) {
+        return store.query(Query.collection(COLLECTION)
+                .whereEqualTo(FIELD_STATUS, STATUS_PENDING)
+                .orderBy(FIELD_TIMESTAMP)
+                .limit(limit));
+    }
+}
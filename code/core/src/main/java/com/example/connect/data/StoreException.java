@@ -0,0 +1,39 @@
+package com.example.connect.data;
+
+/**
+ * Failure reported by a {@link DocumentStore}, with the Firestore status code it corresponds to.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class StoreException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Code {
+        /** An update or transactional read-then-write targeted a missing document. */
+        NOT_FOUND,
+        /** The request itself is malformed, e.g. a delete sentinel in a plain set. */
+        INVALID_ARGUMENT,
+        /** The operation is not allowed in the current state, e.g. a read after a write in a transaction. */
+        FAILED_PRECONDITION,
+        /** The transaction function threw. */
+        ABORTED
+    }
+
+    private final Code code;
+
+    public StoreException(Code code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public StoreException(Code code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+}
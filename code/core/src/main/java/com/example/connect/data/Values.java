@@ -0,0 +1,152 @@
+package com.example.connect.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Field values as {@link InMemoryDocumentStore} keeps them: normalized to the types Firestore
+ * reads back, frozen, and ordered the way Firestore orders mixed-type fields (null, booleans,
+ * numbers, timestamps, strings, arrays, maps).
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+final class Values {
+
+    private Values() {
+        // Utility class
+    }
+
+    /**
+     * Copies a value into its stored form: integers become {@code Long}, floats {@code Double},
+     * and lists and maps become unmodifiable copies. Sentinels are not allowed here.
+     */
+    static Object freeze(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean
+                || value instanceof Long || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        }
+        if (value instanceof Date) {
+            return new Date(((Date) value).getTime());
+        }
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                if (element instanceof List) {
+                    throw invalid("Arrays cannot directly contain arrays");
+                }
+                copy.add(freeze(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Map) {
+            return Collections.unmodifiableMap(freezeMap((Map<?, ?>) value));
+        }
+        if (value instanceof FieldValues.Sentinel) {
+            throw invalid(value + " can only be used as a field value");
+        }
+        throw invalid("Unsupported value type " + value.getClass().getName());
+    }
+
+    static Map<String, Object> freezeMap(Map<?, ?> map) {
+        Map<String, Object> copy = new HashMap<>(Math.max(4, map.size() * 2));
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw invalid("Field names must be strings: " + entry.getKey());
+            }
+            copy.put((String) entry.getKey(), freeze(entry.getValue()));
+        }
+        return copy;
+    }
+
+    static boolean equal(Object a, Object b) {
+        return compare(a, b) == 0;
+    }
+
+    static int compare(Object a, Object b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        switch (rankA) {
+            case 0:
+                return 0;
+            case 1:
+                return Boolean.compare((Boolean) a, (Boolean) b);
+            case 2:
+                return compareNumbers((Number) a, (Number) b);
+            case 3:
+                return ((Date) a).compareTo((Date) b);
+            case 4:
+                return ((String) a).compareTo((String) b);
+            case 5:
+                return compareLists((List<?>) a, (List<?>) b);
+            default:
+                return compareMaps((Map<?, ?>) a, (Map<?, ?>) b);
+        }
+    }
+
+    static int rank(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Boolean) return 1;
+        if (value instanceof Number) return 2;
+        if (value instanceof Date) return 3;
+        if (value instanceof String) return 4;
+        if (value instanceof List) return 5;
+        if (value instanceof Map) return 6;
+        throw invalid("Unsupported value type " + value.getClass().getName());
+    }
+
+    private static int compareNumbers(Number a, Number b) {
+        if (isIntegral(a) && isIntegral(b)) {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+        return Double.compare(a.doubleValue(), b.doubleValue());
+    }
+
+    static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer
+                || number instanceof Short || number instanceof Byte;
+    }
+
+    private static int compareLists(List<?> a, List<?> b) {
+        int size = Math.min(a.size(), b.size());
+        for (int i = 0; i < size; i++) {
+            int result = compare(a.get(i), b.get(i));
+            if (result != 0) return result;
+        }
+        return Integer.compare(a.size(), b.size());
+    }
+
+    private static int compareMaps(Map<?, ?> a, Map<?, ?> b) {
+        Iterator<? extends Map.Entry<?, ?>> left = new TreeMap<>(a).entrySet().iterator();
+        Iterator<? extends Map.Entry<?, ?>> right = new TreeMap<>(b).entrySet().iterator();
+        while (left.hasNext() && right.hasNext()) {
+            Map.Entry<?, ?> l = left.next();
+            Map.Entry<?, ?> r = right.next();
+            int result = ((String) l.getKey()).compareTo((String) r.getKey());
+            if (result == 0) {
+                result = compare(l.getValue(), r.getValue());
+            }
+            if (result != 0) return result;
+        }
+        return Boolean.compare(left.hasNext(), right.hasNext());
+    }
+
+    private static StoreException invalid(String message) {
+        return new StoreException(StoreException.Code.INVALID_ARGUMENT, message);
+    }
+}
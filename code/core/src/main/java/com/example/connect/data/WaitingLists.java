@@ -0,0 +1,110 @@
+package com.example.connect.data;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Waiting lists: entrant documents at {@code waiting_lists/{eventId}/entrants/{userId}} and
+ * the sharded status counters at {@code waiting_lists/{eventId}/counters/shard_{n}}, laid out
+ * as the app's {@code EntrantCounters} keeps them.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class WaitingLists {
+
+    public static final String COLLECTION = "waiting_lists";
+    public static final String ENTRANTS = "entrants";
+    public static final String COUNTERS = "counters";
+
+    /** Number of shards each event's counter is spread over. */
+    public static final int NUM_SHARDS = 10;
+
+    public static final String FIELD_USER_ID = "user_id";
+    public static final String FIELD_STATUS = "status";
+    public static final String FIELD_SELECTED_DATE = "selected_date";
+    public static final String FIELD_TOTAL = "total";
+
+    public static final String STATUS_WAITING = "waiting";
+    public static final String STATUS_SELECTED = "selected";
+    public static final String STATUS_ENROLLED = "enrolled";
+    public static final String STATUS_CANCELED = "canceled";
+
+    private final DocumentStore store;
+    private final Random random;
+
+    public WaitingLists(DocumentStore store) {
+        this(store, new Random());
+    }
+
+    /**
+     * @param random picks the counter shard each write goes to
+     */
+    public WaitingLists(DocumentStore store, Random random) {
+        this.store = store;
+        this.random = random;
+    }
+
+    public static String entrantPath(String eventId, String entrantId) {
+        return Paths.join(COLLECTION, eventId, ENTRANTS, entrantId);
+    }
+
+    public static Query entrants(String eventId) {
+        return Query.collection(Paths.join(COLLECTION, eventId, ENTRANTS));
+    }
+
+    public CompletableFuture<List<Document>> entrantsWithStatus(String eventId, String status) {
+        return store.query(entrants(eventId).whereEqualTo(FIELD_STATUS, status));
+    }
+
+    /**
+     * Adds "this entrant won the draw" to an existing batch.
+     */
+    public void markSelected(DocumentStore.Batch batch, String eventId, String entrantId, Date selectedAt) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(FIELD_STATUS, STATUS_SELECTED);
+        updates.put(FIELD_SELECTED_DATE, selectedAt);
+        batch.update(entrantPath(eventId, entrantId), updates);
+    }
+
+    /**
+     * Adds a status change of {@code count} entrants to a random counter shard in an
+     * existing batch.
+     */
+    public void recordTransition(DocumentStore.Batch batch, String eventId,
+                                 String fromStatus, String toStatus, long count) {
+        if (count <= 0 || fromStatus.equals(toStatus)) return;
+        Map<String, Object> delta = new HashMap<>();
+        delta.put(fromStatus, FieldValues.increment(-count));
+        delta.put(toStatus, FieldValues.increment(count));
+        batch.set(shardPath(eventId, random.nextInt(NUM_SHARDS)), delta, true);
+    }
+
+    /**
+     * Sums the counter shards.
+     *
+     * @return status (or {@link #FIELD_TOTAL}) to count; absent entries are 0
+     */
+    public CompletableFuture<Map<String, Long>> counts(String eventId) {
+        return store.query(Query.collection(Paths.join(COLLECTION, eventId, COUNTERS)))
+                .thenApply(shards -> {
+                    Map<String, Long> counts = new HashMap<>();
+                    for (Document shard : shards) {
+                        for (Map.Entry<String, Object> field : shard.getData().entrySet()) {
+                            if (field.getValue() instanceof Number) {
+                                counts.merge(field.getKey(), ((Number) field.getValue()).longValue(), Long::sum);
+                            }
+                        }
+                    }
+                    return counts;
+                });
+    }
+
+    private static String shardPath(String eventId, int shard) {
+        return Paths.join(COLLECTION, eventId, COUNTERS, "shard_" + shard);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.connect.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Helper utilities for building CSV strings.
+ *
+ * Currently used to export enrolled entrants for an event.
+ *
+ * Columns:
+ *  - Name
+ *  - Email
+ *  - Phone
+ *  - Joined Date
+ *  - Event Name
+ *  - Event Id
+ *
+ * Large exports should stream rows through {@link CsvWriter} rather than building the
+ * whole file in memory; see {@code EntrantCsvExporter}.
+ */
+public class CsvUtils {
+
+    /** Header of the enrolled-entrants export. */
+    public static final String HEADER = "Name,Email,Phone,Joined Date,Event Name,Event Id";
+
+    /**
+     * Simple data holder for one CSV row.
+     */
+    public static class CsvRow {
+        public final String name;
+        public final String email;
+        public final String phone;
+        public final String joinedDate; // pre-formatted string
+
+        public CsvRow(String name, String email, String phone, String joinedDate) {
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+            this.joinedDate = joinedDate;
+        }
+    }
+
+    /**
+     * Builds a CSV string for enrolled entrants of a single event.
+     *
+     * @param eventName Name of the event (may be null)
+     * @param eventId   Firestore document ID of the event
+     * @param rows      List of rows (one per enrolled entrant)
+     * @return CSV text (including header row)
+     */
+    public static String buildEnrolledEntrantsCsv(String eventName,
+                                                  String eventId,
+                                                  List<CsvRow> rows) {
+
+        String safeEventName = eventName != null ? eventName : "";
+        String safeEventId = eventId != null ? eventId : "";
+
+        StringBuilder sb = new StringBuilder();
+
+        // Header
+        sb.append(HEADER).append('\n');
+
+        // Rows
+        if (rows != null) {
+            for (CsvRow row : rows) {
+                appendEscaped(sb, row.name).append(',');
+                appendEscaped(sb, row.email).append(',');
+                appendEscaped(sb, row.phone).append(',');
+                appendEscaped(sb, row.joinedDate).append(',');
+                appendEscaped(sb, safeEventName).append(',');
+                appendEscaped(sb, safeEventId).append('\n');
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Escapes a value for safe CSV output.
+     * - Null -> empty string
+     * - Doubles any double-quotes
+     * - Wraps the whole value in double-quotes
+     */
+    public static String escape(String value) {
+        int length = value != null ? value.length() : 0;
+        return appendEscaped(new StringBuilder(length + 2), value).toString();
+    }
+
+    /**
+     * Appends a value escaped as by {@link #escape(String)} without creating
+     * intermediate Strings.
+     */
+    public static StringBuilder appendEscaped(StringBuilder sb, String value) {
+        // Always wrap in quotes (simpler & safe for commas/newlines)
+        sb.append('"');
+        if (value != null) {
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    // Copy up to and including the quote, then double it
+                    sb.append(value, start, i + 1).append('"');
+                    start = i + 1;
+                }
+            }
+            sb.append(value, start, value.length());
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Writes a value escaped as by {@link #escape(String)} straight to a writer. Unquoted runs
+     * are copied in one call each, so a buffered writer never allocates per field.
+     */
+    public static void writeEscaped(Writer out, String value) throws IOException {
+        out.write('"');
+        if (value != null) {
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    out.write(value, start, i + 1 - start);
+                    out.write('"');
+                    start = i + 1;
+                }
+            }
+            out.write(value, start, value.length() - start);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.connect.utils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming RFC 4180 CSV writer.
+ * <p>
+ * Fields are copied straight into a reusable char buffer that is handed to the underlying
+ * writer when full, so writing a row creates no temporary Strings. A field is scanned once
+ * and only quoted if it contains a comma, a double quote, CR or LF; embedded quotes are
+ * doubled. Rows end with CRLF as the RFC prescribes. Null fields are written as empty.
+ * <p>
+ * Not thread-safe. The underlying writer does not need its own buffering.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_CHARS = 16 * 1024;
+
+    private final Writer out;
+    private final char[] buffer;
+    private int position;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_CHARS);
+    }
+
+    public CsvWriter(Writer out, int bufferChars) {
+        if (bufferChars < 2) {
+            throw new IllegalArgumentException("Buffer must hold at least 2 chars");
+        }
+        this.out = out;
+        this.buffer = new char[bufferChars];
+    }
+
+    /**
+     * @return true if the value must be quoted to survive a CSV round trip.
+     */
+    static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends one field to the current row.
+     */
+    public CsvWriter field(String value) throws IOException {
+        if (rowStarted) {
+            put(',');
+        }
+        rowStarted = true;
+
+        if (value == null || value.isEmpty()) {
+            return this;
+        }
+        if (!needsQuotes(value)) {
+            copy(value, 0, value.length());
+            return this;
+        }
+
+        put('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // Copy up to and including the quote, then double it
+                copy(value, start, i + 1);
+                put('"');
+                start = i + 1;
+            }
+        }
+        copy(value, start, value.length());
+        put('"');
+        return this;
+    }
+
+    /**
+     * Ends the current row.
+     */
+    public CsvWriter endRow() throws IOException {
+        put('\r');
+        put('\n');
+        rowStarted = false;
+        return this;
+    }
+
+    /**
+     * Writes a complete row, e.g. a header.
+     */
+    public CsvWriter row(String... fields) throws IOException {
+        for (String field : fields) {
+            field(field);
+        }
+        return endRow();
+    }
+
+    /**
+     * Writes buffered chars to the underlying writer and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void put(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void copy(String value, int start, int end) throws IOException {
+        while (start < end) {
+            if (position == buffer.length) {
+                drain();
+            }
+            int count = Math.min(end - start, buffer.length - position);
+            value.getChars(start, start + count, buffer, position);
+            position += count;
+            start += count;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
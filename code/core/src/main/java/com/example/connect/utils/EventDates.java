@@ -0,0 +1,88 @@
+package com.example.connect.utils;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Parsing of the date strings stored on events.
+ * <p>
+ * Events written by {@code CreateEvent} use {@link #ISO_PATTERN}; older events were entered
+ * in a handful of other formats, which {@link #parseToMillis(String)} tries in turn. The
+ * formatters are kept per thread instead of being created for every call: building a
+ * {@link SimpleDateFormat} costs far more than parsing with one, and the event list parses
+ * every event's date each time a filter changes.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class EventDates {
+
+    /** Format of {@code date_time}, {@code reg_start} and {@code reg_stop} on new events. */
+    public static final String ISO_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final String[] PATTERNS = {
+            ISO_PATTERN,
+            "dd/MM/yyyy",
+            "MM/dd/yyyy",
+            "yyyy-MM-dd",
+            "MMM dd, yyyy",
+            "dd MMM yyyy"
+    };
+
+    private static final ThreadLocal<SimpleDateFormat[]> formats = ThreadLocal.withInitial(() -> {
+        SimpleDateFormat[] created = new SimpleDateFormat[PATTERNS.length];
+        for (int i = 0; i < PATTERNS.length; i++) {
+            created[i] = new SimpleDateFormat(PATTERNS[i], Locale.ENGLISH);
+        }
+        return created;
+    });
+
+    private EventDates() {
+        // Utility class
+    }
+
+    /**
+     * Parses a date in any of the formats events have been stored with, trying
+     * {@link #ISO_PATTERN} first.
+     *
+     * @return the date as milliseconds since epoch
+     * @throws ParseException if no format matches
+     */
+    public static long parseToMillis(String value) throws ParseException {
+        if (value != null) {
+            for (SimpleDateFormat format : formats.get()) {
+                Date date = format.parse(value, new ParsePosition(0));
+                if (date != null) {
+                    return date.getTime();
+                }
+            }
+        }
+        throw new ParseException("Unable to parse date: " + value, 0);
+    }
+
+    /**
+     * Parses a date in {@link #ISO_PATTERN}.
+     *
+     * @return the date as milliseconds since epoch
+     * @throws ParseException if the value is not in that format
+     */
+    public static long parseIso(String value) throws ParseException {
+        return formats.get()[0].parse(value).getTime();
+    }
+
+    /**
+     * @param regStop    the event's registration end in {@link #ISO_PATTERN}, may be empty
+     * @param nowMillis  current time
+     * @return true if registration has an end and it is before {@code nowMillis}
+     * @throws ParseException if {@code regStop} is set but not in {@link #ISO_PATTERN}
+     */
+    public static boolean isRegistrationClosed(String regStop, long nowMillis) throws ParseException {
+        if (regStop == null || regStop.isEmpty()) {
+            return false;
+        }
+        return nowMillis > parseIso(regStop);
+    }
+}
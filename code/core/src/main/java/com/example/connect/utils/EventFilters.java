@@ -0,0 +1,138 @@
+package com.example.connect.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The event list's search, date, interest and location filters, applied in one pass.
+ * <p>
+ * Each active filter used to copy the list and lower-case the fields it looked at, so a
+ * search plus a location filter lower-cased every location twice and built two
+ * intermediate lists. Here each event is checked against all active filters at once and
+ * matching is case-insensitive without allocating (see {@link #containsIgnoreCase}).
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class EventFilters {
+
+    /**
+     * The fields of an event the filters look at.
+     */
+    public interface Filterable {
+        String getName();
+
+        String getLocation();
+
+        String getCategory();
+
+        String getDescription();
+
+        String getDateTime();
+
+        List<String> getLabels();
+    }
+
+    /**
+     * The active filters; an empty string turns a filter off.
+     */
+    public static final class Criteria {
+        final String query;
+        final String date;
+        final String interest;
+        final String location;
+
+        /**
+         * @param query    matched against name, location, category and description
+         * @param date     must appear in the event's date, e.g. "2025-11-20"
+         * @param interest matched against the event's labels
+         * @param location matched against the event's location
+         */
+        public Criteria(String query, String date, String interest, String location) {
+            this.query = query != null ? query : "";
+            this.date = date != null ? date : "";
+            this.interest = interest != null ? interest : "";
+            this.location = location != null ? location : "";
+        }
+
+        public boolean isEmpty() {
+            return query.isEmpty() && date.isEmpty() && interest.isEmpty() && location.isEmpty();
+        }
+    }
+
+    private EventFilters() {
+        // Utility class
+    }
+
+    /**
+     * @return the events matching every active filter, in their original order
+     */
+    public static <T extends Filterable> List<T> apply(List<T> events, Criteria criteria) {
+        if (criteria.isEmpty()) {
+            return new ArrayList<>(events);
+        }
+        List<T> filtered = new ArrayList<>();
+        for (T event : events) {
+            if (matches(event, criteria)) {
+                filtered.add(event);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * @return true if {@code event} passes every active filter
+     */
+    public static boolean matches(Filterable event, Criteria criteria) {
+        if (!criteria.query.isEmpty()
+                && !containsIgnoreCase(event.getName(), criteria.query)
+                && !containsIgnoreCase(event.getLocation(), criteria.query)
+                && !containsIgnoreCase(event.getCategory(), criteria.query)
+                && !containsIgnoreCase(event.getDescription(), criteria.query)) {
+            return false;
+        }
+        if (!criteria.date.isEmpty()
+                && (event.getDateTime() == null || !event.getDateTime().contains(criteria.date))) {
+            return false;
+        }
+        if (!criteria.interest.isEmpty() && !anyContainsIgnoreCase(event.getLabels(), criteria.interest)) {
+            return false;
+        }
+        return criteria.location.isEmpty() || containsIgnoreCase(event.getLocation(), criteria.location);
+    }
+
+    private static boolean anyContainsIgnoreCase(List<String> values, String needle) {
+        if (values == null) return false;
+        for (String value : values) {
+            if (containsIgnoreCase(value, needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Case-insensitive {@link String#contains}, comparing in place with
+     * {@link String#regionMatches(boolean, int, String, int, int)} instead of lower-casing
+     * a copy of the haystack. Unlike {@code toLowerCase()} this does not depend on the
+     * device locale.
+     *
+     * @return false if {@code haystack} is null
+     */
+    static boolean containsIgnoreCase(String haystack, String needle) {
+        if (haystack == null) return false;
+        int length = needle.length();
+        if (length == 0) return true;
+        // Only try a full match where the first char already matches
+        char lower = Character.toLowerCase(needle.charAt(0));
+        char upper = Character.toUpperCase(needle.charAt(0));
+        int last = haystack.length() - length;
+        for (int i = 0; i <= last; i++) {
+            char c = haystack.charAt(i);
+            if ((c == lower || c == upper) && haystack.regionMatches(true, i, needle, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
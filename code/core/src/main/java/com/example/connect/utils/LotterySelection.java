@@ -0,0 +1,51 @@
+package com.example.connect.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Uniform random selection of lottery winners.
+ * <p>
+ * Drawing {@code count} winners only needs the first {@code count} steps of a Fisher-Yates
+ * shuffle, not a shuffle of the whole waiting list followed by a copy of its head. Every
+ * subset of size {@code count} is still equally likely, but a draw of 20 from 100k entrants
+ * costs 20 swaps instead of 100k (see {@code LotterySelectionBenchmark}).
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class LotterySelection {
+
+    private LotterySelection() {
+        // Utility class
+    }
+
+    /**
+     * Picks {@code count} distinct candidates uniformly at random, in random order.
+     * The input list is not modified.
+     *
+     * @param candidates candidates to draw from
+     * @param count      number to draw; fewer are returned if there are fewer candidates
+     * @param random     source of randomness
+     * @return the winners, empty if there are no candidates or {@code count} is not positive
+     */
+    public static <T> List<T> select(List<T> candidates, int count, Random random) {
+        int size = candidates.size();
+        if (size == 0 || count <= 0) {
+            return new ArrayList<>();
+        }
+        Object[] pool = candidates.toArray();
+        int picks = Math.min(count, size);
+        for (int i = 0; i < picks; i++) {
+            int j = i + random.nextInt(size - i);
+            Object swap = pool[i];
+            pool[i] = pool[j];
+            pool[j] = swap;
+        }
+        @SuppressWarnings("unchecked")
+        List<T> winners = (List<T>) new ArrayList<>(Arrays.asList(pool).subList(0, picks));
+        return winners;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.connect.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for Accounts My Events loading and the versioned index reconcile.
+ */
+public class AccountsTest {
+
+    private InMemoryDocumentStore store;
+    private Accounts accounts;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new InMemoryDocumentStore(() -> 0L, new Random(4));
+        accounts = new Accounts(store);
+        Map<String, Object> account = new HashMap<>();
+        account.put("fullName", "Ada");
+        store.set(Accounts.path("u1"), account).get();
+    }
+
+    private void join(String eventId, String userId, String status) throws Exception {
+        Map<String, Object> entrant = new HashMap<>();
+        entrant.put(WaitingLists.FIELD_USER_ID, userId);
+        entrant.put(WaitingLists.FIELD_STATUS, status);
+        store.set(WaitingLists.entrantPath(eventId, userId), entrant).get();
+    }
+
+    private void index(String eventId, String status) throws Exception {
+        DocumentStore.Batch batch = store.batch();
+        accounts.putMyEventStatus(batch, "u1", eventId, status);
+        batch.commit().get();
+    }
+
+    @Test
+    public void testLegacyIndexIsReconciled() throws Exception {
+        join("e1", "u1", WaitingLists.STATUS_WAITING);
+        join("e2", "u1", WaitingLists.STATUS_SELECTED);
+        join("e3", "u1", WaitingLists.STATUS_ENROLLED);
+        join("e1", "u2", WaitingLists.STATUS_WAITING);
+        // e1 is missing, e2 is stale, e4 is no longer backed by an entrant
+        index("e2", WaitingLists.STATUS_WAITING);
+        index("e3", WaitingLists.STATUS_ENROLLED);
+        index("e4", WaitingLists.STATUS_WAITING);
+        store.resetCounts();
+
+        Map<String, String> statuses = accounts.loadMyEvents("u1").get();
+
+        assertEquals(3, statuses.size());
+        assertEquals(WaitingLists.STATUS_WAITING, statuses.get("e1"));
+        assertEquals(WaitingLists.STATUS_SELECTED, statuses.get("e2"));
+        assertEquals(WaitingLists.STATUS_WAITING, accounts.myEvent("u1", "e1").get().getString(Accounts.FIELD_STATUS));
+        assertEquals(WaitingLists.STATUS_SELECTED, accounts.myEvent("u1", "e2").get().getString(Accounts.FIELD_STATUS));
+        assertFalse(accounts.myEvent("u1", "e4").get().exists());
+        assertEquals(Long.valueOf(Accounts.MY_EVENTS_VERSION),
+                accounts.get("u1").get().getLong(Accounts.FIELD_MY_EVENTS_VERSION));
+        // e1 and e2 written, e4 deleted, the version stamped; e3 was already right
+        assertEquals(4, store.getWriteCount());
+    }
+
+    @Test
+    public void testReconciledIndexIsReadAsIs() throws Exception {
+        join("e1", "u1", WaitingLists.STATUS_WAITING);
+        accounts.loadMyEvents("u1").get();
+        store.resetCounts();
+
+        Map<String, String> statuses = accounts.loadMyEvents("u1").get();
+
+        assertEquals(1, statuses.size());
+        // the account and the one index entry, no entrants query and no writes
+        assertEquals(2, store.getReadCount());
+        assertEquals(0, store.getWriteCount());
+    }
+
+    @Test
+    public void testOlderVersionIsReconciledAgain() throws Exception {
+        Map<String, Object> old = new HashMap<>();
+        old.put(Accounts.FIELD_MY_EVENTS_VERSION, Accounts.MY_EVENTS_VERSION - 1);
+        store.set(Accounts.path("u1"), old, true).get();
+        join("e1", "u1", WaitingLists.STATUS_WAITING);
+
+        assertEquals(1, accounts.loadMyEvents("u1").get().size());
+        assertTrue(accounts.myEvent("u1", "e1").get().exists());
+    }
+
+    @Test
+    public void testReconcilePagesEntrantsAndChunksWrites() throws Exception {
+        int events = 2 * Accounts.RECONCILE_PAGE_SIZE + DocumentStore.MAX_BATCH_WRITES / 2;
+        DocumentStore.Batch batch = store.batch();
+        for (int i = 0; i < events; i++) {
+            Map<String, Object> entrant = new HashMap<>();
+            entrant.put(WaitingLists.FIELD_USER_ID, "u1");
+            entrant.put(WaitingLists.FIELD_STATUS, WaitingLists.STATUS_WAITING);
+            batch.set(WaitingLists.entrantPath("e" + i, "u1"), entrant);
+            if (batch.size() == DocumentStore.MAX_BATCH_WRITES) {
+                batch.commit().get();
+                batch = store.batch();
+            }
+        }
+        batch.commit().get();
+
+        Map<String, String> statuses = accounts.loadMyEvents("u1").get();
+
+        assertEquals(events, statuses.size());
+        assertEquals(events, store.count(Paths.join(Accounts.COLLECTION, "u1", Accounts.MY_EVENTS)));
+    }
+
+    @Test
+    public void testMissingAccountIsNotCreated() throws Exception {
+        join("e1", "ghost", WaitingLists.STATUS_WAITING);
+
+        assertTrue(accounts.loadMyEvents("ghost").get().isEmpty());
+        assertFalse(accounts.get("ghost").get().exists());
+    }
+}
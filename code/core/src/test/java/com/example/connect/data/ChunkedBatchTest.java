@@ -0,0 +1,122 @@
+package com.example.connect.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Unit tests for ChunkedBatch chunk boundaries and in-order commits.
+ */
+public class ChunkedBatchTest {
+
+    private InMemoryDocumentStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore(() -> 0L, new Random(5));
+    }
+
+    private static Map<String, Object> value(int i) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("i", i);
+        return data;
+    }
+
+    @Test
+    public void testPairsNeverStraddleChunks() {
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store, 5);
+
+        for (int i = 0; i < 6; i++) {
+            DocumentStore.Batch chunk = batch.reserve(2);
+            chunk.set("a/" + i, value(i));
+            chunk.set("b/" + i, value(i));
+        }
+
+        // 2 + 2 fit in 5, the third pair would make 6
+        assertEquals(3, batch.chunks());
+        assertEquals(12, batch.size());
+    }
+
+    @Test
+    public void testFullChunkOfMaxWrites() throws Exception {
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+
+        for (int i = 0; i < DocumentStore.MAX_BATCH_WRITES; i++) {
+            batch.reserve(1).set("a/" + i, value(i));
+        }
+        assertEquals(1, batch.chunks());
+        batch.reserve(1).set("a/last", value(-1));
+        assertEquals(2, batch.chunks());
+
+        batch.commit().get();
+        assertEquals(DocumentStore.MAX_BATCH_WRITES + 1, store.count("a"));
+    }
+
+    @Test
+    public void testFullChunkCommitsWhenTheNextOneStarts() {
+        List<Integer> committed = new ArrayList<>();
+        ChunkedBatch<List<String>> batch = new ChunkedBatch<>(ArrayList::new, 3, (chunk, writes) -> {
+            committed.add(writes);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        batch.reserve(2).add("a");
+        batch.reserve(1).add("b");
+        assertEquals(0, committed.size());
+        batch.reserve(2).add("c");
+        // 3 of 3 is full, so the pair went to a new chunk and the first one was committed
+        assertEquals(Arrays.asList(3), committed);
+
+        batch.commit().join();
+        batch.commit().join();
+
+        assertEquals(Arrays.asList(3, 2), committed);
+    }
+
+    @Test
+    public void testFailedChunkStopsLaterChunks() {
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store, 2);
+        batch.reserve(2).set("a/1", value(1)).set("a/2", value(2));
+        // update of a missing document fails the second chunk
+        batch.reserve(2).update("a/missing", value(3)).set("a/3", value(3));
+        batch.reserve(1).set("a/4", value(4));
+
+        try {
+            batch.commit().join();
+            fail("commit should fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof StoreException);
+        }
+
+        assertEquals(2, store.count("a"));
+        assertFalse(store.get("a/4").join().exists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReserveMoreThanAChunkThrows() {
+        ChunkedBatch.of(store, 2).reserve(3);
+    }
+
+    @Test
+    public void testEmptyCommitCompletes() {
+        ChunkedBatch<DocumentStore.Batch> batch = ChunkedBatch.of(store);
+
+        batch.commit().join();
+
+        assertEquals(0, batch.chunks());
+        assertEquals(0, store.getWriteCount());
+    }
+}
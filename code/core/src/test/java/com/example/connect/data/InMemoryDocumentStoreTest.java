@@ -0,0 +1,357 @@
+package com.example.connect.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Unit tests for InMemoryDocumentStore reads, writes, sentinels, queries, batches and
+ * transactions.
+ */
+public class InMemoryDocumentStoreTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private InMemoryDocumentStore store;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore(() -> NOW, new Random(7));
+    }
+
+    private static Map<String, Object> data(Object... keysAndValues) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get();
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+            fail("Expected the operation to fail");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private List<String> ids(Query query) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (Document document : await(store.query(query))) {
+            ids.add(document.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testSetThenGetNormalizesNumbers() throws Exception {
+        await(store.set("events/e1", data("event_title", "Swim", "draw_capacity", 5, "ratio", 0.5f)));
+
+        Document event = await(store.get("events/e1"));
+
+        assertTrue(event.exists());
+        assertEquals("e1", event.getId());
+        assertEquals("Swim", event.getString("event_title"));
+        assertEquals(Long.valueOf(5), event.get("draw_capacity"));
+        assertEquals(Double.valueOf(0.5), event.get("ratio"));
+    }
+
+    @Test
+    public void testMissingDocumentDoesNotExist() throws Exception {
+        Document missing = await(store.get("events/none"));
+
+        assertFalse(missing.exists());
+        assertTrue(missing.getData().isEmpty());
+        assertNull(missing.getString("event_title"));
+    }
+
+    @Test
+    public void testStoredDataIsCopiedAtWriteTime() throws Exception {
+        Map<String, Object> event = data("labels", new ArrayList<>(Arrays.asList("Sports")));
+        DocumentStore.Batch batch = store.batch().set("events/e1", event);
+        event.put("event_title", "Changed later");
+        await(batch.commit());
+
+        Document stored = await(store.get("events/e1"));
+        assertNull(stored.get("event_title"));
+        try {
+            stored.getList("labels").add("Music");
+            fail("Stored lists must be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // Stored values are frozen
+        }
+    }
+
+    @Test
+    public void testUpdateOfMissingDocumentFails() throws Exception {
+        Throwable error = failure(store.update("events/none", data("draw_completed", true)));
+
+        assertEquals(StoreException.Code.NOT_FOUND, ((StoreException) error).getCode());
+    }
+
+    @Test
+    public void testUpdateTakesDottedFieldPaths() throws Exception {
+        await(store.set("accounts/u1", data("prefs", data("email", true, "push", true))));
+
+        await(store.update("accounts/u1", data("prefs.push", false, "prefs.sms", true)));
+
+        Document account = await(store.get("accounts/u1"));
+        assertEquals(Boolean.TRUE, account.getBoolean("prefs.email"));
+        assertEquals(Boolean.FALSE, account.getBoolean("prefs.push"));
+        assertEquals(Boolean.TRUE, account.getBoolean("prefs.sms"));
+    }
+
+    @Test
+    public void testMergingSetKeepsOtherFieldsAndNestedMaps() throws Exception {
+        await(store.set("accounts/u1", data("name", "Ada", "prefs", data("email", true))));
+
+        await(store.set("accounts/u1", data("prefs", data("push", false)), true));
+
+        Document account = await(store.get("accounts/u1"));
+        assertEquals("Ada", account.getString("name"));
+        assertEquals(Boolean.TRUE, account.getBoolean("prefs.email"));
+        assertEquals(Boolean.FALSE, account.getBoolean("prefs.push"));
+    }
+
+    @Test
+    public void testPlainSetReplacesDocument() throws Exception {
+        await(store.set("accounts/u1", data("name", "Ada", "email", "ada@connect.test")));
+
+        await(store.set("accounts/u1", data("name", "Grace")));
+
+        Document account = await(store.get("accounts/u1"));
+        assertEquals("Grace", account.getString("name"));
+        assertFalse(account.contains("email"));
+    }
+
+    @Test
+    public void testSentinels() throws Exception {
+        await(store.set("counters/c1", data("count", 2L, "tags", Arrays.asList("a", "b"), "old", "x")));
+
+        await(store.update("counters/c1", data(
+                "count", FieldValues.increment(3),
+                "fresh", FieldValues.increment(1),
+                "tags", FieldValues.arrayUnion("b", "c"),
+                "old", FieldValues.delete(),
+                "at", FieldValues.serverTimestamp())));
+        await(store.update("counters/c1", data("tags", FieldValues.arrayRemove("a"))));
+
+        Document counter = await(store.get("counters/c1"));
+        assertEquals(Long.valueOf(5), counter.getLong("count"));
+        assertEquals(Long.valueOf(1), counter.getLong("fresh"));
+        assertEquals(Arrays.asList("b", "c"), counter.getList("tags"));
+        assertFalse(counter.contains("old"));
+        assertEquals(new Date(NOW), counter.getDate("at"));
+    }
+
+    @Test
+    public void testDeleteSentinelIsRejectedInPlainSet() throws Exception {
+        Throwable error = failure(store.set("events/e1", data("old", FieldValues.delete())));
+
+        assertEquals(StoreException.Code.INVALID_ARGUMENT, ((StoreException) error).getCode());
+    }
+
+    @Test
+    public void testFailedBatchWritesNothing() throws Exception {
+        CompletableFuture<Void> commit = store.batch()
+                .set("events/e1", data("event_title", "Swim"))
+                .update("events/missing", data("draw_completed", true))
+                .commit();
+
+        failure(commit);
+        assertFalse(await(store.get("events/e1")).exists());
+        assertEquals(0, store.getWriteCount());
+    }
+
+    @Test
+    public void testBatchOverTheWriteLimitIsRejected() throws Exception {
+        DocumentStore.Batch batch = store.batch();
+        for (int i = 0; i <= DocumentStore.MAX_BATCH_WRITES; i++) {
+            batch.set("waiting_lists/e1/entrants/u" + i, data("status", "waiting"));
+        }
+
+        Throwable error = failure(batch.commit());
+
+        assertEquals(StoreException.Code.INVALID_ARGUMENT, ((StoreException) error).getCode());
+        assertEquals(0, store.count("waiting_lists/e1/entrants"));
+        assertEquals(0, store.getWriteCount());
+    }
+
+    @Test
+    public void testTransactionOverTheWriteLimitIsRejected() throws Exception {
+        Throwable error = failure(store.runTransaction(transaction -> {
+            for (int i = 0; i <= DocumentStore.MAX_BATCH_WRITES; i++) {
+                transaction.set("waiting_lists/e1/entrants/u" + i, data("status", "waiting"));
+            }
+            return null;
+        }));
+
+        assertEquals(StoreException.Code.INVALID_ARGUMENT, ((StoreException) error).getCode());
+        assertEquals(0, store.count("waiting_lists/e1/entrants"));
+    }
+
+    @Test
+    public void testBatchAppliesWritesInOrder() throws Exception {
+        await(store.batch()
+                .set("events/e1", data("selected_count", 0L))
+                .update("events/e1", data("selected_count", FieldValues.increment(4)))
+                .set("events/e2", data("event_title", "Gone"))
+                .delete("events/e2")
+                .commit());
+
+        assertEquals(Long.valueOf(4), await(store.get("events/e1")).getLong("selected_count"));
+        assertFalse(await(store.get("events/e2")).exists());
+        assertEquals(4, store.getWriteCount());
+    }
+
+    @Test
+    public void testQueryFiltersOrdersAndLimits() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            await(store.set("waiting_lists/e1/entrants/u" + i, data(
+                    "status", i % 2 == 0 ? "waiting" : "selected",
+                    "joined", (long) (100 - i))));
+        }
+        await(store.set("waiting_lists/e1/entrants/nojoin", data("status", "waiting")));
+
+        Query waiting = WaitingLists.entrants("e1").whereEqualTo("status", "waiting");
+        assertEquals(Arrays.asList("nojoin", "u0", "u2", "u4", "u6", "u8"), ids(waiting));
+
+        Query oldestFirst = waiting.orderBy("joined").limit(3);
+        assertEquals(Arrays.asList("u8", "u6", "u4"), ids(oldestFirst));
+
+        Query nextPage = oldestFirst.startAfter(await(store.query(oldestFirst)).get(2));
+        assertEquals(Arrays.asList("u2", "u0"), ids(nextPage));
+
+        assertEquals(Arrays.asList("u1", "u3"), ids(WaitingLists.entrants("e1")
+                .whereGreaterThanOrEqualTo("joined", 97)
+                .whereEqualTo("status", "selected")
+                .orderBy("joined", Query.Direction.DESCENDING)));
+    }
+
+    @Test
+    public void testQueryOperators() throws Exception {
+        await(store.set("events/a", data("labels", Arrays.asList("Sports", "Outdoors"), "category", "Sports")));
+        await(store.set("events/b", data("labels", Arrays.asList("Music"), "category", "Music")));
+        await(store.set("events/c", data("category", "Art", "draw_capacity", 10L)));
+
+        assertEquals(Arrays.asList("a"), ids(Query.collection("events").whereArrayContains("labels", "Outdoors")));
+        assertEquals(Arrays.asList("b", "c"),
+                ids(Query.collection("events").whereIn("category", Arrays.asList("Music", "Art"))));
+        assertEquals(Arrays.asList("a", "b"), ids(Query.collection("events").whereNotEqualTo("category", "Art")));
+        // Range filters only match values of the same type
+        assertEquals(Arrays.asList("c"), ids(Query.collection("events").whereLessThan("draw_capacity", 11)));
+        assertTrue(ids(Query.collection("events").whereLessThan("category", 5)).isEmpty());
+        assertEquals(Arrays.asList("c"), ids(Query.collection("events").whereGreaterThan(Query.DOCUMENT_ID, "b")));
+    }
+
+    @Test
+    public void testCollectionGroupSpansParents() throws Exception {
+        await(store.set("waiting_lists/e2/entrants/u1", data("status", "waiting")));
+        await(store.set("waiting_lists/e1/entrants/u1", data("status", "waiting")));
+        await(store.set("waiting_lists/e1/entrants/u2", data("status", "selected")));
+        await(store.set("accounts/u1/myevents/e1", data("status", "waiting")));
+
+        List<Document> waiting = await(store.query(
+                Query.collectionGroup("entrants").whereEqualTo("status", "waiting")));
+
+        assertEquals(2, waiting.size());
+        assertEquals("waiting_lists/e1/entrants/u1", waiting.get(0).getPath());
+        assertEquals("waiting_lists/e2/entrants/u1", waiting.get(1).getPath());
+    }
+
+    @Test
+    public void testReadsAreCountedLikeFirestore() throws Exception {
+        await(store.set("events/e1", data("category", "Sports")));
+        await(store.set("events/e2", data("category", "Sports")));
+        store.resetCounts();
+
+        await(store.get("events/e1"));
+        await(store.query(Query.collection("events")));
+        await(store.query(Query.collection("events").whereEqualTo("category", "Music")));
+
+        // 1 get + 2 results + 1 for the empty query
+        assertEquals(4, store.getReadCount());
+        assertEquals(0, store.getWriteCount());
+    }
+
+    @Test
+    public void testTransactionReadsThenWritesAtomically() throws Exception {
+        await(store.set("waiting_lists/e1", data("entrant_count", 1L)));
+
+        Long count = await(store.runTransaction(transaction -> {
+            Document list = transaction.get("waiting_lists/e1");
+            long next = list.getLong("entrant_count") + 1;
+            transaction.update("waiting_lists/e1", data("entrant_count", next));
+            transaction.set("waiting_lists/e1/entrants/u2", data("status", "waiting"));
+            return next;
+        }));
+
+        assertEquals(Long.valueOf(2), count);
+        assertEquals(Long.valueOf(2), await(store.get("waiting_lists/e1")).getLong("entrant_count"));
+        assertTrue(await(store.get("waiting_lists/e1/entrants/u2")).exists());
+    }
+
+    @Test
+    public void testTransactionReadAfterWriteFails() throws Exception {
+        Throwable error = failure(store.runTransaction(transaction -> {
+            transaction.set("events/e1", data("event_title", "Swim"));
+            return transaction.get("events/e1");
+        }));
+
+        assertEquals(StoreException.Code.FAILED_PRECONDITION, ((StoreException) error).getCode());
+        assertFalse(await(store.get("events/e1")).exists());
+    }
+
+    @Test
+    public void testThrowingTransactionWritesNothing() throws Exception {
+        IllegalStateException thrown = new IllegalStateException("Waiting list is full");
+
+        Throwable error = failure(store.runTransaction(transaction -> {
+            transaction.set("events/e1", data("event_title", "Swim"));
+            throw thrown;
+        }));
+
+        assertSame(thrown, error);
+        assertFalse(await(store.get("events/e1")).exists());
+    }
+
+    @Test
+    public void testAddGeneratesReproducibleIds() throws Exception {
+        String first = await(store.add("reports", data("description", "Spam")));
+        String again = await(new InMemoryDocumentStore(() -> NOW, new Random(7))
+                .add("reports", data("description", "Spam")));
+
+        assertEquals(20, first.length());
+        assertEquals(first, again);
+        assertEquals(1, store.count("reports"));
+    }
+
+    @Test
+    public void testInvalidPathsFail() throws Exception {
+        Throwable error = failure(store.get("events"));
+
+        assertEquals(StoreException.Code.INVALID_ARGUMENT, ((StoreException) error).getCode());
+    }
+}
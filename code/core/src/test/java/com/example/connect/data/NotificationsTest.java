@@ -0,0 +1,69 @@
+package com.example.connect.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for Notifications inbox delivery and month-partitioned logging.
+ */
+public class NotificationsTest {
+
+    // 2025-11-30T23:30:00Z and an hour later, in the next month
+    private static final long NOVEMBER = 1764545400000L;
+    private static final long DECEMBER = NOVEMBER + 3600_000L;
+
+    private InMemoryDocumentStore store;
+    private Notifications notifications;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore(() -> NOVEMBER, new Random(3));
+        notifications = new Notifications(store);
+    }
+
+    private static Map<String, Object> message(String title) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", title);
+        data.put(Notifications.FIELD_TIMESTAMP, FieldValues.serverTimestamp());
+        return data;
+    }
+
+    @Test
+    public void testMonthAndDayKeysAreUtc() {
+        assertEquals("2025-11", Notifications.monthKey(NOVEMBER));
+        assertEquals("2025-11-30", Notifications.dayKey(NOVEMBER));
+        assertEquals("2025-12", Notifications.monthKey(DECEMBER));
+    }
+
+    @Test
+    public void testDeliverPutsNotificationInInbox() throws Exception {
+        String id = notifications.deliver("u1", message("Selected!")).get();
+
+        List<Document> inbox = notifications.inbox("u1").get();
+        assertEquals(1, inbox.size());
+        assertEquals(id, inbox.get(0).getId());
+        assertEquals("Selected!", inbox.get(0).getString("title"));
+        assertTrue(notifications.inbox("u2").get().isEmpty());
+    }
+
+    @Test
+    public void testLogWritesMonthDocumentOncePerMonth() throws Exception {
+        notifications.log(message("First"), NOVEMBER).get();
+        notifications.log(message("Second"), NOVEMBER).get();
+        notifications.log(message("Third"), DECEMBER).get();
+
+        // 3 entries plus the two month documents
+        assertEquals(5, store.getWriteCount());
+        assertEquals(2, store.count(Notifications.LOGS));
+        assertEquals(2, notifications.logEntries("2025-11").get().size());
+        assertEquals("2025-12", store.get("notification_logs/2025-12").get().getString(Notifications.FIELD_MONTH));
+    }
+}
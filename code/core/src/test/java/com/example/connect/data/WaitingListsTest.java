@@ -0,0 +1,81 @@
+package com.example.connect.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for WaitingLists status queries, selection writes and sharded counters.
+ */
+public class WaitingListsTest {
+
+    private InMemoryDocumentStore store;
+    private WaitingLists waitingLists;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new InMemoryDocumentStore(() -> 0L, new Random(1));
+        waitingLists = new WaitingLists(store, new Random(2));
+        for (int i = 0; i < 6; i++) {
+            Map<String, Object> entrant = new HashMap<>();
+            entrant.put(WaitingLists.FIELD_USER_ID, "u" + i);
+            entrant.put(WaitingLists.FIELD_STATUS, i < 4 ? WaitingLists.STATUS_WAITING : WaitingLists.STATUS_CANCELED);
+            store.set(WaitingLists.entrantPath("e1", "u" + i), entrant).get();
+        }
+    }
+
+    @Test
+    public void testEntrantsWithStatus() throws Exception {
+        List<Document> waiting = waitingLists.entrantsWithStatus("e1", WaitingLists.STATUS_WAITING).get();
+
+        assertEquals(4, waiting.size());
+        assertEquals("u0", waiting.get(0).getString(WaitingLists.FIELD_USER_ID));
+    }
+
+    @Test
+    public void testMarkSelectedAndCountTransitionsAcrossShards() throws Exception {
+        Date drawn = new Date(1234L);
+        DocumentStore.Batch batch = store.batch();
+        waitingLists.markSelected(batch, "e1", "u1", drawn);
+        waitingLists.markSelected(batch, "e1", "u2", drawn);
+        waitingLists.recordTransition(batch, "e1", WaitingLists.STATUS_WAITING, WaitingLists.STATUS_SELECTED, 2);
+        batch.commit().get();
+
+        // Later single moves land on other shards but still sum up
+        for (int i = 0; i < 3; i++) {
+            DocumentStore.Batch more = store.batch();
+            waitingLists.recordTransition(more, "e1", WaitingLists.STATUS_SELECTED, WaitingLists.STATUS_ENROLLED, 1);
+            more.commit().get();
+        }
+
+        Document selected = store.get(WaitingLists.entrantPath("e1", "u1")).get();
+        assertEquals(WaitingLists.STATUS_SELECTED, selected.getString(WaitingLists.FIELD_STATUS));
+        assertEquals(drawn, selected.getDate(WaitingLists.FIELD_SELECTED_DATE));
+
+        Map<String, Long> counts = waitingLists.counts("e1").get();
+        assertEquals(Long.valueOf(-2), counts.get(WaitingLists.STATUS_WAITING));
+        assertEquals(Long.valueOf(-1), counts.get(WaitingLists.STATUS_SELECTED));
+        assertEquals(Long.valueOf(3), counts.get(WaitingLists.STATUS_ENROLLED));
+        assertNull(counts.get(WaitingLists.FIELD_TOTAL));
+    }
+
+    @Test
+    public void testNoOpTransitionWritesNothing() {
+        DocumentStore.Batch batch = store.batch();
+
+        waitingLists.recordTransition(batch, "e1", WaitingLists.STATUS_WAITING, WaitingLists.STATUS_WAITING, 3);
+        waitingLists.recordTransition(batch, "e1", WaitingLists.STATUS_WAITING, WaitingLists.STATUS_SELECTED, 0);
+
+        assertEquals(0, batch.size());
+        assertFalse(store.count("waiting_lists/e1/counters") > 0);
+    }
+}
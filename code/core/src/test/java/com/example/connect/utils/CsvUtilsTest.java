@@ -0,0 +1,44 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+/**
+ * Unit tests for CsvUtils escaping and the enrolled-entrants CSV layout.
+ */
+public class CsvUtilsTest {
+
+    @Test
+    public void testEscape_WrapsAndDoublesQuotes() {
+        assertEquals("\"\"", CsvUtils.escape(null));
+        assertEquals("\"plain\"", CsvUtils.escape("plain"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvUtils.escape("say \"hi\""));
+        assertEquals("\"\"\"\"", CsvUtils.escape("\""));
+        assertEquals("\"a,b\nc\"", CsvUtils.escape("a,b\nc"));
+    }
+
+    @Test
+    public void testWriteEscaped_MatchesEscape() throws Exception {
+        String[] values = {null, "", "plain", "\"quoted\"", "a\"\"b", "comma, and\nnewline", "end\""};
+        for (String value : values) {
+            StringWriter out = new StringWriter();
+            CsvUtils.writeEscaped(out, value);
+            assertEquals(CsvUtils.escape(value), out.toString());
+        }
+    }
+
+    @Test
+    public void testBuildEnrolledEntrantsCsv() {
+        String csv = CsvUtils.buildEnrolledEntrantsCsv("Swim \"Lessons\"", "evt1", Arrays.asList(
+                new CsvUtils.CsvRow("Ann", "ann@example.com", "555", "2025-01-01 10:00"),
+                new CsvUtils.CsvRow(null, null, null, null)));
+
+        assertEquals(CsvUtils.HEADER + "\n"
+                + "\"Ann\",\"ann@example.com\",\"555\",\"2025-01-01 10:00\",\"Swim \"\"Lessons\"\"\",\"evt1\"\n"
+                + "\"\",\"\",\"\",\"\",\"Swim \"\"Lessons\"\"\",\"evt1\"\n", csv);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+/**
+ * Unit tests for CsvWriter quoting, row layout and buffering.
+ */
+public class CsvWriterTest {
+
+    private static String write(int bufferChars, String[]... rows) throws Exception {
+        StringWriter out = new StringWriter();
+        try (CsvWriter csv = new CsvWriter(out, bufferChars)) {
+            for (String[] row : rows) {
+                csv.row(row);
+            }
+        }
+        return out.toString();
+    }
+
+    @Test
+    public void testPlainFieldsAreNotQuoted() throws Exception {
+        assertEquals("Ann,ann@example.com,555\r\n",
+                write(64, new String[]{"Ann", "ann@example.com", "555"}));
+    }
+
+    @Test
+    public void testSpecialFieldsAreQuoted() throws Exception {
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",\"cr\rhere\"\r\n",
+                write(64, new String[]{"a,b", "say \"hi\"", "two\nlines", "cr\rhere"}));
+    }
+
+    @Test
+    public void testNullAndEmptyFieldsAreEmpty() throws Exception {
+        assertEquals(",,x,\r\n", write(64, new String[]{null, "", "x", null}));
+    }
+
+    @Test
+    public void testSmallBufferGivesSameOutput() throws Exception {
+        String[] header = {"Name", "Email", "Event Name"};
+        String[] row = {"A \"long\" name, with commas", "someone@example.com", "Swim Lessons"};
+
+        assertEquals(write(16 * 1024, header, row, row), write(2, header, row, row));
+    }
+
+    @Test
+    public void testFieldAndEndRow() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.field("a").field("b").endRow().field("c").endRow();
+        csv.flush();
+
+        assertEquals("a,b\r\nc\r\n", out.toString());
+    }
+
+    @Test
+    public void testNeedsQuotes() {
+        assertFalse(CsvWriter.needsQuotes("plain text"));
+        assertTrue(CsvWriter.needsQuotes("comma,"));
+        assertTrue(CsvWriter.needsQuotes("\""));
+        assertTrue(CsvWriter.needsQuotes("\r"));
+    }
+}
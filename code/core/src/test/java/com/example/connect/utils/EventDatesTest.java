@@ -0,0 +1,64 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Calendar;
+
+/**
+ * Unit tests for EventDates parsing and registration checks.
+ */
+public class EventDatesTest {
+
+    private static long millis(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute, 0);
+        return calendar.getTimeInMillis();
+    }
+
+    @Test
+    public void testParsesIsoDate() throws Exception {
+        assertEquals(millis(2025, Calendar.NOVEMBER, 20, 18, 30),
+                EventDates.parseToMillis("2025-11-20T18:30:00"));
+        assertEquals(millis(2025, Calendar.NOVEMBER, 20, 18, 30),
+                EventDates.parseIso("2025-11-20T18:30:00"));
+    }
+
+    @Test
+    public void testParsesOlderFormats() throws Exception {
+        long expected = millis(2025, Calendar.NOVEMBER, 20, 0, 0);
+        assertEquals(expected, EventDates.parseToMillis("20/11/2025"));
+        assertEquals(expected, EventDates.parseToMillis("2025-11-20"));
+        assertEquals(expected, EventDates.parseToMillis("Nov 20, 2025"));
+        assertEquals(expected, EventDates.parseToMillis("20 Nov 2025"));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testUnparseableDateThrows() throws Exception {
+        EventDates.parseToMillis("next Tuesday");
+    }
+
+    @Test(expected = ParseException.class)
+    public void testNullDateThrows() throws Exception {
+        EventDates.parseToMillis(null);
+    }
+
+    @Test
+    public void testRegistrationClosedAfterStop() throws Exception {
+        long stop = millis(2025, Calendar.NOVEMBER, 20, 18, 30);
+
+        assertTrue(EventDates.isRegistrationClosed("2025-11-20T18:30:00", stop + 1));
+        assertFalse(EventDates.isRegistrationClosed("2025-11-20T18:30:00", stop));
+    }
+
+    @Test
+    public void testRegistrationWithoutStopNeverCloses() throws Exception {
+        assertFalse(EventDates.isRegistrationClosed(null, Long.MAX_VALUE));
+        assertFalse(EventDates.isRegistrationClosed("", Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for EventFilters matching and ordering.
+ */
+public class EventFiltersTest {
+
+    private static class TestEvent implements EventFilters.Filterable {
+        private final String name;
+        private final String location;
+        private final String category;
+        private final String dateTime;
+        private final List<String> labels;
+
+        TestEvent(String name, String location, String category, String dateTime, String... labels) {
+            this.name = name;
+            this.location = location;
+            this.category = category;
+            this.dateTime = dateTime;
+            this.labels = Arrays.asList(labels);
+        }
+
+        @Override public String getName() { return name; }
+        @Override public String getLocation() { return location; }
+        @Override public String getCategory() { return category; }
+        @Override public String getDescription() { return null; }
+        @Override public String getDateTime() { return dateTime; }
+        @Override public List<String> getLabels() { return labels; }
+    }
+
+    private final TestEvent swim = new TestEvent("Swim Lessons", "Kinsmen Centre, Edmonton",
+            "Sports", "2025-11-20T18:30:00", "Sports", "Kids");
+    private final TestEvent jazz = new TestEvent("Jazz Night", "Calgary",
+            "Music", "2025-11-21T20:00:00", "Music");
+    private final TestEvent pottery = new TestEvent("Pottery", null,
+            null, null);
+
+    private final List<TestEvent> events = Arrays.asList(swim, jazz, pottery);
+
+    @Test
+    public void testEmptyCriteriaKeepsEverything() {
+        EventFilters.Criteria none = new EventFilters.Criteria("", null, "", null);
+
+        assertTrue(none.isEmpty());
+        assertEquals(events, EventFilters.apply(events, none));
+    }
+
+    @Test
+    public void testSearchMatchesAnyFieldIgnoringCase() {
+        assertEquals(Collections.singletonList(swim),
+                EventFilters.apply(events, new EventFilters.Criteria("EDMON", "", "", "")));
+        assertEquals(Collections.singletonList(jazz),
+                EventFilters.apply(events, new EventFilters.Criteria("music", "", "", "")));
+    }
+
+    @Test
+    public void testAllActiveFiltersMustMatch() {
+        assertEquals(Collections.singletonList(swim), EventFilters.apply(events,
+                new EventFilters.Criteria("swim", "2025-11-20", "kids", "edmonton")));
+        assertTrue(EventFilters.apply(events,
+                new EventFilters.Criteria("swim", "2025-11-21", "", "")).isEmpty());
+    }
+
+    @Test
+    public void testMissingFieldsDoNotMatch() {
+        assertFalse(EventFilters.matches(pottery, new EventFilters.Criteria("", "2025", "", "")));
+        assertFalse(EventFilters.matches(pottery, new EventFilters.Criteria("", "", "art", "")));
+        assertFalse(EventFilters.matches(pottery, new EventFilters.Criteria("", "", "", "here")));
+    }
+
+    @Test
+    public void testContainsIgnoreCase() {
+        assertTrue(EventFilters.containsIgnoreCase("Kinsmen Centre", "CENTRE"));
+        assertTrue(EventFilters.containsIgnoreCase("abc", ""));
+        assertFalse(EventFilters.containsIgnoreCase("ab", "abc"));
+        assertFalse(EventFilters.containsIgnoreCase(null, "a"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.connect.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for LotterySelection draw size, distinctness and uniformity.
+ */
+public class LotterySelectionTest {
+
+    private static List<Integer> candidates(int count) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void testDrawsRequestedCountOfDistinctCandidates() {
+        List<Integer> pool = candidates(1000);
+
+        List<Integer> winners = LotterySelection.select(pool, 50, new Random(1));
+
+        assertEquals(50, winners.size());
+        assertEquals(50, new HashSet<>(winners).size());
+        assertTrue(pool.containsAll(winners));
+    }
+
+    @Test
+    public void testCountLargerThanPoolReturnsEveryone() {
+        List<Integer> winners = LotterySelection.select(candidates(5), 20, new Random(1));
+
+        assertEquals(new HashSet<>(candidates(5)), new HashSet<>(winners));
+    }
+
+    @Test
+    public void testEmptyPoolOrNoSpotsReturnsEmpty() {
+        assertTrue(LotterySelection.select(new ArrayList<>(), 3, new Random(1)).isEmpty());
+        assertTrue(LotterySelection.select(candidates(3), 0, new Random(1)).isEmpty());
+    }
+
+    @Test
+    public void testInputIsNotModified() {
+        List<String> pool = new ArrayList<>(Arrays.asList("a", "b", "c", "d"));
+
+        LotterySelection.select(pool, 2, new Random(7));
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"), pool);
+    }
+
+    @Test
+    public void testEveryCandidateIsEquallyLikely() {
+        int size = 10;
+        int draws = 20_000;
+        int[] wins = new int[size];
+        Random random = new Random(42);
+        for (int i = 0; i < draws; i++) {
+            for (int winner : LotterySelection.select(candidates(size), 3, random)) {
+                wins[winner]++;
+            }
+        }
+
+        // Each candidate expects 6000 wins; allow a generous 5% either way
+        for (int count : wins) {
+            assertTrue("win count " + count, Math.abs(count - 6000) < 300);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.connect.benchmark;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.Base64;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.TimeZone;
+
+/**
+ * Seeds the local Firebase emulators with the dataset the scroll benchmarks run against.
+ * <p>
+ * Writes go through the emulators' REST APIs, from the device, to the host running
+ * {@code firebase emulators:start --only firestore,auth} (10.0.2.2 from an Android
+ * emulator). Document IDs are fixed, so seeding again overwrites the previous run instead of
+ * growing the dataset, and the app under test sees the same rows every time:
+ * <ul>
+ *     <li>one signed-in benchmark account, admin and organizer of every event</li>
+ *     <li>{@link #ACCOUNTS} entrant accounts with small avatars</li>
+ *     <li>{@link #EVENTS} events with full-size posters, indexed for the admin image list</li>
+ *     <li>{@link #ENTRANTS} entrants on the waiting list of {@link #DRAW_EVENT_ID}</li>
+ *     <li>the benchmark account's My Events index over every event</li>
+ * </ul>
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+public final class EmulatorSeeder {
+
+    public static final String HOST = "10.0.2.2";
+    public static final String PROJECT_ID = "zenithconnect-bf445";
+
+    public static final String USER_EMAIL = "benchmark@connect.test";
+    public static final String USER_PASSWORD = "benchmark-password";
+    public static final String DRAW_EVENT_ID = "bench-event-000";
+
+    public static final int ACCOUNTS = 200;
+    public static final int EVENTS = 100;
+    public static final int ENTRANTS = 200;
+
+    private static final int FIRESTORE_PORT = 8080;
+    private static final int AUTH_PORT = 9099;
+    /** Firestore caps a commit at 500 writes. */
+    private static final int BATCH_SIZE = 400;
+    private static final String[] CATEGORIES = {"Sports", "Music", "Art", "Tech", "Food"};
+
+    private final String documentsRoot =
+            "projects/" + PROJECT_ID + "/databases/(default)/documents";
+    private final List<JSONObject> writes = new ArrayList<>();
+
+    /**
+     * Creates (or signs in) the benchmark account and writes the whole dataset.
+     *
+     * @return the benchmark account's user ID
+     */
+    public String seed() throws IOException, JSONException {
+        String uid = signUpOrSignIn();
+        long now = System.currentTimeMillis();
+
+        put("accounts/" + uid, new Fields()
+                .string("user_id", uid)
+                .string("email", USER_EMAIL)
+                .string("full_name", "Benchmark Organizer")
+                .string("display_name", "Benchmark Organizer")
+                .bool("admin", true)
+                .bool("organizer", true));
+
+        String avatar = image(96, 96, Color.rgb(90, 120, 200));
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String id = accountId(i);
+            put("accounts/" + id, new Fields()
+                    .string("user_id", id)
+                    .string("email", "entrant" + i + "@connect.test")
+                    .string("full_name", "Entrant " + i)
+                    .string("display_name", "Entrant " + i)
+                    .string("profile_image_url", avatar)
+                    .bool("organizer", i % 10 == 0));
+        }
+
+        for (int i = 0; i < EVENTS; i++) {
+            String id = eventId(i);
+            String poster = image(1280, 720, Color.HSVToColor(new float[]{i * 37 % 360, 0.6f, 0.8f}));
+            // Some events fall within the "popular" five-day window, the rest later
+            long startsAt = now + (i % 20 + 1) * 12 * 3600_000L;
+            put("events/" + id, new Fields()
+                    .string("event_title", "Benchmark Event " + i)
+                    .string("description", "Seeded event " + i + " for the scroll benchmarks.")
+                    .string("date_time", isoDate(startsAt))
+                    .string("reg_start", isoDate(now - 24 * 3600_000L))
+                    .string("reg_stop", isoDate(startsAt - 3600_000L))
+                    .string("location", "Edmonton, AB")
+                    .string("price", i % 3 == 0 ? "0" : String.valueOf(5 + i % 40))
+                    .string("category", CATEGORIES[i % CATEGORIES.length])
+                    .string("org_name", uid)
+                    .string("organizer_id", uid)
+                    .string("image_base64", poster)
+                    .integer("max_participants", 50)
+                    .integer("draw_capacity", 20)
+                    .timestamp("updated_at", now));
+            put("images/event_" + id, new Fields()
+                    .string("owner_id", uid)
+                    .string("type", "Event Poster")
+                    .string("related_id", id)
+                    .string("display_name", "Benchmark Event " + i)
+                    .string("source_path", "events/" + id)
+                    .string("source_field", "image_base64")
+                    .string("thumbnail_ref", "image_thumbnails/event_" + id)
+                    .integer("size_bytes", poster.length())
+                    .integer("updated_at", now));
+            put("image_thumbnails/event_" + id, new Fields()
+                    .string("data", image(160, 90, Color.HSVToColor(new float[]{i * 37 % 360, 0.6f, 0.8f}))));
+            put("accounts/" + uid + "/myevents/" + id, new Fields()
+                    .string("event_id", id)
+                    .string("status", i % 4 == 0 ? "selected" : "waiting")
+                    .timestamp("timestamp", now));
+        }
+
+        put("waiting_lists/" + DRAW_EVENT_ID, new Fields().string("event_id", DRAW_EVENT_ID));
+        for (int i = 0; i < ENTRANTS; i++) {
+            String id = accountId(i % ACCOUNTS);
+            put("waiting_lists/" + DRAW_EVENT_ID + "/entrants/" + id, new Fields()
+                    .string("user_id", id)
+                    .string("status", "waiting")
+                    .timestamp("joined_date", now - i * 60_000L));
+        }
+
+        flush();
+        return uid;
+    }
+
+    static String accountId(int i) {
+        return String.format(Locale.US, "bench-account-%03d", i);
+    }
+
+    static String eventId(int i) {
+        return String.format(Locale.US, "bench-event-%03d", i);
+    }
+
+    private String signUpOrSignIn() throws IOException, JSONException {
+        JSONObject body = new JSONObject()
+                .put("email", USER_EMAIL)
+                .put("password", USER_PASSWORD)
+                .put("returnSecureToken", true);
+        String base = "http://" + HOST + ":" + AUTH_PORT + "/identitytoolkit.googleapis.com/v1/";
+        try {
+            return new JSONObject(post(base + "accounts:signUp?key=benchmark", body)).getString("localId");
+        } catch (IOException alreadyExists) {
+            return new JSONObject(post(base + "accounts:signInWithPassword?key=benchmark", body))
+                    .getString("localId");
+        }
+    }
+
+    private void put(String path, Fields fields) throws IOException, JSONException {
+        writes.add(new JSONObject().put("update", new JSONObject()
+                .put("name", documentsRoot + "/" + path)
+                .put("fields", fields.json)));
+        if (writes.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException, JSONException {
+        if (writes.isEmpty()) return;
+        JSONObject body = new JSONObject().put("writes", new JSONArray(writes));
+        post("http://" + HOST + ":" + FIRESTORE_PORT + "/v1/" + documentsRoot + ":commit", body);
+        writes.clear();
+    }
+
+    private static String post(String url, JSONObject body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            // The Firestore emulator skips security rules for the "owner" token
+            connection.setRequestProperty("Authorization", "Bearer owner");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            int code = connection.getResponseCode();
+            if (code >= 400) {
+                throw new IOException("POST " + url + " failed with " + code + ": "
+                        + read(connection.getErrorStream()));
+            }
+            return read(connection.getInputStream());
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String read(InputStream in) {
+        if (in == null) return "";
+        try (Scanner scanner = new Scanner(in, "UTF-8").useDelimiter("\\A")) {
+            return scanner.hasNext() ? scanner.next() : "";
+        }
+    }
+
+    /**
+     * @return a JPEG of the given size and color, Base64 encoded like the app stores images
+     */
+    private static String image(int width, int height, int color) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(color);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(Color.WHITE);
+        paint.setAlpha(90);
+        // Some detail, so the JPEG is not trivially small
+        for (int x = 0; x < width; x += Math.max(8, width / 24)) {
+            canvas.drawCircle(x, (x * 7) % height, width / 16f, paint);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, 85, out);
+        bitmap.recycle();
+        return Base64.encodeToString(out.toByteArray(), Base64.NO_WRAP);
+    }
+
+    private static String isoDate(long millis) {
+        return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.ENGLISH).format(new Date(millis));
+    }
+
+    /**
+     * Firestore REST field values.
+     */
+    private static final class Fields {
+        final JSONObject json = new JSONObject();
+
+        Fields string(String name, String value) throws JSONException {
+            json.put(name, new JSONObject().put("stringValue", value));
+            return this;
+        }
+
+        Fields integer(String name, long value) throws JSONException {
+            // int64 values travel as strings
+            json.put(name, new JSONObject().put("integerValue", String.valueOf(value)));
+            return this;
+        }
+
+        Fields bool(String name, boolean value) throws JSONException {
+            json.put(name, new JSONObject().put("booleanValue", value));
+            return this;
+        }
+
+        Fields timestamp(String name, long millis) throws JSONException {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            json.put(name, new JSONObject().put("timestampValue", format.format(new Date(millis))));
+            return this;
+        }
+    }
+}
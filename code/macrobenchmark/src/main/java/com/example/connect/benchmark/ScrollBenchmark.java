@@ -0,0 +1,176 @@
+package com.example.connect.benchmark;
+
+import android.content.Intent;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Scrolls the app's long lists and reports frame-time percentiles.
+ * <p>
+ * Each test opens one screen directly (the benchmark build exports them), waits for its list
+ * to fill from the seeded Firestore emulator (see {@link EmulatorSeeder}) and flings it down
+ * and back up. {@link FrameTimingMetric} reports P50/P90/P95/P99 of frame CPU time and
+ * frame overrun per screen. Before running, start the emulators on the host:
+ * <pre>
+ * firebase emulators:start --only firestore,auth
+ * ./gradlew :macrobenchmark:connectedBenchmarkAndroidTest
+ * </pre>
+ * Results are written as JSON under
+ * {@code macrobenchmark/build/outputs/connected_android_test_additional_output/}.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScrollBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example.connect";
+    private static final int ITERATIONS = 5;
+    private static final int FLINGS = 3;
+    private static final long TIMEOUT_MS = 15_000;
+
+    private static boolean prepared;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    /**
+     * Seeds the emulators and signs the app in once per run; Firebase keeps the session on
+     * disk, so the screens below open signed in.
+     */
+    @Before
+    public void prepare() throws Exception {
+        if (prepared) return;
+        new EmulatorSeeder().seed();
+        signIn(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+        prepared = true;
+    }
+
+    @Test
+    public void scrollEventList() {
+        measureScroll("EventListActivity", null, By.res(PACKAGE_NAME, "events_ListView"));
+    }
+
+    @Test
+    public void scrollMyEvents() {
+        measureScroll("MyEventsActivity", null, By.res(PACKAGE_NAME, "my_events_list"));
+    }
+
+    @Test
+    public void scrollManageDraw() {
+        // The entrants list is added in code and has no ID
+        measureScroll("ManageDrawActivity", EmulatorSeeder.DRAW_EVENT_ID,
+                By.pkg(PACKAGE_NAME).clazz("androidx.recyclerview.widget.RecyclerView"));
+    }
+
+    @Test
+    public void scrollAdminEvents() {
+        measureScroll("AdminEventListActivity", null, By.res(PACKAGE_NAME, "recycler_view"));
+    }
+
+    @Test
+    public void scrollAdminProfiles() {
+        measureScroll("AdminProfileListActivity", null, By.res(PACKAGE_NAME, "recycler_view"));
+    }
+
+    @Test
+    public void scrollAdminImages() {
+        measureScroll("AdminImageListActivity", null, By.res(PACKAGE_NAME, "recycler_view"));
+    }
+
+    private void measureScroll(String activity, String eventId, BySelector list) {
+        benchmarkRule.measureRepeated(
+                PACKAGE_NAME,
+                metrics(),
+                CompilationMode.DEFAULT,
+                null,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    Intent intent = new Intent();
+                    intent.setClassName(PACKAGE_NAME, PACKAGE_NAME + ".activities." + activity);
+                    if (eventId != null) {
+                        intent.putExtra("EVENT_ID", eventId);
+                    }
+                    scope.startActivityAndWait(intent);
+                    awaitRows(scope.getDevice(), list);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    UiObject2 rows = scope.getDevice().findObject(list);
+                    // Keep the gesture clear of the system navigation area
+                    rows.setGestureMargin(scope.getDevice().getDisplayWidth() / 5);
+                    for (int i = 0; i < FLINGS; i++) {
+                        rows.fling(Direction.DOWN);
+                    }
+                    for (int i = 0; i < FLINGS; i++) {
+                        rows.fling(Direction.UP);
+                    }
+                    scope.getDevice().waitForIdle();
+                    return Unit.INSTANCE;
+                });
+    }
+
+    private static List<Metric> metrics() {
+        return Collections.singletonList(new FrameTimingMetric());
+    }
+
+    /**
+     * Waits until the list shows a few rows, i.e. the seeded data has arrived.
+     */
+    private static void awaitRows(UiDevice device, BySelector list) {
+        UiObject2 rows = device.wait(Until.findObject(list), TIMEOUT_MS);
+        if (rows == null) {
+            throw new IllegalStateException("List not shown: " + list);
+        }
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (rows.getChildCount() < 3) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("List stayed empty; are the emulators seeded?");
+            }
+            device.waitForIdle();
+            rows = device.findObject(list);
+        }
+    }
+
+    /**
+     * Signs in through the login screen with the seeded account, unless a session exists.
+     */
+    private static void signIn(UiDevice device) throws IOException {
+        device.executeShellCommand("am start -W -n " + PACKAGE_NAME + "/.activities.MainActivity");
+        UiObject2 login = device.wait(Until.findObject(By.res(PACKAGE_NAME, "btn_login")), TIMEOUT_MS);
+        if (login == null) {
+            // Remembered session: MainActivity routed straight past the open screen
+            return;
+        }
+        login.click();
+        device.wait(Until.findObject(By.res(PACKAGE_NAME, "et_email")), TIMEOUT_MS)
+                .setText(EmulatorSeeder.USER_EMAIL);
+        device.findObject(By.res(PACKAGE_NAME, "et_Password")).setText(EmulatorSeeder.USER_PASSWORD);
+        device.findObject(By.res(PACKAGE_NAME, "login_btn")).click();
+        // Signed in once the login form is gone
+        device.wait(Until.gone(By.res(PACKAGE_NAME, "login_btn")), TIMEOUT_MS);
+    }
+}
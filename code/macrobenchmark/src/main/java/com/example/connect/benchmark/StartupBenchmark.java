@@ -0,0 +1,80 @@
+package com.example.connect.benchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Measures cold and warm start of the app, signed out, up to the open screen.
+ * <p>
+ * Besides time to initial and full display (MainActivity reports fully drawn once its
+ * buttons are wired), the trace sections added in ConnectApplication and MainActivity are
+ * reported separately, so a regression can be pinned to the application or the activity.
+ * Run on a device or emulator with:
+ * <pre>
+ * ./gradlew :macrobenchmark:connectedBenchmarkAndroidTest
+ * </pre>
+ * Results are written as JSON under
+ * {@code macrobenchmark/build/outputs/connected_android_test_additional_output/}; keep the
+ * file from a baseline run to compare against.
+ *
+ * @author Zenith Team
+ * @version 1.0
+ */
+@RunWith(AndroidJUnit4.class)
+public class StartupBenchmark {
+
+    private static final String PACKAGE_NAME = "com.example.connect";
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void startupCold() {
+        measureStartup(StartupMode.COLD);
+    }
+
+    @Test
+    public void startupWarm() {
+        measureStartup(StartupMode.WARM);
+    }
+
+    private void measureStartup(StartupMode mode) {
+        benchmarkRule.measureRepeated(
+                PACKAGE_NAME,
+                metrics(),
+                CompilationMode.DEFAULT,
+                mode,
+                ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+
+    private static List<Metric> metrics() {
+        return Arrays.asList(
+                new StartupTimingMetric(),
+                new TraceSectionMetric("ConnectApplication.onCreate"),
+                new TraceSectionMetric("MainActivity.onCreate"),
+                new TraceSectionMetric("MainActivity.startNotifications"));
+    }
+}